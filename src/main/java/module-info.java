@@ -1,6 +1,7 @@
 module ojalgo {
 
     requires java.management;
+    requires static jdk.jfr;
     requires jdk.management;
     requires jdk.unsupported;
 
@@ -238,6 +238,9 @@ public final class Array1D<N extends Comparable<N>> extends AbstractList<N> impl
 
     @Override
     public N aggregateRange(final long first, final long limit, final Aggregator aggregator) {
+        if (myStep == 1L) {
+            return myDelegate.aggregateRange(myFirst + first, myFirst + limit, aggregator);
+        }
         AggregatorFunction<N> visitor = aggregator.getFunction(myDelegate.factory().aggregator());
         this.visitRange(first, limit, visitor);
         return visitor.get();
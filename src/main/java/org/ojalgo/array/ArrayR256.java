@@ -108,12 +108,12 @@ public class ArrayR256 extends ReferenceTypeArray<BigDecimal> {
 
     @Override
     public void sortAscending() {
-        Arrays.sort(data);
+        BulkOperations.sort(data, Comparator.naturalOrder());
     }
 
     @Override
     public void sortDescending() {
-        Arrays.sort(data, Comparator.reverseOrder());
+        BulkOperations.sort(data, Comparator.reverseOrder());
     }
 
     @Override
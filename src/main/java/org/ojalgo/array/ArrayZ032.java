@@ -142,13 +142,13 @@ public class ArrayZ032 extends PrimitiveArray {
 
     @Override
     public void sortAscending() {
-        Arrays.sort(data);
+        BulkOperations.sort(data);
     }
 
     @Override
     public void sortDescending() {
         CorePrimitiveOperation.negate(data, 0, data.length, 1, data);
-        Arrays.sort(data);
+        BulkOperations.sort(data);
         CorePrimitiveOperation.negate(data, 0, data.length, 1, data);
     }
 
@@ -33,7 +33,6 @@ import org.ojalgo.function.NullaryFunction;
 import org.ojalgo.function.UnaryFunction;
 import org.ojalgo.function.VoidFunction;
 import org.ojalgo.function.aggregator.Aggregator;
-import org.ojalgo.function.aggregator.AggregatorFunction;
 import org.ojalgo.function.aggregator.AggregatorSet;
 import org.ojalgo.function.special.PowerOf2;
 import org.ojalgo.scalar.Scalar;
@@ -188,11 +187,7 @@ public abstract class BasicArray<N extends Comparable<N>> implements Access1D<N>
     @Override
     public N aggregateRange(final long first, final long limit, final Aggregator aggregator) {
 
-        AggregatorFunction<N> visitor = aggregator.getFunction(myFactory.aggregator());
-
-        this.visitRange(first, limit, visitor);
-
-        return visitor.get();
+        return BulkOperations.aggregate(this, first, limit, aggregator);
     }
 
     @Override
@@ -284,7 +279,11 @@ public abstract class BasicArray<N extends Comparable<N>> implements Access1D<N>
     }
 
     protected void fill(final long first, final long limit, final long step, final N value) {
-        FillAll.fill(this, first, limit, step, value);
+        if (BulkOperations.isParallel(first, limit, step)) {
+            BulkOperations.divide(first, limit, (f, l) -> FillAll.fill(this, f, l, 1L, value));
+        } else {
+            FillAll.fill(this, first, limit, step, value);
+        }
     }
 
     protected void fill(final long first, final long limit, final long step, final NullaryFunction<?> supplier) {
@@ -296,15 +295,27 @@ public abstract class BasicArray<N extends Comparable<N>> implements Access1D<N>
     }
 
     protected void modify(final long first, final long limit, final long step, final Access1D<N> left, final BinaryFunction<N> function) {
-        OperationBinary.invoke(this, first, limit, step, left, function, this);
+        if (BulkOperations.isParallel(first, limit, step)) {
+            BulkOperations.divide(first, limit, (f, l) -> OperationBinary.invoke(this, f, l, 1L, left, function, this));
+        } else {
+            OperationBinary.invoke(this, first, limit, step, left, function, this);
+        }
     }
 
     protected void modify(final long first, final long limit, final long step, final BinaryFunction<N> function, final Access1D<N> right) {
-        OperationBinary.invoke(this, first, limit, step, this, function, right);
+        if (BulkOperations.isParallel(first, limit, step)) {
+            BulkOperations.divide(first, limit, (f, l) -> OperationBinary.invoke(this, f, l, 1L, this, function, right));
+        } else {
+            OperationBinary.invoke(this, first, limit, step, this, function, right);
+        }
     }
 
     protected void modify(final long first, final long limit, final long step, final UnaryFunction<N> function) {
-        OperationUnary.invoke(this, first, limit, step, this, function);
+        if (BulkOperations.isParallel(first, limit, step)) {
+            BulkOperations.divide(first, limit, (f, l) -> OperationUnary.invoke(this, f, l, 1L, this, function));
+        } else {
+            OperationUnary.invoke(this, first, limit, step, this, function);
+        }
     }
 
     protected void visit(final long first, final long limit, final long step, final VoidFunction<N> visitor) {
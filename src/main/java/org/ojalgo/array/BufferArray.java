@@ -29,7 +29,6 @@ import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 
-import org.ojalgo.ProgrammingError;
 import org.ojalgo.array.operation.AMAX;
 import org.ojalgo.array.operation.FillAll;
 import org.ojalgo.array.operation.OperationBinary;
@@ -42,6 +41,7 @@ import org.ojalgo.function.VoidFunction;
 import org.ojalgo.function.constant.PrimitiveMath;
 import org.ojalgo.scalar.PrimitiveScalar;
 import org.ojalgo.structure.Access1D;
+import org.ojalgo.structure.Mutate1D;
 import org.ojalgo.type.NumberDefinition;
 import org.ojalgo.type.math.MathType;
 
@@ -53,7 +53,7 @@ import org.ojalgo.type.math.MathType;
  *
  * @author apete
  */
-public abstract class BufferArray extends PlainArray<Double> implements AutoCloseable {
+public abstract class BufferArray extends PlainArray<Double> implements Mutate1D.Sortable, AutoCloseable {
 
     public static final class Factory extends PlainArray.Factory<Double, BufferArray> {
 
@@ -177,6 +177,16 @@ public abstract class BufferArray extends PlainArray<Double> implements AutoClos
         myBuffer.clear();
     }
 
+    @Override
+    public void sortAscending() {
+        this.sort(false);
+    }
+
+    @Override
+    public void sortDescending() {
+        this.sort(true);
+    }
+
     @Override
     protected void exchange(final int firstA, final int firstB, final int step, final int count) {
 
@@ -262,16 +272,6 @@ public abstract class BufferArray extends PlainArray<Double> implements AutoClos
         this.set(index, NumberDefinition.doubleValue(value));
     }
 
-    @Override
-    protected void sortAscending() {
-        ProgrammingError.throwForUnsupportedOptionalOperation();
-    }
-
-    @Override
-    protected void sortDescending() {
-        ProgrammingError.throwForUnsupportedOptionalOperation();
-    }
-
     @Override
     protected void visit(final int first, final int limit, final int step, final VoidFunction<Double> visitor) {
         OperationVoid.invoke(this, first, limit, step, visitor);
@@ -297,4 +297,39 @@ public abstract class BufferArray extends PlainArray<Double> implements AutoClos
         this.set(intIndex, function.invoke(this.doubleValue(intIndex)));
     }
 
+    /**
+     * Copies the elements to a (heap) array, sorts that and then copies back.
+     */
+    private void sort(final boolean descending) {
+
+        int size = this.size();
+
+        if (this.getMathType() == MathType.Z064) {
+
+            long[] values = new long[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = this.longValue(i);
+            }
+
+            BulkOperations.sort(values);
+
+            for (int i = 0; i < size; i++) {
+                this.set(i, values[descending ? size - 1 - i : i]);
+            }
+
+        } else {
+
+            double[] values = new double[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = this.doubleValue(i);
+            }
+
+            BulkOperations.sort(values);
+
+            for (int i = 0; i < size; i++) {
+                this.set(i, values[descending ? size - 1 - i : i]);
+            }
+        }
+    }
+
 }
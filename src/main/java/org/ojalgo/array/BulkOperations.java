@@ -0,0 +1,213 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.array;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.ojalgo.concurrent.Parallelism;
+import org.ojalgo.function.aggregator.Aggregator;
+import org.ojalgo.function.aggregator.AggregatorFunction;
+import org.ojalgo.function.aggregator.AggregatorSet;
+
+/**
+ * Parallel execution of bulk operations on large (dense) arrays. Only contiguous ranges (step 1) of at least
+ * {@link #THRESHOLD} elements are executed in parallel.
+ * <p>
+ * Aggregation is done in fixed size chunks of {@link #CHUNK} elements, independent of the number of threads
+ * used, and the partial results are then merged in index order (using the aggregator that merges partial
+ * results of that kind). That way the results are deterministic – the same every time regardless of how the
+ * work was scheduled.
+ * <p>
+ * Visiting with an arbitrary {@link org.ojalgo.function.VoidFunction} is always sequential (visitors are
+ * typically stateful), as is filling with a {@link org.ojalgo.function.NullaryFunction} (suppliers are
+ * typically not thread safe, and the results should be reproducible).
+ */
+final class BulkOperations {
+
+    @FunctionalInterface
+    interface RangeConquerer {
+
+        void conquer(long first, long limit);
+
+    }
+
+    static final int CHUNK = 16_384;
+
+    /**
+     * Minimum number of elements for a bulk operation to be executed in parallel.
+     */
+    static final int THRESHOLD = 131_072;
+
+    static <N extends Comparable<N>> N aggregate(final BasicArray<N> array, final long first, final long limit, final Aggregator aggregator) {
+        return BulkOperations.aggregate(array, first, limit, aggregator, THRESHOLD);
+    }
+
+    /**
+     * @param threshold Aggregate in parallel if the range has at least this many elements
+     */
+    static <N extends Comparable<N>> N aggregate(final BasicArray<N> array, final long first, final long limit, final Aggregator aggregator,
+            final int threshold) {
+
+        AggregatorSet<N> set = array.factory().aggregator();
+
+        if (!BulkOperations.isParallel(first, limit, 1L, threshold)) {
+            AggregatorFunction<N> visitor = aggregator.getFunction(set);
+            array.visitRange(first, limit, visitor);
+            return visitor.get();
+        }
+
+        Aggregator partial = aggregator == Aggregator.AVERAGE ? Aggregator.SUM : aggregator;
+
+        long count = limit - first;
+        int nbChunks = Math.toIntExact((count + CHUNK - 1L) / CHUNK);
+
+        Object[] partials = new Object[nbChunks];
+
+        Parallelism.CORES.newDivider(1).divide(0, nbChunks, (f, l) -> {
+            for (int c = f; c < l; c++) {
+                long from = first + c * (long) CHUNK;
+                long to = Math.min(limit, from + CHUNK);
+                // Thread local instances, must extract the result before the next is requested
+                AggregatorFunction<N> function = partial.getFunction(set);
+                array.visitRange(from, to, function);
+                partials[c] = function.get();
+            }
+        });
+
+        AggregatorFunction<N> merged = BulkOperations.merger(partial).getFunction(set);
+        for (int c = 0; c < nbChunks; c++) {
+            merged.invoke(BulkOperations.<N> cast(partials[c]));
+        }
+
+        if (aggregator == Aggregator.AVERAGE) {
+            return merged.toScalar().divide(count).get();
+        } else {
+            return merged.get();
+        }
+    }
+
+    /**
+     * Divide the range in to parts of (a multiple of) {@link #CHUNK} elements, and conquer those in parallel.
+     */
+    static void divide(final long first, final long limit, final RangeConquerer conquerer) {
+
+        int nbChunks = Math.toIntExact((limit - first + CHUNK - 1L) / CHUNK);
+
+        Parallelism.CORES.newDivider(1).divide(0, nbChunks, (f, l) -> {
+            conquerer.conquer(first + f * (long) CHUNK, Math.min(limit, first + l * (long) CHUNK));
+        });
+    }
+
+    static boolean isParallel(final long first, final long limit, final long step) {
+        return BulkOperations.isParallel(first, limit, step, THRESHOLD);
+    }
+
+    static boolean isParallel(final long first, final long limit, final long step, final int threshold) {
+        return step == 1L && limit - first >= threshold;
+    }
+
+    static void sort(final byte[] data) {
+        if (data.length >= THRESHOLD) {
+            Arrays.parallelSort(data);
+        } else {
+            Arrays.sort(data);
+        }
+    }
+
+    static void sort(final double[] data) {
+        if (data.length >= THRESHOLD) {
+            Arrays.parallelSort(data);
+        } else {
+            Arrays.sort(data);
+        }
+    }
+
+    static void sort(final float[] data) {
+        if (data.length >= THRESHOLD) {
+            Arrays.parallelSort(data);
+        } else {
+            Arrays.sort(data);
+        }
+    }
+
+    static void sort(final int[] data) {
+        if (data.length >= THRESHOLD) {
+            Arrays.parallelSort(data);
+        } else {
+            Arrays.sort(data);
+        }
+    }
+
+    static void sort(final long[] data) {
+        if (data.length >= THRESHOLD) {
+            Arrays.parallelSort(data);
+        } else {
+            Arrays.sort(data);
+        }
+    }
+
+    static void sort(final short[] data) {
+        if (data.length >= THRESHOLD) {
+            Arrays.parallelSort(data);
+        } else {
+            Arrays.sort(data);
+        }
+    }
+
+    static <T> void sort(final T[] data, final Comparator<? super T> comparator) {
+        if (data.length >= THRESHOLD) {
+            Arrays.parallelSort(data, comparator);
+        } else {
+            Arrays.sort(data, comparator);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <N extends Comparable<N>> N cast(final Object value) {
+        return (N) value;
+    }
+
+    /**
+     * The aggregator to use when merging partial results, aggregated from disjoint parts of the data, so that
+     * the result is (apart from rounding) the same as when aggregating everything in one go.
+     * {@link Aggregator#AVERAGE} can't be merged without the counts – it's aggregated as a
+     * {@link Aggregator#SUM} instead.
+     */
+    private static Aggregator merger(final Aggregator partial) {
+        switch (partial) {
+            case CARDINALITY:
+                return Aggregator.SUM;
+            case PRODUCT2:
+                return Aggregator.PRODUCT;
+            case SUM2:
+                return Aggregator.SUM;
+            default:
+                return partial;
+        }
+    }
+
+    private BulkOperations() {
+        super();
+    }
+
+}
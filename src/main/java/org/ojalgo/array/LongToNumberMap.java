@@ -21,7 +21,9 @@ import org.ojalgo.type.context.NumberContext;
  * A {@link SortedMap} with primitive valued long keys and {@link Comparable} values (incl. possibly primitive
  * double values). The main benefits of using this class is its use of primitive keys and values, and how it
  * integrates with other parts of ojAlgo. As a general purpose {@link Map} implementation (usage with high
- * frequency of randomly ordered put and remove operations) it is not very efficient.
+ * frequency of randomly ordered put and remove operations) it is not very efficient. If you don't need the
+ * previous value, use {@link #set(long, double)} or {@link #add(long, double)} instead of put – entries are
+ * then staged and merged in bulk on the next read, making randomly ordered inserts efficient.
  *
  * @author apete
  */
@@ -92,6 +94,21 @@ public final class LongToNumberMap<N extends Comparable<N>> implements SortedMap
         myStorage = new SparseArray<>(denseFactory, growthStrategy, Integer.MAX_VALUE);
     }
 
+    /**
+     * Add to the value of an entry. A key that is not already in the map is treated as having the value 0.
+     * (Adding 0 to such a key does not add the key.)
+     */
+    public void add(final long key, final double addend) {
+        myStorage.add(key, addend);
+    }
+
+    /**
+     * @see #add(long, double)
+     */
+    public void add(final long key, final N addend) {
+        myStorage.add(key, addend);
+    }
+
     /**
      * The current capacity of the underlying data structure. The capacity is always greater than or equal to
      * the current number of entries in the map. When you add entries to the map the capacity may have to
@@ -342,6 +359,20 @@ public final class LongToNumberMap<N extends Comparable<N>> implements SortedMap
         }
     }
 
+    /**
+     * Same as {@link #put(long, double)} but does not return (doesn't need to look up) the previous value.
+     */
+    public void set(final long key, final double value) {
+        myStorage.put(key, value);
+    }
+
+    /**
+     * @see #set(long, double)
+     */
+    public void set(final long key, final N value) {
+        myStorage.put(key, value);
+    }
+
     @Override
     public int size() {
         return myStorage.getActualLength();
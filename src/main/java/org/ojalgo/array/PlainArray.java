@@ -174,7 +174,7 @@ public abstract class PlainArray<N extends Comparable<N>> extends DenseArray<N>
 
     @Override
     public final void fillAll(final N number) {
-        this.fill(0, this.size(), 1, number);
+        this.fill(0L, this.size(), 1L, number);
     }
 
     @Override
@@ -353,7 +353,11 @@ public abstract class PlainArray<N extends Comparable<N>> extends DenseArray<N>
 
     @Override
     protected final void fill(final long first, final long limit, final long step, final N value) {
-        this.fill(Math.toIntExact(first), Math.toIntExact(limit), Math.toIntExact(step), value);
+        if (BulkOperations.isParallel(first, limit, step)) {
+            BulkOperations.divide(first, limit, (f, l) -> this.fill((int) f, (int) l, 1, value));
+        } else {
+            this.fill(Math.toIntExact(first), Math.toIntExact(limit), Math.toIntExact(step), value);
+        }
     }
 
     @Override
@@ -394,17 +398,29 @@ public abstract class PlainArray<N extends Comparable<N>> extends DenseArray<N>
 
     @Override
     protected final void modify(final long first, final long limit, final long step, final Access1D<N> left, final BinaryFunction<N> function) {
-        this.modify(Math.toIntExact(first), Math.toIntExact(limit), Math.toIntExact(step), left, function);
+        if (BulkOperations.isParallel(first, limit, step)) {
+            BulkOperations.divide(first, limit, (f, l) -> this.modify((int) f, (int) l, 1, left, function));
+        } else {
+            this.modify(Math.toIntExact(first), Math.toIntExact(limit), Math.toIntExact(step), left, function);
+        }
     }
 
     @Override
     protected final void modify(final long first, final long limit, final long step, final BinaryFunction<N> function, final Access1D<N> right) {
-        this.modify(Math.toIntExact(first), Math.toIntExact(limit), Math.toIntExact(step), function, right);
+        if (BulkOperations.isParallel(first, limit, step)) {
+            BulkOperations.divide(first, limit, (f, l) -> this.modify((int) f, (int) l, 1, function, right));
+        } else {
+            this.modify(Math.toIntExact(first), Math.toIntExact(limit), Math.toIntExact(step), function, right);
+        }
     }
 
     @Override
     protected final void modify(final long first, final long limit, final long step, final UnaryFunction<N> function) {
-        this.modify(Math.toIntExact(first), Math.toIntExact(limit), Math.toIntExact(step), function);
+        if (BulkOperations.isParallel(first, limit, step)) {
+            BulkOperations.divide(first, limit, (f, l) -> this.modify((int) f, (int) l, 1, function));
+        } else {
+            this.modify(Math.toIntExact(first), Math.toIntExact(limit), Math.toIntExact(step), function);
+        }
     }
 
     protected abstract void modifyOne(final int index, final UnaryFunction<N> modifier);
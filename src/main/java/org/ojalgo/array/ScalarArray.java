@@ -21,7 +21,6 @@
  */
 package org.ojalgo.array;
 
-import java.util.Arrays;
 import java.util.Comparator;
 
 import org.ojalgo.array.operation.AMAX;
@@ -97,12 +96,12 @@ public abstract class ScalarArray<N extends Scalar<N>> extends ReferenceTypeArra
 
     @Override
     public final void sortAscending() {
-        Arrays.sort(data);
+        BulkOperations.sort(data, Comparator.naturalOrder());
     }
 
     @Override
     public final void sortDescending() {
-        Arrays.sort(data, Comparator.reverseOrder());
+        BulkOperations.sort(data, Comparator.reverseOrder());
     }
 
     @Override
@@ -131,8 +131,12 @@ final class SegmentedArray<N extends Comparable<N>> extends BasicArray<N> {
 
     @Override
     public void fillAll(final N value) {
-        for (BasicArray<N> tmpSegment : mySegments) {
-            tmpSegment.fillAll(value);
+        if (this.isParallel(0L, this.count(), 1L)) {
+            this.fill(0L, this.count(), 1L, value);
+        } else {
+            for (BasicArray<N> tmpSegment : mySegments) {
+                tmpSegment.fillAll(value);
+            }
         }
     }
 
@@ -269,34 +273,10 @@ final class SegmentedArray<N extends Comparable<N>> extends BasicArray<N> {
 
     @Override
     protected void fill(final long first, final long limit, final long step, final N value) {
-
-        if (step <= mySegmentSize) {
-            // Will use a continuous range of segements
-
-            int tmpFirstSegment = (int) (first / mySegmentSize);
-            int tmpLastSegemnt = (int) ((limit - 1L) / mySegmentSize);
-
-            long tmpFirstInSegment = first % mySegmentSize;
-
-            for (int s = tmpFirstSegment; s < tmpLastSegemnt; s++) {
-                mySegments[s].fill(tmpFirstInSegment, mySegmentSize, step, value);
-                long tmpRemainder = (mySegmentSize - tmpFirstInSegment) % step;
-                tmpFirstInSegment = tmpRemainder == 0L ? 0L : step - tmpRemainder;
-            }
-            mySegments[tmpLastSegemnt].fill(tmpFirstInSegment, limit - tmpLastSegemnt * mySegmentSize, step, value);
-
-        } else if (this.isPrimitive()) {
-
-            double tmpValue = NumberDefinition.doubleValue(value);
-            for (long i = first; i < limit; i += step) {
-                this.set(i, tmpValue);
-            }
-
+        if (this.isParallel(first, limit, step)) {
+            BulkOperations.divide(first, limit, (f, l) -> this.fillSegments(f, l, 1L, value));
         } else {
-
-            for (long i = first; i < limit; i += step) {
-                this.set(i, value);
-            }
+            this.fillSegments(first, limit, step, value);
         }
     }
 
@@ -334,59 +314,28 @@ final class SegmentedArray<N extends Comparable<N>> extends BasicArray<N> {
 
     @Override
     protected void modify(final long first, final long limit, final long step, final Access1D<N> left, final BinaryFunction<N> function) {
-        if (this.isPrimitive()) {
-            for (long l = first; l < limit; l += step) {
-                this.set(l, function.invoke(left.doubleValue(l), this.doubleValue(l)));
-            }
+        if (this.isParallel(first, limit, step)) {
+            BulkOperations.divide(first, limit, (f, l) -> this.modifySegments(f, l, 1L, left, function));
         } else {
-            for (long l = first; l < limit; l += step) {
-                this.set(l, function.invoke(left.get(l), this.get(l)));
-            }
+            this.modifySegments(first, limit, step, left, function);
         }
     }
 
     @Override
     protected void modify(final long first, final long limit, final long step, final BinaryFunction<N> function, final Access1D<N> right) {
-        if (this.isPrimitive()) {
-            for (long l = first; l < limit; l += step) {
-                this.set(l, function.invoke(this.doubleValue(l), right.doubleValue(l)));
-            }
+        if (this.isParallel(first, limit, step)) {
+            BulkOperations.divide(first, limit, (f, l) -> this.modifySegments(f, l, 1L, function, right));
         } else {
-            for (long l = first; l < limit; l += step) {
-                this.set(l, function.invoke(this.get(l), right.get(l)));
-            }
+            this.modifySegments(first, limit, step, function, right);
         }
     }
 
     @Override
     protected void modify(final long first, final long limit, final long step, final UnaryFunction<N> function) {
-
-        if (step <= mySegmentSize) {
-            // Will use a continuous range of segements
-
-            int tmpFirstSegment = (int) (first / mySegmentSize);
-            int tmpLastSegemnt = (int) ((limit - 1) / mySegmentSize);
-
-            long tmpFirstInSegment = first % mySegmentSize;
-
-            for (int s = tmpFirstSegment; s < tmpLastSegemnt; s++) {
-                mySegments[s].modify(tmpFirstInSegment, mySegmentSize, step, function);
-                long tmpRemainder = (mySegmentSize - tmpFirstInSegment) % step;
-                tmpFirstInSegment = tmpRemainder == 0L ? 0L : step - tmpRemainder;
-            }
-            mySegments[tmpLastSegemnt].modify(tmpFirstInSegment, limit - tmpLastSegemnt * mySegmentSize, step, function);
-
-        } else if (this.isPrimitive()) {
-
-            for (long i = first; i < limit; i += step) {
-                this.set(i, function.invoke(this.doubleValue(i)));
-            }
-
+        if (this.isParallel(first, limit, step)) {
+            BulkOperations.divide(first, limit, (f, l) -> this.modifySegments(f, l, 1L, function));
         } else {
-
-            for (long i = first; i < limit; i += step) {
-                this.set(i, function.invoke(this.get(i)));
-            }
+            this.modifySegments(first, limit, step, function);
         }
     }
 
@@ -460,4 +409,98 @@ final class SegmentedArray<N extends Comparable<N>> extends BasicArray<N> {
         }
     }
 
+    private void fillSegments(final long first, final long limit, final long step, final N value) {
+
+        if (step <= mySegmentSize) {
+            // Will use a continuous range of segements
+
+            int tmpFirstSegment = (int) (first / mySegmentSize);
+            int tmpLastSegemnt = (int) ((limit - 1L) / mySegmentSize);
+
+            long tmpFirstInSegment = first % mySegmentSize;
+
+            for (int s = tmpFirstSegment; s < tmpLastSegemnt; s++) {
+                mySegments[s].fill(tmpFirstInSegment, mySegmentSize, step, value);
+                long tmpRemainder = (mySegmentSize - tmpFirstInSegment) % step;
+                tmpFirstInSegment = tmpRemainder == 0L ? 0L : step - tmpRemainder;
+            }
+            mySegments[tmpLastSegemnt].fill(tmpFirstInSegment, limit - tmpLastSegemnt * mySegmentSize, step, value);
+
+        } else if (this.isPrimitive()) {
+
+            double tmpValue = NumberDefinition.doubleValue(value);
+            for (long i = first; i < limit; i += step) {
+                this.set(i, tmpValue);
+            }
+
+        } else {
+
+            for (long i = first; i < limit; i += step) {
+                this.set(i, value);
+            }
+        }
+    }
+
+    /**
+     * Only dense segments can be modified (concurrently) in parallel.
+     */
+    private boolean isParallel(final long first, final long limit, final long step) {
+        return mySegments[0] instanceof DenseArray && BulkOperations.isParallel(first, limit, step);
+    }
+
+    private void modifySegments(final long first, final long limit, final long step, final Access1D<N> left, final BinaryFunction<N> function) {
+        if (this.isPrimitive()) {
+            for (long l = first; l < limit; l += step) {
+                this.set(l, function.invoke(left.doubleValue(l), this.doubleValue(l)));
+            }
+        } else {
+            for (long l = first; l < limit; l += step) {
+                this.set(l, function.invoke(left.get(l), this.get(l)));
+            }
+        }
+    }
+
+    private void modifySegments(final long first, final long limit, final long step, final BinaryFunction<N> function, final Access1D<N> right) {
+        if (this.isPrimitive()) {
+            for (long l = first; l < limit; l += step) {
+                this.set(l, function.invoke(this.doubleValue(l), right.doubleValue(l)));
+            }
+        } else {
+            for (long l = first; l < limit; l += step) {
+                this.set(l, function.invoke(this.get(l), right.get(l)));
+            }
+        }
+    }
+
+    private void modifySegments(final long first, final long limit, final long step, final UnaryFunction<N> function) {
+
+        if (step <= mySegmentSize) {
+            // Will use a continuous range of segements
+
+            int tmpFirstSegment = (int) (first / mySegmentSize);
+            int tmpLastSegemnt = (int) ((limit - 1) / mySegmentSize);
+
+            long tmpFirstInSegment = first % mySegmentSize;
+
+            for (int s = tmpFirstSegment; s < tmpLastSegemnt; s++) {
+                mySegments[s].modify(tmpFirstInSegment, mySegmentSize, step, function);
+                long tmpRemainder = (mySegmentSize - tmpFirstInSegment) % step;
+                tmpFirstInSegment = tmpRemainder == 0L ? 0L : step - tmpRemainder;
+            }
+            mySegments[tmpLastSegemnt].modify(tmpFirstInSegment, limit - tmpLastSegemnt * mySegmentSize, step, function);
+
+        } else if (this.isPrimitive()) {
+
+            for (long i = first; i < limit; i += step) {
+                this.set(i, function.invoke(this.doubleValue(i)));
+            }
+
+        } else {
+
+            for (long i = first; i < limit; i += step) {
+                this.set(i, function.invoke(this.get(i)));
+            }
+        }
+    }
+
 }
@@ -30,6 +30,7 @@ import org.ojalgo.function.BinaryFunction;
 import org.ojalgo.function.NullaryFunction;
 import org.ojalgo.function.UnaryFunction;
 import org.ojalgo.function.VoidFunction;
+import org.ojalgo.function.aggregator.Aggregator;
 import org.ojalgo.function.constant.PrimitiveMath;
 import org.ojalgo.scalar.PrimitiveScalar;
 import org.ojalgo.structure.Access1D;
@@ -44,6 +45,12 @@ import org.ojalgo.type.context.NumberContext;
  * Only stores nonzero elements and/or elements specifically set by the user. The nonzero elements are stored
  * internally in a {@link DenseArray}.
  * </p>
+ * <p>
+ * Setting (or adding to) elements in random order is efficient. New elements that are not appended at the
+ * end are staged, and then sorted and merged with the existing elements on the next read. That merge is done
+ * under a lock, guarded by a volatile flag, so once the writing is done any number of threads may read
+ * concurrently. Writes, as with any other mutable structure, must be externally synchronized.
+ * </p>
  *
  * @author apete
  */
@@ -269,6 +276,7 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
     }
 
     private static final NumberContext MATH_CONTEXT = NumberContext.ofMath(MathContext.DECIMAL64);
+    private static final int MIN_STAGED = 64;
 
     public static <N extends Comparable<N>> SparseFactory<N> factory(final PlainArray.Factory<N, ?> denseFactory) {
         return new SparseFactory<>(denseFactory);
@@ -281,10 +289,24 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
     private final PlainArray.Factory<N, ?> myDenseFactory;
     private final GrowthStrategy myGrowthStrategy;
     private int[] myIndices;
+    /**
+     * False when there are staged inserts that have not yet been merged. Checked (without locking) on every
+     * read, and only if it's false is the lock acquired to merge.
+     */
+    private volatile boolean myMerged = true;
     /**
      * The capacity
      */
     private final int mySize;
+    /**
+     * Inserts that are not appends (the index is not larger than all existing indices) are staged – appended,
+     * in any order, to these arrays – and then sorted and merged in to {@link #myIndices}/{@link #myValues} on
+     * the next read. Additions are stored as {@code ~index} (negative), assignments as {@code index}. A staged
+     * index is never also in {@link #myIndices}.
+     */
+    private int[] myStagedIndices = null;
+    private int myStagedLength = 0;
+    private PlainArray<N> myStagedValues = null;
     private PlainArray<N> myValues;
 
     SparseArray(final PlainArray.Factory<N, ?> denseFactory, final GrowthStrategy growthStrategy, final int size) {
@@ -302,9 +324,11 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
 
     @Override
     public void add(final int index, final double addend) {
-        int tmpIndex = this.index(index);
+        int tmpIndex = this.search(index);
         if (tmpIndex >= 0) {
             myValues.add(tmpIndex, addend);
+        } else if (-(tmpIndex + 1) < myActualLength) {
+            this.stage(index, addend, true);
         } else {
             this.set(index, addend);
         }
@@ -312,9 +336,11 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
 
     @Override
     public void add(final long index, final Comparable<?> addend) {
-        int tmpIndex = this.index(index);
+        int tmpIndex = this.search(index);
         if (tmpIndex >= 0) {
             myValues.add(tmpIndex, addend);
+        } else if (-(tmpIndex + 1) < myActualLength) {
+            this.stage(index, addend, true);
         } else {
             this.set(index, addend);
         }
@@ -322,9 +348,11 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
 
     @Override
     public void add(final long index, final double addend) {
-        int tmpIndex = this.index(index);
+        int tmpIndex = this.search(index);
         if (tmpIndex >= 0) {
             myValues.add(tmpIndex, addend);
+        } else if (-(tmpIndex + 1) < myActualLength) {
+            this.stage(index, addend, true);
         } else {
             this.set(index, addend);
         }
@@ -332,18 +360,28 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
 
     @Override
     public void add(final long index, final float addend) {
-        int tmpIndex = this.index(index);
+        int tmpIndex = this.search(index);
         if (tmpIndex >= 0) {
             myValues.add(tmpIndex, addend);
+        } else if (-(tmpIndex + 1) < myActualLength) {
+            this.stage(index, addend, true);
         } else {
             this.set(index, addend);
         }
     }
 
+    @Override
+    public N aggregateRange(final long first, final long limit, final Aggregator aggregator) {
+        // Merge before the range is (possibly) aggregated in parallel
+        this.mergeStaged();
+        return super.aggregateRange(first, limit, aggregator);
+    }
+
     /**
      * AXPY using a raw {@code double[]} vector — avoids {@link NonzeroView} allocation.
      */
     public void axpy(final double a, final double[] y) {
+        this.mergeStaged();
         for (int n = 0; n < myActualLength; n++) {
             y[myIndices[n]] += a * myValues.doubleValue(n);
         }
@@ -351,6 +389,7 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
 
     @Override
     public void axpy(final double a, final Mutate1D.Modifiable<?> y) {
+        this.mergeStaged();
         for (int n = 0; n < myActualLength; n++) {
             y.add(myIndices[n], a * myValues.doubleValue(n));
         }
@@ -360,6 +399,7 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
      * AXPY where stored indices are translated through {@code lookup} before indexing {@code y}.
      */
     public void axpyViaLookup(final double a, final double[] y, final int[] lookup) {
+        this.mergeStaged();
         for (int n = 0; n < myActualLength; n++) {
             y[lookup[myIndices[n]]] += a * myValues.doubleValue(n);
         }
@@ -372,16 +412,20 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
 
     @Override
     public int countNonzeros() {
+        this.mergeStaged();
         return myActualLength;
     }
 
     public long countZeros() {
+        this.mergeStaged();
         return mySize - myActualLength;
     }
 
     @Override
     public double dot(final Access1D<?> vector) {
 
+        this.mergeStaged();
+
         double retVal = PrimitiveMath.ZERO;
 
         for (int n = 0; n < myActualLength; n++) {
@@ -396,6 +440,8 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
      */
     public double dot(final double[] vector) {
 
+        this.mergeStaged();
+
         double retVal = PrimitiveMath.ZERO;
 
         for (int n = 0; n < myActualLength; n++) {
@@ -412,6 +458,8 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
      */
     public double dotViaLookup(final double[] vector, final int[] lookup) {
 
+        this.mergeStaged();
+
         double retVal = PrimitiveMath.ZERO;
 
         for (int n = 0; n < myActualLength; n++) {
@@ -458,6 +506,8 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
      */
     public void exchange(final int indexA, final int indexB) {
 
+        this.mergeStaged();
+
         if (indexA == indexB || myActualLength == 0) {
             return; // No operation needed
         }
@@ -522,6 +572,8 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
     @Override
     public void fillAll(final N value) {
 
+        this.mergeStaged();
+
         if (PrimitiveScalar.isSmall(PrimitiveMath.ONE, NumberDefinition.doubleValue(value))) {
 
             myValues.fillAll(myDenseFactory.scalar().zero().get());
@@ -545,6 +597,8 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
     @Override
     public void fillAll(final NullaryFunction<?> supplier) {
 
+        this.mergeStaged();
+
         // Bad idea...
 
         int tmpSize = Math.toIntExact(this.count());
@@ -572,6 +626,7 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
      * @return The index of the first nonzero element, or -1 if empty
      */
     public int firstIndex() {
+        this.mergeStaged();
         return myActualLength > 0 ? myIndices[0] : -1;
     }
 
@@ -599,6 +654,7 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
 
     @Override
     public long indexOfLargest() {
+        this.mergeStaged();
         return myIndices[myValues.indexOfLargest(0, myActualLength, 1)];
     }
 
@@ -606,6 +662,7 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
      * @return The index of the last nonzero element, or -1 if empty
      */
     public int lastIndex() {
+        this.mergeStaged();
         return myActualLength > 0 ? myIndices[myActualLength - 1] : -1;
     }
 
@@ -623,6 +680,8 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
     @Override
     public void modifyAll(final UnaryFunction<N> modifier) {
 
+        this.mergeStaged();
+
         double zeroValue = modifier.invoke(PrimitiveMath.ZERO);
 
         if (MATH_CONTEXT.isDifferent(PrimitiveMath.ZERO, zeroValue)) {
@@ -639,6 +698,7 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
 
     @Override
     public NonzeroView<N> nonzeros() {
+        this.mergeStaged();
         return new NonzeroView<>(myIndices, myValues, myActualLength);
     }
 
@@ -673,6 +733,8 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
      */
     public void removeShiftAndInsert(final int first, final int last, final double newValue) {
 
+        this.mergeStaged();
+
         boolean atFirst = false;
         int insertPos = -1;
 
@@ -716,12 +778,14 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
     @Override
     public void reset() {
         myActualLength = 0;
+        myStagedLength = 0;
+        myMerged = true;
     }
 
     @Override
     public void set(final int index, final double value) {
 
-        int internalIndex = this.index(index);
+        int internalIndex = this.search(index);
 
         this.update(index, internalIndex, value, false);
     }
@@ -729,7 +793,7 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
     @Override
     public void set(final long index, final Comparable<?> value) {
 
-        int internalIndex = this.index(index);
+        int internalIndex = this.search(index);
 
         this.update(index, internalIndex, value, false);
     }
@@ -737,7 +801,7 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
     @Override
     public void set(final long index, final double value) {
 
-        int internalIndex = this.index(index);
+        int internalIndex = this.search(index);
 
         this.update(index, internalIndex, value, false);
     }
@@ -745,7 +809,7 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
     @Override
     public void set(final long index, final float value) {
 
-        int internalIndex = this.index(index);
+        int internalIndex = this.search(index);
 
         this.update(index, internalIndex, value, false);
     }
@@ -760,6 +824,7 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
      * this sparse array are not zero:ed or modified in any way.
      */
     public void supplyNonZerosTo(final double[] receiver) {
+        this.mergeStaged();
         for (int n = 0; n < myActualLength; n++) {
             receiver[myIndices[n]] = myValues.doubleValue(n);
         }
@@ -770,6 +835,7 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
      * this sparse array are not zero:ed or modified in any way.
      */
     public void supplyNonZerosTo(final Mutate1D receiver) {
+        this.mergeStaged();
         if (this.isPrimitive()) {
             for (int n = 0; n < myActualLength; n++) {
                 receiver.set(myIndices[n], myValues.doubleValue(n));
@@ -859,6 +925,226 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
         }
     }
 
+    /**
+     * Makes sure there is room for one more staged insert, growing the staging arrays if necessary. The
+     * staging arrays are not allowed to grow beyond the (current) number of sorted entries, then it's time to
+     * merge instead. That bounds the memory overhead and makes the amortised cost of an insert O(log n).
+     *
+     * @return true if the staged inserts have to be merged first
+     */
+    private boolean isStagingFull() {
+
+        if (myStagedIndices == null) {
+            int initial = myGrowthStrategy.initial();
+            myStagedIndices = new int[initial];
+            myStagedValues = myDenseFactory.make(initial);
+        }
+
+        if (myStagedLength < myStagedIndices.length) {
+            return false;
+        }
+
+        if (myStagedLength >= Math.max(myActualLength, MIN_STAGED)) {
+            return true;
+        }
+
+        int capacity = myGrowthStrategy.grow(myStagedIndices.length);
+        PlainArray<N> values = myDenseFactory.make(capacity);
+        if (myStagedValues.isPrimitive()) {
+            for (int s = 0; s < myStagedLength; s++) {
+                values.set(s, myStagedValues.doubleValue(s));
+            }
+        } else {
+            for (int s = 0; s < myStagedLength; s++) {
+                values.set(s, myStagedValues.get(s));
+            }
+        }
+        myStagedIndices = Arrays.copyOf(myStagedIndices, capacity);
+        myStagedValues = values;
+
+        return false;
+    }
+
+    /**
+     * Sort the staged inserts, combine those with the same index, and merge them with the already sorted
+     * entries. The sort is O(k log k) and the merge O(n + k), done backwards so that it can be done in place
+     * when the capacity is sufficient.
+     */
+    private void merge() {
+
+        if (myStagedLength == 0) {
+            return;
+        }
+
+        int nbStaged = myStagedLength;
+        boolean primitive = myValues.isPrimitive();
+
+        // Sort by index, and then by staging order (stable)
+        long[] order = new long[nbStaged];
+        for (int s = 0; s < nbStaged; s++) {
+            int staged = myStagedIndices[s];
+            order[s] = (long) (staged < 0 ? ~staged : staged) << 32 | s;
+        }
+        BulkOperations.sort(order);
+
+        // Combine assignments/additions to the same index – each distinct index becomes one entry
+        int[] keys = new int[nbStaged];
+        PlainArray<N> values = myDenseFactory.make(nbStaged);
+        int nbDistinct = 0;
+        for (int o = 0; o < nbStaged; o++) {
+            int s = (int) order[o];
+            int staged = myStagedIndices[s];
+            int key = staged < 0 ? ~staged : staged;
+            if (nbDistinct == 0 || keys[nbDistinct - 1] != key) {
+                keys[nbDistinct] = key;
+                if (primitive) {
+                    values.set(nbDistinct, myStagedValues.doubleValue(s));
+                } else {
+                    values.set(nbDistinct, myStagedValues.get(s));
+                }
+                nbDistinct++;
+            } else if (staged < 0) {
+                if (primitive) {
+                    values.add(nbDistinct - 1, myStagedValues.doubleValue(s));
+                } else {
+                    values.add(nbDistinct - 1, myStagedValues.get(s));
+                }
+            } else if (primitive) {
+                values.set(nbDistinct - 1, myStagedValues.doubleValue(s));
+            } else {
+                values.set(nbDistinct - 1, myStagedValues.get(s));
+            }
+        }
+
+        int nbExisting = myActualLength;
+        int nbTotal = nbExisting + nbDistinct;
+
+        int[] targetIndices = myIndices;
+        PlainArray<N> targetValues = myValues;
+        if (nbTotal > myIndices.length) {
+            int capacity = myIndices.length;
+            while (capacity < nbTotal) {
+                capacity = myGrowthStrategy.grow(capacity);
+            }
+            targetIndices = new int[capacity];
+            targetValues = myDenseFactory.make(capacity);
+        }
+
+        int e = nbExisting - 1;
+        int d = nbDistinct - 1;
+        for (int t = nbTotal - 1; d >= 0; t--) {
+            if (e >= 0 && myIndices[e] > keys[d]) {
+                targetIndices[t] = myIndices[e];
+                if (primitive) {
+                    targetValues.set(t, myValues.doubleValue(e));
+                } else {
+                    targetValues.set(t, myValues.get(e));
+                }
+                e--;
+            } else {
+                targetIndices[t] = keys[d];
+                if (primitive) {
+                    targetValues.set(t, values.doubleValue(d));
+                } else {
+                    targetValues.set(t, values.get(d));
+                }
+                d--;
+            }
+        }
+        if (targetIndices != myIndices) {
+            // The first e+1 existing entries are unchanged, but need to be copied to the new arrays
+            for (; e >= 0; e--) {
+                targetIndices[e] = myIndices[e];
+                if (primitive) {
+                    targetValues.set(e, myValues.doubleValue(e));
+                } else {
+                    targetValues.set(e, myValues.get(e));
+                }
+            }
+            myIndices = targetIndices;
+            myValues = targetValues;
+        }
+
+        myActualLength = nbTotal;
+        myStagedLength = 0;
+    }
+
+    /**
+     * Called first thing on every read (and before a write that needs the staged inserts merged). Concurrent
+     * readers can get here at the same time – one of them merges, the others wait for that to finish.
+     */
+    private void mergeStaged() {
+        if (!myMerged) {
+            synchronized (this) {
+                if (!myMerged) {
+                    this.merge();
+                    myMerged = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Binary search among the sorted (not staged) entries.
+     */
+    private int search(final int index) {
+        return Arrays.binarySearch(myIndices, 0, myActualLength, index);
+    }
+
+    private int search(final long index) {
+        return this.search((int) index);
+    }
+
+    private void stage(final long index, final Comparable<?> value, final boolean addition) {
+
+        if (addition && value.equals(myDenseFactory.scalar().zero().get())) {
+            return;
+        }
+
+        if (this.isStagingFull()) {
+            // Merge, and then start over – the index may no longer be absent
+            this.mergeStaged();
+            if (addition) {
+                this.add(index, value);
+            } else {
+                this.update(index, this.search(index), value, true);
+            }
+            return;
+        }
+
+        myStagedIndices[myStagedLength] = addition ? ~(int) index : (int) index;
+        myStagedValues.set(myStagedLength, value);
+        myStagedLength++;
+        if (myMerged) {
+            myMerged = false;
+        }
+    }
+
+    private void stage(final long index, final double value, final boolean addition) {
+
+        if (addition && value == PrimitiveMath.ZERO) {
+            return;
+        }
+
+        if (this.isStagingFull()) {
+            // Merge, and then start over – the index may no longer be absent
+            this.mergeStaged();
+            if (addition) {
+                this.add(index, value);
+            } else {
+                this.update(index, this.search(index), value, true);
+            }
+            return;
+        }
+
+        myStagedIndices[myStagedLength] = addition ? ~(int) index : (int) index;
+        myStagedValues.set(myStagedLength, value);
+        myStagedLength++;
+        if (myMerged) {
+            myMerged = false;
+        }
+    }
+
     /**
      * Will never remove anything - just insert or update
      */
@@ -869,6 +1155,11 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
 
             myValues.set(internalIndex, value);
 
+        } else if ((shouldStoreZero || !value.equals(myDenseFactory.scalar().zero().get())) && -(internalIndex + 1) < myActualLength) {
+            // Not existing value, and not at the end – stage it
+
+            this.stage(externalIndex, value, false);
+
         } else if (shouldStoreZero || !value.equals(myDenseFactory.scalar().zero().get())) {
             // Not existing value, insert new
             int tmpInsInd = -(internalIndex + 1);
@@ -908,6 +1199,12 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
                 myValues = tmpValues;
             }
             myActualLength++;
+
+        } else if (myStagedLength > 0) {
+            // Zero, but could be staged
+
+            this.mergeStaged();
+            this.update(externalIndex, this.search(externalIndex), value, shouldStoreZero);
         }
     }
 
@@ -921,6 +1218,11 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
 
             myValues.set(internalIndex, value);
 
+        } else if ((shouldStoreZero || NumberContext.compare(value, PrimitiveMath.ZERO) != 0) && -(internalIndex + 1) < myActualLength) {
+            // Not existing value, and not at the end – stage it
+
+            this.stage(externalIndex, value, false);
+
         } else if (shouldStoreZero || NumberContext.compare(value, PrimitiveMath.ZERO) != 0) {
             // Not existing value, insert new
             int tmpInsInd = -(internalIndex + 1);
@@ -960,6 +1262,12 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
                 myValues = tmpValues;
             }
             myActualLength++;
+
+        } else if (myStagedLength > 0) {
+            // Zero, but could be staged
+
+            this.mergeStaged();
+            this.update(externalIndex, this.search(externalIndex), value, shouldStoreZero);
         }
     }
 
@@ -1002,6 +1310,7 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
 
     @Override
     protected long indexOfLargest(final long first, final long limit, final long step) {
+        this.mergeStaged();
 
         long retVal = first;
         double tmpLargest = PrimitiveMath.ZERO;
@@ -1024,6 +1333,8 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
     @Override
     protected void modify(final long first, final long limit, final long step, final Access1D<N> left, final BinaryFunction<N> function) {
 
+        this.mergeStaged();
+
         double tmpZeroValue = function.invoke(PrimitiveMath.ZERO, PrimitiveMath.ZERO);
 
         if (!PrimitiveScalar.isSmall(PrimitiveMath.ONE, tmpZeroValue)) {
@@ -1042,6 +1353,8 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
     @Override
     protected void modify(final long first, final long limit, final long step, final BinaryFunction<N> function, final Access1D<N> right) {
 
+        this.mergeStaged();
+
         double tmpZeroValue = function.invoke(PrimitiveMath.ZERO, PrimitiveMath.ZERO);
 
         if (!PrimitiveScalar.isSmall(PrimitiveMath.ONE, tmpZeroValue)) {
@@ -1059,6 +1372,8 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
     @Override
     protected void modify(final long first, final long limit, final long step, final UnaryFunction<N> function) {
 
+        this.mergeStaged();
+
         double tmpZeroValue = function.invoke(PrimitiveMath.ZERO);
 
         if (!PrimitiveScalar.isSmall(PrimitiveMath.ONE, tmpZeroValue)) {
@@ -1075,6 +1390,7 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
 
     @Override
     protected void visit(final long first, final long limit, final long step, final VoidFunction<N> visitor) {
+        this.mergeStaged();
         boolean tmpOnlyOnce = true;
         for (int i = 0; i < myIndices.length; i++) {
             int tmpIndex = myIndices[i];
@@ -1092,6 +1408,7 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
     }
 
     PlainArray<N> densify() {
+        this.mergeStaged();
 
         PlainArray<N> retVal = myDenseFactory.make(this.size());
 
@@ -1114,6 +1431,7 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
     }
 
     int getActualLength() {
+        this.mergeStaged();
         return myActualLength;
     }
 
@@ -1122,6 +1440,7 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
     }
 
     DenseArray<N> getValues() {
+        this.mergeStaged();
         return myValues;
     }
 
@@ -1164,8 +1483,12 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
         };
     }
 
+    /**
+     * Merges any staged inserts, and then searches for the index.
+     */
     int index(final int index) {
-        return Arrays.binarySearch(myIndices, 0, myActualLength, index);
+        this.mergeStaged();
+        return this.search(index);
     }
 
     int index(final long index) {
@@ -1173,9 +1496,17 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
     }
 
     IntStream indices() {
+        this.mergeStaged();
         return Arrays.stream(myIndices, 0, myActualLength);
     }
 
+    /**
+     * Insert or update, also storing zeros, without first merging any staged inserts.
+     */
+    void put(final long key, final double value) {
+        this.update(key, this.search(key), value, true);
+    }
+
     void put(final long key, final int index, final double value) {
         this.update(key, index, value, true);
     }
@@ -1184,6 +1515,10 @@ public final class SparseArray<N extends Comparable<N>> extends BasicArray<N> im
         this.update(key, index, value, true);
     }
 
+    void put(final long key, final N value) {
+        this.update(key, this.search(key), value, true);
+    }
+
     void remove(final long externalIndex, final int internalIndex) {
 
         if (internalIndex >= 0) {
@@ -101,6 +101,10 @@ public abstract class AMAX implements ArrayOperation {
 
     public static int invoke(final double[] data, final int first, final int limit, final int step) {
 
+        if (VectorKernels.ENABLED && step == 1 && limit - first >= VectorKernels.THRESHOLD) {
+            return VectorKernels.amax(data, first, limit);
+        }
+
         int retVal = first;
         double largest = 0D;
         double candidate;
@@ -144,6 +148,10 @@ public abstract class AMAX implements ArrayOperation {
 
     public static int invoke(final float[] data, final int first, final int limit, final int step) {
 
+        if (VectorKernels.ENABLED && step == 1 && limit - first >= VectorKernels.THRESHOLD) {
+            return VectorKernels.amax(data, first, limit);
+        }
+
         int retVal = first;
         float largest = 0F;
         float candidate;
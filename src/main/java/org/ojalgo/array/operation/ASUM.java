@@ -33,6 +33,9 @@ import org.ojalgo.function.constant.PrimitiveMath;
 public abstract class ASUM implements ArrayOperation {
 
     public static double invoke(final double[] data, final int first, final int limit, final int step) {
+        if (VectorKernels.ENABLED && step == 1 && limit - first >= VectorKernels.THRESHOLD) {
+            return VectorKernels.asum(data, first, limit);
+        }
         double retVal = 0D;
         for (int i = first; i < limit; i += step) {
             retVal += PrimitiveMath.ABS.invoke(data[i]);
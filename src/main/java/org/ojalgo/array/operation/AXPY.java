@@ -54,6 +54,10 @@ public abstract class AXPY implements ArrayOperation {
     }
 
     public static void invoke(final double[] y, final int basey, final double a, final double[] x, final int basex, final int first, final int limit) {
+        if (VectorKernels.ENABLED && limit - first >= VectorKernels.THRESHOLD) {
+            VectorKernels.axpy(y, basey, a, x, basex, first, limit);
+            return;
+        }
         for (int i = first; i < limit; i++) {
             y[basey + i] += a * x[basex + i];
         }
@@ -64,6 +68,10 @@ public abstract class AXPY implements ArrayOperation {
     }
 
     public static void invoke(final float[] y, final int basey, final float a, final float[] x, final int basex, final int first, final int limit) {
+        if (VectorKernels.ENABLED && limit - first >= VectorKernels.THRESHOLD) {
+            VectorKernels.axpy(y, basey, a, x, basex, first, limit);
+            return;
+        }
         for (int i = first; i < limit; i++) {
             y[basey + i] += a * x[basex + i];
         }
@@ -77,11 +77,19 @@ public abstract class DOT implements ArrayOperation {
     }
 
     public static double invoke(final double[] array1, final double[] array2) {
-        return DOT.plain(array1, 0, array2, 0, 0, Math.min(array1.length, array2.length));
+        int limit = Math.min(array1.length, array2.length);
+        if (VectorKernels.ENABLED && limit >= VectorKernels.THRESHOLD) {
+            return VectorKernels.dot(array1, 0, array2, 0, 0, limit);
+        }
+        return DOT.plain(array1, 0, array2, 0, 0, limit);
     }
 
     public static double invoke(final double[] array1, final double[] array2, final int first, final int limit) {
 
+        if (VectorKernels.ENABLED && limit - first >= VectorKernels.THRESHOLD) {
+            return VectorKernels.dot(array1, 0, array2, 0, first, limit);
+        }
+
         double retVal = 0D;
         for (int i = first; i < limit; i++) {
             retVal += array1[i] * array2[i];
@@ -98,6 +106,9 @@ public abstract class DOT implements ArrayOperation {
     }
 
     public static double invoke(final double[] array1, final int offset1, final double[] array2, final int offset2, final int first, final int limit) {
+        if (VectorKernels.ENABLED && limit - first >= VectorKernels.THRESHOLD) {
+            return VectorKernels.dot(array1, offset1, array2, offset2, first, limit);
+        }
         return DOT.unrolled04(array1, offset1, array2, offset2, first, limit);
     }
 
@@ -110,6 +121,9 @@ public abstract class DOT implements ArrayOperation {
     }
 
     public static float invoke(final float[] array1, final int offset1, final float[] array2, final int offset2, final int first, final int limit) {
+        if (VectorKernels.ENABLED && limit - first >= VectorKernels.THRESHOLD) {
+            return VectorKernels.dot(array1, offset1, array2, offset2, first, limit);
+        }
         return DOT.unrolled04(array1, offset1, array2, offset2, first, limit);
     }
 
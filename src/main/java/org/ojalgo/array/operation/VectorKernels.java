@@ -0,0 +1,96 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.array.operation;
+
+/**
+ * Hooks for SIMD (Vector API) implementations of some of the primitive kernels – {@link DOT}, {@link AXPY},
+ * {@link ASUM}, {@link NRM2} and {@link AMAX} for double[] and float[]. The matrix multiplication kernels
+ * (MultiplyBoth, MultiplyLeft, MultiplyNeither...) delegate their inner loops to {@link DOT} and
+ * {@link AXPY}, and benefit as well.
+ * <p>
+ * This is the Java 11 version of this class. It is never enabled, and its kernels simply delegate to the
+ * scalar implementations (that never call back here since {@link #ENABLED} is false). ojAlgo is packaged as a
+ * multi-release jar, and with Java 17 or later another version of this class (in META-INF/versions/17) is
+ * used. That version is enabled when the jdk.incubator.vector module is present (run with --add-modules
+ * jdk.incubator.vector) and the hardware supports vectors of at least 2 lanes – unless the system property
+ * {@value #PROPERTY} is set to false.
+ * <p>
+ * Both versions of this class must have the same (package private) API.
+ */
+final class VectorKernels {
+
+    /**
+     * Set to false to disable the Vector API implementations.
+     */
+    static final String PROPERTY = "ojalgo.vector";
+
+    /**
+     * Not a compile time constant – must be read from the (possibly versioned) class at runtime.
+     */
+    static final boolean ENABLED = VectorKernels.isEnabled();
+
+    /**
+     * Shorter ranges than this are handled by the scalar code.
+     */
+    static final int THRESHOLD = 32;
+
+    static int amax(final double[] data, final int first, final int limit) {
+        return AMAX.invoke(data, first, limit, 1);
+    }
+
+    static int amax(final float[] data, final int first, final int limit) {
+        return AMAX.invoke(data, first, limit, 1);
+    }
+
+    static double asum(final double[] data, final int first, final int limit) {
+        return ASUM.invoke(data, first, limit, 1);
+    }
+
+    static void axpy(final double[] y, final int basey, final double a, final double[] x, final int basex, final int first, final int limit) {
+        AXPY.invoke(y, basey, a, x, basex, first, limit);
+    }
+
+    static void axpy(final float[] y, final int basey, final float a, final float[] x, final int basex, final int first, final int limit) {
+        AXPY.invoke(y, basey, a, x, basex, first, limit);
+    }
+
+    static double dot(final double[] array1, final int offset1, final double[] array2, final int offset2, final int first, final int limit) {
+        return DOT.unrolled04(array1, offset1, array2, offset2, first, limit);
+    }
+
+    static float dot(final float[] array1, final int offset1, final float[] array2, final int offset2, final int first, final int limit) {
+        return DOT.unrolled04(array1, offset1, array2, offset2, first, limit);
+    }
+
+    static double nrm2(final double[] data, final double scale, final int first, final int limit) {
+        return NRM2.invoke(data, scale, first, limit);
+    }
+
+    private static boolean isEnabled() {
+        return false;
+    }
+
+    private VectorKernels() {
+        super();
+    }
+
+}
@@ -23,10 +23,14 @@ package org.ojalgo.data;
 
 import static org.ojalgo.function.constant.PrimitiveMath.*;
 
+import java.util.Arrays;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.ojalgo.ProgrammingError;
 import org.ojalgo.array.Array1D;
+import org.ojalgo.concurrent.ProcessingService;
+import org.ojalgo.data.batch.BatchNode;
 import org.ojalgo.function.UnaryFunction;
 import org.ojalgo.matrix.decomposition.SingularValue;
 import org.ojalgo.matrix.store.MatrixStore;
@@ -40,6 +44,7 @@ import org.ojalgo.structure.Access2D.RowView;
 import org.ojalgo.structure.Factory2D;
 import org.ojalgo.structure.Mutate2D;
 import org.ojalgo.structure.Transformation2D;
+import org.ojalgo.type.function.TwoStepMapper;
 
 /**
  * Various data processors that could be useful when doing data science or similar. With ojAlgo it is highly
@@ -50,6 +55,248 @@ import org.ojalgo.structure.Transformation2D;
  */
 public class DataProcessors {
 
+    /**
+     * Online (streaming) covariance/correlation estimator. Consumes samples (rows) one at a time, using
+     * Welford's algorithm, and keeps only the means and the co-moments of the variables – memory is
+     * O(variables²) regardless of the number of samples. Instances can be combined (Chan's pairwise update),
+     * so the work can be split over several threads using {@link ProcessingService#reduceCombineable} or
+     * {@link BatchNode#reduceByCombining(Supplier)}.
+     * <p>
+     * With a decay factor λ &lt; 1 this is an exponentially weighted estimator – each new sample has weight 1
+     * and all previous weights are multiplied by λ. The exponentially weighted estimates are order
+     * dependent, and when combining it is assumed that the other instance consumed samples that come after
+     * those of this instance.
+     * <p>
+     * Create instances using {@link DataProcessors#newCovarianceEstimator(Factory2D, int)},
+     * {@link DataProcessors#newCorrelationEstimator(Factory2D, int)} or
+     * {@link DataProcessors#newCovarianceEstimator(Factory2D, int, double)}.
+     */
+    public static final class CovarianceEstimator<M extends Mutate2D> implements TwoStepMapper.Combineable<Access1D<?>, M, CovarianceEstimator<M>> {
+
+        private static int index(final int row, final int col) {
+            return row <= col ? col * (col + 1) / 2 + row : row * (row + 1) / 2 + col;
+        }
+
+        /**
+         * Upper triangular (packed, column by column) co-moments – the weighted sums of products of
+         * deviations from the mean.
+         */
+        private final double[] myComoments;
+        private long myCount = 0L;
+        private final double myDecay;
+        private final double[] myDeviations;
+        private final Factory2D<M> myFactory;
+        private final double[] myMeans;
+        private final boolean myNormalised;
+        private final int myNumberOfVariables;
+        private double myWeight = ZERO;
+
+        CovarianceEstimator(final Factory2D<M> factory, final int nbVariables, final double decay, final boolean normalised) {
+
+            super();
+
+            if (decay <= ZERO || decay > ONE) {
+                throw new IllegalArgumentException("The decay factor must be in the range (0,1]!");
+            }
+
+            myFactory = factory;
+            myNumberOfVariables = nbVariables;
+            myDecay = decay;
+            myNormalised = normalised;
+
+            myMeans = new double[nbVariables];
+            myDeviations = new double[nbVariables];
+            myComoments = new double[nbVariables * (nbVariables + 1) / 2];
+        }
+
+        @Override
+        public void combine(final CovarianceEstimator<M> other) {
+
+            if (other.getNumberOfVariables() != myNumberOfVariables || other.getDecay() != myDecay) {
+                throw new IllegalArgumentException("Incompatible estimators!");
+            }
+
+            long otherCount = other.count();
+            if (otherCount == 0L) {
+                return;
+            }
+
+            double[] otherMeans = other.getMeans();
+            double[] otherComoments = other.getComoments();
+            double otherWeight = other.getWeight();
+
+            if (myCount == 0L) {
+                System.arraycopy(otherMeans, 0, myMeans, 0, myNumberOfVariables);
+                System.arraycopy(otherComoments, 0, myComoments, 0, myComoments.length);
+                myWeight = otherWeight;
+                myCount = otherCount;
+                return;
+            }
+
+            if (myDecay != ONE) {
+                // The other's samples come after this instance's
+                double factor = Math.pow(myDecay, otherCount);
+                myWeight *= factor;
+                for (int k = 0; k < myComoments.length; k++) {
+                    myComoments[k] *= factor;
+                }
+            }
+
+            double totalWeight = myWeight + otherWeight;
+            double crossFactor = myWeight * otherWeight / totalWeight;
+
+            for (int j = 0; j < myNumberOfVariables; j++) {
+                myDeviations[j] = otherMeans[j] - myMeans[j];
+                myMeans[j] += myDeviations[j] * otherWeight / totalWeight;
+            }
+
+            for (int j = 0, k = 0; j < myNumberOfVariables; j++) {
+                double scaled = crossFactor * myDeviations[j];
+                for (int i = 0; i <= j; i++, k++) {
+                    myComoments[k] += otherComoments[k] + scaled * myDeviations[i];
+                }
+            }
+
+            myWeight = totalWeight;
+            myCount += otherCount;
+        }
+
+        @Override
+        public void consume(final Access1D<?> sample) {
+            for (int j = 0; j < myNumberOfVariables; j++) {
+                myDeviations[j] = sample.doubleValue(j);
+            }
+            this.update();
+        }
+
+        /**
+         * Consume one sample – one value per variable.
+         */
+        public void consume(final double... sample) {
+            System.arraycopy(sample, 0, myDeviations, 0, myNumberOfVariables);
+            this.update();
+        }
+
+        /**
+         * The number of samples consumed (including those of any combined instances)
+         */
+        public long count() {
+            return myCount;
+        }
+
+        public double getCorrelation(final int row, final int col) {
+            double covariance = this.getCovariance(row, col);
+            double variances = this.getCovariance(row, row) * this.getCovariance(col, col);
+            return variances > ZERO ? covariance / SQRT.invoke(variances) : ZERO;
+        }
+
+        /**
+         * The sample covariance (divided by n-1), or, with exponential weighting, the weighted covariance
+         * (divided by the sum of weights).
+         */
+        public double getCovariance(final int row, final int col) {
+            double comoment = myComoments[CovarianceEstimator.index(row, col)];
+            if (myDecay != ONE) {
+                return myWeight > ZERO ? comoment / myWeight : ZERO;
+            } else {
+                return myCount > 1L ? comoment / (myCount - 1L) : ZERO;
+            }
+        }
+
+        public double getMean(final int variable) {
+            return myMeans[variable];
+        }
+
+        /**
+         * The covariance matrix, or the correlation matrix if this instance was created using
+         * {@link DataProcessors#newCorrelationEstimator(Factory2D, int)}.
+         */
+        @Override
+        public M getResults() {
+
+            M retVal = myFactory.make(myNumberOfVariables, myNumberOfVariables);
+
+            for (int j = 0; j < myNumberOfVariables; j++) {
+                for (int i = 0; i <= j; i++) {
+                    double value = myNormalised ? (i == j ? ONE : this.getCorrelation(i, j)) : this.getCovariance(i, j);
+                    retVal.set(i, j, value);
+                    retVal.set(j, i, value);
+                }
+            }
+
+            return retVal;
+        }
+
+        /**
+         * @return A new, empty, instance with the same configuration as this one.
+         */
+        public CovarianceEstimator<M> newInstance() {
+            return new CovarianceEstimator<>(myFactory, myNumberOfVariables, myDecay, myNormalised);
+        }
+
+        @Override
+        public void reset() {
+            myCount = 0L;
+            myWeight = ZERO;
+            Arrays.fill(myMeans, ZERO);
+            Arrays.fill(myComoments, ZERO);
+        }
+
+        /**
+         * Welford update with the new sample stored in {@link #myDeviations}.
+         */
+        private void update() {
+
+            if (myDecay != ONE) {
+                myWeight = myDecay * myWeight + ONE;
+                for (int k = 0; k < myComoments.length; k++) {
+                    myComoments[k] *= myDecay;
+                }
+            } else {
+                myWeight += ONE;
+            }
+            myCount++;
+
+            double ratio = ONE / myWeight;
+
+            // Before the update: deviation from the old mean; after: deviation from the new mean scaled by the old one
+            for (int j = 0; j < myNumberOfVariables; j++) {
+                double deviation = myDeviations[j] - myMeans[j];
+                myMeans[j] += deviation * ratio;
+                myDeviations[j] = deviation;
+            }
+
+            double factor = ONE - ratio;
+            for (int j = 0, k = 0; j < myNumberOfVariables; j++) {
+                double scaled = factor * myDeviations[j];
+                for (int i = 0; i <= j; i++, k++) {
+                    myComoments[k] += scaled * myDeviations[i];
+                }
+            }
+        }
+
+        double[] getComoments() {
+            return myComoments;
+        }
+
+        double getDecay() {
+            return myDecay;
+        }
+
+        double[] getMeans() {
+            return myMeans;
+        }
+
+        int getNumberOfVariables() {
+            return myNumberOfVariables;
+        }
+
+        double getWeight() {
+            return myWeight;
+        }
+
+    }
+
     /**
      * Variables (columns) centered so that their average will be 0.0
      */
@@ -238,6 +485,37 @@ public class DataProcessors {
         return retVal;
     }
 
+    /**
+     * An online estimator of the correlation matrix – consumes one sample (row) at a time.
+     *
+     * @see CovarianceEstimator
+     */
+    public static <M extends Mutate2D> CovarianceEstimator<M> newCorrelationEstimator(final Factory2D<M> factory, final int nbVariables) {
+        return new CovarianceEstimator<>(factory, nbVariables, ONE, true);
+    }
+
+    /**
+     * An online estimator of the (sample) covariance matrix – consumes one sample (row) at a time.
+     *
+     * @see CovarianceEstimator
+     */
+    public static <M extends Mutate2D> CovarianceEstimator<M> newCovarianceEstimator(final Factory2D<M> factory, final int nbVariables) {
+        return new CovarianceEstimator<>(factory, nbVariables, ONE, false);
+    }
+
+    /**
+     * An online estimator of the exponentially weighted covariance matrix – consumes one sample (row) at a
+     * time.
+     *
+     * @param decay The factor λ, in the range (0,1], by which previous weights are multiplied with each new
+     *              sample. (The "alpha" of an EWMA is 1-λ.)
+     * @see CovarianceEstimator
+     */
+    public static <M extends Mutate2D> CovarianceEstimator<M> newCovarianceEstimator(final Factory2D<M> factory, final int nbVariables,
+            final double decay) {
+        return new CovarianceEstimator<>(factory, nbVariables, decay, false);
+    }
+
     /**
      * Creates a {@link Transformation2D} that will apply a {@link UnaryFunction} to each column. That unary
      * function will be created by the provided {@link Function} using a {@link SampleSet} (of that column) as
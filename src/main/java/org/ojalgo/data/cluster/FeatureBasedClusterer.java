@@ -32,6 +32,7 @@ import java.util.function.Function;
 import java.util.function.ToDoubleBiFunction;
 
 import org.ojalgo.data.proximity.DistanceMeasure;
+import org.ojalgo.matrix.store.R064CSR;
 
 /**
  * Facade for clustering objects represented by float feature vectors.
@@ -51,12 +52,14 @@ import org.ojalgo.data.proximity.DistanceMeasure;
  * threshold.</li>
  * <li>{@link #newKMeans(DistanceMeasure, int)}: K-means style clustering with a specified number of
  * clusters.</li>
+ * <li>{@link #newMiniBatchKMeans(int, int)}: Mini-batch k-means for very large, or streamed, data
+ * sets.</li>
  * <li>{@link #newSpectral(DistanceMeasure, int)}: Spectral clustering using a Gaussian kernel and Laplacian
  * embedding.</li>
  * </ul>
  * <p>
- * <b>Performance:</b> Internally, distances are cached for efficiency. All clustering is performed on
- * {@link Point} objects with unique ids and float[] coordinates.
+ * <b>Performance:</b> Internally, a sparse k-nearest-neighbour graph is built – memory scales as O(n*k),
+ * not O(n^2). All clustering is performed on {@link Point} objects with unique ids and float[] coordinates.
  * <p>
  * <b>Extensibility:</b> Subclasses implement {@link #cluster(Collection)} to provide concrete clustering
  * strategies over {@link Point}s.
@@ -124,6 +127,11 @@ public abstract class FeatureBasedClusterer implements ClusteringAlgorithm<Point
 
     /**
      * Returns a new k-means–style clusterer using the supplied distance measure and number of clusters.
+     * <p>
+     * With {@link DistanceMeasure#EUCLIDEAN} or {@link DistanceMeasure#SQUARED_EUCLIDEAN} this is standard
+     * k-means: k-means++ initialisation, parallel assignment and triangle inequality (Hamerly) bounds to
+     * avoid most distance calculations. With any other measure the centroids are medoids and all pairwise
+     * distances are cached.
      *
      * @param measure the distance function
      * @param k       the number of clusters (k >= 1)
@@ -144,6 +152,19 @@ public abstract class FeatureBasedClusterer implements ClusteringAlgorithm<Point
         return new KMeansClusterer(k, DistanceMeasure.SQUARED_EUCLIDEAN);
     }
 
+    /**
+     * Returns a new mini-batch k-means clusterer (always squared Euclidean distance). Use this when the data
+     * set is very large, or doesn't fit in memory – then feed it batch by batch using
+     * {@link MiniBatchKMeans#consume(Collection)}.
+     *
+     * @param k         the number of clusters (k >= 1)
+     * @param batchSize the number of points per batch
+     * @return a new mini-batch k-means clusterer
+     */
+    public static MiniBatchKMeans newMiniBatchKMeans(final int k, final int batchSize) {
+        return new MiniBatchKMeans(k, batchSize);
+    }
+
     /**
      * Returns a new spectral clusterer using the supplied distance measure and number of clusters.
      * <p>
@@ -247,6 +268,16 @@ public abstract class FeatureBasedClusterer implements ClusteringAlgorithm<Point
         return myCache.distance(point1, point2);
     }
 
+    /**
+     * Returns the sparse k-nearest-neighbour graph, with distances as values, built by
+     * {@link #setup(Collection)}.
+     *
+     * @return neighbour graph
+     */
+    R064CSR getGraph() {
+        return myCache.getGraph();
+    }
+
     /**
      * Returns the median distance threshold used for greedy clustering and initialisation.
      *
@@ -265,6 +296,15 @@ public abstract class FeatureBasedClusterer implements ClusteringAlgorithm<Point
         return myCache::initialiser;
     }
 
+    /**
+     * Returns true if the configured distance measure is Euclidean or squared Euclidean.
+     *
+     * @return true if (squared) Euclidean, false otherwise
+     */
+    boolean isEuclidean() {
+        return myMeasure == DistanceMeasure.EUCLIDEAN || myMeasure == DistanceMeasure.SQUARED_EUCLIDEAN;
+    }
+
     /**
      * Returns true if the configured distance measure is squared Euclidean.
      *
@@ -275,9 +315,10 @@ public abstract class FeatureBasedClusterer implements ClusteringAlgorithm<Point
     }
 
     /**
-     * Prepares the internal distance cache for the given input points and distance measure.
+     * Prepares the internal distance cache (neighbour graph and threshold) for the given input points and
+     * distance measure.
      *
-     * @param input the points to cache distances for
+     * @param input the points to prepare for
      */
     void setup(final Collection<Point> input) {
         myCache.setup(input, myMeasure);
@@ -0,0 +1,210 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.data.cluster;
+
+import java.util.Collection;
+
+import org.ojalgo.concurrent.DivideAndConquer;
+import org.ojalgo.concurrent.Parallelism;
+
+/**
+ * Structure-of-arrays storage of feature vectors. The rows (points) are stored in fixed size float[] blocks,
+ * row-major within each block, so that no single array has to hold everything and there is no per point
+ * object overhead in the inner loops.
+ * <p>
+ * The rows are also divided into a fixed number of contiguous parts. Parallel work is always done part by
+ * part, and any partial results are combined in part order – the results don't depend on thread
+ * scheduling.
+ */
+final class FeatureBlocks {
+
+    private static final int MIN_PART_ROWS = 1_024;
+    private static final int SHIFT = 12;
+
+    static final int BLOCK_ROWS = 1 << SHIFT;
+
+    static FeatureBlocks of(final Collection<Point> points) {
+
+        int size = points.size();
+        int dimension = size > 0 ? points.iterator().next().coordinates.length : 0;
+
+        FeatureBlocks retVal = new FeatureBlocks(size, dimension);
+
+        int row = 0;
+        for (Point point : points) {
+            retVal.set(row++, point.coordinates);
+        }
+
+        return retVal;
+    }
+
+    static double squaredDistance(final double[] centroids1, final int centroid1, final double[] centroids2, final int centroid2,
+            final int dimension) {
+        double retVal = 0.0;
+        for (int o1 = centroid1 * dimension, o2 = centroid2 * dimension, j = 0; j < dimension; j++) {
+            double diff = centroids1[o1 + j] - centroids2[o2 + j];
+            retVal += diff * diff;
+        }
+        return retVal;
+    }
+
+    private final float[][] myBlocks;
+    private final int myDimension;
+    private final int myNumberOfParts;
+    private final int mySize;
+
+    FeatureBlocks(final int size, final int dimension) {
+
+        super();
+
+        mySize = size;
+        myDimension = dimension;
+
+        int nbBlocks = (size + BLOCK_ROWS - 1) >> SHIFT;
+        myBlocks = new float[nbBlocks][];
+        for (int b = 0; b < nbBlocks; b++) {
+            myBlocks[b] = new float[Math.min(BLOCK_ROWS, size - (b << SHIFT)) * dimension];
+        }
+
+        myNumberOfParts = Math.max(1, Math.min(Parallelism.CORES.getAsInt(), size / MIN_PART_ROWS));
+    }
+
+    /**
+     * Add row to the centroid sum.
+     */
+    void addTo(final int row, final double[] sums, final int centroid) {
+        float[] block = myBlocks[row >> SHIFT];
+        for (int o = (row & (BLOCK_ROWS - 1)) * myDimension, c = centroid * myDimension, j = 0; j < myDimension; j++) {
+            sums[c + j] += block[o + j];
+        }
+    }
+
+    void copyTo(final int row, final double[] centroids, final int centroid) {
+        float[] block = myBlocks[row >> SHIFT];
+        for (int o = (row & (BLOCK_ROWS - 1)) * myDimension, c = centroid * myDimension, j = 0; j < myDimension; j++) {
+            centroids[c + j] = block[o + j];
+        }
+    }
+
+    int dimension() {
+        return myDimension;
+    }
+
+    /**
+     * Calls the conquerer once for each part, in parallel. The conquerer is called with the part index
+     * rather than a row range – use {@link #first(int)} and {@link #limit(int)} to get the rows.
+     */
+    void divide(final DivideAndConquer.Conquerer conquerer) {
+        if (myNumberOfParts == 1) {
+            conquerer.conquer(0, 1);
+        } else {
+            Parallelism.CORES.newDivider(1).divide(0, myNumberOfParts, conquerer);
+        }
+    }
+
+    int first(final int part) {
+        return (int) ((long) mySize * part / myNumberOfParts);
+    }
+
+    int limit(final int part) {
+        return (int) ((long) mySize * (part + 1) / myNumberOfParts);
+    }
+
+    /**
+     * @return The index of the nearest centroid for each row, calculated in parallel
+     */
+    int[] nearest(final double[] centroids, final int k) {
+
+        int[] retVal = new int[mySize];
+
+        this.divide((first, limit) -> {
+            double[] work = new double[2];
+            for (int p = first; p < limit; p++) {
+                for (int i = this.first(p), lim = this.limit(p); i < lim; i++) {
+                    retVal[i] = this.nearest(i, centroids, k, work);
+                }
+            }
+        });
+
+        return retVal;
+    }
+
+    /**
+     * @return The index of the nearest centroid, and the squared distances to the nearest and second nearest
+     *         centroids are written to the first 2 positions of distances.
+     */
+    int nearest(final int row, final double[] centroids, final int k, final double[] distances) {
+
+        int best = 0;
+        double first = Double.POSITIVE_INFINITY;
+        double second = Double.POSITIVE_INFINITY;
+
+        for (int c = 0; c < k; c++) {
+            double distance = this.squaredDistance(row, centroids, c);
+            if (distance < first) {
+                second = first;
+                first = distance;
+                best = c;
+            } else if (distance < second) {
+                second = distance;
+            }
+        }
+
+        distances[0] = first;
+        distances[1] = second;
+
+        return best;
+    }
+
+    int parts() {
+        return myNumberOfParts;
+    }
+
+    void set(final int row, final float[] coordinates) {
+        System.arraycopy(coordinates, 0, myBlocks[row >> SHIFT], (row & (BLOCK_ROWS - 1)) * myDimension, myDimension);
+    }
+
+    int size() {
+        return mySize;
+    }
+
+    double squaredDistance(final int row, final double[] centroids, final int centroid) {
+        float[] block = myBlocks[row >> SHIFT];
+        double retVal = 0.0;
+        for (int o = (row & (BLOCK_ROWS - 1)) * myDimension, c = centroid * myDimension, j = 0; j < myDimension; j++) {
+            double diff = block[o + j] - centroids[c + j];
+            retVal += diff * diff;
+        }
+        return retVal;
+    }
+
+    /**
+     * Moves the centroid a fraction (the learning rate) of the way towards the row.
+     */
+    void stepTowards(final int row, final double[] centroids, final int centroid, final double rate) {
+        float[] block = myBlocks[row >> SHIFT];
+        for (int o = (row & (BLOCK_ROWS - 1)) * myDimension, c = centroid * myDimension, j = 0; j < myDimension; j++) {
+            centroids[c + j] += rate * (block[o + j] - centroids[c + j]);
+        }
+    }
+
+}
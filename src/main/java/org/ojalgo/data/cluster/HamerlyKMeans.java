@@ -0,0 +1,367 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.data.cluster;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.ojalgo.concurrent.Parallelism;
+
+/**
+ * Euclidean k-means (Lloyd's algorithm) on {@link FeatureBlocks}, using Hamerly's bounds to skip most of the
+ * point-to-centroid distance calculations, k-means++ initialisation and parallel assignment.
+ * <p>
+ * Each point keeps an upper bound on the distance to its assigned centroid and a lower bound on the
+ * distance to any other centroid. When the centroids move the bounds are adjusted by how much they moved. A
+ * point can only change cluster if its upper bound exceeds both the lower bound and half the distance from
+ * its centroid to the nearest other centroid – most of the time none of the k distances need to be
+ * calculated. (Elkan's variant keeps k lower bounds per point. That is more pruning, but n*k extra memory,
+ * which is not an option for the problem sizes this is meant for.)
+ */
+final class HamerlyKMeans {
+
+    static final int MAX_ITERATIONS = 100;
+    /**
+     * Fixed, so that the same input always gives the same clusters.
+     */
+    static final long SEED = 7L;
+
+    /**
+     * Greedy k-means++ initialisation. Each new centroid is chosen with probability proportional to the
+     * squared distance to the nearest already chosen centroid. A few candidates are sampled for each new
+     * centroid, and the one that reduces the total squared distance the most is kept. That makes it much
+     * less likely that 2 centroids are placed in the same natural cluster. All passes over the data are done
+     * in parallel.
+     */
+    static double[] seed(final FeatureBlocks data, final int k, final Random random) {
+
+        int size = data.size();
+        int dim = data.dimension();
+        int nbParts = data.parts();
+        int nbTrials = 2 + (int) Math.log(k);
+
+        double[] centroids = new double[k * dim];
+        double[] candidates = new double[nbTrials * dim];
+        double[] minimum = new double[size];
+        double[] partSums = new double[nbParts];
+        double[][] potentials = new double[nbTrials][nbParts];
+
+        Arrays.fill(minimum, Double.POSITIVE_INFINITY);
+
+        data.copyTo(random.nextInt(size), centroids, 0);
+
+        for (int c = 1; c < k; c++) {
+
+            HamerlyKMeans.update(data, centroids, c - 1, minimum, partSums);
+
+            double total = HamerlyKMeans.sum(partSums);
+
+            for (int t = 0; t < nbTrials; t++) {
+                data.copyTo(HamerlyKMeans.sample(data, minimum, partSums, total, random), candidates, t);
+            }
+
+            data.divide((first, limit) -> {
+                for (int p = first; p < limit; p++) {
+                    for (int t = 0; t < nbTrials; t++) {
+                        double sum = 0.0;
+                        for (int i = data.first(p), lim = data.limit(p); i < lim; i++) {
+                            sum += Math.min(minimum[i], data.squaredDistance(i, candidates, t));
+                        }
+                        potentials[t][p] = sum;
+                    }
+                }
+            });
+
+            int best = 0;
+            double bestPotential = Double.POSITIVE_INFINITY;
+            for (int t = 0; t < nbTrials; t++) {
+                double potential = HamerlyKMeans.sum(potentials[t]);
+                if (potential < bestPotential) {
+                    bestPotential = potential;
+                    best = t;
+                }
+            }
+
+            System.arraycopy(candidates, best * dim, centroids, c * dim, dim);
+        }
+
+        return centroids;
+    }
+
+    /**
+     * Sample a row with probability proportional to its minimum squared distance.
+     */
+    private static int sample(final FeatureBlocks data, final double[] minimum, final double[] partSums, final double total, final Random random) {
+
+        if (total > 0.0) {
+
+            double target = random.nextDouble() * total;
+            int retVal = -1;
+
+            for (int p = 0; p < partSums.length; p++) {
+                if (target < partSums[p] || p == partSums.length - 1) {
+                    for (int i = data.first(p), lim = data.limit(p); i < lim; i++) {
+                        if (minimum[i] > 0.0) {
+                            retVal = i;
+                            if (target < minimum[i]) {
+                                return retVal;
+                            }
+                            target -= minimum[i];
+                        }
+                    }
+                } else {
+                    target -= partSums[p];
+                }
+            }
+
+            if (retVal >= 0) {
+                return retVal;
+            }
+        }
+
+        // All points coincide with already chosen centroids
+        return random.nextInt(data.size());
+    }
+
+    private static double sum(final double[] values) {
+        double retVal = 0.0;
+        for (int i = 0; i < values.length; i++) {
+            retVal += values[i];
+        }
+        return retVal;
+    }
+
+    /**
+     * Update the minimum squared distances with one more centroid, and calculate the per part sums.
+     */
+    private static void update(final FeatureBlocks data, final double[] centroids, final int centroid, final double[] minimum, final double[] partSums) {
+        data.divide((first, limit) -> {
+            for (int p = first; p < limit; p++) {
+                double sum = 0.0;
+                for (int i = data.first(p), lim = data.limit(p); i < lim; i++) {
+                    double distance = data.squaredDistance(i, centroids, centroid);
+                    if (distance < minimum[i]) {
+                        minimum[i] = distance;
+                    }
+                    sum += minimum[i];
+                }
+                partSums[p] = sum;
+            }
+        });
+    }
+
+    private double[] myCentroids = null;
+    private int myIterations = 0;
+    private final int myK;
+    private final int myMaxIterations;
+    private final long mySeed;
+
+    HamerlyKMeans(final int k, final int maxIterations, final long seed) {
+        super();
+        myK = k;
+        myMaxIterations = maxIterations;
+        mySeed = seed;
+    }
+
+    /**
+     * @return The cluster index of each row
+     */
+    int[] cluster(final FeatureBlocks data) {
+
+        int size = data.size();
+        int dim = data.dimension();
+        int k = Math.min(myK, size);
+
+        myIterations = 0;
+
+        if (size == 0) {
+            myCentroids = new double[0];
+            return new int[0];
+        }
+
+        double[] centroids = HamerlyKMeans.seed(data, k, new Random(mySeed));
+
+        int[] assigned = new int[size];
+        double[] upper = new double[size];
+        double[] lower = new double[size];
+
+        data.divide((first, limit) -> {
+            double[] work = new double[2];
+            for (int p = first; p < limit; p++) {
+                for (int i = data.first(p), lim = data.limit(p); i < lim; i++) {
+                    assigned[i] = data.nearest(i, centroids, k, work);
+                    upper[i] = Math.sqrt(work[0]);
+                    lower[i] = Math.sqrt(work[1]);
+                }
+            }
+        });
+
+        double[] moved = new double[k];
+        double[] half = new double[k];
+        int[] changes = new int[data.parts()];
+
+        for (;;) {
+
+            double[] updated = this.means(data, assigned, centroids, k);
+
+            int farthest = 0;
+            double maxMoved = 0.0;
+            double secondMoved = 0.0;
+            for (int c = 0; c < k; c++) {
+                moved[c] = Math.sqrt(FeatureBlocks.squaredDistance(updated, c, centroids, c, dim));
+                if (moved[c] > maxMoved) {
+                    secondMoved = maxMoved;
+                    maxMoved = moved[c];
+                    farthest = c;
+                } else if (moved[c] > secondMoved) {
+                    secondMoved = moved[c];
+                }
+            }
+            System.arraycopy(updated, 0, centroids, 0, centroids.length);
+
+            if (++myIterations >= myMaxIterations || maxMoved == 0.0) {
+                break;
+            }
+
+            Parallelism.CORES.newDivider(64).divide(0, k, (first, limit) -> {
+                for (int c = first; c < limit; c++) {
+                    double min = Double.POSITIVE_INFINITY;
+                    for (int o = 0; o < k; o++) {
+                        if (o != c) {
+                            min = Math.min(min, FeatureBlocks.squaredDistance(centroids, c, centroids, o, dim));
+                        }
+                    }
+                    half[c] = Math.sqrt(min) / 2.0;
+                }
+            });
+
+            int fFarthest = farthest;
+            double fMaxMoved = maxMoved;
+            double fSecondMoved = secondMoved;
+
+            data.divide((first, limit) -> {
+                double[] work = new double[2];
+                for (int p = first; p < limit; p++) {
+                    int count = 0;
+                    for (int i = data.first(p), lim = data.limit(p); i < lim; i++) {
+
+                        int current = assigned[i];
+                        double up = upper[i] + moved[current];
+                        double low = lower[i] - (current == fFarthest ? fSecondMoved : fMaxMoved);
+                        double bound = Math.max(half[current], low);
+
+                        if (up > bound) {
+                            up = Math.sqrt(data.squaredDistance(i, centroids, current));
+                            if (up > bound) {
+                                int nearest = data.nearest(i, centroids, k, work);
+                                up = Math.sqrt(work[0]);
+                                low = Math.sqrt(work[1]);
+                                if (nearest != current) {
+                                    assigned[i] = nearest;
+                                    count++;
+                                }
+                            }
+                        }
+
+                        upper[i] = up;
+                        lower[i] = low;
+                    }
+                    changes[p] = count;
+                }
+            });
+
+            int total = 0;
+            for (int p = 0; p < changes.length; p++) {
+                total += changes[p];
+            }
+            if (total == 0) {
+                break;
+            }
+        }
+
+        myCentroids = centroids;
+
+        return assigned;
+    }
+
+    /**
+     * k * dimension, row-major, as of the last call to {@link #cluster(FeatureBlocks)}
+     */
+    double[] getCentroids() {
+        return myCentroids;
+    }
+
+    int getIterations() {
+        return myIterations;
+    }
+
+    /**
+     * The mean of each cluster. Partial sums are calculated in parallel, per part, and then added in part
+     * order. Empty clusters keep their previous centroid.
+     */
+    private double[] means(final FeatureBlocks data, final int[] assigned, final double[] previous, final int k) {
+
+        int dim = data.dimension();
+        int nbParts = data.parts();
+
+        double[][] sums = new double[nbParts][];
+        long[][] counts = new long[nbParts][];
+
+        data.divide((first, limit) -> {
+            for (int p = first; p < limit; p++) {
+                double[] partSums = new double[k * dim];
+                long[] partCounts = new long[k];
+                for (int i = data.first(p), lim = data.limit(p); i < lim; i++) {
+                    data.addTo(i, partSums, assigned[i]);
+                    partCounts[assigned[i]]++;
+                }
+                sums[p] = partSums;
+                counts[p] = partCounts;
+            }
+        });
+
+        double[] retVal = sums[0];
+        long[] total = counts[0];
+        for (int p = 1; p < nbParts; p++) {
+            for (int j = 0; j < retVal.length; j++) {
+                retVal[j] += sums[p][j];
+            }
+            for (int c = 0; c < k; c++) {
+                total[c] += counts[p][c];
+            }
+        }
+
+        for (int c = 0; c < k; c++) {
+            int offset = c * dim;
+            if (total[c] > 0L) {
+                for (int j = 0; j < dim; j++) {
+                    retVal[offset + j] /= total[c];
+                }
+            } else {
+                System.arraycopy(previous, offset, retVal, offset, dim);
+            }
+        }
+
+        return retVal;
+    }
+
+}
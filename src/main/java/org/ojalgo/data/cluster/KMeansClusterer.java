@@ -21,29 +21,62 @@
  */
 package org.ojalgo.data.cluster;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import org.ojalgo.data.proximity.DistanceMeasure;
 
+/**
+ * With (squared) Euclidean distance this is standard k-means, on primitive feature blocks, using
+ * {@link HamerlyKMeans}. With any other distance measure the centroids are medoids (members of the clusters)
+ * and all pairwise distances are cached – that's only feasible for smaller data sets.
+ * <p>
+ * The k-means++ initialisation uses a fixed seed, so the same input always gives the same clusters. Empty
+ * clusters are not returned.
+ */
 final class KMeansClusterer extends FeatureBasedClusterer {
 
     private final GeneralisedKMeans<Point> myClusterer;
+    private final HamerlyKMeans myHamerly;
     private final RandomClustering<Point> myInitialiser;
+    private final int myK;
 
     KMeansClusterer(final int k, final DistanceMeasure measure) {
         super(measure);
+        myK = k;
         myInitialiser = new RandomClustering<>(k);
         myClusterer = new GeneralisedKMeans<>(myInitialiser::centroids, this.centroid(), this.distance());
+        myHamerly = new HamerlyKMeans(k, HamerlyKMeans.MAX_ITERATIONS, HamerlyKMeans.SEED);
     }
 
     @Override
     public List<Set<Point>> cluster(final Collection<Point> input) {
 
-        this.setup(input);
+        if (!this.isEuclidean()) {
+
+            this.setup(input);
+
+            return myClusterer.cluster(input);
+        }
+
+        List<Point> points = new ArrayList<>(input);
+
+        int[] assigned = myHamerly.cluster(FeatureBlocks.of(points));
+
+        List<Set<Point>> retVal = new ArrayList<>(myK);
+        for (int c = 0; c < myK; c++) {
+            retVal.add(new HashSet<>());
+        }
+        for (int i = 0; i < assigned.length; i++) {
+            retVal.get(assigned[i]).add(points.get(i));
+        }
+        // Fewer (distinct) points than k
+        retVal.removeIf(Set::isEmpty);
 
-        return myClusterer.cluster(input);
+        return retVal;
     }
 
 }
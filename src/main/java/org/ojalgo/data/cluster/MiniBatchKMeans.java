@@ -0,0 +1,192 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.data.cluster;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.ojalgo.data.proximity.DistanceMeasure;
+
+/**
+ * Mini-batch k-means (Sculley, "Web-Scale K-Means Clustering"). Each batch is assigned to the nearest
+ * centroids (in parallel), and then every centroid is moved towards its newly assigned points with a per
+ * centroid learning rate of 1/(number of points assigned so far).
+ * <p>
+ * Can be used as any other {@link FeatureBasedClusterer}, in which case {@link #cluster(Collection)} makes a
+ * few passes over the input in random batches. For data that does not fit in memory call
+ * {@link #consume(Collection)} with one batch at the time, and then use {@link #assign(float[])} or
+ * {@link #getCentroids()}. The first batch(es) should contain at least k points – the centroids are
+ * initialised, using k-means++, when that many points have been seen.
+ * <p>
+ * Always uses (squared) Euclidean distance. The shuffling and initialisation use a fixed seed, that is reset
+ * by {@link #reset()}, and {@link #cluster(Collection)} does not return empty clusters.
+ */
+public final class MiniBatchKMeans extends FeatureBasedClusterer {
+
+    private static final int EPOCHS = 3;
+
+    private final int myBatchSize;
+    private double[] myCentroids = null;
+    private long[] myCounts = null;
+    private int myDimension = 0;
+    private final int myK;
+    private final List<Point> myPending = new ArrayList<>();
+    private final Random myRandom = new Random(HamerlyKMeans.SEED);
+
+    MiniBatchKMeans(final int k, final int batchSize) {
+        super(DistanceMeasure.SQUARED_EUCLIDEAN);
+        myK = k;
+        myBatchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * @param features A feature vector
+     * @return The index of the nearest centroid, or -1 if not yet initialised
+     */
+    public int assign(final float[] features) {
+
+        if (myCentroids == null) {
+            return -1;
+        }
+
+        FeatureBlocks data = new FeatureBlocks(1, myDimension);
+        data.set(0, features);
+
+        return data.nearest(0, myCentroids, myCounts.length, new double[2]);
+    }
+
+    @Override
+    public List<Set<Point>> cluster(final Collection<Point> input) {
+
+        this.reset();
+
+        List<Point> points = new ArrayList<>(input);
+        int size = points.size();
+
+        for (int e = 0; e < EPOCHS; e++) {
+            Collections.shuffle(points, myRandom);
+            for (int first = 0; first < size; first += myBatchSize) {
+                this.consume(points.subList(first, Math.min(first + myBatchSize, size)));
+            }
+        }
+
+        if (myCentroids == null && !myPending.isEmpty()) {
+            // Fewer points than k
+            this.initialise(FeatureBlocks.of(myPending), myPending.size());
+        }
+
+        List<Set<Point>> retVal = new ArrayList<>(myK);
+        for (int c = 0; c < myK; c++) {
+            retVal.add(new HashSet<>());
+        }
+
+        if (size > 0) {
+            int[] assigned = FeatureBlocks.of(points).nearest(myCentroids, myCounts.length);
+            for (int i = 0; i < size; i++) {
+                retVal.get(assigned[i]).add(points.get(i));
+            }
+        }
+        retVal.removeIf(Set::isEmpty);
+
+        return retVal;
+    }
+
+    /**
+     * Update the centroids with another batch of points.
+     */
+    public void consume(final Collection<Point> batch) {
+
+        if (myCentroids != null) {
+
+            this.update(FeatureBlocks.of(batch));
+
+        } else {
+
+            myPending.addAll(batch);
+
+            if (myPending.size() >= myK) {
+                this.initialise(FeatureBlocks.of(myPending), myK);
+            }
+        }
+    }
+
+    /**
+     * @return The current centroids, with the cluster index as id. Empty if not yet initialised.
+     */
+    public List<Point> getCentroids() {
+
+        if (myCentroids == null) {
+            return Collections.emptyList();
+        }
+
+        int k = myCounts.length;
+
+        List<Point> retVal = new ArrayList<>(k);
+        for (int c = 0; c < k; c++) {
+            float[] coordinates = new float[myDimension];
+            for (int j = 0; j < myDimension; j++) {
+                coordinates[j] = (float) myCentroids[c * myDimension + j];
+            }
+            retVal.add(new Point(c, coordinates));
+        }
+        return retVal;
+    }
+
+    /**
+     * Forget everything consumed so far.
+     */
+    public void reset() {
+        myCentroids = null;
+        myCounts = null;
+        myDimension = 0;
+        myPending.clear();
+        myRandom.setSeed(HamerlyKMeans.SEED);
+    }
+
+    private void initialise(final FeatureBlocks data, final int k) {
+
+        myDimension = data.dimension();
+        myCentroids = HamerlyKMeans.seed(data, k, myRandom);
+        myCounts = new long[k];
+
+        myPending.clear();
+
+        this.update(data);
+    }
+
+    private void update(final FeatureBlocks data) {
+
+        int[] assigned = data.nearest(myCentroids, myCounts.length);
+
+        for (int i = 0; i < assigned.length; i++) {
+            int c = assigned[i];
+            myCounts[c]++;
+            data.stepTowards(i, myCentroids, c, 1.0 / myCounts[c]);
+        }
+    }
+
+}
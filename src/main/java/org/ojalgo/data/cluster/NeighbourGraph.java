@@ -0,0 +1,387 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.data.cluster;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.ojalgo.concurrent.Parallelism;
+import org.ojalgo.data.proximity.DistanceMeasure;
+import org.ojalgo.data.proximity.NeighbourIndex;
+import org.ojalgo.matrix.store.R064CSR;
+
+/**
+ * Sparse k-nearest-neighbour distance graph. Memory is O(n*k) rather than the O(n^2) of a full distance
+ * matrix.
+ * <p>
+ * For smaller sets of points the neighbours are found by brute force (exact). Larger sets in low dimensions
+ * (with a coordinate-wise measure) use a KD-tree, {@link NeighbourIndex} (also exact). Otherwise NN-descent
+ * (Dong, Charikar & Li) is used: Start from random neighbours and repeatedly check if the neighbours of
+ * the neighbours are any closer. The result is approximate, but typically has very high recall after a few
+ * iterations. Each point only updates its own neighbour list, reading a snapshot of the previous
+ * iteration's graph, so the work is done in parallel and the result does not depend on thread scheduling.
+ */
+final class NeighbourGraph {
+
+    static final int BRUTE_FORCE_LIMIT = 4_096;
+    static final int NEIGHBOURS = 16;
+
+    private static final int INDEX_DIMENSION_LIMIT = 8;
+
+    private static final double DELTA = 0.001;
+    private static final int MAX_ITERATIONS = 16;
+    private static final long SEED = 7L;
+
+    /**
+     * @param points  The points indexed by their id (ids must be contiguous 0 to n-1)
+     * @param measure The distance measure
+     * @param k       The number of neighbours per point
+     * @return A symmetric graph with the distances as values – the union of the (directed) k-nearest
+     *         neighbour relations.
+     */
+    static R064CSR build(final Point[] points, final DistanceMeasure measure, final int k) {
+
+        int n = points.length;
+        int kk = Math.max(0, Math.min(k, n - 1));
+
+        NeighbourGraph graph = new NeighbourGraph(points, measure, kk);
+
+        if (kk > 0) {
+            if (n <= BRUTE_FORCE_LIMIT) {
+                graph.exact();
+            } else if (NeighbourGraph.isIndexable(points, measure)) {
+                graph.indexed();
+            } else {
+                graph.descend();
+            }
+        }
+
+        return graph.symmetric();
+    }
+
+    /**
+     * A KD-tree is efficient (and exact) in low dimensions with the coordinate-wise measures.
+     */
+    private static boolean isIndexable(final Point[] points, final DistanceMeasure measure) {
+        switch (measure) {
+            case CHEBYSHEV:
+            case EUCLIDEAN:
+            case MANHATTAN:
+            case SQUARED_EUCLIDEAN:
+                return points[0].coordinates.length <= INDEX_DIMENSION_LIMIT;
+            default:
+                return false;
+        }
+    }
+
+    private final double[] myDistances;
+    private final boolean[] myFresh;
+    private final int myK;
+    private final DistanceMeasure myMeasure;
+    private final int[] myNeighbours;
+    private final Point[] myPoints;
+
+    private NeighbourGraph(final Point[] points, final DistanceMeasure measure, final int k) {
+
+        super();
+
+        myPoints = points;
+        myMeasure = measure;
+        myK = k;
+
+        myNeighbours = new int[points.length * k];
+        myDistances = new double[points.length * k];
+        myFresh = new boolean[points.length * k];
+    }
+
+    /**
+     * Count the neighbours of each point, then for each (directed) edge i->j of the graph make sure both
+     * i->j and j->i are in the result.
+     */
+    private R064CSR symmetric() {
+
+        int n = myPoints.length;
+        int k = myK;
+
+        int[] counts = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            counts[i + 1] += k;
+            for (int p = i * k, lim = p + k; p < lim; p++) {
+                counts[myNeighbours[p] + 1]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            counts[i + 1] += counts[i];
+        }
+
+        int[] indices = new int[counts[n]];
+        double[] values = new double[counts[n]];
+        int[] next = Arrays.copyOf(counts, n);
+
+        for (int i = 0; i < n; i++) {
+            for (int p = i * k, lim = p + k; p < lim; p++) {
+                int j = myNeighbours[p];
+                indices[next[i]] = j;
+                values[next[i]++] = myDistances[p];
+                indices[next[j]] = i;
+                values[next[j]++] = myDistances[p];
+            }
+        }
+
+        int[] pointers = new int[n + 1];
+        long[] work = new long[0];
+        double[] rowValues = new double[0];
+        int nnz = 0;
+
+        for (int i = 0; i < n; i++) {
+
+            int first = counts[i];
+            int limit = counts[i + 1];
+            int count = limit - first;
+
+            if (work.length < count) {
+                work = new long[count];
+                rowValues = new double[count];
+            }
+            for (int p = 0; p < count; p++) {
+                work[p] = (long) indices[first + p] << 32 | p;
+                rowValues[p] = values[first + p];
+            }
+            Arrays.sort(work, 0, count);
+
+            pointers[i] = nnz;
+            int previous = -1;
+            for (int p = 0; p < count; p++) {
+                int j = (int) (work[p] >>> 32);
+                if (j != previous) {
+                    indices[nnz] = j;
+                    values[nnz++] = rowValues[(int) work[p]];
+                    previous = j;
+                }
+            }
+        }
+        pointers[n] = nnz;
+
+        return new R064CSR(n, n, Arrays.copyOf(values, nnz), Arrays.copyOf(indices, nnz), pointers);
+    }
+
+    private void descend() {
+
+        int n = myPoints.length;
+        int k = myK;
+
+        Parallelism.CORES.newDivider(256).divide(0, n, (first, limit) -> {
+            for (int i = first; i < limit; i++) {
+                Random random = new Random(SEED + i);
+                int offset = i * k;
+                for (int p = 0; p < k; p++) {
+                    myNeighbours[offset + p] = -1;
+                }
+                for (int p = 0; p < k;) {
+                    int j = random.nextInt(n);
+                    if (j != i && this.position(i, j) < 0) {
+                        this.insert(i, j, myPoints[i].distance(myMeasure, myPoints[j]), p++);
+                    }
+                }
+            }
+        });
+
+        int[] snapshot = new int[n * k];
+        boolean[] fresh = new boolean[n * k];
+        int[] reverse = new int[n * k];
+        int[] nbReverse = new int[n];
+        int[] updates = new int[n];
+
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+
+            System.arraycopy(myNeighbours, 0, snapshot, 0, snapshot.length);
+            System.arraycopy(myFresh, 0, fresh, 0, fresh.length);
+            Arrays.fill(myFresh, false);
+
+            // At most k reverse neighbours per point, the first ones in index order
+            Arrays.fill(nbReverse, 0);
+            for (int i = 0; i < n; i++) {
+                for (int p = i * k, lim = p + k; p < lim; p++) {
+                    int j = snapshot[p];
+                    if (nbReverse[j] < k) {
+                        reverse[j * k + nbReverse[j]++] = p;
+                    }
+                }
+            }
+
+            Parallelism.CORES.newDivider(256).divide(0, n, (first, limit) -> {
+                for (int i = first; i < limit; i++) {
+                    int count = 0;
+                    // Forward neighbours
+                    for (int p = i * k, lim = p + k; p < lim; p++) {
+                        count += this.join(i, snapshot[p], fresh[p], snapshot, fresh, reverse, nbReverse);
+                    }
+                    // Reverse neighbours
+                    for (int r = i * k, lim = r + nbReverse[i]; r < lim; r++) {
+                        int p = reverse[r];
+                        count += this.join(i, p / k, fresh[p], snapshot, fresh, reverse, nbReverse);
+                    }
+                    updates[i] = count;
+                }
+            });
+
+            long total = 0L;
+            for (int i = 0; i < n; i++) {
+                total += updates[i];
+            }
+            if (total <= DELTA * n * k) {
+                break;
+            }
+        }
+    }
+
+    private void exact() {
+
+        int n = myPoints.length;
+        int k = myK;
+
+        Parallelism.CORES.newDivider(64).divide(0, n, (first, limit) -> {
+            for (int i = first; i < limit; i++) {
+                int offset = i * k;
+                Arrays.fill(myDistances, offset, offset + k, Double.POSITIVE_INFINITY);
+                for (int p = 0; p < k; p++) {
+                    myNeighbours[offset + p] = -1;
+                }
+                for (int j = 0; j < n; j++) {
+                    if (j != i) {
+                        double distance = myPoints[i].distance(myMeasure, myPoints[j]);
+                        if (distance < myDistances[offset + k - 1]) {
+                            this.insert(i, j, distance, k - 1);
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Exact, using a KD-tree, querying in parallel.
+     */
+    private void indexed() {
+
+        int n = myPoints.length;
+        int k = myK;
+
+        float[][] coordinates = new float[n][];
+        for (int i = 0; i < n; i++) {
+            coordinates[i] = myPoints[i].coordinates;
+        }
+
+        NeighbourIndex index = NeighbourIndex.newKDTree(coordinates, myMeasure);
+
+        Parallelism.CORES.newDivider(256).divide(0, n, (first, limit) -> {
+            for (int i = first; i < limit; i++) {
+                NeighbourIndex.Result result = index.nearest(coordinates[i], k + 1);
+                int offset = i * k;
+                int p = 0;
+                for (int r = 0; r < result.size() && p < k; r++) {
+                    if (result.indices[r] != i) {
+                        myNeighbours[offset + p] = result.indices[r];
+                        myDistances[offset + p] = result.distances[r];
+                        p++;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Insert j in the (sorted) neighbour list of i, replacing the entry at position last (the furthest).
+     */
+    private void insert(final int i, final int j, final double distance, final int last) {
+
+        int offset = i * myK;
+        int p = offset + last;
+
+        while (p > offset && myDistances[p - 1] > distance) {
+            myNeighbours[p] = myNeighbours[p - 1];
+            myDistances[p] = myDistances[p - 1];
+            myFresh[p] = myFresh[p - 1];
+            p--;
+        }
+
+        myNeighbours[p] = j;
+        myDistances[p] = distance;
+        myFresh[p] = true;
+    }
+
+    /**
+     * Check the (forward and reverse) neighbours of u as candidate neighbours of i. Only combinations where
+     * at least one of the edges is new since the previous iteration need to be checked.
+     *
+     * @return The number of updates to the neighbour list of i
+     */
+    private int join(final int i, final int u, final boolean freshU, final int[] snapshot, final boolean[] fresh, final int[] reverse,
+            final int[] nbReverse) {
+
+        int k = myK;
+        int retVal = 0;
+
+        for (int p = u * k, lim = p + k; p < lim; p++) {
+            if (freshU || fresh[p]) {
+                retVal += this.update(i, snapshot[p]);
+            }
+        }
+        for (int r = u * k, lim = r + nbReverse[u]; r < lim; r++) {
+            int p = reverse[r];
+            if (freshU || fresh[p]) {
+                retVal += this.update(i, p / k);
+            }
+        }
+
+        return retVal;
+    }
+
+    /**
+     * @return The position of j in the neighbour list of i, or -1
+     */
+    private int position(final int i, final int j) {
+        for (int p = i * myK, lim = p + myK; p < lim; p++) {
+            if (myNeighbours[p] == j) {
+                return p;
+            }
+        }
+        return -1;
+    }
+
+    private int update(final int i, final int candidate) {
+
+        if (candidate == i || this.position(i, candidate) >= 0) {
+            return 0;
+        }
+
+        double distance = myPoints[i].distance(myMeasure, myPoints[candidate]);
+
+        if (distance < myDistances[i * myK + myK - 1]) {
+            this.insert(i, candidate, distance, myK - 1);
+            return 1;
+        }
+
+        return 0;
+    }
+
+}
@@ -22,7 +22,9 @@
 package org.ojalgo.data.cluster;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -31,11 +33,34 @@ import org.ojalgo.array.ArrayR064;
 import org.ojalgo.array.NumberList;
 import org.ojalgo.data.proximity.DistanceMeasure;
 import org.ojalgo.function.constant.PrimitiveMath;
+import org.ojalgo.matrix.store.R064CSR;
 import org.ojalgo.random.SampleSet;
 
+/**
+ * Distances between points, and things derived from them, without storing all pairwise distances. Memory
+ * is O(n*k):
+ * <ul>
+ * <li>A sparse k-nearest-neighbour graph, {@link NeighbourGraph}, is built in {@link #setup(Collection,
+ * DistanceMeasure)}.
+ * <li>Any other distance is calculated when needed.
+ * <li>The distance threshold (median pairwise distance) is estimated from a sample of pairs, unless there
+ * are few enough points to use them all.
+ * <li>Medoids of larger clusters are found by sampling and then walking the neighbour graph.
+ * </ul>
+ * Requires point ids contiguous in [0,n).
+ */
 final class PointDistanceCache {
 
-    private double[][] myDistances;
+    /**
+     * Clusters up to this size get their exact medoid.
+     */
+    private static final int EXACT_MEDOID = 256;
+    private static final int MAX_PAIRS = 100_000;
+    private static final int MEDOID_SAMPLE = 128;
+
+    private R064CSR myGraph = null;
+    private DistanceMeasure myMeasure = DistanceMeasure.SQUARED_EUCLIDEAN;
+    private Point[] myPoints = new Point[0];
     private final SampleSet mySampleSet = SampleSet.make();
     private final NumberList<Double> myValues = NumberList.factory(ArrayR064.FACTORY).make();
 
@@ -43,35 +68,47 @@ final class PointDistanceCache {
         super();
     }
 
-    private double distance(final int i, final int j) {
-        if (i == j) {
-            return PrimitiveMath.ZERO;
-        } else if (i < j) {
-            return myDistances[j][i];
-        } else {
-            return myDistances[i][j];
-        }
-    }
-
     /**
      * Pick the centroid for this cluster (one of its current members)
      */
     Point centroid(final Collection<Point> cluster) {
 
-        Point retVal = null;
-        double minSum = Double.POSITIVE_INFINITY;
-
-        for (Point candidate : cluster) {
+        int size = cluster.size();
 
-            double sum = PrimitiveMath.ZERO;
+        if (size <= EXACT_MEDOID) {
+            return this.medoid(cluster, cluster);
+        }
 
-            for (Point member : cluster) {
-                sum += this.distance(candidate, member);
-            }
+        Point[] members = cluster.toArray(new Point[size]);
+        Collection<Point> memberSet = cluster instanceof Set<?> ? cluster : new HashSet<>(cluster);
 
-            if (sum < minSum) {
-                minSum = sum;
-                retVal = candidate;
+        Random random = new Random(size);
+        Point[] sample = new Point[MEDOID_SAMPLE];
+        for (int s = 0; s < MEDOID_SAMPLE; s++) {
+            sample[s] = members[random.nextInt(size)];
+        }
+        List<Point> sampleList = List.of(sample);
+
+        Point retVal = this.medoid(sampleList, sampleList);
+        double minSum = this.sum(retVal, sampleList);
+
+        // Walk the neighbour graph, within the cluster, as long as that improves the objective
+        Set<Point> visited = new HashSet<>();
+        visited.add(retVal);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int row = retVal.id;
+            for (int p = myGraph.pointers[row], limit = myGraph.pointers[row + 1]; p < limit; p++) {
+                Point neighbour = myPoints[myGraph.indices[p]];
+                if (memberSet.contains(neighbour) && visited.add(neighbour)) {
+                    double sum = this.sum(neighbour, sampleList);
+                    if (sum < minSum) {
+                        minSum = sum;
+                        retVal = neighbour;
+                        improved = true;
+                    }
+                }
             }
         }
 
@@ -82,7 +119,19 @@ final class PointDistanceCache {
      * Get the distance between these two points.
      */
     double distance(final Point point1, final Point point2) {
-        return this.distance(point1.id, point2.id);
+        if (point1.id == point2.id) {
+            return PrimitiveMath.ZERO;
+        } else {
+            return point1.distance(myMeasure, point2);
+        }
+    }
+
+    /**
+     * The k-nearest-neighbour graph with distances as values. It is symmetric – each row contains (at least)
+     * the k nearest neighbours of that point.
+     */
+    R064CSR getGraph() {
+        return myGraph;
     }
 
     /**
@@ -102,7 +151,7 @@ final class PointDistanceCache {
         List<Set<Point>> clusters = greedy.cluster(input);
         List<Point> centroids = greedy.getCentroids();
 
-        double total = myDistances.length;
+        double total = myPoints.length;
         double largest = clusters.stream().mapToInt(Set::size).max().orElse(0);
 
         return IntStream.range(0, centroids.size()).filter(i -> {
@@ -118,24 +167,62 @@ final class PointDistanceCache {
 
         int nbPoints = input.size();
 
-        if (myDistances == null || myDistances.length != nbPoints) {
-            myDistances = new double[nbPoints][];
-            for (int i = 0; i < nbPoints; i++) {
-                myDistances[i] = new double[i];
-            }
+        myMeasure = measure;
+        myPoints = new Point[nbPoints];
+        for (Point point : input) {
+            myPoints[point.id] = point;
         }
 
+        myGraph = NeighbourGraph.build(myPoints, measure, NeighbourGraph.NEIGHBOURS);
+
         myValues.clear();
 
-        for (Point pointR : input) {
-            int row = pointR.id;
-            for (Point pointC : input) {
-                int col = pointC.id;
-                if (row > col) {
-                    myValues.add(myDistances[row][col] = pointR.distance(measure, pointC));
+        if ((long) nbPoints * (nbPoints - 1) / 2L <= MAX_PAIRS) {
+            for (int row = 1; row < nbPoints; row++) {
+                for (int col = 0; col < row; col++) {
+                    myValues.add(myPoints[row].distance(measure, myPoints[col]));
                 }
             }
+        } else {
+            Random random = new Random(nbPoints);
+            for (int s = 0; s < MAX_PAIRS; s++) {
+                int row = random.nextInt(nbPoints);
+                int col = random.nextInt(nbPoints - 1);
+                if (col >= row) {
+                    col++;
+                }
+                myValues.add(myPoints[row].distance(measure, myPoints[col]));
+            }
+        }
+    }
+
+    /**
+     * The candidate with the smallest sum of distances to the members
+     */
+    private Point medoid(final Collection<Point> candidates, final Collection<Point> members) {
+
+        Point retVal = null;
+        double minSum = Double.POSITIVE_INFINITY;
+
+        for (Point candidate : candidates) {
+
+            double sum = this.sum(candidate, members);
+
+            if (sum < minSum) {
+                minSum = sum;
+                retVal = candidate;
+            }
         }
+
+        return retVal;
+    }
+
+    private double sum(final Point candidate, final Collection<Point> members) {
+        double retVal = PrimitiveMath.ZERO;
+        for (Point member : members) {
+            retVal += this.distance(candidate, member);
+        }
+        return retVal;
     }
 
 }
@@ -25,30 +25,203 @@ import static org.ojalgo.function.constant.PrimitiveMath.ONE;
 import static org.ojalgo.function.constant.PrimitiveMath.ZERO;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
+import org.ojalgo.concurrent.Parallelism;
 import org.ojalgo.data.proximity.DistanceMeasure;
 import org.ojalgo.matrix.decomposition.Eigenvalue;
 import org.ojalgo.matrix.store.MatrixStore;
 import org.ojalgo.matrix.store.PhysicalStore;
+import org.ojalgo.matrix.store.R064CSR;
 import org.ojalgo.matrix.store.R064Store;
 
 /**
- * Spectral clustering for {@link Point}s using a fully connected RBF similarity graph and the symmetric
- * normalised Laplacian. Pairwise distances are computed with the configured {@link DistanceMeasure}; the
+ * Spectral clustering for {@link Point}s using a sparse k-nearest-neighbour RBF similarity graph and the
+ * symmetric normalised Laplacian. The graph is built by {@link PointDistanceCache} (see
+ * {@link NeighbourGraph}), distances are computed with the configured {@link DistanceMeasure}, and the
  * kernel scale is set from the median distance. The algorithm computes the k eigenvectors corresponding to
  * the smallest eigenvalues of L = I - D^{-1/2} W D^{-1/2}, row-normalises the embedding, runs k-means, and
  * maps clusters back to the original points. For n == 0 it returns empty; for n <= k it returns singletons.
- * Requires point ids contiguous in [0,n). Complexity dominated by O(n^2) pairwise work and an
- * eigen-decomposition of the n×n Laplacian.
+ * Requires point ids contiguous in [0,n).
+ * <p>
+ * Memory is O(n*k). Smaller problems use a dense eigen-decomposition of the Laplacian. Larger ones use
+ * subspace iteration with Rayleigh-Ritz projections, where the only operation on the graph is (parallel)
+ * sparse matrix-vector multiplication.
  */
 final class SpectralClusterer extends FeatureBasedClusterer {
 
-    private final int myK;
+    private static final int DENSE_LIMIT = 1_000;
+    private static final int MAX_ITERATIONS = 1_000;
+    private static final double TOLERANCE = 1E-6;
+
+    /**
+     * Orthonormalise the vectors using (twice repeated) modified Gram-Schmidt. Vectors that turn out to be
+     * (numerically) linearly dependent are replaced by random ones.
+     */
+    private static void orthonormalise(final double[][] vectors, final Random random) {
+
+        int n = vectors[0].length;
+
+        for (int j = 0; j < vectors.length; j++) {
+
+            double[] vector = vectors[j];
+
+            for (int attempt = 0; attempt < 4; attempt++) {
+
+                double before = SpectralClusterer.norm(vector);
+
+                for (int repeat = 0; repeat < 2; repeat++) {
+                    for (int i = 0; i < j; i++) {
+                        double[] other = vectors[i];
+                        double dot = ZERO;
+                        for (int r = 0; r < n; r++) {
+                            dot += other[r] * vector[r];
+                        }
+                        for (int r = 0; r < n; r++) {
+                            vector[r] -= dot * other[r];
+                        }
+                    }
+                }
+
+                double after = SpectralClusterer.norm(vector);
+
+                if (after > 1E-8 * before && after > ZERO) {
+                    for (int r = 0; r < n; r++) {
+                        vector[r] /= after;
+                    }
+                    break;
+                }
+
+                for (int r = 0; r < n; r++) {
+                    vector[r] = random.nextGaussian();
+                }
+            }
+        }
+    }
+
+    private static double norm(final double[] vector) {
+        double retVal = ZERO;
+        for (int r = 0; r < vector.length; r++) {
+            retVal += vector[r] * vector[r];
+        }
+        return Math.sqrt(retVal);
+    }
+
+    /**
+     * The eigenvectors of the k largest eigenvalues of the normalised adjacency matrix (the k smallest of the
+     * Laplacian). Subspace iteration on the (positive semidefinite) shifted matrix I + D^{-1/2} W D^{-1/2},
+     * with a few extra vectors to speed up convergence.
+     */
+    private static double[][] subspace(final R064CSR adjacency, final int k) {
+
+        int n = adjacency.getRowDim();
+        int nbVectors = Math.min(n, 2 * k + 8);
+
+        Random random = new Random(n);
+
+        double[][] basis = new double[nbVectors][n];
+        double[][] image = new double[nbVectors][n];
+        double[][] rotated = new double[nbVectors][n];
+        for (int j = 0; j < nbVectors; j++) {
+            for (int r = 0; r < n; r++) {
+                basis[j][r] = random.nextGaussian();
+            }
+        }
+        SpectralClusterer.orthonormalise(basis, random);
+
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+
+            for (int j = 0; j < nbVectors; j++) {
+                adjacency.multiply(basis[j], image[j]);
+                double[] vector = basis[j];
+                double[] product = image[j];
+                for (int r = 0; r < n; r++) {
+                    product[r] += vector[r];
+                }
+            }
+
+            // Rayleigh-Ritz: H = Q^T B Q
+            PhysicalStore<Double> projected = R064Store.FACTORY.make(nbVectors, nbVectors);
+            Parallelism.CORES.newDivider(1).divide(0, nbVectors, (first, limit) -> {
+                for (int j = first; j < limit; j++) {
+                    for (int i = 0; i <= j; i++) {
+                        double dot = ZERO;
+                        for (int r = 0; r < n; r++) {
+                            dot += basis[i][r] * image[j][r];
+                        }
+                        projected.set(i, j, dot);
+                        projected.set(j, i, dot);
+                    }
+                }
+            });
+
+            Eigenvalue.Spectral<Double> spectral = Eigenvalue.R064.makeSpectral(nbVectors);
+            spectral.decompose(projected);
+            MatrixStore<Double> mtrxV = spectral.getV();
+            MatrixStore<Double> mtrxD = spectral.getD();
+
+            Integer[] order = new Integer[nbVectors];
+            for (int j = 0; j < nbVectors; j++) {
+                order[j] = j;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(mtrxD.doubleValue(b, b), mtrxD.doubleValue(a, a)));
+
+            // Rotate to the Ritz vectors, Q = Q V and BQ = BQ V, largest Ritz values first
+            double[][] ritzImage = new double[nbVectors][];
+            Parallelism.CORES.newDivider(1).divide(0, nbVectors, (first, limit) -> {
+                for (int j = first; j < limit; j++) {
+                    int column = order[j];
+                    double[] vector = rotated[j];
+                    double[] product = new double[n];
+                    Arrays.fill(vector, ZERO);
+                    for (int i = 0; i < nbVectors; i++) {
+                        double weight = mtrxV.doubleValue(i, column);
+                        double[] fromBasis = basis[i];
+                        double[] fromImage = image[i];
+                        for (int r = 0; r < n; r++) {
+                            vector[r] += weight * fromBasis[r];
+                            product[r] += weight * fromImage[r];
+                        }
+                    }
+                    ritzImage[j] = product;
+                }
+            });
+
+            double maxResidual = ZERO;
+            for (int j = 0; j < k; j++) {
+                double value = mtrxD.doubleValue(order[j], order[j]);
+                double residual = ZERO;
+                for (int r = 0; r < n; r++) {
+                    double diff = ritzImage[j][r] - value * rotated[j][r];
+                    residual += diff * diff;
+                }
+                maxResidual = Math.max(maxResidual, Math.sqrt(residual));
+            }
+
+            for (int j = 0; j < nbVectors; j++) {
+                System.arraycopy(rotated[j], 0, basis[j], 0, n);
+            }
+
+            if (maxResidual <= TOLERANCE) {
+                break;
+            }
+
+            for (int j = 0; j < nbVectors; j++) {
+                System.arraycopy(ritzImage[j], 0, basis[j], 0, n);
+            }
+            SpectralClusterer.orthonormalise(basis, random);
+        }
+
+        return basis;
+    }
+
     private final FeatureBasedClusterer myClusterer;
+    private final int myK;
 
     SpectralClusterer(final int k, final DistanceMeasure measure) {
 
@@ -88,60 +261,88 @@ final class SpectralClusterer extends FeatureBasedClusterer {
 
         this.setup(input);
 
+        R064CSR graph = this.getGraph();
+        int[] pointers = graph.pointers;
+        int[] indices = graph.indices;
+        double[] distances = graph.values;
+
         double median = this.getThreshold();
-        double denom = this.isSquared() ? median : median * median;
+        double squared = this.isSquared() ? median : median * median;
+        double denom = squared > ZERO ? squared : ONE;
 
-        double[][] w = new double[n][n];
-        double[] deg = new double[n];
+        // RBF similarities of the graph edges, and then the normalised adjacency matrix, in parallel
 
-        for (int i = 0; i < n; i++) {
-            Point pi = originalById[i];
+        double[] similarities = new double[distances.length];
+        double[] invSqrtDeg = new double[n];
 
-            for (int j = 0; j < i; j++) {
-                Point pj = originalById[j];
+        Parallelism.CORES.newDivider(512).divide(0, n, (first, limit) -> {
+            for (int i = first; i < limit; i++) {
+                double deg = ZERO;
+                for (int p = pointers[i]; p < pointers[i + 1]; p++) {
+                    double dist2 = this.isSquared() ? distances[p] : distances[p] * distances[p];
+                    similarities[p] = Math.exp(-dist2 / denom);
+                    deg += similarities[p];
+                }
+                invSqrtDeg[i] = deg > ZERO ? ONE / Math.sqrt(deg) : ZERO;
+            }
+        });
 
-                double distance = this.distance(pi, pj);
-                double dist2 = this.isSquared() ? distance : distance * distance;
-                double sim = Math.exp(-dist2 / denom);
-                w[i][j] = sim;
-                w[j][i] = sim;
-                deg[i] += sim;
-                deg[j] += sim;
+        Parallelism.CORES.newDivider(512).divide(0, n, (first, limit) -> {
+            for (int i = first; i < limit; i++) {
+                for (int p = pointers[i]; p < pointers[i + 1]; p++) {
+                    similarities[p] *= invSqrtDeg[i] * invSqrtDeg[indices[p]];
+                }
             }
-        }
+        });
 
-        double[] invSqrtDeg = new double[n];
-        for (int i = 0; i < n; i++) {
-            invSqrtDeg[i] = deg[i] > ZERO ? ONE / Math.sqrt(deg[i]) : ZERO;
-        }
-        PhysicalStore<Double> laplacian = R064Store.FACTORY.make(n, n);
-        for (int i = 0; i < n; i++) {
-            double invDi = invSqrtDeg[i];
-            double[] wRow = w[i];
-            for (int j = 0; j < n; j++) {
-                double val = -wRow[j] * invDi * invSqrtDeg[j];
-                if (i == j) {
-                    val += ONE;
+        R064CSR adjacency = new R064CSR(n, n, similarities, indices, pointers);
+
+        int effectiveK;
+        float[][] embed;
+
+        if (n <= DENSE_LIMIT) {
+
+            PhysicalStore<Double> laplacian = R064Store.FACTORY.make(n, n);
+            for (int i = 0; i < n; i++) {
+                laplacian.set(i, i, ONE);
+                for (int p = pointers[i]; p < pointers[i + 1]; p++) {
+                    laplacian.add(i, indices[p], -similarities[p]);
                 }
-                laplacian.set(i, j, val);
             }
-        }
 
-        Eigenvalue.Spectral<Double> spectral = Eigenvalue.R064.makeSpectral(n);
-        spectral.decompose(laplacian);
-        MatrixStore<Double> mtrxV = spectral.getV();
+            Eigenvalue.Spectral<Double> spectral = Eigenvalue.R064.makeSpectral(n);
+            spectral.decompose(laplacian);
+            MatrixStore<Double> mtrxV = spectral.getV();
+
+            effectiveK = Math.max(n - spectral.getRank(), myK);
 
-        int effectiveK = Math.max(n - spectral.getRank(), myK);
+            int start = n - effectiveK;
 
-        int start = n - effectiveK;
+            embed = new float[n][effectiveK];
+            for (int i = 0; i < n; i++) {
+                for (int c = 0; c < effectiveK; c++) {
+                    embed[i][c] = (float) mtrxV.doubleValue(i, start + c);
+                }
+            }
+
+        } else {
+
+            effectiveK = myK;
+
+            double[][] vectors = SpectralClusterer.subspace(adjacency, effectiveK);
+
+            embed = new float[n][effectiveK];
+            for (int i = 0; i < n; i++) {
+                for (int c = 0; c < effectiveK; c++) {
+                    embed[i][c] = (float) vectors[c][i];
+                }
+            }
+        }
 
-        float[][] embed = new float[n][effectiveK];
         for (int i = 0; i < n; i++) {
             double norm = ZERO;
             for (int c = 0; c < effectiveK; c++) {
-                double v = mtrxV.doubleValue(i, start + c);
-                embed[i][c] = (float) v;
-                norm += v * v;
+                norm += embed[i][c] * embed[i][c];
             }
             norm = Math.sqrt(norm);
             if (norm > ZERO) {
@@ -0,0 +1,155 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.data.domain.finance.portfolio;
+
+import java.util.Arrays;
+
+import org.ojalgo.function.constant.PrimitiveMath;
+
+/**
+ * The result of an efficient frontier sweep – one row per frontier point, stored in primitive arrays. The
+ * "parameter" is whatever was swept; the risk aversion factor or the target return.
+ *
+ * @author apete
+ * @see OptimisedPortfolio#sweepRiskAversion(double...)
+ * @see OptimisedPortfolio#sweepTargetReturn(double...)
+ */
+public final class FrontierTable {
+
+    private final boolean[] myFeasible;
+    private final int myNumberOfAssets;
+    private final double[] myParameters;
+    private final double[] myReturns;
+    private final double[] myVariances;
+    /**
+     * Row-major, one row of weights per frontier point
+     */
+    private final double[] myWeights;
+
+    FrontierTable(final double[] parameters, final int nbAssets) {
+
+        super();
+
+        int nbPoints = parameters.length;
+
+        myParameters = parameters;
+        myNumberOfAssets = nbAssets;
+
+        myFeasible = new boolean[nbPoints];
+        myReturns = new double[nbPoints];
+        myVariances = new double[nbPoints];
+        myWeights = new double[nbPoints * nbAssets];
+    }
+
+    public int countAssets() {
+        return myNumberOfAssets;
+    }
+
+    public int countPoints() {
+        return myParameters.length;
+    }
+
+    /**
+     * The swept parameter value (risk aversion or target return) of this point
+     */
+    public double getParameter(final int point) {
+        return myParameters[point];
+    }
+
+    public double getReturn(final int point) {
+        return myReturns[point];
+    }
+
+    public double getVariance(final int point) {
+        return myVariances[point];
+    }
+
+    public double getVolatility(final int point) {
+        return PrimitiveMath.SQRT.invoke(myVariances[point]);
+    }
+
+    public double getWeight(final int point, final int asset) {
+        return myWeights[point * myNumberOfAssets + asset];
+    }
+
+    /**
+     * @return A copy of the weights of this point
+     */
+    public double[] getWeights(final int point) {
+        int first = point * myNumberOfAssets;
+        return Arrays.copyOfRange(myWeights, first, first + myNumberOfAssets);
+    }
+
+    /**
+     * Infeasible points (typically unattainable target returns) have all weights, the return and the
+     * variance set to 0.0.
+     */
+    public boolean isFeasible(final int point) {
+        return myFeasible[point];
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder builder = new StringBuilder();
+
+        for (int p = 0; p < myParameters.length; p++) {
+            builder.append(myParameters[p]);
+            builder.append(": ");
+            builder.append(myReturns[p]);
+            builder.append(" / ");
+            builder.append(myVariances[p]);
+            builder.append(' ');
+            builder.append(Arrays.toString(this.getWeights(p)));
+            builder.append('\n');
+        }
+
+        return builder.toString();
+    }
+
+    void set(final int point, final boolean feasible, final double[] weights, final double[] returns, final double[][] covariances) {
+
+        myFeasible[point] = feasible;
+
+        if (!feasible) {
+            return;
+        }
+
+        int first = point * myNumberOfAssets;
+        System.arraycopy(weights, 0, myWeights, first, myNumberOfAssets);
+
+        double portfolioReturn = PrimitiveMath.ZERO;
+        double portfolioVariance = PrimitiveMath.ZERO;
+        for (int i = 0; i < myNumberOfAssets; i++) {
+            portfolioReturn += weights[i] * returns[i];
+            double row = PrimitiveMath.ZERO;
+            for (int j = 0; j < myNumberOfAssets; j++) {
+                row += covariances[i][j] * weights[j];
+            }
+            portfolioVariance += weights[i] * row;
+        }
+
+        myReturns[point] = portfolioReturn;
+        myVariances[point] = portfolioVariance;
+    }
+
+}
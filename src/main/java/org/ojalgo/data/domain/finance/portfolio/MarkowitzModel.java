@@ -25,6 +25,7 @@ import static org.ojalgo.function.constant.BigMath.ZERO;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
+import java.util.Map;
 
 import org.ojalgo.function.constant.PrimitiveMath;
 import org.ojalgo.matrix.MatrixR064;
@@ -326,4 +327,9 @@ public final class MarkowitzModel extends OptimisedPortfolio {
         return super.calculatePortfolioVariance(MATRIX_FACTORY.column(weightsVctr));
     }
 
+    @Override
+    Map<int[], LowerUpper> getConstraints() {
+        return myConstraints;
+    }
+
 }
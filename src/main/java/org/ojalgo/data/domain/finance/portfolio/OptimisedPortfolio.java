@@ -25,14 +25,21 @@ import static org.ojalgo.function.constant.BigMath.ONE;
 import static org.ojalgo.function.constant.BigMath.ZERO;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
+import org.ojalgo.concurrent.Parallelism;
+import org.ojalgo.concurrent.ProcessingService;
+import org.ojalgo.function.constant.PrimitiveMath;
 import org.ojalgo.matrix.MatrixR064;
 import org.ojalgo.optimisation.Expression;
 import org.ojalgo.optimisation.ExpressionsBasedModel;
 import org.ojalgo.optimisation.Optimisation;
 import org.ojalgo.optimisation.Optimisation.State;
+import org.ojalgo.optimisation.PreparedModel;
 import org.ojalgo.optimisation.Variable;
 import org.ojalgo.type.CalendarDateDuration;
 import org.ojalgo.type.TypeUtils;
@@ -97,6 +104,36 @@ abstract class OptimisedPortfolio extends EquilibriumModel {
 
     }
 
+    /**
+     * Changes the (copy of the) model for the next frontier point, and notifies the {@link PreparedModel} of
+     * what changed – preferably using its update methods, so that the solver can be updated in-place.
+     */
+    @FunctionalInterface
+    interface PointUpdater {
+
+        void update(ExpressionsBasedModel model, PreparedModel prepared, double parameter);
+
+    }
+
+    /**
+     * A contiguous block of frontier points, solved sequentially (each point warm started from the previous
+     * one) by one worker, using its own (shallow) copy of the model.
+     */
+    static final class SweepBlock {
+
+        final int first;
+        final int limit;
+        final ExpressionsBasedModel model;
+
+        SweepBlock(final ExpressionsBasedModel model, final int first, final int limit) {
+            super();
+            this.model = model;
+            this.first = first;
+            this.limit = limit;
+        }
+
+    }
+
     static final class Template {
 
         BigDecimal lower;
@@ -113,6 +150,7 @@ abstract class OptimisedPortfolio extends EquilibriumModel {
     }
 
     static final String BALANCE = "Balance";
+    static final String RETURN = "Return";
     static final String VARIANCE = "Variance";
 
     private final MatrixR064 myExpectedExcessReturns;
@@ -174,6 +212,78 @@ abstract class OptimisedPortfolio extends EquilibriumModel {
         this.reset();
     }
 
+    /**
+     * Calculates a set of efficient portfolios, one for each of the risk aversion factors. Any asset/group
+     * limits are respected, but a {@link MarkowitzModel}'s target return/variance is not (that's what
+     * {@link #sweepTargetReturn(double...)} is for).
+     * <p>
+     * The points are solved in parallel – split in contiguous blocks, one per worker. Each worker has its own
+     * shallow copy of the optimisation model (the covariance matrix is built/converted once and shared), and
+     * one {@link PreparedModel} that it keeps for all its points. Between points the solver is updated
+     * in-place and re-solved warm, starting from the solution of the previous (neighbouring) point. Sort the
+     * risk aversion factors to get the most out of that.
+     * <p>
+     * Scaling the objective function by 1/riskAversion does not change the optimal portfolio, and that way
+     * only the linear (expected return) weights change between points – [Q] and its factorisation stay the
+     * same.
+     */
+    public final FrontierTable sweepRiskAversion(final double... riskAversions) {
+
+        ExpressionsBasedModel model = this.makeModel(this.getConstraints());
+        model.getExpression(VARIANCE).weight(PrimitiveMath.HALF);
+
+        return this.sweep(model, riskAversions, (copy, prepared, riskAversion) -> {
+
+            Expression variance = copy.getExpression(VARIANCE);
+
+            if (riskAversion > PrimitiveMath.ZERO && Double.isFinite(riskAversion)) {
+
+                if (variance.getContributionWeight().doubleValue() != PrimitiveMath.HALF) {
+                    // Back from a (non-positive risk aversion) point where [Q] was changed
+                    variance.weight(PrimitiveMath.HALF);
+                    prepared.reset();
+                }
+
+                for (int i = 0; i < myTemplates.length; i++) {
+                    Variable variable = copy.getVariable(i);
+                    variable.weight(myTemplates[i].weight.doubleValue() / riskAversion);
+                    prepared.updateObjective(variable);
+                }
+
+            } else {
+
+                // Can't scale by 1/riskAversion, change [Q] instead and re-generate the solver
+                variance.weight(riskAversion / 2.0);
+                for (int i = 0; i < myTemplates.length; i++) {
+                    copy.getVariable(i).weight(myTemplates[i].weight);
+                }
+                prepared.reset();
+            }
+        });
+    }
+
+    /**
+     * Calculates a set of minimum variance portfolios, one for each of the target (minimum) returns. Points
+     * with unattainable target returns are marked as infeasible. Otherwise as
+     * {@link #sweepRiskAversion(double...)}.
+     */
+    public final FrontierTable sweepTargetReturn(final double... targetReturns) {
+
+        ExpressionsBasedModel model = this.makeModel(this.getConstraints());
+
+        for (Variable variable : model.getVariables()) {
+            variable.weight(null);
+        }
+        model.getExpression(VARIANCE).weight(PrimitiveMath.HALF);
+
+        Expression returnExpression = model.newExpression(RETURN);
+        for (int i = 0; i < myTemplates.length; i++) {
+            returnExpression.set(i, myExpectedExcessReturns.doubleValue(i));
+        }
+
+        return this.sweep(model, targetReturns, (copy, prepared, targetReturn) -> prepared.update(copy.getExpression(RETURN).lower(targetReturn)));
+    }
+
     @Override
     protected final MatrixR064 calculateAssetReturns() {
         return myExpectedExcessReturns;
@@ -211,6 +321,13 @@ abstract class OptimisedPortfolio extends EquilibriumModel {
         myOptimisationState = State.UNEXPLORED;
     }
 
+    /**
+     * Asset group constraints, in addition to the individual asset limits
+     */
+    Map<int[], LowerUpper> getConstraints() {
+        return Collections.emptyMap();
+    }
+
     final Optimisation.Options getOptimisationOptions() {
         return myOptimisationOptions;
     }
@@ -264,4 +381,59 @@ abstract class OptimisedPortfolio extends EquilibriumModel {
         return retVal;
     }
 
+    private FrontierTable sweep(final ExpressionsBasedModel model, final double[] parameters, final PointUpdater updater) {
+
+        int nbPoints = parameters.length;
+        int nbAssets = myTemplates.length;
+
+        FrontierTable retVal = new FrontierTable(parameters.clone(), nbAssets);
+
+        if (nbPoints == 0) {
+            return retVal;
+        }
+
+        double[] returns = myExpectedExcessReturns.toRawCopy1D();
+        double[][] covariances = this.getCovariances().toRawCopy2D();
+        boolean shortingAllowed = this.isShortingAllowed();
+
+        int nbBlocks = Math.min(nbPoints, Parallelism.CORES.getAsInt());
+
+        // The (shallow) copies are created here, by the calling thread, as copying touches the original model
+        List<SweepBlock> blocks = new ArrayList<>(nbBlocks);
+        for (int b = 0; b < nbBlocks; b++) {
+            blocks.add(new SweepBlock(model.copy(true, false), b * nbPoints / nbBlocks, (b + 1) * nbPoints / nbBlocks));
+        }
+
+        ProcessingService.INSTANCE.process(blocks, nbBlocks, block -> {
+
+            PreparedModel prepared = block.model.prepare(Optimisation.Sense.MIN);
+
+            double[] weights = new double[nbAssets];
+            Optimisation.Result previous = null;
+
+            for (int p = block.first; p < block.limit; p++) {
+
+                // In-place if possible, otherwise the solver is re-generated by the next solve
+                updater.update(block.model, prepared, parameters[p]);
+
+                Optimisation.Result result = prepared.solve(previous);
+
+                boolean feasible = result.getState().isFeasible();
+                if (feasible) {
+                    for (int i = 0; i < nbAssets; i++) {
+                        weights[i] = shortingAllowed ? result.doubleValue(i) : Math.max(result.doubleValue(i), PrimitiveMath.ZERO);
+                    }
+                    // Only approximate – it's the neighbouring point's optimum, and may not even be feasible here
+                    previous = new Optimisation.Result(State.APPROXIMATE, result);
+                }
+
+                retVal.set(p, feasible, weights, returns, covariances);
+            }
+
+            prepared.dispose();
+        });
+
+        return retVal;
+    }
+
 }
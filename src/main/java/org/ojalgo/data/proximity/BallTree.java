@@ -0,0 +1,185 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.data.proximity;
+
+/**
+ * Exact ball tree. Each node stores a centre (the mean of its points) and a radius, and the triangle
+ * inequality gives a lower bound, d(q,c) - r, on the distance from a query to any point in the node.
+ * <p>
+ * For {@link DistanceMeasure#SQUARED_EUCLIDEAN} and {@link DistanceMeasure#COSINE}, that are not metrics,
+ * the balls are defined using {@link DistanceMeasure#EUCLIDEAN} and {@link DistanceMeasure#ANGULAR} instead,
+ * and the bounds transformed (these are monotone functions of each other). {@link DistanceMeasure#CORRELATION}
+ * is not pruned.
+ */
+final class BallTree extends PartitionTree {
+
+    private final DistanceMeasure myBounding;
+    private final float[][] myCentres;
+    private final double[] myRadii;
+
+    BallTree(final float[][] points, final DistanceMeasure measure) {
+
+        super(points, measure);
+
+        switch (this.getMeasure()) {
+            case CORRELATION:
+                myBounding = null;
+                break;
+            case COSINE:
+                myBounding = DistanceMeasure.ANGULAR;
+                break;
+            case SQUARED_EUCLIDEAN:
+                myBounding = DistanceMeasure.EUCLIDEAN;
+                break;
+            default:
+                myBounding = this.getMeasure();
+                break;
+        }
+
+        myCentres = new float[myNumberOfNodes][];
+        myRadii = new double[myNumberOfNodes];
+
+        this.build();
+    }
+
+    @Override
+    public Result nearest(final float[] query, final int k) {
+
+        NeighbourHeap nearest = new NeighbourHeap(Math.max(1, Math.min(k, this.size())), true);
+
+        if (k > 0 && this.size() > 0) {
+            this.nearest(query, 0, 0, this.size(), this.bound(query, 0), nearest);
+        }
+
+        return nearest.toResult();
+    }
+
+    @Override
+    public Result within(final float[] query, final double radius) {
+
+        NeighbourHeap within = new NeighbourHeap(Integer.MAX_VALUE, true);
+
+        if (this.size() > 0) {
+            this.within(query, radius, 0, 0, this.size(), within);
+        }
+
+        return within.toResult();
+    }
+
+    @Override
+    void describe(final int node, final int first, final int limit, final int dimension, final int middle) {
+
+        int count = limit - first;
+
+        double[] sum = new double[myDimension];
+        for (int p = first; p < limit; p++) {
+            float[] point = this.point(myOrder[p]);
+            for (int j = 0; j < myDimension; j++) {
+                sum[j] += point[j];
+            }
+        }
+        float[] centre = new float[myDimension];
+        for (int j = 0; j < myDimension; j++) {
+            centre[j] = (float) (sum[j] / count);
+        }
+
+        double radius = 0.0;
+        if (myBounding != null) {
+            for (int p = first; p < limit; p++) {
+                radius = Math.max(radius, myBounding.distance(centre, this.point(myOrder[p])));
+            }
+        }
+
+        myCentres[node] = centre;
+        // A little slack for rounding errors – the bounds must never exclude anything they shouldn't
+        myRadii[node] = radius * (1.0 + 1E-6) + 1E-12;
+    }
+
+    /**
+     * Lower bound on the distance from the query to any point in the node
+     */
+    private double bound(final float[] query, final int node) {
+
+        if (myBounding == null) {
+            return 0.0;
+        }
+
+        double gap = myBounding.distance(query, myCentres[node]) - myRadii[node];
+
+        if (gap <= 0.0) {
+            return 0.0;
+        }
+
+        switch (this.getMeasure()) {
+            case COSINE:
+                return 1.0 - Math.cos(Math.min(gap, Math.PI));
+            case SQUARED_EUCLIDEAN:
+                return gap * gap;
+            default:
+                return gap;
+        }
+    }
+
+    private void nearest(final float[] query, final int node, final int first, final int limit, final double bound, final NeighbourHeap nearest) {
+
+        if (bound > nearest.worst()) {
+            return;
+        }
+
+        if (limit - first <= LEAF_SIZE) {
+            this.scan(query, first, limit, nearest);
+            return;
+        }
+
+        int middle = (first + limit) >>> 1;
+        int left = 2 * node + 1;
+        int right = 2 * node + 2;
+        double leftBound = this.bound(query, left);
+        double rightBound = this.bound(query, right);
+
+        if (leftBound <= rightBound) {
+            this.nearest(query, left, first, middle, leftBound, nearest);
+            this.nearest(query, right, middle, limit, rightBound, nearest);
+        } else {
+            this.nearest(query, right, middle, limit, rightBound, nearest);
+            this.nearest(query, left, first, middle, leftBound, nearest);
+        }
+    }
+
+    private void within(final float[] query, final double radius, final int node, final int first, final int limit, final NeighbourHeap within) {
+
+        if (this.bound(query, node) > radius) {
+            return;
+        }
+
+        if (limit - first <= LEAF_SIZE) {
+            this.scan(query, first, limit, radius, within);
+            return;
+        }
+
+        int middle = (first + limit) >>> 1;
+
+        this.within(query, radius, 2 * node + 1, first, middle, within);
+        this.within(query, radius, 2 * node + 2, middle, limit, within);
+    }
+
+}
@@ -82,4 +82,37 @@ public enum DistanceMeasure {
      */
     SQUARED_EUCLIDEAN;
 
+    /**
+     * Calculate the distance between a and b using this measure – delegates to the corresponding
+     * {@link Distance} function.
+     */
+    public double distance(final float[] a, final float[] b) {
+        switch (this) {
+            case ANGULAR:
+                return Distance.angular(a, b);
+            case CANBERRA:
+                return Distance.canberra(a, b);
+            case CHEBYSHEV:
+                return Distance.chebyshev(a, b);
+            case CORRELATION:
+                return Distance.correlation(a, b);
+            case COSINE:
+                return Distance.cosine(a, b);
+            case EUCLIDEAN:
+                return Distance.euclidean(a, b);
+            case HAMMING:
+                return Distance.hamming(a, b);
+            case HELLINGER:
+                return Distance.hellinger(a, b);
+            case JACCARD:
+                return Distance.jaccard(a, b);
+            case MANHATTAN:
+                return Distance.manhattan(a, b);
+            case SQUARED_EUCLIDEAN:
+                return Distance.squaredEuclidean(a, b);
+            default:
+                throw new IllegalArgumentException("Unknown measure: " + this);
+        }
+    }
+
 }
\ No newline at end of file
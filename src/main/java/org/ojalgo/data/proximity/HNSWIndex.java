@@ -0,0 +1,397 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.data.proximity;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.ojalgo.concurrent.Parallelism;
+
+/**
+ * Hierarchical Navigable Small World graph (Malkov & Yashunin), for approximate nearest neighbour search.
+ * <p>
+ * Each point is assigned a random top layer (exponentially decaying probability), and is linked to (about)
+ * {@link #CONNECTIONS} neighbours on each layer up to that, 2x on the bottom layer. Neighbours are selected
+ * with the heuristic that favours diverse directions. A query greedily descends from the top layer, and then
+ * does a best-first search on the bottom layer.
+ * <p>
+ * The points are inserted in parallel. Each point's links, per layer, are in a fixed size array that is
+ * locked when read or updated. Since the insertion order varies between threads the resulting graph is not
+ * deterministic (the layers are).
+ */
+final class HNSWIndex extends NeighbourIndex {
+
+    /**
+     * Visited markers, pooled on the index and reused between searches. There are never more of them than
+     * there have been concurrent searches, and they go away with the index.
+     */
+    private static final class Visited {
+
+        int[] marks;
+        int stamp = 0;
+
+        Visited(final int size) {
+            super();
+            marks = new int[size];
+        }
+
+        /**
+         * @return true if not visited before (in this search)
+         */
+        boolean visit(final int index) {
+            if (marks[index] == stamp) {
+                return false;
+            }
+            marks[index] = stamp;
+            return true;
+        }
+
+        void next() {
+            if (++stamp == 0) {
+                Arrays.fill(marks, 0);
+                stamp = 1;
+            }
+        }
+
+    }
+
+    static final int CONNECTIONS = 16;
+    static final int EFFORT = 100;
+
+    private static final long SEED = 1L;
+
+    private final int myConnections;
+    private final int myEffort;
+    private int myEntryPoint = -1;
+    private final int[] myLevels;
+    /**
+     * [point][layer][0] is the number of links, followed by the links
+     */
+    private final int[][][] myLinks;
+    private int myTopLevel = -1;
+    private final ConcurrentLinkedQueue<Visited> myVisited = new ConcurrentLinkedQueue<>();
+
+    HNSWIndex(final float[][] points, final DistanceMeasure measure, final int connections, final int effort) {
+
+        super(points, measure);
+
+        int size = points.length;
+
+        myConnections = Math.max(2, connections);
+        myEffort = Math.max(myConnections, effort);
+
+        myLevels = new int[size];
+        myLinks = new int[size][][];
+
+        double scale = 1.0 / Math.log(myConnections);
+        Random random = new Random(SEED);
+        for (int i = 0; i < size; i++) {
+            int level = (int) (-Math.log(1.0 - random.nextDouble()) * scale);
+            myLevels[i] = level;
+            myLinks[i] = new int[level + 1][];
+            for (int l = 0; l <= level; l++) {
+                myLinks[i][l] = new int[1 + this.capacity(l)];
+            }
+        }
+
+        if (size > 0) {
+            this.insert(0);
+            Parallelism.CORES.newDivider(256).divide(1, size, (first, limit) -> {
+                for (int i = first; i < limit; i++) {
+                    this.insert(i);
+                }
+            });
+        }
+    }
+
+    @Override
+    public Result nearest(final float[] query, final int k) {
+
+        if (k <= 0 || this.size() == 0) {
+            return new NeighbourHeap(1, true).toResult();
+        }
+
+        NeighbourHeap found = this.search(query, Math.max(k, myEffort));
+
+        while (found.size() > k) {
+            found.poll();
+        }
+
+        return found.toResult();
+    }
+
+    @Override
+    public Result within(final float[] query, final double radius) {
+
+        NeighbourHeap within = new NeighbourHeap(Integer.MAX_VALUE, true);
+
+        if (this.size() > 0) {
+            NeighbourHeap found = this.search(query, myEffort);
+            while (!found.isEmpty()) {
+                if (found.peekDistance() <= radius) {
+                    within.offer(found.peekIndex(), found.peekDistance());
+                }
+                found.poll();
+            }
+        }
+
+        return within.toResult();
+    }
+
+    private int capacity(final int level) {
+        return level == 0 ? 2 * myConnections : myConnections;
+    }
+
+    /**
+     * Add a link from → to, if there's room, otherwise reselect among the existing links and the new one.
+     */
+    private void connect(final int from, final int to, final int level) {
+
+        int[] links = myLinks[from][level];
+
+        synchronized (links) {
+
+            int count = links[0];
+
+            for (int p = 1; p <= count; p++) {
+                if (links[p] == to) {
+                    return;
+                }
+            }
+
+            if (count < links.length - 1) {
+                links[++count] = to;
+                links[0] = count;
+                return;
+            }
+
+            float[] point = this.point(from);
+            NeighbourHeap candidates = new NeighbourHeap(count + 1, true);
+            candidates.offer(to, this.distance(point, to));
+            for (int p = 1; p <= count; p++) {
+                candidates.offer(links[p], this.distance(point, links[p]));
+            }
+
+            int[] selected = this.select(candidates.toResult(), count);
+            System.arraycopy(selected, 0, links, 1, selected.length);
+            links[0] = selected.length;
+        }
+    }
+
+    /**
+     * Greedy search on an upper layer – move to a nearer neighbour as long as there is one.
+     */
+    private int descend(final float[] query, final int entry, final int level) {
+
+        int current = entry;
+        double distance = this.distance(query, current);
+
+        for (boolean improved = true; improved;) {
+            improved = false;
+            for (int neighbour : this.links(current, level)) {
+                double candidate = this.distance(query, neighbour);
+                if (candidate < distance) {
+                    distance = candidate;
+                    current = neighbour;
+                    improved = true;
+                }
+            }
+        }
+
+        return current;
+    }
+
+    private void insert(final int index) {
+
+        int entry;
+        int top;
+        synchronized (this) {
+            entry = myEntryPoint;
+            top = myTopLevel;
+            if (entry < 0) {
+                myEntryPoint = index;
+                myTopLevel = myLevels[index];
+                return;
+            }
+        }
+
+        float[] point = this.point(index);
+        int level = myLevels[index];
+
+        int current = entry;
+        for (int l = top; l > level; l--) {
+            current = this.descend(point, current, l);
+        }
+
+        for (int l = Math.min(level, top); l >= 0; l--) {
+
+            NeighbourHeap found = this.layer(point, current, myEffort, l);
+            NeighbourIndex.Result sorted = found.toResult();
+
+            int[] selected = this.select(sorted, myConnections);
+
+            int[] links = myLinks[index][l];
+            synchronized (links) {
+                System.arraycopy(selected, 0, links, 1, selected.length);
+                links[0] = selected.length;
+            }
+            for (int neighbour : selected) {
+                this.connect(neighbour, index, l);
+            }
+
+            current = sorted.indices[0];
+        }
+
+        if (level > top) {
+            synchronized (this) {
+                if (level > myTopLevel) {
+                    myTopLevel = level;
+                    myEntryPoint = index;
+                }
+            }
+        }
+    }
+
+    /**
+     * Best-first search on one layer
+     *
+     * @return Max-heap of (at most) effort nearest found
+     */
+    private NeighbourHeap layer(final float[] query, final int entry, final int effort, final int level) {
+
+        Visited visited = myVisited.poll();
+        if (visited == null) {
+            visited = new Visited(myLevels.length);
+        }
+        visited.next();
+
+        try {
+            return this.layer(query, entry, effort, level, visited);
+        } finally {
+            myVisited.offer(visited);
+        }
+    }
+
+    private NeighbourHeap layer(final float[] query, final int entry, final int effort, final int level, final Visited visited) {
+
+        NeighbourHeap candidates = new NeighbourHeap(Integer.MAX_VALUE, false);
+        NeighbourHeap found = new NeighbourHeap(effort, true);
+
+        double distance = this.distance(query, entry);
+        visited.visit(entry);
+        candidates.offer(entry, distance);
+        found.offer(entry, distance);
+
+        while (!candidates.isEmpty()) {
+
+            int current = candidates.peekIndex();
+            if (candidates.peekDistance() > found.worst()) {
+                break;
+            }
+            candidates.poll();
+
+            for (int neighbour : this.links(current, level)) {
+                if (visited.visit(neighbour)) {
+                    double candidate = this.distance(query, neighbour);
+                    if (candidate < found.worst()) {
+                        candidates.offer(neighbour, candidate);
+                        found.offer(neighbour, candidate);
+                    }
+                }
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * A copy of the links
+     */
+    private int[] links(final int index, final int level) {
+        int[] links = myLinks[index][level];
+        synchronized (links) {
+            int[] retVal = new int[links[0]];
+            System.arraycopy(links, 1, retVal, 0, retVal.length);
+            return retVal;
+        }
+    }
+
+    private NeighbourHeap search(final float[] query, final int effort) {
+
+        int entry;
+        int top;
+        synchronized (this) {
+            entry = myEntryPoint;
+            top = myTopLevel;
+        }
+
+        int current = entry;
+        for (int l = top; l > 0; l--) {
+            current = this.descend(query, current, l);
+        }
+
+        return this.layer(query, current, effort, 0);
+    }
+
+    /**
+     * The neighbour selection heuristic: Go through the candidates in order of increasing distance, and keep
+     * those that are closer to the base point than to any already kept. If that gives fewer than wanted, fill
+     * up with the nearest of those discarded.
+     */
+    private int[] select(final NeighbourIndex.Result sorted, final int wanted) {
+
+        int count = sorted.size();
+
+        if (count <= wanted) {
+            return sorted.indices;
+        }
+
+        int[] retVal = new int[wanted];
+        boolean[] kept = new boolean[count];
+        int nbKept = 0;
+
+        for (int c = 0; c < count && nbKept < wanted; c++) {
+            int candidate = sorted.indices[c];
+            float[] point = this.point(candidate);
+            boolean keep = true;
+            for (int s = 0; s < nbKept && keep; s++) {
+                if (this.distance(point, retVal[s]) < sorted.distances[c]) {
+                    keep = false;
+                }
+            }
+            if (keep) {
+                retVal[nbKept++] = candidate;
+                kept[c] = true;
+            }
+        }
+
+        for (int c = 0; c < count && nbKept < wanted; c++) {
+            if (!kept[c]) {
+                retVal[nbKept++] = sorted.indices[c];
+            }
+        }
+
+        return retVal;
+    }
+
+}
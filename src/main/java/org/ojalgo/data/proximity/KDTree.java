@@ -0,0 +1,148 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.data.proximity;
+
+/**
+ * Exact KD-tree. Each internal node stores its split dimension and value. The far side of a split is only
+ * visited if the gap along the split dimension alone is not larger than the current k-th distance (or the
+ * radius).
+ */
+final class KDTree extends PartitionTree {
+
+    private final int[] myDimensions;
+    private final boolean myPruning;
+    private final float[] mySplits;
+
+    KDTree(final float[][] points, final DistanceMeasure measure) {
+
+        super(points, measure);
+
+        switch (this.getMeasure()) {
+            case CHEBYSHEV:
+            case EUCLIDEAN:
+            case MANHATTAN:
+            case SQUARED_EUCLIDEAN:
+                myPruning = true;
+                break;
+            default:
+                myPruning = false;
+                break;
+        }
+
+        myDimensions = new int[myNumberOfNodes];
+        mySplits = new float[myNumberOfNodes];
+
+        this.build();
+    }
+
+    @Override
+    public Result nearest(final float[] query, final int k) {
+
+        NeighbourHeap nearest = new NeighbourHeap(Math.max(1, Math.min(k, this.size())), true);
+
+        if (k > 0 && this.size() > 0) {
+            this.nearest(query, 0, 0, this.size(), nearest);
+        }
+
+        return nearest.toResult();
+    }
+
+    @Override
+    public Result within(final float[] query, final double radius) {
+
+        NeighbourHeap within = new NeighbourHeap(Integer.MAX_VALUE, true);
+
+        if (this.size() > 0) {
+            this.within(query, radius, 0, 0, this.size(), within);
+        }
+
+        return within.toResult();
+    }
+
+    @Override
+    void describe(final int node, final int first, final int limit, final int dimension, final int middle) {
+        myDimensions[node] = dimension;
+        if (middle >= 0) {
+            mySplits[node] = this.point(myOrder[middle])[dimension];
+        }
+    }
+
+    /**
+     * Lower bound on the distance to anything on the other side of the split
+     */
+    private double gap(final double difference) {
+        if (!myPruning) {
+            return 0.0;
+        } else if (this.getMeasure() == DistanceMeasure.SQUARED_EUCLIDEAN) {
+            return difference * difference;
+        } else {
+            return Math.abs(difference);
+        }
+    }
+
+    private void nearest(final float[] query, final int node, final int first, final int limit, final NeighbourHeap nearest) {
+
+        int dimension = myDimensions[node];
+
+        if (dimension < 0) {
+            this.scan(query, first, limit, nearest);
+            return;
+        }
+
+        int middle = (first + limit) >>> 1;
+        double difference = query[dimension] - mySplits[node];
+
+        if (difference < 0.0) {
+            this.nearest(query, 2 * node + 1, first, middle, nearest);
+            if (this.gap(difference) <= nearest.worst()) {
+                this.nearest(query, 2 * node + 2, middle, limit, nearest);
+            }
+        } else {
+            this.nearest(query, 2 * node + 2, middle, limit, nearest);
+            if (this.gap(difference) <= nearest.worst()) {
+                this.nearest(query, 2 * node + 1, first, middle, nearest);
+            }
+        }
+    }
+
+    private void within(final float[] query, final double radius, final int node, final int first, final int limit, final NeighbourHeap within) {
+
+        int dimension = myDimensions[node];
+
+        if (dimension < 0) {
+            this.scan(query, first, limit, radius, within);
+            return;
+        }
+
+        int middle = (first + limit) >>> 1;
+        double difference = query[dimension] - mySplits[node];
+        double gap = this.gap(difference);
+
+        if (difference < 0.0 || gap <= radius) {
+            this.within(query, radius, 2 * node + 1, first, middle, within);
+        }
+        if (difference >= 0.0 || gap <= radius) {
+            this.within(query, radius, 2 * node + 2, middle, limit, within);
+        }
+    }
+
+}
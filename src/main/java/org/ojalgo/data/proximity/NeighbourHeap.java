@@ -0,0 +1,190 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.data.proximity;
+
+import java.util.Arrays;
+
+/**
+ * Binary heap of (index, distance) pairs, ordered by distance and then index. As a max-heap with a capacity
+ * it keeps the best (nearest) entries seen so far, with the worst of those at the top. As a min-heap (no
+ * capacity) it's a priority queue of candidates to visit.
+ */
+final class NeighbourHeap {
+
+    private final int myCapacity;
+    private double[] myDistances;
+    private int[] myIndices;
+    private final boolean myMax;
+    private int mySize = 0;
+
+    NeighbourHeap(final int capacity, final boolean max) {
+
+        super();
+
+        myCapacity = capacity;
+        myMax = max;
+
+        int initial = Math.max(1, Math.min(capacity, 64));
+        myDistances = new double[initial];
+        myIndices = new int[initial];
+    }
+
+    boolean isEmpty() {
+        return mySize == 0;
+    }
+
+    boolean isFull() {
+        return mySize >= myCapacity;
+    }
+
+    /**
+     * @return true if the entry was added
+     */
+    boolean offer(final int index, final double distance) {
+
+        if (mySize >= myCapacity) {
+            if (!myMax || !this.before(distance, index, myDistances[0], myIndices[0])) {
+                return false;
+            }
+            myDistances[0] = distance;
+            myIndices[0] = index;
+            this.down(0);
+            return true;
+        }
+
+        if (mySize == myIndices.length) {
+            int grown = (int) Math.min((long) myCapacity, 2L * mySize);
+            myDistances = Arrays.copyOf(myDistances, grown);
+            myIndices = Arrays.copyOf(myIndices, grown);
+        }
+
+        myDistances[mySize] = distance;
+        myIndices[mySize] = index;
+        this.up(mySize++);
+
+        return true;
+    }
+
+    double peekDistance() {
+        return myDistances[0];
+    }
+
+    int peekIndex() {
+        return myIndices[0];
+    }
+
+    /**
+     * Remove the top entry
+     */
+    void poll() {
+        if (--mySize > 0) {
+            myDistances[0] = myDistances[mySize];
+            myIndices[0] = myIndices[mySize];
+            this.down(0);
+        }
+    }
+
+    int size() {
+        return mySize;
+    }
+
+    /**
+     * Empties a max-heap into a result sorted by increasing distance.
+     */
+    NeighbourIndex.Result toResult() {
+
+        int[] indices = new int[mySize];
+        double[] distances = new double[mySize];
+
+        for (int i = mySize - 1; i >= 0; i--) {
+            indices[i] = myIndices[0];
+            distances[i] = myDistances[0];
+            this.poll();
+        }
+
+        return new NeighbourIndex.Result(indices, distances);
+    }
+
+    /**
+     * The distance of the worst entry when full (as a max-heap), otherwise infinity.
+     */
+    double worst() {
+        return mySize >= myCapacity ? myDistances[0] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @return true if (distance1, index1) is nearer than (distance2, index2)
+     */
+    private boolean before(final double distance1, final int index1, final double distance2, final int index2) {
+        return distance1 < distance2 || distance1 == distance2 && index1 < index2;
+    }
+
+    private void down(final int position) {
+
+        int parent = position;
+        double distance = myDistances[parent];
+        int index = myIndices[parent];
+
+        for (int child = 2 * parent + 1; child < mySize; child = 2 * parent + 1) {
+            if (child + 1 < mySize && this.higher(myDistances[child + 1], myIndices[child + 1], myDistances[child], myIndices[child])) {
+                child++;
+            }
+            if (!this.higher(myDistances[child], myIndices[child], distance, index)) {
+                break;
+            }
+            myDistances[parent] = myDistances[child];
+            myIndices[parent] = myIndices[child];
+            parent = child;
+        }
+
+        myDistances[parent] = distance;
+        myIndices[parent] = index;
+    }
+
+    /**
+     * @return true if (distance1, index1) should be closer to the top than (distance2, index2)
+     */
+    private boolean higher(final double distance1, final int index1, final double distance2, final int index2) {
+        return myMax ? this.before(distance2, index2, distance1, index1) : this.before(distance1, index1, distance2, index2);
+    }
+
+    private void up(final int position) {
+
+        int child = position;
+        double distance = myDistances[child];
+        int index = myIndices[child];
+
+        while (child > 0) {
+            int parent = (child - 1) / 2;
+            if (!this.higher(distance, index, myDistances[parent], myIndices[parent])) {
+                break;
+            }
+            myDistances[child] = myDistances[parent];
+            myIndices[child] = myIndices[parent];
+            child = parent;
+        }
+
+        myDistances[child] = distance;
+        myIndices[child] = index;
+    }
+
+}
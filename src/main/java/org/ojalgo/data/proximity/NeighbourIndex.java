@@ -0,0 +1,173 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.data.proximity;
+
+/**
+ * Index for nearest neighbour (k-nearest and radius) queries. Build once, in parallel, from primitive
+ * coordinates, and then query concurrently from any number of threads.
+ * <ul>
+ * <li>{@link #newKDTree(float[][], DistanceMeasure)}: Exact. Best for low dimensions (up to about 10-20).
+ * Only prunes with the coordinate-wise measures ({@link DistanceMeasure#EUCLIDEAN},
+ * {@link DistanceMeasure#SQUARED_EUCLIDEAN}, {@link DistanceMeasure#MANHATTAN} and
+ * {@link DistanceMeasure#CHEBYSHEV}) – with any other measure it still works, but every query is a linear
+ * scan.
+ * <li>{@link #newBallTree(float[][], DistanceMeasure)}: Exact. Prunes using the triangle inequality, and
+ * therefore works with all the metrics, as well as {@link DistanceMeasure#SQUARED_EUCLIDEAN} and
+ * {@link DistanceMeasure#COSINE} (via Euclidean and angular distance respectively). Only
+ * {@link DistanceMeasure#CORRELATION} is not pruned. Typically better than the KD-tree in somewhat higher
+ * dimensions.
+ * <li>{@link #newHNSW(float[][], DistanceMeasure)}: Approximate. A hierarchical navigable small world graph
+ * – for high dimensions and large data sets. Works with any measure. Recall is controlled by the number of
+ * connections and the search effort.
+ * </ul>
+ * The points are referred to by their index in the array used to build the index. The coordinate arrays are
+ * not copied – don't modify them after building the index. Coordinates given as double[] are converted to
+ * float[].
+ */
+public abstract class NeighbourIndex {
+
+    /**
+     * The result of a query: indices (into the array of points the index was built from) and the
+     * corresponding distances, sorted by increasing distance. Ties are ordered by index.
+     */
+    public static final class Result {
+
+        public final double[] distances;
+        public final int[] indices;
+
+        Result(final int[] indices, final double[] distances) {
+            super();
+            this.indices = indices;
+            this.distances = distances;
+        }
+
+        public int size() {
+            return indices.length;
+        }
+
+    }
+
+    public static NeighbourIndex newBallTree(final double[][] points, final DistanceMeasure measure) {
+        return NeighbourIndex.newBallTree(NeighbourIndex.toFloats(points), measure);
+    }
+
+    public static NeighbourIndex newBallTree(final float[][] points, final DistanceMeasure measure) {
+        return new BallTree(points, measure);
+    }
+
+    public static NeighbourIndex newHNSW(final double[][] points, final DistanceMeasure measure) {
+        return NeighbourIndex.newHNSW(NeighbourIndex.toFloats(points), measure);
+    }
+
+    public static NeighbourIndex newHNSW(final float[][] points, final DistanceMeasure measure) {
+        return new HNSWIndex(points, measure, HNSWIndex.CONNECTIONS, HNSWIndex.EFFORT);
+    }
+
+    /**
+     * @param connections The number of links per point and layer (2x on the bottom layer) – larger gives
+     *                    higher recall, slower build and more memory. Typically 8-48.
+     * @param effort      The size of the dynamic candidate list, during construction as well as when
+     *                    querying (but never less than k) – larger gives higher recall and slower build and
+     *                    queries.
+     */
+    public static NeighbourIndex newHNSW(final float[][] points, final DistanceMeasure measure, final int connections, final int effort) {
+        return new HNSWIndex(points, measure, connections, effort);
+    }
+
+    public static NeighbourIndex newKDTree(final double[][] points, final DistanceMeasure measure) {
+        return NeighbourIndex.newKDTree(NeighbourIndex.toFloats(points), measure);
+    }
+
+    public static NeighbourIndex newKDTree(final float[][] points, final DistanceMeasure measure) {
+        return new KDTree(points, measure);
+    }
+
+    static float[] toFloats(final double[] coordinates) {
+        float[] retVal = new float[coordinates.length];
+        for (int j = 0; j < coordinates.length; j++) {
+            retVal[j] = (float) coordinates[j];
+        }
+        return retVal;
+    }
+
+    static float[][] toFloats(final double[][] points) {
+        float[][] retVal = new float[points.length][];
+        for (int i = 0; i < points.length; i++) {
+            retVal[i] = NeighbourIndex.toFloats(points[i]);
+        }
+        return retVal;
+    }
+
+    private final DistanceMeasure myMeasure;
+    private final float[][] myPoints;
+
+    NeighbourIndex(final float[][] points, final DistanceMeasure measure) {
+        super();
+        myPoints = points;
+        myMeasure = measure != null ? measure : DistanceMeasure.EUCLIDEAN;
+    }
+
+    public final DistanceMeasure getMeasure() {
+        return myMeasure;
+    }
+
+    /**
+     * @return The (at most) k nearest points
+     */
+    public final Result nearest(final double[] query, final int k) {
+        return this.nearest(NeighbourIndex.toFloats(query), k);
+    }
+
+    /**
+     * @return The (at most) k nearest points
+     */
+    public abstract Result nearest(float[] query, int k);
+
+    /**
+     * @return The number of points
+     */
+    public final int size() {
+        return myPoints.length;
+    }
+
+    /**
+     * @return All points within (less than or equal to) the radius
+     */
+    public final Result within(final double[] query, final double radius) {
+        return this.within(NeighbourIndex.toFloats(query), radius);
+    }
+
+    /**
+     * @return All points within (less than or equal to) the radius – exact for the trees, approximate for
+     *         HNSW.
+     */
+    public abstract Result within(float[] query, double radius);
+
+    final double distance(final float[] query, final int index) {
+        return myMeasure.distance(query, myPoints[index]);
+    }
+
+    final float[] point(final int index) {
+        return myPoints[index];
+    }
+
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.data.proximity;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.ojalgo.concurrent.ProcessingService;
+
+/**
+ * Common structure of {@link KDTree} and {@link BallTree}: A balanced binary tree over a permutation of the
+ * point indices. Each node covers a contiguous range of that permutation, and is split at the median along
+ * the coordinate with the largest spread. Nodes are numbered as in a binary heap (children of n are 2n+1 and
+ * 2n+2), and ranges of at most {@link #LEAF_SIZE} points are leaves. There are no node objects – only a few
+ * arrays indexed by node number.
+ * <p>
+ * The subtrees of larger nodes are built in parallel.
+ */
+abstract class PartitionTree extends NeighbourIndex {
+
+    static final int LEAF_SIZE = 16;
+
+    private static final int PARALLEL_THRESHOLD = 8_192;
+
+    private static int countNodes(final int size) {
+        int depth = 0;
+        for (int remaining = size; remaining > LEAF_SIZE; remaining = (remaining + 1) / 2) {
+            depth++;
+        }
+        return (1 << depth + 1) - 1;
+    }
+
+    final int myDimension;
+    final int myNumberOfNodes;
+    final int[] myOrder;
+
+    PartitionTree(final float[][] points, final DistanceMeasure measure) {
+
+        super(points, measure);
+
+        int size = points.length;
+
+        myDimension = size > 0 ? points[0].length : 0;
+        myNumberOfNodes = PartitionTree.countNodes(size);
+
+        myOrder = new int[size];
+        for (int i = 0; i < size; i++) {
+            myOrder[i] = i;
+        }
+    }
+
+    /**
+     * To be called (once) from the subclass constructor, when the node arrays have been allocated.
+     */
+    final void build() {
+        if (myOrder.length > 0) {
+            this.build(0, 0, myOrder.length);
+        }
+    }
+
+    /**
+     * Called for every node. The range has been partitioned, unless it's a leaf.
+     *
+     * @param node      The node number
+     * @param first     First position (in the permutation) of the range
+     * @param limit     Limit of the range
+     * @param dimension The split dimension, or -1 for a leaf
+     * @param middle    The first position of the right child's range, or -1 for a leaf
+     */
+    abstract void describe(int node, int first, int limit, int dimension, int middle);
+
+    final void scan(final float[] query, final int first, final int limit, final NeighbourHeap nearest) {
+        for (int p = first; p < limit; p++) {
+            int index = myOrder[p];
+            nearest.offer(index, this.distance(query, index));
+        }
+    }
+
+    final void scan(final float[] query, final int first, final int limit, final double radius, final NeighbourHeap within) {
+        for (int p = first; p < limit; p++) {
+            int index = myOrder[p];
+            double distance = this.distance(query, index);
+            if (distance <= radius) {
+                within.offer(index, distance);
+            }
+        }
+    }
+
+    private void build(final int node, final int first, final int limit) {
+
+        if (limit - first <= LEAF_SIZE) {
+            this.describe(node, first, limit, -1, -1);
+            return;
+        }
+
+        int dimension = this.widest(first, limit);
+        int middle = (first + limit) >>> 1;
+
+        this.select(first, limit, middle, dimension);
+
+        this.describe(node, first, limit, dimension, middle);
+
+        if (limit - first >= PARALLEL_THRESHOLD) {
+
+            Future<?> left = ProcessingService.INSTANCE.getExecutor().submit(() -> this.build(2 * node + 1, first, middle));
+
+            this.build(2 * node + 2, middle, limit);
+
+            try {
+                left.get();
+            } catch (InterruptedException cause) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(cause);
+            } catch (ExecutionException cause) {
+                throw new RuntimeException(cause.getCause());
+            }
+
+        } else {
+
+            this.build(2 * node + 1, first, middle);
+            this.build(2 * node + 2, middle, limit);
+        }
+    }
+
+    private float coordinate(final int position, final int dimension) {
+        return this.point(myOrder[position])[dimension];
+    }
+
+    /**
+     * Quickselect – partially sorts the range so that the element at position k is in its sorted position,
+     * with nothing larger before it and nothing smaller after it.
+     */
+    private void select(final int first, final int limit, final int k, final int dimension) {
+
+        int lo = first;
+        int hi = limit - 1;
+
+        while (hi > lo) {
+
+            int mid = (lo + hi) >>> 1;
+            // Median of three as pivot
+            if (this.coordinate(mid, dimension) < this.coordinate(lo, dimension)) {
+                this.swap(mid, lo);
+            }
+            if (this.coordinate(hi, dimension) < this.coordinate(lo, dimension)) {
+                this.swap(hi, lo);
+            }
+            if (this.coordinate(hi, dimension) < this.coordinate(mid, dimension)) {
+                this.swap(hi, mid);
+            }
+            float pivot = this.coordinate(mid, dimension);
+
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (this.coordinate(i, dimension) < pivot) {
+                    i++;
+                }
+                while (this.coordinate(j, dimension) > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    this.swap(i++, j--);
+                }
+            }
+
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                break;
+            }
+        }
+    }
+
+    private void swap(final int position1, final int position2) {
+        int tmp = myOrder[position1];
+        myOrder[position1] = myOrder[position2];
+        myOrder[position2] = tmp;
+    }
+
+    /**
+     * The dimension with the largest spread (max - min) within the range
+     */
+    private int widest(final int first, final int limit) {
+
+        float[] min = new float[myDimension];
+        float[] max = new float[myDimension];
+        System.arraycopy(this.point(myOrder[first]), 0, min, 0, myDimension);
+        System.arraycopy(min, 0, max, 0, myDimension);
+
+        for (int p = first + 1; p < limit; p++) {
+            float[] point = this.point(myOrder[p]);
+            for (int j = 0; j < myDimension; j++) {
+                float value = point[j];
+                if (value < min[j]) {
+                    min[j] = value;
+                } else if (value > max[j]) {
+                    max[j] = value;
+                }
+            }
+        }
+
+        int retVal = 0;
+        float spread = -1F;
+        for (int j = 0; j < myDimension; j++) {
+            if (max[j] - min[j] > spread) {
+                spread = max[j] - min[j];
+                retVal = j;
+            }
+        }
+        return retVal;
+    }
+
+}
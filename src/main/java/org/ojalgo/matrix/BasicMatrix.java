@@ -69,6 +69,46 @@ public abstract class BasicMatrix<N extends Comparable<N>, M extends BasicMatrix
         Provider2D.Inverse<M>, Provider2D.Condition, Provider2D.Rank, Provider2D.Symmetric, Provider2D.Hermitian, Provider2D.Trace<N>,
         Provider2D.Determinant<N>, Provider2D.Solution<M>, Provider2D.Eigenpairs, Structure2D.Logical<Access2D<N>, M>, Operate2D<N, M> {
 
+    /**
+     * A product that is not yet calculated. It is calculated (once) when first needed, and then shared by the
+     * matrix and everything derived from it.
+     */
+    private static final class DeferredProduct<N extends Comparable<N>> implements ElementsSupplier<N> {
+
+        private final ElementsSupplier<N> myProduct;
+
+        DeferredProduct(final ElementsSupplier<N> product) {
+            super();
+            myProduct = product;
+        }
+
+        @Override
+        public long countColumns() {
+            return myProduct.countColumns();
+        }
+
+        @Override
+        public long countRows() {
+            return myProduct.countRows();
+        }
+
+        @Override
+        public int getColDim() {
+            return myProduct.getColDim();
+        }
+
+        @Override
+        public int getRowDim() {
+            return myProduct.getRowDim();
+        }
+
+        @Override
+        public void supplyTo(final TransformableRegion<N> receiver) {
+            myProduct.supplyTo(receiver);
+        }
+
+    }
+
     private static final NumberContext EQUALS = NumberContext.of(12, 14);
 
     /**
@@ -116,7 +156,7 @@ public abstract class BasicMatrix<N extends Comparable<N>, M extends BasicMatrix
     private transient int myHashCode = 0;
     private transient Boolean myHermitian = null;
     private transient Boolean mySPD = null;
-    private MatrixStore<N> myStore;
+    private volatile MatrixStore<N> myStore;
     private final ElementsSupplier<N> mySupplier;
     private transient Boolean mySymmetric = null;
 
@@ -152,16 +192,22 @@ public abstract class BasicMatrix<N extends Comparable<N>, M extends BasicMatrix
 
     @Override
     public M add(final double scalarAddend) {
-        return this.newInstance(this.store().add(scalarAddend));
+        return this.add(myFactory.scalar().cast(scalarAddend));
     }
 
     @Override
     public M add(final M addend) {
+        if (myStore == null && this.isMatching(addend)) {
+            return this.newInstance(this.supplier().onMatching(myFactory.function().add(), addend.store()));
+        }
         return this.newInstance(this.store().add(addend.store()));
     }
 
     @Override
     public M add(final N scalarAddend) {
+        if (myStore == null) {
+            return this.newInstance(this.supplier().onAll(myFactory.function().add().second(scalarAddend)));
+        }
         return this.newInstance(this.store().add(scalarAddend));
     }
 
@@ -266,11 +312,14 @@ public abstract class BasicMatrix<N extends Comparable<N>, M extends BasicMatrix
 
     @Override
     public M divide(final double scalarDivisor) {
-        return this.newInstance(this.store().divide(scalarDivisor));
+        return this.divide(myFactory.scalar().cast(scalarDivisor));
     }
 
     @Override
     public M divide(final N scalarDivisor) {
+        if (myStore == null) {
+            return this.newInstance(this.supplier().onAll(myFactory.function().divide().second(scalarDivisor)));
+        }
         return this.newInstance(this.store().divide(scalarDivisor));
     }
 
@@ -493,24 +542,45 @@ public abstract class BasicMatrix<N extends Comparable<N>, M extends BasicMatrix
 
     @Override
     public M multiply(final double scalarMultiplicand) {
+        if (myStore == null) {
+            return this.multiply(myFactory.scalar().cast(scalarMultiplicand));
+        }
         return this.newInstance(this.store().multiply(scalarMultiplicand));
     }
 
+    /**
+     * When both matrices are dense the multiplication is not performed here, but deferred until the elements
+     * are needed. It is then performed once, and the product is shared by this matrix and everything derived
+     * from it. Any element-wise operations (scalar multiplication, adding another matrix, applying a
+     * function...) that follow are fused and executed in a single pass over the product.
+     */
     @Override
     public M multiply(final M multiplicand) {
 
         ProgrammingError.throwIfMultiplicationNotPossible(this.store(), multiplicand);
 
-        return this.newInstance(this.store().multiply(multiplicand.store()));
+        MatrixStore<N> left = this.store();
+        MatrixStore<N> right = multiplicand.store();
+
+        if (left instanceof PhysicalStore && right instanceof PhysicalStore) {
+            return this.newInstance(new DeferredProduct<>(right.premultiply(left)));
+        }
+        return this.newInstance(left.multiply(right));
     }
 
     @Override
     public M multiply(final N scalarMultiplicand) {
+        if (myStore == null) {
+            return this.newInstance(this.supplier().onAll(myFactory.function().multiply().second(scalarMultiplicand)));
+        }
         return this.newInstance(this.store().multiply(scalarMultiplicand));
     }
 
     @Override
     public M negate() {
+        if (myStore == null) {
+            return this.newInstance(this.supplier().onAll(myFactory.function().negate()));
+        }
         return this.newInstance(this.store().negate());
     }
 
@@ -704,16 +774,22 @@ public abstract class BasicMatrix<N extends Comparable<N>, M extends BasicMatrix
 
     @Override
     public M subtract(final double scalarSubtrahend) {
-        return this.newInstance(this.store().subtract(scalarSubtrahend));
+        return this.subtract(myFactory.scalar().cast(scalarSubtrahend));
     }
 
     @Override
     public M subtract(final M subtrahend) {
+        if (myStore == null && this.isMatching(subtrahend)) {
+            return this.newInstance(this.supplier().onMatching(myFactory.function().subtract(), subtrahend.store()));
+        }
         return this.newInstance(this.store().subtract(subtrahend.store()));
     }
 
     @Override
     public M subtract(final N scalarSubtrahend) {
+        if (myStore == null) {
+            return this.newInstance(this.supplier().onAll(myFactory.function().subtract().second(scalarSubtrahend)));
+        }
         return this.newInstance(this.store().subtract(scalarSubtrahend));
     }
 
@@ -852,6 +928,10 @@ public abstract class BasicMatrix<N extends Comparable<N>, M extends BasicMatrix
         return task.toSolutionProvider(this.supplier(), this::store, rhs);
     }
 
+    final boolean isMatching(final Structure2D other) {
+        return mySupplier.getRowDim() == other.getRowDim() && mySupplier.getColDim() == other.getColDim();
+    }
+
     abstract Cholesky<N> newCholesky(Structure2D typical);
 
     abstract DeterminantTask<N> newDeterminantTask(Structure2D template);
@@ -887,17 +967,33 @@ public abstract class BasicMatrix<N extends Comparable<N>, M extends BasicMatrix
 
     MatrixStore<N> store() {
 
-        if (myStore == null) {
-            myStore = mySupplier.collect(myFactory);
+        MatrixStore<N> retVal = myStore;
+
+        if (retVal == null) {
+            synchronized (this) {
+                retVal = myStore;
+                if (retVal == null) {
+                    retVal = mySupplier.collect(myFactory);
+                    myStore = retVal;
+                }
+            }
         }
 
-        return myStore;
+        return retVal;
     }
 
+    /**
+     * A deferred product is calculated here, rather than passed on, so that it's only calculated once.
+     * Element-wise pipelines are passed on as they are (and extended by whatever is derived from them).
+     */
     ElementsSupplier<N> supplier() {
 
-        if (myStore != null) {
-            return myStore;
+        MatrixStore<N> store = myStore;
+
+        if (store != null) {
+            return store;
+        } else if (mySupplier instanceof DeferredProduct) {
+            return this.store();
         } else {
             return mySupplier;
         }
@@ -36,6 +36,7 @@ import org.ojalgo.scalar.Scalar;
 import org.ojalgo.structure.Access1D;
 import org.ojalgo.structure.Access2D;
 import org.ojalgo.structure.Structure2D;
+import org.ojalgo.type.management.Telemetry;
 
 /**
  * @author apete
@@ -267,6 +268,7 @@ abstract class AbstractDecomposition<N extends Comparable<N>, M extends Physical
     private boolean myComputed = false;
     private final PhysicalStore.Factory<N, ? extends M> myFactory;
     private Boolean mySolvable = null;
+    private long myStarted = 0L;
 
     AbstractDecomposition(final PhysicalStore.Factory<N, ? extends M> factory) {
         super();
@@ -282,6 +284,7 @@ abstract class AbstractDecomposition<N extends Comparable<N>, M extends Physical
     public void reset() {
         myComputed = false;
         mySolvable = null;
+        myStarted = Telemetry.start();
     }
 
     protected boolean checkSolvability() {
@@ -336,6 +339,10 @@ abstract class AbstractDecomposition<N extends Comparable<N>, M extends Physical
     }
 
     final boolean computed(final boolean computed) {
+        if (myStarted != 0L) {
+            Telemetry.decomposition(myStarted, this.getClass().getSimpleName(), this.getRowDim(), this.getColDim());
+            myStarted = 0L;
+        }
         return myComputed = computed;
     }
 
@@ -399,6 +406,15 @@ abstract class AbstractDecomposition<N extends Comparable<N>, M extends Physical
         return myFactory.scalar();
     }
 
+    /**
+     * Marks the start of the actual decomposition work – for implementations where that doesn't begin with
+     * {@link #reset()}. The matching {@link #computed(boolean)} call publishes the telemetry.
+     */
+    final void started() {
+        myComputed = false;
+        myStarted = Telemetry.start();
+    }
+
     final MatrixStore<N> wrap(final Access2D<?> source) {
         return myFactory.makeWrapper(source);
     }
@@ -0,0 +1,221 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.decomposition;
+
+import org.ojalgo.matrix.store.R064CSC;
+
+/**
+ * Common base for fill-reducing (symmetric) orderings used to pre-order a sparse matrix prior to numerical
+ * factorisation. Subclasses compute the ordering in {@link #approximate(R064CSC)}, and then this class
+ * provides the means to permute/reverse vectors and matrices according to that ordering.
+ * <p>
+ * All implementations:
+ * <ul>
+ * <li>Assume the input {@link R064CSC} represents a symmetric pattern with only the upper triangle stored.
+ * <li>Treat the matrix as an adjacency graph and compute a fill-reducing column ordering.
+ * <li>Do not modify the input matrix; they only record a permutation.
+ * </ul>
+ *
+ * @see MinimumDegree
+ * @see NestedDissection
+ */
+public abstract class FillReducingOrdering {
+
+    /**
+     * Build the undirected adjacency graph (excluding self-loops) of a symmetric pattern with only the
+     * upper/right triangle stored. Lower-triangular entries (if present) are ignored.
+     *
+     * @return neighbours[v] is the list of neighbours of v
+     */
+    static int[][] neighbours(final R064CSC matrix) {
+
+        int dimension = matrix.getColDim();
+
+        int[] colPtr = matrix.pointers;
+        int[] rowIdx = matrix.indices;
+
+        int[][] neighbours = new int[dimension][];
+        int[] degree = new int[dimension];
+
+        // First pass: count undirected neighbours per vertex
+        for (int col = 0; col < dimension; col++) {
+            for (int p = colPtr[col]; p < colPtr[col + 1]; p++) {
+                int row = rowIdx[p];
+                if (row >= col) {
+                    continue; // upper triangle only, and skip diagonal
+                }
+                degree[row]++;
+                degree[col]++;
+            }
+        }
+
+        // Allocate neighbour arrays
+        for (int v = 0; v < dimension; v++) {
+            neighbours[v] = new int[degree[v]];
+            degree[v] = 0; // reuse as write index
+        }
+
+        // Second pass: fill neighbour lists symmetrically
+        for (int col = 0; col < dimension; col++) {
+            for (int p = colPtr[col]; p < colPtr[col + 1]; p++) {
+                int row = rowIdx[p];
+                if (row >= col) {
+                    continue;
+                }
+                neighbours[row][degree[row]++] = col;
+                neighbours[col][degree[col]++] = row;
+            }
+        }
+
+        return neighbours;
+    }
+
+    private final Pivot myPermutation = new Pivot();
+
+    FillReducingOrdering() {
+        super();
+    }
+
+    /**
+     * Computes a fill-reducing ordering for a symmetric {@link R064CSC} matrix. The result is stored
+     * internally. To permute vectors or matrices according to the computed ordering, use the
+     * {@link #permute(double[], double[])} or {@link #permute(R064CSC, int[])}} methods.
+     * <p>
+     * The input is assumed to store only the upper/right triangle of the symmetric pattern; lower-triangular
+     * entries (if present) are ignored.
+     */
+    public abstract void approximate(R064CSC matrix);
+
+    /**
+     * Permutes a vector according to the computed ordering. Copies from source to destination, reordering as
+     * it goes.
+     */
+    public void permute(final double[] destination, final double[] source) {
+
+        int[] order = myPermutation.getOrder();
+
+        for (int j = 0, n = Math.min(destination.length, order.length); j < n; j++) {
+            destination[j] = source[order[j]];
+        }
+    }
+
+    /**
+     * Permutes a symmetric {@link R064CSC} matrix according to the computed ordering. The input is assumed to
+     * store only the upper/right triangle of the symmetric pattern.
+     * <p>
+     * Does not modify the input matrix; it returns a new permuted matrix.
+     */
+    public R064CSC permute(final R064CSC original, final int[] recording) {
+
+        int n = original.getColDim();
+
+        int[] reversed = myPermutation.reverseOrder();
+
+        int i, i2, j2;
+
+        int[] orgPointers = original.pointers;
+        int[] orgIndices = original.indices;
+        double[] orgValues = original.values;
+
+        int[] work = new int[n];
+
+        R064CSC permuted = new R064CSC(n, n, orgPointers[n]);
+        int[] permPointers = permuted.pointers;
+        int[] permIndices = permuted.indices;
+        double[] permValues = permuted.values;
+
+        for (int j = 0; j < n; j++) {
+            j2 = reversed[j];
+
+            for (int p = orgPointers[j], lim = orgPointers[j + 1]; p < lim; p++) {
+
+                i = orgIndices[p];
+                i2 = reversed[i];
+
+                work[Math.max(i2, j2)]++;
+            }
+        }
+
+        int nz = 0;
+        for (int i1 = 0; i1 < n; i1++) {
+            permPointers[i1] = nz;
+            nz += work[i1];
+            work[i1] = permPointers[i1];
+        }
+        permPointers[n] = nz;
+
+        int q;
+        for (int j = 0; j < n; j++) {
+            j2 = reversed[j];
+
+            for (int p = orgPointers[j], lim = orgPointers[j + 1]; p < lim; p++) {
+
+                i = orgIndices[p];
+                i2 = reversed[i];
+
+                permIndices[q = work[Math.max(i2, j2)]++] = Math.min(i2, j2);
+                permValues[q] = orgValues[p];
+
+                if (recording != null) {
+                    recording[p] = q;
+                }
+            }
+        }
+
+        return permuted;
+    }
+
+    /**
+     * The inverse permutation of a vector according to the computed ordering. Copies from source to
+     * destination, reordering as it goes.
+     */
+    public void reverse(final double[] destination, final double[] source) {
+
+        int[] order = myPermutation.getOrder();
+
+        for (int j = 0, n = Math.min(order.length, source.length); j < n; j++) {
+            destination[order[j]] = source[j];
+        }
+    }
+
+    int[] getOrder() {
+        return myPermutation.getOrder().clone();
+    }
+
+    Pivot getPermutation() {
+        return myPermutation;
+    }
+
+    int[] reverseOrder() {
+        return myPermutation.reverseOrder().clone();
+    }
+
+    /**
+     * Set the complete ordering in one go – order[k] is the (original) index that should be at position k.
+     */
+    void setOrder(final int[] order) {
+        myPermutation.reset(order.length);
+        System.arraycopy(order, 0, myPermutation.getOrder(), 0, order.length);
+        myPermutation.setModified(true);
+    }
+
+}
@@ -76,7 +76,7 @@ abstract class InPlaceDecomposition<N extends Comparable<N>> extends AbstractDec
 
         matrix.supplyTo(myInPlace);
 
-        this.computed(false);
+        this.started();
 
         return myInPlace;
     }
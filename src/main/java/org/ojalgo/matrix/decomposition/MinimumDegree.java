@@ -37,9 +37,11 @@ import org.ojalgo.matrix.store.R064CSC;
  * <li>Does not modify the input matrix; it only returns a permutation vector.
  * </ul>
  */
-public final class MinimumDegree {
+public final class MinimumDegree extends FillReducingOrdering {
 
-    private final Pivot myPermutation = new Pivot();
+    public MinimumDegree() {
+        super();
+    }
 
     /**
      * Approximates a minimum degree ordering for a symmetric {@link R064CSC} matrix. The result is stored
@@ -49,6 +51,7 @@ public final class MinimumDegree {
      * The input is assumed to store only the upper/right triangle of the symmetric pattern; lower-triangular
      * entries (if present) are ignored.
      */
+    @Override
     public void approximate(final R064CSC matrix) {
 
         int dimension = matrix.getColDim();
@@ -56,53 +59,16 @@ public final class MinimumDegree {
             return;
         }
 
-        int[] colPtr = matrix.pointers;
-        int[] rowIdx = matrix.indices;
-
         // Build a simple symmetric adjacency structure from the (assumed upper-triangular) pattern.
         // neighbours[v] is the list of neighbours of v in the undirected graph defined by the pattern.
-        int[][] neighbours = new int[dimension][];
+        int[][] neighbours = FillReducingOrdering.neighbours(matrix);
         int[] degree = new int[dimension];
 
-        // First pass: count undirected neighbours per vertex
-        for (int col = 0; col < dimension; col++) {
-            for (int p = colPtr[col]; p < colPtr[col + 1]; p++) {
-                int row = rowIdx[p];
-                if (row > col) {
-                    continue; // assume upper triangle only
-                }
-                if (row == col) {
-                    continue; // skip diagonal
-                }
-                degree[row]++;
-                degree[col]++;
-            }
-        }
-
-        // Allocate neighbour arrays
-        for (int v = 0; v < dimension; v++) {
-            neighbours[v] = new int[degree[v]];
-            degree[v] = 0; // reuse as write index
-        }
-
-        // Second pass: fill neighbour lists symmetrically
-        for (int col = 0; col < dimension; col++) {
-            for (int p = colPtr[col]; p < colPtr[col + 1]; p++) {
-                int row = rowIdx[p];
-                if (row > col) {
-                    continue;
-                }
-                if (row == col) {
-                    continue;
-                }
-                neighbours[row][degree[row]++] = col;
-                neighbours[col][degree[col]++] = row;
-            }
-        }
+        Pivot pivot = this.getPermutation();
 
         // Reset pivot and degrees for the actual ordering loop
-        myPermutation.reset(dimension);
-        int[] order = myPermutation.getOrder();
+        pivot.reset(dimension);
+        int[] order = pivot.getOrder();
         boolean[] eliminated = new boolean[dimension];
 
         // Recompute degrees as neighbour counts
@@ -136,7 +102,7 @@ public final class MinimumDegree {
                 }
             }
             if (posBest >= 0 && posBest != k) {
-                myPermutation.change(k, posBest);
+                pivot.change(k, posBest);
             }
 
             eliminated[best] = true;
@@ -161,104 +127,4 @@ public final class MinimumDegree {
         }
     }
 
-    /**
-     * Permutes a vector according to the computed ordering. Copies from source to destination, reordering as
-     * it goes.
-     */
-    public void permute(final double[] destination, final double[] source) {
-
-        int[] order = myPermutation.getOrder();
-
-        for (int j = 0, n = Math.min(destination.length, order.length); j < n; j++) {
-            destination[j] = source[order[j]];
-        }
-    }
-
-    /**
-     * Permutes a symmetric {@link R064CSC} matrix according to the computed ordering. The input is assumed to
-     * store only the upper/right triangle of the symmetric pattern.
-     * <p>
-     * Does not modify the input matrix; it returns a new permuted matrix.
-     */
-    public R064CSC permute(final R064CSC original, final int[] recording) {
-
-        int n = original.getColDim();
-
-        int[] reversed = myPermutation.reverseOrder();
-
-        int i, i2, j2;
-
-        int[] orgPointers = original.pointers;
-        int[] orgIndices = original.indices;
-        double[] orgValues = original.values;
-
-        int[] work = new int[n];
-
-        R064CSC permuted = new R064CSC(n, n, orgPointers[n]);
-        int[] permPointers = permuted.pointers;
-        int[] permIndices = permuted.indices;
-        double[] permValues = permuted.values;
-
-        for (int j = 0; j < n; j++) {
-            j2 = reversed[j];
-
-            for (int p = orgPointers[j], lim = orgPointers[j + 1]; p < lim; p++) {
-
-                i = orgIndices[p];
-                i2 = reversed[i];
-
-                work[Math.max(i2, j2)]++;
-            }
-        }
-
-        int nz = 0;
-        for (int i1 = 0; i1 < n; i1++) {
-            permPointers[i1] = nz;
-            nz += work[i1];
-            work[i1] = permPointers[i1];
-        }
-        permPointers[n] = nz;
-
-        int q;
-        for (int j = 0; j < n; j++) {
-            j2 = reversed[j];
-
-            for (int p = orgPointers[j], lim = orgPointers[j + 1]; p < lim; p++) {
-
-                i = orgIndices[p];
-                i2 = reversed[i];
-
-                permIndices[q = work[Math.max(i2, j2)]++] = Math.min(i2, j2);
-                permValues[q] = orgValues[p];
-
-                if (recording != null) {
-                    recording[p] = q;
-                }
-            }
-        }
-
-        return permuted;
-    }
-
-    /**
-     * The inverse permutation of a vector according to the computed ordering. Copies from source to
-     * destination, reordering as it goes.
-     */
-    public void reverse(final double[] destination, final double[] source) {
-
-        int[] order = myPermutation.getOrder();
-
-        for (int j = 0, n = Math.min(order.length, source.length); j < n; j++) {
-            destination[order[j]] = source[j];
-        }
-    }
-
-    int[] getOrder() {
-        return myPermutation.getOrder().clone();
-    }
-
-    int[] reverseOrder() {
-        return myPermutation.reverseOrder().clone();
-    }
-
 }
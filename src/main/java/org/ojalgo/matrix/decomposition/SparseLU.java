@@ -1060,6 +1060,8 @@ public final class SparseLU extends AbstractDecomposition<Double, R064Store> imp
      */
     void reset(final int m, final int n) {
 
+        this.started();
+
         int r = Math.min(m, n);
 
         myPivot.reset(m);
@@ -21,11 +21,14 @@
  */
 package org.ojalgo.matrix.store;
 
+import java.util.Arrays;
+
 import org.ojalgo.function.BinaryFunction;
 import org.ojalgo.function.UnaryFunction;
 import org.ojalgo.function.aggregator.Aggregator;
 import org.ojalgo.structure.Access1D;
 import org.ojalgo.structure.Access2D;
+import org.ojalgo.structure.Structure2D;
 import org.ojalgo.structure.Transformation2D;
 
 /**
@@ -38,37 +41,83 @@ abstract class MatrixPipeline<N extends Comparable<N>> implements ElementsSuppli
 
     static final class BinaryOperatorLeft<N extends Comparable<N>> extends MatrixPipeline<N> {
 
+        private final UnaryFunction<N> myAfter;
+        private final UnaryFunction<N> myBefore;
         private final Access2D<N> myLeft;
         private final BinaryFunction<N> myOperator;
 
         BinaryOperatorLeft(final Access2D<N> left, final BinaryFunction<N> operator, final ElementsSupplier<N> right) {
+            this(left, operator, right, null, null);
+        }
+
+        BinaryOperatorLeft(final Access2D<N> left, final BinaryFunction<N> operator, final ElementsSupplier<N> right, final UnaryFunction<N> before,
+                final UnaryFunction<N> after) {
             super(right);
             myLeft = left;
             myOperator = operator;
+            myBefore = before;
+            myAfter = after;
+        }
+
+        @Override
+        public ElementsSupplier<N> onAll(final UnaryFunction<N> operator) {
+            return new BinaryOperatorLeft<>(myLeft, myOperator, this.getContext(), myBefore, Composite.of(myAfter, operator));
         }
 
         @Override
         public void supplyTo(final TransformableRegion<N> receiver) {
-            this.getContext().supplyTo(receiver);
-            receiver.modifyMatching(myLeft, myOperator);
+
+            BinaryFunction<N> operator = FusedOperator.of(false, myOperator, myBefore, myAfter);
+
+            ElementsSupplier<N> context = this.getContext();
+
+            if (context instanceof MatrixStore && receiver != myLeft && MatrixPipeline.isMatching(receiver, context)) {
+                receiver.fillMatching(myLeft, operator, (MatrixStore<N>) context);
+            } else {
+                context.supplyTo(receiver);
+                receiver.modifyMatching(myLeft, operator);
+            }
         }
     }
 
     static final class BinaryOperatorRight<N extends Comparable<N>> extends MatrixPipeline<N> {
 
+        private final UnaryFunction<N> myAfter;
+        private final UnaryFunction<N> myBefore;
         private final BinaryFunction<N> myOperator;
         private final Access2D<N> myRight;
 
         BinaryOperatorRight(final ElementsSupplier<N> left, final BinaryFunction<N> operator, final Access2D<N> right) {
+            this(left, operator, right, null, null);
+        }
+
+        BinaryOperatorRight(final ElementsSupplier<N> left, final BinaryFunction<N> operator, final Access2D<N> right, final UnaryFunction<N> before,
+                final UnaryFunction<N> after) {
             super(left);
             myRight = right;
             myOperator = operator;
+            myBefore = before;
+            myAfter = after;
+        }
+
+        @Override
+        public ElementsSupplier<N> onAll(final UnaryFunction<N> operator) {
+            return new BinaryOperatorRight<>(this.getContext(), myOperator, myRight, myBefore, Composite.of(myAfter, operator));
         }
 
         @Override
         public void supplyTo(final TransformableRegion<N> receiver) {
-            this.getContext().supplyTo(receiver);
-            receiver.modifyMatching(myOperator, myRight);
+
+            BinaryFunction<N> operator = FusedOperator.of(true, myOperator, myBefore, myAfter);
+
+            ElementsSupplier<N> context = this.getContext();
+
+            if (context instanceof MatrixStore && receiver != myRight && MatrixPipeline.isMatching(receiver, context)) {
+                receiver.fillMatching((MatrixStore<N>) context, operator, myRight);
+            } else {
+                context.supplyTo(receiver);
+                receiver.modifyMatching(operator, myRight);
+            }
         }
     }
 
@@ -128,6 +177,157 @@ abstract class MatrixPipeline<N extends Comparable<N>> implements ElementsSuppli
 
     }
 
+    /**
+     * Consecutive unary operations collapsed into one step – a flat sequence applied in a loop. Composing with
+     * {@link UnaryFunction#andThen(UnaryFunction)} nests one function call per operation, and a long chain
+     * of scalar operations would then be an equally deep call stack for every element.
+     */
+    static final class Composite<N extends Comparable<N>> implements UnaryFunction<N> {
+
+        static <N extends Comparable<N>> UnaryFunction<N> of(final UnaryFunction<N> first, final UnaryFunction<N> second) {
+
+            if (first == null) {
+                return second;
+            }
+
+            UnaryFunction<N>[] firstSteps = Composite.steps(first);
+            UnaryFunction<N>[] secondSteps = Composite.steps(second);
+
+            UnaryFunction<N>[] steps = Arrays.copyOf(firstSteps, firstSteps.length + secondSteps.length);
+            System.arraycopy(secondSteps, 0, steps, firstSteps.length, secondSteps.length);
+
+            return new Composite<>(steps);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <N extends Comparable<N>> UnaryFunction<N>[] steps(final UnaryFunction<N> function) {
+            if (function instanceof Composite) {
+                return ((Composite<N>) function).mySteps;
+            } else {
+                return new UnaryFunction[] { function };
+            }
+        }
+
+        private final UnaryFunction<N>[] mySteps;
+
+        Composite(final UnaryFunction<N>[] steps) {
+            super();
+            mySteps = steps;
+        }
+
+        @Override
+        public double invoke(final double arg) {
+            double retVal = arg;
+            for (int i = 0; i < mySteps.length; i++) {
+                retVal = mySteps[i].invoke(retVal);
+            }
+            return retVal;
+        }
+
+        @Override
+        public float invoke(final float arg) {
+            float retVal = arg;
+            for (int i = 0; i < mySteps.length; i++) {
+                retVal = mySteps[i].invoke(retVal);
+            }
+            return retVal;
+        }
+
+        @Override
+        public N invoke(final N arg) {
+            N retVal = arg;
+            for (int i = 0; i < mySteps.length; i++) {
+                retVal = mySteps[i].invoke(retVal);
+            }
+            return retVal;
+        }
+
+    }
+
+    /**
+     * Element-wise operations fused into a single {@link BinaryFunction}: an optional unary operation on the
+     * pipeline operand, the binary operation with the matching argument, and an optional unary operation on
+     * the result. This is what allows a chain like {@code A.multiply(B).multiply(alpha).onMatching(ADD, C)
+     * .onAll(f)} to be evaluated as the multiplication followed by one single pass over the product, rather
+     * than one pass (and one intermediate matrix) per step.
+     */
+    static final class FusedOperator<N extends Comparable<N>> implements BinaryFunction<N> {
+
+        static <N extends Comparable<N>> BinaryFunction<N> of(final boolean pipelineFirst, final BinaryFunction<N> operator,
+                final UnaryFunction<N> before, final UnaryFunction<N> after) {
+            if (before == null && after == null) {
+                return operator;
+            } else {
+                return new FusedOperator<>(pipelineFirst, operator, before, after);
+            }
+        }
+
+        private final UnaryFunction<N> myAfter;
+        private final UnaryFunction<N> myBefore;
+        private final BinaryFunction<N> myOperator;
+        /**
+         * true if the pipeline operand is the first argument of the binary operation
+         */
+        private final boolean myPipelineFirst;
+
+        FusedOperator(final boolean pipelineFirst, final BinaryFunction<N> operator, final UnaryFunction<N> before, final UnaryFunction<N> after) {
+            super();
+            myPipelineFirst = pipelineFirst;
+            myOperator = operator;
+            myBefore = before;
+            myAfter = after;
+        }
+
+        @Override
+        public double invoke(final double arg1, final double arg2) {
+
+            double retVal;
+
+            if (myBefore == null) {
+                retVal = myOperator.invoke(arg1, arg2);
+            } else if (myPipelineFirst) {
+                retVal = myOperator.invoke(myBefore.invoke(arg1), arg2);
+            } else {
+                retVal = myOperator.invoke(arg1, myBefore.invoke(arg2));
+            }
+
+            return myAfter != null ? myAfter.invoke(retVal) : retVal;
+        }
+
+        @Override
+        public N invoke(final N arg1, final double arg2) {
+
+            N retVal;
+
+            if (myBefore == null) {
+                retVal = myOperator.invoke(arg1, arg2);
+            } else if (myPipelineFirst) {
+                retVal = myOperator.invoke(myBefore.invoke(arg1), arg2);
+            } else {
+                retVal = myOperator.invoke(arg1, myBefore.invoke(arg2));
+            }
+
+            return myAfter != null ? myAfter.invoke(retVal) : retVal;
+        }
+
+        @Override
+        public N invoke(final N arg1, final N arg2) {
+
+            N retVal;
+
+            if (myBefore == null) {
+                retVal = myOperator.invoke(arg1, arg2);
+            } else if (myPipelineFirst) {
+                retVal = myOperator.invoke(myBefore.invoke(arg1), arg2);
+            } else {
+                retVal = myOperator.invoke(arg1, myBefore.invoke(arg2));
+            }
+
+            return myAfter != null ? myAfter.invoke(retVal) : retVal;
+        }
+
+    }
+
     static final class Multiplication<N extends Comparable<N>> extends MatrixPipeline<N> {
 
         private final Access1D<N> myLeft;
@@ -246,13 +446,39 @@ abstract class MatrixPipeline<N extends Comparable<N>> implements ElementsSuppli
             myOperator = operator;
         }
 
+        @Override
+        public ElementsSupplier<N> onAll(final UnaryFunction<N> operator) {
+            return new UnaryOperator<>(this.getContext(), Composite.of(myOperator, operator));
+        }
+
+        @Override
+        public ElementsSupplier<N> onMatching(final Access2D<N> left, final BinaryFunction<N> operator) {
+            return new BinaryOperatorLeft<>(left, operator, this.getContext(), myOperator, null);
+        }
+
+        @Override
+        public ElementsSupplier<N> onMatching(final BinaryFunction<N> operator, final Access2D<N> right) {
+            return new BinaryOperatorRight<>(this.getContext(), operator, right, myOperator, null);
+        }
+
         @Override
         public void supplyTo(final TransformableRegion<N> receiver) {
-            this.getContext().supplyTo(receiver);
-            receiver.modifyAll(myOperator);
+
+            ElementsSupplier<N> context = this.getContext();
+
+            if (context instanceof MatrixStore && MatrixPipeline.isMatching(receiver, context)) {
+                receiver.fillMatching(myOperator, (MatrixStore<N>) context);
+            } else {
+                context.supplyTo(receiver);
+                receiver.modifyAll(myOperator);
+            }
         }
     }
 
+    static boolean isMatching(final Structure2D receiver, final Structure2D supplier) {
+        return receiver.getRowDim() == supplier.getRowDim() && receiver.getColDim() == supplier.getColDim();
+    }
+
     private final int myColumnsCount;
     private final ElementsSupplier<N> myContext;
     private final int myRowsCount;
@@ -27,6 +27,7 @@ import java.util.Arrays;
 import java.util.NoSuchElementException;
 
 import org.ojalgo.array.operation.COPY;
+import org.ojalgo.concurrent.Parallelism;
 import org.ojalgo.structure.Access1D;
 import org.ojalgo.structure.ElementView2D;
 import org.ojalgo.structure.Structure2D;
@@ -200,6 +201,15 @@ public final class R064CSR extends CompressedSparseR064 {
         }
     }
 
+    /**
+     * Number of nonzeros above which {@link #multiply(double[], double[])} is done in parallel
+     */
+    private static final int PARALLELISM_THRESHOLD = 65_536;
+    /**
+     * Smallest range of rows handed to one worker in {@link #multiply(double[], double[])}
+     */
+    private static final int ROWS_THRESHOLD = 1_024;
+
     public static R064CSR.Builder newBuilder() {
         return new R064CSR.Builder();
     }
@@ -344,6 +354,26 @@ public final class R064CSR extends CompressedSparseR064 {
         }
     }
 
+    /**
+     * Sparse matrix-vector multiplication, [target] = [this][right], working directly on the arrays. For
+     * larger matrices the rows are divided in (contiguous) ranges that are processed in parallel. This is the
+     * operation that dominates the cost of each iteration in the Krylov solvers in
+     * {@link org.ojalgo.matrix.task.iterative}.
+     *
+     * @param right  The vector to multiply with, must not be the same array as target
+     * @param target The result vector, will be overwritten
+     */
+    public void multiply(final double[] right, final double[] target) {
+
+        int nbRows = this.getRowDim();
+
+        if (values.length > PARALLELISM_THRESHOLD) {
+            Parallelism.CORES.newDivider(ROWS_THRESHOLD).divide(nbRows, (first, limit) -> this.multiply(right, target, first, limit));
+        } else {
+            this.multiply(right, target, 0, nbRows);
+        }
+    }
+
     @Override
     public NonZeroView nonzeros() {
         return new NonZeroView(this);
@@ -391,4 +421,14 @@ public final class R064CSR extends CompressedSparseR064 {
         return new R064CSC(this.getColDim(), this.getRowDim(), values, indices, pointers);
     }
 
+    private void multiply(final double[] right, final double[] target, final int first, final int limit) {
+        for (int i = first; i < limit; i++) {
+            double sum = ZERO;
+            for (int k = pointers[i], lim = pointers[i + 1]; k < lim; k++) {
+                sum += values[k] * right[indices[k]];
+            }
+            target[i] = sum;
+        }
+    }
+
 }
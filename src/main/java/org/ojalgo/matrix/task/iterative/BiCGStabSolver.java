@@ -0,0 +1,204 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.task.iterative;
+
+import static org.ojalgo.function.constant.PrimitiveMath.*;
+
+import java.util.List;
+
+import org.ojalgo.equation.Equation;
+import org.ojalgo.matrix.store.PhysicalStore;
+import org.ojalgo.matrix.store.R064CSR;
+import org.ojalgo.matrix.store.R064Store;
+import org.ojalgo.structure.Access1D;
+import org.ojalgo.type.context.NumberContext;
+
+/**
+ * Biconjugate Gradient Stabilized (BiCGStab) solver for general nonsymmetric square systems [A][x]=[b].
+ * <p>
+ * Characteristics
+ * <ul>
+ * <li>Operates on matrix–vector products with A only (no A^T) – 2 per iteration.
+ * <li>Right-preconditioning is applied via the {@link Preconditioner} interface – 2 applications per
+ * iteration. Nonsymmetric preconditioners, such as {@link ILU0Preconditioner} or {@link ILUTPreconditioner},
+ * are fine.
+ * <li>Short recurrences – memory use is constant (a handful of vectors) regardless of the number of
+ * iterations.
+ * <li>Convergence is not monotone, and the method may break down (stagnate) on some problems. Then
+ * {@link GMRESSolver} is the more robust alternative.
+ * </ul>
+ * References
+ * <ul>
+ * <li>van der Vorst, H. A. (1992), Bi-CGSTAB: A Fast and Smoothly Converging Variant of Bi-CG for the Solution
+ * of Nonsymmetric Linear Systems. SIAM J. Sci. Stat. Comput. 13 (2): 631–644.
+ * <li>Templates for the Solution of Linear Systems, Barrett et al., Figure 2.10.
+ * </ul>
+ *
+ * @see https://en.wikipedia.org/wiki/Biconjugate_gradient_stabilized_method
+ */
+public final class BiCGStabSolver extends IterativeSolverTask {
+
+    private transient R064Store myIterate = null; // x (when the solution is not an R064Store)
+    private transient R064Store myPreconditionedP = null; // p^ = M^{-1} p
+    private transient R064Store myPreconditionedS = null; // s^ = M^{-1} s
+    private transient R064Store myResidual = null; // r (and s)
+    private transient R064Store myRHS = null; // b
+    private transient R064Store myShadow = null; // r~ (the shadow residual)
+    private transient R064Store myDirection = null; // p
+    private transient R064Store myT = null; // t = A s^
+    private transient R064Store myV = null; // v = A p^
+
+    public BiCGStabSolver() {
+        super();
+    }
+
+    @Override
+    public double resolve(final List<Equation> equations, final PhysicalStore<Double> solution) {
+
+        int n = solution.size();
+
+        Preconditioner preconditioner = this.getPreconditioner();
+        preconditioner.prepare(equations, n);
+
+        myRHS = IterativeSolverTask.rhs(equations, myRHS, n);
+
+        return this.resolve(IterativeSolverTask.operator(equations), myRHS, solution, preconditioner);
+    }
+
+    @Override
+    public double resolve(final R064CSR body, final Access1D<?> rhs, final PhysicalStore<Double> solution) {
+
+        Preconditioner preconditioner = this.getPreconditioner();
+        preconditioner.prepare(body);
+
+        myRHS = IterativeSolverTask.rhs(myRHS, rhs);
+
+        return this.resolve(IterativeSolverTask.operator(body), myRHS, solution, preconditioner);
+    }
+
+    private double resolve(final LinearOperator operator, final R064Store rhs, final PhysicalStore<Double> solution, final Preconditioner preconditioner) {
+
+        R064Store x = myIterate = IterativeSolverTask.iterate(solution, myIterate);
+
+        int n = x.size();
+
+        int nbIterations = 0;
+        int iterationsLimit = this.getIterationsLimit();
+
+        NumberContext accuracy = this.getAccuracyContext();
+
+        R064Store r = myResidual = IterativeSolverTask.worker(myResidual, n);
+        R064Store shadow = myShadow = IterativeSolverTask.worker(myShadow, n);
+        R064Store p = myDirection = IterativeSolverTask.worker(myDirection, n);
+        R064Store pHat = myPreconditionedP = IterativeSolverTask.worker(myPreconditionedP, n);
+        R064Store sHat = myPreconditionedS = IterativeSolverTask.worker(myPreconditionedS, n);
+        R064Store v = myV = IterativeSolverTask.worker(myV, n);
+        R064Store t = myT = IterativeSolverTask.worker(myT, n);
+
+        // r = b - A x
+        operator.multiply(x, v);
+        r.fillMatching(rhs);
+        v.axpy(NEG, r);
+
+        shadow.fillMatching(r);
+
+        double normRHS = IterativeSolverTask.norm(rhs);
+        double normErr = IterativeSolverTask.norm(r);
+
+        if (this.isDebugPrinterSet()) {
+            this.debug(0, accuracy.isZero(normRHS) ? normErr : normErr / normRHS, x);
+        }
+
+        double rho0 = ONE;
+        double alpha = ONE;
+        double omega = ONE;
+
+        while (nbIterations < iterationsLimit && !Double.isNaN(normErr) && !accuracy.isSmall(normRHS, normErr)) {
+
+            double rho1 = shadow.dot(r);
+
+            if (rho1 == ZERO) {
+                break; // Breakdown – r is orthogonal to the shadow residual
+            }
+
+            if (nbIterations == 0) {
+                p.fillMatching(r);
+            } else {
+                // p = r + beta (p - omega v)
+                double beta = (rho1 / rho0) * (alpha / omega);
+                v.axpy(-omega, p);
+                p.modifyAll(MULTIPLY.by(beta));
+                r.axpy(ONE, p);
+            }
+
+            preconditioner.apply(p, pHat);
+            operator.multiply(pHat, v);
+
+            alpha = rho1 / shadow.dot(v);
+
+            // s = r - alpha v (stored in r)
+            v.axpy(-alpha, r);
+
+            // x = x + alpha p^
+            pHat.axpy(alpha, x);
+
+            normErr = IterativeSolverTask.norm(r);
+
+            nbIterations++;
+
+            if (accuracy.isSmall(normRHS, normErr)) {
+                break;
+            }
+
+            preconditioner.apply(r, sHat);
+            operator.multiply(sHat, t);
+
+            double tt = t.dot(t);
+            omega = tt != ZERO ? t.dot(r) / tt : ZERO;
+
+            // x = x + omega s^
+            sHat.axpy(omega, x);
+
+            // r = s - omega t
+            t.axpy(-omega, r);
+
+            normErr = IterativeSolverTask.norm(r);
+
+            rho0 = rho1;
+
+            if (this.isDebugPrinterSet()) {
+                this.debug(nbIterations, normErr / normRHS, x);
+            }
+
+            if (omega == ZERO) {
+                break; // Breakdown/stagnation
+            }
+        }
+
+        if (x != solution) {
+            solution.fillMatching(x);
+        }
+
+        return accuracy.isZero(normRHS) ? normErr : normErr / normRHS;
+    }
+
+}
@@ -27,7 +27,9 @@ import java.util.List;
 
 import org.ojalgo.equation.Equation;
 import org.ojalgo.matrix.store.PhysicalStore;
+import org.ojalgo.matrix.store.R064CSR;
 import org.ojalgo.matrix.store.R064Store;
+import org.ojalgo.structure.Access1D;
 import org.ojalgo.type.context.NumberContext;
 
 /**
@@ -58,8 +60,10 @@ import org.ojalgo.type.context.NumberContext;
 public final class ConjugateGradientSolver extends IterativeSolverTask {
 
     private transient R064Store myDirection = null; // p
+    private transient R064Store myIterate = null; // x (when the solution is not an R064Store)
     private transient R064Store myPreconditioned = null; // z = M^{-1} r
     private transient R064Store myResidual = null; // r
+    private transient R064Store myRHS = null; // b
     private transient R064Store myVector = null; // q = A p
 
     public ConjugateGradientSolver() {
@@ -70,12 +74,36 @@ public final class ConjugateGradientSolver extends IterativeSolverTask {
     @Override
     public double resolve(final List<Equation> equations, final PhysicalStore<Double> solution) {
 
+        int n = solution.size();
+
+        Preconditioner preconditioner = this.getPreconditioner();
+        preconditioner.prepare(equations, n);
+
+        myRHS = IterativeSolverTask.rhs(equations, myRHS, n);
+
+        return this.resolve(IterativeSolverTask.operator(equations), myRHS, solution, preconditioner);
+    }
+
+    @Override
+    public double resolve(final R064CSR body, final Access1D<?> rhs, final PhysicalStore<Double> solution) {
+
+        Preconditioner preconditioner = this.getPreconditioner();
+        preconditioner.prepare(body);
+
+        myRHS = IterativeSolverTask.rhs(myRHS, rhs);
+
+        return this.resolve(IterativeSolverTask.operator(body), myRHS, solution, preconditioner);
+    }
+
+    private double resolve(final LinearOperator operator, final R064Store rhs, final PhysicalStore<Double> solution, final Preconditioner preconditioner) {
+
+        R064Store iterate = myIterate = IterativeSolverTask.iterate(solution, myIterate);
+
         if (this.isDebugPrinterSet()) {
-            this.debug(0, NaN, solution);
+            this.debug(0, NaN, iterate);
         }
 
-        int m = equations.size();
-        int n = solution.size();
+        int n = iterate.size();
 
         int nbIterations = 0;
         int iterationsLimit = this.getIterationsLimit();
@@ -83,16 +111,13 @@ public final class ConjugateGradientSolver extends IterativeSolverTask {
         NumberContext accuracy = this.getAccuracyContext();
 
         double normErr = POSITIVE_INFINITY;
-        double normRHS = ZERO;
+        double normRHS = IterativeSolverTask.norm(rhs);
 
         R064Store residual = myResidual = IterativeSolverTask.worker(myResidual, n);
         R064Store direction = myDirection = IterativeSolverTask.worker(myDirection, n);
         R064Store preconditioned = myPreconditioned = IterativeSolverTask.worker(myPreconditioned, n);
         R064Store vector = myVector = IterativeSolverTask.worker(myVector, n);
 
-        Preconditioner preconditioner = this.getPreconditioner();
-        preconditioner.prepare(equations, n);
-
         double stepLength; // alpha
         double gradientCorrectionFactor; // beta
 
@@ -100,14 +125,11 @@ public final class ConjugateGradientSolver extends IterativeSolverTask {
         double zr1;
         double pAp0 = 0;
 
-        // r0 = b - A x0  and accumulate ||b||
-        for (int r = 0; r < m; r++) {
-            Equation row = equations.get(r);
-            double bi = row.getRHS();
-            normRHS = HYPOT.invoke(normRHS, bi);
-            double ri = bi - row.dot(solution);
-            residual.set(row.index, ri);
-        }
+        // r0 = b - A x0
+        operator.multiply(iterate, vector);
+        residual.fillMatching(rhs);
+        vector.axpy(NEG, residual);
+
         // z0 = M^{-1} r0
         preconditioner.apply(residual, preconditioned);
 
@@ -121,10 +143,7 @@ public final class ConjugateGradientSolver extends IterativeSolverTask {
             zr0 = zr1;
 
             // vector = A * p
-            for (int i = 0; i < m; i++) {
-                Equation row = equations.get(i);
-                vector.set(row.index, row.dot(direction));
-            }
+            operator.multiply(direction, vector);
 
             pAp0 = direction.dot(vector);
 
@@ -132,18 +151,13 @@ public final class ConjugateGradientSolver extends IterativeSolverTask {
 
             if (!Double.isNaN(stepLength)) {
                 // x = x + alpha * p
-                direction.axpy(stepLength, solution);
+                direction.axpy(stepLength, iterate);
                 // r = r - alpha * A p
                 vector.axpy(-stepLength, residual);
             }
 
             // Compute normErr = ||r|| and apply preconditioner: z = M^{-1} r
-            normErr = ZERO;
-            for (int r = 0; r < m; r++) {
-                Equation row = equations.get(r);
-                double ri = residual.doubleValue(row.index);
-                normErr = HYPOT.invoke(normErr, ri);
-            }
+            normErr = IterativeSolverTask.norm(residual);
             preconditioner.apply(residual, preconditioned);
 
             zr1 = preconditioned.dot(residual); // (r_{k+1}, z_{k+1})
@@ -156,12 +170,16 @@ public final class ConjugateGradientSolver extends IterativeSolverTask {
             nbIterations++;
 
             if (this.isDebugPrinterSet()) {
-                this.debug(nbIterations, normErr / normRHS, solution);
+                this.debug(nbIterations, normErr / normRHS, iterate);
             }
 
         } while (nbIterations < iterationsLimit && !Double.isNaN(normErr) && !accuracy.isSmall(normRHS, normErr));
 
+        if (iterate != solution) {
+            solution.fillMatching(iterate);
+        }
+
         return accuracy.isZero(normRHS) ? normErr : normErr / normRHS;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.task.iterative;
+
+import static org.ojalgo.function.constant.PrimitiveMath.*;
+
+import java.util.List;
+
+import org.ojalgo.equation.Equation;
+import org.ojalgo.matrix.store.PhysicalStore;
+import org.ojalgo.matrix.store.R064CSR;
+import org.ojalgo.matrix.store.R064Store;
+import org.ojalgo.structure.Access1D;
+import org.ojalgo.type.context.NumberContext;
+
+/**
+ * Restarted Generalized Minimal Residual, GMRES(m), solver for general nonsymmetric square systems
+ * [A][x]=[b].
+ * <p>
+ * Characteristics
+ * <ul>
+ * <li>Operates on matrix–vector products with A only (no A^T) – 1 per iteration.
+ * <li>Right-preconditioning is applied via the {@link Preconditioner} interface. Nonsymmetric
+ * preconditioners, such as {@link ILU0Preconditioner} or {@link ILUTPreconditioner}, are fine. Since the
+ * preconditioner is linear it is applied only once per restart cycle (to the combined update) rather than
+ * once per basis vector.
+ * <li>Orthogonalisation using modified Gram–Schmidt, and the least squares problem is solved incrementally
+ * using Givens rotations. The residual norm is monotonically non-increasing within a cycle.
+ * <li>Memory use is (m+1) vectors of length n. The restart length m is set when instantiating the solver
+ * (default {@value #DEFAULT_RESTART}).
+ * </ul>
+ * References
+ * <ul>
+ * <li>Saad, Y., and M. H. Schultz (1986), GMRES: A Generalized Minimal Residual Algorithm for Solving
+ * Nonsymmetric Linear Systems. SIAM J. Sci. Stat. Comput. 7 (3): 856–869.
+ * <li>Templates for the Solution of Linear Systems, Barrett et al., Figure 2.6.
+ * </ul>
+ *
+ * @see https://en.wikipedia.org/wiki/Generalized_minimal_residual_method
+ */
+public final class GMRESSolver extends IterativeSolverTask {
+
+    public static final int DEFAULT_RESTART = 30;
+
+    private transient R064Store[] myBasis = null; // V
+    private final double[] myCosines;
+    private final double[][] myHessenberg; // H, column by column
+    private transient R064Store myIterate = null; // x (when the solution is not an R064Store)
+    private transient R064Store myPreconditioned = null; // z = M^{-1} v
+    private final int myRestart;
+    private transient R064Store myRHS = null; // b
+    private final double[] myRotated; // g
+    private final double[] mySines;
+    private transient R064Store myVector = null; // w = A z
+
+    public GMRESSolver() {
+        this(DEFAULT_RESTART);
+    }
+
+    /**
+     * @param restart The max number of basis vectors (iterations) before restarting
+     */
+    public GMRESSolver(final int restart) {
+
+        super();
+
+        if (restart < 1) {
+            throw new IllegalArgumentException();
+        }
+
+        myRestart = restart;
+
+        myHessenberg = new double[restart][restart + 1];
+        myCosines = new double[restart];
+        mySines = new double[restart];
+        myRotated = new double[restart + 1];
+    }
+
+    @Override
+    public double resolve(final List<Equation> equations, final PhysicalStore<Double> solution) {
+
+        int n = solution.size();
+
+        Preconditioner preconditioner = this.getPreconditioner();
+        preconditioner.prepare(equations, n);
+
+        myRHS = IterativeSolverTask.rhs(equations, myRHS, n);
+
+        return this.resolve(IterativeSolverTask.operator(equations), myRHS, solution, preconditioner);
+    }
+
+    @Override
+    public double resolve(final R064CSR body, final Access1D<?> rhs, final PhysicalStore<Double> solution) {
+
+        Preconditioner preconditioner = this.getPreconditioner();
+        preconditioner.prepare(body);
+
+        myRHS = IterativeSolverTask.rhs(myRHS, rhs);
+
+        return this.resolve(IterativeSolverTask.operator(body), myRHS, solution, preconditioner);
+    }
+
+    private double residual(final LinearOperator operator, final R064Store rhs, final R064Store x, final R064Store r) {
+        // r = b - A x
+        operator.multiply(x, myVector);
+        r.fillMatching(rhs);
+        myVector.axpy(NEG, r);
+        return IterativeSolverTask.norm(r);
+    }
+
+    private double resolve(final LinearOperator operator, final R064Store rhs, final PhysicalStore<Double> solution, final Preconditioner preconditioner) {
+
+        R064Store x = myIterate = IterativeSolverTask.iterate(solution, myIterate);
+
+        int n = x.size();
+        int m = myRestart;
+
+        int nbIterations = 0;
+        int iterationsLimit = this.getIterationsLimit();
+
+        NumberContext accuracy = this.getAccuracyContext();
+
+        if (myBasis == null) {
+            myBasis = new R064Store[m + 1];
+        }
+        R064Store[] basis = myBasis;
+        for (int j = 0; j <= m; j++) {
+            basis[j] = IterativeSolverTask.worker(basis[j], n);
+        }
+        R064Store z = myPreconditioned = IterativeSolverTask.worker(myPreconditioned, n);
+        R064Store w = myVector = IterativeSolverTask.worker(myVector, n);
+
+        double[][] h = myHessenberg;
+        double[] cs = myCosines;
+        double[] sn = mySines;
+        double[] g = myRotated;
+
+        double normRHS = IterativeSolverTask.norm(rhs);
+        double normErr = this.residual(operator, rhs, x, basis[0]);
+
+        if (this.isDebugPrinterSet()) {
+            this.debug(0, accuracy.isZero(normRHS) ? normErr : normErr / normRHS, x);
+        }
+
+        while (nbIterations < iterationsLimit && !Double.isNaN(normErr) && !accuracy.isSmall(normRHS, normErr)) {
+
+            // v0 = r / ||r||
+            basis[0].modifyAll(MULTIPLY.by(ONE / normErr));
+            g[0] = normErr;
+
+            int k = 0; // Number of basis vectors used in this cycle
+            double estimate = normErr;
+
+            while (k < m && nbIterations < iterationsLimit) {
+
+                // w = A M^{-1} v_k
+                preconditioner.apply(basis[k], z);
+                operator.multiply(z, w);
+
+                double[] column = h[k];
+
+                // Modified Gram–Schmidt
+                for (int i = 0; i <= k; i++) {
+                    double hik = column[i] = w.dot(basis[i]);
+                    basis[i].axpy(-hik, w);
+                }
+
+                double norm = IterativeSolverTask.norm(w);
+                column[k + 1] = norm;
+
+                if (norm != ZERO) {
+                    R064Store next = basis[k + 1];
+                    next.fillMatching(w);
+                    next.modifyAll(MULTIPLY.by(ONE / norm));
+                }
+
+                // Apply the previous rotations to the new column
+                for (int i = 0; i < k; i++) {
+                    double tmp = cs[i] * column[i] + sn[i] * column[i + 1];
+                    column[i + 1] = -sn[i] * column[i] + cs[i] * column[i + 1];
+                    column[i] = tmp;
+                }
+
+                // New rotation to eliminate h(k+1,k)
+                double denominator = Math.hypot(column[k], column[k + 1]);
+                if (denominator == ZERO) {
+                    cs[k] = ONE;
+                    sn[k] = ZERO;
+                } else {
+                    cs[k] = column[k] / denominator;
+                    sn[k] = column[k + 1] / denominator;
+                }
+                column[k] = cs[k] * column[k] + sn[k] * column[k + 1];
+                column[k + 1] = ZERO;
+
+                g[k + 1] = -sn[k] * g[k];
+                g[k] = cs[k] * g[k];
+
+                estimate = Math.abs(g[k + 1]);
+
+                k++;
+                nbIterations++;
+
+                if (norm == ZERO || accuracy.isSmall(normRHS, estimate)) {
+                    break; // Happy breakdown or converged
+                }
+            }
+
+            // Solve the (k x k) upper triangular system H y = g, y stored in g
+            for (int i = k - 1; i >= 0; i--) {
+                double sum = g[i];
+                for (int j = i + 1; j < k; j++) {
+                    sum -= h[j][i] * g[j];
+                }
+                g[i] = h[i][i] != ZERO ? sum / h[i][i] : ZERO;
+            }
+
+            // x = x + M^{-1} V y
+            w.fillAll(ZERO);
+            for (int j = 0; j < k; j++) {
+                basis[j].axpy(g[j], w);
+            }
+            preconditioner.apply(w, z);
+            z.axpy(ONE, x);
+
+            // The true residual (becomes the first basis vector of the next cycle)
+            normErr = this.residual(operator, rhs, x, basis[0]);
+
+            if (this.isDebugPrinterSet()) {
+                this.debug(nbIterations, normErr / normRHS, x);
+            }
+
+            if (normErr == ZERO || k == 0) {
+                break;
+            }
+        }
+
+        if (x != solution) {
+            solution.fillMatching(x);
+        }
+
+        return accuracy.isZero(normRHS) ? normErr : normErr / normRHS;
+    }
+
+}
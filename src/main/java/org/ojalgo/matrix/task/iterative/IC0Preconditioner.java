@@ -0,0 +1,156 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.task.iterative;
+
+import static org.ojalgo.function.constant.PrimitiveMath.ZERO;
+
+import java.util.Arrays;
+
+import org.ojalgo.matrix.store.R064CSC;
+import org.ojalgo.matrix.store.R064CSR;
+
+/**
+ * Incomplete Cholesky factorisation with zero fill-in, IC(0): [A] ≈ [L][L]<sup>T</sup> where L has the same
+ * sparsity pattern as the lower triangular part of A. Only the lower triangle (incl. the diagonal) of the
+ * body is read – A is assumed to be symmetric.
+ * <p>
+ * Compatibility
+ * <ul>
+ * <li>Symmetric positive definite systems with {@link ConjugateGradientSolver} (or {@link MINRESSolver}).
+ * The preconditioner is symmetric, and positive definite as long as the factorisation does not break down.
+ * <li>IC(0) can break down (a non-positive pivot) even when A is positive definite. When that happens the
+ * pivot is replaced with |a<sub>ii</sub>| (or 1.0 if that is also zero) rather than failing.
+ * </ul>
+ *
+ * @see https://en.wikipedia.org/wiki/Incomplete_Cholesky_factorization
+ */
+public final class IC0Preconditioner extends IncompleteFactorisation {
+
+    public IC0Preconditioner() {
+        super();
+    }
+
+    @Override
+    void prepare(final R064CSR body, final int dimension) {
+
+        R064CSR normalised = IncompleteFactorisation.normalise(body, dimension);
+
+        // Extract the lower triangle, incl. the diagonal which will be the last element in each row
+
+        int[] pointers = new int[dimension + 1];
+        for (int i = 0; i < dimension; i++) {
+            int count = 0;
+            for (int k = normalised.pointers[i], limit = normalised.pointers[i + 1]; k < limit && normalised.indices[k] <= i; k++) {
+                count++;
+            }
+            pointers[i + 1] = pointers[i] + count;
+        }
+
+        int[] indices = new int[pointers[dimension]];
+        double[] values = new double[pointers[dimension]];
+        for (int i = 0; i < dimension; i++) {
+            for (int k = normalised.pointers[i], p = pointers[i]; p < pointers[i + 1]; k++, p++) {
+                indices[p] = normalised.indices[k];
+                values[p] = normalised.values[k];
+            }
+        }
+
+        // Row-by-row (left-looking) factorisation
+
+        int[] position = new int[dimension];
+        Arrays.fill(position, -1);
+
+        for (int i = 0; i < dimension; i++) {
+
+            int first = pointers[i];
+            int diagonal = pointers[i + 1] - 1;
+
+            for (int p = first; p <= diagonal; p++) {
+                position[indices[p]] = p;
+            }
+
+            for (int p = first; p < diagonal; p++) {
+
+                int j = indices[p];
+                int diagonalJ = pointers[j + 1] - 1;
+
+                double sum = values[p];
+                for (int q = pointers[j]; q < diagonalJ; q++) {
+                    int pos = position[indices[q]];
+                    if (pos >= 0) {
+                        sum -= values[pos] * values[q];
+                    }
+                }
+
+                values[p] = sum / values[diagonalJ];
+            }
+
+            double aii = values[diagonal];
+            double sum = aii;
+            for (int p = first; p < diagonal; p++) {
+                sum -= values[p] * values[p];
+            }
+
+            if (sum <= ZERO) {
+                sum = IncompleteFactorisation.pivot(Math.abs(aii));
+            }
+            values[diagonal] = Math.sqrt(sum);
+
+            for (int p = first; p <= diagonal; p++) {
+                position[indices[p]] = -1;
+            }
+        }
+
+        // Convert L L^T to the unit lower L D^-1 times upper D L^T form used by the super class
+
+        double[] diagonal = new double[dimension];
+        for (int i = 0; i < dimension; i++) {
+            double d = values[pointers[i + 1] - 1];
+            diagonal[i] = d * d;
+        }
+
+        int[] strictPointers = new int[dimension + 1];
+        for (int i = 0; i < dimension; i++) {
+            strictPointers[i + 1] = strictPointers[i] + (pointers[i + 1] - pointers[i] - 1);
+        }
+        int[] strictIndices = new int[strictPointers[dimension]];
+        double[] lowerValues = new double[strictPointers[dimension]];
+        double[] upperValues = new double[strictPointers[dimension]];
+        for (int i = 0; i < dimension; i++) {
+            for (int p = pointers[i], s = strictPointers[i]; s < strictPointers[i + 1]; p++, s++) {
+                int j = indices[p];
+                double dj = values[pointers[j + 1] - 1];
+                strictIndices[s] = j;
+                lowerValues[s] = values[p] / dj;
+                upperValues[s] = values[p] * dj;
+            }
+        }
+
+        R064CSR lower = new R064CSR(dimension, dimension, lowerValues, strictIndices, strictPointers);
+        // The transpose of the (scaled) strictly lower part, as CSR
+        R064CSC transposed = new R064CSR(dimension, dimension, upperValues, strictIndices, strictPointers).toCSC();
+        R064CSR upper = new R064CSR(dimension, dimension, transposed.values, transposed.indices, transposed.pointers);
+
+        this.setFactors(lower, diagonal, upper);
+    }
+
+}
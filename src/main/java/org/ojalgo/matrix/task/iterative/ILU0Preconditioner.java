@@ -0,0 +1,96 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.task.iterative;
+
+import java.util.Arrays;
+
+import org.ojalgo.matrix.store.R064CSR;
+
+/**
+ * Incomplete LU factorisation with zero fill-in, ILU(0): [A] ≈ [L][U] where L and U together have the same
+ * sparsity pattern as A. Any fill-in that a complete factorisation would produce is simply discarded.
+ * <p>
+ * Compatibility
+ * <ul>
+ * <li>General (nonsymmetric) systems – typically with {@link BiCGStabSolver} or {@link GMRESSolver}.
+ * <li>Not symmetric, even if A is, so not suitable for {@link ConjugateGradientSolver} or
+ * {@link MINRESSolver}. Use {@link IC0Preconditioner} for symmetric positive definite systems.
+ * <li>Works best with diagonally dominant matrices or M-matrices, such as those from discretised elliptic
+ * PDE:s. Zero pivots are replaced with 1.0.
+ * </ul>
+ *
+ * @see https://en.wikipedia.org/wiki/Incomplete_LU_factorization
+ */
+public final class ILU0Preconditioner extends IncompleteFactorisation {
+
+    public ILU0Preconditioner() {
+        super();
+    }
+
+    @Override
+    void prepare(final R064CSR body, final int dimension) {
+
+        R064CSR factors = IncompleteFactorisation.normalise(body, dimension);
+
+        int[] pointers = factors.pointers;
+        int[] indices = factors.indices;
+        double[] values = factors.values;
+
+        int[] diagonal = new int[dimension];
+        int[] position = new int[dimension];
+        Arrays.fill(position, -1);
+
+        for (int i = 0; i < dimension; i++) {
+
+            int first = pointers[i];
+            int limit = pointers[i + 1];
+
+            for (int p = first; p < limit; p++) {
+                position[indices[p]] = p;
+            }
+
+            int p = first;
+            for (; p < limit && indices[p] < i; p++) {
+
+                int k = indices[p];
+                double lik = values[p] /= values[diagonal[k]];
+
+                for (int q = diagonal[k] + 1, lim = pointers[k + 1]; q < lim; q++) {
+                    int pos = position[indices[q]];
+                    if (pos >= 0) {
+                        values[pos] -= lik * values[q];
+                    }
+                }
+            }
+
+            diagonal[i] = p; // normalise(...) guarantees the diagonal is there
+            values[p] = IncompleteFactorisation.pivot(values[p]);
+
+            for (int q = first; q < limit; q++) {
+                position[indices[q]] = -1;
+            }
+        }
+
+        this.setFactors(factors);
+    }
+
+}
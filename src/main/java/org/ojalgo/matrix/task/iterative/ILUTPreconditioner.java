@@ -0,0 +1,226 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.task.iterative;
+
+import static org.ojalgo.function.constant.PrimitiveMath.ZERO;
+
+import java.util.Arrays;
+
+import org.ojalgo.matrix.store.R064CSR;
+
+/**
+ * Incomplete LU factorisation with threshold dropping, ILUT(τ,p), as described by Saad. Fill-in is allowed,
+ * but after each row is eliminated all elements smaller than τ times the (2-)norm of the original row are
+ * dropped, and then only the p largest (by magnitude) elements are kept in each of the L and U parts.
+ * <p>
+ * Compared to {@link ILU0Preconditioner} this is more expensive to compute (and apply) but a much better
+ * approximation for harder problems. τ → 0 and p → n approaches a complete LU factorisation (without
+ * pivoting).
+ * <p>
+ * Compatibility
+ * <ul>
+ * <li>General (nonsymmetric) systems – typically with {@link BiCGStabSolver} or {@link GMRESSolver}.
+ * <li>Not symmetric, so not suitable for {@link ConjugateGradientSolver} or {@link MINRESSolver}.
+ * </ul>
+ *
+ * @see https://www-users.cse.umn.edu/~saad/PDF/umsi-92-38.pdf
+ */
+public final class ILUTPreconditioner extends IncompleteFactorisation {
+
+    private static int keepLargest(final int[] columns, final int count, final double[] dense, final int fill) {
+
+        if (count <= fill) {
+            Arrays.sort(columns, 0, count);
+            return count;
+        }
+
+        double[] magnitudes = new double[count];
+        for (int k = 0; k < count; k++) {
+            magnitudes[k] = Math.abs(dense[columns[k]]);
+        }
+        Arrays.sort(magnitudes);
+        double threshold = magnitudes[count - fill];
+
+        int retVal = 0;
+        for (int k = 0; k < count && retVal < fill; k++) {
+            int col = columns[k];
+            if (Math.abs(dense[col]) >= threshold) {
+                columns[retVal++] = col;
+            }
+        }
+
+        Arrays.sort(columns, 0, retVal);
+        return retVal;
+    }
+
+    private static int pop(final int[] heap, final int size) {
+
+        int retVal = heap[0];
+
+        int last = heap[size - 1];
+        int newSize = size - 1;
+        int parent = 0;
+
+        for (int child = 1; child < newSize; child = 2 * parent + 1) {
+            if (child + 1 < newSize && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= last) {
+                break;
+            }
+            heap[parent] = heap[child];
+            parent = child;
+        }
+        if (newSize > 0) {
+            heap[parent] = last;
+        }
+
+        return retVal;
+    }
+
+    private static void push(final int[] heap, final int size, final int value) {
+        int child = size;
+        while (child > 0) {
+            int parent = (child - 1) / 2;
+            if (heap[parent] <= value) {
+                break;
+            }
+            heap[child] = heap[parent];
+            child = parent;
+        }
+        heap[child] = value;
+    }
+
+    private final double myDropTolerance;
+    private final int myFill;
+
+    public ILUTPreconditioner(final double dropTolerance, final int fill) {
+        super();
+        if (dropTolerance < ZERO || fill < 0) {
+            throw new IllegalArgumentException();
+        }
+        myDropTolerance = dropTolerance;
+        myFill = fill;
+    }
+
+    @Override
+    void prepare(final R064CSR body, final int dimension) {
+
+        R064CSR normalised = IncompleteFactorisation.normalise(body, dimension);
+
+        RowsBuilder lower = new RowsBuilder(dimension, (myFill + 1) * dimension);
+        RowsBuilder upper = new RowsBuilder(dimension, (myFill + 1) * dimension);
+        double[] diagonal = new double[dimension];
+
+        double[] dense = new double[dimension];
+        boolean[] included = new boolean[dimension];
+        int[] nonzeros = new int[dimension];
+        int[] heap = new int[dimension];
+        int[] columnsL = new int[dimension];
+        int[] columnsU = new int[dimension];
+
+        for (int i = 0; i < dimension; i++) {
+
+            int count = 0;
+            int heapSize = 0;
+            double norm = ZERO;
+
+            for (int k = normalised.pointers[i], limit = normalised.pointers[i + 1]; k < limit; k++) {
+                int col = normalised.indices[k];
+                double value = normalised.values[k];
+                dense[col] = value;
+                included[col] = true;
+                nonzeros[count++] = col;
+                if (col < i) {
+                    ILUTPreconditioner.push(heap, heapSize++, col);
+                }
+                norm += value * value;
+            }
+
+            double tolerance = myDropTolerance * Math.sqrt(norm);
+
+            int[] upperIndices = upper.getIndices();
+            double[] upperValues = upper.getValues();
+
+            while (heapSize > 0) {
+
+                int k = ILUTPreconditioner.pop(heap, heapSize--);
+
+                double multiplier = dense[k] / diagonal[k];
+
+                if (Math.abs(multiplier) <= tolerance) {
+                    dense[k] = ZERO;
+                    continue;
+                }
+
+                dense[k] = multiplier;
+
+                for (int q = upper.first(k), limit = upper.limit(k); q < limit; q++) {
+                    int col = upperIndices[q];
+                    if (!included[col]) {
+                        included[col] = true;
+                        nonzeros[count++] = col;
+                        dense[col] = ZERO;
+                        if (col < i) {
+                            ILUTPreconditioner.push(heap, heapSize++, col);
+                        }
+                    }
+                    dense[col] -= multiplier * upperValues[q];
+                }
+            }
+
+            int countL = 0;
+            int countU = 0;
+            for (int k = 0; k < count; k++) {
+                int col = nonzeros[k];
+                if (col != i && Math.abs(dense[col]) > tolerance) {
+                    if (col < i) {
+                        columnsL[countL++] = col;
+                    } else {
+                        columnsU[countU++] = col;
+                    }
+                }
+            }
+
+            countL = ILUTPreconditioner.keepLargest(columnsL, countL, dense, myFill);
+            countU = ILUTPreconditioner.keepLargest(columnsU, countU, dense, myFill);
+
+            lower.append(columnsL, countL, dense);
+            upper.append(columnsU, countU, dense);
+
+            double pivot = dense[i];
+            if (pivot == ZERO) {
+                pivot = tolerance != ZERO ? tolerance : 1.0;
+            }
+            diagonal[i] = pivot;
+
+            for (int k = 0; k < count; k++) {
+                int col = nonzeros[k];
+                dense[col] = ZERO;
+                included[col] = false;
+            }
+        }
+
+        this.setFactors(lower.build(dimension), diagonal, upper.build(dimension));
+    }
+
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.task.iterative;
+
+import static org.ojalgo.function.constant.PrimitiveMath.ZERO;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.ojalgo.equation.Equation;
+import org.ojalgo.matrix.store.PhysicalStore;
+import org.ojalgo.matrix.store.R064CSR;
+import org.ojalgo.matrix.store.R064Store;
+import org.ojalgo.structure.Access1D;
+import org.ojalgo.structure.ElementView1D;
+
+/**
+ * Common base for the incomplete factorisation preconditioners. Regardless of how the factors were derived
+ * they are stored as M = [L][U] where L is unit lower triangular and U upper triangular – the strictly
+ * triangular parts as CSR matrices and the diagonal of U separately. Applying M<sup>-1</sup> is a forward and
+ * a backward substitution, and the transpose variant is implemented by scattering along the rows of the
+ * factors (no explicit transposes are needed).
+ * <p>
+ * Zero (or missing) pivots are replaced with 1.0, the same fallback as used by {@link JacobiPreconditioner}.
+ */
+abstract class IncompleteFactorisation implements Preconditioner {
+
+    /**
+     * Incrementally builds a CSR matrix one row at a time.
+     */
+    static final class RowsBuilder {
+
+        private int[] myIndices;
+        private int myNumberOfRows = 0;
+        private final int[] myPointers;
+        private double[] myValues;
+
+        RowsBuilder(final int nbRows, final int capacity) {
+            super();
+            myPointers = new int[nbRows + 1];
+            myIndices = new int[Math.max(capacity, 16)];
+            myValues = new double[Math.max(capacity, 16)];
+        }
+
+        /**
+         * Appends the next row. Column indices must be sorted and the values are looked up in a dense
+         * (scattered) row.
+         */
+        void append(final int[] columns, final int count, final double[] dense) {
+
+            int first = myPointers[myNumberOfRows];
+            int limit = first + count;
+
+            if (limit > myIndices.length) {
+                int capacity = Math.max(limit, 2 * myIndices.length);
+                myIndices = Arrays.copyOf(myIndices, capacity);
+                myValues = Arrays.copyOf(myValues, capacity);
+            }
+
+            for (int k = 0; k < count; k++) {
+                int col = columns[k];
+                myIndices[first + k] = col;
+                myValues[first + k] = dense[col];
+            }
+
+            myPointers[++myNumberOfRows] = limit;
+        }
+
+        R064CSR build(final int nbCols) {
+            int nnz = myPointers[myNumberOfRows];
+            return new R064CSR(myNumberOfRows, nbCols, Arrays.copyOf(myValues, nnz), Arrays.copyOf(myIndices, nnz), myPointers);
+        }
+
+        int first(final int row) {
+            return myPointers[row];
+        }
+
+        int[] getIndices() {
+            return myIndices;
+        }
+
+        double[] getValues() {
+            return myValues;
+        }
+
+        int limit(final int row) {
+            return myPointers[row + 1];
+        }
+
+    }
+
+    static void copy(final double[] source, final PhysicalStore<Double> destination) {
+        if (destination instanceof R064Store) {
+            System.arraycopy(source, 0, ((R064Store) destination).data, 0, source.length);
+        } else {
+            for (int i = 0; i < source.length; i++) {
+                destination.set(i, source[i]);
+            }
+        }
+    }
+
+    /**
+     * Replace a zero pivot
+     */
+    static double pivot(final double value) {
+        return value != ZERO ? value : 1.0;
+    }
+
+    /**
+     * A square n x n copy of the body where the column indices are sorted within each row, and where every
+     * diagonal element is explicitly stored (possibly as 0.0).
+     */
+    static R064CSR normalise(final R064CSR body, final int dimension) {
+
+        double[] dense = new double[dimension];
+        boolean[] included = new boolean[dimension];
+        int[] columns = new int[dimension];
+
+        RowsBuilder builder = new RowsBuilder(dimension, body.countNonzeros() + dimension);
+
+        for (int i = 0; i < dimension; i++) {
+
+            int count = 0;
+
+            if (i < body.getRowDim()) {
+                for (int k = body.pointers[i], limit = body.pointers[i + 1]; k < limit; k++) {
+                    int col = body.indices[k];
+                    if (col < dimension) {
+                        if (!included[col]) {
+                            included[col] = true;
+                            columns[count++] = col;
+                        }
+                        dense[col] += body.values[k];
+                    }
+                }
+            }
+
+            if (!included[i]) {
+                included[i] = true;
+                columns[count++] = i;
+            }
+
+            Arrays.sort(columns, 0, count);
+
+            builder.append(columns, count, dense);
+
+            for (int k = 0; k < count; k++) {
+                dense[columns[k]] = ZERO;
+                included[columns[k]] = false;
+            }
+        }
+
+        return builder.build(dimension);
+    }
+
+    static R064CSR toCSR(final List<Equation> equations, final int dimension) {
+
+        R064CSR.Builder builder = R064CSR.newBuilder(dimension, dimension);
+
+        for (int r = 0, m = equations.size(); r < m; r++) {
+            Equation row = equations.get(r);
+            for (ElementView1D<?, ?> element : row.getBody().nonzeros()) {
+                double value = element.doubleValue();
+                if (value != ZERO) {
+                    builder.add(row.index, Math.toIntExact(element.index()), value);
+                }
+            }
+        }
+
+        return builder.build();
+    }
+
+    private transient double[] myDiagonal = null;
+    private transient R064CSR myLower = null;
+    private transient R064CSR myUpper = null;
+    private transient double[] myWork = null;
+
+    IncompleteFactorisation() {
+        super();
+    }
+
+    @Override
+    public final void apply(final Access1D<Double> src, final PhysicalStore<Double> dst) {
+
+        if (myDiagonal == null) { // Not prepared: identity fallback
+            dst.fillMatching(src);
+            return;
+        }
+
+        int n = myDiagonal.length;
+        double[] work = myWork;
+
+        // Forward: L y = src
+        for (int i = 0; i < n; i++) {
+            work[i] = src.doubleValue(i) - myLower.dot(i, work);
+        }
+
+        // Backward: U z = y
+        for (int i = n - 1; i >= 0; i--) {
+            work[i] = (work[i] - myUpper.dot(i, work)) / myDiagonal[i];
+        }
+
+        IncompleteFactorisation.copy(work, dst);
+    }
+
+    @Override
+    public final void applyTranspose(final Access1D<Double> src, final PhysicalStore<Double> dst) {
+
+        if (myDiagonal == null) { // Not prepared: identity fallback
+            dst.fillMatching(src);
+            return;
+        }
+
+        int n = myDiagonal.length;
+        double[] work = myWork;
+
+        for (int i = 0; i < n; i++) {
+            work[i] = src.doubleValue(i);
+        }
+
+        // Forward: U^T w = src
+        for (int i = 0; i < n; i++) {
+            work[i] /= myDiagonal[i];
+            myUpper.axpy(i, -work[i], work);
+        }
+
+        // Backward: L^T z = w
+        for (int i = n - 1; i >= 0; i--) {
+            myLower.axpy(i, -work[i], work);
+        }
+
+        IncompleteFactorisation.copy(work, dst);
+    }
+
+    @Override
+    public final void prepare(final List<Equation> equations, final int dimension) {
+        this.prepare(IncompleteFactorisation.toCSR(equations, dimension), dimension);
+    }
+
+    @Override
+    public final void prepare(final R064CSR body) {
+        this.prepare(body, body.getColDim());
+    }
+
+    /**
+     * @param body      The (not normalised) system body
+     * @param dimension The system size
+     */
+    abstract void prepare(R064CSR body, int dimension);
+
+    /**
+     * @param combined Both L and U stored in one normalised matrix (the unit diagonal of L implied)
+     */
+    final void setFactors(final R064CSR combined) {
+
+        int n = combined.getRowDim();
+
+        int[] lowerPointers = new int[n + 1];
+        int[] upperPointers = new int[n + 1];
+        double[] diagonal = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            int nbLower = 0;
+            int nbUpper = 0;
+            for (int k = combined.pointers[i], limit = combined.pointers[i + 1]; k < limit; k++) {
+                int col = combined.indices[k];
+                if (col < i) {
+                    nbLower++;
+                } else if (col > i) {
+                    nbUpper++;
+                } else {
+                    diagonal[i] = IncompleteFactorisation.pivot(combined.values[k]);
+                }
+            }
+            lowerPointers[i + 1] = lowerPointers[i] + nbLower;
+            upperPointers[i + 1] = upperPointers[i] + nbUpper;
+        }
+
+        int[] lowerIndices = new int[lowerPointers[n]];
+        double[] lowerValues = new double[lowerPointers[n]];
+        int[] upperIndices = new int[upperPointers[n]];
+        double[] upperValues = new double[upperPointers[n]];
+
+        for (int i = 0, l = 0, u = 0; i < n; i++) {
+            for (int k = combined.pointers[i], limit = combined.pointers[i + 1]; k < limit; k++) {
+                int col = combined.indices[k];
+                if (col < i) {
+                    lowerIndices[l] = col;
+                    lowerValues[l++] = combined.values[k];
+                } else if (col > i) {
+                    upperIndices[u] = col;
+                    upperValues[u++] = combined.values[k];
+                }
+            }
+        }
+
+        R064CSR lower = new R064CSR(n, n, lowerValues, lowerIndices, lowerPointers);
+        R064CSR upper = new R064CSR(n, n, upperValues, upperIndices, upperPointers);
+
+        this.setFactors(lower, diagonal, upper);
+    }
+
+    /**
+     * @param lower    Strictly lower triangular part of L (unit diagonal implied)
+     * @param diagonal Diagonal of U
+     * @param upper    Strictly upper triangular part of U
+     */
+    final void setFactors(final R064CSR lower, final double[] diagonal, final R064CSR upper) {
+        myLower = lower;
+        myDiagonal = diagonal;
+        myUpper = upper;
+        if (myWork == null || myWork.length != diagonal.length) {
+            myWork = new double[diagonal.length];
+        }
+    }
+
+}
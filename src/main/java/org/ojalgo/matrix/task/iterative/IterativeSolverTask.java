@@ -32,10 +32,12 @@ import java.util.Optional;
 import org.ojalgo.RecoverableCondition;
 import org.ojalgo.array.Array1D;
 import org.ojalgo.array.SparseArray.NonzeroView;
+import org.ojalgo.array.operation.DOT;
 import org.ojalgo.equation.Equation;
 import org.ojalgo.matrix.store.ColumnsSupplier;
 import org.ojalgo.matrix.store.MatrixStore;
 import org.ojalgo.matrix.store.PhysicalStore;
+import org.ojalgo.matrix.store.R064CSR;
 import org.ojalgo.matrix.store.R064Store;
 import org.ojalgo.matrix.store.RowsSupplier;
 import org.ojalgo.matrix.store.SparseStore;
@@ -52,6 +54,8 @@ import org.ojalgo.type.context.NumberContext;
  * <ul>
  * <li>Accepts both sparse and dense inputs by converting the system to a {@code List<Equation>} where rows
  * can be iterated efficiently without assuming dense, contiguous storage.
+ * <li>An {@link R064CSR} body is used as is by the Krylov solvers – no conversion, and the matrix-vector
+ * products are done directly on the CSR arrays (in parallel for larger systems).
  * <li>Minimises allocations in hot loops by reusing buffers and operating directly on {@link PhysicalStore}
  * and {@link R064Store} vectors.
  * <li>Provides a common configuration and termination policy via {@link NumberContext} and an iteration
@@ -146,8 +150,88 @@ public abstract class IterativeSolverTask implements SolverTask<Double> {
 
     }
 
+    /**
+     * [y] = [A][x] – all the Krylov solvers need to know about the body of the system. Allows the same
+     * implementation to work with a {@code List<Equation>} as well as an {@link R064CSR} body.
+     */
+    @FunctionalInterface
+    interface LinearOperator {
+
+        void multiply(R064Store x, R064Store y);
+
+    }
+
     static final NumberContext DEFAULT = NumberContext.ofMath(MathContext.DECIMAL64);
 
+    static LinearOperator operator(final List<Equation> equations) {
+        return (x, y) -> {
+            for (int i = 0, m = equations.size(); i < m; i++) {
+                Equation row = equations.get(i);
+                y.set(row.index, row.dot(x));
+            }
+        };
+    }
+
+    static LinearOperator operator(final R064CSR body) {
+        return (x, y) -> body.multiply(x.data, y.data);
+    }
+
+    /**
+     * Collects the RHS values carried by the equations into a (dense) vector.
+     */
+    static R064Store rhs(final List<Equation> equations, final R064Store vector, final int size) {
+        R064Store retVal = IterativeSolverTask.worker(vector, size);
+        for (int i = 0, m = equations.size(); i < m; i++) {
+            Equation row = equations.get(i);
+            retVal.set(row.index, row.getRHS());
+        }
+        return retVal;
+    }
+
+    static R064Store rhs(final R064Store vector, final Access1D<?> rhs) {
+        R064Store retVal = IterativeSolverTask.worker(vector, rhs.size());
+        for (int i = 0, limit = rhs.size(); i < limit; i++) {
+            retVal.data[i] = rhs.doubleValue(i);
+        }
+        return retVal;
+    }
+
+    /**
+     * The solution vector as an {@link R064Store} – the input itself if possible, otherwise a copy (that
+     * should be copied back when done).
+     */
+    static R064Store iterate(final PhysicalStore<Double> solution, final R064Store vector) {
+        if (solution instanceof R064Store) {
+            return (R064Store) solution;
+        }
+        R064Store retVal = IterativeSolverTask.worker(vector, solution.size());
+        retVal.fillMatching(solution);
+        return retVal;
+    }
+
+    static double norm(final R064Store vector) {
+        return Math.sqrt(DOT.invoke(vector.data, vector.data));
+    }
+
+    static List<Equation> toListOfRows(final R064CSR body, final Access1D<?> rhs) {
+
+        int nbEquations = body.getRowDim();
+        int nbVariables = body.getColDim();
+
+        List<Equation> retVal = new ArrayList<>(nbEquations);
+
+        for (int i = 0; i < nbEquations; i++) {
+            Equation row = Equation.sparse(i, nbVariables, body.capacity(i));
+            for (int k = body.pointers[i], limit = body.pointers[i + 1]; k < limit; k++) {
+                row.set(body.indices[k], body.values[k]);
+            }
+            row.setRHS(rhs != null ? rhs.doubleValue(i) : ZERO);
+            retVal.add(row);
+        }
+
+        return retVal;
+    }
+
     static List<Equation> toListOfRows(final Access2D<?> body, final Access2D<?> rhs) {
 
         int nbEquations = body.getRowDim();
@@ -245,6 +329,21 @@ public abstract class IterativeSolverTask implements SolverTask<Double> {
 
     public abstract double resolve(List<Equation> equations, PhysicalStore<Double> solution);
 
+    /**
+     * Solve with the body in compressed sparse row format. The Krylov solvers ({@link ConjugateGradientSolver},
+     * {@link MINRESSolver}, {@link BiCGStabSolver} and {@link GMRESSolver}) work directly on the CSR arrays,
+     * with a (parallel) sparse matrix-vector product, and prepare the preconditioner from the CSR body using
+     * {@link Preconditioner#prepare(R064CSR)}. Other solvers convert the body to a list of equations.
+     *
+     * @param body     The system body [A]
+     * @param rhs      The right hand side [b]
+     * @param solution The initial guess, and eventually the solution, [x]
+     * @return The relative (or absolute if the RHS is zero) residual norm
+     */
+    public double resolve(final R064CSR body, final Access1D<?> rhs, final PhysicalStore<Double> solution) {
+        return this.resolve(IterativeSolverTask.toListOfRows(body, rhs), solution);
+    }
+
     public final double resolve(final List<Equation> equations, final PhysicalStore<Double> solution, final Access1D<?> rhs) {
 
         int nbEquations = equations.size();
@@ -264,9 +363,16 @@ public abstract class IterativeSolverTask implements SolverTask<Double> {
     public final MatrixStore<Double> solve(final Access2D<?> body, final Access2D<?> rhs, final PhysicalStore<Double> preallocated)
             throws RecoverableCondition {
 
-        List<Equation> equations = IterativeSolverTask.toListOfRows(body, rhs);
+        if (body instanceof R064CSR) {
 
-        this.resolve(equations, preallocated);
+            this.resolve((R064CSR) body, rhs, preallocated);
+
+        } else {
+
+            List<Equation> equations = IterativeSolverTask.toListOfRows(body, rhs);
+
+            this.resolve(equations, preallocated);
+        }
 
         return preallocated;
     }
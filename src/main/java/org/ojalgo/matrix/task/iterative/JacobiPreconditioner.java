@@ -28,6 +28,7 @@ import java.util.List;
 
 import org.ojalgo.equation.Equation;
 import org.ojalgo.matrix.store.PhysicalStore;
+import org.ojalgo.matrix.store.R064CSR;
 import org.ojalgo.matrix.store.R064Store;
 import org.ojalgo.structure.Access1D;
 
@@ -52,6 +53,22 @@ public final class JacobiPreconditioner implements Preconditioner {
         dst.fillMatching(src, MULTIPLY, myInvDiag);
     }
 
+    @Override
+    public void prepare(final R064CSR body) {
+
+        int dimension = body.getColDim();
+
+        myInvDiag = IterativeSolverTask.worker(myInvDiag, dimension);
+        myInvDiag.fillAll(ONE);
+
+        for (int i = 0, m = Math.min(body.getRowDim(), dimension); i < m; i++) {
+            double pivot = body.doubleValue(i, i);
+            if (pivot != 0.0) {
+                myInvDiag.set(i, ONE / pivot);
+            }
+        }
+    }
+
     @Override
     public void prepare(final List<Equation> equations, final int dimension) {
 
@@ -27,7 +27,9 @@ import java.util.List;
 
 import org.ojalgo.equation.Equation;
 import org.ojalgo.matrix.store.PhysicalStore;
+import org.ojalgo.matrix.store.R064CSR;
 import org.ojalgo.matrix.store.R064Store;
+import org.ojalgo.structure.Access1D;
 import org.ojalgo.structure.Mutate1D;
 import org.ojalgo.type.context.NumberContext;
 
@@ -64,6 +66,12 @@ public final class MINRESSolver extends IterativeSolverTask {
         x.axpy(alpha, y);
     }
 
+    private static void copyBack(final R064Store iterate, final PhysicalStore<Double> solution) {
+        if (iterate != solution) {
+            solution.fillMatching(iterate);
+        }
+    }
+
     private static double norm2(final R064Store a) {
         double n = ZERO;
         for (int i = 0; i < a.getRowDim(); i++) {
@@ -82,6 +90,8 @@ public final class MINRESSolver extends IterativeSolverTask {
         x.modifyAll(MULTIPLY.by(alpha));
     }
 
+    private R064Store b; // RHS
+    private R064Store iterate; // Solution (when not an R064Store)
     private R064Store r1; // Lanczos vector storage (previous)
     private R064Store r2; // Lanczos vector storage (current)
     private R064Store v; // Lanczos vector v
@@ -95,9 +105,35 @@ public final class MINRESSolver extends IterativeSolverTask {
     }
 
     @Override
-    public double resolve(final List<Equation> equations, final PhysicalStore<Double> x) {
+    public double resolve(final List<Equation> equations, final PhysicalStore<Double> solution) {
+
+        int n = solution.size();
+
+        // Prepare (right) preconditioner, symmetric recommended for MINRES
+        Preconditioner rightPreconditioner = this.getPreconditioner();
+        rightPreconditioner.prepare(equations, n);
+
+        b = IterativeSolverTask.rhs(equations, b, n);
+
+        return this.resolve(IterativeSolverTask.operator(equations), b, solution, rightPreconditioner);
+    }
+
+    @Override
+    public double resolve(final R064CSR body, final Access1D<?> rhs, final PhysicalStore<Double> solution) {
+
+        Preconditioner rightPreconditioner = this.getPreconditioner();
+        rightPreconditioner.prepare(body);
+
+        b = IterativeSolverTask.rhs(b, rhs);
+
+        return this.resolve(IterativeSolverTask.operator(body), b, solution, rightPreconditioner);
+    }
+
+    private double resolve(final LinearOperator operator, final R064Store rhs, final PhysicalStore<Double> solution,
+            final Preconditioner rightPreconditioner) {
+
+        final R064Store x = iterate = IterativeSolverTask.iterate(solution, iterate);
 
-        final int m = equations.size();
         final int n = x.size();
 
         final int iterationsLimit = this.getIterationsLimit();
@@ -112,24 +148,15 @@ public final class MINRESSolver extends IterativeSolverTask {
         w1 = IterativeSolverTask.worker(w1, n);
         w2 = IterativeSolverTask.worker(w2, n);
 
-        // Prepare (right) preconditioner, symmetric recommended for MINRES
-        Preconditioner rightPreconditioner = this.getPreconditioner();
-        rightPreconditioner.prepare(equations, n);
-
         // r1 = b - A*x and compute norms
-        double normRHS = ZERO;
-        double normErr = ZERO;
-        for (int i = 0; i < m; i++) {
-            final Equation row = equations.get(i);
-            final double bi = row.getRHS();
-            normRHS = HYPOT.invoke(normRHS, bi);
-            final double ri = bi - row.dot(x);
-            r1.set(row.index, ri);
-            normErr = HYPOT.invoke(normErr, ri);
-        }
+        operator.multiply(x, y);
+        r1.fillMatching(rhs);
+        axpy(NEG, y, r1);
+        double normRHS = IterativeSolverTask.norm(rhs);
+        double normErr = IterativeSolverTask.norm(r1);
 
         if (normRHS == ZERO) {
-            x.fillAll(ZERO);
+            solution.fillAll(ZERO);
             return ZERO;
         }
 
@@ -138,6 +165,7 @@ public final class MINRESSolver extends IterativeSolverTask {
         }
 
         if (normErr == ZERO) {
+            MINRESSolver.copyBack(x, solution);
             return accuracy.isZero(normRHS) ? normErr : normErr / normRHS;
         }
 
@@ -148,6 +176,7 @@ public final class MINRESSolver extends IterativeSolverTask {
         if (beta1 < ZERO)
             throw new IllegalArgumentException("indefinite preconditioner");
         if (beta1 == ZERO) {
+            MINRESSolver.copyBack(x, solution);
             return accuracy.isZero(normRHS) ? normErr : normErr / normRHS;
         }
 
@@ -185,11 +214,7 @@ public final class MINRESSolver extends IterativeSolverTask {
             scaleCopy(y, ONE / beta, v);
 
             // y = A*v - shift*v
-            for (int i = 0; i < m; i++) {
-                final Equation row = equations.get(i);
-                final double Avi = row.dot(v);
-                y.set(row.index, Avi);
-            }
+            operator.multiply(v, y);
             if (shift != ZERO)
                 axpy(-shift, v, y);
 
@@ -254,7 +279,7 @@ public final class MINRESSolver extends IterativeSolverTask {
 
             // Stopping tests – following standard MINRES stopping criteria
             final double Anorm = Math.sqrt(tnorm2);
-            final double ynorm = norm2((R064Store) x);
+            final double ynorm = norm2(x);
             final double epsx = Anorm * ynorm * MACHINE_EPSILON;
             final double qrnormNow = phibar;
             final double rnorm = qrnormNow;
@@ -283,15 +308,12 @@ public final class MINRESSolver extends IterativeSolverTask {
                 break;
         }
 
-        // Compute residual ratio ||b - A x|| / ||b|| using equations (no dense A)
-        normErr = ZERO;
-        for (int i = 0; i < m; i++) {
-            final Equation row = equations.get(i);
-            final double bi = row.getRHS();
-            final double axi = row.dot(x);
-            final double ri = bi - axi;
-            normErr = HYPOT.invoke(normErr, ri);
-        }
+        // Compute residual ratio ||b - A x|| / ||b|| (r1 no longer needed)
+        operator.multiply(x, r1);
+        r1.modifyMatching(rhs, SUBTRACT);
+        normErr = IterativeSolverTask.norm(r1);
+
+        MINRESSolver.copyBack(x, solution);
 
         if (this.isDebugPrinterSet()) {
             this.debug(itn, (accuracy.isZero(normRHS) ? normErr : normErr / normRHS), x);
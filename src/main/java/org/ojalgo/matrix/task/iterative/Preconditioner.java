@@ -26,6 +26,7 @@ import java.util.function.Supplier;
 
 import org.ojalgo.equation.Equation;
 import org.ojalgo.matrix.store.PhysicalStore;
+import org.ojalgo.matrix.store.R064CSR;
 import org.ojalgo.structure.Access1D;
 
 /**
@@ -73,6 +74,14 @@ public interface Preconditioner {
         return () -> new SSORPreconditioner().omega(omega);
     }
 
+    /**
+     * An incomplete Cholesky, IC(0), preconditioner – for symmetric positive definite systems. Only the lower
+     * triangular part of the body is used.
+     */
+    static Preconditioner newIC0() {
+        return new IC0Preconditioner();
+    }
+
     /**
      * An identity (no-op) preconditioner.
      */
@@ -80,6 +89,25 @@ public interface Preconditioner {
         return IDENTITY;
     }
 
+    /**
+     * An incomplete LU, ILU(0), preconditioner – no fill-in, the factors have the same sparsity pattern as
+     * the body.
+     */
+    static Preconditioner newILU0() {
+        return new ILU0Preconditioner();
+    }
+
+    /**
+     * An incomplete LU preconditioner with threshold dropping, ILUT(τ,p).
+     *
+     * @param dropTolerance Elements smaller than this, relative to the norm of the current row of the body,
+     *                      are dropped (τ)
+     * @param fill          The max number of elements to keep in each row of L and of U, respectively (p)
+     */
+    static Preconditioner newILUT(final double dropTolerance, final int fill) {
+        return new ILUTPreconditioner(dropTolerance, fill);
+    }
+
     /**
      * A Jacobi (diagonal) preconditioner.
      */
@@ -122,4 +150,13 @@ public interface Preconditioner {
      */
     void prepare(List<Equation> equations, int dimension);
 
+    /**
+     * Prepare internal structures for a system with a compressed sparse row body. The default implementation
+     * converts the body to a list of equations and calls {@link #prepare(List, int)}. Preconditioners that
+     * can work directly with the CSR arrays should override this.
+     */
+    default void prepare(final R064CSR body) {
+        this.prepare(IterativeSolverTask.toListOfRows(body, (Access1D<?>) null), body.getColDim());
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,667 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.netio;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+import org.ojalgo.array.ArrayR064;
+import org.ojalgo.array.ArrayZ064;
+import org.ojalgo.concurrent.Parallelism;
+import org.ojalgo.concurrent.ProcessingService;
+import org.ojalgo.netio.SegmentedFile.Segment;
+import org.ojalgo.structure.Access2D;
+import org.ojalgo.structure.Mutate2D;
+import org.ojalgo.structure.Primitive2D;
+
+/**
+ * Parses delimited (CSV-like) text files with numeric columns directly into primitive arrays, one per column.
+ * <p>
+ * Unlike {@link EnumeratedColumnsParser} this works directly on the bytes of memory mapped file segments
+ * (see {@link SegmentedFile}). There is no {@link String} created per line or per field – fields are
+ * tokenised on the bytes and numbers are parsed from those bytes. (Only numbers that can't be parsed exactly
+ * on the fast path, such as those with more than 18 significant digits, fall back to
+ * {@link Double#parseDouble(String)}.)
+ * <p>
+ * The segments are parsed in parallel, each into its own set of growing column buffers, and then stitched
+ * together in file order to form the final columns.
+ * <p>
+ * Lines are terminated by '\n' (an immediately preceding '\r' is ignored). Empty lines and lines starting
+ * with '#' are skipped, as are lines with the wrong number of fields. Fields may be quoted (RFC4180 style),
+ * but since the file is segmented at line breaks quoted fields may not contain line breaks. Empty fields are parsed as {@link Double#NaN} (double columns) or 0 (long columns).
+ */
+public final class NumericColumnsParser {
+
+    public static final class Builder {
+
+        private byte myDelimiter = ',';
+        private boolean myHeader = false;
+        private final int myNumberOfColumns;
+        private IntSupplier myParallelism = Parallelism.CORES;
+        private final ColumnType[] myTypes;
+
+        Builder(final int numberOfColumns) {
+
+            super();
+
+            myNumberOfColumns = numberOfColumns;
+            myTypes = new ColumnType[numberOfColumns];
+            Arrays.fill(myTypes, ColumnType.DOUBLE);
+        }
+
+        public NumericColumnsParser build() {
+            return new NumericColumnsParser(myNumberOfColumns, myDelimiter, myHeader, myTypes.clone(), myParallelism);
+        }
+
+        /**
+         * The default is that all columns are {@link ColumnType#DOUBLE}.
+         */
+        public Builder column(final Enum<?> column, final ColumnType type) {
+            return this.column(column.ordinal(), type);
+        }
+
+        /**
+         * The default is that all columns are {@link ColumnType#DOUBLE}.
+         */
+        public Builder column(final int column, final ColumnType type) {
+            myTypes[column] = type;
+            return this;
+        }
+
+        public Builder delimiter(final char delimiter) {
+            myDelimiter = (byte) delimiter;
+            return this;
+        }
+
+        /**
+         * Set to true if the first line of the file is a header (that should be skipped).
+         */
+        public Builder header(final boolean header) {
+            myHeader = header;
+            return this;
+        }
+
+        /**
+         * The number of threads used to parse the file segments.
+         */
+        public Builder parallelism(final IntSupplier parallelism) {
+            myParallelism = parallelism;
+            return this;
+        }
+
+    }
+
+    public enum ColumnType {
+
+        /**
+         * Parsed as double and stored in an {@link ArrayR064}
+         */
+        DOUBLE,
+        /**
+         * Parsed as long and stored in an {@link ArrayZ064}
+         */
+        LONG,
+        /**
+         * Not parsed, not stored
+         */
+        SKIP;
+
+    }
+
+    /**
+     * The parsed columns. Access each column individually with {@link #doubles(int)} or {@link #longs(int)},
+     * or collect (supply to) a 2D structure. As a 2D structure the {@link ColumnType#SKIP} columns are
+     * excluded, and the remaining columns are in the same order as in the file.
+     */
+    public static final class Result implements Access2D.Collectable<Double, Mutate2D> {
+
+        private final ArrayR064[] myDoubles;
+        private final int[] myIncluded;
+        private final ArrayZ064[] myLongs;
+        private final int myNumberOfRows;
+
+        Result(final int numberOfRows, final ArrayR064[] doubles, final ArrayZ064[] longs) {
+
+            super();
+
+            myNumberOfRows = numberOfRows;
+            myDoubles = doubles;
+            myLongs = longs;
+
+            int count = 0;
+            for (int j = 0; j < doubles.length; j++) {
+                if (doubles[j] != null || longs[j] != null) {
+                    count++;
+                }
+            }
+            myIncluded = new int[count];
+            for (int j = 0, i = 0; j < doubles.length; j++) {
+                if (doubles[j] != null || longs[j] != null) {
+                    myIncluded[i++] = j;
+                }
+            }
+        }
+
+        @Override
+        public int getColDim() {
+            return myIncluded.length;
+        }
+
+        @Override
+        public int getRowDim() {
+            return myNumberOfRows;
+        }
+
+        /**
+         * @param column The column index (in the file)
+         * @return The values of a {@link ColumnType#DOUBLE} column
+         */
+        public ArrayR064 doubles(final int column) {
+            if (myDoubles[column] == null) {
+                throw new IllegalArgumentException("Column " + column + " is not of type DOUBLE!");
+            }
+            return myDoubles[column];
+        }
+
+        /**
+         * @param column The column index (in the file)
+         * @return The values of a {@link ColumnType#LONG} column
+         */
+        public ArrayZ064 longs(final int column) {
+            if (myLongs[column] == null) {
+                throw new IllegalArgumentException("Column " + column + " is not of type LONG!");
+            }
+            return myLongs[column];
+        }
+
+        @Override
+        public void supplyTo(final Mutate2D receiver) {
+            for (int j = 0; j < myIncluded.length; j++) {
+                int column = myIncluded[j];
+                if (myDoubles[column] != null) {
+                    double[] data = myDoubles[column].data;
+                    for (int i = 0; i < myNumberOfRows; i++) {
+                        receiver.set(i, j, data[i]);
+                    }
+                } else {
+                    long[] data = myLongs[column].data;
+                    for (int i = 0; i < myNumberOfRows; i++) {
+                        receiver.set(i, j, data[i]);
+                    }
+                }
+            }
+        }
+
+        public Primitive2D toPrimitive2D() {
+            Primitive2D retVal = Primitive2D.newInstance(myNumberOfRows, myIncluded.length);
+            this.supplyTo(retVal);
+            return retVal;
+        }
+
+    }
+
+    /**
+     * The parsed content of one segment – growing column buffers.
+     */
+    static final class Chunk {
+
+        int count = 0;
+        final double[][] doubles;
+        final long[][] longs;
+
+        Chunk(final ColumnType[] types, final int initialCapacity) {
+
+            super();
+
+            doubles = new double[types.length][];
+            longs = new long[types.length][];
+
+            for (int j = 0; j < types.length; j++) {
+                if (types[j] == ColumnType.DOUBLE) {
+                    doubles[j] = new double[initialCapacity];
+                } else if (types[j] == ColumnType.LONG) {
+                    longs[j] = new long[initialCapacity];
+                }
+            }
+        }
+
+        void ensureCapacity() {
+            for (int j = 0; j < doubles.length; j++) {
+                if (doubles[j] != null && doubles[j].length == count) {
+                    doubles[j] = Arrays.copyOf(doubles[j], Math.max(16, 2 * count));
+                } else if (longs[j] != null && longs[j].length == count) {
+                    longs[j] = Arrays.copyOf(longs[j], Math.max(16, 2 * count));
+                }
+            }
+        }
+
+    }
+
+    private static final byte CR = '\r';
+    private static final byte HASH = '#';
+    private static final byte LF = '\n';
+    private static final double[] POWERS_OF_TEN = { 1E0, 1E1, 1E2, 1E3, 1E4, 1E5, 1E6, 1E7, 1E8, 1E9, 1E10, 1E11, 1E12, 1E13, 1E14, 1E15, 1E16, 1E17,
+            1E18, 1E19, 1E20, 1E21, 1E22 };
+    private static final byte QUOTE = '"';
+
+    /**
+     * Any number in the range [0, 2^53] can be represented exactly as a double.
+     */
+    private static final long SIGNIFICAND_LIMIT = 1L << 53;
+
+    public static NumericColumnsParser.Builder newBuilder(final Class<? extends Enum<?>> columns) {
+        return new NumericColumnsParser.Builder(columns.getEnumConstants().length);
+    }
+
+    public static NumericColumnsParser.Builder newBuilder(final int numberOfColumns) {
+        return new NumericColumnsParser.Builder(numberOfColumns);
+    }
+
+    private static String fallback(final ByteBuffer buffer, final int from, final int to) {
+        char[] chars = new char[to - from];
+        for (int i = from; i < to; i++) {
+            chars[i - from] = (char) (buffer.get(i) & 0xFF);
+        }
+        return new String(chars);
+    }
+
+    private static boolean isDigit(final byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    /**
+     * Parse a double from the bytes in the range [from, to). Uses the exact "fast path": if the significand
+     * fits in 53 bits and the power of ten is within [-22, 22], a single (correctly rounded) multiplication
+     * or division gives the correctly rounded result. Everything else falls back to
+     * {@link Double#parseDouble(String)}.
+     */
+    public static double parseDouble(final ByteBuffer buffer, final int from, final int to) {
+
+        int first = from;
+        int limit = to;
+        while (first < limit && buffer.get(first) == ' ') {
+            first++;
+        }
+        while (limit > first && buffer.get(limit - 1) == ' ') {
+            limit--;
+        }
+        if (first == limit) {
+            return Double.NaN;
+        }
+
+        int i = first;
+        boolean negative = false;
+        byte b = buffer.get(i);
+        if (b == '-') {
+            negative = true;
+            i++;
+        } else if (b == '+') {
+            i++;
+        }
+
+        long significand = 0L;
+        int significant = 0;
+        int exponent = 0;
+        boolean digits = false;
+        boolean exact = true;
+
+        while (i < limit && NumericColumnsParser.isDigit(b = buffer.get(i))) {
+            digits = true;
+            if (significant < 18) {
+                significand = 10L * significand + (b - '0');
+                if (significand != 0L) {
+                    significant++;
+                }
+            } else {
+                exponent++;
+                exact &= b == '0';
+            }
+            i++;
+        }
+
+        if (i < limit && buffer.get(i) == '.') {
+            i++;
+            while (i < limit && NumericColumnsParser.isDigit(b = buffer.get(i))) {
+                digits = true;
+                if (significant < 18) {
+                    significand = 10L * significand + (b - '0');
+                    exponent--;
+                    if (significand != 0L) {
+                        significant++;
+                    }
+                } else {
+                    exact &= b == '0';
+                }
+                i++;
+            }
+        }
+
+        if (digits && i < limit && ((b = buffer.get(i)) == 'e' || b == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < limit && ((b = buffer.get(i)) == '-' || b == '+')) {
+                negativeExponent = b == '-';
+                i++;
+            }
+            int explicit = 0;
+            boolean expDigits = false;
+            while (i < limit && NumericColumnsParser.isDigit(b = buffer.get(i))) {
+                expDigits = true;
+                if (explicit < 100_000) {
+                    explicit = 10 * explicit + (b - '0');
+                }
+                i++;
+            }
+            digits = expDigits;
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+
+        if (digits && i == limit && exact && significand <= SIGNIFICAND_LIMIT && exponent >= -22 && exponent <= 22) {
+            double value = significand;
+            if (exponent > 0) {
+                value *= POWERS_OF_TEN[exponent];
+            } else if (exponent < 0) {
+                value /= POWERS_OF_TEN[-exponent];
+            }
+            return negative ? -value : value;
+        }
+
+        return Double.parseDouble(NumericColumnsParser.fallback(buffer, first, limit));
+    }
+
+    /**
+     * Parse a long from the bytes in the range [from, to). Anything but an optional sign followed by digits
+     * (and surrounding spaces) falls back to {@link Long#parseLong(String)}, that will then throw a
+     * {@link NumberFormatException}.
+     */
+    public static long parseLong(final ByteBuffer buffer, final int from, final int to) {
+
+        int first = from;
+        int limit = to;
+        while (first < limit && buffer.get(first) == ' ') {
+            first++;
+        }
+        while (limit > first && buffer.get(limit - 1) == ' ') {
+            limit--;
+        }
+        if (first == limit) {
+            return 0L;
+        }
+
+        int i = first;
+        boolean negative = false;
+        byte b = buffer.get(i);
+        if (b == '-') {
+            negative = true;
+            i++;
+        } else if (b == '+') {
+            i++;
+        }
+
+        // Accumulate negatively to be able to represent Long.MIN_VALUE
+        long value = 0L;
+        boolean digits = false;
+        while (i < limit && NumericColumnsParser.isDigit(b = buffer.get(i))) {
+            int digit = b - '0';
+            if (value < (Long.MIN_VALUE + digit) / 10L) {
+                break; // Overflow
+            }
+            value = 10L * value - digit;
+            digits = true;
+            i++;
+        }
+
+        if (digits && i == limit) {
+            if (negative) {
+                return value;
+            } else if (value != Long.MIN_VALUE) {
+                return -value;
+            }
+        }
+
+        return Long.parseLong(NumericColumnsParser.fallback(buffer, first, limit));
+    }
+
+    private final byte myDelimiter;
+    private final boolean myHeader;
+    private final int myNumberOfColumns;
+    private final IntSupplier myParallelism;
+    private final ColumnType[] myTypes;
+
+    NumericColumnsParser(final int numberOfColumns, final byte delimiter, final boolean header, final ColumnType[] types, final IntSupplier parallelism) {
+
+        super();
+
+        myNumberOfColumns = numberOfColumns;
+        myDelimiter = delimiter;
+        myHeader = header;
+        myTypes = types;
+        myParallelism = parallelism;
+    }
+
+    public Result parse(final File file) {
+        try (SegmentedFile segmented = SegmentedFile.newBuilder(file).parallelism(myParallelism).build()) {
+            return this.parse(segmented);
+        }
+    }
+
+    /**
+     * Parse all segments of the file, in parallel, and stitch the results together.
+     */
+    public Result parse(final SegmentedFile file) {
+
+        List<Segment> segments = file.segments();
+        int nbSegments = segments.size();
+
+        Chunk[] chunks = new Chunk[nbSegments];
+
+        AtomicInteger next = new AtomicInteger();
+        int parallelism = Math.max(1, Math.min(nbSegments, myParallelism.getAsInt()));
+
+        ProcessingService.INSTANCE.run(parallelism, () -> {
+            int[] begin = new int[myNumberOfColumns];
+            int[] end = new int[myNumberOfColumns];
+            for (int s = next.getAndIncrement(); s < nbSegments; s = next.getAndIncrement()) {
+                Segment segment = segments.get(s);
+                chunks[s] = this.parse(file.map(segment), s == 0 && myHeader, begin, end, (int) Math.min(Integer.MAX_VALUE - 8, segment.size / 8L + 16L));
+            }
+        });
+
+        return this.stitch(chunks);
+    }
+
+    /**
+     * Parse one segment (the bytes of the buffer) into a chunk.
+     */
+    Chunk parse(final ByteBuffer buffer, final boolean header, final int[] begin, final int[] end, final int initialCapacity) {
+
+        Chunk chunk = new Chunk(myTypes, Math.max(16, initialCapacity / Math.max(1, myNumberOfColumns)));
+
+        int limit = buffer.limit();
+        int pos = 0;
+
+        if (header) {
+            pos = this.skipLine(buffer, pos, limit);
+        }
+
+        while (pos < limit) {
+
+            byte first = buffer.get(pos);
+
+            if (first == LF) {
+                pos++;
+                continue;
+            }
+            if (first == CR && (pos + 1 == limit || buffer.get(pos + 1) == LF)) {
+                pos += 2;
+                continue;
+            }
+            if (first == HASH) {
+                pos = this.skipLine(buffer, pos, limit);
+                continue;
+            }
+
+            int field = 0;
+            boolean endOfLine = false;
+
+            while (!endOfLine) {
+
+                int fieldBegin, fieldEnd;
+
+                if (pos < limit && buffer.get(pos) == QUOTE) {
+                    fieldBegin = ++pos;
+                    while (pos < limit) {
+                        if (buffer.get(pos) == QUOTE) {
+                            if (pos + 1 < limit && buffer.get(pos + 1) == QUOTE) {
+                                pos += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        pos++;
+                    }
+                    fieldEnd = pos;
+                    // Skip the closing quote, and anything else up until the next delimiter or end of line
+                    byte b;
+                    while (pos < limit && (b = buffer.get(pos)) != myDelimiter && b != LF) {
+                        pos++;
+                    }
+                } else {
+                    fieldBegin = pos;
+                    byte b;
+                    while (pos < limit && (b = buffer.get(pos)) != myDelimiter && b != LF) {
+                        pos++;
+                    }
+                    fieldEnd = pos;
+                    if (fieldEnd > fieldBegin && buffer.get(fieldEnd - 1) == CR) {
+                        fieldEnd--;
+                    }
+                }
+
+                if (field < myNumberOfColumns) {
+                    begin[field] = fieldBegin;
+                    end[field] = fieldEnd;
+                }
+                field++;
+
+                if (pos >= limit) {
+                    endOfLine = true;
+                } else if (buffer.get(pos) == LF) {
+                    pos++;
+                    endOfLine = true;
+                } else {
+                    pos++; // Delimiter
+                }
+            }
+
+            if (field == myNumberOfColumns) {
+
+                chunk.ensureCapacity();
+
+                int row = chunk.count;
+                for (int j = 0; j < myNumberOfColumns; j++) {
+                    switch (myTypes[j]) {
+                    case DOUBLE:
+                        chunk.doubles[j][row] = NumericColumnsParser.parseDouble(buffer, begin[j], end[j]);
+                        break;
+                    case LONG:
+                        chunk.longs[j][row] = NumericColumnsParser.parseLong(buffer, begin[j], end[j]);
+                        break;
+                    default:
+                        break;
+                    }
+                }
+                chunk.count++;
+            }
+        }
+
+        return chunk;
+    }
+
+    private int skipLine(final ByteBuffer buffer, final int position, final int limit) {
+        int pos = position;
+        boolean quoted = false;
+        byte b;
+        while (pos < limit) {
+            b = buffer.get(pos++);
+            if (b == QUOTE) {
+                quoted = !quoted;
+            } else if (b == LF && !quoted) {
+                break;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Copy the chunks, in order, into the final columns.
+     */
+    private Result stitch(final Chunk[] chunks) {
+
+        long total = 0L;
+        for (Chunk chunk : chunks) {
+            total += chunk.count;
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Too many rows: " + total);
+        }
+        int nbRows = (int) total;
+
+        ArrayR064[] doubles = new ArrayR064[myNumberOfColumns];
+        ArrayZ064[] longs = new ArrayZ064[myNumberOfColumns];
+
+        for (int j = 0; j < myNumberOfColumns; j++) {
+            if (myTypes[j] == ColumnType.DOUBLE) {
+                if (chunks.length == 1 && chunks[0].doubles[j].length == nbRows) {
+                    doubles[j] = ArrayR064.wrap(chunks[0].doubles[j]);
+                } else {
+                    double[] data = new double[nbRows];
+                    int offset = 0;
+                    for (Chunk chunk : chunks) {
+                        System.arraycopy(chunk.doubles[j], 0, data, offset, chunk.count);
+                        offset += chunk.count;
+                    }
+                    doubles[j] = ArrayR064.wrap(data);
+                }
+            } else if (myTypes[j] == ColumnType.LONG) {
+                if (chunks.length == 1 && chunks[0].longs[j].length == nbRows) {
+                    longs[j] = ArrayZ064.wrap(chunks[0].longs[j]);
+                } else {
+                    long[] data = new long[nbRows];
+                    int offset = 0;
+                    for (Chunk chunk : chunks) {
+                        System.arraycopy(chunk.longs[j], 0, data, offset, chunk.count);
+                        offset += chunk.count;
+                    }
+                    longs[j] = ArrayZ064.wrap(data);
+                }
+            }
+        }
+
+        return new Result(nbRows, doubles, longs);
+    }
+
+}
@@ -25,6 +25,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileChannel.MapMode;
 import java.util.Collections;
@@ -50,6 +51,9 @@ import org.ojalgo.function.special.PowerOf2;
  * </ol>
  * Multiple threads can be used to read the segments in parallel. Each thread just works on one segment at a
  * time, and there's a new {@link TextLineReader} for each segment.
+ * <p>
+ * For numeric columnar data {@link NumericColumnsParser} parses the segments directly from the mapped bytes,
+ * without creating a {@link String} per line.
  */
 public class SegmentedFile implements AutoCloseable {
 
@@ -255,11 +259,7 @@ public class SegmentedFile implements AutoCloseable {
     }
 
     public <T> DataReader<T> newDataReader(final Segment segment, final DataReader.Deserializer<T> deserializer) {
-        try {
-            return new DataReader<>(new ByteBufferBackedInputStream(myFileChannel.map(MapMode.READ_ONLY, segment.offset, segment.size)), deserializer);
-        } catch (IOException cause) {
-            throw new RuntimeException(cause);
-        }
+        return new DataReader<>(new ByteBufferBackedInputStream(this.map(segment)), deserializer);
     }
 
     /**
@@ -289,11 +289,7 @@ public class SegmentedFile implements AutoCloseable {
      * sorted in ascending order by offset.
      */
     public TextLineReader newTextLineReader(final Segment segment) {
-        try {
-            return new TextLineReader(new ByteBufferBackedInputStream(myFileChannel.map(MapMode.READ_ONLY, segment.offset, segment.size)));
-        } catch (IOException cause) {
-            throw new RuntimeException(cause);
-        }
+        return new TextLineReader(new ByteBufferBackedInputStream(this.map(segment)));
     }
 
     public <T> FromFileReader<T> newTextLineReader(final TextLineReader.Parser<T> parser) {
@@ -308,4 +304,15 @@ public class SegmentedFile implements AutoCloseable {
         return mySegments;
     }
 
+    /**
+     * Memory map the segment (read only) – for parsers that work directly on the bytes.
+     */
+    MappedByteBuffer map(final Segment segment) {
+        try {
+            return myFileChannel.map(MapMode.READ_ONLY, segment.offset, segment.size);
+        } catch (IOException cause) {
+            throw new RuntimeException(cause);
+        }
+    }
+
 }
@@ -23,6 +23,8 @@ package org.ojalgo.optimisation;
 
 import static org.ojalgo.function.constant.BigMath.*;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -55,6 +57,7 @@ import org.ojalgo.structure.Structure2D.IntRowColumn;
 import org.ojalgo.type.EnumBitSet;
 import org.ojalgo.type.context.NumberContext;
 import org.ojalgo.type.keyvalue.EntryPair;
+import org.ojalgo.type.management.Telemetry;
 
 /**
  * Construct optimisation problems by combining {@link Variable}s and {@link Expression}s. Each model entity
@@ -267,12 +270,15 @@ public final class ExpressionsBasedModel implements Optimisation.Model {
 
     public enum FileFormat {
 
-        EBM, MPS;
+        /**
+         * Binary model snapshot, ".ebmb" (or ".ebmz" if compressed) files
+         */
+        BINARY, EBM, LP, MPS;
 
         /**
-         * Apart from the "native" EBM file format, currently only supports the MPS file format, but with some
-         * of the various extensions. In particular it is possible to parse QP models using QUADOBJ or QMATRIX
-         * file sections.
+         * Apart from the "native" EBM file format (and its binary snapshot variant), supports the MPS file
+         * format (fixed as well as free, with some of the various extensions – in particular it is possible to
+         * parse QP models using QUADOBJ or QMATRIX file sections) and the CPLEX LP file format.
          */
         public static FileFormat from(final File file) {
             return FileFormat.from(file.getPath());
@@ -290,6 +296,14 @@ public final class ExpressionsBasedModel implements Optimisation.Model {
                 return FileFormat.EBM;
             }
 
+            if (lowerCasePath.endsWith(FileFormatBinary.EXTENSION) || lowerCasePath.endsWith(FileFormatBinary.EXTENSION_COMPRESSED)) {
+                return FileFormat.BINARY;
+            }
+
+            if (lowerCasePath.endsWith(".lp")) {
+                return FileFormat.LP;
+            }
+
             throw new IllegalArgumentException();
         }
     }
@@ -855,7 +869,11 @@ public final class ExpressionsBasedModel implements Optimisation.Model {
     }
 
     private static final String NEW_LINE = "\n";
-    private static final String OBJ_FUNC_AS_CONSTR_KEY = UUID.randomUUID().toString();
+    /**
+     * A fixed (reserved) key rather than a random one – the key affects the iteration order of the
+     * expressions, and therefore the order of the constraints in the solvers.
+     */
+    private static final String OBJ_FUNC_AS_CONSTR_KEY = "Generated/Objective as Constraint";
     private static final String START_END = "############################################\n";
     static final String OBJECTIVE = "Generated/Aggregated Objective";
 
@@ -929,14 +947,35 @@ public final class ExpressionsBasedModel implements Optimisation.Model {
     }
 
     /**
-     * Apart from the "native" EBM file format, currently only supports the MPS file format, but with some of
-     * the various extensions. In particular it is possible to parse QP models using QUADOBJ or QMATRIX file
-     * sections.
+     * Read a binary model snapshot, as written by {@link #writeTo(DataOutput)}.
+     *
+     * @see FileFormat#BINARY
+     */
+    public static ExpressionsBasedModel parse(final DataInput input) {
+        return FileFormatBinary.read(input);
+    }
+
+    /**
+     * Apart from the "native" EBM file format, supports the MPS (fixed and free) and CPLEX LP file formats.
+     * MPS and LP files are memory mapped and parsed at the byte level.
+     *
+     * @see FileFormat#from(File)
      */
     public static ExpressionsBasedModel parse(final File file) {
 
         FileFormat fileFormat = FileFormat.from(file);
 
+        switch (fileFormat) {
+            case MPS:
+                return FileFormatMPS.read(file);
+            case LP:
+                return FileFormatLP.read(file);
+            case BINARY:
+                return FileFormatBinary.read(file);
+            default:
+                break;
+        }
+
         try (FileInputStream input = new FileInputStream(file)) {
             return ExpressionsBasedModel.parse(input, fileFormat);
         } catch (IOException cause) {
@@ -948,6 +987,10 @@ public final class ExpressionsBasedModel implements Optimisation.Model {
         switch (format) {
             case MPS:
                 return FileFormatMPS.read(input);
+            case LP:
+                return FileFormatLP.read(input);
+            case BINARY:
+                return FileFormatBinary.read(input);
             case EBM:
                 return FileFormatEBM.read(input);
             default:
@@ -1039,12 +1082,13 @@ public final class ExpressionsBasedModel implements Optimisation.Model {
         this(Optimisation.ENVIRONMENT, optimisationOptions);
     }
 
-    ExpressionsBasedModel(final ExpressionsBasedModel modelToCopy, final boolean shallow, final boolean prune) {
+    ExpressionsBasedModel(final ExpressionsBasedModel modelToCopy, final Optimisation.Options optimisationOptions, final boolean shallow,
+            final boolean prune) {
 
         super();
 
         myEnvironment = modelToCopy.getEnvironment();
-        options = modelToCopy.options;
+        options = optimisationOptions;
 
         this.setOptimisationSense(modelToCopy.getOptimisationSense());
         this.addObjectiveConstant(modelToCopy.getObjectiveConstant());
@@ -1201,19 +1245,27 @@ public final class ExpressionsBasedModel implements Optimisation.Model {
     }
 
     public ExpressionsBasedModel copy() {
-        return new ExpressionsBasedModel(this, false, false);
+        return new ExpressionsBasedModel(this, options, false, false);
     }
 
     public ExpressionsBasedModel copy(final boolean relax) {
-        ExpressionsBasedModel copy = new ExpressionsBasedModel(this, false, false);
+        ExpressionsBasedModel copy = new ExpressionsBasedModel(this, options, false, false);
         if (relax) {
             copy.relax(false);
         }
         return copy;
     }
 
+    /**
+     * Same as {@link #copy()} except that the copy does not share this model's options – it gets the ones
+     * supplied. Useful when solving a sub-problem with other limits (iterations, time...).
+     */
+    public ExpressionsBasedModel copy(final Optimisation.Options optimisationOptions) {
+        return new ExpressionsBasedModel(this, optimisationOptions, false, false);
+    }
+
     public ExpressionsBasedModel copy(final boolean shallow, final boolean prune) {
-        return new ExpressionsBasedModel(this, shallow, prune);
+        return new ExpressionsBasedModel(this, options, shallow, prune);
     }
 
     public int countExpressions() {
@@ -1712,6 +1764,17 @@ public final class ExpressionsBasedModel implements Optimisation.Model {
         return this.prepare(myOptimisationSense, factory);
     }
 
+    /**
+     * Prepare this model to be solved repeatedly, with changing parameters (variable bounds, constraint
+     * limits and objective function weights) but otherwise the same structure. The returned
+     * {@link PreparedModel} keeps the solver, and its basis, between solves.
+     *
+     * @see PreparedModel
+     */
+    public PreparedModel prepare(final Optimisation.Sense sense) {
+        return this.prepare(sense, PreparedModel::new);
+    }
+
     /**
      * <p>
      * The general recommendation is to NOT call this method directly. Instead you should use/call
@@ -1794,7 +1857,7 @@ public final class ExpressionsBasedModel implements Optimisation.Model {
 
         this.presolve();
 
-        return new ExpressionsBasedModel(this, true, true);
+        return new ExpressionsBasedModel(this, options, true, true);
     }
 
     /**
@@ -1913,15 +1976,30 @@ public final class ExpressionsBasedModel implements Optimisation.Model {
     }
 
     /**
-     * Save this instance to file. The file format is {@link FileFormat#EBM} and the file name is therefore
-     * recommended to end with ".ebm".
+     * Write a binary model snapshot (uncompressed). Read it back using {@link #parse(DataInput)}.
+     *
+     * @see FileFormat#BINARY
+     */
+    public void writeTo(final DataOutput output) {
+        FileFormatBinary.write(this, output);
+    }
+
+    /**
+     * Save this instance to file. If the file name ends with ".ebmb" (or ".ebmz" to have it compressed) the
+     * file format is {@link FileFormat#BINARY}, otherwise it is {@link FileFormat#EBM} and the file name is
+     * then recommended to end with ".ebm".
      *
      * @param file The path/name of the file to write.
      */
     public void writeTo(final File file) {
         ToFileWriter.mkdirs(file.getParentFile());
+        String path = file.getPath().toLowerCase();
         try (FileOutputStream output = new FileOutputStream(file)) {
-            FileFormatEBM.write(this, output);
+            if (path.endsWith(FileFormatBinary.EXTENSION) || path.endsWith(FileFormatBinary.EXTENSION_COMPRESSED)) {
+                FileFormatBinary.write(this, output, FileFormatBinary.isCompressed(path));
+            } else {
+                FileFormatEBM.write(this, output);
+            }
         } catch (IOException cause) {
             throw new RuntimeException(cause);
         }
@@ -2169,6 +2247,8 @@ public final class ExpressionsBasedModel implements Optimisation.Model {
 
     void presolve() {
 
+        long started = Telemetry.start();
+
         boolean needToRepeat = false;
 
         BigDecimal compensatedLowerLimit;
@@ -2200,7 +2280,21 @@ public final class ExpressionsBasedModel implements Optimisation.Model {
         // Used to be additional code here to specifically check that constraints that have been determined redundant
         // are not infeasible - as that would hide the infeasibility.  Believe this is now handled elsewhere.
 
-        myVariablesCategorisation.update(myVariables);
+        this.updateVariablesCategorisation();
+
+        if (started != 0L) {
+            int constraints = 0;
+            int redundant = 0;
+            for (Expression expr : myExpressions.values()) {
+                if (expr.isConstraint()) {
+                    constraints++;
+                    if (expr.isRedundant()) {
+                        redundant++;
+                    }
+                }
+            }
+            Telemetry.presolve(started, myVariables.size(), this.getFixedVariables().size(), constraints, redundant);
+        }
     }
 
     void setInfeasible() {
@@ -2227,4 +2321,12 @@ public final class ExpressionsBasedModel implements Optimisation.Model {
         return new IntRowColumn(myVariables.get(row).getIndex(), myVariables.get(column).getIndex());
     }
 
+    /**
+     * Re-categorise the variables (free/fixed, integer, positive/negative). Presolve does this, and it needs
+     * to be done whenever variables may have become (un)fixed without a presolve.
+     */
+    void updateVariablesCategorisation() {
+        myVariablesCategorisation.update(myVariables);
+    }
+
 }
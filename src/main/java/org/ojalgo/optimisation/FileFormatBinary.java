@@ -0,0 +1,539 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.ojalgo.structure.Structure1D.IntIndex;
+import org.ojalgo.structure.Structure2D.IntRowColumn;
+
+/**
+ * Versioned binary model snapshot format – a compact alternative to {@link FileFormatEBM} that round-trips
+ * exactly (every {@link BigDecimal} is stored as unscaled value and scale).
+ *
+ * <pre>
+ * header      : magic (int), version (int), flags (int)
+ * model       : sense (byte, 0 = not set, 1 = MIN, 2 = MAX), objective constant (decimal)
+ * variables   : count (int), names (UTF), integer flags (long[] bit set),
+ *               lower, upper, weight and value (decimal[] blocks)
+ * expressions : count (int), and then for each expression (a CSR row)
+ *               name (UTF), lower, upper, weight (decimal),
+ *               linear count (int), indices (int[]), factors (decimal[]),
+ *               quadratic count (int), rows (int[]), columns (int[]), factors (decimal[])
+ * decimal     : tag (byte) 0 = null, 1 = unscaled long + scale (int), 2 = unscaled bytes (length prefixed) + scale (int)
+ * </pre>
+ *
+ * If the {@link #COMPRESSED} flag is set everything after the header is deflated.
+ *
+ * @author apete
+ */
+final class FileFormatBinary {
+
+    /**
+     * The (few) {@link DataInput} methods the reader needs. Implemented directly on a memory mapped buffer,
+     * or by delegating to any {@link DataInput}.
+     */
+    interface BinaryInput {
+
+        static BinaryInput of(final DataInput input) {
+            return new BinaryInput() {
+
+                public byte readByte() throws IOException {
+                    return input.readByte();
+                }
+
+                public void readFully(final byte[] bytes) throws IOException {
+                    input.readFully(bytes);
+                }
+
+                public int readInt() throws IOException {
+                    return input.readInt();
+                }
+
+                public long readLong() throws IOException {
+                    return input.readLong();
+                }
+
+                public String readUTF() throws IOException {
+                    return input.readUTF();
+                }
+
+            };
+        }
+
+        byte readByte() throws IOException;
+
+        void readFully(byte[] bytes) throws IOException;
+
+        int readInt() throws IOException;
+
+        long readLong() throws IOException;
+
+        String readUTF() throws IOException;
+
+    }
+
+    /**
+     * A memory mapped file as both {@link InputStream} (to inflate compressed snapshots) and
+     * {@link BinaryInput}.
+     */
+    static final class MappedInput extends InputStream implements BinaryInput {
+
+        private final ByteBuffer myBuffer;
+
+        MappedInput(final ByteBuffer buffer) {
+            super();
+            myBuffer = buffer;
+        }
+
+        @Override
+        public int available() {
+            return myBuffer.remaining();
+        }
+
+        @Override
+        public int read() {
+            return myBuffer.hasRemaining() ? myBuffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) {
+            if (!myBuffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, myBuffer.remaining());
+            myBuffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public byte readByte() throws IOException {
+            this.require(Byte.BYTES);
+            return myBuffer.get();
+        }
+
+        @Override
+        public void readFully(final byte[] bytes) throws IOException {
+            this.require(bytes.length);
+            myBuffer.get(bytes);
+        }
+
+        @Override
+        public int readInt() throws IOException {
+            this.require(Integer.BYTES);
+            return myBuffer.getInt();
+        }
+
+        @Override
+        public long readLong() throws IOException {
+            this.require(Long.BYTES);
+            return myBuffer.getLong();
+        }
+
+        /**
+         * Modified UTF-8, as written by {@link DataOutput#writeUTF(String)}. The (unbuffered)
+         * {@link DataInputStream} reads exactly the string's bytes from this stream.
+         */
+        @Override
+        public String readUTF() throws IOException {
+            return DataInputStream.readUTF(new DataInputStream(this));
+        }
+
+        @Override
+        public long skip(final long n) {
+            int count = (int) Math.max(0L, Math.min(n, myBuffer.remaining()));
+            myBuffer.position(myBuffer.position() + count);
+            return count;
+        }
+
+        private void require(final int bytes) throws EOFException {
+            if (myBuffer.remaining() < bytes) {
+                throw new EOFException();
+            }
+        }
+
+    }
+
+    /**
+     * Everything after the header is deflated
+     */
+    static final int COMPRESSED = 1;
+    static final String EXTENSION = ".ebmb";
+    static final String EXTENSION_COMPRESSED = ".ebmz";
+    /**
+     * "EBMB"
+     */
+    static final int MAGIC = 0x45424D42;
+    static final int VERSION = 1;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final byte DECIMAL_BIG = 2;
+    private static final byte DECIMAL_LONG = 1;
+    private static final byte DECIMAL_NULL = 0;
+    private static final byte SENSE_MAX = 2;
+    private static final byte SENSE_MIN = 1;
+    private static final byte SENSE_NONE = 0;
+
+    static boolean isCompressed(final String path) {
+        return path.toLowerCase().endsWith(EXTENSION_COMPRESSED);
+    }
+
+    static ExpressionsBasedModel read(final DataInput input) {
+        try {
+            BinaryInput binary = BinaryInput.of(input);
+            if ((FileFormatBinary.readHeader(binary) & COMPRESSED) != 0) {
+                throw new IllegalArgumentException("Compressed snapshots must be read from an InputStream or File!");
+            }
+            return FileFormatBinary.readModel(binary);
+        } catch (IOException cause) {
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * Memory maps the file (unless it's larger than what a single buffer can map).
+     */
+    static ExpressionsBasedModel read(final File file) {
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+
+            long size = channel.size();
+
+            if (size > Integer.MAX_VALUE) {
+                try (InputStream input = new FileInputStream(file)) {
+                    return FileFormatBinary.read(input);
+                }
+            }
+
+            MappedInput input = new MappedInput(channel.map(FileChannel.MapMode.READ_ONLY, 0L, size));
+
+            if ((FileFormatBinary.readHeader(input) & COMPRESSED) != 0) {
+                return FileFormatBinary.readModel(FileFormatBinary.inflate(input));
+            } else {
+                return FileFormatBinary.readModel(input);
+            }
+
+        } catch (IOException cause) {
+            throw new RuntimeException(cause);
+        }
+    }
+
+    static ExpressionsBasedModel read(final InputStream input) {
+        try {
+            DataInputStream data = new DataInputStream(new BufferedInputStream(input, BUFFER_SIZE));
+            BinaryInput binary = BinaryInput.of(data);
+            if ((FileFormatBinary.readHeader(binary) & COMPRESSED) != 0) {
+                return FileFormatBinary.readModel(FileFormatBinary.inflate(data));
+            } else {
+                return FileFormatBinary.readModel(binary);
+            }
+        } catch (IOException cause) {
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * Uncompressed
+     */
+    static void write(final ExpressionsBasedModel model, final DataOutput output) {
+        try {
+            FileFormatBinary.writeHeader(output, 0);
+            FileFormatBinary.writeModel(model, output);
+        } catch (IOException cause) {
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * Writes and closes the stream.
+     */
+    static void write(final ExpressionsBasedModel model, final OutputStream output, final boolean compressed) {
+
+        try (DataOutputStream data = new DataOutputStream(new BufferedOutputStream(output, BUFFER_SIZE))) {
+
+            FileFormatBinary.writeHeader(data, compressed ? COMPRESSED : 0);
+
+            if (compressed) {
+                data.flush();
+                DeflaterOutputStream deflater = new DeflaterOutputStream(output, new Deflater(Deflater.BEST_SPEED), BUFFER_SIZE);
+                DataOutputStream deflated = new DataOutputStream(new BufferedOutputStream(deflater, BUFFER_SIZE));
+                FileFormatBinary.writeModel(model, deflated);
+                deflated.flush();
+                deflater.finish();
+            } else {
+                FileFormatBinary.writeModel(model, data);
+            }
+
+        } catch (IOException cause) {
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private static BinaryInput inflate(final InputStream input) {
+        return BinaryInput.of(new DataInputStream(new BufferedInputStream(new InflaterInputStream(input), BUFFER_SIZE)));
+    }
+
+    private static BigDecimal readDecimal(final BinaryInput input) throws IOException {
+        switch (input.readByte()) {
+            case DECIMAL_NULL:
+                return null;
+            case DECIMAL_LONG:
+                long unscaled = input.readLong();
+                return BigDecimal.valueOf(unscaled, input.readInt());
+            case DECIMAL_BIG:
+                byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                return new BigDecimal(new BigInteger(bytes), input.readInt());
+            default:
+                throw new IllegalStateException("Corrupt decimal!");
+        }
+    }
+
+    private static int readHeader(final BinaryInput input) throws IOException {
+
+        if (input.readInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a binary model snapshot!");
+        }
+
+        int version = input.readInt();
+        if (version > VERSION) {
+            throw new IllegalStateException("Unsupported version: " + version + "!");
+        }
+
+        return input.readInt();
+    }
+
+    private static int[] readInts(final BinaryInput input, final int count) throws IOException {
+        int[] retVal = new int[count];
+        for (int i = 0; i < count; i++) {
+            retVal[i] = input.readInt();
+        }
+        return retVal;
+    }
+
+    private static ExpressionsBasedModel readModel(final BinaryInput input) throws IOException {
+
+        ExpressionsBasedModel retVal = new ExpressionsBasedModel();
+
+        byte sense = input.readByte();
+        if (sense != SENSE_NONE) {
+            retVal.setOptimisationSense(sense == SENSE_MAX ? Optimisation.Sense.MAX : Optimisation.Sense.MIN);
+        }
+        BigDecimal constant = FileFormatBinary.readDecimal(input);
+        if (constant.signum() != 0) {
+            retVal.addObjectiveConstant(constant);
+        }
+
+        int nbVariables = input.readInt();
+
+        Variable[] variables = new Variable[nbVariables];
+        for (int j = 0; j < nbVariables; j++) {
+            variables[j] = retVal.newVariable(input.readUTF());
+        }
+
+        long word = 0L;
+        for (int j = 0; j < nbVariables; j++) {
+            if (j % Long.SIZE == 0) {
+                word = input.readLong();
+            }
+            if ((word & 1L << j % Long.SIZE) != 0L) {
+                variables[j].integer(true);
+            }
+        }
+
+        for (int j = 0; j < nbVariables; j++) {
+            variables[j].lower(FileFormatBinary.readDecimal(input));
+        }
+        for (int j = 0; j < nbVariables; j++) {
+            variables[j].upper(FileFormatBinary.readDecimal(input));
+        }
+        for (int j = 0; j < nbVariables; j++) {
+            variables[j].weight(FileFormatBinary.readDecimal(input));
+        }
+        for (int j = 0; j < nbVariables; j++) {
+            variables[j].setValue(FileFormatBinary.readDecimal(input));
+        }
+
+        int nbExpressions = input.readInt();
+
+        for (int i = 0; i < nbExpressions; i++) {
+
+            Expression expression = retVal.newExpression(input.readUTF());
+
+            expression.lower(FileFormatBinary.readDecimal(input));
+            expression.upper(FileFormatBinary.readDecimal(input));
+            expression.weight(FileFormatBinary.readDecimal(input));
+
+            int nbLinear = input.readInt();
+            int[] indices = FileFormatBinary.readInts(input, nbLinear);
+            for (int k = 0; k < nbLinear; k++) {
+                expression.set(indices[k], FileFormatBinary.readDecimal(input));
+            }
+
+            int nbQuadratic = input.readInt();
+            int[] rows = FileFormatBinary.readInts(input, nbQuadratic);
+            int[] columns = FileFormatBinary.readInts(input, nbQuadratic);
+            for (int k = 0; k < nbQuadratic; k++) {
+                expression.set(rows[k], columns[k], FileFormatBinary.readDecimal(input));
+            }
+        }
+
+        return retVal;
+    }
+
+    private static void writeDecimal(final DataOutput output, final BigDecimal value) throws IOException {
+        if (value == null) {
+            output.writeByte(DECIMAL_NULL);
+        } else {
+            BigInteger unscaled = value.unscaledValue();
+            if (unscaled.bitLength() < Long.SIZE) {
+                output.writeByte(DECIMAL_LONG);
+                output.writeLong(unscaled.longValue());
+            } else {
+                byte[] bytes = unscaled.toByteArray();
+                output.writeByte(DECIMAL_BIG);
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            }
+            output.writeInt(value.scale());
+        }
+    }
+
+    private static void writeHeader(final DataOutput output, final int flags) throws IOException {
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt(flags);
+    }
+
+    private static void writeInts(final DataOutput output, final int[] values) throws IOException {
+        for (int value : values) {
+            output.writeInt(value);
+        }
+    }
+
+    private static void writeModel(final ExpressionsBasedModel model, final DataOutput output) throws IOException {
+
+        Optimisation.Sense sense = model.getOptimisationSense();
+        output.writeByte(sense == null ? SENSE_NONE : sense == Optimisation.Sense.MAX ? SENSE_MAX : SENSE_MIN);
+        FileFormatBinary.writeDecimal(output, model.getObjectiveConstant());
+
+        List<Variable> variables = model.getVariables();
+        int nbVariables = variables.size();
+
+        output.writeInt(nbVariables);
+        for (Variable variable : variables) {
+            output.writeUTF(variable.getName());
+        }
+
+        long word = 0L;
+        for (int j = 0; j < nbVariables; j++) {
+            if (variables.get(j).isInteger()) {
+                word |= 1L << j % Long.SIZE;
+            }
+            if (j % Long.SIZE == Long.SIZE - 1 || j == nbVariables - 1) {
+                output.writeLong(word);
+                word = 0L;
+            }
+        }
+
+        for (Variable variable : variables) {
+            FileFormatBinary.writeDecimal(output, variable.getLowerLimit());
+        }
+        for (Variable variable : variables) {
+            FileFormatBinary.writeDecimal(output, variable.getUpperLimit());
+        }
+        for (Variable variable : variables) {
+            FileFormatBinary.writeDecimal(output, variable.getContributionWeight());
+        }
+        for (Variable variable : variables) {
+            FileFormatBinary.writeDecimal(output, variable.getValue());
+        }
+
+        output.writeInt(model.countExpressions());
+
+        for (Expression expression : model.getExpressions()) {
+
+            output.writeUTF(expression.getName());
+
+            FileFormatBinary.writeDecimal(output, expression.getLowerLimit());
+            FileFormatBinary.writeDecimal(output, expression.getUpperLimit());
+            FileFormatBinary.writeDecimal(output, expression.getContributionWeight());
+
+            int nbLinear = expression.countLinearFactors();
+            int[] indices = new int[nbLinear];
+            BigDecimal[] linear = new BigDecimal[nbLinear];
+            int k = 0;
+            for (Entry<IntIndex, BigDecimal> entry : expression.getLinearEntrySet()) {
+                indices[k] = entry.getKey().index;
+                linear[k++] = entry.getValue();
+            }
+            output.writeInt(nbLinear);
+            FileFormatBinary.writeInts(output, indices);
+            for (BigDecimal factor : linear) {
+                FileFormatBinary.writeDecimal(output, factor);
+            }
+
+            int nbQuadratic = expression.countQuadraticFactors();
+            int[] rows = new int[nbQuadratic];
+            int[] columns = new int[nbQuadratic];
+            BigDecimal[] quadratic = new BigDecimal[nbQuadratic];
+            k = 0;
+            for (Entry<IntRowColumn, BigDecimal> entry : expression.getQuadraticEntrySet()) {
+                rows[k] = entry.getKey().row;
+                columns[k] = entry.getKey().column;
+                quadratic[k++] = entry.getValue();
+            }
+            output.writeInt(nbQuadratic);
+            FileFormatBinary.writeInts(output, rows);
+            FileFormatBinary.writeInts(output, columns);
+            for (BigDecimal factor : quadratic) {
+                FileFormatBinary.writeDecimal(output, factor);
+            }
+        }
+    }
+
+    private FileFormatBinary() {
+        super();
+    }
+
+}
@@ -0,0 +1,798 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation;
+
+import static org.ojalgo.function.constant.BigMath.*;
+
+import java.io.File;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.ojalgo.netio.NumericColumnsParser;
+
+/**
+ * CPLEX LP file format parser. Supports the objective (linear and quadratic), constraints (including ranged
+ * constraints written as "lower <= expression <= upper"), bounds as well as the general and binary sections.
+ * Semi-continuous variables, SOS and indicator constraints are not supported.
+ * <p>
+ * Uses the same byte level reader as {@link FileFormatMPS} – names are interned in a {@link NameTable} and
+ * numbers parsed directly from the bytes.
+ *
+ * @author apete
+ */
+final class FileFormatLP {
+
+    enum FileSection {
+        BINARIES, BOUNDS, CONSTRAINTS, END, GENERALS, OBJECTIVE;
+    }
+
+    /**
+     * Linear and quadratic terms (and a constant) collected while parsing a statement.
+     */
+    static final class Terms {
+
+        double constant = 0.0;
+        int linear = 0;
+        double[] linearFactors = new double[16];
+        Variable[] linearVariables = new Variable[16];
+        int quadratic = 0;
+        double[] quadraticFactors = new double[16];
+        Variable[] quadraticVariables1 = new Variable[16];
+        Variable[] quadraticVariables2 = new Variable[16];
+
+        void addLinear(final Variable variable, final double factor) {
+            if (linear == linearFactors.length) {
+                linearFactors = Arrays.copyOf(linearFactors, 2 * linear);
+                linearVariables = Arrays.copyOf(linearVariables, 2 * linear);
+            }
+            linearVariables[linear] = variable;
+            linearFactors[linear] = factor;
+            linear++;
+        }
+
+        void addQuadratic(final Variable variable1, final Variable variable2, final double factor) {
+            if (quadratic == quadraticFactors.length) {
+                quadraticFactors = Arrays.copyOf(quadraticFactors, 2 * quadratic);
+                quadraticVariables1 = Arrays.copyOf(quadraticVariables1, 2 * quadratic);
+                quadraticVariables2 = Arrays.copyOf(quadraticVariables2, 2 * quadratic);
+            }
+            quadraticVariables1[quadratic] = variable1;
+            quadraticVariables2[quadratic] = variable2;
+            quadraticFactors[quadratic] = factor;
+            quadratic++;
+        }
+
+        void reset() {
+            constant = 0.0;
+            linear = 0;
+            quadratic = 0;
+        }
+
+        void supplyTo(final Expression expression) {
+            for (int i = 0; i < linear; i++) {
+                expression.add(linearVariables[i], FileFormatMPS.toBigDecimal(linearFactors[i]));
+            }
+            for (int i = 0; i < quadratic; i++) {
+                expression.add(quadraticVariables1[i], quadraticVariables2[i], FileFormatMPS.toBigDecimal(quadraticFactors[i]));
+            }
+        }
+
+    }
+
+    enum Token {
+        CARET, COLON, EQ, GE, LBRACKET, LE, MINUS, NAME, NUMBER, PLUS, RBRACKET, SLASH, STAR;
+    }
+
+    private static final String DEFAULT_OBJECTIVE = "obj";
+    private static final String DEFAULT_ROW = "R";
+
+    static ExpressionsBasedModel read(final File file) {
+
+        FileFormatLP retVal = new FileFormatLP();
+
+        LineTokeniser.read(file, retVal::parseLine);
+
+        return retVal.getModel();
+    }
+
+    static ExpressionsBasedModel read(final InputStream input) {
+
+        FileFormatLP retVal = new FileFormatLP();
+
+        LineTokeniser.read(input, retVal::parseLine);
+
+        return retVal.getModel();
+    }
+
+    private static Token flip(final Token comparison) {
+        switch (comparison) {
+            case LE:
+                return Token.GE;
+            case GE:
+                return Token.LE;
+            default:
+                return comparison;
+        }
+    }
+
+    private static boolean isDigit(final byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean isNameTerminator(final byte b) {
+        switch (b) {
+            case '+':
+            case '-':
+            case '*':
+            case '/':
+            case '^':
+            case ':':
+            case '[':
+            case ']':
+            case '<':
+            case '>':
+            case '=':
+            case '\\':
+                return true;
+            default:
+                return LineTokeniser.isSpace(b);
+        }
+    }
+
+    private static BigDecimal limit(final double value) {
+        return Double.isInfinite(value) ? null : FileFormatMPS.toBigDecimal(value);
+    }
+
+    private int myComparisons = 0;
+    private int myConstraints = 0;
+    private boolean myExpressionBeforeComparison = false;
+    private Token[] myKinds = new Token[64];
+    private final ExpressionsBasedModel myModel;
+    private int[] myNameIds = new int[64];
+    private final NameTable myNames = new NameTable();
+    private double[] myNumbers = new double[64];
+    private FileSection mySection = null;
+    private final Terms myTerms = new Terms();
+    private int myTokens = 0;
+    private Variable[] myVariables = new Variable[1024];
+
+    FileFormatLP() {
+
+        super();
+
+        myModel = new ExpressionsBasedModel();
+    }
+
+    @Override
+    public String toString() {
+        return myModel.toString();
+    }
+
+    private void addToken(final Token kind, final double number, final int name) {
+
+        if (myTokens == myKinds.length) {
+            myKinds = Arrays.copyOf(myKinds, 2 * myTokens);
+            myNumbers = Arrays.copyOf(myNumbers, 2 * myTokens);
+            myNameIds = Arrays.copyOf(myNameIds, 2 * myTokens);
+        }
+        myKinds[myTokens] = kind;
+        myNumbers[myTokens] = number;
+        myNameIds[myTokens] = name;
+        myTokens++;
+
+        if (mySection != FileSection.CONSTRAINTS) {
+            return;
+        }
+
+        switch (kind) {
+            case NAME:
+                if (myComparisons == 0) {
+                    myExpressionBeforeComparison = true;
+                }
+                break;
+            case COLON:
+                if (myTokens == 2) {
+                    // That was the label, not part of the expression
+                    myExpressionBeforeComparison = false;
+                }
+                break;
+            case LE:
+            case GE:
+            case EQ:
+                myComparisons++;
+                break;
+            case NUMBER:
+                if (myComparisons == 2 || myComparisons == 1 && myExpressionBeforeComparison) {
+                    Token previous = myKinds[myTokens - 2];
+                    if (previous == Token.PLUS || previous == Token.MINUS) {
+                        previous = myKinds[myTokens - 3];
+                    }
+                    if (previous == Token.LE || previous == Token.GE || previous == Token.EQ) {
+                        this.parseConstraint();
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void applyLimit(final ModelEntity<?> entity, final Token comparison, final double value) {
+        switch (comparison) {
+            case LE:
+                entity.upper(FileFormatLP.limit(value));
+                break;
+            case GE:
+                entity.lower(FileFormatLP.limit(value));
+                break;
+            case EQ:
+                entity.level(FileFormatLP.limit(value));
+                break;
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    private void endStatement() {
+
+        if (myTokens > 0) {
+            switch (mySection) {
+                case OBJECTIVE:
+                    this.parseObjective();
+                    break;
+                case CONSTRAINTS:
+                    throw new IllegalArgumentException("Incomplete constraint: " + this.describe(0, myTokens));
+                default:
+                    break;
+            }
+        }
+
+        this.resetStatement();
+    }
+
+    private String describe(final int first, final int limit) {
+        StringBuilder builder = new StringBuilder();
+        for (int t = first; t < limit; t++) {
+            if (myKinds[t] == Token.NAME) {
+                builder.append(myNames.name(myNameIds[t]));
+            } else if (myKinds[t] == Token.NUMBER) {
+                builder.append(myNumbers[t]);
+            } else {
+                builder.append(myKinds[t]);
+            }
+            builder.append(' ');
+        }
+        return builder.toString().trim();
+    }
+
+    private ExpressionsBasedModel getModel() {
+        if (mySection != null && mySection != FileSection.END) {
+            this.endStatement();
+        }
+        return myModel;
+    }
+
+    /**
+     * @return true if the token is the name "inf" or "infinity" (any case)
+     */
+    private boolean isInfinity(final int token) {
+        if (myKinds[token] != Token.NAME) {
+            return false;
+        }
+        String name = myNames.name(myNameIds[token]).toLowerCase(Locale.ROOT);
+        return "inf".equals(name) || "infinity".equals(name);
+    }
+
+    private boolean isComparison(final int token) {
+        Token kind = myKinds[token];
+        return kind == Token.LE || kind == Token.GE || kind == Token.EQ;
+    }
+
+    private String label(final String defaultPrefix, final int defaultNumber) {
+        if (myTokens >= 2 && myKinds[0] == Token.NAME && myKinds[1] == Token.COLON) {
+            return myNames.name(myNameIds[0]);
+        }
+        return defaultNumber > 0 ? defaultPrefix + defaultNumber : defaultPrefix;
+    }
+
+    /**
+     * Splits the line in to tokens – names, numbers and the various operators.
+     */
+    private void lex(final LineTokeniser line, final int from) {
+
+        int limit = line.lineLimit();
+
+        for (int i = from; i < limit;) {
+
+            byte b = line.byteAt(i);
+
+            if (LineTokeniser.isSpace(b)) {
+                i++;
+            } else if (b == '\\') {
+                return;
+            } else if (FileFormatLP.isDigit(b) || b == '.' && i + 1 < limit && FileFormatLP.isDigit(line.byteAt(i + 1))) {
+                int first = i;
+                while (i < limit && (FileFormatLP.isDigit(b = line.byteAt(i)) || b == '.')) {
+                    i++;
+                }
+                if (i < limit && ((b = line.byteAt(i)) == 'e' || b == 'E')) {
+                    int exponent = i + 1;
+                    if (exponent < limit && ((b = line.byteAt(exponent)) == '+' || b == '-')) {
+                        exponent++;
+                    }
+                    if (exponent < limit && FileFormatLP.isDigit(line.byteAt(exponent))) {
+                        i = exponent;
+                        while (i < limit && FileFormatLP.isDigit(line.byteAt(i))) {
+                            i++;
+                        }
+                    }
+                }
+                this.addToken(Token.NUMBER, NumericColumnsParser.parseDouble(line.getBuffer(), first, i), -1);
+            } else if (b == '<' || b == '>' || b == '=') {
+                Token kind = b == '<' ? Token.LE : b == '>' ? Token.GE : Token.EQ;
+                i++;
+                if (i < limit && ((b = line.byteAt(i)) == '<' || b == '>' || b == '=')) {
+                    if (kind == Token.EQ) {
+                        kind = b == '<' ? Token.LE : b == '>' ? Token.GE : Token.EQ;
+                    }
+                    i++;
+                }
+                this.addToken(kind, Double.NaN, -1);
+            } else if (FileFormatLP.isNameTerminator(b)) {
+                Token kind;
+                switch (b) {
+                    case '+':
+                        kind = Token.PLUS;
+                        break;
+                    case '-':
+                        kind = Token.MINUS;
+                        break;
+                    case '*':
+                        kind = Token.STAR;
+                        break;
+                    case '/':
+                        kind = Token.SLASH;
+                        break;
+                    case '^':
+                        kind = Token.CARET;
+                        break;
+                    case ':':
+                        kind = Token.COLON;
+                        break;
+                    case '[':
+                        kind = Token.LBRACKET;
+                        break;
+                    default:
+                        kind = Token.RBRACKET;
+                        break;
+                }
+                i++;
+                this.addToken(kind, Double.NaN, -1);
+            } else {
+                int first = i;
+                while (i < limit && !FileFormatLP.isNameTerminator(line.byteAt(i))) {
+                    i++;
+                }
+                this.addToken(Token.NAME, Double.NaN, myNames.intern(line.getBuffer(), first, i));
+            }
+        }
+    }
+
+    private void parseBound() {
+
+        if (myTokens == 0) {
+            return;
+        }
+
+        if (myTokens == 2 && myKinds[0] == Token.NAME && myKinds[1] == Token.NAME && "free".equalsIgnoreCase(myNames.name(myNameIds[1]))) {
+            this.variable(myNameIds[0]).lower(null).upper(null);
+            return;
+        }
+
+        // value op variable [op value] or variable op value
+        int[] position = { 0 };
+        double[] value = { Double.NaN };
+
+        if (this.parseValue(position, value)) {
+
+            double first = value[0];
+            Token comparison = this.requireComparison(position[0]++);
+            Variable variable = this.variable(this.requireName(position[0]++));
+
+            this.applyLimit(variable, FileFormatLP.flip(comparison), first);
+
+            if (position[0] < myTokens) {
+                comparison = this.requireComparison(position[0]++);
+                if (!this.parseValue(position, value)) {
+                    throw new IllegalArgumentException("Invalid bound: " + this.describe(0, myTokens));
+                }
+                this.applyLimit(variable, comparison, value[0]);
+            }
+
+        } else {
+
+            Variable variable = this.variable(this.requireName(position[0]++));
+            Token comparison = this.requireComparison(position[0]++);
+            if (!this.parseValue(position, value)) {
+                throw new IllegalArgumentException("Invalid bound: " + this.describe(0, myTokens));
+            }
+            this.applyLimit(variable, comparison, value[0]);
+        }
+
+        if (position[0] != myTokens) {
+            throw new IllegalArgumentException("Invalid bound: " + this.describe(0, myTokens));
+        }
+    }
+
+    private void parseConstraint() {
+
+        String name = this.label(DEFAULT_ROW, myConstraints + 1);
+        int position = myTokens >= 2 && myKinds[1] == Token.COLON ? 2 : 0;
+
+        Expression expression = myModel.newExpression(name);
+        myConstraints++;
+
+        myTerms.reset();
+        position = this.parseTerms(position, myTerms);
+
+        if (myTerms.linear == 0 && myTerms.quadratic == 0) {
+            // Ranged: lower op expression op upper
+
+            double lower = myTerms.constant;
+            Token comparison = this.requireComparison(position++);
+
+            myTerms.reset();
+            position = this.parseTerms(position, myTerms);
+            myTerms.supplyTo(expression);
+            double offset = myTerms.constant;
+
+            this.applyLimit(expression, FileFormatLP.flip(comparison), lower - offset);
+
+            comparison = this.requireComparison(position++);
+            int[] cursor = { position };
+            this.applyLimit(expression, comparison, this.requireValue(cursor) - offset);
+            position = cursor[0];
+
+        } else {
+
+            myTerms.supplyTo(expression);
+            double offset = myTerms.constant;
+
+            Token comparison = this.requireComparison(position++);
+            int[] cursor = { position };
+            this.applyLimit(expression, comparison, this.requireValue(cursor) - offset);
+            position = cursor[0];
+        }
+
+        if (position != myTokens) {
+            throw new IllegalArgumentException("Invalid constraint: " + this.describe(0, myTokens));
+        }
+
+        this.resetStatement();
+    }
+
+    private void parseLine(final LineTokeniser line) {
+
+        if (line.count() == 0 || mySection == FileSection.END || line.byteAt(line.first(0)) == '\\') {
+            return;
+        }
+
+        int from = line.lineFirst();
+
+        FileSection section = null;
+        int keywords = 1;
+        Optimisation.Sense sense = null;
+
+        String keyword = line.toString(0).toLowerCase(Locale.ROOT);
+        switch (keyword) {
+            case "maximize":
+            case "maximise":
+            case "maximum":
+            case "max":
+                section = FileSection.OBJECTIVE;
+                sense = Optimisation.Sense.MAX;
+                break;
+            case "minimize":
+            case "minimise":
+            case "minimum":
+            case "min":
+                section = FileSection.OBJECTIVE;
+                sense = Optimisation.Sense.MIN;
+                break;
+            case "subject":
+            case "such":
+                if (line.count() > 1 && ("to".equalsIgnoreCase(line.toString(1)) || "that".equalsIgnoreCase(line.toString(1)))) {
+                    section = FileSection.CONSTRAINTS;
+                    keywords = 2;
+                }
+                break;
+            case "st":
+            case "s.t.":
+            case "st.":
+                section = FileSection.CONSTRAINTS;
+                break;
+            case "bounds":
+            case "bound":
+                section = FileSection.BOUNDS;
+                break;
+            case "general":
+            case "generals":
+            case "gen":
+            case "integer":
+            case "integers":
+                section = FileSection.GENERALS;
+                break;
+            case "binary":
+            case "binaries":
+            case "bin":
+                section = FileSection.BINARIES;
+                break;
+            case "semi-continuous":
+            case "semis":
+            case "semi":
+            case "sos":
+                throw new IllegalArgumentException("Unsupported LP file section: " + line.toString(0));
+            case "end":
+                section = FileSection.END;
+                break;
+            default:
+                break;
+        }
+
+        if (section != null) {
+            if (mySection != null) {
+                this.endStatement();
+            }
+            mySection = section;
+            if (sense != null) {
+                myModel.setOptimisationSense(sense);
+            }
+            if (section == FileSection.END) {
+                return;
+            }
+            from = line.limit(keywords - 1);
+        }
+
+        if (mySection == null) {
+            throw new IllegalArgumentException("Expected an objective section: " + line.line());
+        }
+
+        this.lex(line, from);
+
+        switch (mySection) {
+            case BOUNDS:
+                this.parseBound();
+                this.resetStatement();
+                break;
+            case GENERALS:
+            case BINARIES:
+                for (int t = 0; t < myTokens; t++) {
+                    Variable variable = this.variable(this.requireName(t));
+                    if (mySection == FileSection.BINARIES) {
+                        variable.binary();
+                    } else {
+                        variable.integer(true);
+                    }
+                }
+                this.resetStatement();
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void parseObjective() {
+
+        String name = this.label(DEFAULT_OBJECTIVE, 0);
+        int position = myTokens >= 2 && myKinds[1] == Token.COLON ? 2 : 0;
+
+        myTerms.reset();
+        position = this.parseTerms(position, myTerms);
+
+        if (position != myTokens) {
+            throw new IllegalArgumentException("Invalid objective: " + this.describe(0, myTokens));
+        }
+
+        Expression objective = myModel.newExpression(name).weight(ONE);
+        myTerms.supplyTo(objective);
+
+        if (myTerms.constant != 0.0) {
+            myModel.addObjectiveConstant(FileFormatMPS.toBigDecimal(myTerms.constant));
+        }
+    }
+
+    /**
+     * Quadratic terms within brackets, optionally followed by "/ 2". The position is that of the token after
+     * the left bracket.
+     */
+    private int parseQuadratic(final int from, final double scale, final Terms terms) {
+
+        int position = from;
+        int first = terms.quadratic;
+
+        while (position < myTokens && myKinds[position] != Token.RBRACKET) {
+
+            double factor = 1.0;
+            while (myKinds[position] == Token.PLUS || myKinds[position] == Token.MINUS) {
+                if (myKinds[position++] == Token.MINUS) {
+                    factor = -factor;
+                }
+            }
+            if (myKinds[position] == Token.NUMBER) {
+                factor *= myNumbers[position++];
+            }
+
+            Variable variable1 = this.variable(this.requireName(position++));
+            Variable variable2;
+            if (myKinds[position] == Token.CARET) {
+                position++;
+                int[] cursor = { position };
+                if (this.requireValue(cursor) != 2.0) {
+                    throw new IllegalArgumentException("Only squares are allowed: " + this.describe(from, position));
+                }
+                position = cursor[0];
+                variable2 = variable1;
+            } else if (myKinds[position] == Token.STAR) {
+                position++;
+                variable2 = this.variable(this.requireName(position++));
+            } else {
+                throw new IllegalArgumentException("Invalid quadratic term: " + this.describe(from, position));
+            }
+
+            terms.addQuadratic(variable1, variable2, factor);
+        }
+
+        if (position++ >= myTokens) {
+            throw new IllegalArgumentException("Missing ]");
+        }
+
+        double divisor = 1.0;
+        if (position < myTokens && myKinds[position] == Token.SLASH) {
+            int[] cursor = { position + 1 };
+            divisor = this.requireValue(cursor);
+            position = cursor[0];
+        }
+
+        for (int i = first; i < terms.quadratic; i++) {
+            terms.quadraticFactors[i] *= scale / divisor;
+        }
+
+        return position;
+    }
+
+    /**
+     * Terms, until a comparison (or the end of the statement).
+     */
+    private int parseTerms(final int from, final Terms terms) {
+
+        int position = from;
+
+        while (position < myTokens && !this.isComparison(position)) {
+
+            double sign = 1.0;
+            while (position < myTokens && (myKinds[position] == Token.PLUS || myKinds[position] == Token.MINUS)) {
+                if (myKinds[position++] == Token.MINUS) {
+                    sign = -sign;
+                }
+            }
+
+            if (position < myTokens && myKinds[position] == Token.LBRACKET) {
+                position = this.parseQuadratic(position + 1, sign, terms);
+                continue;
+            }
+
+            double factor = sign;
+            boolean number = false;
+            if (position < myTokens && myKinds[position] == Token.NUMBER) {
+                factor *= myNumbers[position++];
+                number = true;
+                if (position < myTokens && myKinds[position] == Token.STAR) {
+                    position++;
+                }
+            }
+
+            if (position < myTokens && myKinds[position] == Token.NAME) {
+                terms.addLinear(this.variable(myNameIds[position++]), factor);
+            } else if (number) {
+                terms.constant += factor;
+            } else {
+                throw new IllegalArgumentException("Invalid term: " + this.describe(from, Math.min(position + 1, myTokens)));
+            }
+        }
+
+        return position;
+    }
+
+    /**
+     * A signed number or infinity
+     *
+     * @return false if there is no value at the position
+     */
+    private boolean parseValue(final int[] position, final double[] value) {
+
+        int token = position[0];
+        double sign = 1.0;
+        while (token < myTokens && (myKinds[token] == Token.PLUS || myKinds[token] == Token.MINUS)) {
+            if (myKinds[token++] == Token.MINUS) {
+                sign = -sign;
+            }
+        }
+
+        if (token < myTokens && myKinds[token] == Token.NUMBER) {
+            value[0] = sign * myNumbers[token];
+        } else if (token < myTokens && this.isInfinity(token)) {
+            value[0] = sign * Double.POSITIVE_INFINITY;
+        } else {
+            return false;
+        }
+
+        position[0] = token + 1;
+        return true;
+    }
+
+    private Token requireComparison(final int token) {
+        if (token >= myTokens || !this.isComparison(token)) {
+            throw new IllegalArgumentException("Expected a comparison: " + this.describe(0, myTokens));
+        }
+        return myKinds[token];
+    }
+
+    private int requireName(final int token) {
+        if (token >= myTokens || myKinds[token] != Token.NAME) {
+            throw new IllegalArgumentException("Expected a name: " + this.describe(0, myTokens));
+        }
+        return myNameIds[token];
+    }
+
+    /**
+     * A, possibly signed, number (or infinity) – advances the cursor past it.
+     */
+    private double requireValue(final int[] cursor) {
+        double[] value = { Double.NaN };
+        if (!this.parseValue(cursor, value)) {
+            throw new IllegalArgumentException("Expected a number: " + this.describe(0, myTokens));
+        }
+        return value[0];
+    }
+
+    private void resetStatement() {
+        myTokens = 0;
+        myComparisons = 0;
+        myExpressionBeforeComparison = false;
+    }
+
+    private Variable variable(final int name) {
+
+        if (name >= myVariables.length) {
+            myVariables = Arrays.copyOf(myVariables, Math.max(2 * myVariables.length, name + 1));
+        }
+
+        Variable retVal = myVariables[name];
+        if (retVal == null) {
+            myVariables[name] = retVal = myModel.newVariable(myNames.name(name)).lower(ZERO);
+        }
+        return retVal;
+    }
+
+}
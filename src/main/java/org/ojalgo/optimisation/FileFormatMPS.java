@@ -23,19 +23,21 @@ package org.ojalgo.optimisation;
 
 import static org.ojalgo.function.constant.BigMath.*;
 
-import java.io.BufferedReader;
-import java.io.IOException;
+import java.io.File;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.math.BigDecimal;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
 
 import org.ojalgo.netio.ASCII;
 
 /**
- * Mathematical Programming System (MPS) parser
+ * Mathematical Programming System (MPS) parser – fixed as well as free format.
+ * <p>
+ * Works directly on the bytes of a memory mapped file (or a buffered stream). Row and column names are
+ * interned in {@link NameTable}s, numbers are parsed without creating strings and the constraint matrix
+ * coefficients are collected in primitive arrays (CSC) – the model's {@link Expression}s are populated once
+ * all the coefficients are known. Lines that can't be split on whitespace, names containing spaces, are
+ * parsed using the original fixed format field positions.
  *
  * @author apete
  */
@@ -191,12 +193,6 @@ final class FileFormatMPS {
             return mySemicontinuous;
         }
 
-        void setRowValue(final String rowName, final BigDecimal value) {
-            Row row = myRows.get(rowName);
-            Expression expression = row.getExpression();
-            expression.set(myVariable, value);
-        }
-
     }
 
     /**
@@ -360,10 +356,6 @@ final class FileFormatMPS {
             return this;
         }
 
-        void setColumnValue(final String columnName, final BigDecimal value) {
-            myExpression.set(myColumns.get(columnName).getVariable(), value);
-        }
-
     }
 
     /**
@@ -392,49 +384,54 @@ final class FileFormatMPS {
         E, G, L, N;
     }
 
-    private static final String COMMENT = "*";
+    private static final byte COMMENT = '*';
     /**
      * Seems to be used in problem headers/comment to mark references to authors and such
      */
-    private static final String COMMENT_REF = "&";
+    private static final byte COMMENT_REF = '&';
     private static final int[] FIELD_START = new int[] { 1, 4, 14, 24, 39, 49, 64 };
     private static final String INTEND = "INTEND";
     private static final String INTORG = "INTORG";
     private static final String MARKER = "MARKER";
     private static final String MAX = "MAX";
-    private static final String SPACE = " ";
 
-    static ExpressionsBasedModel read(final InputStream input) {
+    static ExpressionsBasedModel read(final File file) {
 
         FileFormatMPS retVal = new FileFormatMPS();
 
-        String line;
-        FileSection section = null;
+        LineTokeniser.read(file, retVal::parseLine);
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input))) {
+        return retVal.getModel();
+    }
 
-            while ((line = reader.readLine()) != null) {
+    static ExpressionsBasedModel read(final InputStream input) {
 
-                if (line.length() == 0 || line.startsWith(COMMENT) || line.startsWith(COMMENT_REF)) {
-                    // Skip this line
-                } else if (line.startsWith(SPACE)) {
-                    retVal.parseSectionLine(section, line);
-                } else {
-                    section = retVal.identifySection(line);
-                }
-            }
+        FileFormatMPS retVal = new FileFormatMPS();
 
-        } catch (IOException cause) {
-            throw new RuntimeException(cause);
-        }
+        LineTokeniser.read(input, retVal::parseLine);
 
         return retVal.getModel();
     }
 
-    private final Map<String, Row> myRows = new HashMap<>();
-    private final Map<String, Column> myColumns = new HashMap<>();
-    private final FieldPredicate myExistingColumn = (line, start, index, field) -> myColumns.containsKey(field);
-    private final FieldPredicate myExistingRow = (line, start, index, field) -> myRows.containsKey(field);
+    /**
+     * Avoids creating new instances for the most common coefficients.
+     */
+    static BigDecimal toBigDecimal(final double value) {
+        if (value == ONE.doubleValue()) {
+            return ONE;
+        } else if (value == NEG.doubleValue()) {
+            return NEG;
+        } else {
+            return BigDecimal.valueOf(value);
+        }
+    }
+
+    private int myColumnCount = 0;
+    private final NameTable myColumnNames = new NameTable();
+    private Column[] myColumns = new Column[1024];
+    private int myEntries = 0;
+    private final FieldPredicate myExistingColumn = (line, start, index, field) -> myColumnNames.find(field) >= 0;
+    private final FieldPredicate myExistingRow = (line, start, index, field) -> this.myRowNames.find(field) >= 0;
     private final String[] myFields = new String[6];
     private String myIdBOUNDS = null;
     private String myIdRANGES = null;
@@ -477,6 +474,19 @@ final class FileFormatMPS {
     private final ExpressionsBasedModel myModel;
     private String myName;
     private Expression myQuadObjExpr = null;
+    /**
+     * The constraint matrix in CSC form: {@link #myRunColumns} and {@link #myRunStarts} are the column
+     * pointers (a column normally occupies exactly one run of consecutive entries, but the MPS format does not
+     * require that) and {@link #myRowIndices} and {@link #myValues} are the entries.
+     */
+    private int[] myRowIndices = new int[4096];
+    private final NameTable myRowNames = new NameTable();
+    private Row[] myRows = new Row[1024];
+    private int[] myRunColumns = new int[1024];
+    private int myRuns = 0;
+    private int[] myRunStarts = new int[1024];
+    private FileSection mySection = null;
+    private double[] myValues = new double[4096];
     private final FieldPredicate[] myVerifierBOUNDS;
     private final FieldPredicate[] myVerifierCOLUMNS;
     private final FieldPredicate[] myVerifierQ;
@@ -514,8 +524,101 @@ final class FileFormatMPS {
         return myModel.toString();
     }
 
+    private void addEntry(final int column, final int row, final double value) {
+
+        if (myRuns == 0 || myRunColumns[myRuns - 1] != column) {
+            if (myRuns == myRunColumns.length) {
+                myRunColumns = Arrays.copyOf(myRunColumns, 2 * myRuns);
+                myRunStarts = Arrays.copyOf(myRunStarts, 2 * myRuns);
+            }
+            myRunColumns[myRuns] = column;
+            myRunStarts[myRuns] = myEntries;
+            myRuns++;
+        }
+
+        if (myEntries == myValues.length) {
+            myRowIndices = Arrays.copyOf(myRowIndices, 2 * myEntries);
+            myValues = Arrays.copyOf(myValues, 2 * myEntries);
+        }
+        myRowIndices[myEntries] = row;
+        myValues[myEntries] = value;
+        myEntries++;
+    }
+
+    private void applyBound(final BoundType type, final int column, final BigDecimal value) {
+        myColumns[column].bound(type, value);
+    }
+
+    private void applyQuadratic(final FileSection section, final int column1, final int column2, final BigDecimal value) {
+
+        if (myQuadObjExpr == null) {
+            myQuadObjExpr = myModel.newExpression(section.name()).weight(HALF);
+        }
+
+        Variable var1 = myColumns[column1].getVariable();
+        Variable var2 = myColumns[column2].getVariable();
+
+        myQuadObjExpr.set(var1, var2, value);
+        if (section == FileSection.QUADOBJ && !var1.equals(var2)) {
+            myQuadObjExpr.set(var2, var1, value);
+        }
+    }
+
+    private void applyRow(final RowType type, final int row) {
+
+        String rowName = myRowNames.name(row);
+        if (myIdRowN == null && type == RowType.N) {
+            myIdRowN = rowName;
+        }
+
+        if (row == myRows.length) {
+            myRows = Arrays.copyOf(myRows, 2 * row);
+        }
+        myRows[row] = new Row(rowName, type, myIdRowN);
+    }
+
+    /**
+     * @return The column, created if it did not already exist
+     */
+    private int column(final int column) {
+
+        if (column == myColumnCount) {
+            if (column == myColumns.length) {
+                myColumns = Arrays.copyOf(myColumns, 2 * column);
+            }
+            myColumns[column] = new Column(myColumnNames.name(column));
+            myColumnCount++;
+        }
+
+        if (myIntegerMarker) {
+            myColumns[column].integer(true);
+        }
+
+        return column;
+    }
+
+    private int column(final String name) {
+        int retVal = myColumnNames.find(name);
+        if (retVal < 0) {
+            throw new IllegalArgumentException("Unknown column: " + name);
+        }
+        return retVal;
+    }
+
+    /**
+     * Number as {@link BigDecimal}, or null if it's infinite (a missing bound).
+     */
+    private BigDecimal decimal(final LineTokeniser line, final int token) {
+        if (line.isInfinity(token)) {
+            return null;
+        }
+        return line.toBigDecimal(token);
+    }
+
     private void extractFields(final String line, final FieldPredicate[] verifiers) {
 
+        Arrays.fill(myFields, null);
+
         char tecken;
         int first = -1;
         int limit = -1;
@@ -557,102 +660,92 @@ final class FileFormatMPS {
     }
 
     private ExpressionsBasedModel getModel() {
-        return myModel;
-    }
-
-    private FileSection identifySection(final String line) {
-
-        int tmpSplit = line.indexOf(SPACE);
-        String tmpSection;
-        String tmpArgument;
-        if (tmpSplit != -1) {
-            tmpSection = line.substring(0, tmpSplit).trim();
-            tmpArgument = line.substring(tmpSplit).trim();
-        } else {
-            tmpSection = line.trim();
-            tmpArgument = "";
-        }
-
-        FileSection retVal = FileSection.valueOf(tmpSection);
 
-        switch (retVal) {
-
-            case NAME:
-
-                myName = tmpArgument;
+        for (int r = 0; r < myRuns; r++) {
 
-                break;
-
-            default:
+            Variable variable = myColumns[myRunColumns[r]].getVariable();
 
-                break;
+            for (int k = myRunStarts[r], limit = r + 1 < myRuns ? myRunStarts[r + 1] : myEntries; k < limit; k++) {
+                myRows[myRowIndices[k]].getExpression().set(variable, FileFormatMPS.toBigDecimal(myValues[k]));
+            }
         }
+        myRuns = 0;
+        myEntries = 0;
 
-        return retVal;
+        return myModel;
     }
 
-    private void parseSectionLine(final FileSection section, final String line) {
+    private FileSection identifySection(final LineTokeniser line) {
 
-        Arrays.fill(myFields, null);
+        FileSection retVal = FileSection.valueOf(line.toString(0));
 
-        switch (section) {
+        switch (retVal) {
 
             case NAME:
 
+                String text = line.line();
+                myName = line.count() > 1 ? text.substring(line.first(1) - line.lineFirst()).trim() : "";
+
                 break;
 
             case OBJSENSE:
 
-                if (line.contains(MAX)) {
-                    myModel.setOptimisationSense(Optimisation.Sense.MAX);
-                } else {
-                    myModel.setOptimisationSense(Optimisation.Sense.MIN);
+                if (line.count() > 1) {
+                    this.parseSense(line);
                 }
 
                 break;
 
             case OBJNAME:
 
+                if (line.count() > 1) {
+                    myIdRowN = line.toString(1);
+                }
+
                 break;
 
-            case ROWS:
+            default:
 
-                this.extractFields(line, myVerifierROWS);
+                break;
+        }
 
-                RowType rowType = RowType.valueOf(myFields[0]);
-                String rowName = myFields[1].trim();
-                if (myIdRowN == null && rowType == RowType.N) {
-                    myIdRowN = rowName;
-                }
+        return retVal;
+    }
 
-                myRows.put(myFields[1], new Row(rowName, rowType, myIdRowN));
+    private int indexOf(final BoundType[] types, final LineTokeniser line) {
+        for (int i = 0; i < types.length; i++) {
+            if (line.equals(0, types[i].name())) {
+                return i;
+            }
+        }
+        return -1;
+    }
 
-                break;
+    /**
+     * The fixed format field extraction, with all its heuristics, is only used for lines that could not be
+     * parsed as whitespace separated tokens – typically because some name contains a space.
+     */
+    private void parseFixedFields(final FileSection section, final String line) {
 
-            case COLUMNS:
+        switch (section) {
 
-                if (line.contains(MARKER)) {
+            case ROWS:
 
-                    if (line.contains(INTORG)) {
-                        myIntegerMarker = true;
-                    } else if (line.contains(INTEND)) {
-                        myIntegerMarker = false;
-                    }
+                this.extractFields(line, myVerifierROWS);
 
-                } else {
+                this.applyRow(RowType.valueOf(myFields[0]), myRowNames.intern(myFields[1].trim()));
 
-                    this.extractFields(line, myVerifierCOLUMNS);
+                break;
 
-                    Column tmpColumn = myColumns.computeIfAbsent(myFields[1].trim(), Column::new);
+            case COLUMNS:
 
-                    tmpColumn.setRowValue(myFields[2], new BigDecimal(myFields[3]));
-                    if (myFields[4] != null) {
-                        tmpColumn.setRowValue(myFields[4], new BigDecimal(myFields[5]));
-                    }
+                this.extractFields(line, myVerifierCOLUMNS);
 
-                    if (myIntegerMarker) {
-                        tmpColumn.integer(myIntegerMarker);
-                    }
+                int column = this.column(myColumnNames.intern(myFields[1].trim()));
+
+                this.addEntry(column, this.row(myFields[2]), Double.parseDouble(myFields[3]));
+                if (myFields[4] != null) {
+                    this.addEntry(column, this.row(myFields[4]), Double.parseDouble(myFields[5]));
                 }
 
                 break;
@@ -667,10 +760,9 @@ final class FileFormatMPS {
                     break;
                 }
 
-                myRows.get(myFields[2]).rhs(new BigDecimal(myFields[3]));
-
+                myRows[this.row(myFields[2])].rhs(new BigDecimal(myFields[3]));
                 if (myFields[4] != null) {
-                    myRows.get(myFields[4]).rhs(new BigDecimal(myFields[5]));
+                    myRows[this.row(myFields[4])].rhs(new BigDecimal(myFields[5]));
                 }
 
                 break;
@@ -685,10 +777,9 @@ final class FileFormatMPS {
                     break;
                 }
 
-                myRows.get(myFields[2]).range(new BigDecimal(myFields[3]));
-
+                myRows[this.row(myFields[2])].range(new BigDecimal(myFields[3]));
                 if (myFields[4] != null) {
-                    myRows.get(myFields[4]).range(new BigDecimal(myFields[5]));
+                    myRows[this.row(myFields[4])].range(new BigDecimal(myFields[5]));
                 }
 
                 break;
@@ -703,75 +794,266 @@ final class FileFormatMPS {
                     break;
                 }
 
-                BoundType boundType = BoundType.valueOf(myFields[0]);
-
-                myColumns.get(myFields[2]).bound(boundType, myFields[3] != null ? new BigDecimal(myFields[3]) : null);
+                this.applyBound(BoundType.valueOf(myFields[0]), this.column(myFields[2]), myFields[3] != null ? new BigDecimal(myFields[3]) : null);
 
                 break;
 
             case QUADOBJ:
+            case QMATRIX:
 
                 this.extractFields(line, myVerifierQ);
 
-                if (myQuadObjExpr == null) {
-                    myQuadObjExpr = myModel.newExpression(section.name()).weight(HALF);
+                this.applyQuadratic(section, this.column(myFields[1]), this.column(myFields[2]), new BigDecimal(myFields[3]));
+
+                break;
+
+            default:
+
+                break;
+        }
+    }
+
+    private void parseLine(final LineTokeniser line) {
+
+        if (line.count() == 0) {
+            return;
+        }
+
+        byte first = line.byteAt(line.lineFirst());
+
+        if (first == COMMENT || first == COMMENT_REF) {
+            // Skip this line
+        } else if (line.isIndented()) {
+            if (mySection != null && !this.parseTokens(mySection, line)) {
+                this.parseFixedFields(mySection, line.line());
+            }
+        } else {
+            mySection = this.identifySection(line);
+        }
+    }
+
+    private void parseSense(final LineTokeniser line) {
+        boolean max = false;
+        for (int t = 0; t < line.count(); t++) {
+            max |= line.contains(t, MAX);
+        }
+        myModel.setOptimisationSense(max ? Optimisation.Sense.MAX : Optimisation.Sense.MIN);
+    }
+
+    /**
+     * Parse a section line as whitespace separated tokens (the free MPS format, but fixed format files are
+     * almost always compatible).
+     *
+     * @return false if the line could not be parsed this way
+     */
+    private boolean parseTokens(final FileSection section, final LineTokeniser line) {
+
+        int count = line.count();
+
+        switch (section) {
+
+            case OBJSENSE:
+
+                this.parseSense(line);
+
+                return true;
+
+            case OBJNAME:
+
+                myIdRowN = line.toString(0);
+
+                return true;
+
+            case ROWS:
+
+                if (count != 2 || line.length(0) != 1) {
+                    return false;
+                }
+
+                RowType rowType;
+                switch (line.byteAt(line.first(0))) {
+                    case 'E':
+                        rowType = RowType.E;
+                        break;
+                    case 'G':
+                        rowType = RowType.G;
+                        break;
+                    case 'L':
+                        rowType = RowType.L;
+                        break;
+                    case 'N':
+                        rowType = RowType.N;
+                        break;
+                    default:
+                        return false;
                 }
 
-                Variable var1 = myColumns.get(myFields[1]).getVariable();
-                Variable var2 = myColumns.get(myFields[2]).getVariable();
-                BigDecimal param3 = new BigDecimal(myFields[3]);
+                this.applyRow(rowType, line.intern(1, myRowNames));
 
-                myQuadObjExpr.set(var1, var2, param3);
-                if (!var1.equals(var2)) {
-                    myQuadObjExpr.set(var2, var1, param3);
+                return true;
+
+            case COLUMNS:
+
+                if (count >= 2 && line.contains(1, MARKER)) {
+                    for (int t = 2; t < count; t++) {
+                        if (line.contains(t, INTORG)) {
+                            myIntegerMarker = true;
+                        } else if (line.contains(t, INTEND)) {
+                            myIntegerMarker = false;
+                        }
+                    }
+                    return true;
                 }
 
-                break;
+                if (count != 3 && count != 5) {
+                    return false;
+                }
 
-            case QMATRIX:
+                int row1 = line.find(1, myRowNames);
+                int row2 = count == 5 ? line.find(3, myRowNames) : 0;
+                if (row1 < 0 || row2 < 0) {
+                    return false;
+                }
 
-                this.extractFields(line, myVerifierQ);
+                int column = this.column(line.intern(0, myColumnNames));
 
-                if (myQuadObjExpr == null) {
-                    myQuadObjExpr = myModel.newExpression(section.name()).weight(HALF);
+                this.addEntry(column, row1, line.toDouble(2));
+                if (count == 5) {
+                    this.addEntry(column, row2, line.toDouble(4));
                 }
 
-                Variable varA = myColumns.get(myFields[1]).getVariable();
-                Variable varB = myColumns.get(myFields[2]).getVariable();
-                BigDecimal paramC = new BigDecimal(myFields[3]);
+                return true;
 
-                myQuadObjExpr.set(varA, varB, paramC);
+            case RHS:
+            case RANGES:
 
-                break;
+                if (count < 2 || count > 5) {
+                    return false;
+                }
 
-            case ENDATA:
+                int offset = count % 2;
+                for (int t = offset; t < count; t += 2) {
+                    if (line.find(t, myRowNames) < 0) {
+                        return false;
+                    }
+                }
 
-                break;
+                String set = offset == 1 ? line.toString(0) : "";
+                if (section == FileSection.RHS) {
+                    if (myIdRHS == null) {
+                        myIdRHS = set;
+                    } else if (!myIdRHS.equals(set)) {
+                        return true;
+                    }
+                } else if (myIdRANGES == null) {
+                    myIdRANGES = set;
+                } else if (!myIdRANGES.equals(set)) {
+                    return true;
+                }
+
+                for (int t = offset; t < count; t += 2) {
+                    Row row = myRows[line.find(t, myRowNames)];
+                    if (section == FileSection.RHS) {
+                        row.rhs(line.toBigDecimal(t + 1));
+                    } else {
+                        row.range(line.toBigDecimal(t + 1));
+                    }
+                }
+
+                return true;
+
+            case BOUNDS:
+
+                BoundType[] types = BoundType.values();
+                int type = this.indexOf(types, line);
+                if (type < 0 || count < 2 || count > 4) {
+                    return false;
+                }
+                BoundType boundType = types[type];
+
+                boolean valued;
+                switch (boundType) {
+                    case FR:
+                    case MI:
+                    case PL:
+                    case BV:
+                    case SC:
+                        valued = count == 4 || count == 3 && line.find(1, myColumnNames) >= 0 && line.find(2, myColumnNames) < 0;
+                        break;
+                    default:
+                        valued = true;
+                        break;
+                }
+
+                int nameToken = valued ? count - 2 : count - 1;
+                if (nameToken < 1 || nameToken > 2) {
+                    return false;
+                }
+                int boundColumn = line.find(nameToken, myColumnNames);
+                if (boundColumn < 0) {
+                    return false;
+                }
+
+                String boundSet = nameToken == 2 ? line.toString(1) : "";
+                if (myIdBOUNDS == null) {
+                    myIdBOUNDS = boundSet;
+                } else if (!myIdBOUNDS.equals(boundSet)) {
+                    return true;
+                }
+
+                this.applyBound(boundType, boundColumn, valued ? this.decimal(line, count - 1) : null);
+
+                return true;
+
+            case QUADOBJ:
+            case QMATRIX:
+
+                if (count != 3) {
+                    return false;
+                }
+
+                int column1 = line.find(0, myColumnNames);
+                int column2 = line.find(1, myColumnNames);
+                if (column1 < 0 || column2 < 0) {
+                    return false;
+                }
+
+                this.applyQuadratic(section, column1, column2, line.toBigDecimal(2));
+
+                return true;
 
             default:
 
-                break;
+                return true;
         }
     }
 
+    private int row(final String name) {
+        int retVal = myRowNames.find(name);
+        if (retVal < 0) {
+            throw new IllegalArgumentException("Unknown row: " + name);
+        }
+        return retVal;
+    }
+
     boolean nameColumns(final String line, final String field) {
 
         String[] parts = line.split("\\s+");
 
-        if (parts.length == 7 && field.equals(parts[parts.length - 5]) && myColumns.containsKey(parts[parts.length - 4])
-                && myColumns.containsKey(parts[parts.length - 2])) {
+        if (parts.length == 7 && field.equals(parts[parts.length - 5]) && myColumnNames.find(parts[parts.length - 4]) >= 0
+                && myColumnNames.find(parts[parts.length - 2]) >= 0) {
             return true;
         }
 
-        if (parts.length == 5 && field.equals(parts[parts.length - 3]) && myColumns.containsKey(parts[parts.length - 2])) {
+        if (parts.length == 5 && field.equals(parts[parts.length - 3]) && myColumnNames.find(parts[parts.length - 2]) >= 0) {
             return true;
         }
 
-        if (parts.length == 6 && myColumns.containsKey(parts[parts.length - 4]) && myColumns.containsKey(parts[parts.length - 2])) {
+        if (parts.length == 6 && myColumnNames.find(parts[parts.length - 4]) >= 0 && myColumnNames.find(parts[parts.length - 2]) >= 0) {
             return true;
         }
 
-        if (parts.length == 4 && myColumns.containsKey(parts[parts.length - 2])) {
+        if (parts.length == 4 && myColumnNames.find(parts[parts.length - 2]) >= 0) {
             return true;
         }
 
@@ -782,20 +1064,20 @@ final class FileFormatMPS {
 
         String[] parts = line.split("\\s+");
 
-        if (parts.length == 6 && field.equals(parts[parts.length - 5]) && myRows.containsKey(parts[parts.length - 4])
-                && myRows.containsKey(parts[parts.length - 2])) {
+        if (parts.length == 6 && field.equals(parts[parts.length - 5]) && myRowNames.find(parts[parts.length - 4]) >= 0
+                && myRowNames.find(parts[parts.length - 2]) >= 0) {
             return true;
         }
 
-        if (parts.length == 4 && field.equals(parts[parts.length - 3]) && myRows.containsKey(parts[parts.length - 2])) {
+        if (parts.length == 4 && field.equals(parts[parts.length - 3]) && myRowNames.find(parts[parts.length - 2]) >= 0) {
             return true;
         }
 
-        if (parts.length == 5 && myRows.containsKey(parts[parts.length - 4]) && myRows.containsKey(parts[parts.length - 2])) {
+        if (parts.length == 5 && myRowNames.find(parts[parts.length - 4]) >= 0 && myRowNames.find(parts[parts.length - 2]) >= 0) {
             return true;
         }
 
-        if (parts.length == 3 && myRows.containsKey(parts[parts.length - 2])) {
+        if (parts.length == 3 && myRowNames.find(parts[parts.length - 2]) >= 0) {
             return true;
         }
 
@@ -537,6 +537,7 @@ public abstract class GenericSolver implements Optimisation.Solver {
     private transient String myClassSimpleName = null;
 
     private final AtomicInteger myIterationsCount = new AtomicInteger(0);
+    private int myIterationsLimit = Integer.MAX_VALUE;
     private final Stopwatch myStopwatch = new Stopwatch();
 
     protected State state = State.UNEXPLORED;
@@ -550,6 +551,15 @@ public abstract class GenericSolver implements Optimisation.Solver {
         options = optimisationOptions;
     }
 
+    /**
+     * Limit the number of iterations of this solver instance, in addition to
+     * {@link Optimisation.Options#iterations_abort} (the options are often shared by many solvers).
+     * {@link Integer#MAX_VALUE} removes the limit.
+     */
+    public final void limitIterations(final int limit) {
+        myIterationsLimit = limit;
+    }
+
     protected final int countIterations() {
         return myIterationsCount.get();
     }
@@ -610,7 +620,7 @@ public abstract class GenericSolver implements Optimisation.Solver {
             return false;
         }
 
-        if (this.countTime() >= options.time_abort || this.countIterations() >= options.iterations_abort) {
+        if (this.countTime() >= options.time_abort || this.countIterations() >= Math.min(options.iterations_abort, myIterationsLimit)) {
             return false;
         }
 
@@ -22,11 +22,18 @@
 package org.ojalgo.optimisation;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
 
 import org.ojalgo.function.constant.PrimitiveMath;
 import org.ojalgo.netio.BasicLogger;
+import org.ojalgo.optimisation.ExpressionsBasedModel.EntityMap;
 import org.ojalgo.optimisation.integer.IntegerSolver;
 import org.ojalgo.structure.Access1D;
+import org.ojalgo.structure.Structure1D.IntIndex;
 
 /**
  * A {@link Optimisation.Solver} implementation that wraps an {@link ExpressionsBasedModel}. Intended to be
@@ -37,6 +44,11 @@ import org.ojalgo.structure.Access1D;
  */
 public abstract class IntermediateSolver implements Optimisation.Solver {
 
+    /**
+     * Expression name -> solver constraint indices. Lazily derived from the solver's {@link EntityMap}, and
+     * cleared whenever the solver is (re)generated.
+     */
+    private transient Map<String, int[]> myConstraintIndices = null;
     private boolean myInPlaceUpdatesOK = true;
     private transient ExpressionsBasedModel.Integration<?> myIntegration = null;
     private final ExpressionsBasedModel myModel;
@@ -51,6 +63,17 @@ public abstract class IntermediateSolver implements Optimisation.Solver {
         myResult = null;
     }
 
+    /**
+     * @return The number of iterations the underlying solver needed to produce its latest result, or 0 if
+     *         not known (no solver, or not a {@link GenericSolver})
+     */
+    public int countIterations() {
+        if (mySolver instanceof GenericSolver) {
+            return ((GenericSolver) mySolver).countIterations();
+        }
+        return 0;
+    }
+
     @Override
     public void dispose() {
 
@@ -69,6 +92,7 @@ public abstract class IntermediateSolver implements Optimisation.Solver {
     public void reset() {
 
         myResult = null;
+        myConstraintIndices = null;
 
         if (mySolver != null) {
             mySolver.dispose();
@@ -87,9 +111,7 @@ public abstract class IntermediateSolver implements Optimisation.Solver {
 
         if (cold) {
 
-            if (myModel.getEnvironment().countPresolvers() > 0) {
-                myModel.presolve();
-            }
+            this.presolve();
 
             if (myModel.isInfeasible()) {
 
@@ -144,6 +166,30 @@ public abstract class IntermediateSolver implements Optimisation.Solver {
         return myModel.toString();
     }
 
+    /**
+     * The {@link Expression} instance should come from the enclosed {@link ExpressionsBasedModel} instance.
+     * It is assumed that its lower and/or upper limits have been modified (the model is already updated) and
+     * this call will update the solver. Changing the constraint type (e.g. removing a limit, or adding one
+     * that wasn't there before) requires the solver to be re-generated, and so does changing the
+     * expression's factors.
+     */
+    public void update(final Expression expression) {
+
+        if (myInPlaceUpdatesOK && mySolver instanceof UpdatableSolver) {
+            UpdatableSolver updatableSolver = (UpdatableSolver) mySolver;
+
+            if (this.updateLimits(updatableSolver, expression)) {
+                // Solver updated in-place
+                return;
+            }
+
+            myInPlaceUpdatesOK = false;
+        }
+
+        // Solver will be re-generated
+        mySolver = null;
+    }
+
     /**
      * As {@link #update(Variable)}, but takes the variable's global (model) index and new bounds directly -
      * no {@link Variable} or {@code BigDecimal} instances needed. The model {@link Variable} itself is not
@@ -211,6 +257,32 @@ public abstract class IntermediateSolver implements Optimisation.Solver {
         mySolver = null;
     }
 
+    /**
+     * As {@link #update(int, double, double)} this does not modify the model – the (linear) objective
+     * function weight of the variable is changed in the solver only. The weight should be the total weight,
+     * as defined by the model, of that variable. If the solver can't be updated in-place it will be
+     * re-generated from the model (losing this change).
+     */
+    public void updateObjective(final int globalIndex, final double weight) {
+
+        if (myInPlaceUpdatesOK && mySolver instanceof UpdatableSolver) {
+            UpdatableSolver updatableSolver = (UpdatableSolver) mySolver;
+
+            int indexInSolver = this.getIndexInSolver(globalIndex);
+            double solverWeight = myModel.getOptimisationSense() == Optimisation.Sense.MAX ? -weight : weight;
+
+            if (indexInSolver >= 0 && updatableSolver.updateObjective(indexInSolver, solverWeight)) {
+                // Solver updated in-place
+                return;
+            }
+
+            myInPlaceUpdatesOK = false;
+        }
+
+        // Solver will be re-generated
+        mySolver = null;
+    }
+
     /**
      * Always performs validation directly using
      * {@link ExpressionsBasedModel#validate(Access1D, BasicLogger)}.
@@ -219,6 +291,89 @@ public abstract class IntermediateSolver implements Optimisation.Solver {
         return myModel.validate(solution, appender);
     }
 
+    private Map<String, int[]> getConstraintIndices(final EntityMap entityMap) {
+
+        if (myConstraintIndices == null) {
+
+            myConstraintIndices = new HashMap<>();
+
+            for (int i = 0, limit = entityMap.countConstraints(); i < limit; i++) {
+                String name = entityMap.getConstraint(i).left().getName();
+                int[] indices = myConstraintIndices.get(name);
+                if (indices == null) {
+                    indices = new int[] { i };
+                } else {
+                    indices = Arrays.copyOf(indices, indices.length + 1);
+                    indices[indices.length - 1] = i;
+                }
+                myConstraintIndices.put(name, indices);
+            }
+        }
+
+        return myConstraintIndices;
+    }
+
+    private boolean updateLimits(final UpdatableSolver solver, final Expression expression) {
+
+        Optional<EntityMap> entityMap = solver.getEntityMap();
+        if (!entityMap.isPresent()) {
+            return false;
+        }
+
+        int[] indices = this.getConstraintIndices(entityMap.get()).get(expression.getName());
+        if (indices == null) {
+            // Not a constraint in the solver – fine as long as it still isn't a constraint
+            return !expression.isConstraint();
+        }
+
+        // Variables fixed when the solver was generated are not in the solver, their contribution was
+        // compensated for in the RHS.
+        BigDecimal compensation = BigDecimal.ZERO;
+        for (Entry<IntIndex, BigDecimal> entry : expression.getLinearEntrySet()) {
+            if (myModel.indexOfFreeVariable(entry.getKey()) < 0) {
+                compensation = compensation.add(entry.getValue().multiply(myModel.getVariable(entry.getKey()).getValue()));
+            }
+        }
+
+        BigDecimal lower = expression.getCompensatedLowerLimit(compensation);
+        BigDecimal upper = expression.getCompensatedUpperLimit(compensation);
+
+        int nbExpected = expression.isEqualityConstraint() ? 1 : (lower != null ? 1 : 0) + (upper != null ? 1 : 0);
+        if (indices.length != nbExpected) {
+            return false;
+        }
+
+        for (int i = 0; i < indices.length; i++) {
+
+            int index = indices[i];
+            ConstraintType type = entityMap.get().getConstraint(index).right();
+
+            BigDecimal limit;
+            if (type == ConstraintType.EQUALITY) {
+                limit = expression.isEqualityConstraint() ? upper : null;
+            } else if (type == ConstraintType.LOWER) {
+                limit = expression.isEqualityConstraint() ? null : lower;
+            } else {
+                limit = expression.isEqualityConstraint() ? null : upper;
+            }
+
+            if (limit == null || !solver.updateRHS(index, limit.doubleValue())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Called, on a cold start, before the solver is generated.
+     */
+    void presolve() {
+        if (myModel.getEnvironment().countPresolvers() > 0) {
+            myModel.presolve();
+        }
+    }
+
     protected Optimisation.Solver generateSolver(final ExpressionsBasedModel model) {
         return this.getIntegration().build(model);
     }
@@ -249,6 +404,7 @@ public abstract class IntermediateSolver implements Optimisation.Solver {
     protected final Optimisation.Solver getSolver() {
         if (mySolver == null) {
             mySolver = this.generateSolver(myModel);
+            myConstraintIndices = null;
         }
         return mySolver;
     }
@@ -0,0 +1,316 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.ojalgo.netio.NumericColumnsParser;
+
+/**
+ * Byte level line reader and whitespace tokeniser used by the file format parsers. Files are memory mapped
+ * (in windows of at most {@link #WINDOW} bytes) and input streams are read in to a reusable heap buffer. The
+ * current line is split in to whitespace separated tokens, recorded as [first, limit) byte ranges, and
+ * nothing is converted to {@link String} unless explicitly asked for.
+ *
+ * @author apete
+ */
+final class LineTokeniser {
+
+    @FunctionalInterface
+    interface LineHandler {
+
+        void handle(LineTokeniser line);
+
+    }
+
+    private static final int CHUNK = 1 << 20;
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+    private static final int WINDOW = 1 << 30;
+
+    static boolean isSpace(final byte b) {
+        return b == ' ' || b == '\t' || b == CR || b == '\f';
+    }
+
+    static void read(final File file, final LineHandler handler) {
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+
+            LineTokeniser tokeniser = new LineTokeniser();
+
+            long size = channel.size();
+            long position = 0L;
+
+            while (position < size) {
+
+                int length = (int) Math.min(WINDOW, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+                boolean last = position + length == size;
+                int consumed = tokeniser.lines(window, length, last, handler);
+                if (consumed == 0) {
+                    throw new IllegalStateException("Line too long at byte " + position + "!");
+                }
+
+                position += consumed;
+            }
+
+        } catch (IOException cause) {
+            throw new RuntimeException(cause);
+        }
+    }
+
+    static void read(final InputStream input, final LineHandler handler) {
+
+        LineTokeniser tokeniser = new LineTokeniser();
+
+        byte[] bytes = new byte[CHUNK];
+        int used = 0;
+
+        try {
+
+            for (int read; (read = input.read(bytes, used, bytes.length - used)) != -1;) {
+
+                used += read;
+
+                if (used == bytes.length) {
+                    int consumed = tokeniser.lines(ByteBuffer.wrap(bytes), used, false, handler);
+                    if (consumed == 0) {
+                        bytes = Arrays.copyOf(bytes, 2 * bytes.length);
+                    } else {
+                        System.arraycopy(bytes, consumed, bytes, 0, used - consumed);
+                        used -= consumed;
+                    }
+                }
+            }
+
+            tokeniser.lines(ByteBuffer.wrap(bytes), used, true, handler);
+
+        } catch (IOException cause) {
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private ByteBuffer myBuffer = null;
+    private int myCount = 0;
+    private int[] myFirst = new int[16];
+    private int[] myLimit = new int[16];
+    private int myLineFirst = 0;
+    private int myLineLimit = 0;
+
+    LineTokeniser() {
+        super();
+    }
+
+    byte byteAt(final int index) {
+        return myBuffer.get(index);
+    }
+
+    /**
+     * @return true if the token contains the ASCII text
+     */
+    boolean contains(final int token, final String text) {
+        int length = text.length();
+        for (int i = myFirst[token], last = myLimit[token] - length; i <= last; i++) {
+            if (this.matches(i, text)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int count() {
+        return myCount;
+    }
+
+    /**
+     * @return true if the token is exactly the (ASCII) text
+     */
+    boolean equals(final int token, final String text) {
+        return myLimit[token] - myFirst[token] == text.length() && this.matches(myFirst[token], text);
+    }
+
+    int find(final int token, final NameTable names) {
+        return names.find(myBuffer, myFirst[token], myLimit[token]);
+    }
+
+    int first(final int token) {
+        return myFirst[token];
+    }
+
+    ByteBuffer getBuffer() {
+        return myBuffer;
+    }
+
+    int intern(final int token, final NameTable names) {
+        return names.intern(myBuffer, myFirst[token], myLimit[token]);
+    }
+
+    /**
+     * @return true if the line starts with whitespace (which is significant in the MPS format)
+     */
+    boolean isIndented() {
+        return myLineLimit > myLineFirst && LineTokeniser.isSpace(myBuffer.get(myLineFirst));
+    }
+
+    /**
+     * @return true if the token is "inf" or "infinity" (any case, optionally signed)
+     */
+    boolean isInfinity(final int token) {
+        int first = myFirst[token];
+        byte sign = myBuffer.get(first);
+        if (sign == '-' || sign == '+') {
+            first++;
+        }
+        int length = myLimit[token] - first;
+        if (length != 3 && length != 8) {
+            return false;
+        }
+        String infinity = "infinity";
+        for (int i = 0; i < length; i++) {
+            if (Character.toLowerCase((char) myBuffer.get(first + i)) != infinity.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int length(final int token) {
+        return myLimit[token] - myFirst[token];
+    }
+
+    int limit(final int token) {
+        return myLimit[token];
+    }
+
+    /**
+     * The full current line, decoded as ISO-8859-1 (one char per byte) to agree with the {@link NameTable}.
+     */
+    String line() {
+        byte[] bytes = new byte[myLineLimit - myLineFirst];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = myBuffer.get(myLineFirst + i);
+        }
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    int lineFirst() {
+        return myLineFirst;
+    }
+
+    int lineLimit() {
+        return myLineLimit;
+    }
+
+    BigDecimal toBigDecimal(final int token) {
+        char[] chars = new char[myLimit[token] - myFirst[token]];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) myBuffer.get(myFirst[token] + i);
+        }
+        return new BigDecimal(chars);
+    }
+
+    double toDouble(final int token) {
+        return NumericColumnsParser.parseDouble(myBuffer, myFirst[token], myLimit[token]);
+    }
+
+    String toString(final int token) {
+        char[] chars = new char[myLimit[token] - myFirst[token]];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) (myBuffer.get(myFirst[token] + i) & 0xFF);
+        }
+        return new String(chars);
+    }
+
+    private int lines(final ByteBuffer buffer, final int limit, final boolean last, final LineHandler handler) {
+
+        myBuffer = buffer;
+
+        int first = 0;
+
+        for (int i = 0; i < limit; i++) {
+            if (buffer.get(i) == LF) {
+                this.tokenise(first, i);
+                handler.handle(this);
+                first = i + 1;
+            }
+        }
+
+        if (last && first < limit) {
+            this.tokenise(first, limit);
+            handler.handle(this);
+            first = limit;
+        }
+
+        return first;
+    }
+
+    private boolean matches(final int index, final String text) {
+        for (int j = 0, length = text.length(); j < length; j++) {
+            if (myBuffer.get(index + j) != text.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void tokenise(final int first, final int limit) {
+
+        int lineLimit = limit;
+        while (lineLimit > first && myBuffer.get(lineLimit - 1) == CR) {
+            lineLimit--;
+        }
+
+        myLineFirst = first;
+        myLineLimit = lineLimit;
+        myCount = 0;
+
+        for (int i = first; i < lineLimit;) {
+            while (i < lineLimit && LineTokeniser.isSpace(myBuffer.get(i))) {
+                i++;
+            }
+            if (i < lineLimit) {
+                int start = i;
+                while (i < lineLimit && !LineTokeniser.isSpace(myBuffer.get(i))) {
+                    i++;
+                }
+                if (myCount == myFirst.length) {
+                    myFirst = Arrays.copyOf(myFirst, 2 * myCount);
+                    myLimit = Arrays.copyOf(myLimit, 2 * myCount);
+                }
+                myFirst[myCount] = start;
+                myLimit[myCount] = i;
+                myCount++;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Interns (ASCII) names, given as byte ranges, into consecutive int id:s using an open-addressing (linear
+ * probing) hash table. The name bytes are copied into one contiguous array and a {@link String} is only
+ * created when (if) {@link #name(int)} is called.
+ *
+ * @author apete
+ */
+final class NameTable {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static int hash(final ByteBuffer buffer, final int from, final int to) {
+        int retVal = 1;
+        for (int i = from; i < to; i++) {
+            retVal = 31 * retVal + buffer.get(i);
+        }
+        return retVal ^ retVal >>> 16;
+    }
+
+    private static int hash(final String name) {
+        int retVal = 1;
+        for (int i = 0, limit = name.length(); i < limit; i++) {
+            retVal = 31 * retVal + (byte) name.charAt(i);
+        }
+        return retVal ^ retVal >>> 16;
+    }
+
+    private byte[] myBytes = new byte[16 * INITIAL_CAPACITY];
+    private int myBytesUsed = 0;
+    private int[] myHashes = new int[INITIAL_CAPACITY];
+    private int[] myLengths = new int[INITIAL_CAPACITY];
+    private String[] myNames = new String[INITIAL_CAPACITY];
+    private int[] myOffsets = new int[INITIAL_CAPACITY];
+    private int mySize = 0;
+    /**
+     * Id + 1 of the name occupying each slot, 0 means empty. Always at least twice as many slots as names.
+     */
+    private int[] mySlots = new int[2 * INITIAL_CAPACITY];
+
+    NameTable() {
+        super();
+    }
+
+    /**
+     * @return The id of the name, or -1 if not (yet) interned
+     */
+    int find(final ByteBuffer buffer, final int from, final int to) {
+
+        int hash = NameTable.hash(buffer, from, to);
+        int mask = mySlots.length - 1;
+
+        for (int s = hash & mask; mySlots[s] != 0; s = s + 1 & mask) {
+            int id = mySlots[s] - 1;
+            if (myHashes[id] == hash && this.matches(id, buffer, from, to)) {
+                return id;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return The id of the name, or -1 if not (yet) interned
+     */
+    int find(final String name) {
+
+        int hash = NameTable.hash(name);
+        int mask = mySlots.length - 1;
+
+        for (int s = hash & mask; mySlots[s] != 0; s = s + 1 & mask) {
+            int id = mySlots[s] - 1;
+            if (myHashes[id] == hash && this.matches(id, name)) {
+                return id;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return The id of the name – existing or newly assigned (equal to the previous {@link #size()}).
+     */
+    int intern(final ByteBuffer buffer, final int from, final int to) {
+
+        int hash = NameTable.hash(buffer, from, to);
+        int mask = mySlots.length - 1;
+
+        int s = hash & mask;
+        for (; mySlots[s] != 0; s = s + 1 & mask) {
+            int id = mySlots[s] - 1;
+            if (myHashes[id] == hash && this.matches(id, buffer, from, to)) {
+                return id;
+            }
+        }
+
+        int length = to - from;
+        this.ensureCapacity(length);
+
+        for (int i = 0; i < length; i++) {
+            myBytes[myBytesUsed + i] = buffer.get(from + i);
+        }
+
+        return this.add(s, hash, length);
+    }
+
+    /**
+     * @see #intern(ByteBuffer, int, int)
+     */
+    int intern(final String name) {
+
+        int hash = NameTable.hash(name);
+        int mask = mySlots.length - 1;
+
+        int s = hash & mask;
+        for (; mySlots[s] != 0; s = s + 1 & mask) {
+            int id = mySlots[s] - 1;
+            if (myHashes[id] == hash && this.matches(id, name)) {
+                return id;
+            }
+        }
+
+        int length = name.length();
+        this.ensureCapacity(length);
+
+        for (int i = 0; i < length; i++) {
+            myBytes[myBytesUsed + i] = (byte) name.charAt(i);
+        }
+
+        return this.add(s, hash, length);
+    }
+
+    String name(final int id) {
+        String retVal = myNames[id];
+        if (retVal == null) {
+            char[] chars = new char[myLengths[id]];
+            for (int i = 0, offset = myOffsets[id]; i < chars.length; i++) {
+                chars[i] = (char) (myBytes[offset + i] & 0xFF);
+            }
+            myNames[id] = retVal = new String(chars);
+        }
+        return retVal;
+    }
+
+    int size() {
+        return mySize;
+    }
+
+    private int add(final int slot, final int hash, final int length) {
+
+        int id = mySize++;
+
+        myOffsets[id] = myBytesUsed;
+        myLengths[id] = length;
+        myHashes[id] = hash;
+        myBytesUsed += length;
+
+        mySlots[slot] = id + 1;
+
+        if (2 * mySize > mySlots.length) {
+            this.rehash();
+        }
+
+        return id;
+    }
+
+    private void ensureCapacity(final int length) {
+
+        if (myBytesUsed + length > myBytes.length) {
+            myBytes = Arrays.copyOf(myBytes, Math.max(2 * myBytes.length, myBytesUsed + length));
+        }
+
+        if (mySize == myOffsets.length) {
+            int capacity = 2 * mySize;
+            myOffsets = Arrays.copyOf(myOffsets, capacity);
+            myLengths = Arrays.copyOf(myLengths, capacity);
+            myHashes = Arrays.copyOf(myHashes, capacity);
+            myNames = Arrays.copyOf(myNames, capacity);
+        }
+    }
+
+    private boolean matches(final int id, final ByteBuffer buffer, final int from, final int to) {
+        int length = myLengths[id];
+        if (length != to - from) {
+            return false;
+        }
+        for (int i = 0, offset = myOffsets[id]; i < length; i++) {
+            if (myBytes[offset + i] != buffer.get(from + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matches(final int id, final String name) {
+        int length = myLengths[id];
+        if (length != name.length()) {
+            return false;
+        }
+        for (int i = 0, offset = myOffsets[id]; i < length; i++) {
+            if (myBytes[offset + i] != (byte) name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash() {
+
+        int[] slots = new int[2 * mySlots.length];
+        int mask = slots.length - 1;
+
+        for (int id = 0; id < mySize; id++) {
+            int s = myHashes[id] & mask;
+            while (slots[s] != 0) {
+                s = s + 1 & mask;
+            }
+            slots[s] = id + 1;
+        }
+
+        mySlots = slots;
+    }
+
+}
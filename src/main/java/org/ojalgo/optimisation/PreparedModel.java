@@ -0,0 +1,90 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation;
+
+import java.math.BigDecimal;
+
+import org.ojalgo.structure.Structure1D.IntIndex;
+
+/**
+ * A model prepared to be solved repeatedly – same structure, but changing parameters. Obtain an instance by
+ * calling {@link ExpressionsBasedModel#prepare(Optimisation.Sense)}.
+ * <p>
+ * Between solves you change the model's variable bounds, constraint limits or objective function weights, and
+ * then call the matching update method:
+ * <ul>
+ * <li>{@link #update(Variable)} after changing a variable's lower/upper limits
+ * <li>{@link #update(Expression)} after changing a constraint's lower/upper limits
+ * <li>{@link #updateObjective(Variable)} after changing a variable's (or an objective expression's) weight
+ * </ul>
+ * Whenever possible the solver (with its basis factorisation) is updated in-place and then re-solved warm,
+ * starting from the previous basis. Otherwise it is re-generated, from the current model, on the next solve.
+ * With the linear (simplex) solver bound and limit changes are always done in-place, and so are objective
+ * changes with the sparse/revised implementation.
+ * <p>
+ * Compared to {@link ExpressionsBasedModel#minimise()} and {@link ExpressionsBasedModel#maximise()}:
+ * <ul>
+ * <li>The model is not presolved. Presolve reductions are derived from the very bounds and limits that are
+ * updated, and would not remain valid.
+ * <li>The solution is not written back to the model, and not validated by the model.
+ * </ul>
+ */
+public final class PreparedModel extends IntermediateSolver {
+
+    PreparedModel(final ExpressionsBasedModel model) {
+        super(model);
+    }
+
+    /**
+     * The {@link Variable} instance should come from the enclosed {@link ExpressionsBasedModel} instance. It
+     * is assumed that its contribution weight, or that of an objective {@link Expression} it is part of, has
+     * been modified (the model is already updated) and this call will update the solver.
+     */
+    public void updateObjective(final Variable variable) {
+
+        ExpressionsBasedModel model = this.getModel();
+        IntIndex key = variable.getIndex();
+
+        BigDecimal weight = variable.isObjective() ? variable.getContributionWeight() : BigDecimal.ZERO;
+
+        for (Expression expression : model.getExpressions()) {
+            if (expression.isObjective()) {
+                BigDecimal factor = expression.get(key);
+                if (factor.signum() != 0) {
+                    weight = weight.add(expression.getContributionWeight().multiply(factor));
+                }
+            }
+        }
+
+        this.updateObjective(key.index, weight.doubleValue());
+    }
+
+    /**
+     * No presolve, but the variables need to be (re)categorised – they may have become fixed, or no longer
+     * be fixed, since the previous solver was generated.
+     */
+    @Override
+    void presolve() {
+        this.getModel().updateVariablesCategorisation();
+    }
+
+}
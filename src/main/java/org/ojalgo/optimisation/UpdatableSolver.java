@@ -97,6 +97,18 @@ public interface UpdatableSolver extends Optimisation.Solver {
      */
     double getReducedGradient(int index);
 
+    /**
+     * Change the (linear) objective function weight of a solver variable. The weight is given as if the
+     * problem was a minimisation – for a maximisation problem the model weight should be negated.
+     *
+     * @param index  solver-internal variable index (as defined by {@link EntityMap})
+     * @param weight the new objective function weight
+     * @return {@code true} if successfully applied
+     */
+    default boolean updateObjective(final int index, final double weight) {
+        return false;
+    }
+
     /**
      * Tighten the bounds of a solver variable by intersecting with the given range. Generalises
      * {@link #fixVariable(int, double)} (fixing ≡ {@code updateRange(index, value, value)}).
@@ -110,4 +122,17 @@ public interface UpdatableSolver extends Optimisation.Solver {
         return false;
     }
 
+    /**
+     * Change the right-hand-side of a constraint. The constraint keeps its type (upper, lower or equality) –
+     * it's just the limit that changes.
+     *
+     * @param index solver-internal constraint index (as defined by {@link EntityMap#getConstraint(int)})
+     * @param rhs   the new limit, in model units, compensated for any variables that were fixed when the
+     *              solver was built
+     * @return {@code true} if successfully applied
+     */
+    default boolean updateRHS(final int index, final double rhs) {
+        return false;
+    }
+
 }
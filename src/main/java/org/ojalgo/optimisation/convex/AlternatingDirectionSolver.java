@@ -826,7 +826,7 @@ final class AlternatingDirectionSolver extends ConvexSolver implements Updatable
 
         this.updateRho(true, false);
 
-        myKKT = FactorKKT.of(data.P, data.A, Configuration.SIGMA, myWork.rho);
+        myKKT = FactorKKT.of(data.P, data.A, Configuration.SIGMA, myWork.rho, options.convex().newOrdering());
 
         state = State.UNEXPLORED;
     }
@@ -261,6 +261,35 @@ abstract class BasePrimitiveSolver extends ConvexSolver implements UpdatableSolv
         return myMatrices.toString();
     }
 
+    /**
+     * Only the linear part of the objective function changes, the factorisation of [Q] is kept and re-used.
+     */
+    @Override
+    public boolean updateObjective(final int index, final double weight) {
+
+        if (!myMatrices.updateObjective(index, weight)) {
+            return false;
+        }
+
+        myCachedReducedGradient = null;
+        state = State.UNEXPLORED;
+
+        return true;
+    }
+
+    @Override
+    public boolean updateRHS(final int index, final double rhs) {
+
+        if (!myMatrices.updateRHS(index, rhs)) {
+            return false;
+        }
+
+        myCachedReducedGradient = null;
+        state = State.UNEXPLORED;
+
+        return true;
+    }
+
     protected Optimisation.Result buildResult() {
 
         Access1D<?> solution = this.extractSolution();
@@ -413,17 +442,20 @@ abstract class BasePrimitiveSolver extends ConvexSolver implements UpdatableSolv
             this.log(Q_NOT_SYMMETRIC, matrixQ);
         }
 
-        myPatchedQ = false;
-        myZeroQ = false;
-        if (!mySolverQ.isComputed() && !mySolverQ.compute(matrixQ)) {
-            double largest = matrixQ.aggregateAll(Aggregator.LARGEST).doubleValue();
-            double small = options.convex().smallDiagonal();
-            if (largest > small) {
-                matrixQ.modifyDiagonal(ADD.by(small * largest));
-                mySolverQ.compute(matrixQ);
-                myPatchedQ = true;
-            } else {
-                myZeroQ = true;
+        if (!mySolverQ.isComputed()) {
+            // When re-solving (after in-place updates) the factorisation, and how [Q] was patched, is kept
+            myPatchedQ = false;
+            myZeroQ = false;
+            if (!mySolverQ.compute(matrixQ)) {
+                double largest = matrixQ.aggregateAll(Aggregator.LARGEST).doubleValue();
+                double small = options.convex().smallDiagonal();
+                if (largest > small) {
+                    matrixQ.modifyDiagonal(ADD.by(small * largest));
+                    mySolverQ.compute(matrixQ);
+                    myPatchedQ = true;
+                } else {
+                    myZeroQ = true;
+                }
             }
         }
 
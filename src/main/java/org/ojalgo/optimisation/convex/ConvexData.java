@@ -29,6 +29,7 @@ import org.ojalgo.matrix.store.MatrixStore;
 import org.ojalgo.matrix.store.PhysicalStore;
 import org.ojalgo.matrix.store.RowsSupplier;
 import org.ojalgo.optimisation.ConstraintsMetaData;
+import org.ojalgo.optimisation.Expression;
 import org.ojalgo.optimisation.ExpressionsBasedModel;
 import org.ojalgo.optimisation.ModelEntity;
 import org.ojalgo.structure.Access1D;
@@ -50,6 +51,11 @@ public final class ConvexData<N extends Comparable<N>> implements ExpressionsBas
     private final PhysicalStore<N> myBI;
     private final ConstraintsMetaData myConstraintsMetaData;
     private final ConvexObjectiveFunction<N> myObjective;
+    /**
+     * The factor model objective weights were scaled by, or NaN if the linear part can't be updated from
+     * model weights alone (it was compensated for fixed variables, or generated).
+     */
+    private double myObjectiveFactor = Double.NaN;
     private final int[] myVariableIndices;
 
     ConvexData(final boolean inclMap, final PhysicalStore.Factory<N, ?> factory, final int nbVars, final int nbEqus, final int nbInes) {
@@ -321,6 +327,10 @@ public final class ConvexData<N extends Comparable<N>> implements ExpressionsBas
         myObjective.quadratic().set(row, col, value);
     }
 
+    void setObjectiveFactor(final double factor) {
+        myObjectiveFactor = factor;
+    }
+
     void setVariableIndices(final int indexInSolver, final int indexInModel) {
         myVariableIndices[indexInSolver] = indexInModel;
     }
@@ -331,4 +341,49 @@ public final class ConvexData<N extends Comparable<N>> implements ExpressionsBas
         myBI.fillMatching(mtrxBI);
     }
 
+    /**
+     * @param index  Solver variable index
+     * @param weight The (unadjusted) linear objective weight, as if minimising
+     */
+    boolean updateObjective(final int index, final double weight) {
+
+        if (Double.isNaN(myObjectiveFactor) || index < 0 || index >= this.countVariables() || !Double.isFinite(weight)) {
+            return false;
+        }
+
+        myObjective.linear().set(index, 0, -weight * myObjectiveFactor);
+
+        return true;
+    }
+
+    /**
+     * @param index Constraint index, as defined by this {@link ExpressionsBasedModel.EntityMap}
+     * @param rhs   The (unadjusted) constraint limit
+     */
+    boolean updateRHS(final int index, final double rhs) {
+
+        if (!this.isEntityMap() || index < 0 || index >= this.countConstraints() || !Double.isFinite(rhs)) {
+            return false;
+        }
+
+        EntryPair<ModelEntity<?>, ConstraintType> constraint = myConstraintsMetaData.getEntry(index);
+        if (!(constraint.left() instanceof Expression)) {
+            // Variable bounds (not adjusted) are not updated this way
+            return false;
+        }
+
+        double adjusted = rhs * constraint.left().getAdjustmentFactor();
+
+        int nbEqus = this.countEqualityConstraints();
+        if (index < nbEqus) {
+            myBE.set(index, 0, adjusted);
+        } else if (constraint.right() == ConstraintType.LOWER) {
+            myBI.set(index - nbEqus, 0, -adjusted);
+        } else {
+            myBI.set(index - nbEqus, 0, adjusted);
+        }
+
+        return true;
+    }
+
 }
@@ -36,8 +36,11 @@ import org.ojalgo.array.ArrayR064;
 import org.ojalgo.array.SparseArray.NonzeroView;
 import org.ojalgo.function.constant.BigMath;
 import org.ojalgo.matrix.decomposition.Cholesky;
+import org.ojalgo.matrix.decomposition.FillReducingOrdering;
 import org.ojalgo.matrix.decomposition.LU;
 import org.ojalgo.matrix.decomposition.MatrixDecomposition;
+import org.ojalgo.matrix.decomposition.MinimumDegree;
+import org.ojalgo.matrix.decomposition.NestedDissection;
 import org.ojalgo.matrix.store.GenericStore;
 import org.ojalgo.matrix.store.MatrixStore;
 import org.ojalgo.matrix.store.PhysicalStore;
@@ -409,6 +412,7 @@ public abstract class ConvexSolver extends GenericSolver {
         private boolean myCombinedScaleFactor = true;
         private boolean myExtendedPrecision = false;
         private NumberContext myIterativeAccuracy = NumberContext.of(10, 16).withMode(RoundingMode.HALF_DOWN);
+        private Supplier<FillReducingOrdering> myOrdering = MinimumDegree::new;
         private Supplier<Preconditioner> myIterativePreconditioner = SSORPreconditioner::new;
         private Supplier<IterativeSolverTask> myIterativeSolver = ConjugateGradientSolver::new;
         private Boolean myProjection = null;
@@ -524,6 +528,13 @@ public abstract class ConvexSolver extends GenericSolver {
             return retVal;
         }
 
+        /**
+         * Returns a new instance of the configured fill-reducing ordering.
+         */
+        public FillReducingOrdering newOrdering() {
+            return myOrdering.get();
+        }
+
         public MatrixDecomposition.Solver<Double> newSolverGeneral(final Structure2D structure) {
             return mySolverGeneral.apply(structure);
         }
@@ -532,6 +543,17 @@ public abstract class ConvexSolver extends GenericSolver {
             return mySolverSPD.apply(structure);
         }
 
+        /**
+         * The fill-reducing ordering applied to the (sparse) KKT system before it is factorised by the
+         * {@link Algorithm#ADMM} solver. The default is {@link MinimumDegree}. For large mesh-like or network
+         * structured problems {@link NestedDissection} may produce less fill.
+         */
+        public Configuration ordering(final Supplier<FillReducingOrdering> ordering) {
+            Objects.requireNonNull(ordering);
+            myOrdering = ordering;
+            return this;
+        }
+
         /**
          * Null-Space projection. (Eliminating equality constraints and reducing the number of variables.)
          * <p>
@@ -757,6 +779,10 @@ public abstract class ConvexSolver extends GenericSolver {
             }
         }
 
+        if (didSet && fixedVariables.isEmpty()) {
+            retVal.setObjectiveFactor(ADJUSTED_OBJECTIVE ? tmpObjExpr.getAdjustmentFactor() : ONE);
+        }
+
         // AE & BE
 
         for (int i = 0; i < nbEqExpr; i++) {
@@ -27,7 +27,7 @@ import java.util.function.IntConsumer;
 import org.ojalgo.array.operation.COPY;
 import org.ojalgo.array.operation.IndexOf;
 import org.ojalgo.function.constant.PrimitiveMath;
-import org.ojalgo.matrix.decomposition.MinimumDegree;
+import org.ojalgo.matrix.decomposition.FillReducingOrdering;
 import org.ojalgo.matrix.decomposition.SparseQDLDL;
 import org.ojalgo.matrix.decomposition.SparseQDLDL.EliminationTree;
 import org.ojalgo.matrix.store.ColumnsSupplier;
@@ -234,10 +234,10 @@ final class FactorKKT implements InvertibleFactor<Double> {
     }
 
     /**
-     * Permute the KKT matrix using an approximate minimum degree ordering and update the index mappings
-     * accordingly so that subsequent in-place updates remain valid.
+     * Permute the KKT matrix using a fill-reducing ordering and update the index mappings accordingly so
+     * that subsequent in-place updates remain valid.
      */
-    private static R064CSC permuteKKT(final R064CSC original, final MinimumDegree md, final int[] mapP, final int[] mapA, final int[] mapDualDiag) {
+    private static R064CSC permuteKKT(final R064CSC original, final FillReducingOrdering md, final int[] mapP, final int[] mapA, final int[] mapDualDiag) {
 
         md.approximate(original);
 
@@ -316,15 +316,14 @@ final class FactorKKT implements InvertibleFactor<Double> {
      * @param mtrxA constraint matrix
      * @param sigma primal regularisation parameter
      * @param diagW diagonal weights associated with the dual variables (one per constraint)
+     * @param md    fill-reducing ordering to apply to the KKT matrix before factorisation
      */
-    static FactorKKT of(final R064CSC mtrxP, final R064CSC mtrxA, final double sigma, final ReciprocalPair diagW) {
+    static FactorKKT of(final R064CSC mtrxP, final R064CSC mtrxA, final double sigma, final ReciprocalPair diagW, final FillReducingOrdering md) {
 
         Map2KKT mapper = Map2KKT.from(mtrxP, mtrxA);
 
         R064CSC tmpKKT = FactorKKT.formKKT(mtrxP, mtrxA, sigma, diagW.inverse, mapper.mapP, mapper::diagonalP, mapper.mapA, mapper.mapDualDiag);
 
-        MinimumDegree md = new MinimumDegree();
-
         tmpKKT = FactorKKT.permuteKKT(tmpKKT, md, mapper.mapP, mapper.mapA, mapper.mapDualDiag);
 
         SparseQDLDL qdldl = new SparseQDLDL();
@@ -338,13 +337,13 @@ final class FactorKKT implements InvertibleFactor<Double> {
     private double[] myInvDiagW;
     private final R064CSC myKKT;
     private final Map2KKT myMapper;
-    private final MinimumDegree myMD;
+    private final FillReducingOrdering myMD;
     private final SparseQDLDL myQDLDL;
     private final double mySigma;
     private final double[] myWork1;
     private final double[] myWork2;
 
-    private FactorKKT(final Map2KKT mapper, final MinimumDegree md, final SparseQDLDL qdldl, final EliminationTree eTree, final R064CSC body,
+    private FactorKKT(final Map2KKT mapper, final FillReducingOrdering md, final SparseQDLDL qdldl, final EliminationTree eTree, final R064CSC body,
             final double sigma, final double[] invDiagW) {
 
         super();
@@ -0,0 +1,873 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation.integer;
+
+import static org.ojalgo.function.constant.PrimitiveMath.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.ojalgo.concurrent.ProcessingService;
+import org.ojalgo.optimisation.Expression;
+import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.optimisation.Variable;
+import org.ojalgo.optimisation.integer.IntegerStrategy.CutPoolConfiguration;
+import org.ojalgo.optimisation.integer.IntegerStrategy.CutPoolConfiguration.Separator;
+import org.ojalgo.structure.Access1D;
+import org.ojalgo.structure.Structure1D.IntIndex;
+
+/**
+ * A global, thread-safe, pool of cuts shared by all the branch&bound workers. The cuts are separated from
+ * the (original) model constraints and the global variable bounds, and are therefore valid in every node.
+ * <p>
+ * Cuts are identified by a hash of their normalised coefficients, so the same cut found twice (by different
+ * separators, threads or nodes) is only stored once. Each separation round the violated cuts are ranked by
+ * efficacy, and selected greedily skipping cuts too parallel to the ones already selected. Selected cuts are
+ * "active" and added to every node problem created after that. Cuts that are slack at the LP solution age,
+ * and too old cuts are purged.
+ */
+final class CutPool {
+
+    /**
+     * A cut, always on the form [coefficients]*[variables] &lt;= rhs, in the model variables.
+     */
+    static final class Cut implements Comparable<Cut> {
+
+        private static final double KEY_SCALE = 1.0E9;
+        /**
+         * The cuts are derived in double precision. Presolve rounds implied integer bounds without any
+         * tolerance, so a right-hand-side that is off by round-off error (0.9999999999999998 rather than 1)
+         * could fix variables invalidly. The rhs is relaxed by this (relative) amount when added to a model.
+         */
+        private static final double SAFETY = 1.0E-9;
+
+        final double[] coefficients;
+        final int[] indices;
+        final double norm;
+        final double rhs;
+
+        private int myAge = 0;
+        private final int myHash;
+        private final long[] myKey;
+        /**
+         * Assigned by the pool when the cut is first added to it
+         */
+        private String myName = null;
+        private final String myType;
+
+        Cut(final int[] variables, final double[] factors, final double limit, final String type) {
+
+            super();
+
+            indices = variables;
+            coefficients = factors;
+            rhs = limit;
+
+            double sumOfSquares = ZERO;
+            double largest = ZERO;
+            for (int j = 0; j < factors.length; j++) {
+                sumOfSquares += factors[j] * factors[j];
+                largest = Math.max(largest, Math.abs(factors[j]));
+            }
+            norm = Math.sqrt(sumOfSquares);
+
+            myKey = new long[factors.length + 1];
+            for (int j = 0; j < factors.length; j++) {
+                myKey[j] = Math.round(KEY_SCALE * factors[j] / largest);
+            }
+            myKey[factors.length] = Math.round(KEY_SCALE * limit / largest);
+
+            myHash = 31 * Arrays.hashCode(variables) + Arrays.hashCode(myKey);
+
+            myType = type;
+        }
+
+        /**
+         * An arbitrary, but consistent, total order among the cuts – used to break ties.
+         */
+        @Override
+        public int compareTo(final Cut other) {
+            int retVal = Arrays.compare(indices, other.indices);
+            if (retVal == 0) {
+                retVal = Arrays.compare(myKey, other.myKey);
+            }
+            return retVal;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Cut)) {
+                return false;
+            }
+            Cut other = (Cut) obj;
+            return myHash == other.myHash && Arrays.equals(indices, other.indices) && Arrays.equals(myKey, other.myKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return myHash;
+        }
+
+        @Override
+        public String toString() {
+            return myName + ": " + Arrays.toString(indices) + " " + Arrays.toString(coefficients) + " <= " + rhs;
+        }
+
+        void addTo(final ExpressionsBasedModel model) {
+            Expression expression = model.newExpression(myName);
+            for (int j = 0; j < indices.length; j++) {
+                expression.set(indices[j], BigDecimal.valueOf(coefficients[j]));
+            }
+            expression.upper(BigDecimal.valueOf(rhs + SAFETY * (ONE + Math.abs(rhs))));
+        }
+
+        /**
+         * Violation divided by the norm – the distance from the solution to the cut hyperplane.
+         */
+        double efficacy(final Access1D<?> solution) {
+            return this.violation(solution) / norm;
+        }
+
+        /**
+         * The cosine of the angle between the normals of the two cuts
+         */
+        double parallelism(final Cut other) {
+
+            double dot = ZERO;
+
+            for (int j = 0, k = 0; j < indices.length && k < other.indices.length;) {
+                if (indices[j] == other.indices[k]) {
+                    dot += coefficients[j] * other.coefficients[k];
+                    j++;
+                    k++;
+                } else if (indices[j] < other.indices[k]) {
+                    j++;
+                } else {
+                    k++;
+                }
+            }
+
+            return Math.abs(dot) / (norm * other.norm);
+        }
+
+        double violation(final Access1D<?> solution) {
+            double activity = ZERO;
+            for (int j = 0; j < indices.length; j++) {
+                activity += coefficients[j] * solution.doubleValue(indices[j]);
+            }
+            return activity - rhs;
+        }
+
+    }
+
+    /**
+     * A model constraint on the form [coefficients]*[variables] &lt;= rhs
+     */
+    private static final class Row {
+
+        final double[] coefficients;
+        final int[] indices;
+        final double rhs;
+
+        Row(final int[] variables, final double[] factors, final double limit) {
+            super();
+            indices = variables;
+            coefficients = factors;
+            rhs = limit;
+        }
+
+    }
+
+    private static final double EPSILON = 1.0E-9;
+    private static final double MIR_FRACTIONALITY = 0.01;
+    private static final int MIR_MAX_DELTAS = 8;
+    private static final double VIOLATION = 1.0E-6;
+
+    /**
+     * Builds a cut from a dense (work) array of coefficients, skipping zeros, with the indices in ascending
+     * order.
+     */
+    private static Cut newCut(final double[] dense, final double rhs, final String type) {
+
+        int nbNonZeros = 0;
+        for (int j = 0; j < dense.length; j++) {
+            if (Math.abs(dense[j]) > EPSILON) {
+                nbNonZeros++;
+            }
+        }
+
+        if (nbNonZeros == 0) {
+            return null;
+        }
+
+        int[] indices = new int[nbNonZeros];
+        double[] coefficients = new double[nbNonZeros];
+        for (int j = 0, k = 0; j < dense.length; j++) {
+            if (Math.abs(dense[j]) > EPSILON) {
+                indices[k] = j;
+                coefficients[k] = dense[j];
+                k++;
+            }
+        }
+
+        return new Cut(indices, coefficients, rhs, type);
+    }
+
+    private volatile Cut[] myActive = new Cut[0];
+    private final boolean[] myBinary;
+    private final CutPoolConfiguration myConfiguration;
+    private int myCount = 0;
+    private final Map<Cut, Cut> myCuts = new HashMap<>();
+    private final boolean[] myInteger;
+    private final double[] myLower;
+    private final List<Row> myRows = new ArrayList<>();
+    private final double[] myUpper;
+    /**
+     * Variable upper bound: myVUBFactor[j] * y >= x[j] where y is the binary variable myVUBVariable[j]
+     */
+    private final double[] myVUBFactor;
+    private final int[] myVUBVariable;
+
+    /**
+     * @param model The (integer) model to derive cuts from
+     * @param excluded The name of an expression to not derive any cuts from – the objective function limit
+     *        constraint that is continuously updated during the search
+     */
+    CutPool(final ExpressionsBasedModel model, final String excluded, final CutPoolConfiguration configuration) {
+
+        super();
+
+        myConfiguration = configuration;
+
+        int nbVariables = model.countVariables();
+
+        myLower = new double[nbVariables];
+        myUpper = new double[nbVariables];
+        myInteger = new boolean[nbVariables];
+        myBinary = new boolean[nbVariables];
+
+        for (int j = 0; j < nbVariables; j++) {
+            Variable variable = model.getVariable(j);
+            myLower[j] = variable.getLowerLimit(false, NEGATIVE_INFINITY);
+            myUpper[j] = variable.getUpperLimit(false, POSITIVE_INFINITY);
+            myInteger[j] = variable.isInteger();
+            myBinary[j] = variable.isBinary();
+        }
+
+        myVUBFactor = new double[nbVariables];
+        myVUBVariable = new int[nbVariables];
+        Arrays.fill(myVUBVariable, -1);
+
+        model.constraints().forEach(constraint -> {
+
+            if (constraint.getName().equals(excluded) || constraint.isAnyQuadraticFactorNonZero()) {
+                return;
+            }
+
+            Collection<Entry<IntIndex, BigDecimal>> entries = constraint.getLinearEntrySet();
+
+            int[] indices = new int[entries.size()];
+            double[] coefficients = new double[entries.size()];
+            int k = 0;
+            for (Entry<IntIndex, BigDecimal> entry : entries) {
+                indices[k] = entry.getKey().index;
+                coefficients[k] = entry.getValue().doubleValue();
+                k++;
+            }
+
+            if (constraint.isUpperLimitSet()) {
+                myRows.add(new Row(indices, coefficients, constraint.getUpperLimit(false, POSITIVE_INFINITY)));
+                this.identifyVariableUpperBound(indices, coefficients, constraint.getUpperLimit(false, POSITIVE_INFINITY));
+            }
+
+            if (constraint.isLowerLimitSet()) {
+                double[] negated = new double[coefficients.length];
+                for (int j = 0; j < negated.length; j++) {
+                    negated[j] = -coefficients[j];
+                }
+                myRows.add(new Row(indices, negated, -constraint.getLowerLimit(false, NEGATIVE_INFINITY)));
+                this.identifyVariableUpperBound(indices, negated, -constraint.getLowerLimit(false, NEGATIVE_INFINITY));
+            }
+        });
+    }
+
+    /**
+     * Add all active cuts to the model (a node problem)
+     */
+    void apply(final ExpressionsBasedModel model) {
+        for (Cut cut : myActive) {
+            cut.addTo(model);
+        }
+    }
+
+    int countActive() {
+        return myActive.length;
+    }
+
+    synchronized int size() {
+        return myCuts.size();
+    }
+
+    /**
+     * Add a cut generated elsewhere (a globally valid Gomory cut added to the root node) to the pool. It is
+     * considered active from the start.
+     */
+    synchronized void offer(final Expression cut) {
+
+        Collection<Entry<IntIndex, BigDecimal>> entries = cut.getLinearEntrySet();
+
+        double[] dense = new double[myLower.length];
+        for (Entry<IntIndex, BigDecimal> entry : entries) {
+            dense[entry.getKey().index] = entry.getValue().doubleValue();
+        }
+
+        if (cut.isLowerLimitSet()) {
+            double[] negated = new double[dense.length];
+            for (int j = 0; j < dense.length; j++) {
+                negated[j] = -dense[j];
+            }
+            this.activate(CutPool.newCut(negated, -cut.getLowerLimit(false, NEGATIVE_INFINITY), "GMI"));
+        }
+        if (cut.isUpperLimitSet()) {
+            this.activate(CutPool.newCut(dense, cut.getUpperLimit(false, POSITIVE_INFINITY), "GMI"));
+        }
+    }
+
+    /**
+     * Run the separators (in parallel), add whatever they find to the pool, and then select among all cuts
+     * in the pool the ones to add to the current node. The selected cuts are activated.
+     *
+     * @return The cuts selected to be added to the current node problem
+     */
+    List<Cut> separate(final Access1D<?> solution) {
+
+        List<Separator> separators = myConfiguration.getEnabledSeparators();
+
+        Map<Separator, List<Cut>> separated = new EnumMap<>(Separator.class);
+        for (Separator separator : separators) {
+            separated.put(separator, new ArrayList<>());
+        }
+
+        ProcessingService.INSTANCE.process(separators, myConfiguration.parallelism, separator -> {
+            List<Cut> cuts = separated.get(separator);
+            for (Row row : myRows) {
+                Cut cut = this.separate(separator, row, solution);
+                if (cut != null) {
+                    cuts.add(cut);
+                }
+            }
+        });
+
+        // Collected in a fixed order, regardless of which separator finished first
+        List<Cut> found = new ArrayList<>();
+        for (Separator separator : separators) {
+            found.addAll(separated.get(separator));
+        }
+
+        return this.select(solution, found);
+    }
+
+    private void activate(final Cut cut) {
+
+        if (cut == null) {
+            return;
+        }
+
+        if (this.register(cut)) {
+            Cut[] active = Arrays.copyOf(myActive, myActive.length + 1);
+            active[myActive.length] = cut;
+            myActive = active;
+        }
+    }
+
+    /**
+     * Knapsack (lifted) cover cut
+     */
+    private Cut cover(final Row row, final Access1D<?> solution, final boolean lifted) {
+
+        int nbEntries = row.indices.length;
+
+        double capacity = row.rhs;
+        int[] items = new int[nbEntries];
+        double[] weights = new double[nbEntries];
+        double[] values = new double[nbEntries];
+        boolean[] complemented = new boolean[nbEntries];
+        int nbItems = 0;
+
+        for (int k = 0; k < nbEntries; k++) {
+
+            int j = row.indices[k];
+            double a = row.coefficients[k];
+
+            if (Math.abs(a) <= EPSILON) {
+                continue;
+            }
+
+            if (myBinary[j]) {
+                items[nbItems] = j;
+                weights[nbItems] = Math.abs(a);
+                complemented[nbItems] = a < ZERO;
+                values[nbItems] = a < ZERO ? ONE - solution.doubleValue(j) : solution.doubleValue(j);
+                if (a < ZERO) {
+                    capacity -= a;
+                }
+                nbItems++;
+            } else if (a > ZERO && Double.isFinite(myLower[j])) {
+                capacity -= a * myLower[j];
+            } else if (a < ZERO && Double.isFinite(myUpper[j])) {
+                capacity -= a * myUpper[j];
+            } else {
+                return null;
+            }
+        }
+
+        if (nbItems < 2 || capacity < ZERO) {
+            return null;
+        }
+
+        Integer[] order = new Integer[nbItems];
+        double totalWeight = ZERO;
+        for (int i = 0; i < nbItems; i++) {
+            order[i] = i;
+            totalWeight += weights[i];
+        }
+        if (totalWeight <= capacity + EPSILON) {
+            return null;
+        }
+
+        // Greedy: prefer items with large LP values relative to their weight
+        Arrays.sort(order, Comparator.comparingDouble(i -> (ONE - values[i]) / weights[i]));
+
+        boolean[] inCover = new boolean[nbItems];
+        double coverWeight = ZERO;
+        int coverSize = 0;
+        for (int o = 0; o < nbItems && coverWeight <= capacity + EPSILON; o++) {
+            int i = order[o];
+            inCover[i] = true;
+            coverWeight += weights[i];
+            coverSize++;
+        }
+
+        // Make it minimal, dropping items with small LP values first
+        for (int o = nbItems - 1; o >= 0; o--) {
+            int i = order[o];
+            if (inCover[i] && coverWeight - weights[i] > capacity + EPSILON) {
+                inCover[i] = false;
+                coverWeight -= weights[i];
+                coverSize--;
+            }
+        }
+
+        double largest = ZERO;
+        double lhs = ZERO;
+        for (int i = 0; i < nbItems; i++) {
+            if (inCover[i]) {
+                largest = Math.max(largest, weights[i]);
+            }
+        }
+
+        boolean[] inCut = inCover.clone();
+        boolean extended = false;
+        if (lifted) {
+            for (int i = 0; i < nbItems; i++) {
+                if (!inCut[i] && weights[i] >= largest) {
+                    inCut[i] = true;
+                    extended = true;
+                }
+            }
+            if (!extended) {
+                return null;
+            }
+        }
+
+        for (int i = 0; i < nbItems; i++) {
+            if (inCut[i]) {
+                lhs += values[i];
+            }
+        }
+
+        if (lhs - (coverSize - 1) <= VIOLATION) {
+            return null;
+        }
+
+        double[] dense = new double[myLower.length];
+        double rhs = coverSize - 1;
+        for (int i = 0; i < nbItems; i++) {
+            if (inCut[i]) {
+                if (complemented[i]) {
+                    dense[items[i]] -= ONE;
+                    rhs -= ONE;
+                } else {
+                    dense[items[i]] += ONE;
+                }
+            }
+        }
+
+        return CutPool.newCut(dense, rhs, lifted ? "LCOV" : "COV");
+    }
+
+    /**
+     * Simple flow cover cut, for rows with only non-negative flows (continuous variables with variable upper
+     * bounds, or binary variables) on the "inflow" side.
+     */
+    private Cut flowCover(final Row row, final Access1D<?> solution) {
+
+        int nbEntries = row.indices.length;
+
+        double[] capacities = new double[nbEntries];
+        int[] switches = new int[nbEntries];
+        double[] values = new double[nbEntries];
+        int nbCandidates = 0;
+
+        for (int k = 0; k < nbEntries; k++) {
+
+            int j = row.indices[k];
+            double a = row.coefficients[k];
+
+            switches[k] = -1;
+
+            if (a < -EPSILON || myLower[j] < ZERO) {
+                return null;
+            }
+            if (a <= EPSILON) {
+                continue;
+            }
+
+            if (myBinary[j]) {
+                switches[k] = j;
+                capacities[k] = a;
+            } else if (!myInteger[j] && myVUBVariable[j] >= 0) {
+                switches[k] = myVUBVariable[j];
+                capacities[k] = a * myVUBFactor[j];
+            }
+
+            if (switches[k] >= 0) {
+                values[k] = solution.doubleValue(switches[k]);
+                nbCandidates++;
+            }
+        }
+
+        if (nbCandidates < 2 || row.rhs <= ZERO) {
+            return null;
+        }
+
+        Integer[] order = new Integer[nbEntries];
+        for (int k = 0; k < nbEntries; k++) {
+            order[k] = k;
+        }
+        Arrays.sort(order, Comparator.comparingDouble((final Integer k) -> -values[k]).thenComparingDouble(k -> -capacities[k]));
+
+        boolean[] inCover = new boolean[nbEntries];
+        double coverCapacity = ZERO;
+        for (int o = 0; o < nbEntries && coverCapacity <= row.rhs + EPSILON; o++) {
+            int k = order[o];
+            if (switches[k] >= 0) {
+                inCover[k] = true;
+                coverCapacity += capacities[k];
+            }
+        }
+
+        double excess = coverCapacity - row.rhs;
+        if (excess <= EPSILON) {
+            return null;
+        }
+
+        double[] dense = new double[myLower.length];
+        double rhs = row.rhs;
+        for (int k = 0; k < nbEntries; k++) {
+            if (inCover[k]) {
+                double reduction = Math.max(ZERO, capacities[k] - excess);
+                dense[row.indices[k]] += row.coefficients[k];
+                dense[switches[k]] -= reduction;
+                rhs -= reduction;
+            }
+        }
+
+        Cut cut = CutPool.newCut(dense, rhs, "FLOW");
+
+        return cut != null && cut.violation(solution) > VIOLATION ? cut : null;
+    }
+
+    private void identifyVariableUpperBound(final int[] indices, final double[] coefficients, final double rhs) {
+
+        if (indices.length != 2 || Math.abs(rhs) > EPSILON) {
+            return;
+        }
+
+        for (int k = 0; k < 2; k++) {
+            int x = indices[k];
+            int y = indices[1 - k];
+            double a = coefficients[k];
+            double b = coefficients[1 - k];
+            // a*x + b*y <= 0 with a > 0 and b < 0 => x <= (-b/a)*y
+            if (!myInteger[x] && myBinary[y] && a > EPSILON && b < -EPSILON && myLower[x] >= ZERO) {
+                myVUBVariable[x] = y;
+                myVUBFactor[x] = -b / a;
+            }
+        }
+    }
+
+    /**
+     * Single row mixed integer rounding cut. The variables are complemented to (shifted from) their closest
+     * bounds, and several divisors (delta) are tried.
+     */
+    private Cut mir(final Row row, final Access1D<?> solution) {
+
+        int nbEntries = row.indices.length;
+
+        double[] shifted = new double[nbEntries];
+        double[] values = new double[nbEntries];
+        boolean[] atUpper = new boolean[nbEntries];
+        double rhs = row.rhs;
+        boolean fractional = false;
+
+        for (int k = 0; k < nbEntries; k++) {
+
+            int j = row.indices[k];
+            double a = row.coefficients[k];
+            double x = solution.doubleValue(j);
+
+            // Shifted integer variables must remain integer
+            boolean lowerOK = Double.isFinite(myLower[j]) && (!myInteger[j] || myLower[j] == Math.rint(myLower[j]));
+            boolean upperOK = Double.isFinite(myUpper[j]) && (!myInteger[j] || myUpper[j] == Math.rint(myUpper[j]));
+
+            if (lowerOK && (!upperOK || x - myLower[j] <= myUpper[j] - x)) {
+                shifted[k] = a;
+                values[k] = x - myLower[j];
+                rhs -= a * myLower[j];
+            } else if (upperOK) {
+                atUpper[k] = true;
+                shifted[k] = -a;
+                values[k] = myUpper[j] - x;
+                rhs -= a * myUpper[j];
+            } else {
+                return null;
+            }
+
+            if (myInteger[j] && Math.abs(x - Math.rint(x)) > MIR_FRACTIONALITY) {
+                fractional = true;
+            }
+        }
+
+        if (!fractional) {
+            return null;
+        }
+
+        double[] deltas = new double[MIR_MAX_DELTAS + 3];
+        int nbDeltas = 0;
+        for (int k = 0; k < nbEntries && nbDeltas < MIR_MAX_DELTAS; k++) {
+            int j = row.indices[k];
+            if (myInteger[j] && values[k] > EPSILON && Math.abs(shifted[k]) > EPSILON) {
+                deltas[nbDeltas++] = Math.abs(shifted[k]);
+            }
+        }
+        if (nbDeltas == 0) {
+            return null;
+        }
+
+        double bestDelta = NaN;
+        double bestEfficacy = VIOLATION;
+        for (int d = 0; d < nbDeltas; d++) {
+            double efficacy = this.mirEfficacy(row, shifted, values, rhs, deltas[d]);
+            if (efficacy > bestEfficacy) {
+                bestEfficacy = efficacy;
+                bestDelta = deltas[d];
+            }
+        }
+        if (Double.isNaN(bestDelta)) {
+            return null;
+        }
+        for (double delta = bestDelta / TWO, limit = bestDelta / EIGHT; delta >= limit; delta /= TWO) {
+            double efficacy = this.mirEfficacy(row, shifted, values, rhs, delta);
+            if (efficacy > bestEfficacy) {
+                bestEfficacy = efficacy;
+                bestDelta = delta;
+            }
+        }
+
+        double scaledRHS = rhs / bestDelta;
+        double floorRHS = Math.floor(scaledRHS);
+        double f0 = scaledRHS - floorRHS;
+
+        double[] dense = new double[myLower.length];
+        double cutRHS = floorRHS;
+
+        for (int k = 0; k < nbEntries; k++) {
+
+            int j = row.indices[k];
+            double coefficient = this.mirCoefficient(j, shifted[k] / bestDelta, f0);
+
+            if (coefficient != ZERO) {
+                // Undo the complementing/shifting
+                if (atUpper[k]) {
+                    dense[j] -= coefficient;
+                    cutRHS -= coefficient * myUpper[j];
+                } else {
+                    dense[j] += coefficient;
+                    cutRHS += coefficient * myLower[j];
+                }
+            }
+        }
+
+        Cut cut = CutPool.newCut(dense, cutRHS, "MIR");
+
+        return cut != null && cut.violation(solution) > VIOLATION ? cut : null;
+    }
+
+    private double mirCoefficient(final int index, final double scaled, final double f0) {
+        if (myInteger[index]) {
+            double floor = Math.floor(scaled);
+            double fj = scaled - floor;
+            return floor + Math.max(ZERO, fj - f0) / (ONE - f0);
+        } else if (scaled < ZERO) {
+            return scaled / (ONE - f0);
+        } else {
+            return ZERO;
+        }
+    }
+
+    /**
+     * Efficacy of the MIR cut, in the complemented/shifted variables, for a specific delta
+     */
+    private double mirEfficacy(final Row row, final double[] shifted, final double[] values, final double rhs, final double delta) {
+
+        double scaledRHS = rhs / delta;
+        double floorRHS = Math.floor(scaledRHS);
+        double f0 = scaledRHS - floorRHS;
+
+        if (f0 < MIR_FRACTIONALITY || f0 > ONE - MIR_FRACTIONALITY) {
+            return ZERO;
+        }
+
+        double activity = ZERO;
+        double sumOfSquares = ZERO;
+        for (int k = 0; k < shifted.length; k++) {
+            double coefficient = this.mirCoefficient(row.indices[k], shifted[k] / delta, f0);
+            activity += coefficient * values[k];
+            sumOfSquares += coefficient * coefficient;
+        }
+
+        return sumOfSquares > ZERO ? (activity - floorRHS) / Math.sqrt(sumOfSquares) : ZERO;
+    }
+
+    /**
+     * Add the newly found cuts to the pool, age and purge the existing ones, and select the cuts to add to
+     * the current node.
+     */
+    private synchronized List<Cut> select(final Access1D<?> solution, final Collection<Cut> found) {
+
+        for (Cut cut : found) {
+            this.register(cut);
+        }
+
+        List<Cut> candidates = new ArrayList<>();
+
+        for (Iterator<Cut> iterator = myCuts.keySet().iterator(); iterator.hasNext();) {
+            Cut cut = iterator.next();
+            double violation = cut.violation(solution);
+            if (violation > VIOLATION) {
+                cut.myAge = 0;
+                if (violation / cut.norm >= myConfiguration.efficacy) {
+                    candidates.add(cut);
+                }
+            } else if (violation > -VIOLATION) {
+                cut.myAge = 0;
+            } else if (++cut.myAge > myConfiguration.age) {
+                iterator.remove();
+            }
+        }
+
+        candidates.sort(Comparator.comparingDouble((final Cut cut) -> -cut.efficacy(solution)).thenComparing(Comparator.naturalOrder()));
+
+        List<Cut> retVal = new ArrayList<>();
+
+        for (Cut candidate : candidates) {
+            if (retVal.size() >= myConfiguration.cuts) {
+                break;
+            }
+            boolean orthogonal = true;
+            for (int s = 0; orthogonal && s < retVal.size(); s++) {
+                orthogonal = candidate.parallelism(retVal.get(s)) <= myConfiguration.similarity;
+            }
+            if (orthogonal) {
+                retVal.add(candidate);
+            }
+        }
+
+        // Rebuild the active set: still pooled (not purged) and previously active, plus the selected
+        List<Cut> active = new ArrayList<>(myActive.length + retVal.size());
+        for (Cut cut : myActive) {
+            if (myCuts.containsKey(cut)) {
+                active.add(cut);
+            }
+        }
+        for (Cut cut : retVal) {
+            if (!active.contains(cut)) {
+                active.add(cut);
+            }
+        }
+        myActive = active.toArray(new Cut[active.size()]);
+
+        return retVal;
+    }
+
+    /**
+     * Add the cut to the pool, and name it, unless an equal cut is already there.
+     *
+     * @return true if the cut was added
+     */
+    private boolean register(final Cut cut) {
+        if (myCuts.putIfAbsent(cut, cut) == null) {
+            cut.myName = "CUT_" + cut.myType + "_" + ++myCount;
+            return true;
+        }
+        return false;
+    }
+
+    private Cut separate(final Separator separator, final Row row, final Access1D<?> solution) {
+        switch (separator) {
+        case COVER:
+            return this.cover(row, solution, false);
+        case FLOW_COVER:
+            return this.flowCover(row, solution);
+        case LIFTED_COVER:
+            return this.cover(row, solution, true);
+        case MIR:
+            return this.mir(row, solution);
+        default:
+            return null;
+        }
+    }
+
+}
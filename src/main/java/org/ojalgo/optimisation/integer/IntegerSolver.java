@@ -24,8 +24,10 @@ package org.ojalgo.optimisation.integer;
 import static org.ojalgo.function.constant.PrimitiveMath.*;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -39,13 +41,19 @@ import org.ojalgo.matrix.store.R064Store;
 import org.ojalgo.netio.BasicLogger;
 import org.ojalgo.netio.CharacterRing;
 import org.ojalgo.netio.CharacterRing.RingLogger;
+import org.ojalgo.optimisation.Expression;
 import org.ojalgo.optimisation.ExpressionsBasedModel;
 import org.ojalgo.optimisation.GenericSolver;
 import org.ojalgo.optimisation.Optimisation;
+import org.ojalgo.optimisation.integer.IntegerStrategy.CutPoolConfiguration;
+import org.ojalgo.optimisation.integer.IntegerStrategy.DeterministicConfiguration;
+import org.ojalgo.optimisation.integer.IntegerStrategy.HeuristicsConfiguration;
+import org.ojalgo.optimisation.integer.IntegerStrategy.ReliabilityConfiguration;
 import org.ojalgo.structure.Access1D;
 import org.ojalgo.type.CalendarDateDuration;
 import org.ojalgo.type.TypeUtils;
 import org.ojalgo.type.context.NumberContext;
+import org.ojalgo.type.management.Telemetry;
 
 public final class IntegerSolver extends GenericSolver {
 
@@ -157,6 +165,11 @@ public final class IntegerSolver extends GenericSolver {
 
     public static final ModelIntegration INTEGRATION = new ModelIntegration();
 
+    /**
+     * With {@link Telemetry} active the optimality gap is published every this many nodes (as well as
+     * whenever the incumbent improves).
+     */
+    private static final int GAP_SAMPLING_INTERVAL = 100;
     private static final int STRONG_BRANCH_CANDIDATES = 16;
     private static final double STRONG_BRANCH_INFEASIBLE_PENALTY = 10.0;
 
@@ -181,6 +194,12 @@ public final class IntegerSolver extends GenericSolver {
         return (long) Math.floor(v);
     }
 
+    private static void publish(final Telemetry.Node outcome, final NodeKey nodeKey, final double value) {
+        if (Telemetry.isActive()) {
+            Telemetry.node(outcome, nodeKey.sequence, nodeKey.depth, value);
+        }
+    }
+
     static void flush(final RingLogger buffer, final BasicLogger receiver) {
         if (buffer != null && receiver != null) {
             buffer.flush(receiver);
@@ -192,7 +211,17 @@ public final class IntegerSolver extends GenericSolver {
      * Set during solve() for logProgress to read; null otherwise.
      */
     private MultiviewSet<NodeKey>.PrioritisedView myBoundView = null;
+    /**
+     * Created at the start of solve() if configured; null otherwise.
+     */
+    private CutPool myCutPool = null;
     private final MultiviewSet<NodeKey> myDeferredNodes = new MultiviewSet<>();
+    private long myDeferralCount = 0L;
+    /**
+     * Deterministic search only: the order in which the nodes were deferred, used to break ties among nodes
+     * with the same objective. Null otherwise.
+     */
+    private Map<NodeKey, Long> myDeferralOrder = null;
     /**
      * Gap tolerance cached during solve() for logProgress; null otherwise.
      */
@@ -225,7 +254,10 @@ public final class IntegerSolver extends GenericSolver {
         // pruning); the first such call lazily mutates myExpressions, which races with concurrent
         // model.validate() iterations across other workers. Forcing creation here, single-threaded,
         // makes those later calls pure updates and removes the race.
-        myIntegerModel.limitObjective(null, null);
+        Expression objectiveLimit = myIntegerModel.limitObjective(null, null);
+
+        CutPoolConfiguration cutPoolConfiguration = myStrategy.getCutPoolConfiguration();
+        myCutPool = cutPoolConfiguration != null ? new CutPool(myIntegerModel, objectiveLimit.getName(), cutPoolConfiguration) : null;
 
         if (point != null && point.getState().isFeasible() && myIntegerModel.validate(point)) {
             // Must verify that it actually is an integer solution
@@ -235,62 +267,98 @@ public final class IntegerSolver extends GenericSolver {
 
         this.resetIterationsCount();
 
-        NodeKey rootNode = new NodeKey(myIntegerModel);
-        ExpressionsBasedModel rootModel = myIntegerModel.snapshot();
-        rootNode.setNodeState(rootModel, myStrategy);
-
-        RingLogger rootPrinter = this.newPrinter();
+        DeterministicConfiguration deterministicConfiguration = myStrategy.getDeterministicConfiguration();
+        if (deterministicConfiguration != null) {
+            myDeferralOrder = new HashMap<>();
+            myDeferralCount = 0L;
+        }
 
-        NodeSolver rootSolver = rootModel.prepare(mySense, NodeSolver::new);
-        AtomicBoolean solverNormalExit = new AtomicBoolean(this.processRoot(rootNode, rootSolver, rootPrinter));
-        rootNode.dispose();
+        // The primal heuristics run asynchronously - not compatible with the deterministic search
+        HeuristicsConfiguration heuristicsConfiguration = myStrategy.getHeuristicsConfiguration();
+        PrimalHeuristics heuristics = null;
+        if (heuristicsConfiguration != null && deterministicConfiguration == null) {
+            heuristics = new PrimalHeuristics(this, myIntegerModel, myStrategy, heuristicsConfiguration);
+            heuristics.start();
+        }
 
+        AtomicBoolean solverNormalExit = new AtomicBoolean(true);
         Map<Comparator<NodeKey>, MultiviewSet<NodeKey>.PrioritisedView> views = new ConcurrentHashMap<>();
 
-        List<Comparator<NodeKey>> workerPriorities = myStrategy.getWorkerPriorities();
-        for (Comparator<NodeKey> workerPriority : workerPriorities) {
-            MultiviewSet<NodeKey>.PrioritisedView view = myDeferredNodes.newView(workerPriority);
-            views.put(workerPriority, view);
-            if (mySense == Optimisation.Sense.MIN && workerPriority == NodeKey.MIN_OBJECTIVE) {
-                myBoundView = view;
-            } else if (mySense == Optimisation.Sense.MAX && workerPriority == NodeKey.MAX_OBJECTIVE) {
-                myBoundView = view;
-            }
-        }
+        try {
 
-        ProcessingService.INSTANCE.process(workerPriorities, workerPriority -> {
+            NodeKey rootNode = new NodeKey(myIntegerModel);
+            ExpressionsBasedModel rootModel = myIntegerModel.snapshot();
+            rootNode.setNodeState(rootModel, myStrategy);
 
-            boolean workerNormalExit = solverNormalExit.get();
+            RingLogger rootPrinter = this.newPrinter();
 
-            MultiviewSet<NodeKey>.PrioritisedView view = views.computeIfAbsent(workerPriority, myDeferredNodes::newView);
+            NodeSolver rootSolver = rootModel.prepare(mySense, NodeSolver::new);
+            solverNormalExit.set(this.processRoot(rootNode, rootSolver, rootPrinter));
+            rootNode.dispose();
 
-            RingLogger nodePrinter = this.newPrinter();
+            if (deterministicConfiguration != null) {
 
-            NodeKey node = null;
-            while (workerNormalExit && solverNormalExit.get() && !myOptimalityProven && !myDeferredNodes.isEmpty()) {
-                if ((node = view.poll()) != null) {
-
-                    if (!this.isIterationAllowed()) {
-                        workerNormalExit = false;
-                    } else if (this.isOptimalityProven()) {
-                        myOptimalityProven = true;
-                    } else if (!myStrategy.isGoodEnough(myBestResultSoFar, node.objective)) {
-                        workerNormalExit = myNodeStatistics.abandoned();
-                    } else {
-                        ExpressionsBasedModel nodeModel = myIntegerModel.snapshot();
-                        node.setNodeState(nodeModel, myStrategy);
-                        NodeSolver nodeSolver = nodeModel.prepare(mySense, NodeSolver::new);
-                        workerNormalExit &= this.compute(node, nodeSolver, nodePrinter, myStrategy);
-                    }
-
-                    node.dispose();
+                if (solverNormalExit.get()) {
+                    solverNormalExit.set(this.searchDeterministically(deterministicConfiguration));
                 }
 
-                if (!workerNormalExit) {
-                    solverNormalExit.set(workerNormalExit);
+            } else {
+
+                List<Comparator<NodeKey>> workerPriorities = myStrategy.getWorkerPriorities();
+                for (Comparator<NodeKey> workerPriority : workerPriorities) {
+                    MultiviewSet<NodeKey>.PrioritisedView view = myDeferredNodes.newView(workerPriority);
+                    views.put(workerPriority, view);
+                    if (mySense == Optimisation.Sense.MIN && workerPriority == NodeKey.MIN_OBJECTIVE) {
+                        myBoundView = view;
+                    } else if (mySense == Optimisation.Sense.MAX && workerPriority == NodeKey.MAX_OBJECTIVE) {
+                        myBoundView = view;
+                    }
                 }
+
+                ProcessingService.INSTANCE.process(workerPriorities, workerPriority -> {
+
+                    boolean workerNormalExit = solverNormalExit.get();
+
+                    MultiviewSet<NodeKey>.PrioritisedView view = views.computeIfAbsent(workerPriority, myDeferredNodes::newView);
+
+                    RingLogger nodePrinter = this.newPrinter();
+
+                    NodeKey node = null;
+                    while (workerNormalExit && solverNormalExit.get() && !myOptimalityProven && !myDeferredNodes.isEmpty()) {
+                        if ((node = view.poll()) != null) {
+
+                            if (!this.isIterationAllowed()) {
+                                workerNormalExit = false;
+                            } else if (this.isOptimalityProven()) {
+                                myOptimalityProven = true;
+                            } else if (!myStrategy.isGoodEnough(myBestResultSoFar, node.objective)) {
+                                workerNormalExit = myNodeStatistics.abandoned();
+                            } else {
+                                ExpressionsBasedModel nodeModel = myIntegerModel.snapshot();
+                                node.setNodeState(nodeModel, myStrategy);
+                                if (myCutPool != null) {
+                                    myCutPool.apply(nodeModel);
+                                }
+                                NodeSolver nodeSolver = nodeModel.prepare(mySense, NodeSolver::new);
+                                workerNormalExit &= this.compute(node, nodeSolver, nodePrinter, myStrategy);
+                            }
+
+                            node.dispose();
+                        }
+
+                        if (!workerNormalExit) {
+                            solverNormalExit.set(workerNormalExit);
+                        }
+                    }
+                });
             }
-        });
+
+        } finally {
+            if (heuristics != null) {
+                // No more heuristic solutions after this
+                heuristics.stop();
+            }
+        }
 
         views.clear();
         myDeferredNodes.clear();
@@ -303,6 +371,8 @@ public final class IntegerSolver extends GenericSolver {
         }
 
         myBoundView = null;
+        myCutPool = null;
+        myDeferralOrder = null;
 
         Optimisation.Result bestSolutionFound = this.getBestResultSoFar();
 
@@ -329,16 +399,20 @@ public final class IntegerSolver extends GenericSolver {
      * If {@code probeResult} happens to be integer-feasible (one bound tightening was enough to round the
      * relaxation to an integer point) and valid for the original model, accept it as a free incumbent. No-op
      * otherwise.
+     *
+     * @return true if accepted
      */
-    private void acceptIfIntegerFeasible(final Optimisation.Result probeResult, final double probeValue, final NodeKey rootNode) {
-        if (this.identifyNonIntegerVariable(probeResult, rootNode, myStrategy) != -1) {
-            return;
+    private boolean acceptIfIntegerFeasible(final Optimisation.Result probeResult, final double probeValue, final NodeKey nodeKey,
+            final ModelStrategy strategy) {
+        if (this.identifyNonIntegerVariable(probeResult, nodeKey, strategy) != -1) {
+            return false;
         }
         if (!myIntegerModel.validate(probeResult)) {
-            return;
+            return false;
         }
         Optimisation.Result integerResult = new Optimisation.Result(Optimisation.State.FEASIBLE, probeValue, probeResult);
-        this.markInteger(rootNode, integerResult, myStrategy);
+        this.markInteger(nodeKey, integerResult, strategy);
+        return true;
     }
 
     /**
@@ -352,16 +426,29 @@ public final class IntegerSolver extends GenericSolver {
             return;
         }
 
-        if (myStrategy.getGMICutConfiguration() == null) {
+        boolean gomory = myStrategy.getGMICutConfiguration() != null;
+        CutPool pool = myCutPool;
+
+        if (!gomory && pool == null) {
             return;
         }
 
-        int maxRounds = 10;
+        int gomoryRounds = gomory ? 10 : 0;
+        int poolRounds = pool != null ? myStrategy.getCutPoolConfiguration().rounds : 0;
+        int maxRounds = Math.max(gomoryRounds, poolRounds);
         double previousObjective = rootResult.getValue();
 
         for (int round = 0; round < maxRounds; round++) {
 
-            if (!rootSolver.generateCuts(myStrategy)) {
+            boolean cuts = false;
+            if (round < gomoryRounds) {
+                cuts |= rootSolver.generateCuts(myStrategy, pool);
+            }
+            if (round < poolRounds) {
+                cuts |= rootSolver.generateCuts(pool, rootResult);
+            }
+
+            if (!cuts) {
                 break;
             }
 
@@ -420,10 +507,247 @@ public final class IntegerSolver extends GenericSolver {
         return gap <= myGapTolerance.error(incumbentValue);
     }
 
+    /**
+     * Solve one strong-branching probe child – the node problem with the bounds of one integer variable
+     * changed – warm started and limited to {@code iterations}. The solver's bounds are restored afterwards.
+     * The pseudo-cost observation (NaN if none) and the probe result are stored at {@code slot}, to be
+     * recorded later – in candidate order, regardless of which thread did the probing.
+     *
+     * @return true if the child problem is infeasible, or can't improve on the incumbent
+     */
+    private boolean isProbeCutOff(final NodeKey nodeKey, final NodeSolver solver, final double baseValue, final ModelStrategy strategy, final int ii,
+            final long lower, final long upper, final double displacement, final int iterations, final double[] observations,
+            final Optimisation.Result[] results, final int slot) {
+
+        int gi = strategy.getIndex(ii);
+
+        solver.update(gi, lower, upper);
+        Optimisation.Result probeResult = solver.solve(null, iterations);
+        solver.update(gi, nodeKey.getLowerBound(ii), nodeKey.getUpperBound(ii));
+
+        Optimisation.State probeState = probeResult.getState();
+
+        results[slot] = probeResult;
+
+        if (probeState.isOptimal()) {
+
+            double probeValue = probeResult.getValue();
+            double deg = Math.max(ZERO, mySense == Optimisation.Sense.MIN ? probeValue - baseValue : baseValue - probeValue);
+            observations[slot] = Math.max(deg, NodeKey.MINIMUM_DISPLACEMENT) / displacement;
+
+            return !strategy.isGoodEnough(myBestResultSoFar, probeValue);
+
+        } else if (probeState == Optimisation.State.INFEASIBLE) {
+
+            observations[slot] = STRONG_BRANCH_INFEASIBLE_PENALTY / displacement;
+
+            return true;
+
+        } else {
+
+            // Failed, or some other state – no information
+            observations[slot] = Double.NaN;
+
+            return false;
+        }
+    }
+
     private RingLogger newPrinter() {
         return options.validate || this.isLogProgress() ? CharacterRing.newRingLogger() : null;
     }
 
+    /**
+     * Probe both children of the candidates in [first, limit) using this solver, that must already be
+     * solved to the node's LP optimum. The outcomes of candidate k are stored at 2k (down) and 2k+1 (up).
+     */
+    private void probe(final NodeKey nodeKey, final NodeSolver solver, final double baseValue, final ModelStrategy strategy, final int[] candidates,
+            final double[] values, final int first, final int limit, final int iterations, final boolean[] downCutOff, final boolean[] upCutOff,
+            final double[] observations, final Optimisation.Result[] results) {
+
+        for (int k = first; k < limit; k++) {
+
+            int ii = candidates[k];
+            double v = values[k];
+
+            long floorVal = IntegerSolver.branchFloor(v);
+            long ceilVal = IntegerSolver.branchCeil(v, floorVal);
+
+            int origLower = nodeKey.getLowerBound(ii);
+            int origUpper = nodeKey.getUpperBound(ii);
+
+            downCutOff[k] = this.isProbeCutOff(nodeKey, solver, baseValue, strategy, ii, origLower, floorVal,
+                    Math.max(v - floorVal, NodeKey.MINIMUM_DISPLACEMENT), iterations, observations, results, 2 * k);
+            upCutOff[k] = this.isProbeCutOff(nodeKey, solver, baseValue, strategy, ii, ceilVal, origUpper,
+                    Math.max(ceilVal - v, NodeKey.MINIMUM_DISPLACEMENT), iterations, observations, results, 2 * k + 1);
+        }
+    }
+
+    /**
+     * Reliability branching: strong-branching probes on both children of the (highest scoring) fractional
+     * candidates whose pseudo-costs are not yet reliable. The probes are done on the node solver itself,
+     * already solved, so each probe is warm started (dual simplex) from the node's basis after a single bound
+     * change. A probe typically only needs a few iterations – it's abandoned if it needs more than
+     * {@link ReliabilityConfiguration#iterations}. With {@link ReliabilityConfiguration#parallelism} above 1
+     * the candidates are split among that many threads, and the additional threads each solve their own copy
+     * of the node problem before probing.
+     * <p>
+     * The probe outcomes are fed to the strategy as pseudo-cost observations. If one child is infeasible (or
+     * can't improve on the incumbent) the variable is fixed in the other direction – applied to the node
+     * solver, and to a new (tightened) node key.
+     *
+     * @return null if the node can be pruned (both children of some candidate cut off), a new node key with
+     *         the fixings if any variables were fixed, otherwise the same node key
+     */
+    private NodeKey probeUnreliable(final NodeKey nodeKey, final NodeSolver nodeSolver, final Optimisation.Result nodeResult, final ModelStrategy strategy,
+            final ReliabilityConfiguration configuration) {
+
+        int nbIntegers = strategy.countIntegerVariables();
+        boolean found = myBestResultSoFar != null;
+
+        int[] candidates = new int[nbIntegers];
+        double[] values = new double[nbIntegers];
+        double[] scores = new double[nbIntegers];
+        int count = 0;
+
+        for (int i = 0; i < nbIntegers; i++) {
+
+            double value = nodeResult.doubleValue(strategy.getIndex(i));
+
+            double distanceDown = value - Math.floor(value);
+            double distanceUp = ONE - distanceDown;
+
+            if (!strategy.getIntegralityTolerance().isZero(Math.min(distanceDown, distanceUp))
+                    && !strategy.isReliable(i, configuration.reliability)) {
+                candidates[count] = i;
+                values[count] = value;
+                scores[count] = strategy.scoreBranch(i, distanceDown, distanceUp, found);
+                count++;
+            }
+        }
+
+        if (count == 0) {
+            return nodeKey;
+        }
+
+        // Partial selection sort: pull the K highest scores to the front.
+        int K = Math.min(count, configuration.candidates);
+        for (int k = 0; k < K; k++) {
+            int best = k;
+            for (int j = k + 1; j < count; j++) {
+                if (scores[j] > scores[best]) {
+                    best = j;
+                }
+            }
+            if (best != k) {
+                int ti = candidates[k];
+                candidates[k] = candidates[best];
+                candidates[best] = ti;
+                double tv = values[k];
+                values[k] = values[best];
+                values[best] = tv;
+                double ts = scores[k];
+                scores[k] = scores[best];
+                scores[best] = ts;
+            }
+        }
+
+        boolean[] downCutOff = new boolean[K];
+        boolean[] upCutOff = new boolean[K];
+        double[] observations = new double[2 * K];
+        Optimisation.Result[] results = new Optimisation.Result[2 * K];
+
+        // At least 2 candidates per thread, to make up for the extra node problem solves
+        int nbThreads = Math.max(1, Math.min(configuration.parallelism.getAsInt(), K / 2));
+
+        List<int[]> ranges = new ArrayList<>(nbThreads);
+        for (int t = 0; t < nbThreads; t++) {
+            ranges.add(new int[] { t * K / nbThreads, (t + 1) * K / nbThreads });
+        }
+
+        ProcessingService.INSTANCE.process(ranges, nbThreads, range -> {
+
+            if (range[0] == 0) {
+
+                this.probe(nodeKey, nodeSolver, nodeResult.getValue(), strategy, candidates, values, range[0], range[1], configuration.iterations,
+                        downCutOff, upCutOff, observations, results);
+
+            } else {
+
+                ExpressionsBasedModel probeModel = myIntegerModel.snapshot();
+                nodeKey.setNodeState(probeModel, strategy);
+                if (myCutPool != null) {
+                    myCutPool.apply(probeModel);
+                }
+                NodeSolver probeSolver = probeModel.prepare(mySense, NodeSolver::new);
+
+                Optimisation.Result probeBase = probeSolver.solve(this.getBestEstimate());
+                if (probeBase.getState().isOptimal()) {
+                    this.probe(nodeKey, probeSolver, probeBase.getValue(), strategy, candidates, values, range[0], range[1], configuration.iterations,
+                            downCutOff, upCutOff, observations, results);
+                }
+
+                probeSolver.dispose();
+            }
+        });
+
+        // Record the outcomes on this thread, in candidate order, so that the (deterministic search) strategy
+        // updates do not depend on how the probes were scheduled
+        for (int k = 0; k < K; k++) {
+            for (int slot = 2 * k; slot <= 2 * k + 1; slot++) {
+                Optimisation.Result result = results[slot];
+                if (result == null || Double.isNaN(observations[slot])) {
+                    continue;
+                }
+                boolean upper = slot % 2 == 1;
+                strategy.observeBranch(candidates[k], upper, observations[slot]);
+                if (result.getState().isOptimal() && this.acceptIfIntegerFeasible(result, result.getValue(), nodeKey, strategy)) {
+                    // Nothing more to find in that child
+                    if (upper) {
+                        upCutOff[k] = true;
+                    } else {
+                        downCutOff[k] = true;
+                    }
+                }
+            }
+        }
+
+        for (int k = 0; k < K; k++) {
+            if (downCutOff[k] && upCutOff[k]) {
+                return null;
+            }
+        }
+
+        int[] lowerBounds = null;
+        int[] upperBounds = null;
+
+        for (int k = 0; k < K; k++) {
+
+            if (downCutOff[k] || upCutOff[k]) {
+
+                if (lowerBounds == null) {
+                    lowerBounds = nodeKey.copyLowerBounds();
+                    upperBounds = nodeKey.copyUpperBounds();
+                }
+
+                int ii = candidates[k];
+                int gi = strategy.getIndex(ii);
+                double v = values[k];
+
+                long floorVal = IntegerSolver.branchFloor(v);
+                long ceilVal = IntegerSolver.branchCeil(v, floorVal);
+
+                if (downCutOff[k]) {
+                    lowerBounds[ii] = Math.max(lowerBounds[ii], (int) ceilVal);
+                } else {
+                    upperBounds[ii] = Math.min(upperBounds[ii], (int) floorVal);
+                }
+                nodeSolver.update(gi, lowerBounds[ii], upperBounds[ii]);
+            }
+        }
+
+        return lowerBounds != null ? nodeKey.createTightened(lowerBounds, upperBounds) : nodeKey;
+    }
+
     /**
      * Process the root node before workers start. Solves the root LP, runs the strong-branching probe pass to
      * seed pseudo-costs, then delegates to {@link #compute} which owns the rest of the per-node flow
@@ -500,7 +824,7 @@ public final class IntegerSolver extends GenericSolver {
                         double downLP = downResult.getValue();
                         double deg = Math.max(ZERO, mySense == Optimisation.Sense.MIN ? downLP - rootValue : rootValue - downLP);
                         myStrategy.observeBranch(ii, false, Math.max(deg, NodeKey.MINIMUM_DISPLACEMENT) / downDisp);
-                        this.acceptIfIntegerFeasible(downResult, downLP, rootNode);
+                        this.acceptIfIntegerFeasible(downResult, downLP, rootNode, myStrategy);
                     } else {
                         myStrategy.observeBranch(ii, false, STRONG_BRANCH_INFEASIBLE_PENALTY / downDisp);
                     }
@@ -514,7 +838,7 @@ public final class IntegerSolver extends GenericSolver {
                         double upLP = upResult.getValue();
                         double deg = Math.max(ZERO, mySense == Optimisation.Sense.MIN ? upLP - rootValue : rootValue - upLP);
                         myStrategy.observeBranch(ii, true, Math.max(deg, NodeKey.MINIMUM_DISPLACEMENT) / upDisp);
-                        this.acceptIfIntegerFeasible(upResult, upLP, rootNode);
+                        this.acceptIfIntegerFeasible(upResult, upLP, rootNode, myStrategy);
                     } else {
                         myStrategy.observeBranch(ii, true, STRONG_BRANCH_INFEASIBLE_PENALTY / upDisp);
                     }
@@ -554,6 +878,96 @@ public final class IntegerSolver extends GenericSolver {
         return this.compute(rootNode, rootSolver, rootPrinter, myStrategy);
     }
 
+    private void publishGap() {
+
+        Optimisation.Result incumbent = myBestResultSoFar;
+
+        if (incumbent != null && myBoundView != null) {
+            double bound = this.globalDualBound(myBoundView);
+            if (Double.isFinite(bound)) {
+                Telemetry.gap(incumbent.getValue(), bound, this.countIterations());
+            }
+        }
+    }
+
+    /**
+     * The deterministic alternative to the free running workers. The search proceeds in synchronised rounds,
+     * see {@link DeterministicConfiguration}.
+     *
+     * @return false if the search was stopped (iterations or time limit), true otherwise
+     */
+    private boolean searchDeterministically(final DeterministicConfiguration configuration) {
+
+        Comparator<NodeKey> bound = mySense == Optimisation.Sense.MAX ? NodeKey.MAX_OBJECTIVE : NodeKey.MIN_OBJECTIVE;
+        Map<NodeKey, Long> order = myDeferralOrder;
+        MultiviewSet<NodeKey>.PrioritisedView view = myDeferredNodes.newView(bound.thenComparingLong(order::get));
+        myBoundView = view;
+
+        int nbWorkers = myStrategy.getWorkerPriorities().size();
+
+        List<RoundStrategy> workers = new ArrayList<>(nbWorkers);
+        List<RingLogger> printers = new ArrayList<>(nbWorkers);
+        List<Integer> indices = new ArrayList<>(nbWorkers);
+        for (int w = 0; w < nbWorkers; w++) {
+            workers.add(new RoundStrategy(myIntegerModel, myStrategy, configuration.work));
+            printers.add(this.newPrinter());
+        }
+
+        List<NodeKey> nodes = new ArrayList<>(nbWorkers);
+        boolean[] normalExits = new boolean[nbWorkers];
+
+        boolean retVal = true;
+
+        while (retVal && !myDeferredNodes.isEmpty()) {
+
+            if (!this.isIterationAllowed()) {
+                return false;
+            }
+            if (this.isOptimalityProven()) {
+                myOptimalityProven = true;
+                return true;
+            }
+
+            nodes.clear();
+            indices.clear();
+
+            NodeKey node = null;
+            while (nodes.size() < nbWorkers && (node = view.poll()) != null) {
+                order.remove(node);
+                if (myStrategy.isGoodEnough(myBestResultSoFar, node.objective)) {
+                    indices.add(Integer.valueOf(nodes.size()));
+                    nodes.add(node);
+                } else {
+                    myNodeStatistics.abandoned();
+                    node.dispose();
+                }
+            }
+
+            ProcessingService.INSTANCE.process(indices, nbWorkers, w -> {
+
+                NodeKey workerNode = nodes.get(w);
+
+                ExpressionsBasedModel nodeModel = myIntegerModel.snapshot();
+                workerNode.setNodeState(nodeModel, myStrategy);
+                if (myCutPool != null) {
+                    myCutPool.apply(nodeModel);
+                }
+                NodeSolver nodeSolver = nodeModel.prepare(mySense, NodeSolver::new);
+                normalExits[w] = this.compute(workerNode, nodeSolver, printers.get(w), workers.get(w));
+
+                workerNode.dispose();
+            });
+
+            // The merge is done in worker order, regardless of which worker finished first
+            for (int w = 0; w < nodes.size(); w++) {
+                retVal &= normalExits[w];
+                workers.get(w).merge(this);
+            }
+        }
+
+        return retVal;
+    }
+
     protected Optimisation.Result getBestEstimate() {
         return new Optimisation.Result(Optimisation.State.APPROXIMATE, this.getBestResultSoFar());
     }
@@ -603,6 +1017,12 @@ public final class IntegerSolver extends GenericSolver {
 
     protected synchronized void markInteger(final NodeKey key, final Optimisation.Result result, final ModelStrategy strategy) {
 
+        if (strategy instanceof RoundStrategy) {
+            // Deterministic search: the incumbent stays the same throughout a round
+            ((RoundStrategy) strategy).deferInteger(key, result);
+            return;
+        }
+
         if (this.isLogProgress()) {
 
             double low = Double.NEGATIVE_INFINITY;
@@ -641,6 +1061,11 @@ public final class IntegerSolver extends GenericSolver {
 
         strategy.markInteger(key, result);
 
+        if (myBestResultSoFar != previouslyTheBest && Telemetry.isActive()) {
+            Telemetry.incumbent(myBestResultSoFar.getValue(), this.countIterations());
+            this.publishGap();
+        }
+
         double bestValue = myBestResultSoFar.getValue();
 
         // Strict-improvement cutoff: any subsequent incumbent must improve by at least one ULP.
@@ -691,168 +1116,257 @@ public final class IntegerSolver extends GenericSolver {
         return retVal;
     }
 
-    boolean compute(final NodeKey nodeKey, final NodeSolver nodeSolver, final RingLogger nodePrinter, final ModelStrategy strategy) {
+    boolean compute(final NodeKey node, final NodeSolver nodeSolver, final RingLogger nodePrinter, final ModelStrategy strategy) {
 
-        if (myOptimalityProven) {
-            nodeSolver.dispose();
-            return myNodeStatistics.abandoned();
-        }
+        // Probing may replace the key with a tightened copy of the same node
+        NodeKey nodeKey = node;
 
-        if (this.isLogDebug()) {
-            nodePrinter.println();
-            nodePrinter.println("Branch&Bound Node");
-            nodePrinter.println(nodeKey.toString());
-            nodePrinter.println(this.toString());
-        }
+        try {
 
-        if (nodeKey.index >= 0) {
-            nodeKey.enforceBounds(nodeSolver, strategy);
-        }
+            // Loops (re-solves the same node) after cuts were added or variables fixed by probing
+            for (;;) {
 
-        Optimisation.Result bestEstimate = this.getBestEstimate();
-        Optimisation.Result nodeResult = nodeSolver.solve(bestEstimate);
+                if (myOptimalityProven) {
+                    nodeSolver.dispose();
+                    return myNodeStatistics.abandoned();
+                }
 
-        this.incrementIterationsCount();
+                if (this.isLogDebug()) {
+                    nodePrinter.println();
+                    nodePrinter.println("Branch&Bound Node");
+                    nodePrinter.println(nodeKey.toString());
+                    nodePrinter.println(this.toString());
+                }
 
-        if (this.isLogDebug()) {
-            nodePrinter.println("Node Result: {}", nodeResult);
-        }
+                if (nodeKey.index >= 0) {
+                    nodeKey.enforceBounds(nodeSolver, strategy);
+                }
 
-        if (!nodeResult.getState().isOptimal()) {
-            if (this.isLogDebug()) {
-                nodePrinter.println("Failed to solve node problem - stop this branch!");
-                IntegerSolver.flush(nodePrinter, myIntegerModel.options.logger_appender);
-            }
+                Optimisation.Result bestEstimate = this.getBestEstimate();
+                Optimisation.Result nodeResult = nodeSolver.solve(bestEstimate);
 
-            nodeSolver.dispose();
-            if (nodeKey.sequence == 0 && (nodeResult.getState().isUnexplored() || !nodeResult.getState().isValid())) {
-                // return false;
-                return myNodeStatistics.failed();
-            }
-            // return true;
-            double incumbentValue = myBestResultSoFar != null ? myBestResultSoFar.getValue() : Double.NaN;
-            strategy.markInfeasible(nodeKey, myBestResultSoFar != null, incumbentValue);
-            return myNodeStatistics.infeasible();
-        }
+                this.incrementIterationsCount();
 
-        if (this.isLogDebug()) {
-            nodePrinter.println("Node solved to optimality!");
-        }
+                if (strategy instanceof RoundStrategy) {
+                    ((RoundStrategy) strategy).addWork(nodeSolver.countIterations());
+                }
 
-        if (options.validate && !nodeSolver.validate(nodeResult, nodePrinter)) {
-            // This should not be possible. There is a bug somewhere.
-            if (nodePrinter != null) {
-                nodePrinter.println("Node solution marked as OPTIMAL, but is actually INVALID/INFEASIBLE/FAILED. Stop this branch!");
-                nodePrinter.println("Integer indices: {}", strategy);
-                nodePrinter.println("Lower bounds: {}", Arrays.toString(nodeKey.copyLowerBounds()));
-                nodePrinter.println("Upper bounds: {}", Arrays.toString(nodeKey.copyUpperBounds()));
-            }
+                if (Telemetry.isActive()) {
+                    Telemetry.node(Telemetry.Node.PROCESSED, nodeKey.sequence, nodeKey.depth, nodeResult.getValue());
+                    if (this.countIterations() % GAP_SAMPLING_INTERVAL == 0) {
+                        this.publishGap();
+                    }
+                }
 
-            IntegerSolver.flush(nodePrinter, myIntegerModel.options.logger_appender);
+                if (this.isLogDebug()) {
+                    nodePrinter.println("Node Result: {}", nodeResult);
+                }
 
-            /*
-             * Used to mark this as a failure since it happened because of problems with the linear solver,
-             * but now could be just that the updated solver instance did not recognise that it had become
-             * infeasible due to integer rounding on the constraints. (The LP solver simply doesn't know it's
-             * actually solving a MIP.) Something model pre-solving would probably have caught. Marking as
-             * failure will stop the overall solver process, which is not what we want (if this is just an
-             * infeasible node). Therefore we'll mark it as infeasible.
-             */
-            return myNodeStatistics.infeasible();
-        }
+                if (!nodeResult.getState().isOptimal()) {
+                    if (this.isLogDebug()) {
+                        nodePrinter.println("Failed to solve node problem - stop this branch!");
+                        IntegerSolver.flush(nodePrinter, myIntegerModel.options.logger_appender);
+                    }
 
-        // The solver now reports the objective value in model space (un-scaled, with the objective constant
-        // and presolve-fixed contributions folded in), so the node value can be read directly rather than
-        // re-evaluating the model objective at the solution.
-        double nodeValue = nodeResult.getValue();
-        strategy.onNodeSolved(nodeKey, nodeResult, nodeValue, mySense == Optimisation.Sense.MIN);
+                    nodeSolver.dispose();
+                    if (nodeKey.sequence == 0 && (nodeResult.getState().isUnexplored() || !nodeResult.getState().isValid())) {
+                        // return false;
+                        return myNodeStatistics.failed();
+                    }
+                    // return true;
+                    double incumbentValue = myBestResultSoFar != null ? myBestResultSoFar.getValue() : Double.NaN;
+                    strategy.markInfeasible(nodeKey, myBestResultSoFar != null, incumbentValue);
+                    IntegerSolver.publish(Telemetry.Node.INFEASIBLE, nodeKey, nodeResult.getValue());
+                    return myNodeStatistics.infeasible();
+                }
 
-        if (nodeSolver.isInPlaceBoundUpdateSafe()) {
-            if (myBestResultSoFar != null) {
-                this.fixByReducedCost(nodeKey, nodeSolver, nodeResult, nodeValue, strategy);
-            } else {
-                this.tryRounding(nodeKey, nodeResult, strategy);
-            }
-        }
+                if (this.isLogDebug()) {
+                    nodePrinter.println("Node solved to optimality!");
+                }
 
-        int branchIntegerIndex = this.identifyNonIntegerVariable(nodeResult, nodeKey, strategy);
+                if (options.validate && !nodeSolver.validate(nodeResult, nodePrinter)) {
+                    // This should not be possible. There is a bug somewhere.
+                    if (nodePrinter != null) {
+                        nodePrinter.println("Node solution marked as OPTIMAL, but is actually INVALID/INFEASIBLE/FAILED. Stop this branch!");
+                        nodePrinter.println("Integer indices: {}", strategy);
+                        nodePrinter.println("Lower bounds: {}", Arrays.toString(nodeKey.copyLowerBounds()));
+                        nodePrinter.println("Upper bounds: {}", Arrays.toString(nodeKey.copyUpperBounds()));
+                    }
 
-        if (branchIntegerIndex == -1) {
-            if (this.isLogDebug()) {
-                nodePrinter.println("Integer solution! Store it among the others, and stop this branch!");
-            }
+                    IntegerSolver.flush(nodePrinter, myIntegerModel.options.logger_appender);
+
+                    /*
+                     * Used to mark this as a failure since it happened because of problems with the linear solver,
+                     * but now could be just that the updated solver instance did not recognise that it had become
+                     * infeasible due to integer rounding on the constraints. (The LP solver simply doesn't know it's
+                     * actually solving a MIP.) Something model pre-solving would probably have caught. Marking as
+                     * failure will stop the overall solver process, which is not what we want (if this is just an
+                     * infeasible node). Therefore we'll mark it as infeasible.
+                     */
+                    IntegerSolver.publish(Telemetry.Node.INFEASIBLE, nodeKey, nodeResult.getValue());
+                    return myNodeStatistics.infeasible();
+                }
+
+                // The solver now reports the objective value in model space (un-scaled, with the objective constant
+                // and presolve-fixed contributions folded in), so the node value can be read directly rather than
+                // re-evaluating the model objective at the solution.
+                double nodeValue = nodeResult.getValue();
+                strategy.onNodeSolved(nodeKey, nodeResult, nodeValue, mySense == Optimisation.Sense.MIN);
+
+                if (nodeSolver.isInPlaceBoundUpdateSafe()) {
+                    if (myBestResultSoFar != null) {
+                        this.fixByReducedCost(nodeKey, nodeSolver, nodeResult, nodeValue, strategy);
+                    } else {
+                        this.tryRounding(nodeKey, nodeResult, strategy);
+                    }
+                }
+
+                int branchIntegerIndex = this.identifyNonIntegerVariable(nodeResult, nodeKey, strategy);
+
+                if (branchIntegerIndex == -1) {
+                    if (this.isLogDebug()) {
+                        nodePrinter.println("Integer solution! Store it among the others, and stop this branch!");
+                    }
+
+                    if (!myIntegerModel.validate(nodeResult)) {
+                        if (this.isLogDebug()) {
+                            nodePrinter.println("Candidate integer solution is infeasible for the original model. Discarding.");
+                            IntegerSolver.flush(nodePrinter, myIntegerModel.options.logger_appender);
+                        }
+                        double incumbentValue = myBestResultSoFar != null ? myBestResultSoFar.getValue() : Double.NaN;
+                        strategy.markInfeasible(nodeKey, myBestResultSoFar != null, incumbentValue);
+                        nodeSolver.dispose();
+                        IntegerSolver.publish(Telemetry.Node.INFEASIBLE, nodeKey, nodeValue);
+                        return myNodeStatistics.infeasible();
+                    }
+
+                    Optimisation.Result tmpIntegerSolutionResult = new Optimisation.Result(Optimisation.State.FEASIBLE, nodeValue, nodeResult);
+
+                    this.markInteger(nodeKey, tmpIntegerSolutionResult, strategy);
+
+                    if (this.isLogDebug()) {
+                        nodePrinter.println(this.getBestResultSoFar().toString());
+                        BasicLogger.debug();
+                        BasicLogger.debug(this.toString());
+                        // BasicLogger.debug(DaemonPoolExecutor.INSTANCE.toString());
+                        IntegerSolver.flush(nodePrinter, myIntegerModel.options.logger_appender);
+                    }
+
+                    nodeSolver.dispose();
+                    IntegerSolver.publish(Telemetry.Node.INTEGER, nodeKey, nodeValue);
+                    return myNodeStatistics.integer();
+
+                }
+                if (this.isLogDebug()) {
+                    nodePrinter.println("Not an Integer Solution: " + nodeValue);
+                }
+
+                double variableValue = nodeResult.doubleValue(strategy.getIndex(branchIntegerIndex));
+
+                if (!strategy.isGoodEnough(myBestResultSoFar, nodeValue)) {
+                    if (this.isLogDebug()) {
+                        nodePrinter.println("Can't find better integer solutions - stop this branch!");
+                        IntegerSolver.flush(nodePrinter, myIntegerModel.options.logger_appender);
+                    }
 
-            if (!myIntegerModel.validate(nodeResult)) {
+                    nodeSolver.dispose();
+                    IntegerSolver.publish(Telemetry.Node.PRUNED, nodeKey, nodeValue);
+                    // return true;
+                    return myNodeStatistics.exhausted();
+                }
                 if (this.isLogDebug()) {
-                    nodePrinter.println("Candidate integer solution is infeasible for the original model. Discarding.");
+                    nodePrinter.println("Still hope, branching on {} @ {} >>> {}", branchIntegerIndex, variableValue,
+                            nodeSolver.getVariable(strategy.getIndex(branchIntegerIndex)));
                     IntegerSolver.flush(nodePrinter, myIntegerModel.options.logger_appender);
                 }
-                double incumbentValue = myBestResultSoFar != null ? myBestResultSoFar.getValue() : Double.NaN;
-                strategy.markInfeasible(nodeKey, myBestResultSoFar != null, incumbentValue);
-                nodeSolver.dispose();
-                return myNodeStatistics.infeasible();
-            }
 
-            Optimisation.Result tmpIntegerSolutionResult = new Optimisation.Result(Optimisation.State.FEASIBLE, nodeValue, nodeResult);
+                if (strategy.isCutRatherThanBranch(nodeKey, branchIntegerIndex, variableValue, nodeValue, myBestResultSoFar)) {
+                    boolean cuts = strategy.getGMICutConfiguration() != null && nodeSolver.generateCuts(strategy, nodeKey);
+                    if (myCutPool != null && nodeSolver.generateCuts(myCutPool, nodeResult)) {
+                        cuts = true;
+                    }
+                    if (cuts) {
+                        strategy.onCutSuccess(nodeKey);
+                        continue;
+                    } else {
+                        strategy.onCutFailure();
+                    }
+                }
 
-            this.markInteger(nodeKey, tmpIntegerSolutionResult, strategy);
+                ReliabilityConfiguration reliability = strategy.getReliabilityConfiguration();
+                if (reliability != null && nodeSolver.isInPlaceBoundUpdateSafe()) {
 
-            if (this.isLogDebug()) {
-                nodePrinter.println(this.getBestResultSoFar().toString());
-                BasicLogger.debug();
-                BasicLogger.debug(this.toString());
-                // BasicLogger.debug(DaemonPoolExecutor.INSTANCE.toString());
-                IntegerSolver.flush(nodePrinter, myIntegerModel.options.logger_appender);
-            }
+                    NodeKey probed = this.probeUnreliable(nodeKey, nodeSolver, nodeResult, strategy, reliability);
 
-            nodeSolver.dispose();
-            return myNodeStatistics.integer();
+                    if (probed == null) {
+                        if (this.isLogDebug()) {
+                            nodePrinter.println("Both children of a probed variable cut off - stop this branch!");
+                            IntegerSolver.flush(nodePrinter, myIntegerModel.options.logger_appender);
+                        }
+                        nodeSolver.dispose();
+                        IntegerSolver.publish(Telemetry.Node.PRUNED, nodeKey, nodeValue);
+                        return myNodeStatistics.exhausted();
+                    }
 
-        }
-        if (this.isLogDebug()) {
-            nodePrinter.println("Not an Integer Solution: " + nodeValue);
-        }
+                    if (probed != nodeKey) {
+                        // Re-solve the node with the probing fixings applied
+                        if (nodeKey != node) {
+                            nodeKey.dispose();
+                        }
+                        nodeKey = probed;
+                        continue;
+                    }
 
-        double variableValue = nodeResult.doubleValue(strategy.getIndex(branchIntegerIndex));
+                    // The probes added pseudo-cost observations - re-evaluate the branching candidates
+                    branchIntegerIndex = this.identifyNonIntegerVariable(nodeResult, nodeKey, strategy);
+                    variableValue = nodeResult.doubleValue(strategy.getIndex(branchIntegerIndex));
+                }
 
-        if (!strategy.isGoodEnough(myBestResultSoFar, nodeValue)) {
-            if (this.isLogDebug()) {
-                nodePrinter.println("Can't find better integer solutions - stop this branch!");
-                IntegerSolver.flush(nodePrinter, myIntegerModel.options.logger_appender);
-            }
+                NodeKey lowerBranch = nodeKey.createLowerBranch(branchIntegerIndex, variableValue, nodeValue);
+                NodeKey upperBranch = nodeKey.createUpperBranch(branchIntegerIndex, variableValue, nodeValue);
 
-            nodeSolver.dispose();
-            // return true;
-            return myNodeStatistics.exhausted();
-        }
-        if (this.isLogDebug()) {
-            nodePrinter.println("Still hope, branching on {} @ {} >>> {}", branchIntegerIndex, variableValue,
-                    nodeSolver.getVariable(strategy.getIndex(branchIntegerIndex)));
-            IntegerSolver.flush(nodePrinter, myIntegerModel.options.logger_appender);
-        }
+                IntegerSolver.publish(Telemetry.Node.BRANCHED, nodeKey, nodeValue);
 
-        if (strategy.isCutRatherThanBranch(nodeKey, branchIntegerIndex, variableValue, nodeValue, myBestResultSoFar)) {
-            if (nodeSolver.generateCuts(strategy, nodeKey)) {
-                strategy.onCutSuccess(nodeKey);
-                return this.compute(nodeKey, nodeSolver, nodePrinter, strategy);
-            } else {
-                strategy.onCutFailure();
+                if (strategy instanceof RoundStrategy && ((RoundStrategy) strategy).isWorkDone()) {
+                    // Deterministic search: this worker's budget for the round is spent - stop diving
+                    nodeSolver.dispose();
+                    this.defer(lowerBranch, strategy);
+                    this.defer(upperBranch, strategy);
+                    return true;
+                }
+
+                if (lowerBranch.displacement < upperBranch.displacement) {
+                    this.defer(upperBranch, strategy);
+                    boolean ok = this.compute(lowerBranch, nodeSolver, nodePrinter, strategy);
+                    lowerBranch.dispose();
+                    return ok;
+                } else {
+                    this.defer(lowerBranch, strategy);
+                    boolean ok = this.compute(upperBranch, nodeSolver, nodePrinter, strategy);
+                    upperBranch.dispose();
+                    return ok;
+                }
             }
-        }
 
-        NodeKey lowerBranch = nodeKey.createLowerBranch(branchIntegerIndex, variableValue, nodeValue);
-        NodeKey upperBranch = nodeKey.createUpperBranch(branchIntegerIndex, variableValue, nodeValue);
+        } finally {
+            if (nodeKey != node) {
+                nodeKey.dispose();
+            }
+        }
+    }
 
-        if (lowerBranch.displacement < upperBranch.displacement) {
-            myDeferredNodes.add(upperBranch);
-            boolean ok = this.compute(lowerBranch, nodeSolver, nodePrinter, strategy);
-            lowerBranch.dispose();
-            return ok;
+    /**
+     * Add the node to the set of nodes waiting to be evaluated – or, during a round of the deterministic
+     * search, record it to be added when the round is merged.
+     */
+    void defer(final NodeKey node, final ModelStrategy strategy) {
+        if (strategy instanceof RoundStrategy) {
+            ((RoundStrategy) strategy).defer(node);
         } else {
-            myDeferredNodes.add(lowerBranch);
-            boolean ok = this.compute(upperBranch, nodeSolver, nodePrinter, strategy);
-            upperBranch.dispose();
-            return ok;
+            if (myDeferralOrder != null) {
+                myDeferralOrder.put(node, myDeferralCount++);
+            }
+            myDeferredNodes.add(node);
         }
     }
 
@@ -23,6 +23,7 @@ package org.ojalgo.optimisation.integer;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.function.BiFunction;
@@ -43,15 +44,21 @@ public interface IntegerStrategy {
      */
     final class ConfigurableStrategy implements IntegerStrategy {
 
+        private final CutPoolConfiguration myCutPoolConfiguration;
+        private final DeterministicConfiguration myDeterministicConfiguration;
         private final BiFunction<ExpressionsBasedModel, IntegerStrategy, ModelStrategy> myFactory;
         private final NumberContext myGapTolerance;
         private final GMICutConfiguration myGMICutConfiguration;
+        private final HeuristicsConfiguration myHeuristicsConfiguration;
         private final NumberContext myIntegralityTolerance;
         private final IntSupplier myParallelism;
         private final Comparator<NodeKey>[] myPriorityDefinitions;
+        private final ReliabilityConfiguration myReliabilityConfiguration;
 
         ConfigurableStrategy(final IntSupplier parallelism, final Comparator<NodeKey>[] definitions, final NumberContext integrality, final NumberContext gap,
-                final BiFunction<ExpressionsBasedModel, IntegerStrategy, ModelStrategy> factory, final GMICutConfiguration configuration) {
+                final BiFunction<ExpressionsBasedModel, IntegerStrategy, ModelStrategy> factory, final GMICutConfiguration configuration,
+                final HeuristicsConfiguration heuristics, final ReliabilityConfiguration reliability, final CutPoolConfiguration cutPool,
+                final DeterministicConfiguration deterministic) {
 
             super();
 
@@ -61,6 +68,10 @@ public interface IntegerStrategy {
             myGapTolerance = gap;
             myFactory = factory;
             myGMICutConfiguration = configuration;
+            myHeuristicsConfiguration = heuristics;
+            myReliabilityConfiguration = reliability;
+            myCutPoolConfiguration = cutPool;
+            myDeterministicConfiguration = deterministic;
         }
 
         /**
@@ -79,7 +90,8 @@ public interface IntegerStrategy {
                 totalDefinitions[additionalDefinitions.length + i] = myPriorityDefinitions[i];
             }
 
-            return new ConfigurableStrategy(myParallelism, totalDefinitions, myIntegralityTolerance, myGapTolerance, myFactory, myGMICutConfiguration);
+            return new ConfigurableStrategy(myParallelism, totalDefinitions, myIntegralityTolerance, myGapTolerance, myFactory, myGMICutConfiguration,
+                    myHeuristicsConfiguration, myReliabilityConfiguration, myCutPoolConfiguration, myDeterministicConfiguration);
         }
 
         @Override
@@ -87,6 +99,16 @@ public interface IntegerStrategy {
             return myPriorityDefinitions.length;
         }
 
+        @Override
+        public CutPoolConfiguration getCutPoolConfiguration() {
+            return myCutPoolConfiguration;
+        }
+
+        @Override
+        public DeterministicConfiguration getDeterministicConfiguration() {
+            return myDeterministicConfiguration;
+        }
+
         @Override
         public NumberContext getGapTolerance() {
             return myGapTolerance;
@@ -97,11 +119,21 @@ public interface IntegerStrategy {
             return myGMICutConfiguration;
         }
 
+        @Override
+        public HeuristicsConfiguration getHeuristicsConfiguration() {
+            return myHeuristicsConfiguration;
+        }
+
         @Override
         public NumberContext getIntegralityTolerance() {
             return myIntegralityTolerance;
         }
 
+        @Override
+        public ReliabilityConfiguration getReliabilityConfiguration() {
+            return myReliabilityConfiguration;
+        }
+
         @Override
         public List<Comparator<NodeKey>> getWorkerPriorities() {
 
@@ -122,36 +154,249 @@ public interface IntegerStrategy {
             return myFactory.apply(model, this);
         }
 
+        /**
+         * Turn on the global cut pool (with its cover, MIR and flow cover separators) with this
+         * configuration, or turn it off with null.
+         */
+        public ConfigurableStrategy withCutPoolConfiguration(final CutPoolConfiguration newConfiguration) {
+            return new ConfigurableStrategy(myParallelism, myPriorityDefinitions, myIntegralityTolerance, myGapTolerance, myFactory, myGMICutConfiguration,
+                    myHeuristicsConfiguration, myReliabilityConfiguration, newConfiguration, myDeterministicConfiguration);
+        }
+
+        /**
+         * Turn on the deterministic parallel search with this configuration, or turn it off with null.
+         */
+        public ConfigurableStrategy withDeterministicConfiguration(final DeterministicConfiguration newConfiguration) {
+            return new ConfigurableStrategy(myParallelism, myPriorityDefinitions, myIntegralityTolerance, myGapTolerance, myFactory, myGMICutConfiguration,
+                    myHeuristicsConfiguration, myReliabilityConfiguration, myCutPoolConfiguration, newConfiguration);
+        }
+
         /**
          * Change the MIP gap
          */
         public ConfigurableStrategy withGapTolerance(final NumberContext newTolerance) {
-            return new ConfigurableStrategy(myParallelism, myPriorityDefinitions, myIntegralityTolerance, newTolerance, myFactory, myGMICutConfiguration);
+            return new ConfigurableStrategy(myParallelism, myPriorityDefinitions, myIntegralityTolerance, newTolerance, myFactory, myGMICutConfiguration,
+                    myHeuristicsConfiguration, myReliabilityConfiguration, myCutPoolConfiguration, myDeterministicConfiguration);
         }
 
         public ConfigurableStrategy withGMICutConfiguration(final GMICutConfiguration newConfiguration) {
-            return new ConfigurableStrategy(myParallelism, myPriorityDefinitions, myIntegralityTolerance, myGapTolerance, myFactory, newConfiguration);
+            return new ConfigurableStrategy(myParallelism, myPriorityDefinitions, myIntegralityTolerance, myGapTolerance, myFactory, newConfiguration,
+                    myHeuristicsConfiguration, myReliabilityConfiguration, myCutPoolConfiguration, myDeterministicConfiguration);
+        }
+
+        /**
+         * Turn on the primal heuristics (running in parallel with the branch&bound search) with this
+         * configuration, or turn them off with null.
+         */
+        public ConfigurableStrategy withHeuristicsConfiguration(final HeuristicsConfiguration newConfiguration) {
+            return new ConfigurableStrategy(myParallelism, myPriorityDefinitions, myIntegralityTolerance, myGapTolerance, myFactory, myGMICutConfiguration,
+                    newConfiguration, myReliabilityConfiguration, myCutPoolConfiguration, myDeterministicConfiguration);
         }
 
         /**
          * Create a sub-class of {@link ModelStrategy} and provide a factory method for it here.
          */
         public ConfigurableStrategy withModelStrategyFactory(final BiFunction<ExpressionsBasedModel, IntegerStrategy, ModelStrategy> newFactory) {
-            return new ConfigurableStrategy(myParallelism, myPriorityDefinitions, myIntegralityTolerance, myGapTolerance, newFactory, myGMICutConfiguration);
+            return new ConfigurableStrategy(myParallelism, myPriorityDefinitions, myIntegralityTolerance, myGapTolerance, newFactory, myGMICutConfiguration,
+                    myHeuristicsConfiguration, myReliabilityConfiguration, myCutPoolConfiguration, myDeterministicConfiguration);
         }
 
         /**
          * How many threads will be used? Perhaps use {@link Parallelism} to obtain a suitable value.
          */
         public ConfigurableStrategy withParallelism(final IntSupplier newParallelism) {
-            return new ConfigurableStrategy(newParallelism, myPriorityDefinitions, myIntegralityTolerance, myGapTolerance, myFactory, myGMICutConfiguration);
+            return new ConfigurableStrategy(newParallelism, myPriorityDefinitions, myIntegralityTolerance, myGapTolerance, myFactory, myGMICutConfiguration,
+                    myHeuristicsConfiguration, myReliabilityConfiguration, myCutPoolConfiguration, myDeterministicConfiguration);
+        }
+
+        /**
+         * Turn on reliability branching (strong branching probes on candidates with unreliable pseudo-costs)
+         * with this configuration, or turn it off with null.
+         */
+        public ConfigurableStrategy withReliabilityConfiguration(final ReliabilityConfiguration newConfiguration) {
+            return new ConfigurableStrategy(myParallelism, myPriorityDefinitions, myIntegralityTolerance, myGapTolerance, myFactory, myGMICutConfiguration,
+                    myHeuristicsConfiguration, newConfiguration, myCutPoolConfiguration, myDeterministicConfiguration);
         }
 
         /**
          * Replace the priority definitions with these ones.
          */
         public ConfigurableStrategy withPriorityDefinitions(final Comparator<NodeKey>... newDefinitions) {
-            return new ConfigurableStrategy(myParallelism, newDefinitions, myIntegralityTolerance, myGapTolerance, myFactory, myGMICutConfiguration);
+            return new ConfigurableStrategy(myParallelism, newDefinitions, myIntegralityTolerance, myGapTolerance, myFactory, myGMICutConfiguration,
+                    myHeuristicsConfiguration, myReliabilityConfiguration, myCutPoolConfiguration, myDeterministicConfiguration);
+        }
+
+    }
+
+    /**
+     * Global cut pool configuration. Cuts are separated from the original model constraints (and the global
+     * variable bounds) so they are valid everywhere in the branch&bound tree. They are collected in a pool
+     * shared by all worker threads, and the ones selected (violated, efficacious and not too parallel to
+     * each other) are added to all subsequently created node problems. Cuts that stay slack for too long are
+     * purged from the pool.
+     * <p>
+     * Separation is done in rounds at the root node, and then occasionally in the tree (when the
+     * {@link ModelStrategy} decides to cut rather than branch). The separators run in parallel.
+     *
+     * @author apete
+     */
+    public static final class CutPoolConfiguration {
+
+        public enum Separator {
+
+            /**
+             * Minimal cover inequalities for knapsack rows with binary variables.
+             */
+            COVER,
+            /**
+             * Simple flow cover inequalities for single-node flow rows – continuous flows each with a variable
+             * upper bound on a binary variable.
+             */
+            FLOW_COVER,
+            /**
+             * Cover inequalities lifted (extended) with the variables whose coefficients are at least as large
+             * as the largest coefficient in the cover.
+             */
+            LIFTED_COVER,
+            /**
+             * Mixed integer rounding inequalities derived from single rows, with the variables complemented
+             * to their closest bounds.
+             */
+            MIR;
+
+        }
+
+        private static final Separator[] SEPARATORS = Separator.values();
+
+        /**
+         * Slack cuts age by one every separation round. Cuts older than this are purged from the pool.
+         */
+        public final int age;
+        /**
+         * Max number of cuts selected per separation round
+         */
+        public final int cuts;
+        /**
+         * Minimum efficacy (violation divided by the norm of the coefficients) of a cut to be selected.
+         */
+        public final double efficacy;
+        /**
+         * The separators run in parallel using this many threads.
+         */
+        public final IntSupplier parallelism;
+        /**
+         * Max number of separation rounds at the root node
+         */
+        public final int rounds;
+        /**
+         * Max parallelism (the cosine of the angle between two cuts' normals) allowed among the cuts selected
+         * in one round.
+         */
+        public final double similarity;
+        private final boolean[] mySeparators;
+
+        public CutPoolConfiguration() {
+            this(10, 50, 1.0E-4, Parallelism.CORES, 10, 0.98, new boolean[] { true, true, true, true });
+        }
+
+        private CutPoolConfiguration(final int newAge, final int newCuts, final double newEfficacy, final IntSupplier newParallelism, final int newRounds,
+                final double newSimilarity, final boolean[] newSeparators) {
+            super();
+            age = newAge;
+            cuts = newCuts;
+            efficacy = newEfficacy;
+            parallelism = newParallelism;
+            rounds = newRounds;
+            similarity = newSimilarity;
+            mySeparators = newSeparators;
+        }
+
+        public boolean isEnabled(final Separator separator) {
+            return mySeparators[separator.ordinal()];
+        }
+
+        public CutPoolConfiguration withAge(final int newAge) {
+            return new CutPoolConfiguration(Math.max(1, newAge), cuts, efficacy, parallelism, rounds, similarity, mySeparators);
+        }
+
+        public CutPoolConfiguration withCuts(final int newCuts) {
+            return new CutPoolConfiguration(age, Math.max(1, newCuts), efficacy, parallelism, rounds, similarity, mySeparators);
+        }
+
+        public CutPoolConfiguration withEfficacy(final double newEfficacy) {
+            return new CutPoolConfiguration(age, cuts, Math.abs(newEfficacy), parallelism, rounds, similarity, mySeparators);
+        }
+
+        public CutPoolConfiguration withParallelism(final IntSupplier newParallelism) {
+            return new CutPoolConfiguration(age, cuts, efficacy, newParallelism, rounds, similarity, mySeparators);
+        }
+
+        public CutPoolConfiguration withRounds(final int newRounds) {
+            return new CutPoolConfiguration(age, cuts, efficacy, parallelism, Math.max(0, newRounds), similarity, mySeparators);
+        }
+
+        /**
+         * Turn a separator on or off
+         */
+        public CutPoolConfiguration withSeparator(final Separator separator, final boolean enabled) {
+            boolean[] newSeparators = mySeparators.clone();
+            newSeparators[separator.ordinal()] = enabled;
+            return new CutPoolConfiguration(age, cuts, efficacy, parallelism, rounds, similarity, newSeparators);
+        }
+
+        public CutPoolConfiguration withSimilarity(final double newSimilarity) {
+            return new CutPoolConfiguration(age, cuts, efficacy, parallelism, rounds, Math.min(Math.abs(newSimilarity), 1.0), mySeparators);
+        }
+
+        List<Separator> getEnabledSeparators() {
+            List<Separator> retVal = new ArrayList<>(SEPARATORS.length);
+            for (Separator separator : SEPARATORS) {
+                if (mySeparators[separator.ordinal()]) {
+                    retVal.add(separator);
+                }
+            }
+            return retVal;
+        }
+
+    }
+
+    /**
+     * Deterministic parallel search configuration. By default the worker threads pick nodes from, and add
+     * nodes to, the shared set of nodes as fast as they can. The order in which nodes are evaluated, and
+     * therefore the incumbents found and the number of nodes evaluated, then depends on thread timing.
+     * <p>
+     * With this configuration the search (after the root node) proceeds in synchronised rounds. In each round
+     * every worker gets one node, in a fixed order, and dives from it until it has spent its work budget.
+     * Work is counted in simplex iterations, not time. While a round is running the workers see the same
+     * incumbent and pseudo-costs. Whatever they find – new nodes, integer solutions and pseudo-cost
+     * observations – is merged, in worker order, at the end of the round.
+     * <p>
+     * Given the same model and the same number of workers the results are identical from run to run. A few
+     * things are not compatible with that: the primal heuristics are not run, the {@link ModelStrategy} is
+     * never asked to cut rather than branch in the tree (cuts are still generated at the root node), and a
+     * time limit makes the search stop after a varying number of rounds.
+     *
+     * @author apete
+     */
+    public static final class DeterministicConfiguration {
+
+        /**
+         * The work budget, in simplex iterations, each worker gets per round. A worker always evaluates the
+         * node it is given, but stops diving (and defers both children) once the budget is spent.
+         */
+        public final int work;
+
+        public DeterministicConfiguration() {
+            this(1_000);
+        }
+
+        private DeterministicConfiguration(final int newWork) {
+            super();
+            work = newWork;
+        }
+
+        public DeterministicConfiguration withWork(final int newWork) {
+            return new DeterministicConfiguration(Math.max(1, newWork));
         }
 
     }
@@ -200,6 +445,162 @@ public interface IntegerStrategy {
 
     }
 
+    /**
+     * Primal heuristics configuration. The heuristics run on dedicated threads, in parallel with the
+     * branch&bound search, and any improving integer solutions they find become the new incumbent – making
+     * the gap based pruning effective earlier.
+     * <p>
+     * The heuristic threads take turns running the heuristics, always picking the one that has used the
+     * least CPU time relative to its configured share. That's the heuristic threads' own CPU time, as measured
+     * by the {@link java.lang.management.ThreadMXBean}, or wall time if the JVM can't measure thread CPU time.
+     *
+     * @author apete
+     */
+    public static final class HeuristicsConfiguration {
+
+        public enum Heuristic {
+
+            /**
+             * Dive (round and resolve, one variable at a time) preferring variables with few locks – few
+             * constraints that could become violated – in the rounding direction.
+             */
+            COEFFICIENT_DIVING,
+            /**
+             * Alternate between rounding the LP solution and finding the LP feasible point closest to that
+             * rounding, until the two coincide.
+             */
+            FEASIBILITY_PUMP,
+            /**
+             * Dive rounding the least fractional variable.
+             */
+            FRACTIONAL_DIVING,
+            /**
+             * Solve a sub-MIP restricted to a neighbourhood (limited number of binary variable flips) of the
+             * incumbent.
+             */
+            LOCAL_BRANCHING,
+            /**
+             * Dive rounding in the direction with the smallest expected objective degradation according to
+             * the pseudo-costs.
+             */
+            PSEUDO_COST_DIVING,
+            /**
+             * Relaxation Induced Neighbourhood Search – solve a sub-MIP with the integer variables, that have
+             * the same value in the incumbent and the LP relaxation, fixed.
+             */
+            RINS;
+
+        }
+
+        private static final Heuristic[] HEURISTICS = Heuristic.values();
+
+        private static double[] uniform() {
+            double[] retVal = new double[HEURISTICS.length];
+            Arrays.fill(retVal, PrimitiveMath.ONE);
+            return retVal;
+        }
+
+        /**
+         * The number of dedicated heuristic threads
+         */
+        public final IntSupplier parallelism;
+        private final double[] myShares;
+
+        public HeuristicsConfiguration() {
+            this(Parallelism.ONE, HeuristicsConfiguration.uniform());
+        }
+
+        private HeuristicsConfiguration(final IntSupplier newParallelism, final double[] newShares) {
+            super();
+            parallelism = newParallelism;
+            myShares = newShares;
+        }
+
+        /**
+         * The relative share of the heuristics threads' CPU time given to this heuristic
+         */
+        public double getShare(final Heuristic heuristic) {
+            return myShares[heuristic.ordinal()];
+        }
+
+        public HeuristicsConfiguration withParallelism(final IntSupplier newParallelism) {
+            return new HeuristicsConfiguration(newParallelism, myShares);
+        }
+
+        /**
+         * Set the relative share of CPU time for a heuristic. A zero share turns it off.
+         */
+        public HeuristicsConfiguration withShare(final Heuristic heuristic, final double newShare) {
+            double[] newShares = myShares.clone();
+            newShares[heuristic.ordinal()] = Math.max(PrimitiveMath.ZERO, newShare);
+            return new HeuristicsConfiguration(parallelism, newShares);
+        }
+
+    }
+
+    /**
+     * Reliability branching configuration. At each node the branching candidates whose pseudo-costs are not
+     * yet reliable (have too few observations) are probed – both child problems are solved, warm started from
+     * the node's basis. The outcomes are recorded as pseudo-cost observations, and a child that turns out to
+     * be infeasible (or unable to improve on the incumbent) fixes the variable in the other direction.
+     *
+     * @author apete
+     */
+    public static final class ReliabilityConfiguration {
+
+        /**
+         * The maximum number of (unreliable) candidates probed per node. The ones with the highest current
+         * score are selected.
+         */
+        public final int candidates;
+        /**
+         * The maximum number of (simplex) iterations per probe. A probe that reaches the limit is abandoned,
+         * and gives no information.
+         */
+        public final int iterations;
+        /**
+         * The probes at a node are split among this many threads. The first thread probes on the node's own
+         * (already solved) solver. Each additional thread needs its own copy of the node problem, solved from
+         * scratch, before it can start probing. The default is 1 – the nodes are already processed in
+         * parallel.
+         */
+        public final IntSupplier parallelism;
+        /**
+         * The number of observations, in both directions, required before a variable's pseudo-costs are
+         * considered reliable.
+         */
+        public final int reliability;
+
+        public ReliabilityConfiguration() {
+            this(8, 200, Parallelism.ONE, 4);
+        }
+
+        private ReliabilityConfiguration(final int newCandidates, final int newIterations, final IntSupplier newParallelism, final int newReliability) {
+            super();
+            candidates = newCandidates;
+            iterations = newIterations;
+            parallelism = newParallelism;
+            reliability = newReliability;
+        }
+
+        public ReliabilityConfiguration withCandidates(final int newCandidates) {
+            return new ReliabilityConfiguration(Math.max(1, newCandidates), iterations, parallelism, reliability);
+        }
+
+        public ReliabilityConfiguration withIterations(final int newIterations) {
+            return new ReliabilityConfiguration(candidates, Math.max(1, newIterations), parallelism, reliability);
+        }
+
+        public ReliabilityConfiguration withParallelism(final IntSupplier newParallelism) {
+            return new ReliabilityConfiguration(candidates, iterations, newParallelism, reliability);
+        }
+
+        public ReliabilityConfiguration withReliability(final int newReliability) {
+            return new ReliabilityConfiguration(candidates, iterations, parallelism, Math.max(1, newReliability));
+        }
+
+    }
+
     ConfigurableStrategy DEFAULT = IntegerStrategy.newConfigurable();
 
     static ConfigurableStrategy newConfigurable() {
@@ -211,11 +612,22 @@ public interface IntegerStrategy {
         NumberContext gap = NumberContext.of(5, 7);
 
         return new ConfigurableStrategy(Parallelism.CORES.require(definitions.length), definitions, integrality, gap, DefaultStrategy::new,
-                new GMICutConfiguration());
+                new GMICutConfiguration(), null, null, null, null);
     }
 
     int countUniqueStrategies();
 
+    /**
+     * @return The cut pool configuration, or null if the cut pool is turned off (the default)
+     */
+    CutPoolConfiguration getCutPoolConfiguration();
+
+    /**
+     * @return The deterministic search configuration, or null if the search is not deterministic (the
+     *         default)
+     */
+    DeterministicConfiguration getDeterministicConfiguration();
+
     /**
      * The MIP gap is the difference between the best integer solution found so far and a node's relaxed
      * non-integer solution. The relative MIP gap is that difference divided by the optimal value
@@ -229,11 +641,22 @@ public interface IntegerStrategy {
 
     GMICutConfiguration getGMICutConfiguration();
 
+    /**
+     * @return The primal heuristics configuration, or null if the heuristics are turned off (the default)
+     */
+    HeuristicsConfiguration getHeuristicsConfiguration();
+
     /**
      * Used to determine if a variable value is integer or not
      */
     NumberContext getIntegralityTolerance();
 
+    /**
+     * @return The reliability branching configuration, or null if reliability branching is turned off (the
+     *         default)
+     */
+    ReliabilityConfiguration getReliabilityConfiguration();
+
     /**
      * There will be 1 worker thread per item in the returned {@link List}. The {@link Comparator} instances
      * need not be unique. Used to prioritise among the nodes waiting to be evaluated.
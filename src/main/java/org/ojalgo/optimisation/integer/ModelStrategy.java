@@ -218,6 +218,16 @@ public abstract class ModelStrategy implements IntegerStrategy {
             return true;
         }
 
+        @Override
+        protected double getPseudoCost(final int idx, final boolean upper) {
+            return upper ? myUpperPseudoWeight[idx] : myLowerPseudoWeight[idx];
+        }
+
+        @Override
+        protected boolean isReliable(final int idx, final int threshold) {
+            return Math.min(myLowerCount[idx], myUpperCount[idx]) >= threshold;
+        }
+
         /**
          * scale-aware infeasible update using any available cutoff (incumbent or best bound)
          */
@@ -368,6 +378,16 @@ public abstract class ModelStrategy implements IntegerStrategy {
         return myStrategy.countUniqueStrategies();
     }
 
+    @Override
+    public CutPoolConfiguration getCutPoolConfiguration() {
+        return myStrategy.getCutPoolConfiguration();
+    }
+
+    @Override
+    public DeterministicConfiguration getDeterministicConfiguration() {
+        return myStrategy.getDeterministicConfiguration();
+    }
+
     @Override
     public NumberContext getGapTolerance() {
         return myStrategy.getGapTolerance();
@@ -378,11 +398,21 @@ public abstract class ModelStrategy implements IntegerStrategy {
         return myStrategy.getGMICutConfiguration();
     }
 
+    @Override
+    public HeuristicsConfiguration getHeuristicsConfiguration() {
+        return myStrategy.getHeuristicsConfiguration();
+    }
+
     @Override
     public NumberContext getIntegralityTolerance() {
         return myStrategy.getIntegralityTolerance();
     }
 
+    @Override
+    public ReliabilityConfiguration getReliabilityConfiguration() {
+        return myStrategy.getReliabilityConfiguration();
+    }
+
     @Override
     public List<Comparator<NodeKey>> getWorkerPriorities() {
         return myWorkerPriorities;
@@ -420,6 +450,17 @@ public abstract class ModelStrategy implements IntegerStrategy {
     protected abstract boolean isCutRatherThanBranch(NodeKey nodeKey, int branchIntegerIndex, double variableValue, double nodeValue,
             Optimisation.Result bestResultSoFar);
 
+    /**
+     * The expected objective degradation per unit displacement when branching/rounding this integer variable
+     * in this direction. Used by some of the primal heuristics. Default: 1.0 (no information).
+     *
+     * @param idx   integer-variable index (same indexing as {@link #scoreBranch})
+     * @param upper true for up-branch (rounding up), false for down-branch
+     */
+    protected double getPseudoCost(final int idx, final boolean upper) {
+        return ONE;
+    }
+
     protected boolean isGoodEnough(final Result bestResultSoFar, final double relaxedNodeValue) {
 
         if (bestResultSoFar == null) {
@@ -444,6 +485,19 @@ public abstract class ModelStrategy implements IntegerStrategy {
         return false;
     }
 
+    /**
+     * Are the pseudo-costs of this integer variable reliable – based on at least {@code threshold}
+     * observations in each direction? Unreliable branching candidates are probed when reliability branching
+     * is turned on. Default: true (never probe), so custom strategies are unaffected.
+     *
+     * @param idx       integer-variable index (same indexing as {@link #scoreBranch})
+     * @param threshold the required number of observations, see
+     *                  {@link IntegerStrategy.ReliabilityConfiguration#reliability}
+     */
+    protected boolean isReliable(final int idx, final int threshold) {
+        return true;
+    }
+
     protected abstract void markInfeasible(NodeKey key, boolean found, double incumbentValue);
 
     protected abstract void markInteger(NodeKey key, Optimisation.Result result);
@@ -319,6 +319,17 @@ public final class NodeKey implements Comparable<NodeKey> {
         return new NodeKey(tmpLBs, tmpUBs, sequence, depth, branchIntegerIndex, value - floorValue, objVal, changed, false, myIntArrayPool);
     }
 
+    /**
+     * The same node, but with (some of) the integer variables' bounds tightened – the implications of probing
+     * the node. Not a branch; depth, branched on variable and displacement are those of this node.
+     *
+     * @param lowerBounds Borrowed from this node's pool, see {@link #copyLowerBounds()}
+     * @param upperBounds Borrowed from this node's pool, see {@link #copyUpperBounds()}
+     */
+    NodeKey createTightened(final int[] lowerBounds, final int[] upperBounds) {
+        return new NodeKey(lowerBounds, upperBounds, parent, depth - 1, index, displacement, objective, mySignChanged, myUpperBranch, myIntArrayPool);
+    }
+
     NodeKey createUpperBranch(final int branchIntegerIndex, final double value, final double objVal) {
 
         int[] tmpLBs = this.copyLowerBounds();
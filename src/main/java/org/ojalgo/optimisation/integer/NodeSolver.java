@@ -25,8 +25,8 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map.Entry;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import org.ojalgo.ProgrammingError;
 import org.ojalgo.equation.Equation;
@@ -35,6 +35,7 @@ import org.ojalgo.function.special.MissingMath;
 import org.ojalgo.netio.BasicLogger;
 import org.ojalgo.optimisation.Expression;
 import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.optimisation.GenericSolver;
 import org.ojalgo.optimisation.IntermediateSolver;
 import org.ojalgo.optimisation.ModelEntity;
 import org.ojalgo.optimisation.UpdatableSolver;
@@ -47,7 +48,6 @@ public final class NodeSolver extends IntermediateSolver {
 
     private static final NumberContext PRECISION = NumberContext.of(12);
     private static final NumberContext COEFFICIENT = PRECISION.withMode(RoundingMode.CEILING);
-    private static final AtomicInteger COUNTER = new AtomicInteger();
     private static final boolean DEBUG = false;
     private static final NumberContext DYNANISM = NumberContext.of(8);
     private static final NumberContext LIMIT = PRECISION.withMode(RoundingMode.FLOOR);
@@ -62,13 +62,18 @@ public final class NodeSolver extends IntermediateSolver {
      */
     private boolean[] myCachedIntegers = null;
     private ExpressionsBasedModel.EntityMap myCachedIntegersFor = null;
+    /**
+     * Used to name the cuts added to this solver's model. Not global, so the names (and thereby the order of
+     * the constraints) do not depend on what other solvers have done.
+     */
+    private int myCutCount = 0;
     private Boolean myInPlaceBoundUpdateSafe = null;
 
     NodeSolver(final ExpressionsBasedModel model) {
         super(model);
     }
 
-    private boolean doGenerateCuts(final ModelStrategy strategy, final NodeKey nodeKey, final ExpressionsBasedModel target) {
+    private boolean doGenerateCuts(final ModelStrategy strategy, final NodeKey nodeKey, final ExpressionsBasedModel target, final CutPool pool) {
 
         if (!this.isSolved()) {
             return false;
@@ -110,7 +115,7 @@ public final class NodeSolver extends IntermediateSolver {
 
                 for (Equation equation : potentialCuts) {
 
-                    String name = "CUT_GMI_" + equation.index + "_" + COUNTER.incrementAndGet();
+                    String name = "CUT_GMI_" + equation.index + "_" + ++myCutCount;
 
                     if (DEBUG) {
                         BasicLogger.debug();
@@ -251,6 +256,10 @@ public final class NodeSolver extends IntermediateSolver {
                         if (target.options.validate && target.validate(result)) {
                             BasicLogger.error("Result still valid, was NOT cut off!");
                         }
+
+                        if (pool != null) {
+                            pool.offer(cut);
+                        }
                     }
                 }
             }
@@ -260,8 +269,33 @@ public final class NodeSolver extends IntermediateSolver {
         return nbConstr != target.constraints().count();
     }
 
+    /**
+     * Separate cuts, using the {@link CutPool}'s separators, from the given (this node's LP) solution, and
+     * add the cuts the pool selects to this node's model.
+     */
+    boolean generateCuts(final CutPool pool, final Result result) {
+        List<CutPool.Cut> cuts = pool.separate(result);
+        ExpressionsBasedModel model = this.getModel();
+        for (CutPool.Cut cut : cuts) {
+            cut.addTo(model);
+        }
+        boolean retVal = !cuts.isEmpty();
+        if (retVal) {
+            this.reset();
+        }
+        return retVal;
+    }
+
     boolean generateCuts(final ModelStrategy strategy) {
-        boolean retVal = this.doGenerateCuts(strategy, null, this.getModel());
+        return this.generateCuts(strategy, (CutPool) null);
+    }
+
+    /**
+     * Generate Gomory cuts at the root node. The cuts are globally valid and therefore also offered to the
+     * pool (if not null).
+     */
+    boolean generateCuts(final ModelStrategy strategy, final CutPool pool) {
+        boolean retVal = this.doGenerateCuts(strategy, null, this.getModel(), pool);
         if (retVal) {
             this.reset();
         }
@@ -269,11 +303,11 @@ public final class NodeSolver extends IntermediateSolver {
     }
 
     boolean generateCuts(final ModelStrategy strategy, final ExpressionsBasedModel target) {
-        return this.doGenerateCuts(strategy, null, target);
+        return this.doGenerateCuts(strategy, null, target, null);
     }
 
     boolean generateCuts(final ModelStrategy strategy, final NodeKey nodeKey) {
-        boolean retVal = this.doGenerateCuts(strategy, nodeKey, this.getModel());
+        boolean retVal = this.doGenerateCuts(strategy, nodeKey, this.getModel(), null);
         if (retVal) {
             this.reset();
         }
@@ -309,4 +343,25 @@ public final class NodeSolver extends IntermediateSolver {
         return myInPlaceBoundUpdateSafe.booleanValue();
     }
 
+    /**
+     * Re-solve, warm started from the current (solved) state, giving up after at most {@code iterationsLimit}
+     * iterations. The limit only applies to this solve, and only if the solver is already solved – a cold
+     * solve is never limited.
+     */
+    Result solve(final Result candidate, final int iterationsLimit) {
+
+        GenericSolver solver = this.isSolved() && this.getSolver() instanceof GenericSolver ? (GenericSolver) this.getSolver() : null;
+
+        if (solver == null) {
+            return this.solve(candidate);
+        }
+
+        solver.limitIterations(iterationsLimit);
+        try {
+            return this.solve(candidate);
+        } finally {
+            solver.limitIterations(Integer.MAX_VALUE);
+        }
+    }
+
 }
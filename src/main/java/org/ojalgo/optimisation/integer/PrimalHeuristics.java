@@ -0,0 +1,648 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation.integer;
+
+import static org.ojalgo.function.constant.PrimitiveMath.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.ojalgo.array.ArrayR064;
+import org.ojalgo.concurrent.DaemonPoolExecutor;
+import org.ojalgo.concurrent.Parallelism;
+import org.ojalgo.optimisation.Expression;
+import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.optimisation.Optimisation;
+import org.ojalgo.optimisation.PreparedModel;
+import org.ojalgo.optimisation.Variable;
+import org.ojalgo.optimisation.integer.IntegerStrategy.HeuristicsConfiguration;
+import org.ojalgo.optimisation.integer.IntegerStrategy.HeuristicsConfiguration.Heuristic;
+import org.ojalgo.structure.Structure1D.IntIndex;
+import org.ojalgo.type.context.NumberContext;
+
+/**
+ * A portfolio of primal heuristics run on dedicated threads, in parallel with the branch&bound tree search.
+ * Each heuristic thread repeatedly picks the heuristic that has consumed the least CPU time relative to its
+ * configured share. Improving integer solutions are validated against the integer model and then handed to
+ * {@link IntegerSolver#markInteger(NodeKey, Optimisation.Result, ModelStrategy)} – exactly as if found by
+ * the tree search – and the tightened objective cutoff in turn makes the heuristics look for better
+ * solutions.
+ */
+final class PrimalHeuristics {
+
+    private static final Heuristic[] HEURISTICS = Heuristic.values();
+    private static final long IDLE = TimeUnit.MILLISECONDS.toNanos(1L);
+    /**
+     * The number of binary variables allowed to flip in the local branching neighbourhood
+     */
+    private static final int LOCAL_BRANCHING = 10;
+    private static final int PUMP_ITERATIONS = 100;
+    /**
+     * RINS is only attempted when at least this fraction of the integer variables can be fixed
+     */
+    private static final double RINS_FIXED = 0.3;
+    private static final long SUB_MIP_TIME = 1_000L;
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    /**
+     * Measure (charge) the current thread's CPU time, if the JVM supports that, otherwise wall time.
+     */
+    private static final boolean CPU_TIME = THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+
+    private static long time() {
+        return CPU_TIME ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    private final HeuristicsConfiguration myConfiguration;
+    private final double[] myConsumed = new double[HEURISTICS.length];
+    private final int[] myDownLocks;
+    private final List<Future<?>> myFutures = new ArrayList<>();
+    private final ExpressionsBasedModel myIntegerModel;
+    private final Optimisation.Result[] myLastIncumbent = new Optimisation.Result[HEURISTICS.length];
+    private final boolean myLinear;
+    private final Set<Thread> myRunning = new HashSet<>();
+    private final AtomicLong mySeed = new AtomicLong();
+    private final Optimisation.Sense mySense;
+    private final IntegerSolver mySolver;
+    private volatile boolean myStopped = false;
+    private final ModelStrategy myStrategy;
+    private final int[] myUpLocks;
+
+    PrimalHeuristics(final IntegerSolver solver, final ExpressionsBasedModel integerModel, final ModelStrategy strategy,
+            final HeuristicsConfiguration configuration) {
+
+        super();
+
+        mySolver = solver;
+        myIntegerModel = integerModel;
+        myStrategy = strategy;
+        myConfiguration = configuration;
+
+        mySense = integerModel.getOptimisationSense();
+        myLinear = !integerModel.isAnyExpressionQuadratic();
+
+        int nbIntegers = strategy.countIntegerVariables();
+
+        int[] integerIndex = new int[integerModel.countVariables()];
+        Arrays.fill(integerIndex, -1);
+        for (int i = 0; i < nbIntegers; i++) {
+            integerIndex[strategy.getIndex(i)] = i;
+        }
+
+        myDownLocks = new int[nbIntegers];
+        myUpLocks = new int[nbIntegers];
+
+        integerModel.constraints().forEach(constraint -> {
+            for (Entry<IntIndex, BigDecimal> entry : constraint.getLinearEntrySet()) {
+                int ii = integerIndex[entry.getKey().index];
+                if (ii >= 0) {
+                    int sign = entry.getValue().signum();
+                    if (sign > 0 && constraint.isUpperLimitSet() || sign < 0 && constraint.isLowerLimitSet()) {
+                        myUpLocks[ii]++;
+                    }
+                    if (sign > 0 && constraint.isLowerLimitSet() || sign < 0 && constraint.isUpperLimitSet()) {
+                        myDownLocks[ii]++;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Start the heuristic threads
+     */
+    void start() {
+
+        int nbThreads = Math.max(1, myConfiguration.parallelism.getAsInt());
+
+        for (int t = 0; t < nbThreads; t++) {
+            myFutures.add(DaemonPoolExecutor.invoke(this::run));
+        }
+    }
+
+    /**
+     * Stop the heuristic threads, and wait for them to actually stop. When this method returns no more
+     * solutions will be pushed to the {@link IntegerSolver}.
+     */
+    void stop() {
+
+        myStopped = true;
+
+        synchronized (myRunning) {
+            for (Thread thread : myRunning) {
+                thread.interrupt();
+            }
+        }
+
+        for (Future<?> future : myFutures) {
+            try {
+                future.get();
+            } catch (InterruptedException | ExecutionException cause) {
+                // Nothing more to do
+            }
+        }
+
+        myFutures.clear();
+    }
+
+    private void charge(final Heuristic heuristic, final long nanos) {
+        synchronized (myConsumed) {
+            myConsumed[heuristic.ordinal()] += nanos;
+        }
+    }
+
+    /**
+     * Round-and-resolve, one variable at a time, until the LP solution is integer or infeasible. The
+     * {@link Heuristic} decides which variable to round and in which direction.
+     */
+    private Optimisation.Result dive(final Heuristic heuristic, final Random random) {
+
+        NumberContext integrality = myStrategy.getIntegralityTolerance();
+        int nbIntegers = myStrategy.countIntegerVariables();
+
+        ExpressionsBasedModel relaxation = myIntegerModel.snapshot();
+        NodeSolver solver = relaxation.prepare(mySense, NodeSolver::new);
+
+        try {
+
+            Optimisation.Result result = solver.solve(null);
+
+            for (int d = 0; d <= nbIntegers && !myStopped && result.getState().isOptimal(); d++) {
+
+                int bestIndex = -1;
+                boolean bestUp = false;
+                double bestScore = POSITIVE_INFINITY;
+
+                for (int i = 0; i < nbIntegers; i++) {
+
+                    double value = result.doubleValue(myStrategy.getIndex(i));
+                    double distDown = value - Math.floor(value);
+                    double distUp = ONE - distDown;
+
+                    if (integrality.isZero(Math.min(distDown, distUp))) {
+                        continue;
+                    }
+
+                    boolean up;
+                    double score;
+
+                    switch (heuristic) {
+                    case COEFFICIENT_DIVING:
+                        up = myUpLocks[i] < myDownLocks[i] || myUpLocks[i] == myDownLocks[i] && distUp < distDown;
+                        score = (up ? myUpLocks[i] : myDownLocks[i]) + Math.min(distDown, distUp);
+                        break;
+                    case PSEUDO_COST_DIVING:
+                        double costDown = myStrategy.getPseudoCost(i, false) * distDown;
+                        double costUp = myStrategy.getPseudoCost(i, true) * distUp;
+                        up = costUp < costDown;
+                        score = Math.min(costDown, costUp);
+                        break;
+                    default:
+                        up = distUp < distDown;
+                        score = Math.min(distDown, distUp);
+                        break;
+                    }
+
+                    // Randomised tie-breaking, to not repeat the exact same dive
+                    score *= ONE + TENTH * random.nextDouble();
+
+                    if (score < bestScore) {
+                        bestIndex = i;
+                        bestUp = up;
+                        bestScore = score;
+                    }
+                }
+
+                if (bestIndex < 0) {
+                    return this.toCandidate(result);
+                }
+
+                int gi = myStrategy.getIndex(bestIndex);
+                double value = result.doubleValue(gi);
+                Variable variable = relaxation.getVariable(gi);
+
+                BigDecimal lower = variable.getLowerLimit();
+                BigDecimal upper = variable.getUpperLimit();
+                BigDecimal floor = BigDecimal.valueOf((long) Math.floor(value));
+                BigDecimal ceil = floor.add(BigDecimal.ONE);
+
+                if (bestUp) {
+                    variable.lower(ceil);
+                } else {
+                    variable.upper(floor);
+                }
+                solver.update(variable);
+                result = solver.solve(null);
+
+                if (!result.getState().isOptimal()) {
+                    // Backtrack once – try the other direction
+                    variable.lower(lower).upper(upper);
+                    if (bestUp) {
+                        variable.upper(floor);
+                    } else {
+                        variable.lower(ceil);
+                    }
+                    solver.update(variable);
+                    result = solver.solve(null);
+                }
+            }
+
+            return null;
+
+        } finally {
+            solver.dispose();
+        }
+    }
+
+    private Optimisation.Result execute(final Heuristic heuristic, final Optimisation.Result incumbent, final Random random) {
+        switch (heuristic) {
+        case FEASIBILITY_PUMP:
+            return this.pump(random);
+        case LOCAL_BRANCHING:
+            return this.localBranching(incumbent);
+        case RINS:
+            return this.rins(incumbent);
+        default:
+            return this.dive(heuristic, random);
+        }
+    }
+
+    private boolean isApplicable(final Heuristic heuristic, final Optimisation.Result incumbent) {
+
+        if (myConfiguration.getShare(heuristic) <= ZERO) {
+            return false;
+        }
+
+        switch (heuristic) {
+        case LOCAL_BRANCHING:
+        case RINS:
+            // Needs an incumbent, and only worth doing once per incumbent
+            return incumbent != null && incumbent != myLastIncumbent[heuristic.ordinal()];
+        default:
+            return myLinear;
+        }
+    }
+
+    private boolean isImprovement(final double value) {
+        Optimisation.Result best = mySolver.getBestResultSoFar();
+        if (!best.getState().isFeasible()) {
+            return true;
+        }
+        return mySense == Optimisation.Sense.MAX ? value > best.getValue() : value < best.getValue();
+    }
+
+    /**
+     * Search a neighbourhood of the incumbent – at most {@link #LOCAL_BRANCHING} binary variables may change
+     * value.
+     */
+    private Optimisation.Result localBranching(final Optimisation.Result incumbent) {
+
+        ExpressionsBasedModel subModel = myIntegerModel.copy(this.newSubOptions());
+
+        Expression neighbourhood = subModel.newExpression("LOCAL_BRANCHING");
+
+        int nbBinaries = 0;
+        int nbOnes = 0;
+
+        for (int i = 0, limit = myStrategy.countIntegerVariables(); i < limit; i++) {
+            int gi = myStrategy.getIndex(i);
+            if (subModel.getVariable(gi).isBinary()) {
+                nbBinaries++;
+                if (incumbent.doubleValue(gi) > HALF) {
+                    neighbourhood.set(gi, -1L);
+                    nbOnes++;
+                } else {
+                    neighbourhood.set(gi, 1L);
+                }
+            }
+        }
+
+        if (nbBinaries <= LOCAL_BRANCHING) {
+            // The neighbourhood would be the entire search space
+            return null;
+        }
+
+        neighbourhood.upper(LOCAL_BRANCHING - nbOnes);
+
+        return this.solveSubMIP(subModel);
+    }
+
+    /**
+     * Sub-MIP:s run single threaded, without heuristics, and with a limited amount of time.
+     */
+    private Optimisation.Options newSubOptions() {
+
+        Optimisation.Options options = myIntegerModel.options;
+        Optimisation.Options retVal = new Optimisation.Options();
+
+        retVal.experimental = options.experimental;
+        retVal.feasibility = options.feasibility;
+        retVal.solution = options.solution;
+        retVal.sparse = options.sparse;
+        retVal.time_abort = SUB_MIP_TIME;
+
+        retVal.convex(options.convex());
+        retVal.linear(options.linear());
+        retVal.integer(IntegerStrategy.DEFAULT.withParallelism(Parallelism.ONE).withGapTolerance(myStrategy.getGapTolerance()));
+
+        return retVal;
+    }
+
+    private synchronized Heuristic next(final Optimisation.Result incumbent) {
+
+        Heuristic retVal = null;
+        double minimum = POSITIVE_INFINITY;
+
+        synchronized (myConsumed) {
+            for (Heuristic heuristic : HEURISTICS) {
+                if (this.isApplicable(heuristic, incumbent)) {
+                    double relative = myConsumed[heuristic.ordinal()] / myConfiguration.getShare(heuristic);
+                    if (relative < minimum) {
+                        retVal = heuristic;
+                        minimum = relative;
+                    }
+                }
+            }
+        }
+
+        if (retVal != null) {
+            myLastIncumbent[retVal.ordinal()] = incumbent;
+        }
+
+        return retVal;
+    }
+
+    private void offer(final Optimisation.Result candidate) {
+
+        if (myStopped || !myIntegerModel.validate(candidate)) {
+            return;
+        }
+
+        double value = myIntegerModel.objective().evaluate(candidate).doubleValue();
+
+        if (this.isImprovement(value)) {
+            mySolver.markInteger(null, new Optimisation.Result(Optimisation.State.FEASIBLE, value, candidate), myStrategy);
+        }
+    }
+
+    /**
+     * Feasibility pump: alternate between rounding the LP solution and solving an LP minimising the distance
+     * to that rounding. Distance is measured for integer variables at one of their bounds – typically binary
+     * variables. Cycles are broken by flipping a random number of the most fractional roundings.
+     */
+    private Optimisation.Result pump(final Random random) {
+
+        NumberContext integrality = myStrategy.getIntegralityTolerance();
+        int nbIntegers = myStrategy.countIntegerVariables();
+
+        ExpressionsBasedModel relaxation = myIntegerModel.snapshot();
+        NodeSolver solver = relaxation.prepare(mySense, NodeSolver::new);
+        Optimisation.Result result = solver.solve(null);
+        solver.dispose();
+
+        if (!result.getState().isOptimal()) {
+            return null;
+        }
+
+        ExpressionsBasedModel distanceModel = myIntegerModel.snapshot();
+        for (Variable variable : distanceModel.getVariables()) {
+            variable.weight(null);
+        }
+        for (Expression expression : distanceModel.getExpressions()) {
+            if (expression.isObjective()) {
+                expression.weight(null);
+            }
+        }
+
+        PreparedModel distance = distanceModel.prepare(Optimisation.Sense.MIN);
+
+        try {
+
+            long[] rounded = new long[nbIntegers];
+            double[] weights = new double[nbIntegers];
+            Arrays.fill(weights, NaN);
+
+            for (int i = 0; i < nbIntegers; i++) {
+                rounded[i] = Math.round(result.doubleValue(myStrategy.getIndex(i)));
+            }
+
+            for (int iter = 0; iter < PUMP_ITERATIONS && !myStopped; iter++) {
+
+                for (int i = 0; i < nbIntegers; i++) {
+
+                    int gi = myStrategy.getIndex(i);
+                    Variable variable = distanceModel.getVariable(gi);
+
+                    double weight = ZERO;
+                    if (variable.isLowerLimitSet() && rounded[i] <= variable.getLowerLimit().doubleValue()) {
+                        weight = ONE;
+                    } else if (variable.isUpperLimitSet() && rounded[i] >= variable.getUpperLimit().doubleValue()) {
+                        weight = NEG;
+                    }
+
+                    if (weight != weights[i]) {
+                        weights[i] = weight;
+                        variable.weight(weight);
+                        distance.updateObjective(variable);
+                    }
+                }
+
+                result = distance.solve(null);
+
+                if (!result.getState().isFeasible()) {
+                    return null;
+                }
+
+                boolean integer = true;
+                boolean cycling = true;
+                double[] displacement = new double[nbIntegers];
+
+                for (int i = 0; i < nbIntegers; i++) {
+
+                    double value = result.doubleValue(myStrategy.getIndex(i));
+                    long next = Math.round(value);
+
+                    displacement[i] = Math.abs(value - rounded[i]);
+                    integer &= integrality.isZero(Math.abs(value - next));
+                    cycling &= next == rounded[i];
+
+                    rounded[i] = next;
+                }
+
+                if (integer) {
+                    return this.toCandidate(result);
+                }
+
+                if (cycling) {
+                    // Flip the roundings of the (10-30) variables furthest from their rounded value
+                    int nbFlips = 10 + random.nextInt(21);
+                    for (int f = 0; f < nbFlips; f++) {
+                        int furthest = -1;
+                        for (int i = 0; i < nbIntegers; i++) {
+                            if (displacement[i] > ZERO && (furthest < 0 || displacement[i] > displacement[furthest])) {
+                                furthest = i;
+                            }
+                        }
+                        if (furthest < 0) {
+                            break;
+                        }
+                        double value = result.doubleValue(myStrategy.getIndex(furthest));
+                        rounded[furthest] = value > rounded[furthest] ? rounded[furthest] + 1L : rounded[furthest] - 1L;
+                        displacement[furthest] = ZERO;
+                    }
+                }
+            }
+
+            return null;
+
+        } finally {
+            distance.dispose();
+        }
+    }
+
+    /**
+     * Relaxation Induced Neighbourhood Search: fix the integer variables that have the same value in the
+     * incumbent and in the LP relaxation, and solve the remaining sub-MIP.
+     */
+    private Optimisation.Result rins(final Optimisation.Result incumbent) {
+
+        if (!myLinear) {
+            return null;
+        }
+
+        ExpressionsBasedModel relaxation = myIntegerModel.snapshot();
+        NodeSolver solver = relaxation.prepare(mySense, NodeSolver::new);
+        Optimisation.Result result = solver.solve(null);
+        solver.dispose();
+
+        if (!result.getState().isOptimal()) {
+            return null;
+        }
+
+        ExpressionsBasedModel subModel = myIntegerModel.copy(this.newSubOptions());
+
+        int nbIntegers = myStrategy.countIntegerVariables();
+        int nbFixed = 0;
+
+        for (int i = 0; i < nbIntegers; i++) {
+            int gi = myStrategy.getIndex(i);
+            double value = incumbent.doubleValue(gi);
+            if (myStrategy.getIntegralityTolerance().isZero(value - result.doubleValue(gi))) {
+                subModel.getVariable(gi).level(Math.round(value));
+                nbFixed++;
+            }
+        }
+
+        if (nbFixed < RINS_FIXED * nbIntegers || nbFixed == nbIntegers) {
+            return null;
+        }
+
+        return this.solveSubMIP(subModel);
+    }
+
+    private void run() {
+
+        Thread thread = Thread.currentThread();
+
+        synchronized (myRunning) {
+            if (myStopped) {
+                return;
+            }
+            myRunning.add(thread);
+        }
+
+        Random random = new Random(mySeed.incrementAndGet());
+
+        try {
+
+            while (!myStopped) {
+
+                Optimisation.Result best = mySolver.getBestResultSoFar();
+                Optimisation.Result incumbent = best.getState().isFeasible() ? best : null;
+
+                Heuristic heuristic = this.next(incumbent);
+
+                if (heuristic == null) {
+                    LockSupport.parkNanos(IDLE);
+                    continue;
+                }
+
+                long started = PrimalHeuristics.time();
+
+                try {
+                    Optimisation.Result candidate = this.execute(heuristic, incumbent, random);
+                    if (candidate != null) {
+                        this.offer(candidate);
+                    }
+                } catch (RuntimeException cause) {
+                    // A failing heuristic should never fail the solve – just try something else
+                } finally {
+                    this.charge(heuristic, Math.max(0L, PrimalHeuristics.time() - started));
+                }
+            }
+
+        } finally {
+            synchronized (myRunning) {
+                myRunning.remove(thread);
+            }
+            // Clear any interrupt directed at this task before returning the thread to the pool
+            Thread.interrupted();
+        }
+    }
+
+    private Optimisation.Result solveSubMIP(final ExpressionsBasedModel subModel) {
+
+        Optimisation.Result result = mySense == Optimisation.Sense.MAX ? subModel.maximise() : subModel.minimise();
+
+        return result.getState().isFeasible() ? result : null;
+    }
+
+    /**
+     * Integer variables rounded to exact integer values, the others as is.
+     */
+    private Optimisation.Result toCandidate(final Optimisation.Result result) {
+
+        double[] values = new double[myIntegerModel.countVariables()];
+        for (int j = 0; j < values.length; j++) {
+            values[j] = result.doubleValue(j);
+        }
+        for (int i = 0, limit = myStrategy.countIntegerVariables(); i < limit; i++) {
+            int gi = myStrategy.getIndex(i);
+            values[gi] = Math.rint(values[gi]);
+        }
+
+        return new Optimisation.Result(Optimisation.State.FEASIBLE, ArrayR064.wrap(values));
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation.integer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.optimisation.Optimisation;
+
+/**
+ * The {@link ModelStrategy} used by one worker during one round of the deterministic search, see
+ * {@link IntegerStrategy.DeterministicConfiguration}. Queries are delegated to the shared strategy, that is
+ * not modified while a round is running. Updates, as well as the new nodes and integer solutions the worker
+ * finds, are recorded and then merged (in worker order) at the end of the round.
+ *
+ * @author apete
+ */
+final class RoundStrategy extends ModelStrategy {
+
+    private final List<NodeKey> myIntegerKeys = new ArrayList<>();
+    private final List<Optimisation.Result> myIntegerResults = new ArrayList<>();
+    private final List<NodeKey> myNodes = new ArrayList<>();
+    private final ModelStrategy myShared;
+    private final List<Consumer<ModelStrategy>> myUpdates = new ArrayList<>();
+    private final long myWorkBudget;
+    private long myWorkDone = 0L;
+
+    RoundStrategy(final ExpressionsBasedModel model, final ModelStrategy shared, final int workBudget) {
+
+        super(model, shared);
+
+        myShared = shared;
+        myWorkBudget = workBudget;
+    }
+
+    @Override
+    protected double getPseudoCost(final int idx, final boolean upper) {
+        return myShared.getPseudoCost(idx, upper);
+    }
+
+    @Override
+    protected void initialise() {
+        // The shared strategy is initialised by the solver
+    }
+
+    /**
+     * Never cut rather than branch in the tree. The decision is based on (and updates) state that, with
+     * several workers, would depend on thread timing.
+     */
+    @Override
+    protected boolean isCutRatherThanBranch(final NodeKey nodeKey, final int branchIntegerIndex, final double variableValue, final double nodeValue,
+            final Optimisation.Result bestResultSoFar) {
+        return false;
+    }
+
+    @Override
+    protected boolean isGoodEnough(final Optimisation.Result bestResultSoFar, final double relaxedNodeValue) {
+        return myShared.isGoodEnough(bestResultSoFar, relaxedNodeValue);
+    }
+
+    @Override
+    protected boolean isReliable(final int idx, final int threshold) {
+        return myShared.isReliable(idx, threshold);
+    }
+
+    @Override
+    protected void markInfeasible(final NodeKey key, final boolean found, final double incumbentValue) {
+        myUpdates.add(strategy -> strategy.markInfeasible(key, found, incumbentValue));
+    }
+
+    @Override
+    protected void markInteger(final NodeKey key, final Optimisation.Result result) {
+        myUpdates.add(strategy -> strategy.markInteger(key, result));
+    }
+
+    @Override
+    protected void observeBranch(final int idx, final boolean upper, final double observation) {
+        myUpdates.add(strategy -> strategy.observeBranch(idx, upper, observation));
+    }
+
+    @Override
+    protected void onCutFailure() {
+        myUpdates.add(ModelStrategy::onCutFailure);
+    }
+
+    @Override
+    protected void onCutSuccess(final NodeKey nodeKey) {
+        myUpdates.add(strategy -> strategy.onCutSuccess(nodeKey));
+    }
+
+    @Override
+    protected void onNodeSolved(final NodeKey key, final Optimisation.Result child, final double childObj, final boolean minimisation) {
+        myUpdates.add(strategy -> strategy.onNodeSolved(key, child, childObj, minimisation));
+    }
+
+    @Override
+    protected double scoreBranch(final int idx, final double distanceDown, final double distanceUp, final boolean found) {
+        return myShared.scoreBranch(idx, distanceDown, distanceUp, found);
+    }
+
+    void addWork(final int iterations) {
+        myWorkDone += 1 + iterations;
+    }
+
+    void defer(final NodeKey node) {
+        myNodes.add(node);
+    }
+
+    void deferInteger(final NodeKey key, final Optimisation.Result result) {
+        myIntegerKeys.add(key);
+        myIntegerResults.add(result);
+    }
+
+    boolean isWorkDone() {
+        return myWorkDone >= myWorkBudget;
+    }
+
+    /**
+     * Apply the recorded strategy updates, then offer the integer solutions and finally defer the nodes – in
+     * the order they were recorded. Resets this instance to be used in the next round.
+     */
+    void merge(final IntegerSolver solver) {
+
+        for (Consumer<ModelStrategy> update : myUpdates) {
+            update.accept(myShared);
+        }
+
+        for (int i = 0; i < myIntegerKeys.size(); i++) {
+            solver.markInteger(myIntegerKeys.get(i), myIntegerResults.get(i), myShared);
+        }
+
+        for (NodeKey node : myNodes) {
+            solver.defer(node, myShared);
+        }
+
+        myIntegerKeys.clear();
+        myIntegerResults.clear();
+        myNodes.clear();
+        myUpdates.clear();
+        myWorkDone = 0L;
+    }
+
+}
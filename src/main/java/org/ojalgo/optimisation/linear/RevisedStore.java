@@ -42,6 +42,7 @@ import org.ojalgo.structure.Mutate1D;
 import org.ojalgo.structure.Mutate2D;
 import org.ojalgo.structure.Primitive1D;
 import org.ojalgo.type.context.NumberContext;
+import org.ojalgo.type.management.Telemetry;
 
 /**
  * Revised simplex data structure. Instead of materialising the full tableau, this class stores the original
@@ -399,8 +400,10 @@ final class RevisedStore extends SimplexStore {
 
         super.pivot(iteration);
 
+        long started = Telemetry.start();
         if (myInvBasis.update(myConstraintsCSC, included, iterExitInd, iterEnterCol)) {
             myRefactored = true;
+            Telemetry.refactorisation(started, included.length);
         }
     }
 
@@ -595,7 +598,9 @@ final class RevisedStore extends SimplexStore {
     void prepareToIterate(final boolean cold) {
 
         if (myInvBasisStale) {
+            long started = Telemetry.start();
             myInvBasis.reset(myConstraintsCSC, included);
+            Telemetry.refactorisation(started, included.length);
             myInvBasisStale = false;
         }
 
@@ -619,7 +624,9 @@ final class RevisedStore extends SimplexStore {
 
         super.resetBasis(basis);
 
+        long started = Telemetry.start();
         myInvBasis.reset(myConstraintsCSC, included);
+        Telemetry.refactorisation(started, included.length);
         myInvBasisStale = false;
         myBasicSolutionReady = false;
     }
@@ -735,6 +742,21 @@ final class RevisedStore extends SimplexStore {
         };
     }
 
+    /**
+     * The cost vector is separate from the basis factorisation, and the duals/reduced costs are recalculated
+     * on a cold {@link #prepareToIterate(boolean)} – an in-place update is just a matter of setting the
+     * (scaled) cost.
+     */
+    @Override
+    boolean updateCost(final int index, final double cost) {
+        double scale = ONE;
+        if (equilibrator != null) {
+            scale = equilibrator.primal.values[index] * equilibrator.cost;
+        }
+        myObjective.set(index, cost * scale);
+        return true;
+    }
+
     @Override
     void updateDualEdgeWeights(final IterDescr iteration) {
 
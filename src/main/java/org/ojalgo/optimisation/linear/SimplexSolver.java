@@ -38,6 +38,7 @@ import org.ojalgo.equation.Equation;
 import org.ojalgo.matrix.store.MatrixStore;
 import org.ojalgo.optimisation.Expression;
 import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.optimisation.ModelEntity;
 import org.ojalgo.optimisation.Optimisation;
 import org.ojalgo.optimisation.Variable;
 import org.ojalgo.optimisation.convex.ConvexData;
@@ -50,6 +51,8 @@ import org.ojalgo.structure.Mutate2D;
 import org.ojalgo.structure.Primitive1D;
 import org.ojalgo.structure.Structure1D.IntIndex;
 import org.ojalgo.type.context.NumberContext;
+import org.ojalgo.type.keyvalue.EntryPair;
+import org.ojalgo.type.management.Telemetry;
 
 /**
  * Revised simplex solver family, intended as the successor to {@link SimplexTableauSolver}.
@@ -387,6 +390,8 @@ abstract class SimplexSolver extends LinearSolver {
         Mutate1D mtrxB = simplex.constraintsRHS();
         Mutate1D mtrxC = simplex.objective();
 
+        double[] modelRHS = new double[nbUpConstr + nbLoConstr + nbEqConstr];
+
         for (int i = 0; i < nbUpConstr; i++) {
             Expression expression = upperConstraints.get(i);
             for (IntIndex key : expression.getLinearKeySet()) {
@@ -395,7 +400,8 @@ abstract class SimplexSolver extends LinearSolver {
                 mtrxA.set(i, column, factor);
             }
             mtrxA.set(i, nbProbVars + i, ONE);
-            mtrxB.set(i, expression.getUpperLimit(ADJUSTED_CONSTRAINTS, POSITIVE_INFINITY));
+            modelRHS[i] = expression.getUpperLimit(ADJUSTED_CONSTRAINTS, POSITIVE_INFINITY);
+            mtrxB.set(i, modelRHS[i]);
             lowerBounds[nbProbVars + i] = ZERO;
             upperBounds[nbProbVars + i] = POSITIVE_INFINITY;
             structure.setConstraintMap(i, expression, ConstraintType.UPPER, false);
@@ -409,7 +415,8 @@ abstract class SimplexSolver extends LinearSolver {
                 mtrxA.set(nbUpConstr + i, column, factor);
             }
             mtrxA.set(nbUpConstr + i, nbProbVars + nbUpConstr + i, ONE);
-            mtrxB.set(nbUpConstr + i, expression.getLowerLimit(ADJUSTED_CONSTRAINTS, NEGATIVE_INFINITY));
+            modelRHS[nbUpConstr + i] = expression.getLowerLimit(ADJUSTED_CONSTRAINTS, NEGATIVE_INFINITY);
+            mtrxB.set(nbUpConstr + i, modelRHS[nbUpConstr + i]);
             lowerBounds[nbProbVars + nbUpConstr + i] = NEGATIVE_INFINITY;
             upperBounds[nbProbVars + nbUpConstr + i] = ZERO;
             structure.setConstraintMap(nbUpConstr + i, expression, ConstraintType.LOWER, true);
@@ -423,7 +430,8 @@ abstract class SimplexSolver extends LinearSolver {
                 mtrxA.set(nbUpConstr + nbLoConstr + i, column, factor);
             }
             mtrxA.set(nbUpConstr + nbLoConstr + i, nbProbVars + nbSlckVars + i, ONE);
-            mtrxB.set(nbUpConstr + nbLoConstr + i, expression.getUpperLimit(ADJUSTED_CONSTRAINTS, ZERO));
+            modelRHS[nbUpConstr + nbLoConstr + i] = expression.getUpperLimit(ADJUSTED_CONSTRAINTS, ZERO);
+            mtrxB.set(nbUpConstr + nbLoConstr + i, modelRHS[nbUpConstr + nbLoConstr + i]);
             lowerBounds[nbProbVars + nbSlckVars + i] = ZERO;
             upperBounds[nbProbVars + nbSlckVars + i] = ZERO;
             structure.setConstraintMap(nbUpConstr + nbLoConstr + i, expression, ConstraintType.EQUALITY, false);
@@ -436,6 +444,8 @@ abstract class SimplexSolver extends LinearSolver {
             structure.positivePartVariables[i] = model.indexOf(variable);
         }
 
+        simplex.modelRHS = modelRHS;
+
         structure.setObjectiveAdjustmentFactor(objective.getAdjustmentFactor());
         boolean negate = model.getOptimisationSense() == Optimisation.Sense.MAX;
         for (IntIndex key : objective.getLinearKeySet()) {
@@ -704,6 +714,10 @@ abstract class SimplexSolver extends LinearSolver {
      * The simplex data structure (tableau) the algorithm operates on.
      */
     private final SimplexStore mySimplex;
+    /**
+     * Set by {@link #prepareToIterate(boolean)}, non-zero only when {@link Telemetry} is active.
+     */
+    private long myStarted = 0L;
 
     SimplexSolver(final Optimisation.Options solverOptions, final SimplexStore simplexStore) {
         super(solverOptions);
@@ -728,6 +742,29 @@ abstract class SimplexSolver extends LinearSolver {
         return mySimplex.structure.isEntityMap() ? Optional.of(mySimplex.structure) : Optional.empty();
     }
 
+    /**
+     * Only possible with the revised (not tableau) simplex store. The current basis is kept, but as dual
+     * feasibility is lost the next solve runs both phases starting from that basis.
+     */
+    @Override
+    public boolean updateObjective(final int index, final double weight) {
+
+        if (index < 0 || index >= mySimplex.structure.countModelVariables()) {
+            return false;
+        }
+
+        double cost = weight * mySimplex.structure.getObjectiveAdjustmentFactor();
+
+        if (!mySimplex.updateCost(index, cost)) {
+            return false;
+        }
+
+        this.invalidateCache();
+        state = State.UNEXPLORED;
+
+        return true;
+    }
+
     @Override
     public boolean updateRange(final int index, final double lower, final double upper) {
 
@@ -751,6 +788,35 @@ abstract class SimplexSolver extends LinearSolver {
         return true;
     }
 
+    /**
+     * Only possible when built from an {@link ExpressionsBasedModel}. Changing the RHS is equivalent to
+     * shifting the range of the constraint's slack (or artificial) variable – that's what is done, and the
+     * basis (factorisation) remains valid.
+     */
+    @Override
+    public boolean updateRHS(final int index, final double rhs) {
+
+        if (mySimplex.modelRHS == null || index < 0 || index >= mySimplex.m || !Double.isFinite(rhs)) {
+            return false;
+        }
+
+        EntryPair<ModelEntity<?>, ConstraintType> constraint = mySimplex.structure.getConstraint(index);
+
+        double adjusted = ADJUSTED_CONSTRAINTS ? rhs * constraint.left().getAdjustmentFactor() : rhs;
+        double shift = mySimplex.shiftRHS(index, adjusted);
+
+        int slack = mySimplex.structure.countModelVariables() + index;
+
+        switch (constraint.right()) {
+            case UPPER:
+                return this.updateRange(slack, -shift, POSITIVE_INFINITY);
+            case LOWER:
+                return this.updateRange(slack, NEGATIVE_INFINITY, -shift);
+            default:
+                return this.updateRange(slack, -shift, -shift);
+        }
+    }
+
     private void ensureRatioCacheCapacity(final int needed) {
         if (myRatioCacheIdx == null || myRatioCacheIdx.length < needed) {
             myRatioCacheIdx = new int[needed];
@@ -1560,6 +1626,9 @@ abstract class SimplexSolver extends LinearSolver {
 
         Result result = Optimisation.Result.of(value, state, solution).withReducedGradient(reducedGradient);
 
+        Telemetry.simplex(myStarted, this.getClass().getSimpleName(), mySimplex.m, mySimplex.n, this.countIterations(), state.name());
+        myStarted = 0L;
+
         if (this.isLogDebug()) {
             this.log();
             this.log("{} {} {}", value, state, mySimplex.toString());
@@ -1585,6 +1654,8 @@ abstract class SimplexSolver extends LinearSolver {
 
     final IterDescr prepareToIterate(final boolean cold) {
 
+        myStarted = Telemetry.start();
+
         state = State.UNEXPLORED;
 
         this.invalidateCache();
@@ -165,6 +165,12 @@ abstract class SimplexStore {
      * The number of constraints (upper, lower and equality)
      */
     final int m;
+    /**
+     * The (adjusted but not equilibrated) constraint RHS as it was derived from an
+     * {@link org.ojalgo.optimisation.ExpressionsBasedModel}. Only set when built from a model, and then used
+     * to translate RHS updates in to shifts of the slack/artificial variable ranges.
+     */
+    double[] modelRHS = null;
     /**
      * The number of variables totally (all kinds)
      */
@@ -853,6 +859,14 @@ abstract class SimplexStore {
         this.invalidateExcludedReverseMap();
     }
 
+    /**
+     * Change the (adjusted, not equilibrated) objective cost of a model variable. The caller must make sure
+     * the next solve does not assume dual feasibility.
+     *
+     * @return false if this store can't be updated in-place
+     */
+    abstract boolean updateCost(int index, double cost);
+
     /**
      * Update edge weights for basic (included) variables.
      */
@@ -868,6 +882,21 @@ abstract class SimplexStore {
      */
     abstract boolean updateRange(int index, double lower, double upper);
 
+    /**
+     * How much the (equilibrated) RHS of a constraint built from a model would shift if its (adjusted, not
+     * equilibrated) value was changed to {@code rhs}.
+     */
+    final double shiftRHS(final int row, final double rhs) {
+
+        double shift = rhs - modelRHS[row];
+
+        if (equilibrator != null) {
+            shift *= equilibrator.dual.values[row];
+        }
+
+        return shift;
+    }
+
     final SimplexStore upper(final int index) {
         myPartition.update(index, ColumnState.UPPER);
         return this;
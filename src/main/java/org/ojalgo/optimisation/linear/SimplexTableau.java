@@ -631,6 +631,15 @@ abstract class SimplexTableau extends SimplexStore implements Access2D<Double>,
         }
     }
 
+    /**
+     * The objective row of a tableau is continuously pivoted (and shifted) along with the body – not
+     * something that can be patched in-place. The caller has to rebuild.
+     */
+    @Override
+    boolean updateCost(final int index, final double cost) {
+        return false;
+    }
+
     @Override
     boolean updateRange(final int index, final double lower, final double upper) {
         double scale = ONE;
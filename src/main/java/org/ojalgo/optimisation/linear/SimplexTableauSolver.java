@@ -53,6 +53,7 @@ import org.ojalgo.structure.Primitive1D;
 import org.ojalgo.structure.Primitive2D;
 import org.ojalgo.structure.Structure1D.IntIndex;
 import org.ojalgo.type.context.NumberContext;
+import org.ojalgo.type.management.Telemetry;
 
 /**
  * Classic 2-phase primal simplex operating on an explicit tableau ({@link SimplexTableau}).
@@ -777,6 +778,8 @@ final class SimplexTableauSolver extends LinearSolver {
     @Override
     public Result solve(final Result kickStarter) {
 
+        long started = Telemetry.start();
+
         this.invalidateCache();
 
         if (this.isLogDebug() && this.isTableauPrintable()) {
@@ -802,7 +805,11 @@ final class SimplexTableauSolver extends LinearSolver {
 
         // BasicLogger.debug("Total iters: {}", this.countIterations());
 
-        return this.buildResult();
+        Result result = this.buildResult();
+
+        Telemetry.simplex(started, "SimplexTableauSolver", myTableau.m, myTableau.n, this.countIterations(), result.getState().name());
+
+        return result;
     }
 
     @Override
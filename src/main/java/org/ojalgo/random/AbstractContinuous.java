@@ -21,6 +21,8 @@
  */
 package org.ojalgo.random;
 
+import java.util.Random;
+
 abstract class AbstractContinuous extends RandomNumber implements ContinuousDistribution {
 
     AbstractContinuous() {
@@ -28,8 +30,8 @@ abstract class AbstractContinuous extends RandomNumber implements ContinuousDist
     }
 
     @Override
-    protected double generate() {
-        return this.getQuantile(this.random().nextDouble());
+    protected double generate(final Random random) {
+        return this.getQuantile(random.nextDouble());
     }
 
 }
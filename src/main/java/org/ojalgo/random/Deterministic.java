@@ -23,6 +23,8 @@ package org.ojalgo.random;
 
 import static org.ojalgo.function.constant.PrimitiveMath.ZERO;
 
+import java.util.Random;
+
 import org.ojalgo.type.NumberDefinition;
 
 /**
@@ -72,7 +74,7 @@ public class Deterministic extends RandomNumber {
     }
 
     @Override
-    protected double generate() {
+    protected double generate(final Random random) {
         return myValue;
     }
 
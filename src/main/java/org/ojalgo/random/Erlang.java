@@ -24,6 +24,8 @@ package org.ojalgo.random;
 import static org.ojalgo.function.constant.PrimitiveMath.ONE;
 import static org.ojalgo.function.constant.PrimitiveMath.ZERO;
 
+import java.util.Random;
+
 import org.ojalgo.function.constant.PrimitiveMath;
 
 /**
@@ -58,12 +60,12 @@ public class Erlang extends RandomNumber {
     }
 
     @Override
-    protected double generate() {
+    protected double generate(final Random random) {
 
         double tmpVal = ZERO;
 
         for (int i = 0; i < myCount; i++) {
-            tmpVal -= PrimitiveMath.LOG.invoke(this.random().nextDouble());
+            tmpVal -= PrimitiveMath.LOG.invoke(random.nextDouble());
         }
 
         return tmpVal / myRate;
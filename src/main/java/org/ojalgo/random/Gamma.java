@@ -23,7 +23,7 @@ package org.ojalgo.random;
 
 import static org.ojalgo.function.constant.PrimitiveMath.*;
 
-import org.ojalgo.scalar.PrimitiveScalar;
+import java.util.Random;
 
 /**
  * Distribution of the sum of aCount random variables with an exponential distribution with parameter aLambda.
@@ -32,8 +32,37 @@ import org.ojalgo.scalar.PrimitiveScalar;
  */
 public class Gamma extends RandomNumber {
 
-    private final double myShape;
+    static double generate(final double shape, final Random random) {
+
+        if (shape < ONE) {
+            double u = ONE - random.nextDouble();
+            return Gamma.generate(shape + ONE, random) * POW.invoke(u, ONE / shape);
+        }
+
+        double d = shape - ONE / THREE;
+        double c = ONE / SQRT.invoke(NINE * d);
+
+        for (;;) {
+
+            double x;
+            double v;
+            do {
+                x = Ziggurat.normal(random);
+                v = ONE + c * x;
+            } while (v <= ZERO);
+
+            v = v * v * v;
+            double u = ONE - random.nextDouble();
+            double x2 = x * x;
+
+            if (u < ONE - 0.0331 * x2 * x2 || LOG.invoke(u) < HALF * x2 + d * (ONE - v + LOG.invoke(v))) {
+                return d * v;
+            }
+        }
+    }
+
     private final double myRate;
+    private final double myShape;
 
     public Gamma() {
         this(ONE, ONE);
@@ -57,42 +86,12 @@ public class Gamma extends RandomNumber {
     }
 
     /**
-     * A Convenient Way of Generating Gamma Random Variables Using Generalized Exponential Distribution
-     *
-     * @see org.ojalgo.random.RandomNumber#generate()
+     * G. Marsaglia and W. W. Tsang, "A Simple Method for Generating Gamma Variables", ACM Transactions on
+     * Mathematical Software 26(3), 2000. Shapes less than 1 are boosted: Gamma(a) = Gamma(a+1) * U^(1/a).
      */
     @Override
-    protected double generate() {
-
-        final int tmpInteger = (int) myShape;
-        final double tmpFraction = myShape - tmpInteger;
-
-        double tmpIntegralPart = ZERO;
-        for (int i = 0; i < tmpInteger; i++) {
-            tmpIntegralPart -= LOG.invoke(this.random().nextDouble());
-        }
-
-        double tmpFractionalPart = ZERO;
-        if (!PrimitiveScalar.isSmall(ONE, tmpFraction)) {
-
-            final double tmpFractionMinusOne = tmpFraction - ONE;
-
-            double tmpNegHalfFraction;
-            double tmpNumer;
-            double tmpDenom;
-
-            do {
-
-                tmpFractionalPart = -TWO * LOG.invoke(ONE - POW.invoke(this.random().nextDouble(), ONE / tmpFraction));
-                tmpNegHalfFraction = -tmpFractionalPart / TWO;
-
-                tmpNumer = POW.invoke(tmpFractionalPart, tmpFractionMinusOne) * EXP.invoke(tmpNegHalfFraction);
-                tmpDenom = POW.invoke(TWO, tmpFractionMinusOne) * POW.invoke(-EXPM1.invoke(tmpNegHalfFraction), tmpFractionMinusOne);
-
-            } while (this.random().nextDouble() > (tmpNumer / tmpDenom));
-        }
-
-        return (tmpIntegralPart + tmpFractionalPart) / myRate;
+    protected double generate(final Random random) {
+        return Gamma.generate(myShape, random) / myRate;
     }
 
 }
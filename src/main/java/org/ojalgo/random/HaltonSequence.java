@@ -0,0 +1,158 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.random;
+
+/**
+ * Halton sequence – the radical inverse of the point index, in base 2, 3, 5, 7... (the first primes), one
+ * base per dimension. Simple and without any precision limit on the number of points, but in higher
+ * dimensions (large bases) the unscrambled sequence shows strong correlations between dimensions. Use the
+ * scrambled version, or a {@link SobolSequence}, for more than a handful of dimensions.
+ * <p>
+ * The scrambled version is nested (Owen type) scrambling with a random digit shift at each node: the
+ * shift applied to a digit depends on all the more significant digits of the radical inverse. The (zero)
+ * digits beyond the last non-zero digit of the index are scrambled as well, so the coordinates have full
+ * double precision.
+ */
+public final class HaltonSequence extends LowDiscrepancySequence {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    /**
+     * The largest double less than 1.0
+     */
+    private static final double LARGEST = 0x1.fffffffffffffp-1;
+
+    static int[] primes(final int count) {
+
+        int[] retVal = new int[count];
+
+        int found = 0;
+        for (int candidate = 2; found < count; candidate++) {
+            boolean prime = true;
+            for (int i = 0; prime && i < found && retVal[i] * retVal[i] <= candidate; i++) {
+                prime = candidate % retVal[i] != 0;
+            }
+            if (prime) {
+                retVal[found++] = candidate;
+            }
+        }
+
+        return retVal;
+    }
+
+    private static double radicalInverse(final long index, final int base) {
+
+        double inverse = 1.0 / base;
+
+        double retVal = 0.0;
+        double factor = inverse;
+
+        for (long n = index; n != 0L; n /= base) {
+            retVal += factor * (n % base);
+            factor *= inverse;
+        }
+
+        return retVal;
+    }
+
+    private static double radicalInverse(final long index, final int base, final long[] levelKeys) {
+
+        double inverse = 1.0 / base;
+
+        double retVal = 0.0;
+        double factor = inverse;
+
+        long n = index;
+        long prefix = 0L;
+        long power = 1L;
+
+        // Also the (zero) digits beyond those of the index are scrambled, all the way to double precision
+        for (int level = 0; level < levelKeys.length; level++) {
+            int digit = (int) (n % base);
+            long hash = StreamRandom.mix64(levelKeys[level] ^ prefix);
+            retVal += factor * ((digit + Long.remainderUnsigned(hash, base)) % base);
+            if (n != 0L) {
+                prefix += digit * power;
+                power *= base;
+                n /= base;
+            }
+            factor *= inverse;
+        }
+
+        return Math.min(retVal, LARGEST);
+    }
+
+    private final int[] myBases;
+    /**
+     * Per dimension and digit level, null if not scrambled
+     */
+    private final long[][] myLevelKeys;
+
+    HaltonSequence(final int dimension, final long[] scrambleKeys) {
+
+        super(dimension, scrambleKeys != null ? 0L : 1L);
+
+        myBases = HaltonSequence.primes(dimension);
+
+        if (scrambleKeys != null) {
+            myLevelKeys = new long[dimension][];
+            for (int d = 0; d < dimension; d++) {
+                int levels = (int) Math.ceil(53.0 * Math.log(2.0) / Math.log(myBases[d]));
+                myLevelKeys[d] = new long[levels];
+                for (int l = 0; l < levels; l++) {
+                    myLevelKeys[d][l] = StreamRandom.mix64(scrambleKeys[d] + l * GOLDEN_GAMMA);
+                }
+            }
+        } else {
+            myLevelKeys = null;
+        }
+    }
+
+    private HaltonSequence(final HaltonSequence template, final long first) {
+
+        super(template.dimension(), first);
+
+        myBases = template.myBases;
+        myLevelKeys = template.myLevelKeys;
+    }
+
+    @Override
+    public HaltonSequence block(final long first) {
+        return new HaltonSequence(this, first);
+    }
+
+    @Override
+    void generate(final long index, final double[] destination) {
+
+        int dimension = this.dimension();
+
+        if (myLevelKeys != null) {
+            for (int d = 0; d < dimension; d++) {
+                destination[d] = HaltonSequence.radicalInverse(index, myBases[d], myLevelKeys[d]);
+            }
+        } else {
+            for (int d = 0; d < dimension; d++) {
+                destination[d] = HaltonSequence.radicalInverse(index, myBases[d]);
+            }
+        }
+    }
+
+}
@@ -23,6 +23,8 @@ package org.ojalgo.random;
 
 import static org.ojalgo.function.constant.PrimitiveMath.*;
 
+import java.util.Random;
+
 import org.ojalgo.array.Array1D;
 import org.ojalgo.structure.Access1D;
 
@@ -115,13 +117,16 @@ public class LogNormal extends AbstractContinuous {
     }
 
     @Override
-    public void setSeed(final long seed) {
-        myNormal.setSeed(seed);
+    public void fill(final double[] destination, final int first, final int limit, final Random random) {
+        myNormal.fill(destination, first, limit, random);
+        for (int i = first; i < limit; i++) {
+            destination[i] = EXP.invoke(destination[i]);
+        }
     }
 
     @Override
-    protected double generate() {
-        return EXP.invoke(myNormal.generate());
+    protected double generate(final Random random) {
+        return EXP.invoke(myNormal.generate(random));
     }
 
 }
@@ -0,0 +1,184 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.random;
+
+/**
+ * A quasi-random (low-discrepancy) sequence of points in the unit hypercube. For numerical integration –
+ * Monte Carlo pricing and risk – the points fill the space more evenly than pseudo-random numbers, and the
+ * integration error decreases close to O(1/N) rather than O(1/&radic;N). Often an order of magnitude fewer
+ * points (paths) are needed for the same accuracy.
+ * <p>
+ * Each call to {@link #next(double[])} produces one point – all coordinates at once. The coordinates are
+ * not independent random numbers. They must be used as the dimensions of one integrand, and the dimension
+ * is fixed when the sequence is created. {@link #nextGaussian(double[])} maps the coordinates to standard
+ * normal variates using the inverse cumulative distribution function.
+ * <p>
+ * Sequences created with a scramble seed are randomised using (hash-based) Owen scrambling. Each point is
+ * then uniformly distributed, the estimates are unbiased, and different seeds give independent replications
+ * that can be used to estimate the error. Scrambled sequences start at index 0. Unscrambled sequences start
+ * at index 1, to skip the origin.
+ * <p>
+ * Skipping ahead is cheap, so each thread can be given its own disjoint {@link #block(long)}. An instance is
+ * not thread safe.
+ *
+ * @see SobolSequence
+ * @see HaltonSequence
+ */
+public abstract class LowDiscrepancySequence {
+
+    private static final double[] A = { -3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02, 1.383577518672690e+02,
+            -3.066479806614716e+01, 2.506628277459239e+00 };
+    private static final double[] B = { -5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02, 6.680131188771972e+01,
+            -1.328068155288572e+01 };
+    private static final double[] C = { -7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00, -2.549732539343734e+00,
+            4.374664141464968e+00, 2.938163982698783e+00 };
+    private static final double[] D = { 7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00, 3.754408661907416e+00 };
+    private static final double P_LOW = 0.02425;
+
+    /**
+     * Unscrambled Halton sequence
+     */
+    public static HaltonSequence halton(final int dimension) {
+        return new HaltonSequence(dimension, null);
+    }
+
+    /**
+     * Owen scrambled Halton sequence
+     */
+    public static HaltonSequence halton(final int dimension, final long scramble) {
+        return new HaltonSequence(dimension, LowDiscrepancySequence.keys(dimension, scramble));
+    }
+
+    /**
+     * Unscrambled Sobol sequence
+     */
+    public static SobolSequence sobol(final int dimension) {
+        return new SobolSequence(dimension, null);
+    }
+
+    /**
+     * Owen scrambled Sobol sequence
+     */
+    public static SobolSequence sobol(final int dimension, final long scramble) {
+        return new SobolSequence(dimension, LowDiscrepancySequence.keys(dimension, scramble));
+    }
+
+    static long[] keys(final int dimension, final long scramble) {
+        long[] retVal = new long[dimension];
+        StreamRandom random = StreamRandom.of(scramble);
+        for (int d = 0; d < dimension; d++) {
+            retVal[d] = random.nextLong();
+        }
+        return retVal;
+    }
+
+    /**
+     * The standard normal quantile function (inverse cumulative distribution function) – Acklam's rational
+     * approximation, relative error less than 1.15e-9.
+     */
+    static double quantile(final double probability) {
+
+        if (probability < P_LOW) {
+            double q = Math.sqrt(-2.0 * Math.log(probability));
+            return (((((C[0] * q + C[1]) * q + C[2]) * q + C[3]) * q + C[4]) * q + C[5]) / ((((D[0] * q + D[1]) * q + D[2]) * q + D[3]) * q + 1.0);
+        } else if (probability <= 1.0 - P_LOW) {
+            double q = probability - 0.5;
+            double r = q * q;
+            return (((((A[0] * r + A[1]) * r + A[2]) * r + A[3]) * r + A[4]) * r + A[5]) * q
+                    / (((((B[0] * r + B[1]) * r + B[2]) * r + B[3]) * r + B[4]) * r + 1.0);
+        } else {
+            double q = Math.sqrt(-2.0 * Math.log1p(-probability));
+            return -(((((C[0] * q + C[1]) * q + C[2]) * q + C[3]) * q + C[4]) * q + C[5]) / ((((D[0] * q + D[1]) * q + D[2]) * q + D[3]) * q + 1.0);
+        }
+    }
+
+    private final int myDimension;
+    private long myIndex;
+
+    LowDiscrepancySequence(final int dimension, final long first) {
+
+        super();
+
+        if (dimension < 1) {
+            throw new IllegalArgumentException("The dimension must be at least 1!");
+        }
+
+        myDimension = dimension;
+        myIndex = first;
+    }
+
+    /**
+     * A new instance (same dimension, same scrambling) positioned at the specified index. Give each thread
+     * its own disjoint block, [first, first + count), and the union of the points drawn is exactly the
+     * points a single instance would have produced.
+     */
+    public abstract LowDiscrepancySequence block(long first);
+
+    public final int dimension() {
+        return myDimension;
+    }
+
+    /**
+     * The index of the next point.
+     */
+    public final long getIndex() {
+        return myIndex;
+    }
+
+    /**
+     * Writes the next point, {@link #dimension()} coordinates in the open interval (0, 1), to the array.
+     */
+    public final void next(final double[] point) {
+        this.generate(myIndex, point);
+        myIndex++;
+    }
+
+    /**
+     * Same as {@link #next(double[])} but with the coordinates mapped to standard normal variates.
+     */
+    public final void nextGaussian(final double[] point) {
+        this.next(point);
+        for (int d = 0; d < myDimension; d++) {
+            point[d] = LowDiscrepancySequence.quantile(point[d]);
+        }
+    }
+
+    /**
+     * Skip ahead (or back) to the specified index.
+     */
+    public final void position(final long index) {
+        if (index < 0L) {
+            throw new IllegalArgumentException("The index must be non-negative!");
+        }
+        myIndex = index;
+    }
+
+    /**
+     * Skip ahead (or back, if negative) this many points.
+     */
+    public final void skip(final long count) {
+        this.position(myIndex + count);
+    }
+
+    abstract void generate(long index, double[] destination);
+
+}
@@ -24,6 +24,8 @@ package org.ojalgo.random;
 import static org.ojalgo.function.constant.PrimitiveMath.ONE;
 import static org.ojalgo.function.constant.PrimitiveMath.ZERO;
 
+import java.util.Random;
+
 import org.ojalgo.function.constant.PrimitiveMath;
 import org.ojalgo.function.special.MissingMath;
 
@@ -70,7 +72,7 @@ public class Poisson extends AbstractDiscrete {
     }
 
     @Override
-    protected double generate() {
+    protected double generate(final Random random) {
 
         int retVal = -1;
         double tmpVal = ZERO;
@@ -79,7 +81,7 @@ public class Poisson extends AbstractDiscrete {
 
             retVal++;
 
-            tmpVal -= PrimitiveMath.LOG.invoke(this.random().nextDouble()) / myLambda;
+            tmpVal -= PrimitiveMath.LOG.invoke(random.nextDouble()) / myLambda;
         }
 
         return retVal;
@@ -78,11 +78,36 @@ public final class Random1D {
      * An array of correlated random numbers, provided that you gave a correlations matrix to the constructor.
      */
     public Array1D<Double> nextDouble() {
+        return this.nextDouble(Random1D.random());
+    }
+
+    /**
+     * Same as {@link #nextDouble()} but using the next point of a quasi-random sequence, with dimension equal
+     * to {@link #size()}.
+     */
+    public Array1D<Double> nextDouble(final LowDiscrepancySequence sequence) {
+
+        R064Store uncorrelated = this.make(sequence);
+
+        sequence.next(uncorrelated.data);
+
+        if (myCholeskiedCorrelations != null) {
+            return ((R064Store) myCholeskiedCorrelations.multiply(uncorrelated)).asList();
+        } else {
+            return uncorrelated.asList();
+        }
+    }
+
+    /**
+     * Same as {@link #nextDouble()} but drawing from the supplied {@link Random} – a {@link StreamRandom}
+     * for reproducible parallel simulations.
+     */
+    public Array1D<Double> nextDouble(final Random random) {
 
         R064Store uncorrelated = R064Store.FACTORY.make(length, 1);
 
         for (int i = 0; i < length; i++) {
-            uncorrelated.set(i, 0, Random1D.random().nextDouble());
+            uncorrelated.data[i] = random.nextDouble();
         }
 
         if (myCholeskiedCorrelations != null) {
@@ -96,12 +121,36 @@ public final class Random1D {
      * An array of correlated random numbers, provided that you gave a correlations matrix to the constructor.
      */
     public Array1D<Double> nextGaussian() {
+        return this.nextGaussian(Random1D.random());
+    }
 
-        R064Store uncorrelated = R064Store.FACTORY.make(length, 1);
+    /**
+     * Same as {@link #nextGaussian()} but using the next point of a quasi-random sequence, with dimension
+     * equal to {@link #size()}, mapped to standard normal variates.
+     */
+    public Array1D<Double> nextGaussian(final LowDiscrepancySequence sequence) {
 
-        for (int i = 0; i < length; i++) {
-            uncorrelated.set(i, 0, Random1D.random().nextGaussian());
+        R064Store uncorrelated = this.make(sequence);
+
+        sequence.nextGaussian(uncorrelated.data);
+
+        if (myCholeskiedCorrelations != null) {
+            return ((R064Store) myCholeskiedCorrelations.multiply(uncorrelated)).asList();
+        } else {
+            return uncorrelated.asList();
         }
+    }
+
+    /**
+     * Same as {@link #nextGaussian()} but drawing from the supplied {@link Random} – a {@link StreamRandom}
+     * for reproducible parallel simulations. The standard normal variates are generated using the ziggurat
+     * algorithm.
+     */
+    public Array1D<Double> nextGaussian(final Random random) {
+
+        R064Store uncorrelated = R064Store.FACTORY.make(length, 1);
+
+        Ziggurat.normal(random, uncorrelated.data, 0, length, 0.0, 1.0);
 
         if (myCholeskiedCorrelations != null) {
             return ((R064Store) myCholeskiedCorrelations.multiply(uncorrelated)).asList();
@@ -114,4 +163,11 @@ public final class Random1D {
         return length;
     }
 
+    private R064Store make(final LowDiscrepancySequence sequence) {
+        if (sequence.dimension() != length) {
+            throw new IllegalArgumentException("The sequence dimension must equal the size!");
+        }
+        return R064Store.FACTORY.make(length, 1);
+    }
+
 }
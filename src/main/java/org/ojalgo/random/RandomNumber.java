@@ -24,11 +24,17 @@ package org.ojalgo.random;
 import static org.ojalgo.function.constant.PrimitiveMath.ONE;
 import static org.ojalgo.function.constant.PrimitiveMath.ZERO;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 
+import org.ojalgo.array.ArrayR064;
+import org.ojalgo.concurrent.Parallelism;
+import org.ojalgo.concurrent.ProcessingService;
 import org.ojalgo.function.PrimitiveFunction;
 import org.ojalgo.function.constant.PrimitiveMath;
+import org.ojalgo.structure.Mutate1D;
 import org.ojalgo.type.ComparableNumber;
 
 /**
@@ -38,6 +44,12 @@ import org.ojalgo.type.ComparableNumber;
  */
 public abstract class RandomNumber implements Distribution, PrimitiveFunction.Nullary, ComparableNumber<RandomNumber> {
 
+    /**
+     * The number of values generated from each {@link StreamRandom} stream by the seeded (parallel) fill
+     * methods. Changing this changes the values generated for any given seed.
+     */
+    static final int BLOCK_SIZE = 4096;
+
     private Random myRandom = null;
 
     protected RandomNumber() {
@@ -53,6 +65,79 @@ public abstract class RandomNumber implements Distribution, PrimitiveFunction.Nu
         return this.generate();
     }
 
+    /**
+     * Fill the array with random numbers from this distribution, using this instance's {@link Random}.
+     */
+    public void fill(final double[] destination) {
+        this.fill(destination, 0, destination.length, this.random());
+    }
+
+    /**
+     * Fill the array with random numbers from this distribution – in parallel and reproducibly. The array is
+     * split in blocks of fixed size, and each block is filled from its own {@link StreamRandom} stream (with
+     * the block index as stream id). The result depends only on the seed, not on the number of threads or
+     * on how the blocks were scheduled.
+     */
+    public void fill(final double[] destination, final long seed) {
+
+        int nbBlocks = (destination.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+        if (nbBlocks <= 1) {
+            this.fill(destination, 0, destination.length, StreamRandom.of(seed, 0L));
+            return;
+        }
+
+        List<Integer> blocks = new ArrayList<>(nbBlocks);
+        for (int b = 0; b < nbBlocks; b++) {
+            blocks.add(Integer.valueOf(b));
+        }
+
+        ProcessingService.INSTANCE.process(blocks, Parallelism.CORES, block -> {
+            int first = block.intValue() * BLOCK_SIZE;
+            int limit = Math.min(first + BLOCK_SIZE, destination.length);
+            this.fill(destination, first, limit, StreamRandom.of(seed, block.longValue()));
+        });
+    }
+
+    /**
+     * Fill the range [first, limit) of the array with random numbers from this distribution, drawing from
+     * the supplied {@link Random}. Subclasses override this when there is a faster bulk algorithm.
+     */
+    public void fill(final double[] destination, final int first, final int limit, final Random random) {
+        for (int i = first; i < limit; i++) {
+            destination[i] = this.generate(random);
+        }
+    }
+
+    /**
+     * @see #fill(double[])
+     */
+    public void fill(final Mutate1D destination) {
+        if (destination instanceof ArrayR064) {
+            this.fill(((ArrayR064) destination).data);
+        } else {
+            Random random = this.random();
+            for (long i = 0L, limit = destination.count(); i < limit; i++) {
+                destination.set(i, this.generate(random));
+            }
+        }
+    }
+
+    /**
+     * @see #fill(double[], long)
+     */
+    public void fill(final Mutate1D destination, final long seed) {
+        if (destination instanceof ArrayR064) {
+            this.fill(((ArrayR064) destination).data, seed);
+        } else {
+            double[] values = new double[Math.toIntExact(destination.count())];
+            this.fill(values, seed);
+            for (int i = 0; i < values.length; i++) {
+                destination.set(i, values[i]);
+            }
+        }
+    }
+
     @Override
     public final float floatValue() {
         return (float) this.generate();
@@ -125,7 +210,14 @@ public abstract class RandomNumber implements Distribution, PrimitiveFunction.Nu
         }
     }
 
-    protected abstract double generate();
+    protected final double generate() {
+        return this.generate(this.random());
+    }
+
+    /**
+     * Generate one random number from this distribution, drawing from the supplied {@link Random}.
+     */
+    protected abstract double generate(Random random);
 
     protected final Random random() {
         if (myRandom != null) {
@@ -0,0 +1,295 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.random;
+
+import java.util.Arrays;
+
+/**
+ * Sobol' sequence – a base 2 digital (t,s)-sequence generated in Gray code order, using 32 bits of
+ * precision. At most 2<sup>32</sup> points can be generated. For the first 21 dimensions the initial
+ * direction numbers are those of Joe and Kuo (new-joe-kuo-6.21201). For higher dimensions the primitive
+ * polynomials are enumerated in the same order as Joe–Kuo, but the initial direction numbers are chosen
+ * pseudo-randomly. That still gives a valid Sobol' sequence, but without Joe–Kuo's optimised
+ * two-dimensional projections, so put the most important variables in the first dimensions. A
+ * {@link org.ojalgo.random.process.BrownianBridge} does that for Brownian paths.
+ * <p>
+ * The scrambled version applies a nested uniform (Owen) scrambling, implemented as a Laine–Karras
+ * permutation of the bit reversed coordinates (Burley 2020). The 20 bits below the 32 bits of precision are
+ * filled with (hashed) random bits. Scrambling preserves the net properties, so the first 2<sup>m</sup>
+ * points are well stratified.
+ */
+public final class SobolSequence extends LowDiscrepancySequence {
+
+    static final int BITS = 32;
+    static final long LIMIT = 1L << BITS;
+
+    /**
+     * The initial direction numbers m<sub>1</sub>...m<sub>s</sub> for dimensions 2 to 21, from
+     * new-joe-kuo-6.21201.
+     */
+    private static final int[][] JOE_KUO = { { 1 }, { 1, 3 }, { 1, 3, 1 }, { 1, 1, 1 }, { 1, 1, 3, 3 }, { 1, 3, 5, 13 }, { 1, 1, 5, 5, 17 },
+            { 1, 1, 5, 5, 5 }, { 1, 1, 7, 11, 19 }, { 1, 1, 5, 1, 1 }, { 1, 1, 1, 3, 11 }, { 1, 3, 5, 5, 31 }, { 1, 3, 3, 9, 7, 49 },
+            { 1, 1, 1, 15, 21, 21 }, { 1, 3, 1, 13, 27, 49 }, { 1, 1, 1, 15, 7, 5 }, { 1, 3, 1, 15, 13, 25 }, { 1, 1, 5, 5, 19, 61 },
+            { 1, 3, 7, 11, 23, 15, 103 }, { 1, 3, 7, 13, 13, 15, 69 } };
+
+    /**
+     * Used to generate initial direction numbers beyond the Joe–Kuo table.
+     */
+    private static final long SEED = 21201L;
+
+    /**
+     * The first count primitive polynomials over GF(2), ordered by degree and then by the interior
+     * coefficients. Encoded as bits, x<sup>s</sup> + ... + 1 is (1 << s) | ... | 1.
+     */
+    static long[] primitivePolynomials(final int count) {
+
+        long[] retVal = new long[count];
+
+        int found = 0;
+        for (int degree = 1; found < count; degree++) {
+
+            long order = (1L << degree) - 1L;
+            long[] factors = SobolSequence.primeFactors(order);
+
+            for (long a = 0L, limit = 1L << degree - 1; a < limit && found < count; a++) {
+                long polynomial = 1L << degree | a << 1 | 1L;
+                if (SobolSequence.isPrimitive(polynomial, degree, order, factors)) {
+                    retVal[found++] = polynomial;
+                }
+            }
+        }
+
+        return retVal;
+    }
+
+    private static boolean isPrimitive(final long polynomial, final int degree, final long order, final long[] factors) {
+        if (SobolSequence.power(polynomial, degree, order) != 1L) {
+            return false;
+        }
+        for (long factor : factors) {
+            if (SobolSequence.power(polynomial, degree, order / factor) == 1L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Laine–Karras permutation – each output bit only depends on the same and lower input bits.
+     */
+    private static int permute(final int value, final int seed) {
+        int x = value + seed;
+        x ^= x * 0x6c50b47c;
+        x ^= x * 0xb82f1e52;
+        x ^= x * 0xc7afe638;
+        x ^= x * 0x8d22f6e6;
+        return x;
+    }
+
+    /**
+     * x<sup>exponent</sup> modulo the polynomial, in GF(2)
+     */
+    private static long power(final long polynomial, final int degree, final long exponent) {
+
+        long retVal = 1L;
+        long base = SobolSequence.reduce(2L, polynomial, degree);
+
+        for (long e = exponent; e != 0L; e >>>= 1) {
+            if ((e & 1L) != 0L) {
+                retVal = SobolSequence.product(retVal, base, polynomial, degree);
+            }
+            base = SobolSequence.product(base, base, polynomial, degree);
+        }
+
+        return retVal;
+    }
+
+    private static long[] primeFactors(final long value) {
+
+        long[] retVal = new long[64];
+        int count = 0;
+
+        long remaining = value;
+        for (long candidate = 2L; candidate * candidate <= remaining; candidate++) {
+            if (remaining % candidate == 0L) {
+                retVal[count++] = candidate;
+                while (remaining % candidate == 0L) {
+                    remaining /= candidate;
+                }
+            }
+        }
+        if (remaining > 1L) {
+            retVal[count++] = remaining;
+        }
+
+        return Arrays.copyOf(retVal, count);
+    }
+
+    private static long product(final long left, final long right, final long polynomial, final int degree) {
+
+        long retVal = 0L;
+        long shifted = left;
+
+        for (long r = right; r != 0L; r >>>= 1) {
+            if ((r & 1L) != 0L) {
+                retVal ^= shifted;
+            }
+            shifted = SobolSequence.reduce(shifted << 1, polynomial, degree);
+        }
+
+        return retVal;
+    }
+
+    private static long reduce(final long value, final long polynomial, final int degree) {
+        return (value >>> degree & 1L) != 0L ? value ^ polynomial : value;
+    }
+
+    /**
+     * Direction numbers, [bit][dimension]
+     */
+    private final int[][] myDirections;
+    private final long[] myScrambleKeys;
+    private final int[] myState;
+    private long myStateIndex = 0L;
+
+    SobolSequence(final int dimension, final long[] scrambleKeys) {
+
+        super(dimension, scrambleKeys != null ? 0L : 1L);
+
+        myDirections = new int[BITS][dimension];
+        myScrambleKeys = scrambleKeys;
+        myState = new int[dimension];
+
+        for (int k = 0; k < BITS; k++) {
+            myDirections[k][0] = 1 << BITS - 1 - k;
+        }
+
+        long[] polynomials = SobolSequence.primitivePolynomials(dimension - 1);
+
+        for (int d = 1; d < dimension; d++) {
+
+            long polynomial = polynomials[d - 1];
+            int degree = 63 - Long.numberOfLeadingZeros(polynomial);
+            long interior = polynomial >>> 1;
+
+            int[] initial;
+            if (d <= JOE_KUO.length) {
+                initial = JOE_KUO[d - 1];
+            } else {
+                // Any odd m_k < 2^k will do
+                StreamRandom random = StreamRandom.of(SEED, d);
+                initial = new int[degree];
+                for (int k = 0; k < degree; k++) {
+                    initial[k] = (int) (random.nextLong() >>> 63 - k) | 1;
+                }
+            }
+
+            for (int k = 0; k < BITS; k++) {
+                int direction;
+                if (k < degree) {
+                    direction = initial[k] << BITS - 1 - k;
+                } else {
+                    direction = myDirections[k - degree][d];
+                    direction ^= direction >>> degree;
+                    for (int j = 1; j < degree; j++) {
+                        if ((interior >>> degree - 1 - j & 1L) != 0L) {
+                            direction ^= myDirections[k - j][d];
+                        }
+                    }
+                }
+                myDirections[k][d] = direction;
+            }
+        }
+    }
+
+    private SobolSequence(final SobolSequence template, final long first) {
+
+        super(template.dimension(), first);
+
+        myDirections = template.myDirections;
+        myScrambleKeys = template.myScrambleKeys;
+        myState = new int[template.dimension()];
+    }
+
+    @Override
+    public SobolSequence block(final long first) {
+        return new SobolSequence(this, first);
+    }
+
+    private void seek(final long index) {
+
+        int dimension = this.dimension();
+        long gray = index ^ index >>> 1;
+
+        for (int d = 0; d < dimension; d++) {
+            myState[d] = 0;
+        }
+        for (int k = 0; gray != 0L; k++, gray >>>= 1) {
+            if ((gray & 1L) != 0L) {
+                int[] directions = myDirections[k];
+                for (int d = 0; d < dimension; d++) {
+                    myState[d] ^= directions[d];
+                }
+            }
+        }
+
+        myStateIndex = index;
+    }
+
+    @Override
+    void generate(final long index, final double[] destination) {
+
+        if (index >= LIMIT) {
+            throw new IllegalStateException("A Sobol sequence can't generate more than 2^32 points!");
+        }
+        if (index != myStateIndex) {
+            this.seek(index);
+        }
+
+        int dimension = this.dimension();
+
+        if (myScrambleKeys != null) {
+            for (int d = 0; d < dimension; d++) {
+                long key = myScrambleKeys[d];
+                long high = Integer.reverse(SobolSequence.permute(Integer.reverse(myState[d]), (int) key)) & 0xFFFFFFFFL;
+                long low = StreamRandom.mix64(key ^ high) >>> 64 - 20;
+                destination[d] = ((high << 20 | low) + 0.5) * 0x1.0p-52;
+            }
+        } else {
+            for (int d = 0; d < dimension; d++) {
+                destination[d] = ((myState[d] & 0xFFFFFFFFL) + 0.5) * 0x1.0p-32;
+            }
+        }
+
+        long next = index + 1L;
+        if (next < LIMIT) {
+            int[] directions = myDirections[Long.numberOfTrailingZeros(next)];
+            for (int d = 0; d < dimension; d++) {
+                myState[d] ^= directions[d];
+            }
+            myStateIndex = next;
+        } else {
+            myStateIndex = -1L;
+        }
+    }
+
+}
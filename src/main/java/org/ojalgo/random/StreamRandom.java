@@ -0,0 +1,146 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.random;
+
+import java.util.Random;
+
+/**
+ * A counter-based pseudo random number generator. The n:th number of a stream is a pure function of (seed,
+ * stream id, n) – the SplitMix64 output function applied to {@code key + n * gamma}, where both the key and
+ * the (odd) gamma are derived from the seed and the stream id. This means:
+ * <ul>
+ * <li>Any number of statistically independent streams can be created from one seed, and the numbers they
+ * produce do not depend on which thread draws them or in what order – parallel simulations are reproducible.
+ * <li>Skipping ahead is O(1), see {@link #skip(long)}.
+ * <li>There is no shared state. An instance is not thread safe, create one stream per thread/task instead.
+ * </ul>
+ * It extends {@link Random} so it can be used anywhere a {@link Random} is accepted, for instance
+ * {@link RandomNumber#setRandom(Random)}. {@link #nextGaussian()} uses the ziggurat algorithm.
+ */
+public final class StreamRandom extends Random {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final long serialVersionUID = 1L;
+
+    public static StreamRandom of(final long seed) {
+        return new StreamRandom(seed, 0L);
+    }
+
+    public static StreamRandom of(final long seed, final long stream) {
+        return new StreamRandom(seed, stream);
+    }
+
+    static long mix64(final long value) {
+        long z = (value ^ value >>> 30) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ z >>> 27) * 0x94d049bb133111ebL;
+        return z ^ z >>> 31;
+    }
+
+    private static long mixGamma(final long value) {
+        long z = (value ^ value >>> 33) * 0xff51afd7ed558ccdL;
+        z = (z ^ z >>> 33) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ z >>> 33) | 1L;
+        // Avoid gammas with too few bit transitions
+        return Long.bitCount(z ^ z >>> 1) < 24 ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+
+    private long myCounter = 0L;
+    private long myGamma;
+    private long myKey;
+    private long mySeed;
+    private final long myStream;
+
+    StreamRandom(final long seed, final long stream) {
+
+        super(seed);
+
+        myStream = stream;
+
+        this.setSeed(seed);
+    }
+
+    /**
+     * The number of values drawn (or skipped) so far.
+     */
+    public long getCounter() {
+        return myCounter;
+    }
+
+    public long getSeed() {
+        return mySeed;
+    }
+
+    public long getStream() {
+        return myStream;
+    }
+
+    @Override
+    public double nextDouble() {
+        return (this.nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    @Override
+    public double nextGaussian() {
+        return Ziggurat.normal(this);
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (this.nextLong() >>> 32);
+    }
+
+    @Override
+    public long nextLong() {
+        return StreamRandom.mix64(myKey + myCounter++ * myGamma);
+    }
+
+    /**
+     * Resets this stream – same stream id, new seed – and sets the counter to 0.
+     */
+    @Override
+    public void setSeed(final long seed) {
+        mySeed = seed;
+        myKey = StreamRandom.mix64(StreamRandom.mix64(seed) + StreamRandom.mix64(myStream + GOLDEN_GAMMA));
+        myGamma = StreamRandom.mixGamma(myKey + GOLDEN_GAMMA);
+        myCounter = 0L;
+    }
+
+    /**
+     * Skip ahead (or back, if negative) this many values.
+     */
+    public void skip(final long count) {
+        myCounter += count;
+    }
+
+    /**
+     * Another stream with the same seed.
+     */
+    public StreamRandom stream(final long stream) {
+        return new StreamRandom(mySeed, stream);
+    }
+
+    @Override
+    protected int next(final int bits) {
+        return (int) (this.nextLong() >>> 64 - bits);
+    }
+
+}
@@ -23,6 +23,8 @@ package org.ojalgo.random;
 
 import static org.ojalgo.function.constant.PrimitiveMath.*;
 
+import java.util.Random;
+
 import org.ojalgo.function.special.BetaFunction;
 import org.ojalgo.function.special.GammaFunction;
 
@@ -52,8 +54,8 @@ public class TDistribution extends AbstractContinuous {
         }
 
         @Override
-        protected double generate() {
-            return myCauchy.generate();
+        protected double generate(final Random random) {
+            return myCauchy.generate(random);
         }
 
     }
@@ -171,8 +173,8 @@ public class TDistribution extends AbstractContinuous {
         }
 
         @Override
-        protected double generate() {
-            return myNormal.generate();
+        protected double generate(final Random random) {
+            return myNormal.generate(random);
         }
 
     }
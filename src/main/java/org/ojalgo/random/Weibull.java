@@ -24,6 +24,8 @@ package org.ojalgo.random;
 import static org.ojalgo.function.constant.PrimitiveMath.ONE;
 import static org.ojalgo.function.constant.PrimitiveMath.TWO;
 
+import java.util.Random;
+
 import org.ojalgo.function.constant.PrimitiveMath;
 import org.ojalgo.function.special.GammaFunction;
 
@@ -63,8 +65,8 @@ public class Weibull extends RandomNumber {
     }
 
     @Override
-    protected double generate() {
-        return PrimitiveMath.POW.invoke(-PrimitiveMath.LOG.invoke(this.random().nextDouble()), ONE / myShape) / myRate;
+    protected double generate(final Random random) {
+        return PrimitiveMath.POW.invoke(-PrimitiveMath.LOG.invoke(random.nextDouble()), ONE / myShape) / myRate;
     }
 
 }
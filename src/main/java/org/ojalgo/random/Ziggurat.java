@@ -0,0 +1,110 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.random;
+
+import java.util.Random;
+
+/**
+ * The ziggurat method for normally distributed random numbers – G. Marsaglia and W. W. Tsang, "The Ziggurat
+ * Method for Generating Random Variables", Journal of Statistical Software 5(8), 2000. 128 layers. Almost
+ * always a single {@link Random#nextLong()}, a table lookup and a multiplication. The layer index and the
+ * value are taken from different bits of that long.
+ */
+final class Ziggurat {
+
+    private static final double[] FN = new double[128];
+    private static final long[] KN = new long[128];
+    private static final double R = 3.442619855899;
+    private static final double[] WN = new double[128];
+
+    static {
+
+        double m1 = 2147483648.0;
+        double vn = 9.91256303526217E-3;
+
+        double dn = R;
+        double tn = dn;
+        double q = vn / Math.exp(-0.5 * dn * dn);
+
+        KN[0] = (long) (dn / q * m1);
+        KN[1] = 0L;
+
+        WN[0] = q / m1;
+        WN[127] = dn / m1;
+
+        FN[0] = 1.0;
+        FN[127] = Math.exp(-0.5 * dn * dn);
+
+        for (int i = 126; i >= 1; i--) {
+            dn = Math.sqrt(-2.0 * Math.log(vn / dn + Math.exp(-0.5 * dn * dn)));
+            KN[i + 1] = (long) (dn / tn * m1);
+            tn = dn;
+            FN[i] = Math.exp(-0.5 * dn * dn);
+            WN[i] = dn / m1;
+        }
+    }
+
+    /**
+     * A standard normal N(0,1) variate.
+     */
+    static double normal(final Random random) {
+
+        for (;;) {
+
+            long bits = random.nextLong();
+            int layer = (int) bits & 127;
+            long value = bits >> 32;
+
+            if (Math.abs(value) < KN[layer]) {
+                // The vast majority of cases
+                return value * WN[layer];
+            }
+
+            if (layer == 0) {
+                // The tail, beyond R
+                double x;
+                double y;
+                do {
+                    x = -Math.log(1.0 - random.nextDouble()) / R;
+                    y = -Math.log(1.0 - random.nextDouble());
+                } while (y + y < x * x);
+                return value > 0L ? R + x : -R - x;
+            }
+
+            double x = value * WN[layer];
+            if (FN[layer] + random.nextDouble() * (FN[layer - 1] - FN[layer]) < Math.exp(-0.5 * x * x)) {
+                return x;
+            }
+        }
+    }
+
+    static void normal(final Random random, final double[] destination, final int first, final int limit, final double location, final double scale) {
+        for (int i = first; i < limit; i++) {
+            destination[i] = location + scale * Ziggurat.normal(random);
+        }
+    }
+
+    private Ziggurat() {
+        super();
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.random.process;
+
+/**
+ * Brownian bridge construction of a Brownian path from independent standard normal variates. The first
+ * variate determines the end point of the path, the second the mid point, and so on, recursively bisecting
+ * the intervals. With a quasi-random sequence the first few dimensions are the best distributed, and this
+ * puts them where they matter most – the large scale structure of the path. That greatly reduces the
+ * effective dimension of path dependent integrals.
+ * <p>
+ * The steps are equally spaced, and the output is the path increments normalised to unit variance – the
+ * same kind of numbers as independent standard normal innovations, but correlated with the input in a
+ * different way.
+ */
+public final class BrownianBridge {
+
+    private final int[] myBridgeIndex;
+    private final int[] myLeftIndex;
+    private final double[] myLeftWeight;
+    private final int myNumberOfSteps;
+    private final int[] myRightIndex;
+    private final double[] myRightWeight;
+    private final double[] myStandardDeviation;
+
+    public BrownianBridge(final int numberOfSteps) {
+
+        super();
+
+        if (numberOfSteps < 1) {
+            throw new IllegalArgumentException("The number of steps must be at least 1!");
+        }
+
+        myNumberOfSteps = numberOfSteps;
+
+        myBridgeIndex = new int[numberOfSteps];
+        myLeftIndex = new int[numberOfSteps];
+        myRightIndex = new int[numberOfSteps];
+        myLeftWeight = new double[numberOfSteps];
+        myRightWeight = new double[numberOfSteps];
+        myStandardDeviation = new double[numberOfSteps];
+
+        // The path is W(1), W(2)... W(n) – unit time steps
+        boolean[] done = new boolean[numberOfSteps];
+
+        done[numberOfSteps - 1] = true;
+        myBridgeIndex[0] = numberOfSteps - 1;
+        myStandardDeviation[0] = Math.sqrt(numberOfSteps);
+
+        for (int i = 1, j = 0; i < numberOfSteps; i++) {
+
+            // Find the next open interval (j, k) – j is the first point not yet done and k the next done
+            while (done[j]) {
+                j++;
+            }
+            int k = j;
+            while (!done[k]) {
+                k++;
+            }
+            int l = j + (k - 1 - j) / 2;
+
+            done[l] = true;
+            myBridgeIndex[i] = l;
+            myLeftIndex[i] = j;
+            myRightIndex[i] = k;
+
+            // Times: t(m) = m + 1 and the left end point is t(j - 1) = j
+            double left = j;
+            double middle = l + 1;
+            double right = k + 1;
+
+            myLeftWeight[i] = (right - middle) / (right - left);
+            myRightWeight[i] = (middle - left) / (right - left);
+            myStandardDeviation[i] = Math.sqrt((middle - left) * (right - middle) / (right - left));
+
+            j = k + 1;
+            if (j >= numberOfSteps) {
+                j = 0;
+            }
+        }
+    }
+
+    public int size() {
+        return myNumberOfSteps;
+    }
+
+    /**
+     * @param gaussians  Independent standard normal variates, in order of importance (typically the
+     *                   coordinates of a quasi-random point).
+     * @param increments The path increments, normalised to unit variance. May be the same array as the
+     *                   input.
+     */
+    public void transform(final double[] gaussians, final double[] increments) {
+
+        int n = myNumberOfSteps;
+
+        double[] path = increments == gaussians ? new double[n] : increments;
+
+        path[myBridgeIndex[0]] = myStandardDeviation[0] * gaussians[0];
+
+        for (int i = 1; i < n; i++) {
+            int j = myLeftIndex[i];
+            int k = myRightIndex[i];
+            int l = myBridgeIndex[i];
+            double value = myRightWeight[i] * path[k] + myStandardDeviation[i] * gaussians[i];
+            if (j != 0) {
+                value += myLeftWeight[i] * path[j - 1];
+            }
+            path[l] = value;
+        }
+
+        // Unit time steps so the increments already have unit variance
+        for (int i = n - 1; i > 0; i--) {
+            increments[i] = path[i] - path[i - 1];
+        }
+        increments[0] = path[0];
+    }
+
+}
@@ -26,6 +26,7 @@ import static org.ojalgo.function.constant.PrimitiveMath.*;
 import org.ojalgo.array.Array1D;
 import org.ojalgo.function.special.ErrorFunction;
 import org.ojalgo.random.LogNormal;
+import org.ojalgo.random.LowDiscrepancySequence;
 import org.ojalgo.random.SampleSet;
 import org.ojalgo.structure.Access1D;
 
@@ -150,6 +151,19 @@ public final class GeometricBrownianMotion extends SingleValueBasedProcess<LogNo
         this.setCurrentValue(newValue);
     }
 
+    /**
+     * Quasi-Monte Carlo simulation – a low-discrepancy sequence, with dimension equal to the number of steps,
+     * and Brownian bridge path construction.
+     *
+     * @see LowDiscrepancySequence
+     * @see BrownianBridge
+     */
+    @Override
+    public RandomProcess.SimulationResults simulate(final int numberOfRealisations, final int numberOfSteps, final double stepSize,
+            final LowDiscrepancySequence sequence) {
+        return super.simulate(numberOfRealisations, numberOfSteps, stepSize, sequence);
+    }
+
     @Override
     public double step(final double stepSize, final double standardGaussianInnovation) {
         return this.doStep(stepSize, standardGaussianInnovation);
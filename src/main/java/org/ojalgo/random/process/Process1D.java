@@ -27,6 +27,7 @@ import java.util.List;
 import org.ojalgo.array.Array1D;
 import org.ojalgo.array.ArrayR064;
 import org.ojalgo.random.Distribution;
+import org.ojalgo.random.LowDiscrepancySequence;
 import org.ojalgo.random.Random1D;
 import org.ojalgo.random.process.Process1D.ComponentProcess;
 import org.ojalgo.structure.Access1D;
@@ -123,8 +124,19 @@ public final class Process1D<P extends ComponentProcess<?>> {
     }
 
     public Array1D<Double> step(final double stepSize) {
+        return this.step(stepSize, myGenerator.nextGaussian());
+    }
+
+    /**
+     * Step using the next point of a quasi-random sequence, with dimension equal to the number of processes.
+     */
+    public Array1D<Double> step(final double stepSize, final LowDiscrepancySequence sequence) {
+        return this.step(stepSize, myGenerator.nextGaussian(sequence));
+    }
+
+    private Array1D<Double> step(final double stepSize, final Array1D<Double> innovations) {
 
-        Array1D<Double> retVal = myGenerator.nextGaussian();
+        Array1D<Double> retVal = innovations;
 
         for (int p = 0; p < myProcesses.length; p++) {
             double standardGaussianInnovation = retVal.doubleValue(p);
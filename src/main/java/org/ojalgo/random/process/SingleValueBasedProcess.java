@@ -25,6 +25,7 @@ import static org.ojalgo.function.constant.PrimitiveMath.ONE;
 
 import org.ojalgo.array.Array2D;
 import org.ojalgo.random.Distribution;
+import org.ojalgo.random.LowDiscrepancySequence;
 
 abstract class SingleValueBasedProcess<D extends Distribution> extends AbstractProcess<D> {
 
@@ -56,6 +57,39 @@ abstract class SingleValueBasedProcess<D extends Distribution> extends AbstractP
         return new RandomProcess.SimulationResults(tmpInitialValue, tmpRealisationValues);
     }
 
+    /**
+     * Quasi-Monte Carlo simulation. Each realisation uses one point of the sequence, mapped to standard normal
+     * variates and then to path increments using a {@link BrownianBridge}. The sequence dimension must equal
+     * the number of steps.
+     */
+    RandomProcess.SimulationResults simulate(final int numberOfRealisations, final int numberOfSteps, final double stepSize,
+            final LowDiscrepancySequence sequence) {
+
+        if (sequence.dimension() != numberOfSteps) {
+            throw new IllegalArgumentException("The sequence dimension must equal the number of steps!");
+        }
+
+        double tmpInitialValue = myCurrentValue;
+
+        Array2D<Double> tmpRealisationValues = Array2D.R064.make(numberOfRealisations, numberOfSteps);
+
+        BrownianBridge bridge = new BrownianBridge(numberOfSteps);
+        double[] increments = new double[numberOfSteps];
+
+        for (int r = 0; r < numberOfRealisations; r++) {
+            sequence.nextGaussian(increments);
+            bridge.transform(increments, increments);
+            double tmpCurrentValue = tmpInitialValue;
+            for (int s = 0; s < numberOfSteps; s++) {
+                tmpCurrentValue = this.doStep(stepSize, increments[s]);
+                tmpRealisationValues.set(r, s, tmpCurrentValue);
+            }
+            myCurrentValue = tmpInitialValue;
+        }
+
+        return new RandomProcess.SimulationResults(tmpInitialValue, tmpRealisationValues);
+    }
+
     @Override
     double getCurrentValue() {
         return myCurrentValue;
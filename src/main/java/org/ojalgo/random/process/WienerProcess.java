@@ -24,6 +24,7 @@ package org.ojalgo.random.process;
 import static org.ojalgo.function.constant.PrimitiveMath.*;
 
 import org.ojalgo.function.special.ErrorFunction;
+import org.ojalgo.random.LowDiscrepancySequence;
 import org.ojalgo.random.Normal;
 
 public final class WienerProcess extends SingleValueBasedProcess<Normal> implements Process1D.ComponentProcess<Normal> {
@@ -57,6 +58,19 @@ public final class WienerProcess extends SingleValueBasedProcess<Normal> impleme
         this.setCurrentValue(newValue);
     }
 
+    /**
+     * Quasi-Monte Carlo simulation – a low-discrepancy sequence, with dimension equal to the number of steps,
+     * and Brownian bridge path construction.
+     *
+     * @see LowDiscrepancySequence
+     * @see BrownianBridge
+     */
+    @Override
+    public RandomProcess.SimulationResults simulate(final int numberOfRealisations, final int numberOfSteps, final double stepSize,
+            final LowDiscrepancySequence sequence) {
+        return super.simulate(numberOfRealisations, numberOfSteps, stepSize, sequence);
+    }
+
     @Override
     public double step(final double stepSize, final double standardGaussianInnovation) {
         return this.doStep(stepSize, standardGaussianInnovation);
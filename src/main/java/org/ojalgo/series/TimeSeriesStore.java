@@ -0,0 +1,540 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.series;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.ojalgo.concurrent.Parallelism;
+import org.ojalgo.concurrent.ProcessingService;
+import org.ojalgo.function.aggregator.Aggregator;
+import org.ojalgo.function.aggregator.AggregatorFunction;
+import org.ojalgo.function.aggregator.PrimitiveAggregator;
+import org.ojalgo.series.primitive.ExplicitTimeSeries;
+import org.ojalgo.series.primitive.PrimitiveSeries;
+import org.ojalgo.type.CalendarDate;
+import org.ojalgo.type.CalendarDateUnit;
+
+/**
+ * An append-only, persistent, columnar time series store. Timestamps (epoch milliseconds, non-decreasing)
+ * and a fixed number of double valued columns are stored in memory mapped files. The files are fixed size
+ * chunks, each holding the same number of rows. There are no boxed keys or values and no tree nodes, and the
+ * operating system pages the data in and out as needed, so a store can hold billions of rows.
+ * <p>
+ * One thread, in one process, may append – a single writer. Any number of threads may read concurrently,
+ * without locking, and other processes can read too (using {@link #read(File)}). The row count is published
+ * with release semantics after the row data is written, so readers never see partially written rows.
+ * <p>
+ * Columns are exposed as {@link PrimitiveSeries}, time ranges are located using binary search, and
+ * {@link #resample(int, CalendarDateUnit, Aggregator)} aggregates (in parallel) to a {@link BasicSeries} with
+ * a coarser resolution.
+ */
+public final class TimeSeriesStore implements AutoCloseable {
+
+    final class ColumnSeries extends PrimitiveSeries {
+
+        private final int myColumn;
+        private final long myFirst;
+        private final int mySize;
+
+        ColumnSeries(final int column, final long first, final long limit) {
+
+            super();
+
+            myColumn = column;
+            myFirst = first;
+            mySize = Math.toIntExact(limit - first);
+        }
+
+        @Override
+        public int size() {
+            return mySize;
+        }
+
+        @Override
+        public double value(final int index) {
+            return TimeSeriesStore.this.value(myFirst + index, myColumn);
+        }
+
+    }
+
+    private static final int COLUMNS = 8;
+    private static final int COUNT = 24;
+    private static final String HEADER = "header";
+    private static final int HEADER_SIZE = 32;
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    /**
+     * "ojAlgoTS"
+     */
+    private static final long MAGIC = 0x6f6a416c676f5453L;
+    private static final int MINIMUM_ROWS_PER_TASK = 1 << 16;
+    private static final int ROWS = 16;
+
+    /**
+     * The default number of rows per chunk file.
+     */
+    public static final int DEFAULT_ROWS_PER_CHUNK = 1 << 20;
+
+    /**
+     * Open an existing store, or create a new one, for appending (and reading), using the default number of
+     * rows per chunk.
+     */
+    public static TimeSeriesStore open(final File directory, final int numberOfColumns) {
+        return TimeSeriesStore.open(directory, numberOfColumns, DEFAULT_ROWS_PER_CHUNK);
+    }
+
+    /**
+     * Open an existing store, or create a new one, for appending (and reading).
+     *
+     * @param rowsPerChunk Must be a power of 2, and is ignored when opening an existing store.
+     */
+    public static TimeSeriesStore open(final File directory, final int numberOfColumns, final int rowsPerChunk) {
+
+        if (numberOfColumns < 1) {
+            throw new IllegalArgumentException("There must be at least 1 column!");
+        }
+        if (rowsPerChunk < 1 || Integer.bitCount(rowsPerChunk) != 1) {
+            throw new IllegalArgumentException("The number of rows per chunk must be a power of 2!");
+        }
+        if (8L * rowsPerChunk * (1 + numberOfColumns) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("A chunk can't be larger than 2GB!");
+        }
+
+        directory.mkdirs();
+
+        File file = new File(directory, HEADER);
+        boolean existing = file.exists();
+
+        MappedByteBuffer header = TimeSeriesStore.map(file, FileChannel.MapMode.READ_WRITE, HEADER_SIZE);
+
+        if (existing) {
+            TimeSeriesStore.validate(header);
+            if (header.getLong(COLUMNS) != numberOfColumns) {
+                throw new IllegalArgumentException("The existing store has " + header.getLong(COLUMNS) + " columns!");
+            }
+        } else {
+            header.putLong(COLUMNS, numberOfColumns);
+            header.putLong(ROWS, rowsPerChunk);
+            LONGS.setRelease(header, COUNT, 0L);
+            header.putLong(0, MAGIC);
+        }
+
+        return new TimeSeriesStore(directory, header, true);
+    }
+
+    /**
+     * Open an existing store for reading only. Rows appended by the writer, in this or some other process,
+     * become visible as they are published.
+     */
+    public static TimeSeriesStore read(final File directory) {
+
+        File file = new File(directory, HEADER);
+        if (!file.exists()) {
+            throw new IllegalArgumentException("No store at " + directory + "!");
+        }
+
+        MappedByteBuffer header = TimeSeriesStore.map(file, FileChannel.MapMode.READ_ONLY, HEADER_SIZE);
+        TimeSeriesStore.validate(header);
+
+        return new TimeSeriesStore(directory, header, false);
+    }
+
+    /**
+     * The mapping remains valid after the channel is closed.
+     */
+    private static MappedByteBuffer map(final File file, final FileChannel.MapMode mode, final long size) {
+        try (RandomAccessFile access = new RandomAccessFile(file, mode == FileChannel.MapMode.READ_ONLY ? "r" : "rw");
+                FileChannel channel = access.getChannel()) {
+            MappedByteBuffer retVal = channel.map(mode, 0L, size);
+            retVal.order(ByteOrder.LITTLE_ENDIAN);
+            return retVal;
+        } catch (IOException cause) {
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private static void validate(final ByteBuffer header) {
+        if (header.getLong(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a time series store!");
+        }
+    }
+
+    private final long myChunkSize;
+    private volatile ByteBuffer[] myChunks = new ByteBuffer[0];
+    private final int myColumns;
+    private final File myDirectory;
+    private final MappedByteBuffer myHeader;
+    private long myLastTimestamp = Long.MIN_VALUE;
+    private final long myMask;
+    private final int myShift;
+    private final boolean myWritable;
+
+    private TimeSeriesStore(final File directory, final MappedByteBuffer header, final boolean writable) {
+
+        super();
+
+        myDirectory = directory;
+        myHeader = header;
+        myWritable = writable;
+
+        myColumns = Math.toIntExact(header.getLong(COLUMNS));
+        int rowsPerChunk = Math.toIntExact(header.getLong(ROWS));
+        myShift = Integer.numberOfTrailingZeros(rowsPerChunk);
+        myMask = rowsPerChunk - 1L;
+        myChunkSize = 8L * rowsPerChunk * (1 + myColumns);
+
+        long count = this.count();
+        if (count > 0L) {
+            myLastTimestamp = this.timestamp(count - 1L);
+        }
+    }
+
+    /**
+     * Append one row. Only one thread may append.
+     *
+     * @param timestamp Epoch milliseconds, not before the previous row's timestamp.
+     * @param values    One value per column.
+     */
+    public void append(final long timestamp, final double... values) {
+
+        long count = this.prepare(timestamp, values.length);
+
+        this.write(count, timestamp, values);
+
+        LONGS.setRelease(myHeader, COUNT, count + 1L);
+    }
+
+    /**
+     * Append many rows, and publish them all at once. Only one thread may append.
+     *
+     * @param timestamps Epoch milliseconds, non-decreasing.
+     * @param columns    One array of values per column, each the same length as the timestamps.
+     */
+    public void append(final long[] timestamps, final double[]... columns) {
+
+        if (timestamps.length == 0) {
+            return;
+        }
+
+        long count = this.prepare(timestamps[0], columns.length);
+
+        for (int r = 1; r < timestamps.length; r++) {
+            if (timestamps[r] < timestamps[r - 1]) {
+                throw new IllegalArgumentException("The timestamps must be non-decreasing!");
+            }
+        }
+        for (double[] values : columns) {
+            if (values.length != timestamps.length) {
+                throw new IllegalArgumentException("All columns must have as many values as there are timestamps!");
+            }
+        }
+
+        double[] values = new double[myColumns];
+        for (int r = 0; r < timestamps.length; r++) {
+            for (int c = 0; c < myColumns; c++) {
+                values[c] = columns[c][r];
+            }
+            this.write(count + r, timestamps[r], values);
+        }
+
+        LONGS.setRelease(myHeader, COUNT, count + timestamps.length);
+    }
+
+    /**
+     * Forces any changes to be written to the storage device. Closing a writable store does this too.
+     */
+    @Override
+    public void close() {
+        if (myWritable) {
+            this.flush();
+        }
+    }
+
+    /**
+     * A view of the column values, for all rows (published when this method is called).
+     */
+    public PrimitiveSeries column(final int column) {
+        return new ColumnSeries(this.check(column), 0L, this.count());
+    }
+
+    /**
+     * The number of (published) rows.
+     */
+    public long count() {
+        return (long) LONGS.getAcquire(myHeader, COUNT);
+    }
+
+    public int countColumns() {
+        return myColumns;
+    }
+
+    public double doubleValue(final long row, final int column) {
+        return this.value(this.check(row), this.check(column));
+    }
+
+    public void flush() {
+        for (ByteBuffer chunk : myChunks) {
+            ((MappedByteBuffer) chunk).force();
+        }
+        myHeader.force();
+    }
+
+    public long getTimestamp(final long row) {
+        return this.timestamp(this.check(row));
+    }
+
+    /**
+     * Aggregate the column values, of all rows, to the specified resolution. The work is divided between
+     * threads, with each thread aggregating complete periods.
+     *
+     * @return A series keyed by the period, as {@link CalendarDate#filter(CalendarDateUnit)} would key it.
+     */
+    public CalendarDateSeries<Double> resample(final int column, final CalendarDateUnit resolution, final Aggregator aggregator) {
+        return this.resample(column, 0L, this.count(), resolution, aggregator);
+    }
+
+    /**
+     * Same as {@link #resample(int, CalendarDateUnit, Aggregator)} but limited to the time range [from, to).
+     */
+    public CalendarDateSeries<Double> resample(final int column, final CalendarDate from, final CalendarDate to, final CalendarDateUnit resolution,
+            final Aggregator aggregator) {
+        long count = this.count();
+        return this.resample(column, this.search(from.millis, count), this.search(to.millis, count), resolution, aggregator);
+    }
+
+    /**
+     * The index of the first row with a timestamp not before the specified one – the number of rows if there
+     * is no such row.
+     */
+    public long search(final long timestamp) {
+        return this.search(timestamp, this.count());
+    }
+
+    /**
+     * The rows with timestamps in the range [from, to). The timestamps are copied, the values are not.
+     */
+    public ExplicitTimeSeries slice(final int column, final CalendarDate from, final CalendarDate to) {
+
+        long count = this.count();
+        long first = this.search(from.millis, count);
+        long limit = Math.max(first, this.search(to.millis, count));
+
+        long[] timestamps = new long[Math.toIntExact(limit - first)];
+        for (int i = 0; i < timestamps.length; i++) {
+            timestamps[i] = this.timestamp(first + i);
+        }
+
+        return new ExplicitTimeSeries(timestamps, new ColumnSeries(this.check(column), first, limit));
+    }
+
+    @Override
+    public String toString() {
+        return myDirectory + " (" + myColumns + " columns, " + this.count() + " rows)";
+    }
+
+    private int check(final int column) {
+        if (column < 0 || column >= myColumns) {
+            throw new IndexOutOfBoundsException("No column " + column + "!");
+        }
+        return column;
+    }
+
+    private long check(final long row) {
+        if (row < 0L || row >= this.count()) {
+            throw new IndexOutOfBoundsException("No row " + row + "!");
+        }
+        return row;
+    }
+
+    private ByteBuffer chunk(final long row) {
+        int index = (int) (row >>> myShift);
+        ByteBuffer[] chunks = myChunks;
+        return index < chunks.length ? chunks[index] : this.map(index);
+    }
+
+    /**
+     * Find the first row, in [first, limit), in a later period than the row before it.
+     */
+    private long findNextPeriod(final long first, final long limit, final CalendarDateUnit resolution) {
+
+        long period = resolution.adjustInto(this.timestamp(first - 1L));
+
+        long low = first;
+        long high = limit;
+        while (low < high) {
+            long middle = low + high >>> 1;
+            if (resolution.adjustInto(this.timestamp(middle)) > period) {
+                high = middle;
+            } else {
+                low = middle + 1L;
+            }
+        }
+
+        return low;
+    }
+
+    private synchronized ByteBuffer map(final int index) {
+
+        ByteBuffer[] chunks = myChunks;
+
+        if (index >= chunks.length) {
+
+            chunks = Arrays.copyOf(chunks, index + 1);
+
+            FileChannel.MapMode mode = myWritable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+            for (int i = myChunks.length; i <= index; i++) {
+                chunks[i] = TimeSeriesStore.map(new File(myDirectory, String.format("%010d.chunk", i)), mode, myChunkSize);
+            }
+
+            myChunks = chunks;
+        }
+
+        return chunks[index];
+    }
+
+    private long prepare(final long timestamp, final int numberOfValues) {
+
+        if (!myWritable) {
+            throw new IllegalStateException("This store is read only!");
+        }
+        if (numberOfValues != myColumns) {
+            throw new IllegalArgumentException("Expected " + myColumns + " values, got " + numberOfValues + "!");
+        }
+        if (timestamp < myLastTimestamp) {
+            throw new IllegalArgumentException("The timestamps must be non-decreasing!");
+        }
+
+        return (long) LONGS.get(myHeader, COUNT);
+    }
+
+    private CalendarDateSeries<Double> resample(final int column, final long first, final long limit, final CalendarDateUnit resolution,
+            final Aggregator aggregator) {
+
+        this.check(column);
+
+        CalendarDateSeries<Double> retVal = new CalendarDateSeries<>(resolution);
+
+        if (limit <= first) {
+            return retVal;
+        }
+
+        int nbTasks = (int) Math.max(1L, Math.min(Parallelism.CORES.getAsInt(), (limit - first) / MINIMUM_ROWS_PER_TASK));
+
+        // Split at period boundaries, so that no period is aggregated in more than one task
+        List<long[]> ranges = new ArrayList<>(nbTasks);
+        long from = first;
+        for (int t = 1; t <= nbTasks && from < limit; t++) {
+            long to = t == nbTasks ? limit : Math.max(from, first + (limit - first) * t / nbTasks);
+            if (to > first && to < limit) {
+                to = this.findNextPeriod(to, limit, resolution);
+            }
+            if (to > from) {
+                ranges.add(new long[] { from, to });
+                from = to;
+            }
+        }
+
+        List<CalendarDateSeries<Double>> parts = new ArrayList<>(ranges.size());
+        for (int p = 0; p < ranges.size(); p++) {
+            parts.add(new CalendarDateSeries<>(resolution));
+        }
+
+        List<Integer> indices = new ArrayList<>(ranges.size());
+        for (int p = 0; p < ranges.size(); p++) {
+            indices.add(Integer.valueOf(p));
+        }
+
+        ProcessingService.INSTANCE.process(indices, index -> {
+
+            long[] range = ranges.get(index.intValue());
+            CalendarDateSeries<Double> part = parts.get(index.intValue());
+
+            AggregatorFunction<Double> function = aggregator.getFunction(PrimitiveAggregator.getSet());
+
+            long period = resolution.adjustInto(this.timestamp(range[0]));
+            for (long r = range[0]; r < range[1]; r++) {
+                long next = resolution.adjustInto(this.timestamp(r));
+                if (next != period) {
+                    part.put(new CalendarDate(period), function.doubleValue());
+                    function.reset();
+                    period = next;
+                }
+                function.invoke(this.value(r, column));
+            }
+            part.put(new CalendarDate(period), function.doubleValue());
+        });
+
+        for (CalendarDateSeries<Double> part : parts) {
+            retVal.putAll(part);
+        }
+
+        return retVal;
+    }
+
+    private long search(final long timestamp, final long count) {
+
+        long low = 0L;
+        long high = count;
+        while (low < high) {
+            long middle = low + high >>> 1;
+            if (this.timestamp(middle) < timestamp) {
+                low = middle + 1L;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    private long timestamp(final long row) {
+        return this.chunk(row).getLong((int) (row & myMask) << 3);
+    }
+
+    private double value(final long row, final int column) {
+        return this.chunk(row).getDouble((int) ((long) (column + 1) << myShift | row & myMask) << 3);
+    }
+
+    private void write(final long row, final long timestamp, final double[] values) {
+
+        ByteBuffer chunk = this.chunk(row);
+        int position = (int) (row & myMask);
+
+        chunk.putLong(position << 3, timestamp);
+        for (int c = 0; c < myColumns; c++) {
+            chunk.putDouble((int) ((long) (c + 1) << myShift | position) << 3, values[c]);
+        }
+
+        myLastTimestamp = timestamp;
+    }
+
+}
@@ -149,14 +149,6 @@ public class CoordinatedSet<K extends Comparable<? super K>> extends SeriesSet {
         return builder.build();
     }
 
-    public PrimitiveSeries getSeries(final int index) {
-        return myCoordinated[index];
-    }
-
-    public int size() {
-        return myCoordinated.length;
-    }
-
     @Override
     public String toString() {
         return "FirstKey=" + this.getFirstKey() + ", LastKey=" + this.getLastKey() + ", NumberOfSeries=" + myCoordinated.length + ", NumberOfSeriesEntries="
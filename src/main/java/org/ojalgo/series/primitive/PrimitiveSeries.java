@@ -85,6 +85,15 @@ public abstract class PrimitiveSeries implements Access1D<Double> {
         return new UnaryFunctionSeries(this, PrimitiveMath.EXP);
     }
 
+    /**
+     * Exponentially weighted moving average: s(0) = x(0) and s(i) = s(i-1) + smoothing * (x(i) - s(i-1)).
+     *
+     * @param smoothing In the range (0, 1] – larger values give more weight to recent values.
+     */
+    public PrimitiveSeries exponentialMovingAverage(final double smoothing) {
+        return DataSeries.wrap(RollingWindow.exponential(this.values(), smoothing));
+    }
+
     public Double get(final int index) {
         return this.value(index);
     }
@@ -125,6 +134,53 @@ public abstract class PrimitiveSeries implements Access1D<Double> {
         return new QuotientsSeries(this, period);
     }
 
+    /**
+     * Rolling (sample) covariance with another series. The resulting series is window - 1 elements shorter
+     * than the shorter of the two – the first element is the covariance of the first window.
+     */
+    public PrimitiveSeries rollingCovariance(final PrimitiveSeries other, final int window) {
+        return DataSeries.wrap(RollingWindow.covariances(this.values(), other.values(), window));
+    }
+
+    /**
+     * @see #rollingMean(int)
+     */
+    public PrimitiveSeries rollingMaximum(final int window) {
+        return DataSeries.wrap(RollingWindow.extremes(this.values(), window, true));
+    }
+
+    /**
+     * The rolling window operations are evaluated eagerly, in O(n) time regardless of the window size. The
+     * resulting series is window - 1 elements shorter than this – the first element is the mean of the first
+     * window.
+     */
+    public PrimitiveSeries rollingMean(final int window) {
+        return DataSeries.wrap(RollingWindow.means(this.values(), window));
+    }
+
+    /**
+     * @see #rollingMean(int)
+     */
+    public PrimitiveSeries rollingMinimum(final int window) {
+        return DataSeries.wrap(RollingWindow.extremes(this.values(), window, false));
+    }
+
+    /**
+     * @see #rollingVariance(int)
+     */
+    public PrimitiveSeries rollingStandardDeviation(final int window) {
+        return DataSeries.wrap(RollingWindow.standardDeviations(this.values(), window));
+    }
+
+    /**
+     * Rolling sample variance, divided by window - 1.
+     *
+     * @see #rollingMean(int)
+     */
+    public PrimitiveSeries rollingVariance(final int window) {
+        return DataSeries.wrap(RollingWindow.variances(this.values(), window));
+    }
+
     public PrimitiveSeries runningProduct(final double initialValue) {
 
         int tmpNewSize = this.size() + 1;
@@ -0,0 +1,245 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.series.primitive;
+
+/**
+ * Rolling (moving) window statistics in O(n) time, independent of the window size. Means, variances and
+ * covariances are updated incrementally – Welford style, adding the value that enters the window and
+ * removing the one that leaves it. Once per window length the statistics are recalculated from scratch
+ * (still O(n) in total) so that rounding errors don't accumulate. Minimum and maximum use a monotonic deque
+ * of candidates.
+ * <p>
+ * The result for the window ending at index i (of the input) is at index i - window + 1 (of the output).
+ */
+final class RollingWindow {
+
+    /**
+     * The co-moments, sum of (x - mean x)(y - mean y), of each window.
+     */
+    static double[] comoments(final double[] x, final double[] y, final int window) {
+
+        RollingWindow.validate(window, 1);
+
+        int length = Math.min(x.length, y.length);
+        double[] retVal = new double[Math.max(0, length - window + 1)];
+
+        double meanX = 0.0;
+        double meanY = 0.0;
+        double comoment = 0.0;
+
+        for (int i = 0; i < length; i++) {
+
+            double enteringX = x[i];
+            double enteringY = y[i];
+
+            if (i < window) {
+
+                int count = i + 1;
+                double deltaX = enteringX - meanX;
+                meanX += deltaX / count;
+                meanY += (enteringY - meanY) / count;
+                comoment += deltaX * (enteringY - meanY);
+
+            } else if ((i + 1) % window == 0) {
+
+                int first = i - window + 1;
+
+                meanX = RollingWindow.sum(x, first, i + 1) / window;
+                meanY = RollingWindow.sum(y, first, i + 1) / window;
+                comoment = 0.0;
+                for (int j = first; j <= i; j++) {
+                    comoment += (x[j] - meanX) * (y[j] - meanY);
+                }
+
+            } else {
+
+                double deltaX = enteringX - meanX;
+                meanX += deltaX / (window + 1);
+                meanY += (enteringY - meanY) / (window + 1);
+                comoment += deltaX * (enteringY - meanY);
+
+                double leavingX = x[i - window];
+                double leavingY = y[i - window];
+                deltaX = leavingX - meanX;
+                meanX -= deltaX / window;
+                meanY -= (leavingY - meanY) / window;
+                comoment -= deltaX * (leavingY - meanY);
+            }
+
+            if (i >= window - 1) {
+                retVal[i - window + 1] = comoment;
+            }
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Sample covariances, divided by (window - 1), same as {@link org.ojalgo.random.SampleSet}.
+     */
+    static double[] covariances(final double[] x, final double[] y, final int window) {
+
+        RollingWindow.validate(window, 2);
+
+        double[] retVal = RollingWindow.comoments(x, y, window);
+
+        for (int i = 0; i < retVal.length; i++) {
+            retVal[i] /= window - 1;
+        }
+
+        return retVal;
+    }
+
+    static double[] exponential(final double[] values, final double smoothing) {
+
+        if (smoothing <= 0.0 || smoothing > 1.0) {
+            throw new IllegalArgumentException("The smoothing factor must be in the range (0, 1]!");
+        }
+
+        double[] retVal = new double[values.length];
+
+        if (values.length > 0) {
+            double average = retVal[0] = values[0];
+            for (int i = 1; i < values.length; i++) {
+                retVal[i] = average += smoothing * (values[i] - average);
+            }
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Minimum or maximum of each window. The deque holds, in index order, the values that could still become
+     * the extreme of some window – each value is added and removed at most once.
+     */
+    static double[] extremes(final double[] values, final int window, final boolean maximum) {
+
+        RollingWindow.validate(window, 1);
+
+        int length = values.length;
+        double[] retVal = new double[Math.max(0, length - window + 1)];
+
+        // Ring buffer deque
+        int[] indices = new int[window];
+        double[] candidates = new double[window];
+        int head = 0;
+        int count = 0;
+
+        for (int i = 0; i < length; i++) {
+
+            double entering = values[i];
+
+            if (count > 0 && indices[head] <= i - window) {
+                head = (head + 1) % window;
+                count--;
+            }
+
+            while (count > 0) {
+                double last = candidates[(head + count - 1) % window];
+                if (maximum ? last <= entering : last >= entering) {
+                    count--;
+                } else {
+                    break;
+                }
+            }
+
+            int tail = (head + count) % window;
+            indices[tail] = i;
+            candidates[tail] = entering;
+            count++;
+
+            if (i >= window - 1) {
+                retVal[i - window + 1] = candidates[head];
+            }
+        }
+
+        return retVal;
+    }
+
+    static double[] means(final double[] values, final int window) {
+
+        RollingWindow.validate(window, 1);
+
+        int length = values.length;
+        double[] retVal = new double[Math.max(0, length - window + 1)];
+
+        double sum = 0.0;
+
+        for (int i = 0; i < length; i++) {
+
+            if (i < window) {
+                sum += values[i];
+            } else if ((i + 1) % window == 0) {
+                sum = RollingWindow.sum(values, i - window + 1, i + 1);
+            } else {
+                sum += values[i] - values[i - window];
+            }
+
+            if (i >= window - 1) {
+                retVal[i - window + 1] = sum / window;
+            }
+        }
+
+        return retVal;
+    }
+
+    static double[] standardDeviations(final double[] values, final int window) {
+
+        double[] retVal = RollingWindow.variances(values, window);
+
+        for (int i = 0; i < retVal.length; i++) {
+            retVal[i] = Math.sqrt(retVal[i]);
+        }
+
+        return retVal;
+    }
+
+    static double[] variances(final double[] values, final int window) {
+
+        double[] retVal = RollingWindow.covariances(values, values, window);
+
+        // Rounding could make a (near) zero variance negative
+        for (int i = 0; i < retVal.length; i++) {
+            retVal[i] = Math.max(0.0, retVal[i]);
+        }
+
+        return retVal;
+    }
+
+    private static double sum(final double[] values, final int first, final int limit) {
+        double retVal = 0.0;
+        for (int i = first; i < limit; i++) {
+            retVal += values[i];
+        }
+        return retVal;
+    }
+
+    private static void validate(final int window, final int minimum) {
+        if (window < minimum) {
+            throw new IllegalArgumentException("The window size must be at least " + minimum + "!");
+        }
+    }
+
+    private RollingWindow() {
+    }
+
+}
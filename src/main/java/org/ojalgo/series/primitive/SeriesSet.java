@@ -21,6 +21,11 @@
  */
 package org.ojalgo.series.primitive;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import org.ojalgo.concurrent.ProcessingService;
 import org.ojalgo.data.DataProcessors;
 import org.ojalgo.structure.Access2D;
 import org.ojalgo.structure.Factory2D;
@@ -29,6 +34,10 @@ import org.ojalgo.structure.Structure2D;
 
 public class SeriesSet {
 
+    public static SeriesSet of(final PrimitiveSeries... series) {
+        return new SeriesSet(series.clone());
+    }
+
     private final PrimitiveSeries[] mySet;
 
     SeriesSet(final PrimitiveSeries[] set) {
@@ -72,6 +81,10 @@ public class SeriesSet {
         return builder.build();
     }
 
+    public PrimitiveSeries getSeries(final int index) {
+        return mySet[index];
+    }
+
     public SeriesSet log() {
 
         PrimitiveSeries[] retSet = new PrimitiveSeries[mySet.length];
@@ -83,6 +96,27 @@ public class SeriesSet {
         return new SeriesSet(retSet);
     }
 
+    /**
+     * Apply the operator to each of the series, in parallel. Useful with operations that are evaluated
+     * eagerly, like the rolling window statistics, on many series – {@code set.map(s -> s.rollingMean(20))}.
+     */
+    public SeriesSet map(final UnaryOperator<PrimitiveSeries> operator) {
+
+        PrimitiveSeries[] retSet = new PrimitiveSeries[mySet.length];
+
+        List<Integer> indices = new ArrayList<>(retSet.length);
+        for (int i = 0; i < retSet.length; i++) {
+            indices.add(Integer.valueOf(i));
+        }
+
+        ProcessingService.INSTANCE.process(indices, index -> {
+            int i = index.intValue();
+            retSet[i] = operator.apply(mySet[i]);
+        });
+
+        return new SeriesSet(retSet);
+    }
+
     public SeriesSet quotients() {
 
         PrimitiveSeries[] retSet = new PrimitiveSeries[mySet.length];
@@ -94,4 +128,8 @@ public class SeriesSet {
         return new SeriesSet(retSet);
     }
 
+    public int size() {
+        return mySet.length;
+    }
+
 }
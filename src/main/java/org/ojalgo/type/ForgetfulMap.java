@@ -23,6 +23,8 @@ package org.ojalgo.type;
 
 import java.time.Duration;
 import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -32,16 +34,28 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToLongBiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import org.ojalgo.concurrent.DaemonPoolExecutor;
 import org.ojalgo.function.special.PowerOf2;
+import org.ojalgo.type.management.CacheStatistics;
+import org.ojalgo.type.management.MBeanUtils;
 
 /**
  * A {@link Map} that can forget entries after a specified period of time – a cache in other words. The
  * entries can either expire after a certain amount of time has passed since they were created/written or
  * since they were last accessed.
+ * <p>
+ * The cache can also be bounded by size, or by total weight, using {@link Builder#maximumSize(long)} or
+ * {@link Builder#maximumWeight(long, ToLongBiFunction)}. Eviction then follows the W-TinyLFU policy: New
+ * entries are placed in a small admission window. Entries leaving the window compete with the eviction
+ * candidate of the main region – selected by a CLOCK (second chance) sweep – and the one that has been
+ * accessed less frequently, as estimated by a count-min sketch, is evicted. Reads do not lock; they only
+ * mark the entry as referenced and update the (approximate) frequency sketch.
+ * <p>
+ * Hits, misses and evictions are counted, see {@link #getStatistics()}.
  * <P>
  * In addition to implementing the {@link Map} interface, also looked at the Cache interface of the Caffeine
  * library, and mimicked some of its methods.
@@ -54,6 +68,9 @@ public final class ForgetfulMap<K, V> extends AbstractMap<K, V> {
 
         private long myAccessLimit = Long.MAX_VALUE;
         private int myInitialCapacity = 16;
+        private String myManagerName = null;
+        private long myMaximumWeight = Long.MAX_VALUE;
+        private ToLongBiFunction<Object, Object> myWeigher = null;
         private long myWriteLimit = Long.MAX_VALUE;
 
         Builder() {
@@ -111,6 +128,34 @@ public final class ForgetfulMap<K, V> extends AbstractMap<K, V> {
             return this;
         }
 
+        /**
+         * Will create a JMX bean, with the given name, that exposes the cache's hit/miss/eviction counts.
+         */
+        public Builder manager(final String name) {
+            myManagerName = name;
+            return this;
+        }
+
+        /**
+         * Bound the number of entries. When exceeded entries are evicted, possibly the one just added.
+         */
+        public Builder maximumSize(final long maximumSize) {
+            myMaximumWeight = Math.max(0L, maximumSize);
+            myWeigher = null;
+            return this;
+        }
+
+        /**
+         * Bound the total weight of the entries, as calculated by the weigher (when the entry is added). For
+         * matrices a natural weight is the number of bytes, or elements, stored.
+         */
+        @SuppressWarnings("unchecked")
+        public <K, V> Builder maximumWeight(final long maximumWeight, final ToLongBiFunction<? super K, ? super V> weigher) {
+            myMaximumWeight = Math.max(0L, maximumWeight);
+            myWeigher = (ToLongBiFunction<Object, Object>) Objects.requireNonNull(weigher);
+            return this;
+        }
+
         long getAccessLimit() {
             return myAccessLimit;
         }
@@ -119,6 +164,18 @@ public final class ForgetfulMap<K, V> extends AbstractMap<K, V> {
             return myInitialCapacity;
         }
 
+        String getManagerName() {
+            return myManagerName;
+        }
+
+        long getMaximumWeight() {
+            return myMaximumWeight;
+        }
+
+        ToLongBiFunction<Object, Object> getWeigher() {
+            return myWeigher;
+        }
+
         long getWriteLimit() {
             return myWriteLimit;
         }
@@ -154,23 +211,42 @@ public final class ForgetfulMap<K, V> extends AbstractMap<K, V> {
     }
 
     /**
-     * Helper class to store value and timestamps
+     * Helper class to store value and timestamps – and, when the cache is bounded, what's needed by the
+     * eviction {@link Policy}.
      */
     private static final class CachedValue<V> {
 
         long accessed;
+        final Object key;
+        /**
+         * Links of the {@link EntryQueue} this entry is in, if any. Only accessed while holding the
+         * {@link Policy} lock.
+         */
+        CachedValue<V> next = null;
+        CachedValue<V> previous = null;
+        /**
+         * Set on read, cleared by the CLOCK sweep (second chance)
+         */
+        volatile boolean referenced = false;
+        /**
+         * Only accessed while holding the {@link Policy} lock
+         */
+        Region region = Region.NONE;
         final V value;
+        final long weight;
         final long written;
 
         @SuppressWarnings("hiding")
-        CachedValue(final V value) {
+        CachedValue(final Object key, final V value, final long weight) {
 
             super();
 
             written = System.currentTimeMillis();
             accessed = written;
 
+            this.key = key;
             this.value = value;
+            this.weight = weight;
         }
 
         @Override
@@ -207,6 +283,288 @@ public final class ForgetfulMap<K, V> extends AbstractMap<K, V> {
 
     }
 
+    /**
+     * Intrusive doubly linked list of {@link CachedValue}s, so that an entry can be unlinked in O(1) when it is
+     * replaced or removed. Only accessed while holding the {@link Policy} lock.
+     */
+    private static final class EntryQueue<V> {
+
+        private CachedValue<V> myFirst = null;
+        private CachedValue<V> myLast = null;
+        private int mySize = 0;
+
+        EntryQueue() {
+            super();
+        }
+
+        void addLast(final CachedValue<V> entry) {
+            entry.previous = myLast;
+            entry.next = null;
+            if (myLast != null) {
+                myLast.next = entry;
+            } else {
+                myFirst = entry;
+            }
+            myLast = entry;
+            mySize++;
+        }
+
+        CachedValue<V> pollFirst() {
+            CachedValue<V> retVal = myFirst;
+            if (retVal != null) {
+                this.remove(retVal);
+            }
+            return retVal;
+        }
+
+        /**
+         * Does nothing if the entry is not in this queue.
+         */
+        void remove(final CachedValue<V> entry) {
+
+            if (entry.previous == null && myFirst != entry) {
+                return;
+            }
+
+            if (entry.previous != null) {
+                entry.previous.next = entry.next;
+            } else {
+                myFirst = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.previous = entry.previous;
+            } else {
+                myLast = entry.previous;
+            }
+
+            entry.previous = null;
+            entry.next = null;
+            mySize--;
+        }
+
+        int size() {
+            return mySize;
+        }
+
+    }
+
+    /**
+     * An approximate frequency counter – a count-min sketch with 4-bit counters, 16 to a long. The counters
+     * are halved when the number of recorded accesses reaches 10 times the table size, so that the
+     * frequencies reflect recent history. Updates are not atomic. Occasionally losing an increment under
+     * concurrent access is harmless for an estimate, and avoids any contention on reads.
+     */
+    private static final class FrequencySketch {
+
+        private static final long ONE_MASK = 0x1111111111111111L;
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+
+        private static int spread(final int hash) {
+            int h = hash * 0x9e3779b9;
+            return h ^ h >>> 16;
+        }
+
+        private int mySampleCount = 0;
+        private final int mySampleSize;
+        private final long[] myTable;
+        private final int myTableMask;
+
+        FrequencySketch(final long maximumSize) {
+
+            super();
+
+            int length = PowerOf2.smallestNotLessThan((int) Math.max(8L, Math.min(1L << 24, maximumSize)));
+
+            myTable = new long[length];
+            myTableMask = length - 1;
+            mySampleSize = 10 * length;
+        }
+
+        int frequency(final Object key) {
+
+            int hash = FrequencySketch.spread(key.hashCode());
+
+            int retVal = 15;
+            for (int i = 0; i < 4; i++) {
+                long h = (hash + SEEDS[i]) * SEEDS[i];
+                int index = (int) (h >>> 32) & myTableMask;
+                int shift = ((int) h >>> 28) << 2;
+                retVal = Math.min(retVal, (int) (myTable[index] >>> shift & 15L));
+            }
+            return retVal;
+        }
+
+        void increment(final Object key) {
+
+            int hash = FrequencySketch.spread(key.hashCode());
+
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                long h = (hash + SEEDS[i]) * SEEDS[i];
+                int index = (int) (h >>> 32) & myTableMask;
+                int shift = ((int) h >>> 28) << 2;
+                if ((myTable[index] >>> shift & 15L) != 15L) {
+                    myTable[index] += 1L << shift;
+                    added = true;
+                }
+            }
+
+            if (added && ++mySampleCount >= mySampleSize) {
+                this.reset();
+            }
+        }
+
+        private void reset() {
+            int odd = 0;
+            for (int i = 0; i < myTable.length; i++) {
+                odd += Long.bitCount(myTable[i] & ONE_MASK);
+                myTable[i] = myTable[i] >>> 1 & RESET_MASK;
+            }
+            mySampleCount = (mySampleCount - (odd >>> 2)) / 2;
+        }
+
+    }
+
+    /**
+     * W-TinyLFU with a CLOCK main region. All methods, except {@link #recordAccess(Object)}, are called while
+     * holding the lock of this object.
+     */
+    private static final class Policy<V> {
+
+        private static <V> List<CachedValue<V>> evict(final CachedValue<V> entry, final List<CachedValue<V>> evicted) {
+            entry.region = Region.REMOVED;
+            List<CachedValue<V>> retVal = evicted != null ? evicted : new ArrayList<>();
+            retVal.add(entry);
+            return retVal;
+        }
+
+        private final EntryQueue<V> myMain = new EntryQueue<>();
+        private final long myMainMaximum;
+        private long myMainWeight = 0L;
+        private final FrequencySketch mySketch;
+        private final EntryQueue<V> myWindow = new EntryQueue<>();
+        private final long myWindowMaximum;
+        private long myWindowWeight = 0L;
+
+        Policy(final long maximumWeight, final boolean weighted) {
+
+            super();
+
+            myWindowMaximum = Math.min(maximumWeight, Math.max(1L, maximumWeight / 100L));
+            myMainMaximum = maximumWeight - myWindowMaximum;
+
+            // With a weigher the number of entries is unknown – size the sketch as if the average weight is 8
+            mySketch = new FrequencySketch(weighted ? maximumWeight / 8L : maximumWeight);
+        }
+
+        /**
+         * A new entry was added (or an existing one replaced). Returns the evicted entries.
+         */
+        synchronized List<CachedValue<V>> onWrite(final CachedValue<V> added, final CachedValue<V> replaced) {
+
+            if (replaced != null) {
+                this.onRemove(replaced);
+            }
+
+            if (added.region != Region.NONE) {
+                // Already replaced or removed by a concurrent write
+                return null;
+            }
+
+            added.region = Region.WINDOW;
+            myWindow.addLast(added);
+            myWindowWeight += added.weight;
+
+            List<CachedValue<V>> evicted = null;
+
+            while (myWindowWeight > myWindowMaximum) {
+
+                CachedValue<V> candidate = myWindow.pollFirst();
+                if (candidate == null) {
+                    break;
+                }
+                myWindowWeight -= candidate.weight;
+
+                int candidateFrequency = mySketch.frequency(candidate.key);
+
+                while (myMainWeight + candidate.weight > myMainMaximum && candidate.region == Region.WINDOW) {
+
+                    CachedValue<V> victim = this.sweep();
+
+                    if (victim != null && mySketch.frequency(victim.key) < candidateFrequency) {
+                        evicted = Policy.evict(victim, evicted);
+                        myMainWeight -= victim.weight;
+                    } else {
+                        if (victim != null) {
+                            // The victim stays - back to the (tail) of the clock
+                            myMain.addLast(victim);
+                        }
+                        evicted = Policy.evict(candidate, evicted);
+                    }
+                }
+
+                if (candidate.region == Region.WINDOW) {
+                    candidate.region = Region.MAIN;
+                    myMain.addLast(candidate);
+                    myMainWeight += candidate.weight;
+                }
+            }
+
+            return evicted;
+        }
+
+        /**
+         * An entry was removed from the map (explicitly, or because it expired).
+         */
+        synchronized void onRemove(final CachedValue<V> removed) {
+            if (removed.region == Region.WINDOW) {
+                myWindow.remove(removed);
+                myWindowWeight -= removed.weight;
+            } else if (removed.region == Region.MAIN) {
+                myMain.remove(removed);
+                myMainWeight -= removed.weight;
+            }
+            removed.region = Region.REMOVED;
+        }
+
+        synchronized int queued() {
+            return myWindow.size() + myMain.size();
+        }
+
+        void recordAccess(final Object key) {
+            mySketch.increment(key);
+        }
+
+        synchronized long weightedSize() {
+            return myWindowWeight + myMainWeight;
+        }
+
+        /**
+         * CLOCK – entries referenced since the hand last passed get a second chance. The returned entry is
+         * removed from the clock, but is still {@link Region#MAIN}.
+         */
+        private CachedValue<V> sweep() {
+            for (int i = 0, limit = 2 * myMain.size() + 1; i < limit; i++) {
+                CachedValue<V> next = myMain.pollFirst();
+                if (next == null) {
+                    return null;
+                } else if (next.referenced) {
+                    next.referenced = false;
+                    myMain.addLast(next);
+                } else {
+                    return next;
+                }
+            }
+            return myMain.pollFirst();
+        }
+
+    }
+
+    private enum Region {
+        MAIN, NONE, REMOVED, WINDOW;
+    }
+
     /**
      * A re-implementation of {@link TypeCache} backed by a {@link ForgetfulMap}. Essentially it's a supplier
      * that most of the time returns a cached value, and only recomputes it periodically.
@@ -280,7 +638,10 @@ public final class ForgetfulMap<K, V> extends AbstractMap<K, V> {
 
     private final long myAccessLimit;
     private final Consumer<V> myDisposer;
+    private final Policy<V> myPolicy;
+    private final CacheStatistics myStatistics = new CacheStatistics();
     private final Map<K, CachedValue<V>> myStorage;
+    private final ToLongBiFunction<Object, Object> myWeigher;
     private final long myWriteLimit;
 
     ForgetfulMap(final Builder builder) {
@@ -298,6 +659,17 @@ public final class ForgetfulMap<K, V> extends AbstractMap<K, V> {
         myWriteLimit = builder.getWriteLimit();
         myAccessLimit = builder.getAccessLimit();
 
+        myWeigher = builder.getWeigher();
+        if (builder.getMaximumWeight() < Long.MAX_VALUE) {
+            myPolicy = new Policy<>(builder.getMaximumWeight(), myWeigher != null);
+        } else {
+            myPolicy = null;
+        }
+
+        if (builder.getManagerName() != null) {
+            MBeanUtils.register(myStatistics, builder.getManagerName());
+        }
+
         long interval = Math.max(1000L, Math.min(myWriteLimit, myAccessLimit) / 2L);
 
         // Periodically clean up expired entries
@@ -312,21 +684,23 @@ public final class ForgetfulMap<K, V> extends AbstractMap<K, V> {
     public void cleanUp() {
         long now = System.currentTimeMillis();
         myStorage.forEach((key, value) -> {
-            if (this.isExpired(now, value)) {
-                CachedValue<V> removed = myStorage.remove(key);
-                if (myDisposer != null) {
-                    myDisposer.accept(removed.value);
-                }
+            if (this.isExpired(now, value) && myStorage.remove(key, value)) {
+                myStatistics.recordEviction();
+                this.discard(value);
             }
         });
     }
 
     @Override
     public void clear() {
-        if (myDisposer == null) {
+        if (myDisposer == null && myPolicy == null) {
             myStorage.clear();
         } else {
-            myStorage.forEach((key, value) -> myDisposer.accept(myStorage.remove(key).value));
+            myStorage.forEach((key, value) -> {
+                if (myStorage.remove(key, value)) {
+                    this.discard(value);
+                }
+            });
         }
     }
 
@@ -367,6 +741,15 @@ public final class ForgetfulMap<K, V> extends AbstractMap<K, V> {
         return myStorage.size();
     }
 
+    /**
+     * The total weight of the entries when bounded by {@link Builder#maximumWeight(long, ToLongBiFunction)},
+     * the number of entries when bounded by {@link Builder#maximumSize(long)} and the same as
+     * {@link #estimatedSize()} when not bounded.
+     */
+    public long estimatedWeight() {
+        return myPolicy != null ? myPolicy.weightedSize() : myStorage.size();
+    }
+
     /**
      * Returns the value associated with the {@code key} in this cache, obtaining that value from the
      * {@code mappingFunction} if necessary. This method provides a simple substitute for the conventional "if
@@ -386,10 +769,15 @@ public final class ForgetfulMap<K, V> extends AbstractMap<K, V> {
     @Override
     public V get(final Object key) {
 
+        if (myPolicy != null && key != null) {
+            myPolicy.recordAccess(key);
+        }
+
         CachedValue<V> cached = myStorage.get(key);
 
         if (cached == null) {
 
+            myStatistics.recordMiss();
             return null;
 
         } else {
@@ -397,13 +785,18 @@ public final class ForgetfulMap<K, V> extends AbstractMap<K, V> {
             long now = System.currentTimeMillis();
 
             if (this.isExpired(now, cached)) {
-                V removed = myStorage.remove(key).value;
-                if (myDisposer != null) {
-                    myDisposer.accept(removed);
+                myStatistics.recordMiss();
+                if (myStorage.remove(key, cached)) {
+                    myStatistics.recordEviction();
+                    this.discard(cached);
                 }
                 return null;
             } else {
+                myStatistics.recordHit();
                 cached.accessed = now;
+                if (myPolicy != null) {
+                    cached.referenced = true;
+                }
                 return cached.value;
             }
         }
@@ -427,6 +820,13 @@ public final class ForgetfulMap<K, V> extends AbstractMap<K, V> {
         return this.get(key);
     }
 
+    /**
+     * Hit, miss and eviction counts. Use {@link Builder#manager(String)} to also expose them via JMX.
+     */
+    public CacheStatistics getStatistics() {
+        return myStatistics;
+    }
+
     @Override
     public int hashCode() {
         return myStorage.hashCode();
@@ -472,8 +872,37 @@ public final class ForgetfulMap<K, V> extends AbstractMap<K, V> {
 
     @Override
     public V put(final K key, final V value) {
-        CachedValue<V> newValue = new CachedValue<>(value);
+
+        if (myPolicy == null) {
+            CachedValue<V> newValue = new CachedValue<>(key, value, 1L);
+            CachedValue<V> oldValue = myStorage.put(key, newValue);
+            if (oldValue == null) {
+                return null;
+            } else {
+                return oldValue.value;
+            }
+        }
+
+        myPolicy.recordAccess(key);
+
+        long weight = myWeigher != null ? Math.max(0L, myWeigher.applyAsLong(key, value)) : 1L;
+
+        CachedValue<V> newValue = new CachedValue<>(key, value, weight);
         CachedValue<V> oldValue = myStorage.put(key, newValue);
+
+        List<CachedValue<V>> evicted = myPolicy.onWrite(newValue, oldValue);
+
+        if (evicted != null) {
+            for (CachedValue<V> entry : evicted) {
+                if (myStorage.remove(entry.key, entry)) {
+                    myStatistics.recordEviction();
+                    if (myDisposer != null) {
+                        myDisposer.accept(entry.value);
+                    }
+                }
+            }
+        }
+
         if (oldValue == null) {
             return null;
         } else {
@@ -492,17 +921,22 @@ public final class ForgetfulMap<K, V> extends AbstractMap<K, V> {
         map.forEach(this::put);
     }
 
+    /**
+     * The number of entries in the eviction policy's queues – should never be more than the number of
+     * entries in the map. Only used by tests.
+     */
+    int queued() {
+        return myPolicy != null ? myPolicy.queued() : 0;
+    }
+
     @Override
     public V remove(final Object key) {
         CachedValue<V> removed = myStorage.remove(key);
         if (removed == null) {
             return null;
         } else {
-            V retVal = removed.value;
-            if (myDisposer != null) {
-                myDisposer.accept(retVal);
-            }
-            return retVal;
+            this.discard(removed);
+            return removed.value;
         }
     }
 
@@ -521,6 +955,18 @@ public final class ForgetfulMap<K, V> extends AbstractMap<K, V> {
         return myStorage.size();
     }
 
+    /**
+     * The entry has been removed from the storage – update the eviction policy and dispose of the value.
+     */
+    private void discard(final CachedValue<V> removed) {
+        if (myPolicy != null) {
+            myPolicy.onRemove(removed);
+        }
+        if (myDisposer != null) {
+            myDisposer.accept(removed.value);
+        }
+    }
+
     private boolean isExpired(final long now, final CachedValue<V> cached) {
         return cached.value == null || now - cached.accessed > myAccessLimit || now - cached.written > myWriteLimit;
     }
@@ -545,17 +991,11 @@ public final class ForgetfulMap<K, V> extends AbstractMap<K, V> {
 
             @Override
             public V setValue(final V value) {
-                CachedValue<V> newValue = new CachedValue<>(value);
-                CachedValue<V> oldValue = entry.setValue(newValue);
-                if (oldValue == null) {
-                    return null;
-                } else {
-                    V retVal = oldValue.value;
-                    if (myDisposer != null) {
-                        myDisposer.accept(retVal);
-                    }
-                    return retVal;
+                V retVal = ForgetfulMap.this.put(entry.getKey(), value);
+                if (retVal != null && myDisposer != null) {
+                    myDisposer.accept(retVal);
                 }
+                return retVal;
             }
 
         };
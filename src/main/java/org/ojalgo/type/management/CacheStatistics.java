@@ -0,0 +1,71 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.type.management;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public final class CacheStatistics implements CacheStatisticsMBean {
+
+    private final LongAdder myEvictions = new LongAdder();
+    private final LongAdder myHits = new LongAdder();
+    private final LongAdder myMisses = new LongAdder();
+
+    public CacheStatistics() {
+        super();
+    }
+
+    public long getEvictionCount() {
+        return myEvictions.sum();
+    }
+
+    public long getHitCount() {
+        return myHits.sum();
+    }
+
+    public double getHitRate() {
+        long hits = myHits.sum();
+        long requests = hits + myMisses.sum();
+        return requests == 0L ? 1.0 : (double) hits / requests;
+    }
+
+    public long getMissCount() {
+        return myMisses.sum();
+    }
+
+    public void recordEviction() {
+        myEvictions.increment();
+    }
+
+    public void recordHit() {
+        myHits.increment();
+    }
+
+    public void recordMiss() {
+        myMisses.increment();
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + this.getHitCount() + ", misses=" + this.getMissCount() + ", evictions=" + this.getEvictionCount();
+    }
+
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.type.management;
+
+/**
+ * Solver and matrix decomposition telemetry – published as JDK Flight Recorder events (category "ojAlgo")
+ * as well as to any registered {@link TelemetryListener}.
+ * <p>
+ * The probes are meant to stay in production code. As long as there are no listeners and no flight
+ * recording has been started in the JVM, {@link #start()} returns 0 and {@link #isActive()} false – a
+ * couple of field reads – and the callers skip everything else. Start a recording with, for instance,
+ * {@code -XX:StartFlightRecording} or from JDK Mission Control.
+ * <p>
+ * The {@code jdk.jfr} module is optional. Without it (a runtime image built without it, or a module graph
+ * where it isn't resolved) only the listeners are called.
+ */
+public final class Telemetry {
+
+    public enum Node {
+        /**
+         * The node was branched on, creating 2 child nodes.
+         */
+        BRANCHED,
+        /**
+         * The node problem was infeasible (or its solution was not valid).
+         */
+        INFEASIBLE,
+        /**
+         * The node solution was integer feasible.
+         */
+        INTEGER,
+        /**
+         * The node problem was solved – always followed by one of the other outcomes.
+         */
+        PROCESSED,
+        /**
+         * The node (subtree) was cut off by the bound.
+         */
+        PRUNED;
+    }
+
+    /**
+     * Is the {@code jdk.jfr} module available? If not, {@link TelemetryEvents} must not be touched.
+     */
+    private static final boolean JFR = Telemetry.isFlightRecorderAvailable();
+    private static final TelemetryListener[] NONE = new TelemetryListener[0];
+
+    private static volatile TelemetryListener[] LISTENERS = NONE;
+
+    public static synchronized void addListener(final TelemetryListener listener) {
+        TelemetryListener[] current = LISTENERS;
+        TelemetryListener[] updated = new TelemetryListener[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, current.length);
+        updated[current.length] = listener;
+        LISTENERS = updated;
+    }
+
+    /**
+     * @param started The value returned by {@link #start()} when the decomposition started
+     */
+    public static void decomposition(final long started, final String type, final int rows, final int columns) {
+
+        if (started == 0L) {
+            return;
+        }
+
+        long nanos = System.nanoTime() - started;
+
+        if (JFR) {
+            TelemetryEvents.decomposition(type, rows, columns, nanos);
+        }
+
+        for (TelemetryListener listener : LISTENERS) {
+            listener.onDecomposition(type, rows, columns, nanos);
+        }
+    }
+
+    public static void gap(final double incumbent, final double bound, final long nodes) {
+
+        if (JFR) {
+            TelemetryEvents.gap(incumbent, bound, nodes);
+        }
+
+        for (TelemetryListener listener : LISTENERS) {
+            listener.onGap(incumbent, bound, nodes);
+        }
+    }
+
+    public static void incumbent(final double value, final long nodes) {
+
+        if (JFR) {
+            TelemetryEvents.incumbent(value, nodes);
+        }
+
+        for (TelemetryListener listener : LISTENERS) {
+            listener.onIncumbent(value, nodes);
+        }
+    }
+
+    /**
+     * @return true if there is anyone listening – if not, there's no need to calculate any of the event
+     *         details.
+     */
+    public static boolean isActive() {
+        return LISTENERS.length != 0 || JFR && TelemetryEvents.isRecorderInitialized();
+    }
+
+    public static void node(final Node outcome, final long sequence, final int depth, final double value) {
+
+        if (JFR) {
+            TelemetryEvents.node(outcome, sequence, depth, value);
+        }
+
+        for (TelemetryListener listener : LISTENERS) {
+            listener.onNode(outcome, sequence, depth, value);
+        }
+    }
+
+    /**
+     * @param started The value returned by {@link #start()} when the presolve started
+     */
+    public static void presolve(final long started, final int variables, final int fixed, final int constraints, final int redundant) {
+
+        if (started == 0L) {
+            return;
+        }
+
+        long nanos = System.nanoTime() - started;
+
+        if (JFR) {
+            TelemetryEvents.presolve(variables, fixed, constraints, redundant, nanos);
+        }
+
+        for (TelemetryListener listener : LISTENERS) {
+            listener.onPresolve(variables, fixed, constraints, redundant, nanos);
+        }
+    }
+
+    /**
+     * @param started The value returned by {@link #start()} when the refactorisation started
+     */
+    public static void refactorisation(final long started, final int dim) {
+
+        if (started == 0L) {
+            return;
+        }
+
+        long nanos = System.nanoTime() - started;
+
+        if (JFR) {
+            TelemetryEvents.refactorisation(dim, nanos);
+        }
+
+        for (TelemetryListener listener : LISTENERS) {
+            listener.onRefactorisation(dim, nanos);
+        }
+    }
+
+    public static synchronized void removeListener(final TelemetryListener listener) {
+        TelemetryListener[] current = LISTENERS;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                TelemetryListener[] updated = new TelemetryListener[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, updated.length - i);
+                LISTENERS = updated.length != 0 ? updated : NONE;
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param started The value returned by {@link #start()} when the simplex solve started
+     */
+    public static void simplex(final long started, final String solver, final int rows, final int columns, final int iterations, final String state) {
+
+        if (started == 0L) {
+            return;
+        }
+
+        long nanos = System.nanoTime() - started;
+
+        if (JFR) {
+            TelemetryEvents.simplex(solver, rows, columns, iterations, state, nanos);
+        }
+
+        for (TelemetryListener listener : LISTENERS) {
+            listener.onSimplex(solver, rows, columns, iterations, state, nanos);
+        }
+    }
+
+    /**
+     * Mark the start of something that will be timed.
+     *
+     * @return {@link System#nanoTime()} if telemetry is active, otherwise 0 – to be passed back to the
+     *         relevant event method that then does nothing.
+     */
+    public static long start() {
+        if (Telemetry.isActive()) {
+            long now = System.nanoTime();
+            return now != 0L ? now : 1L;
+        } else {
+            return 0L;
+        }
+    }
+
+    /**
+     * Checks that the {@code jdk.jfr} module is present and readable – without touching
+     * {@link TelemetryEvents}.
+     */
+    private static boolean isFlightRecorderAvailable() {
+
+        Module module = Telemetry.class.getModule();
+
+        if (module.isNamed()) {
+            return ModuleLayer.boot().findModule("jdk.jfr").filter(module::canRead).isPresent();
+        }
+
+        try {
+            Class.forName("jdk.jfr.FlightRecorder", false, Telemetry.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError cause) {
+            return false;
+        }
+    }
+
+    private Telemetry() {
+        super();
+    }
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.type.management;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * The JDK Flight Recorder events published by {@link Telemetry}. This is the only class that refers to the
+ * (optional) {@code jdk.jfr} module, and {@link Telemetry} only calls it when that module is available.
+ */
+final class TelemetryEvents {
+
+    @Name("org.ojalgo.Decomposition")
+    @Label("Matrix Decomposition")
+    @Category({ "ojAlgo", "Matrix" })
+    static final class DecompositionEvent extends Event {
+
+        @Label("Columns")
+        int columns;
+        @Label("Elapsed Time")
+        @Timespan
+        long elapsed;
+        @Label("Rows")
+        int rows;
+        @Label("Type")
+        String type;
+
+    }
+
+    @Name("org.ojalgo.Gap")
+    @Label("Optimality Gap")
+    @Category({ "ojAlgo", "Optimisation" })
+    static final class GapEvent extends Event {
+
+        @Label("Absolute Gap")
+        double absolute;
+        @Label("Bound")
+        double bound;
+        @Label("Incumbent")
+        double incumbent;
+        @Label("Nodes")
+        long nodes;
+        @Label("Relative Gap")
+        double relative;
+
+    }
+
+    @Name("org.ojalgo.Incumbent")
+    @Label("Incumbent Update")
+    @Category({ "ojAlgo", "Optimisation" })
+    static final class IncumbentEvent extends Event {
+
+        @Label("Nodes")
+        long nodes;
+        @Label("Value")
+        double value;
+
+    }
+
+    @Name("org.ojalgo.Node")
+    @Label("Branch & Bound Node")
+    @Category({ "ojAlgo", "Optimisation" })
+    static final class NodeEvent extends Event {
+
+        @Label("Depth")
+        int depth;
+        @Label("Outcome")
+        String outcome;
+        @Label("Sequence")
+        long sequence;
+        @Label("Value")
+        double value;
+
+    }
+
+    @Name("org.ojalgo.Presolve")
+    @Label("Presolve")
+    @Category({ "ojAlgo", "Optimisation" })
+    static final class PresolveEvent extends Event {
+
+        @Label("Constraints")
+        int constraints;
+        @Label("Elapsed Time")
+        @Timespan
+        long elapsed;
+        @Label("Fixed Variables")
+        int fixed;
+        @Label("Redundant Constraints")
+        int redundant;
+        @Label("Variables")
+        int variables;
+
+    }
+
+    @Name("org.ojalgo.Refactorisation")
+    @Label("Basis Refactorisation")
+    @Category({ "ojAlgo", "Optimisation" })
+    static final class RefactorisationEvent extends Event {
+
+        @Label("Dimension")
+        int dim;
+        @Label("Elapsed Time")
+        @Timespan
+        long elapsed;
+
+    }
+
+    @Name("org.ojalgo.Simplex")
+    @Label("Simplex Solve")
+    @Description("One (warm or cold started) simplex solve – typically one per B&B node")
+    @Category({ "ojAlgo", "Optimisation" })
+    static final class SimplexEvent extends Event {
+
+        @Label("Columns")
+        int columns;
+        @Label("Elapsed Time")
+        @Timespan
+        long elapsed;
+        @Label("Iterations")
+        int iterations;
+        @Label("Rows")
+        int rows;
+        @Label("Solver")
+        String solver;
+        @Label("State")
+        String state;
+
+    }
+
+    static void decomposition(final String type, final int rows, final int columns, final long nanos) {
+        DecompositionEvent event = new DecompositionEvent();
+        if (event.isEnabled()) {
+            event.type = type;
+            event.rows = rows;
+            event.columns = columns;
+            event.elapsed = nanos;
+            event.commit();
+        }
+    }
+
+    static void gap(final double incumbent, final double bound, final long nodes) {
+        GapEvent event = new GapEvent();
+        if (event.isEnabled()) {
+            double absolute = Math.abs(incumbent - bound);
+            event.incumbent = incumbent;
+            event.bound = bound;
+            event.absolute = absolute;
+            event.relative = Math.abs(incumbent) > 0.0 ? absolute / Math.abs(incumbent) : absolute;
+            event.nodes = nodes;
+            event.commit();
+        }
+    }
+
+    static void incumbent(final double value, final long nodes) {
+        IncumbentEvent event = new IncumbentEvent();
+        if (event.isEnabled()) {
+            event.value = value;
+            event.nodes = nodes;
+            event.commit();
+        }
+    }
+
+    static boolean isRecorderInitialized() {
+        return FlightRecorder.isInitialized();
+    }
+
+    static void node(final Telemetry.Node outcome, final long sequence, final int depth, final double value) {
+        NodeEvent event = new NodeEvent();
+        if (event.isEnabled()) {
+            event.outcome = outcome.name();
+            event.sequence = sequence;
+            event.depth = depth;
+            event.value = value;
+            event.commit();
+        }
+    }
+
+    static void presolve(final int variables, final int fixed, final int constraints, final int redundant, final long nanos) {
+        PresolveEvent event = new PresolveEvent();
+        if (event.isEnabled()) {
+            event.variables = variables;
+            event.fixed = fixed;
+            event.constraints = constraints;
+            event.redundant = redundant;
+            event.elapsed = nanos;
+            event.commit();
+        }
+    }
+
+    static void refactorisation(final int dim, final long nanos) {
+        RefactorisationEvent event = new RefactorisationEvent();
+        if (event.isEnabled()) {
+            event.dim = dim;
+            event.elapsed = nanos;
+            event.commit();
+        }
+    }
+
+    static void simplex(final String solver, final int rows, final int columns, final int iterations, final String state, final long nanos) {
+        SimplexEvent event = new SimplexEvent();
+        if (event.isEnabled()) {
+            event.solver = solver;
+            event.rows = rows;
+            event.columns = columns;
+            event.iterations = iterations;
+            event.state = state;
+            event.elapsed = nanos;
+            event.commit();
+        }
+    }
+
+    private TelemetryEvents() {
+        super();
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.type.management;
+
+/**
+ * Programmatic access to the same information that is published as JDK Flight Recorder events, see
+ * {@link Telemetry}. All methods have no-op default implementations – override those of interest.
+ * <p>
+ * Callbacks are made synchronously on the thread doing the work (often one of several B&amp;B worker
+ * threads) so implementations must be thread safe and should return quickly.
+ */
+public interface TelemetryListener {
+
+    /**
+     * A matrix decomposition was computed.
+     *
+     * @param type    The (simple) class name of the decomposition
+     * @param rows    Number of rows of the decomposed matrix
+     * @param columns Number of columns of the decomposed matrix
+     * @param nanos   Time spent decomposing
+     */
+    default void onDecomposition(final String type, final int rows, final int columns, final long nanos) {
+    }
+
+    /**
+     * The optimality gap of a branch-and-bound search – sampled whenever the incumbent improves and at
+     * regular node count intervals.
+     *
+     * @param incumbent The value of the best integer solution found so far
+     * @param bound     The global (dual) bound
+     * @param nodes     Number of nodes evaluated so far
+     */
+    default void onGap(final double incumbent, final double bound, final long nodes) {
+    }
+
+    /**
+     * A new (better) integer solution was found.
+     *
+     * @param value The new incumbent value
+     * @param nodes Number of nodes evaluated so far
+     */
+    default void onIncumbent(final double value, final long nodes) {
+    }
+
+    /**
+     * A branch-and-bound node was processed, branched on or pruned.
+     */
+    default void onNode(final Telemetry.Node outcome, final long sequence, final int depth, final double value) {
+    }
+
+    /**
+     * The model presolve completed.
+     *
+     * @param variables   Total number of variables
+     * @param fixed       Number of variables that are fixed after presolve
+     * @param constraints Total number of constraint expressions
+     * @param redundant   Number of constraint expressions found to be redundant
+     * @param nanos       Time spent in presolve
+     */
+    default void onPresolve(final int variables, final int fixed, final int constraints, final int redundant, final long nanos) {
+    }
+
+    /**
+     * The simplex basis was (re)factorised from scratch rather than incrementally updated.
+     *
+     * @param dim   The basis dimension
+     * @param nanos Time spent
+     */
+    default void onRefactorisation(final int dim, final long nanos) {
+    }
+
+    /**
+     * A simplex solve completed.
+     *
+     * @param solver     The (simple) class name of the solver
+     * @param rows       Number of constraints
+     * @param columns    Number of variables (including slacks)
+     * @param iterations Number of simplex iterations performed
+     * @param state      The resulting solver state
+     * @param nanos      Time spent iterating
+     */
+    default void onSimplex(final String solver, final int rows, final int columns, final int iterations, final String state, final long nanos) {
+    }
+
+}
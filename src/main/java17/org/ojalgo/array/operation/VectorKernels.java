@@ -0,0 +1,95 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.array.operation;
+
+import java.util.Optional;
+
+/**
+ * The Java 17+ version of this class. Delegates to {@link VectorizedR064} and {@link VectorizedR032}, that
+ * are implemented using the (incubator) Vector API. Those classes are only loaded if {@link #ENABLED} is
+ * true, so nothing breaks when the jdk.incubator.vector module is not present.
+ */
+final class VectorKernels {
+
+    static final String PROPERTY = "ojalgo.vector";
+
+    static final boolean ENABLED = VectorKernels.isEnabled();
+
+    static final int THRESHOLD = 32;
+
+    static int amax(final double[] data, final int first, final int limit) {
+        return VectorizedR064.amax(data, first, limit);
+    }
+
+    static int amax(final float[] data, final int first, final int limit) {
+        return VectorizedR032.amax(data, first, limit);
+    }
+
+    static double asum(final double[] data, final int first, final int limit) {
+        return VectorizedR064.asum(data, first, limit);
+    }
+
+    static void axpy(final double[] y, final int basey, final double a, final double[] x, final int basex, final int first, final int limit) {
+        VectorizedR064.axpy(y, basey, a, x, basex, first, limit);
+    }
+
+    static void axpy(final float[] y, final int basey, final float a, final float[] x, final int basex, final int first, final int limit) {
+        VectorizedR032.axpy(y, basey, a, x, basex, first, limit);
+    }
+
+    static double dot(final double[] array1, final int offset1, final double[] array2, final int offset2, final int first, final int limit) {
+        return VectorizedR064.dot(array1, offset1, array2, offset2, first, limit);
+    }
+
+    static float dot(final float[] array1, final int offset1, final float[] array2, final int offset2, final int first, final int limit) {
+        return VectorizedR032.dot(array1, offset1, array2, offset2, first, limit);
+    }
+
+    static double nrm2(final double[] data, final double scale, final int first, final int limit) {
+        return VectorizedR064.nrm2(data, scale, first, limit);
+    }
+
+    private static boolean isEnabled() {
+
+        if (!Boolean.parseBoolean(System.getProperty(PROPERTY, Boolean.TRUE.toString()))) {
+            return false;
+        }
+
+        Optional<Module> vector = ModuleLayer.boot().findModule("jdk.incubator.vector");
+        if (vector.isEmpty()) {
+            return false;
+        }
+
+        try {
+            // A named ojalgo module does not declare that it reads jdk.incubator.vector
+            VectorKernels.class.getModule().addReads(vector.get());
+            return VectorizedR064.isSupported() && VectorizedR032.isSupported();
+        } catch (Throwable cause) {
+            return false;
+        }
+    }
+
+    private VectorKernels() {
+        super();
+    }
+
+}
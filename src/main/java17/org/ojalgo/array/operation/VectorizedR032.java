@@ -0,0 +1,118 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.array.operation;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API implementations of the float[] kernels. Only to be used via {@link VectorKernels}.
+ */
+abstract class VectorizedR032 {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    static int amax(final float[] data, final int first, final int limit) {
+
+        int length = SPECIES.length();
+        int bound = first + SPECIES.loopBound(limit - first);
+
+        FloatVector maxAbs = FloatVector.zero(SPECIES);
+        int i = first;
+        for (; i < bound; i += length) {
+            maxAbs = maxAbs.max(FloatVector.fromArray(SPECIES, data, i).lanewise(VectorOperators.ABS));
+        }
+        float max = maxAbs.reduceLanes(VectorOperators.MAX);
+        for (; i < limit; i++) {
+            max = Math.max(max, Math.abs(data[i]));
+        }
+
+        if (max > 0F) {
+            // The first occurrence, same as the scalar implementation
+            for (int j = first; j < limit; j++) {
+                if (Math.abs(data[j]) == max) {
+                    return j;
+                }
+            }
+        }
+
+        // All zero, or NaN:s involved – same as the scalar implementation
+        int retVal = first;
+        float largest = 0;
+        for (int j = first; j < limit; j++) {
+            float candidate = Math.abs(data[j]);
+            if (candidate > largest) {
+                largest = candidate;
+                retVal = j;
+            }
+        }
+        return retVal;
+    }
+
+    static void axpy(final float[] y, final int basey, final float a, final float[] x, final int basex, final int first, final int limit) {
+
+        int length = SPECIES.length();
+        int bound = first + SPECIES.loopBound(limit - first);
+
+        int i = first;
+        for (; i < bound; i += length) {
+            FloatVector vx = FloatVector.fromArray(SPECIES, x, basex + i);
+            FloatVector vy = FloatVector.fromArray(SPECIES, y, basey + i);
+            vx.mul(a).add(vy).intoArray(y, basey + i);
+        }
+        for (; i < limit; i++) {
+            y[basey + i] += a * x[basex + i];
+        }
+    }
+
+    static float dot(final float[] array1, final int offset1, final float[] array2, final int offset2, final int first, final int limit) {
+
+        int length = SPECIES.length();
+        int bound = first + SPECIES.loopBound(limit - first);
+
+        // Two accumulators to hide the latency of the additions
+        FloatVector sum0 = FloatVector.zero(SPECIES);
+        FloatVector sum1 = FloatVector.zero(SPECIES);
+
+        int i = first;
+        for (; i + length < bound; i += 2 * length) {
+            sum0 = FloatVector.fromArray(SPECIES, array1, offset1 + i).mul(FloatVector.fromArray(SPECIES, array2, offset2 + i)).add(sum0);
+            sum1 = FloatVector.fromArray(SPECIES, array1, offset1 + i + length).mul(FloatVector.fromArray(SPECIES, array2, offset2 + i + length)).add(sum1);
+        }
+        for (; i < bound; i += length) {
+            sum0 = FloatVector.fromArray(SPECIES, array1, offset1 + i).mul(FloatVector.fromArray(SPECIES, array2, offset2 + i)).add(sum0);
+        }
+
+        float retVal = sum0.add(sum1).reduceLanes(VectorOperators.ADD);
+        for (; i < limit; i++) {
+            retVal += array1[offset1 + i] * array2[offset2 + i];
+        }
+
+        return retVal;
+    }
+
+    static boolean isSupported() {
+        return SPECIES.length() >= 2;
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.array.operation;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API implementations of the double[] kernels. Only to be used via {@link VectorKernels}.
+ */
+abstract class VectorizedR064 {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    static int amax(final double[] data, final int first, final int limit) {
+
+        int length = SPECIES.length();
+        int bound = first + SPECIES.loopBound(limit - first);
+
+        DoubleVector maxAbs = DoubleVector.zero(SPECIES);
+        int i = first;
+        for (; i < bound; i += length) {
+            maxAbs = maxAbs.max(DoubleVector.fromArray(SPECIES, data, i).lanewise(VectorOperators.ABS));
+        }
+        double max = maxAbs.reduceLanes(VectorOperators.MAX);
+        for (; i < limit; i++) {
+            max = Math.max(max, Math.abs(data[i]));
+        }
+
+        if (max > 0D) {
+            // The first occurrence, same as the scalar implementation
+            for (int j = first; j < limit; j++) {
+                if (Math.abs(data[j]) == max) {
+                    return j;
+                }
+            }
+        }
+
+        // All zero, or NaN:s involved – same as the scalar implementation
+        int retVal = first;
+        double largest = 0;
+        for (int j = first; j < limit; j++) {
+            double candidate = Math.abs(data[j]);
+            if (candidate > largest) {
+                largest = candidate;
+                retVal = j;
+            }
+        }
+        return retVal;
+    }
+
+    static double asum(final double[] data, final int first, final int limit) {
+
+        int length = SPECIES.length();
+        int bound = first + SPECIES.loopBound(limit - first);
+
+        DoubleVector sum = DoubleVector.zero(SPECIES);
+        int i = first;
+        for (; i < bound; i += length) {
+            sum = sum.add(DoubleVector.fromArray(SPECIES, data, i).lanewise(VectorOperators.ABS));
+        }
+        double retVal = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < limit; i++) {
+            retVal += Math.abs(data[i]);
+        }
+
+        return retVal;
+    }
+
+    static void axpy(final double[] y, final int basey, final double a, final double[] x, final int basex, final int first, final int limit) {
+
+        int length = SPECIES.length();
+        int bound = first + SPECIES.loopBound(limit - first);
+
+        int i = first;
+        for (; i < bound; i += length) {
+            DoubleVector vx = DoubleVector.fromArray(SPECIES, x, basex + i);
+            DoubleVector vy = DoubleVector.fromArray(SPECIES, y, basey + i);
+            vx.mul(a).add(vy).intoArray(y, basey + i);
+        }
+        for (; i < limit; i++) {
+            y[basey + i] += a * x[basex + i];
+        }
+    }
+
+    static double dot(final double[] array1, final int offset1, final double[] array2, final int offset2, final int first, final int limit) {
+
+        int length = SPECIES.length();
+        int bound = first + SPECIES.loopBound(limit - first);
+
+        // Two accumulators to hide the latency of the additions
+        DoubleVector sum0 = DoubleVector.zero(SPECIES);
+        DoubleVector sum1 = DoubleVector.zero(SPECIES);
+
+        int i = first;
+        for (; i + length < bound; i += 2 * length) {
+            sum0 = DoubleVector.fromArray(SPECIES, array1, offset1 + i).mul(DoubleVector.fromArray(SPECIES, array2, offset2 + i)).add(sum0);
+            sum1 = DoubleVector.fromArray(SPECIES, array1, offset1 + i + length).mul(DoubleVector.fromArray(SPECIES, array2, offset2 + i + length)).add(sum1);
+        }
+        for (; i < bound; i += length) {
+            sum0 = DoubleVector.fromArray(SPECIES, array1, offset1 + i).mul(DoubleVector.fromArray(SPECIES, array2, offset2 + i)).add(sum0);
+        }
+
+        double retVal = sum0.add(sum1).reduceLanes(VectorOperators.ADD);
+        for (; i < limit; i++) {
+            retVal += array1[offset1 + i] * array2[offset2 + i];
+        }
+
+        return retVal;
+    }
+
+    static boolean isSupported() {
+        return SPECIES.length() >= 2;
+    }
+
+    static double nrm2(final double[] data, final double scale, final int first, final int limit) {
+
+        int length = SPECIES.length();
+        int bound = first + SPECIES.loopBound(limit - first);
+
+        DoubleVector sum = DoubleVector.zero(SPECIES);
+        int i = first;
+        for (; i < bound; i += length) {
+            DoubleVector scaled = DoubleVector.fromArray(SPECIES, data, i).div(scale);
+            sum = scaled.mul(scaled).add(sum);
+        }
+        double sum2 = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < limit; i++) {
+            double tmpVal = data[i] / scale;
+            sum2 += tmpVal * tmpVal;
+        }
+
+        return scale * Math.sqrt(sum2);
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.array;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.function.constant.PrimitiveMath;
+import org.ojalgo.function.aggregator.Aggregator;
+import org.ojalgo.random.Uniform;
+import org.ojalgo.type.context.NumberContext;
+
+/**
+ * Parallel (above the threshold) and sequential bulk operations should give the same results. The arrays are
+ * just above the threshold, and not a whole number of chunks.
+ */
+public class BulkOperationsTest extends ArrayTests {
+
+    private static final int COUNT = BulkOperations.THRESHOLD + 3 * BulkOperations.CHUNK + 3;
+    private static final NumberContext PRECISION = NumberContext.of(12);
+
+    private static void assertSameElements(final BasicArray<Double> expected, final BasicArray<Double> actual) {
+        TestUtils.assertEquals(expected.count(), actual.count());
+        for (long i = 0L; i < expected.count(); i++) {
+            TestUtils.assertEquals(expected.doubleValue(i), actual.doubleValue(i));
+        }
+    }
+
+    private static BasicArray<Double> newSegmented(final long count) {
+        return SegmentedArray.newInstance(ArrayR064.FACTORY, count);
+    }
+
+    /**
+     * The partial results are merged in a fixed order, and that order does not depend on the number of
+     * threads – repeated calls give exactly the same result, and that result matches the sequential one.
+     */
+    @Test
+    public void testAggregateDeterministic() {
+
+        ArrayR064 array = ArrayR064.make(COUNT);
+        array.fillAll(new Uniform(0.9, 0.2));
+        array.set(17L, PrimitiveMath.ZERO);
+
+        for (Aggregator aggregator : Aggregator.values()) {
+
+            Double parallel = array.aggregateAll(aggregator);
+            for (int r = 0; r < 5; r++) {
+                TestUtils.assertEquals(aggregator.name(), parallel, array.aggregateAll(aggregator));
+            }
+
+            Double sequential = BulkOperations.aggregate(array, 0L, COUNT, aggregator, Integer.MAX_VALUE);
+
+            TestUtils.assertEquals(aggregator.name(), sequential, parallel, PRECISION);
+        }
+
+        TestUtils.assertEquals(COUNT - 1, array.aggregateAll(Aggregator.CARDINALITY).intValue());
+    }
+
+    @Test
+    public void testAggregateRangeOfSlice() {
+
+        ArrayR064 array = ArrayR064.make(COUNT);
+        array.fillAll(new Uniform());
+
+        Array1D<Double> slice = array.wrapInArray1D().sliceRange(3L, COUNT - 5L);
+
+        double expected = 0.0;
+        for (long i = 3L; i < COUNT - 5L; i++) {
+            expected += array.doubleValue(i);
+        }
+
+        TestUtils.assertEquals(expected, slice.aggregateAll(Aggregator.SUM).doubleValue(), PRECISION);
+        TestUtils.assertEquals(expected / (COUNT - 8L), slice.aggregateAll(Aggregator.AVERAGE).doubleValue(), PRECISION);
+    }
+
+    @Test
+    public void testFillAndModify() {
+
+        BasicArray<Double> expected = ArrayR064.make(COUNT);
+        expected.fillAll(new Uniform());
+
+        BasicArray<Double>[] arrays = new BasicArray[] { ArrayR064.make(COUNT), ArrayR032.make(COUNT), OffHeapArray.R064.make(COUNT),
+                BufferArray.R064.make(COUNT), BulkOperationsTest.newSegmented(COUNT) };
+
+        for (BasicArray<Double> array : arrays) {
+
+            array.fillAll(3.0);
+            TestUtils.assertEquals(3.0 * COUNT, array.aggregateAll(Aggregator.SUM).doubleValue(), PRECISION);
+
+            array.fillMatching(expected);
+            array.modifyAll(PrimitiveMath.MULTIPLY.second(2.0));
+            array.modifyMatching(PrimitiveMath.SUBTRACT, expected);
+            array.modifyMatching(expected, PrimitiveMath.ADD);
+
+            BasicArray<Double> reference = ArrayR064.make(COUNT);
+            for (long i = 0L; i < COUNT; i++) {
+                double value = expected.doubleValue(i);
+                reference.set(i, value + (2.0 * value - value));
+            }
+
+            if (array.getMathType() == ArrayR064.FACTORY.getMathType()) {
+                BulkOperationsTest.assertSameElements(reference, array);
+            } else {
+                TestUtils.assertEquals(reference.aggregateAll(Aggregator.SUM).doubleValue(), array.aggregateAll(Aggregator.SUM).doubleValue(),
+                        NumberContext.of(6));
+            }
+        }
+    }
+
+    @Test
+    public void testSort() {
+
+        BasicArray<Double>[] arrays = new BasicArray[] { ArrayR064.make(COUNT), BufferArray.R064.make(COUNT), BufferArray.Z064.make(COUNT) };
+
+        for (BasicArray<Double> array : arrays) {
+
+            array.fillAll(new Uniform(-1_000.0, 2_000.0));
+
+            Array1D<Double> wrapped = array.wrapInArray1D();
+
+            wrapped.sortAscending();
+            for (long i = 1L; i < COUNT; i++) {
+                TestUtils.assertTrue(array.doubleValue(i - 1L) <= array.doubleValue(i));
+            }
+
+            wrapped.sortDescending();
+            for (long i = 1L; i < COUNT; i++) {
+                TestUtils.assertTrue(array.doubleValue(i - 1L) >= array.doubleValue(i));
+            }
+        }
+    }
+
+}
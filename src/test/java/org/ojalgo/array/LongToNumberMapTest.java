@@ -102,6 +102,38 @@ public class LongToNumberMapTest extends ArrayTests {
 
     }
 
+    @Test
+    public void testSetAndAddInRandomOrder() {
+
+        LongToNumberMap<Double> map = LongToNumberMap.factory(ArrayR064.FACTORY).make();
+        SortedMap<Long, Double> expected = new TreeMap<>();
+
+        Random random = new Random(42L);
+
+        for (int i = 0; i < 100_000; i++) {
+
+            long key = random.nextInt(10_000);
+            double value = 1 + random.nextInt(9);
+
+            if (random.nextBoolean()) {
+                map.set(key, value);
+                expected.put(key, value);
+            } else {
+                map.add(key, value);
+                expected.merge(key, value, Double::sum);
+            }
+        }
+
+        TestUtils.assertEquals(expected.size(), map.size());
+
+        for (Entry<Long, Double> entry : expected.entrySet()) {
+            TestUtils.assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+
+        TestUtils.assertEquals(expected.firstKey(), map.firstKey());
+        TestUtils.assertEquals(expected.lastKey(), map.lastKey());
+    }
+
     @Test
     public void testSubmap() {
 
@@ -21,6 +21,16 @@
  */
 package org.ojalgo.array;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -200,6 +210,136 @@ public class SparseArrayTest extends ArrayTests {
         TestUtils.assertEquals(0, arr.countNonzeros());
     }
 
+    /**
+     * Random order set/add (that are staged) interleaved with occasional reads (that merge) should give the
+     * same result as a dense array.
+     */
+    @Test
+    public void testRandomOrderSetAndAdd() {
+
+        int dim = 20_000;
+        Random random = new Random(123L);
+
+        SparseArray<Double> sparse = SparseArray.factory(ArrayR064.FACTORY).make(dim);
+        ArrayR064 dense = ArrayR064.make(dim);
+
+        for (int i = 0; i < 50_000; i++) {
+
+            int index = random.nextInt(dim / 10) * 10 + (i % 3 == 0 ? 0 : random.nextInt(10));
+            double value = random.nextInt(5) - 2;
+
+            switch (random.nextInt(4)) {
+                case 0:
+                    sparse.set(index, value);
+                    dense.set(index, value);
+                    break;
+                case 1:
+                    sparse.set((long) index, Double.valueOf(value));
+                    dense.set(index, value);
+                    break;
+                default:
+                    sparse.add(index, value);
+                    dense.add(index, value);
+                    break;
+            }
+
+            if (i % 997 == 0) {
+                int probe = random.nextInt(dim);
+                TestUtils.assertEquals(dense.doubleValue(probe), sparse.doubleValue(probe));
+            }
+        }
+
+        for (int i = 0; i < dim; i++) {
+            TestUtils.assertEquals(dense.doubleValue(i), sparse.doubleValue(i));
+        }
+
+        long previous = -1L;
+        for (NonzeroView<Double> nonzero : sparse.nonzeros()) {
+            TestUtils.assertTrue(nonzero.index() > previous);
+            TestUtils.assertEquals(dense.doubleValue(nonzero.index()), nonzero.doubleValue());
+            previous = nonzero.index();
+        }
+
+        TestUtils.assertEquals(dense.aggregateAll(Aggregator.SUM), sparse.aggregateAll(Aggregator.SUM));
+    }
+
+    /**
+     * Random order sets (that are staged) and then no reads until several threads start reading at the same
+     * time. Which thread triggers the merge is arbitrary, and all of them must see the merged state.
+     */
+    @Test
+    public void testRandomOrderSetThenConcurrentReads() throws InterruptedException, ExecutionException {
+
+        int dim = 360_000;
+        int nbReaders = 4;
+        Random random = new Random(123L);
+
+        ExecutorService executor = Executors.newFixedThreadPool(nbReaders);
+
+        try {
+
+            for (int trial = 0; trial < 30; trial++) {
+
+                SparseArray<Double> sparse = SparseArray.factory(ArrayR064.FACTORY).make(dim);
+                ArrayR064 dense = ArrayR064.make(dim);
+
+                for (int i = 0; i < 20_000; i++) {
+                    int index = random.nextInt(dim);
+                    double value = 1 + random.nextInt(9);
+                    sparse.set(index, value);
+                    dense.set(index, value);
+                }
+
+                CyclicBarrier barrier = new CyclicBarrier(nbReaders);
+                List<Future<?>> readers = new ArrayList<>(nbReaders);
+                for (int r = 0; r < nbReaders; r++) {
+                    int first = r;
+                    readers.add(executor.submit(() -> {
+                        barrier.await();
+                        for (int i = first; i < dim; i += 97) {
+                            TestUtils.assertEquals(dense.doubleValue(i), sparse.doubleValue(i));
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> reader : readers) {
+                    reader.get();
+                }
+            }
+
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testRandomOrderSetAndAddReferenceType() {
+
+        int dim = 1_000;
+        Random random = new Random(321L);
+
+        SparseArray<BigDecimal> sparse = SparseArray.factory(ArrayR256.FACTORY).make(dim);
+        ArrayR256 dense = ArrayR256.make(dim);
+
+        for (int i = 0; i < 5_000; i++) {
+
+            int index = random.nextInt(dim);
+            BigDecimal value = BigDecimal.valueOf(random.nextInt(7) - 3);
+
+            if (random.nextBoolean()) {
+                sparse.set(index, value);
+                dense.set(index, value);
+            } else {
+                sparse.add(index, value);
+                dense.add(index, value);
+            }
+        }
+
+        for (int i = 0; i < dim; i++) {
+            TestUtils.assertEquals(dense.get(i).doubleValue(), sparse.get(i).doubleValue());
+        }
+    }
+
     @Test
     @Tag("slow")
     @Tag("unstable")
@@ -0,0 +1,218 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.array.operation;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+
+/**
+ * The double[] and float[] kernels that may be implemented using the Vector API (see {@link VectorKernels}).
+ * Verifies the results against plain loops, for lengths below, at and above {@link VectorKernels#THRESHOLD},
+ * with and without offsets and tails. Which implementation is tested depends on how the tests are run – with
+ * the multi-release jar on Java 17+ and --add-modules jdk.incubator.vector it's the Vector API versions.
+ */
+public class PrimitiveKernelsTest extends ArrayOperationTests {
+
+    private static final int[] LENGTHS = { 0, 1, 7, VectorKernels.THRESHOLD - 1, VectorKernels.THRESHOLD, VectorKernels.THRESHOLD + 1, 100, 1_027 };
+    private static final int OFFSET = 3;
+
+    private static double[] doubles(final Random random, final int length) {
+        double[] retVal = new double[length + 2 * OFFSET];
+        for (int i = 0; i < retVal.length; i++) {
+            retVal[i] = random.nextGaussian();
+        }
+        return retVal;
+    }
+
+    private static float[] floats(final double[] values) {
+        float[] retVal = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            retVal[i] = (float) values[i];
+        }
+        return retVal;
+    }
+
+    @Test
+    public void testAMAX() {
+
+        Random random = new Random(123L);
+
+        for (int length : LENGTHS) {
+
+            double[] data = PrimitiveKernelsTest.doubles(random, length);
+            int expected = OFFSET;
+            for (int i = OFFSET; i < OFFSET + length; i++) {
+                if (Math.abs(data[i]) > Math.abs(data[expected])) {
+                    expected = i;
+                }
+            }
+
+            TestUtils.assertEquals(expected, AMAX.invoke(data, OFFSET, OFFSET + length, 1));
+            TestUtils.assertEquals(expected, AMAX.invoke(PrimitiveKernelsTest.floats(data), OFFSET, OFFSET + length, 1));
+
+            // Ties resolve to the first occurrence
+            if (length > 1) {
+                data[OFFSET + length - 1] = -data[expected];
+                TestUtils.assertEquals(expected, AMAX.invoke(data, OFFSET, OFFSET + length, 1));
+            }
+        }
+
+        double[] zeros = new double[100];
+        TestUtils.assertEquals(5, AMAX.invoke(zeros, 5, 100, 1));
+    }
+
+    @Test
+    public void testASUMandNRM2() {
+
+        Random random = new Random(123L);
+
+        for (int length : LENGTHS) {
+
+            double[] data = PrimitiveKernelsTest.doubles(random, length);
+
+            double sum = 0D;
+            double sum2 = 0D;
+            for (int i = OFFSET; i < OFFSET + length; i++) {
+                sum += Math.abs(data[i]);
+                sum2 += data[i] * data[i];
+            }
+
+            TestUtils.assertEquals(sum, ASUM.invoke(data, OFFSET, OFFSET + length, 1), 1E-12 * (1 + sum));
+            TestUtils.assertEquals(Math.sqrt(sum2), NRM2.invoke(data, 2.0, OFFSET, OFFSET + length), 1E-12 * (1 + sum2));
+        }
+    }
+
+    @Test
+    public void testAXPY() {
+
+        Random random = new Random(123L);
+        double a = -1.5;
+
+        for (int length : LENGTHS) {
+
+            double[] x = PrimitiveKernelsTest.doubles(random, length);
+            double[] y = PrimitiveKernelsTest.doubles(random, length);
+            float[] xf = PrimitiveKernelsTest.floats(x);
+            float[] yf = PrimitiveKernelsTest.floats(y);
+
+            double[] expected = y.clone();
+            for (int i = 0; i < length; i++) {
+                expected[OFFSET + i] += a * x[1 + i];
+            }
+
+            AXPY.invoke(y, OFFSET, a, x, 1, 0, length);
+            AXPY.invoke(yf, OFFSET, (float) a, xf, 1, 0, length);
+
+            for (int i = 0; i < y.length; i++) {
+                TestUtils.assertEquals(expected[i], y[i], 1E-14);
+                TestUtils.assertEquals(expected[i], yf[i], 1E-5);
+            }
+        }
+    }
+
+    @Test
+    public void testDOT() {
+
+        Random random = new Random(123L);
+
+        for (int length : LENGTHS) {
+
+            double[] array1 = PrimitiveKernelsTest.doubles(random, length);
+            double[] array2 = PrimitiveKernelsTest.doubles(random, length);
+
+            double expected = 0D;
+            for (int i = 0; i < length; i++) {
+                expected += array1[OFFSET + i] * array2[1 + i];
+            }
+
+            double tolerance = 1E-12 * Math.sqrt(1 + length);
+            TestUtils.assertEquals(expected, DOT.invoke(array1, OFFSET, array2, 1, 0, length), tolerance);
+            TestUtils.assertEquals(expected, DOT.invoke(PrimitiveKernelsTest.floats(array1), OFFSET, PrimitiveKernelsTest.floats(array2), 1, 0, length),
+                    1E-4 * Math.sqrt(1 + length));
+
+            double full = 0D;
+            for (int i = 0; i < array1.length; i++) {
+                full += array1[i] * array2[i];
+            }
+            TestUtils.assertEquals(full, DOT.invoke(array1, array2), tolerance);
+            TestUtils.assertEquals(DOT.invoke(array1, array2, OFFSET, OFFSET + length), DOT.invoke(array1, 0, array2, 0, OFFSET, OFFSET + length), tolerance);
+        }
+    }
+
+    /**
+     * Calls the kernels directly, bypassing the {@link VectorKernels#THRESHOLD} check. The Maven build runs
+     * this package a second time, with the Java 17 classes and the jdk.incubator.vector module, and then sets
+     * the system property "ojalgo.vector.required" to make sure it's the Vector API versions that are tested.
+     */
+    @Test
+    public void testVectorKernels() {
+
+        if (Boolean.getBoolean("ojalgo.vector.required")) {
+            TestUtils.assertTrue(VectorKernels.ENABLED);
+        }
+
+        Random random = new Random(123L);
+
+        for (int length : LENGTHS) {
+
+            double[] data = PrimitiveKernelsTest.doubles(random, length);
+            double[] other = PrimitiveKernelsTest.doubles(random, length);
+            float[] dataF = PrimitiveKernelsTest.floats(data);
+            float[] otherF = PrimitiveKernelsTest.floats(other);
+
+            int expectedIndex = OFFSET;
+            double expectedSum = 0D;
+            double expectedSum2 = 0D;
+            double expectedDot = 0D;
+            for (int i = OFFSET; i < OFFSET + length; i++) {
+                if (Math.abs(data[i]) > Math.abs(data[expectedIndex])) {
+                    expectedIndex = i;
+                }
+                expectedSum += Math.abs(data[i]);
+                expectedSum2 += data[i] * data[i];
+                expectedDot += data[i] * other[i];
+            }
+
+            double tolerance = 1E-12 * Math.sqrt(1 + length);
+
+            TestUtils.assertEquals(expectedIndex, VectorKernels.amax(data, OFFSET, OFFSET + length));
+            TestUtils.assertEquals(expectedIndex, VectorKernels.amax(dataF, OFFSET, OFFSET + length));
+            TestUtils.assertEquals(expectedSum, VectorKernels.asum(data, OFFSET, OFFSET + length), tolerance);
+            TestUtils.assertEquals(Math.sqrt(expectedSum2), VectorKernels.nrm2(data, 1.0, OFFSET, OFFSET + length), tolerance);
+            TestUtils.assertEquals(expectedDot, VectorKernels.dot(data, 0, other, 0, OFFSET, OFFSET + length), tolerance);
+            TestUtils.assertEquals(expectedDot, VectorKernels.dot(dataF, 0, otherF, 0, OFFSET, OFFSET + length), 1E-4 * Math.sqrt(1 + length));
+
+            double[] y = other.clone();
+            float[] yF = otherF.clone();
+            VectorKernels.axpy(y, 0, 2.0, data, 0, OFFSET, OFFSET + length);
+            VectorKernels.axpy(yF, 0, 2F, dataF, 0, OFFSET, OFFSET + length);
+            for (int i = 0; i < y.length; i++) {
+                boolean inside = i >= OFFSET && i < OFFSET + length;
+                TestUtils.assertEquals(inside ? other[i] + 2.0 * data[i] : other[i], y[i], 1E-12);
+                TestUtils.assertEquals(inside ? otherF[i] + 2F * dataF[i] : otherF[i], yF[i], 1E-5);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.concurrent.ProcessingService;
+import org.ojalgo.data.DataProcessors.CovarianceEstimator;
+import org.ojalgo.function.aggregator.Aggregator;
+import org.ojalgo.matrix.store.R064Store;
+import org.ojalgo.random.Normal;
+import org.ojalgo.structure.Access1D;
+import org.ojalgo.type.context.NumberContext;
+
+public class DataProcessorsTest {
+
+    private static final NumberContext ACCURACY = NumberContext.of(10);
+
+    private static R064Store newData(final int nbSamples, final int nbVariables) {
+
+        R064Store data = R064Store.FACTORY.makeFilled(nbSamples, nbVariables, new Normal(100.0, 3.0));
+
+        // Introduce some correlation
+        for (int i = 0; i < nbSamples; i++) {
+            data.add(i, 1, 0.5 * data.doubleValue(i, 0));
+            data.add(i, 2, -0.25 * data.doubleValue(i, 1));
+        }
+
+        return data;
+    }
+
+    @Test
+    public void testCombineEqualsSequential() {
+
+        int nbSamples = 1_000;
+        int nbVariables = 5;
+
+        R064Store data = DataProcessorsTest.newData(nbSamples, nbVariables);
+
+        CovarianceEstimator<R064Store> sequential = DataProcessors.newCovarianceEstimator(R064Store.FACTORY, nbVariables);
+        for (int i = 0; i < nbSamples; i++) {
+            sequential.consume(data.sliceRow(i));
+        }
+
+        List<Access1D<?>> rows = new ArrayList<>();
+        for (int i = 0; i < nbSamples; i++) {
+            rows.add(data.sliceRow(i));
+        }
+
+        R064Store parallel = ProcessingService.INSTANCE.reduceCombineable(rows, 4, sequential::newInstance);
+
+        TestUtils.assertEquals(sequential.getResults(), parallel, ACCURACY);
+        TestUtils.assertEquals(nbSamples, sequential.count());
+    }
+
+    @Test
+    public void testCorrelationsMatchBatchCalculation() {
+
+        int nbSamples = 500;
+        int nbVariables = 4;
+
+        R064Store data = DataProcessorsTest.newData(nbSamples, nbVariables);
+
+        Access1D<?>[] columns = new Access1D<?>[nbVariables];
+        for (int j = 0; j < nbVariables; j++) {
+            columns[j] = data.sliceColumn(j);
+        }
+
+        R064Store expected = DataProcessors.correlations(R064Store.FACTORY, columns);
+
+        CovarianceEstimator<R064Store> estimator = DataProcessors.newCorrelationEstimator(R064Store.FACTORY, nbVariables);
+        for (int i = 0; i < nbSamples; i++) {
+            estimator.consume(data.sliceRow(i));
+        }
+
+        TestUtils.assertEquals(expected, estimator.getResults(), ACCURACY);
+    }
+
+    @Test
+    public void testCovariancesMatchBatchCalculation() {
+
+        int nbSamples = 500;
+        int nbVariables = 4;
+
+        R064Store data = DataProcessorsTest.newData(nbSamples, nbVariables);
+
+        R064Store expected = DataProcessors.covariances(R064Store.FACTORY, data);
+
+        CovarianceEstimator<R064Store> estimator = DataProcessors.newCovarianceEstimator(R064Store.FACTORY, nbVariables);
+        double[] row = new double[nbVariables];
+        for (int i = 0; i < nbSamples; i++) {
+            for (int j = 0; j < nbVariables; j++) {
+                row[j] = data.doubleValue(i, j);
+            }
+            estimator.consume(row);
+        }
+
+        TestUtils.assertEquals(expected, estimator.getResults(), ACCURACY);
+
+        for (int j = 0; j < nbVariables; j++) {
+            TestUtils.assertEquals(data.sliceColumn(j).aggregateAll(Aggregator.AVERAGE), estimator.getMean(j), ACCURACY);
+        }
+    }
+
+    /**
+     * Compare with explicitly weighted sums, and verify that combining consecutive blocks gives the same
+     * result as consuming everything in one instance.
+     */
+    @Test
+    public void testExponentiallyWeighted() {
+
+        int nbSamples = 300;
+        int nbVariables = 3;
+        double decay = 0.97;
+
+        R064Store data = DataProcessorsTest.newData(nbSamples, nbVariables);
+
+        double[] weights = new double[nbSamples];
+        double totalWeight = 0.0;
+        for (int i = 0; i < nbSamples; i++) {
+            weights[i] = Math.pow(decay, nbSamples - 1 - i);
+            totalWeight += weights[i];
+        }
+
+        double[] means = new double[nbVariables];
+        for (int j = 0; j < nbVariables; j++) {
+            for (int i = 0; i < nbSamples; i++) {
+                means[j] += weights[i] * data.doubleValue(i, j);
+            }
+            means[j] /= totalWeight;
+        }
+
+        R064Store expected = R064Store.FACTORY.make(nbVariables, nbVariables);
+        for (int r = 0; r < nbVariables; r++) {
+            for (int c = 0; c < nbVariables; c++) {
+                double sum = 0.0;
+                for (int i = 0; i < nbSamples; i++) {
+                    sum += weights[i] * (data.doubleValue(i, r) - means[r]) * (data.doubleValue(i, c) - means[c]);
+                }
+                expected.set(r, c, sum / totalWeight);
+            }
+        }
+
+        CovarianceEstimator<R064Store> all = DataProcessors.newCovarianceEstimator(R064Store.FACTORY, nbVariables, decay);
+        CovarianceEstimator<R064Store> first = all.newInstance();
+        CovarianceEstimator<R064Store> second = all.newInstance();
+
+        for (int i = 0; i < nbSamples; i++) {
+            all.consume(data.sliceRow(i));
+            if (i < 120) {
+                first.consume(data.sliceRow(i));
+            } else {
+                second.consume(data.sliceRow(i));
+            }
+        }
+        first.combine(second);
+
+        TestUtils.assertEquals(expected, all.getResults(), ACCURACY);
+        TestUtils.assertEquals(expected, first.getResults(), ACCURACY);
+        for (int j = 0; j < nbVariables; j++) {
+            TestUtils.assertEquals(means[j], all.getMean(j), ACCURACY);
+        }
+    }
+
+}
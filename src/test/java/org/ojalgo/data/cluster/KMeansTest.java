@@ -0,0 +1,203 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.data.cluster;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.data.proximity.DistanceMeasure;
+
+public class KMeansTest extends ClusterTests {
+
+    private static final int DIMENSION = 8;
+    private static final int NB_BLOBS = 6;
+
+    /**
+     * Well separated gaussian blobs. The id of each point is its blob index times the number of points per
+     * blob plus a running number.
+     */
+    private static List<Point> blobs(final int pointsPerBlob, final double spread, final Random random) {
+
+        List<Point> retVal = new ArrayList<>(NB_BLOBS * pointsPerBlob);
+
+        for (int b = 0; b < NB_BLOBS; b++) {
+            for (int i = 0; i < pointsPerBlob; i++) {
+                float[] coordinates = new float[DIMENSION];
+                for (int j = 0; j < DIMENSION; j++) {
+                    coordinates[j] = (float) (KMeansTest.centre(b, j) + spread * random.nextGaussian());
+                }
+                retVal.add(Point.of(b * pointsPerBlob + i, coordinates));
+            }
+        }
+
+        return retVal;
+    }
+
+    private static double centre(final int blob, final int dimension) {
+        return dimension == blob % DIMENSION ? 10.0 * (1 + blob / DIMENSION) : 0.0;
+    }
+
+    private static void assertBlobsIntact(final List<Set<Point>> clusters, final int pointsPerBlob) {
+
+        TestUtils.assertEquals(NB_BLOBS, clusters.size());
+
+        Set<Integer> found = new HashSet<>();
+        for (Set<Point> cluster : clusters) {
+            TestUtils.assertEquals(pointsPerBlob, cluster.size());
+            int blob = cluster.iterator().next().id / pointsPerBlob;
+            for (Point point : cluster) {
+                TestUtils.assertEquals(blob, point.id / pointsPerBlob);
+            }
+            found.add(blob);
+        }
+        TestUtils.assertEquals(NB_BLOBS, found.size());
+    }
+
+    /**
+     * The bounds only skip distance calculations that can't change anything, so the result must be exactly
+     * the same as plain Lloyd iterations starting from the same (k-means++) centroids.
+     */
+    @Test
+    public void testHamerlySameAsLloyd() {
+
+        int k = 10;
+        FeatureBlocks data = FeatureBlocks.of(KMeansTest.blobs(2_000, 4.0, new Random(123L)));
+
+        HamerlyKMeans hamerly = new HamerlyKMeans(k, 1_000, 456L);
+        int[] actual = hamerly.cluster(data);
+
+        double[] centroids = HamerlyKMeans.seed(data, k, new Random(456L));
+        int[] expected = data.nearest(centroids, k);
+        for (int iteration = 1; iteration < 1_000; iteration++) {
+            double[] sums = new double[centroids.length];
+            int[] counts = new int[k];
+            for (int i = 0; i < data.size(); i++) {
+                data.addTo(i, sums, expected[i]);
+                counts[expected[i]]++;
+            }
+            for (int c = 0; c < k; c++) {
+                if (counts[c] > 0) {
+                    for (int j = 0; j < DIMENSION; j++) {
+                        centroids[c * DIMENSION + j] = sums[c * DIMENSION + j] / counts[c];
+                    }
+                }
+            }
+            int[] next = data.nearest(centroids, k);
+            if (Arrays.equals(next, expected)) {
+                break;
+            }
+            expected = next;
+        }
+
+        TestUtils.assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            TestUtils.assertEquals(expected[i], actual[i]);
+        }
+        for (int i = 0; i < centroids.length; i++) {
+            TestUtils.assertEquals(centroids[i], hamerly.getCentroids()[i], 1E-9);
+        }
+    }
+
+    /**
+     * Same input, same clusters. With fewer distinct points than k there are no empty clusters.
+     */
+    @Test
+    public void testKMeansRepeatableAndNoEmptyClusters() {
+
+        List<Point> points = KMeansTest.blobs(500, 4.0, new Random(4L));
+
+        TestUtils.assertEquals(FeatureBasedClusterer.newKMeans(NB_BLOBS).cluster(points), FeatureBasedClusterer.newKMeans(NB_BLOBS).cluster(points));
+        MiniBatchKMeans miniBatch = FeatureBasedClusterer.newMiniBatchKMeans(NB_BLOBS, 100);
+        TestUtils.assertEquals(miniBatch.cluster(points), miniBatch.cluster(points));
+
+        List<Point> few = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            few.add(Point.of(i, new float[] { i % 3, 0F }));
+        }
+
+        for (FeatureBasedClusterer clusterer : Arrays.asList(FeatureBasedClusterer.newKMeans(10), FeatureBasedClusterer.newMiniBatchKMeans(10, 4))) {
+            List<Set<Point>> clusters = clusterer.cluster(few);
+            TestUtils.assertEquals(3, clusters.size());
+            for (Set<Point> cluster : clusters) {
+                TestUtils.assertEquals(2, cluster.size());
+            }
+        }
+    }
+
+    @Test
+    public void testKMeansFindsBlobs() {
+
+        int pointsPerBlob = 5_000;
+        List<Point> points = KMeansTest.blobs(pointsPerBlob, 0.25, new Random(1L));
+
+        KMeansTest.assertBlobsIntact(FeatureBasedClusterer.newKMeans(NB_BLOBS).cluster(points), pointsPerBlob);
+        KMeansTest.assertBlobsIntact(FeatureBasedClusterer.newKMeans(DistanceMeasure.EUCLIDEAN, NB_BLOBS).cluster(points), pointsPerBlob);
+    }
+
+    @Test
+    public void testMiniBatchFindsBlobs() {
+
+        int pointsPerBlob = 5_000;
+        List<Point> points = KMeansTest.blobs(pointsPerBlob, 0.25, new Random(2L));
+
+        KMeansTest.assertBlobsIntact(FeatureBasedClusterer.newMiniBatchKMeans(NB_BLOBS, 1_000).cluster(points), pointsPerBlob);
+    }
+
+    /**
+     * Feed the data batch by batch, never holding more than one batch, and check the centroids end up close
+     * to the blob centres.
+     */
+    @Test
+    public void testMiniBatchStreaming() {
+
+        Random random = new Random(3L);
+        MiniBatchKMeans clusterer = FeatureBasedClusterer.newMiniBatchKMeans(NB_BLOBS, 600);
+
+        TestUtils.assertEquals(-1, clusterer.assign(new float[DIMENSION]));
+
+        for (int b = 0; b < 50; b++) {
+            clusterer.consume(KMeansTest.blobs(100, 0.25, random));
+        }
+
+        List<Point> centroids = clusterer.getCentroids();
+        TestUtils.assertEquals(NB_BLOBS, centroids.size());
+
+        Set<Integer> found = new HashSet<>();
+        for (int b = 0; b < NB_BLOBS; b++) {
+            float[] centre = new float[DIMENSION];
+            for (int j = 0; j < DIMENSION; j++) {
+                centre[j] = (float) KMeansTest.centre(b, j);
+            }
+            int index = clusterer.assign(centre);
+            found.add(index);
+            TestUtils.assertTrue(Point.of(-1, centre).distance(DistanceMeasure.EUCLIDEAN, centroids.get(index)) < 0.5);
+        }
+        TestUtils.assertEquals(NB_BLOBS, found.size());
+    }
+
+}
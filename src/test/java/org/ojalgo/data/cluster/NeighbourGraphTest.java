@@ -0,0 +1,138 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.data.cluster;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.data.proximity.DistanceMeasure;
+import org.ojalgo.matrix.store.R064CSR;
+
+public class NeighbourGraphTest extends ClusterTests {
+
+    private static Point[] random(final int nbPoints, final int dimension, final long seed) {
+        Random random = new Random(seed);
+        Point[] retVal = new Point[nbPoints];
+        for (int i = 0; i < nbPoints; i++) {
+            float[] coordinates = new float[dimension];
+            for (int j = 0; j < dimension; j++) {
+                coordinates[j] = (float) random.nextGaussian();
+            }
+            retVal[i] = Point.of(i, coordinates);
+        }
+        return retVal;
+    }
+
+    private static void assertSymmetric(final R064CSR graph) {
+        for (int i = 0; i < graph.getRowDim(); i++) {
+            for (int p = graph.pointers[i]; p < graph.pointers[i + 1]; p++) {
+                int j = graph.indices[p];
+                TestUtils.assertTrue(j != i);
+                TestUtils.assertEquals(graph.values[p], graph.doubleValue(j, i));
+            }
+        }
+    }
+
+    /**
+     * The k nearest neighbours (by brute force) of the point
+     */
+    private static int[] nearest(final Point[] points, final int index, final int k) {
+
+        int[] retVal = new int[k];
+        double[] distances = new double[k];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+
+        for (int j = 0; j < points.length; j++) {
+            if (j != index) {
+                double distance = points[index].distance(DistanceMeasure.EUCLIDEAN, points[j]);
+                int p = k - 1;
+                if (distance < distances[p]) {
+                    while (p > 0 && distances[p - 1] > distance) {
+                        distances[p] = distances[p - 1];
+                        retVal[p] = retVal[p - 1];
+                        p--;
+                    }
+                    distances[p] = distance;
+                    retVal[p] = j;
+                }
+            }
+        }
+
+        return retVal;
+    }
+
+    @Test
+    public void testApproximateRecall() {
+
+        int k = NeighbourGraph.NEIGHBOURS;
+        Point[] points = NeighbourGraphTest.random(2 * NeighbourGraph.BRUTE_FORCE_LIMIT, 12, 123L);
+
+        R064CSR graph = NeighbourGraph.build(points, DistanceMeasure.EUCLIDEAN, k);
+
+        NeighbourGraphTest.assertSymmetric(graph);
+
+        int found = 0;
+        int total = 0;
+        for (int i = 0; i < points.length; i += 37) {
+            for (int j : NeighbourGraphTest.nearest(points, i, k)) {
+                if (graph.doubleValue(i, j) > 0.0) {
+                    found++;
+                }
+                total++;
+            }
+        }
+
+        double recall = (double) found / total;
+        TestUtils.assertTrue("Recall " + recall, recall > 0.95);
+    }
+
+    @Test
+    public void testExactSmall() {
+
+        int k = 5;
+        Point[] points = NeighbourGraphTest.random(500, 3, 456L);
+
+        R064CSR graph = NeighbourGraph.build(points, DistanceMeasure.EUCLIDEAN, k);
+
+        NeighbourGraphTest.assertSymmetric(graph);
+
+        for (int i = 0; i < points.length; i++) {
+            for (int j : NeighbourGraphTest.nearest(points, i, k)) {
+                TestUtils.assertEquals(points[i].distance(DistanceMeasure.EUCLIDEAN, points[j]), graph.doubleValue(i, j));
+            }
+        }
+    }
+
+    @Test
+    public void testFewerPointsThanNeighbours() {
+
+        Point[] points = NeighbourGraphTest.random(4, 2, 789L);
+
+        R064CSR graph = NeighbourGraph.build(points, DistanceMeasure.EUCLIDEAN, 10);
+
+        TestUtils.assertEquals(12, graph.countNonzeros());
+        NeighbourGraphTest.assertSymmetric(graph);
+    }
+
+}
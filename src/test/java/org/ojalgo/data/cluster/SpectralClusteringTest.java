@@ -14,6 +14,29 @@ class SpectralClusteringTest extends ClusterTests {
         return p.id < perBlob ? 0 : 1;
     }
 
+    private static void assertPurity(final List<Set<Point>> clusters, final int perBlob, final double minPurity) {
+
+        TestUtils.assertEquals("Expected 2 clusters ", 2, clusters.size());
+
+        boolean[] majorityUsed = new boolean[2];
+        for (Set<Point> cluster : clusters) {
+            int count0 = 0, count1 = 0;
+            for (Point p : cluster) {
+                if (SpectralClusteringTest.label(p, perBlob) == 0) {
+                    count0++;
+                } else {
+                    count1++;
+                }
+            }
+            int majLabel = count0 >= count1 ? 0 : 1;
+            int majCount = Math.max(count0, count1);
+            double purity = (double) majCount / cluster.size();
+            TestUtils.assertTrue("Cluster purity too low " + ": " + purity, purity > minPurity);
+            TestUtils.assertTrue("Duplicate majority label ", !majorityUsed[majLabel]);
+            majorityUsed[majLabel] = true;
+        }
+    }
+
     private static List<Point> makeTwoBlobs(final int perBlob, final long seed) {
         Point.Factory factory = Point.newFactory();
         Random rnd = new Random(seed);
@@ -31,6 +54,21 @@ class SpectralClusteringTest extends ClusterTests {
         return points;
     }
 
+    /**
+     * Large enough to use subspace iteration on the sparse neighbour graph rather than a dense
+     * eigen-decomposition.
+     */
+    @Test
+    void testLargeTwoBlobs() {
+        int perBlob = 1_500;
+        List<Point> data = SpectralClusteringTest.makeTwoBlobs(perBlob, 987654321L);
+
+        ClusteringAlgorithm<Point> alg = FeatureBasedClusterer.newSpectral(2);
+        List<Set<Point>> clusters = alg.cluster(data);
+
+        SpectralClusteringTest.assertPurity(clusters, perBlob, 0.99);
+    }
+
     @Test
     void testTrivialCase() {
         List<Point> data = SpectralClusteringTest.makeTwoBlobs(1, 7L).subList(0, 2); // exactly k points
@@ -48,25 +86,7 @@ class SpectralClusteringTest extends ClusterTests {
 
         ClusteringAlgorithm<Point> alg = FeatureBasedClusterer.newSpectral(2);
         List<Set<Point>> clusters = alg.cluster(data);
-        TestUtils.assertEquals("Expected 2 clusters ", 2, clusters.size());
-
-        boolean[] majorityUsed = new boolean[2];
-        for (Set<Point> cluster : clusters) {
-            int count0 = 0, count1 = 0;
-            for (Point p : cluster) {
-                if (SpectralClusteringTest.label(p, perBlob) == 0) {
-                    count0++;
-                } else {
-                    count1++;
-                }
-            }
-            int majLabel = count0 >= count1 ? 0 : 1;
-            int majCount = Math.max(count0, count1);
-            double purity = (double) majCount / cluster.size();
-            TestUtils.assertTrue("Cluster purity too low " + ": " + purity, purity > 0.75);
-            TestUtils.assertTrue("Duplicate majority label ", !majorityUsed[majLabel]);
-            majorityUsed[majLabel] = true;
-        }
 
+        SpectralClusteringTest.assertPurity(clusters, perBlob, 0.75);
     }
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.data.domain.finance.portfolio;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.matrix.MatrixR064;
+import org.ojalgo.netio.BasicLogger;
+import org.ojalgo.type.context.NumberContext;
+
+public class FrontierSweepTest extends FinancePortfolioTests {
+
+    private static final NumberContext ACCURACY = NumberContext.of(4, 5);
+    private static final int NB_ASSETS = 8;
+    private static final double[] RISK_AVERSIONS = { 1.0, 2.0, 3.0, 5.0, 7.5, 10.0, 15.0, 20.0, 30.0, 50.0, 75.0, 100.0 };
+
+    static MatrixR064 newCovariances(final int nbAssets, final long seed) {
+
+        Random random = new Random(seed);
+
+        int nbSamples = 4 * nbAssets;
+        double[][] samples = new double[nbAssets][nbSamples];
+        for (int i = 0; i < nbAssets; i++) {
+            for (int s = 0; s < nbSamples; s++) {
+                samples[i][s] = (1 + i) * 0.01 * random.nextGaussian();
+            }
+        }
+
+        return new P20090115().getCovariances(samples);
+    }
+
+    static MatrixR064 newReturns(final int nbAssets) {
+
+        MatrixR064.DenseReceiver builder = MatrixR064.FACTORY.makeDense(nbAssets);
+
+        for (int i = 0; i < nbAssets; i++) {
+            builder.set(i, 0.01 + 0.005 * i);
+        }
+
+        return builder.get();
+    }
+
+    private static void assertSameAsSerial(final OptimisedPortfolio portfolio, final FrontierTable table) {
+
+        if (DEBUG) {
+            BasicLogger.debug(table);
+        }
+
+        TestUtils.assertEquals(RISK_AVERSIONS.length, table.countPoints());
+        TestUtils.assertEquals(NB_ASSETS, table.countAssets());
+
+        for (int p = 0; p < RISK_AVERSIONS.length; p++) {
+
+            portfolio.setRiskAversion(RISK_AVERSIONS[p]);
+            MatrixR064 expected = portfolio.getAssetWeights();
+
+            TestUtils.assertTrue(table.isFeasible(p));
+            TestUtils.assertEquals(RISK_AVERSIONS[p], table.getParameter(p));
+
+            for (int i = 0; i < NB_ASSETS; i++) {
+                TestUtils.assertEquals(expected.doubleValue(i), table.getWeight(p, i), ACCURACY);
+            }
+
+            TestUtils.assertEquals(portfolio.getMeanReturn(), table.getReturn(p), ACCURACY);
+            TestUtils.assertEquals(portfolio.getReturnVariance(), table.getVariance(p), ACCURACY);
+        }
+    }
+
+    @Test
+    public void testMarkowitzModelRiskAversionSweep() {
+
+        MarkowitzModel portfolio = new MarkowitzModel(FrontierSweepTest.newCovariances(NB_ASSETS, 123L), FrontierSweepTest.newReturns(NB_ASSETS));
+        for (int i = 0; i < NB_ASSETS; i++) {
+            portfolio.setUpperLimit(i, new BigDecimal("0.3"));
+        }
+        portfolio.addConstraint(new BigDecimal("0.1"), null, 0, 1);
+
+        FrontierTable table = portfolio.sweepRiskAversion(RISK_AVERSIONS);
+
+        FrontierSweepTest.assertSameAsSerial(portfolio, table);
+
+        for (int p = 0; p < table.countPoints(); p++) {
+            TestUtils.assertTrue(table.getWeight(p, 0) + table.getWeight(p, 1) >= 0.1 - 1E-6);
+            for (int i = 0; i < NB_ASSETS; i++) {
+                TestUtils.assertTrue(table.getWeight(p, i) <= 0.3 + 1E-6);
+            }
+        }
+    }
+
+    @Test
+    public void testRiskAversionSweep() {
+
+        EfficientFrontier portfolio = new EfficientFrontier(FrontierSweepTest.newCovariances(NB_ASSETS, 123L), FrontierSweepTest.newReturns(NB_ASSETS));
+
+        FrontierTable table = portfolio.sweepRiskAversion(RISK_AVERSIONS);
+
+        FrontierSweepTest.assertSameAsSerial(portfolio, table);
+
+        // Increasing risk aversion => (weakly) decreasing return and variance
+
+        for (int p = 1; p < table.countPoints(); p++) {
+            TestUtils.assertTrue(table.getReturn(p) <= table.getReturn(p - 1) + 1E-8);
+            TestUtils.assertTrue(table.getVariance(p) <= table.getVariance(p - 1) + 1E-8);
+        }
+    }
+
+    @Test
+    public void testShortingAllowedRiskAversionSweep() {
+
+        EfficientFrontier portfolio = new EfficientFrontier(FrontierSweepTest.newCovariances(NB_ASSETS, 456L), FrontierSweepTest.newReturns(NB_ASSETS));
+        portfolio.setShortingAllowed(true);
+
+        FrontierTable table = portfolio.sweepRiskAversion(RISK_AVERSIONS);
+
+        FrontierSweepTest.assertSameAsSerial(portfolio, table);
+    }
+
+    /**
+     * Minimising variance for the (risk aversion sweep) frontier returns should reproduce the frontier
+     * variances, and an unattainable target return should be reported as infeasible.
+     */
+    @Test
+    public void testTargetReturnSweep() {
+
+        EfficientFrontier portfolio = new EfficientFrontier(FrontierSweepTest.newCovariances(NB_ASSETS, 789L), FrontierSweepTest.newReturns(NB_ASSETS));
+
+        FrontierTable frontier = portfolio.sweepRiskAversion(RISK_AVERSIONS);
+
+        double[] targets = new double[frontier.countPoints() + 1];
+        for (int p = 0; p < frontier.countPoints(); p++) {
+            targets[p] = frontier.getReturn(p);
+        }
+        targets[frontier.countPoints()] = 1.0; // Unattainable, max return is 0.045
+
+        FrontierTable table = portfolio.sweepTargetReturn(targets);
+
+        if (DEBUG) {
+            BasicLogger.debug(table);
+        }
+
+        for (int p = 0; p < frontier.countPoints(); p++) {
+            TestUtils.assertTrue(table.isFeasible(p));
+            TestUtils.assertTrue(table.getReturn(p) >= targets[p] - 1E-6);
+            TestUtils.assertEquals(frontier.getVariance(p), table.getVariance(p), ACCURACY);
+        }
+
+        TestUtils.assertFalse(table.isFeasible(frontier.countPoints()));
+    }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.data.proximity;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.netio.BasicLogger;
+import org.ojalgo.type.Stopwatch;
+
+public class NeighbourIndexTest extends DataProximityTests {
+
+    private static float[][] random(final int nbPoints, final int dimension, final long seed) {
+        Random random = new Random(seed);
+        float[][] retVal = new float[nbPoints][dimension];
+        for (int i = 0; i < nbPoints; i++) {
+            for (int j = 0; j < dimension; j++) {
+                retVal[i][j] = random.nextFloat();
+            }
+        }
+        return retVal;
+    }
+
+    /**
+     * All points sorted by (distance, index)
+     */
+    private static Integer[] sorted(final float[][] points, final float[] query, final DistanceMeasure measure) {
+        double[] distances = new double[points.length];
+        Integer[] retVal = new Integer[points.length];
+        for (int i = 0; i < points.length; i++) {
+            distances[i] = measure.distance(query, points[i]);
+            retVal[i] = i;
+        }
+        Arrays.sort(retVal, (a, b) -> distances[a] != distances[b] ? Double.compare(distances[a], distances[b]) : Integer.compare(a, b));
+        return retVal;
+    }
+
+    @Test
+    public void testConcurrentQueries() {
+
+        float[][] points = NeighbourIndexTest.random(5_000, 16, 1L);
+        float[][] queries = NeighbourIndexTest.random(200, 16, 2L);
+
+        for (NeighbourIndex index : List.of(NeighbourIndex.newBallTree(points, DistanceMeasure.EUCLIDEAN),
+                NeighbourIndex.newHNSW(points, DistanceMeasure.EUCLIDEAN))) {
+
+            List<int[]> sequential = Arrays.stream(queries).map(q -> index.nearest(q, 10).indices).collect(Collectors.toList());
+            List<int[]> parallel = Arrays.stream(queries).parallel().map(q -> index.nearest(q, 10).indices).collect(Collectors.toList());
+
+            for (int q = 0; q < queries.length; q++) {
+                TestUtils.assertTrue(Arrays.equals(sequential.get(q), parallel.get(q)));
+            }
+        }
+    }
+
+    /**
+     * The trees are exact, with every measure. Large enough to build in parallel.
+     */
+    @Test
+    public void testExactMatchesBruteForce() {
+
+        int k = 7;
+        float[][] points = NeighbourIndexTest.random(10_000, 4, 3L);
+        float[][] queries = NeighbourIndexTest.random(10, 4, 4L);
+
+        for (DistanceMeasure measure : DistanceMeasure.values()) {
+
+            NeighbourIndex kdTree = NeighbourIndex.newKDTree(points, measure);
+            NeighbourIndex ballTree = NeighbourIndex.newBallTree(points, measure);
+
+            for (float[] query : queries) {
+
+                Integer[] expected = NeighbourIndexTest.sorted(points, query, measure);
+
+                for (NeighbourIndex index : List.of(kdTree, ballTree)) {
+
+                    NeighbourIndex.Result actual = index.nearest(query, k);
+
+                    TestUtils.assertEquals(k, actual.size());
+                    for (int r = 0; r < k; r++) {
+                        TestUtils.assertEquals(measure.name(), expected[r].intValue(), actual.indices[r]);
+                        TestUtils.assertEquals(measure.distance(query, points[expected[r]]), actual.distances[r]);
+                    }
+
+                    double radius = actual.distances[k - 1];
+                    NeighbourIndex.Result within = index.within(query, radius);
+                    long count = Arrays.stream(points).filter(p -> measure.distance(query, p) <= radius).count();
+                    TestUtils.assertEquals(measure.name(), count, within.size());
+                }
+            }
+        }
+    }
+
+    /**
+     * Recall vs latency for HNSW, compared to the exact indices and a linear scan.
+     */
+    @Test
+    public void testRecallAndLatency() {
+
+        int k = 10;
+        int dimension = 32;
+        float[][] points = NeighbourIndexTest.random(10_000, dimension, 5L);
+        float[][] queries = NeighbourIndexTest.random(100, dimension, 6L);
+
+        int[][] expected = new int[queries.length][];
+        Stopwatch stopwatch = new Stopwatch();
+        for (int q = 0; q < queries.length; q++) {
+            Integer[] sorted = NeighbourIndexTest.sorted(points, queries[q], DistanceMeasure.EUCLIDEAN);
+            expected[q] = IntStream.range(0, k).map(r -> sorted[r]).toArray();
+        }
+        double scanMillis = stopwatch.countMillis();
+
+        if (DEBUG) {
+            BasicLogger.debug("Linear scan: {}ms per query", scanMillis / queries.length);
+        }
+
+        for (int effort : new int[] { 20, 100 }) {
+
+            stopwatch.reset();
+            NeighbourIndex index = NeighbourIndex.newHNSW(points, DistanceMeasure.EUCLIDEAN, 16, effort);
+            double buildMillis = stopwatch.countMillis();
+
+            int found = 0;
+            stopwatch.reset();
+            for (int q = 0; q < queries.length; q++) {
+                int[] actual = index.nearest(queries[q], k).indices;
+                for (int e : expected[q]) {
+                    for (int a : actual) {
+                        if (a == e) {
+                            found++;
+                        }
+                    }
+                }
+            }
+            double queryMillis = stopwatch.countMillis();
+            double recall = (double) found / (k * queries.length);
+
+            if (DEBUG) {
+                BasicLogger.debug("HNSW effort={}: recall={}, build={}ms, query={}ms", effort, recall, buildMillis, queryMillis / queries.length);
+            }
+
+            if (effort >= 100) {
+                TestUtils.assertTrue("Recall " + recall, recall >= 0.9);
+            }
+        }
+    }
+
+    @Test
+    public void testSmallAndDoubleCoordinates() {
+
+        double[][] points = { { 0.0, 0.0 }, { 1.0, 0.0 }, { 0.0, 2.0 }, { 3.0, 3.0 } };
+        double[] query = { 0.9, 0.1 };
+
+        for (NeighbourIndex index : List.of(NeighbourIndex.newKDTree(points, DistanceMeasure.EUCLIDEAN),
+                NeighbourIndex.newBallTree(points, DistanceMeasure.EUCLIDEAN), NeighbourIndex.newHNSW(points, DistanceMeasure.EUCLIDEAN))) {
+
+            TestUtils.assertEquals(4, index.size());
+
+            NeighbourIndex.Result nearest = index.nearest(query, 10);
+            TestUtils.assertEquals(4, nearest.size());
+            TestUtils.assertEquals(1, nearest.indices[0]);
+            TestUtils.assertEquals(0, nearest.indices[1]);
+
+            TestUtils.assertEquals(2, index.within(query, 1.0).size());
+            TestUtils.assertEquals(0, index.nearest(query, 0).size());
+        }
+
+        TestUtils.assertEquals(0, NeighbourIndex.newKDTree(new float[0][], DistanceMeasure.EUCLIDEAN).nearest(new float[2], 3).size());
+    }
+
+}
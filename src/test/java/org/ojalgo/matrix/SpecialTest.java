@@ -23,6 +23,7 @@ package org.ojalgo.matrix;
 
 import org.junit.jupiter.api.Test;
 import org.ojalgo.TestUtils;
+import org.ojalgo.random.Uniform;
 
 public class SpecialTest extends MatrixTests {
 
@@ -62,4 +63,24 @@ public class SpecialTest extends MatrixTests {
         TestUtils.assertEquals(dense.build(), sparse.build());
     }
 
+    /**
+     * A deferred product is calculated once, and shared by the matrix and everything derived from it.
+     */
+    @Test
+    public void testSharedDeferredProduct() {
+
+        MatrixR064 mtrxA = MatrixR064.FACTORY.makeFilled(5, 7, new Uniform());
+        MatrixR064 mtrxB = MatrixR064.FACTORY.makeFilled(7, 3, new Uniform());
+
+        MatrixR064 product = mtrxA.multiply(mtrxB);
+
+        MatrixR064 scaled = product.multiply(2.0);
+        MatrixR064 shifted = product.add(1.0);
+
+        TestUtils.assertTrue(product.supplier() == product.store());
+
+        TestUtils.assertEquals(product.store().multiply(2.0), scaled);
+        TestUtils.assertEquals(product.store().add(1.0), shifted);
+    }
+
 }
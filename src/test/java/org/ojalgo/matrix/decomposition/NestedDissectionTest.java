@@ -0,0 +1,182 @@
+package org.ojalgo.matrix.decomposition;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.matrix.decomposition.SparseQDLDL.EliminationTree;
+import org.ojalgo.matrix.store.R064CSC;
+import org.ojalgo.netio.BasicLogger;
+import org.ojalgo.type.Stopwatch;
+
+public class NestedDissectionTest {
+
+    static final boolean DEBUG = false;
+
+    /**
+     * 5-point Laplacian on a rows x cols grid (2D Poisson-like), upper triangle stored.
+     */
+    private static R064CSC grid(final int rows, final int cols) {
+
+        int n = rows * cols;
+
+        R064CSC.Builder builder = R064CSC.newBuilder(n, n);
+
+        for (int c = 0; c < cols; c++) {
+            for (int r = 0; r < rows; r++) {
+                int j = r + c * rows;
+                builder.set(j, j, 4.0);
+                if (r > 0) {
+                    builder.set(j - 1, j, -1.0);
+                }
+                if (c > 0) {
+                    builder.set(j - rows, j, -1.0);
+                }
+            }
+        }
+
+        return builder.build();
+    }
+
+    private static int fill(final FillReducingOrdering ordering, final R064CSC matrix) {
+        R064CSC permuted = ordering.permute(matrix, null);
+        EliminationTree eTree = new SparseQDLDL().computeEliminationTree(permuted);
+        return eTree.totNz;
+    }
+
+    private static void assertPermutation(final int[] order) {
+        boolean[] seen = new boolean[order.length];
+        for (int v : order) {
+            TestUtils.assertTrue(v >= 0 && v < order.length);
+            TestUtils.assertTrue(!seen[v]);
+            seen[v] = true;
+        }
+    }
+
+    @Test
+    public void testDisconnectedPattern() {
+
+        // Block diagonal: two independent grids, no coupling
+        R064CSC one = NestedDissectionTest.grid(20, 20);
+        int n = 2 * one.getColDim();
+
+        R064CSC.Builder builder = R064CSC.newBuilder(n, n);
+        for (int j = 0; j < one.getColDim(); j++) {
+            for (int p = one.pointers[j]; p < one.pointers[j + 1]; p++) {
+                builder.set(one.indices[p], j, one.values[p]);
+                builder.set(one.indices[p] + one.getColDim(), j + one.getColDim(), one.values[p]);
+            }
+        }
+        R064CSC matrix = builder.build();
+
+        NestedDissection nd = new NestedDissection();
+        nd.approximate(matrix);
+
+        NestedDissectionTest.assertPermutation(nd.getOrder());
+        TestUtils.assertEquals(n, nd.getOrder().length);
+    }
+
+    /**
+     * Nested dissection should produce less fill than minimum degree on a large enough 2D grid, and the
+     * factorisation (of the permuted matrix) should solve the original system.
+     */
+    @Test
+    public void testGridFillAndSolve() {
+
+        int side = 60;
+        R064CSC matrix = NestedDissectionTest.grid(side, side);
+        int n = matrix.getColDim();
+
+        Stopwatch stopwatch = new Stopwatch();
+
+        MinimumDegree md = new MinimumDegree();
+        md.approximate(matrix);
+        long timeMD = stopwatch.countMillis();
+
+        stopwatch.reset();
+        NestedDissection nd = new NestedDissection();
+        nd.approximate(matrix);
+        long timeND = stopwatch.countMillis();
+
+        NestedDissectionTest.assertPermutation(nd.getOrder());
+
+        int fillMD = NestedDissectionTest.fill(md, matrix);
+        int fillND = NestedDissectionTest.fill(nd, matrix);
+
+        if (DEBUG) {
+            BasicLogger.debug("Grid {}x{}: MD fill={} ({}ms), ND fill={} ({}ms)", side, side, fillMD, timeMD, fillND, timeND);
+        }
+
+        TestUtils.assertTrue(fillND < fillMD);
+
+        double[] expected = new double[n];
+        for (int i = 0; i < n; i++) {
+            expected[i] = 1.0 + i % 7;
+        }
+        double[] rhs = new double[n];
+        for (int j = 0; j < n; j++) {
+            for (int p = matrix.pointers[j]; p < matrix.pointers[j + 1]; p++) {
+                int i = matrix.indices[p];
+                rhs[i] += matrix.values[p] * expected[j];
+                if (i != j) {
+                    rhs[j] += matrix.values[p] * expected[i];
+                }
+            }
+        }
+
+        R064CSC permuted = nd.permute(matrix, null);
+        SparseQDLDL qdldl = new SparseQDLDL();
+        TestUtils.assertTrue(qdldl.factor(permuted));
+
+        double[] work = new double[n];
+        double[] actual = new double[n];
+        nd.permute(work, rhs);
+        qdldl.ftran(work);
+        nd.reverse(actual, work);
+
+        for (int i = 0; i < n; i++) {
+            TestUtils.assertEquals(expected[i], actual[i], 1E-10);
+        }
+    }
+
+    @Test
+    public void testSortKeyOrder() {
+
+        int[] priorities = { 3, -1, 0, -5, 3, 7, Integer.MIN_VALUE + 1, Integer.MAX_VALUE };
+        int[] vertices = { 4, 2, 9, 1, 0, Integer.MAX_VALUE, 6, 5 };
+
+        long[] keys = new long[priorities.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = NestedDissection.sortKey(priorities[i], vertices[i]);
+            TestUtils.assertTrue(keys[i] >= 0L);
+            TestUtils.assertEquals(vertices[i], NestedDissection.vertex(keys[i]));
+        }
+        Arrays.sort(keys);
+
+        // Decreasing priority, then increasing vertex index
+        int[] expected = { 5, Integer.MAX_VALUE, 0, 4, 9, 2, 1, 6 };
+        for (int i = 0; i < keys.length; i++) {
+            TestUtils.assertEquals(expected[i], NestedDissection.vertex(keys[i]));
+        }
+    }
+
+    @Test
+    public void testStarGraphNoFill() {
+
+        // Star with center 0 and leaves 1,2,3; store upper triangle pattern (incl. diagonal)
+        int n = 4;
+        int[] pointers = { 0, 1, 3, 5, 7 };
+        int[] indices = { 0, 0, 1, 0, 2, 0, 3 };
+        double[] values = { 4, 1, 4, 1, 4, 1, 4 };
+        R064CSC matrix = new R064CSC(n, n, values, indices, pointers);
+
+        NestedDissection nd = new NestedDissection();
+        nd.approximate(matrix);
+        int[] order = nd.getOrder();
+
+        NestedDissectionTest.assertPermutation(order);
+        // The center must not be eliminated before two (or more) of the leaves remain – no fill
+        TestUtils.assertEquals(3, NestedDissectionTest.fill(nd, matrix));
+    }
+
+}
@@ -5,6 +5,7 @@ import static org.ojalgo.function.constant.PrimitiveMath.*;
 import org.junit.jupiter.api.Test;
 import org.ojalgo.TestUtils;
 import org.ojalgo.data.DataProcessors;
+import org.ojalgo.matrix.MatrixR064;
 import org.ojalgo.netio.BasicLogger;
 import org.ojalgo.random.Normal;
 import org.ojalgo.random.Uniform;
@@ -70,6 +71,71 @@ public class MatrixPipelineTest extends MatrixStoreTests {
         return placeholderF;
     }
 
+    /**
+     * [A][B]*2+[C] then exp, and its transpose, should match the step-by-step (materialising) calculation –
+     * regardless of the order the scalar multiplication and the addition are specified in.
+     */
+    @Test
+    public void testFusedElementWise() {
+
+        R064Store mtrxA = R064Store.FACTORY.makeFilled(5, 7, UNIFORM);
+        R064Store mtrxB = R064Store.FACTORY.makeFilled(7, 3, NORMAL);
+        R064Store mtrxC = R064Store.FACTORY.makeFilled(5, 3, UNIFORM);
+
+        PhysicalStore<Double> expected = mtrxA.multiply(mtrxB).copy();
+        expected.modifyAll(MULTIPLY.second(2.0));
+        expected.modifyMatching(ADD, mtrxC);
+        expected.modifyAll(EXP);
+
+        ElementsSupplier<Double> product = mtrxB.premultiply(mtrxA);
+
+        ElementsSupplier<Double> scaleFirst = product.onAll(MULTIPLY.second(2.0)).onMatching(ADD, mtrxC).onAll(EXP);
+        TestUtils.assertEquals(expected, scaleFirst.collect(R064Store.FACTORY));
+        TestUtils.assertEquals(expected.transpose(), scaleFirst.transpose().collect(R064Store.FACTORY));
+
+        ElementsSupplier<Double> addFirst = product.onMatching(ADD, mtrxC.multiply(0.5)).onAll(MULTIPLY.second(2.0)).onAll(EXP);
+        TestUtils.assertEquals(expected, addFirst.collect(R064Store.FACTORY));
+
+        ElementsSupplier<Double> addLeft = product.onAll(MULTIPLY.second(2.0)).onMatching(mtrxC, ADD).onAll(EXP);
+        TestUtils.assertEquals(expected, addLeft.collect(R064Store.FACTORY));
+
+        R064Store receiver = R064Store.FACTORY.make(5, 3);
+        scaleFirst.supplyTo(receiver);
+        TestUtils.assertEquals(expected, receiver);
+
+        MatrixR064 basicA = MatrixR064.FACTORY.copy(mtrxA);
+        MatrixR064 basicB = MatrixR064.FACTORY.copy(mtrxB);
+        MatrixR064 basicC = MatrixR064.FACTORY.copy(mtrxC);
+
+        TestUtils.assertEquals(expected, basicA.multiply(basicB).multiply(2.0).add(basicC).onAll(EXP));
+        TestUtils.assertEquals(expected, basicA.multiply(basicB).add(basicC.multiply(0.5)).multiply(2.0).onAll(EXP));
+        TestUtils.assertEquals(mtrxA.multiply(mtrxB).multiply(2.0).add(mtrxC).negate(), basicA.multiply(basicB).subtract(basicC.negate().multiply(0.5)).multiply(-2.0));
+    }
+
+    /**
+     * Consecutive scalar operations are collapsed into one step, not nested one inside the other.
+     */
+    @Test
+    public void testLongScalarChain() {
+
+        R064Store mtrxA = R064Store.FACTORY.makeFilled(5, 3, UNIFORM);
+
+        PhysicalStore<Double> expected = mtrxA.copy();
+        ElementsSupplier<Double> actual = mtrxA;
+
+        for (int i = 0; i < 1_000; i++) {
+            expected.modifyAll(ADD.second(1.0));
+            expected.modifyAll(MULTIPLY.second(0.5));
+            actual = actual.onAll(ADD.second(1.0)).onAll(MULTIPLY.second(0.5));
+        }
+        actual = actual.onMatching(ADD, mtrxA).onAll(ADD.second(1.0)).onAll(NEGATE);
+        expected.modifyMatching(ADD, mtrxA);
+        expected.modifyAll(ADD.second(1.0));
+        expected.modifyAll(NEGATE);
+
+        TestUtils.assertEquals(expected, actual.collect(R064Store.FACTORY));
+    }
+
     @Test
     public void testOnAll() {
 
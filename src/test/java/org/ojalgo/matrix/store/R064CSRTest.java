@@ -115,6 +115,38 @@ public class R064CSRTest extends MatrixStoreTests {
         }
     }
 
+    /**
+     * Large enough to be multiplied in parallel – compare with the generic (sequential) implementation.
+     */
+    @Test
+    public void testMatrixVectorMultiplicationParallel() {
+
+        int n = 50_000;
+
+        R064CSR.Builder builder = R064CSR.newBuilder(n, n);
+        for (int i = 0; i < n; i++) {
+            builder.set(i, i, 2.0 + i % 3);
+            builder.set(i, (i + 7) % n, -1.0);
+            builder.set(i, (i * 31) % n, 0.5);
+        }
+        R064CSR matrix = builder.build();
+
+        double[] right = new double[n];
+        for (int j = 0; j < n; j++) {
+            right[j] = 1.0 + j % 11;
+        }
+
+        double[] actual = new double[n];
+        matrix.multiply(right, actual);
+
+        R064Store expected = R064Store.FACTORY.make(n, 1);
+        matrix.multiply(R064Store.wrap(right), expected);
+
+        for (int i = 0; i < n; i++) {
+            TestUtils.assertEquals(expected.doubleValue(i), actual[i]);
+        }
+    }
+
     @Test
     public void testNonzerosBidirectional() {
 
@@ -0,0 +1,175 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.task.iterative;
+
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.matrix.store.MatrixStore;
+import org.ojalgo.matrix.store.R064CSR;
+import org.ojalgo.matrix.store.R064Store;
+import org.ojalgo.netio.BasicLogger;
+import org.ojalgo.type.context.NumberContext;
+
+/**
+ * The Krylov solvers with an {@link R064CSR} body, and the incomplete factorisation preconditioners.
+ */
+public class KrylovCSRTest extends TaskIterativeTests {
+
+    private static final NumberContext ACCURACY = NumberContext.of(6);
+
+    private static R064Store expected(final int n) {
+        R064Store retVal = R064Store.FACTORY.make(n, 1);
+        for (int i = 0; i < n; i++) {
+            retVal.set(i, 1.0 + i % 7);
+        }
+        return retVal;
+    }
+
+    /**
+     * @return The relative residual after (at most) the specified number of iterations
+     */
+    private static double solve(final IterativeSolverTask solver, final Preconditioner preconditioner, final R064CSR body, final int iterations) {
+
+        R064Store expected = KrylovCSRTest.expected(body.getColDim());
+        R064Store rhs = TaskIterativeTests.rhs(body, expected);
+
+        solver.configurator().accuracy(NumberContext.of(10)).iterations(iterations).preconditioner(preconditioner);
+
+        R064Store solution = R064Store.FACTORY.make(body.getColDim(), 1);
+        double retVal = solver.resolve(body, rhs, solution);
+
+        if (DEBUG) {
+            BasicLogger.debug("{} with {}: {}", solver.getClass().getSimpleName(), preconditioner.getClass().getSimpleName(), retVal);
+        }
+
+        if (retVal < 1E-8) {
+            TestUtils.assertEquals(expected, solution, ACCURACY);
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Solving with an {@link R064CSR} body (directly on the CSR arrays) should give the same result as
+     * solving the equivalent dense problem (converted to a list of equations).
+     */
+    @Test
+    public void testCSRMatchesEquations() {
+
+        R064CSR body = TaskIterativeTests.convectionDiffusion(12, 0.5);
+        R064Store dense = R064Store.FACTORY.copy(body);
+        R064Store rhs = TaskIterativeTests.rhs(body, KrylovCSRTest.expected(body.getColDim()));
+
+        for (Supplier<IterativeSolverTask> factory : new Supplier[] { BiCGStabSolver::new, GMRESSolver::new }) {
+
+            IterativeSolverTask solver = factory.get();
+            solver.configurator().accuracy(NumberContext.of(12)).iterations(1_000).preconditioner(Preconditioner.newILU0());
+
+            MatrixStore<Double> viaCSR = solver.solve(body, rhs).get();
+            MatrixStore<Double> viaEquations = solver.solve(dense, rhs).get();
+
+            TestUtils.assertEquals(solver.getClass().getSimpleName(), viaEquations, viaCSR, NumberContext.of(8));
+        }
+    }
+
+    @Test
+    public void testNonsymmetric() {
+
+        R064CSR body = TaskIterativeTests.convectionDiffusion(30, 2.0);
+
+        for (Supplier<IterativeSolverTask> factory : new Supplier[] { BiCGStabSolver::new, GMRESSolver::new, () -> new GMRESSolver(5) }) {
+
+            TestUtils.assertTrue(KrylovCSRTest.solve(factory.get(), Preconditioner.newIdentity(), body, 1_000) < 1E-8);
+            TestUtils.assertTrue(KrylovCSRTest.solve(factory.get(), Preconditioner.newILU0(), body, 1_000) < 1E-8);
+            TestUtils.assertTrue(KrylovCSRTest.solve(factory.get(), Preconditioner.newILUT(1E-4, 10), body, 1_000) < 1E-8);
+
+            double none = KrylovCSRTest.solve(factory.get(), Preconditioner.newIdentity(), body, 10);
+            double ilu0 = KrylovCSRTest.solve(factory.get(), Preconditioner.newILU0(), body, 10);
+            double ilut = KrylovCSRTest.solve(factory.get(), Preconditioner.newILUT(1E-4, 10), body, 10);
+
+            TestUtils.assertTrue(ilu0 < none);
+            TestUtils.assertTrue(ilut < ilu0);
+        }
+    }
+
+    /**
+     * With no dropping, and room for all fill-in, ILUT is a complete LU factorisation – a single iteration
+     * should be enough.
+     */
+    @Test
+    public void testILUTWithoutDroppingIsExact() {
+
+        R064CSR body = TaskIterativeTests.convectionDiffusion(8, 1.0);
+
+        Preconditioner preconditioner = Preconditioner.newILUT(0.0, body.getColDim());
+        preconditioner.prepare(body);
+
+        R064Store expected = KrylovCSRTest.expected(body.getColDim());
+        R064Store rhs = TaskIterativeTests.rhs(body, expected);
+
+        R064Store actual = R064Store.FACTORY.make(body.getColDim(), 1);
+        preconditioner.apply(rhs, actual);
+        TestUtils.assertEquals(expected, actual, NumberContext.of(12));
+
+        // [A]^T [y] = [c] using the transpose, with c = [A]^T [x]
+        R064Store transposedRHS = TaskIterativeTests.rhs(R064Store.FACTORY.transpose(body), expected);
+        preconditioner.applyTranspose(transposedRHS, actual);
+        TestUtils.assertEquals(expected, actual, NumberContext.of(12));
+    }
+
+    @Test
+    public void testSymmetric() {
+
+        R064CSR body = TaskIterativeTests.convectionDiffusion(40, 0.0);
+
+        // MINRES has its own stopping criteria, and may stop earlier than CG
+        for (Supplier<IterativeSolverTask> factory : new Supplier[] { ConjugateGradientSolver::new, MINRESSolver::new }) {
+
+            TestUtils.assertTrue(KrylovCSRTest.solve(factory.get(), Preconditioner.newJacobi(), body, 1_000) < 1E-6);
+            TestUtils.assertTrue(KrylovCSRTest.solve(factory.get(), Preconditioner.newIC0(), body, 1_000) < 1E-6);
+
+            double jacobi = KrylovCSRTest.solve(factory.get(), Preconditioner.newJacobi(), body, 20);
+            double ic0 = KrylovCSRTest.solve(factory.get(), Preconditioner.newIC0(), body, 20);
+
+            TestUtils.assertTrue(ic0 < jacobi);
+        }
+
+        // IC(0) and ILU(0) are the same thing for a symmetric M-matrix (only scaled differently)
+
+        R064Store expected = KrylovCSRTest.expected(body.getColDim());
+
+        Preconditioner ic0 = Preconditioner.newIC0();
+        ic0.prepare(body);
+        Preconditioner ilu0 = Preconditioner.newILU0();
+        ilu0.prepare(body);
+
+        R064Store viaIC0 = R064Store.FACTORY.make(body.getColDim(), 1);
+        ic0.apply(expected, viaIC0);
+        R064Store viaILU0 = R064Store.FACTORY.make(body.getColDim(), 1);
+        ilu0.apply(expected, viaILU0);
+
+        TestUtils.assertEquals(viaILU0, viaIC0, NumberContext.of(12));
+    }
+
+}
@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.function.Supplier;
 
 import org.ojalgo.matrix.store.MatrixStore;
+import org.ojalgo.matrix.store.R064CSR;
 import org.ojalgo.matrix.store.R064Store;
 import org.ojalgo.structure.Access1D;
 
@@ -40,6 +41,39 @@ abstract class TaskIterativeTests {
     static final List<Supplier<Preconditioner>> PRECONDITIONERS = List.of(Preconditioner::newIdentity, Preconditioner::newJacobi,
             Preconditioner::newSymmetricGaussSeidel, Preconditioner.getSSOR(0.000001), Preconditioner.getSSOR(1.999999));
 
+    /**
+     * 5-point finite difference discretisation of -Δu + c·∇u on a side x side grid (Dirichlet boundary),
+     * with first order upwind differences for the convection term. With c == 0 this is the (symmetric
+     * positive definite) 2D Poisson/Laplacian matrix, otherwise it is nonsymmetric.
+     */
+    static R064CSR convectionDiffusion(final int side, final double convection) {
+
+        int n = side * side;
+
+        R064CSR.Builder builder = R064CSR.newBuilder(n, n);
+
+        for (int i = 0; i < side; i++) {
+            for (int j = 0; j < side; j++) {
+                int idx = i * side + j;
+                builder.set(idx, idx, 4.0 + convection);
+                if (j > 0) {
+                    builder.set(idx, idx - 1, -1.0 - convection);
+                }
+                if (j < side - 1) {
+                    builder.set(idx, idx + 1, -1.0);
+                }
+                if (i > 0) {
+                    builder.set(idx, idx - side, -1.0);
+                }
+                if (i < side - 1) {
+                    builder.set(idx, idx + side, -1.0);
+                }
+            }
+        }
+
+        return builder.build();
+    }
+
     /**
      * Utility to build the RHS vector b = A * x for tests.
      * <p>
@@ -0,0 +1,161 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.netio;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.netio.NumericColumnsParser.ColumnType;
+import org.ojalgo.structure.Primitive2D;
+
+public class NumericColumnsParserTest extends NetioTests {
+
+    private static double parseDouble(final String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        return NumericColumnsParser.parseDouble(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+
+    private static long parseLong(final String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        return NumericColumnsParser.parseLong(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+
+    @Test
+    public void testParseDoubleMatchesJDK() {
+
+        String[] samples = { "0", "-0", "1", "-1.5", "+2.25", "3.141592653589793", "1e10", "1E-10", "-7.5e+3", "123456789012345678901234", "0.1",
+                "0.000000000000000000000000000123", "9007199254740993", "4.9e-324", "1.7976931348623157E308", "NaN", "Infinity", "-Infinity", " 42 ",
+                "12.", ".5" };
+
+        for (String sample : samples) {
+            TestUtils.assertEquals(sample, Double.parseDouble(sample.trim()), NumericColumnsParserTest.parseDouble(sample), 0.0);
+        }
+
+        TestUtils.assertTrue(Double.isNaN(NumericColumnsParserTest.parseDouble("")));
+
+        Random random = new Random(123L);
+        for (int i = 0; i < 10_000; i++) {
+            double expected = (random.nextDouble() - 0.5) * Math.pow(10.0, random.nextInt(40) - 20);
+            String text = Double.toString(expected);
+            TestUtils.assertEquals(text, expected, NumericColumnsParserTest.parseDouble(text), 0.0);
+            text = String.format("%.6f", expected);
+            TestUtils.assertEquals(text, Double.parseDouble(text), NumericColumnsParserTest.parseDouble(text), 0.0);
+        }
+    }
+
+    @Test
+    public void testParseLongMatchesJDK() {
+
+        String[] samples = { "0", "-0", "1", "-1", "+17", "9223372036854775807", "-9223372036854775808", " 42 " };
+
+        for (String sample : samples) {
+            TestUtils.assertEquals(sample, Long.parseLong(sample.trim()), NumericColumnsParserTest.parseLong(sample));
+        }
+
+        TestUtils.assertEquals(0L, NumericColumnsParserTest.parseLong(""));
+
+        try {
+            NumericColumnsParserTest.parseLong("9223372036854775808");
+            TestUtils.fail("Should overflow!");
+        } catch (NumberFormatException expected) {
+            // Expected
+        }
+    }
+
+    /**
+     * Many small segments, header, comments, empty lines, CRLF, quoted fields and lines with the wrong number
+     * of fields.
+     */
+    @Test
+    public void testSegmentedFile() throws IOException {
+
+        int nbRows = 1000;
+
+        StringBuilder builder = new StringBuilder();
+        builder.append("id,name,price,volume\n");
+
+        for (int i = 0; i < nbRows; i++) {
+            if (i % 97 == 0) {
+                builder.append("# comment, line\n\n");
+            }
+            if (i % 101 == 0) {
+                builder.append("1,2\n"); // Too few fields
+            }
+            builder.append(i);
+            builder.append(',');
+            if (i % 3 == 0) {
+                builder.append("\"name, with delimiter\"");
+            } else {
+                builder.append("name").append(i);
+            }
+            builder.append(',');
+            if (i % 5 == 0) {
+                builder.append('"').append(i * 0.25).append('"');
+            } else {
+                builder.append(i * 0.25);
+            }
+            builder.append(',');
+            builder.append(-3L * i);
+            builder.append(i % 2 == 0 ? "\r\n" : "\n");
+        }
+
+        File file = File.createTempFile("NumericColumnsParserTest", ".csv");
+        file.deleteOnExit();
+        Files.write(file.toPath(), builder.toString().getBytes(StandardCharsets.US_ASCII));
+
+        NumericColumnsParser parser = NumericColumnsParser.newBuilder(4).header(true).column(0, ColumnType.LONG).column(1, ColumnType.SKIP)
+                .column(3, ColumnType.LONG).build();
+
+        NumericColumnsParser.Result result;
+        try (SegmentedFile segmented = SegmentedFile.newBuilder(file).parallelism(4).segmentBytes(512).build()) {
+            TestUtils.assertTrue(segmented.segments().size() > 4);
+            result = parser.parse(segmented);
+        }
+
+        TestUtils.assertEquals(nbRows, result.countRows());
+        TestUtils.assertEquals(3, result.countColumns());
+
+        for (int i = 0; i < nbRows; i++) {
+            TestUtils.assertEquals(i, result.longs(0).longValue(i));
+            TestUtils.assertEquals(i * 0.25, result.doubles(2).doubleValue(i), 0.0);
+            TestUtils.assertEquals(-3L * i, result.longs(3).longValue(i));
+        }
+
+        Primitive2D matrix = result.toPrimitive2D();
+        TestUtils.assertEquals(nbRows, matrix.countRows());
+        TestUtils.assertEquals(3, matrix.countColumns());
+        TestUtils.assertEquals(999.0 * 0.25, matrix.doubleValue(999, 1), 0.0);
+        TestUtils.assertEquals(-3.0 * 999, matrix.doubleValue(999, 2), 0.0);
+
+        // Single segment, the whole file, should give the same result
+        NumericColumnsParser.Result single = parser.parse(file);
+        TestUtils.assertEquals(result.countRows(), single.countRows());
+        TestUtils.assertEquals(result.doubles(2), single.doubles(2));
+    }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.netio.BasicLogger;
+import org.ojalgo.netio.InMemoryFile;
+
+class FileFormatBinaryTest extends OptimisationTests {
+
+    static void assertIdentical(final Object expected, final Object actual) {
+        TestUtils.assertTrue(expected + " != " + actual, Objects.equals(expected, actual));
+    }
+
+    static void assertSameModel(final ExpressionsBasedModel expected, final ExpressionsBasedModel actual) {
+
+        FileFormatBinaryTest.assertIdentical(expected.getOptimisationSense(), actual.getOptimisationSense());
+        FileFormatBinaryTest.assertIdentical(expected.getObjectiveConstant(), actual.getObjectiveConstant());
+        TestUtils.assertEquals(expected.countVariables(), actual.countVariables());
+        TestUtils.assertEquals(expected.countExpressions(), actual.countExpressions());
+
+        for (int j = 0; j < expected.countVariables(); j++) {
+            Variable exp = expected.getVariable(j);
+            Variable act = actual.getVariable(j);
+            TestUtils.assertEquals(exp.getName(), act.getName());
+            TestUtils.assertEquals(exp.isInteger(), act.isInteger());
+            FileFormatBinaryTest.assertIdentical(exp.getLowerLimit(), act.getLowerLimit());
+            FileFormatBinaryTest.assertIdentical(exp.getUpperLimit(), act.getUpperLimit());
+            FileFormatBinaryTest.assertIdentical(exp.getContributionWeight(), act.getContributionWeight());
+            FileFormatBinaryTest.assertIdentical(exp.getValue(), act.getValue());
+        }
+
+        for (Expression exp : expected.getExpressions()) {
+            Expression act = actual.getExpression(exp.getName());
+            FileFormatBinaryTest.assertIdentical(exp.getLowerLimit(), act.getLowerLimit());
+            FileFormatBinaryTest.assertIdentical(exp.getUpperLimit(), act.getUpperLimit());
+            FileFormatBinaryTest.assertIdentical(exp.getContributionWeight(), act.getContributionWeight());
+            // BigDecimal equals, so also the scales must match
+            FileFormatBinaryTest.assertIdentical(exp.getLinearEntrySet(), act.getLinearEntrySet());
+            FileFormatBinaryTest.assertIdentical(exp.getQuadraticEntrySet(), act.getQuadraticEntrySet());
+        }
+    }
+
+    static ExpressionsBasedModel newModel(final int nbVariables, final int nbExpressions, final long seed) {
+
+        Random random = new Random(seed);
+
+        ExpressionsBasedModel retVal = new ExpressionsBasedModel();
+
+        for (int j = 0; j < nbVariables; j++) {
+            Variable variable = retVal.newVariable("X" + j).lower(BigDecimal.ZERO).weight(BigDecimal.valueOf(random.nextInt(200) - 100, 1));
+            if (j % 3 == 0) {
+                variable.upper(BigDecimal.valueOf(random.nextInt(10) + 1));
+                variable.integer(true);
+            }
+            if (j % 5 == 0) {
+                variable.setValue(new BigDecimal("0.500"));
+            }
+        }
+
+        for (int i = 0; i < nbExpressions; i++) {
+            Expression expression = retVal.newExpression("C" + i);
+            for (int k = 0; k < 8; k++) {
+                expression.set(random.nextInt(nbVariables), BigDecimal.valueOf(random.nextInt(1000) + 1, random.nextInt(4)));
+            }
+            expression.upper(BigDecimal.valueOf(random.nextInt(1000) + 100));
+            if (i % 2 == 0) {
+                expression.lower(BigDecimal.valueOf(-random.nextInt(1000)));
+            }
+        }
+
+        Expression quadratic = retVal.newExpression("Q").weight(new BigDecimal("0.5"));
+        quadratic.set(0, 0, new BigDecimal("123456789012345678901234567890.123456789"));
+        quadratic.set(0, 1, BigDecimal.ONE.negate());
+
+        retVal.addObjectiveConstant(new BigDecimal("3.14"));
+
+        return retVal;
+    }
+
+    @Test
+    void testDataOutputRoundTrip() throws IOException {
+
+        ExpressionsBasedModel model = FileFormatBinaryTest.newModel(50, 20, 123L);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        model.writeTo(new DataOutputStream(bytes));
+
+        ExpressionsBasedModel parsed = ExpressionsBasedModel.parse(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        FileFormatBinaryTest.assertSameModel(model, parsed);
+    }
+
+    @Test
+    void testFileRoundTrip() throws IOException {
+
+        ExpressionsBasedModel model = FileFormatBinaryTest.newModel(5_000, 2_000, 456L);
+
+        for (String suffix : new String[] { ".ebmb", ".ebmz" }) {
+
+            File file = File.createTempFile("model", suffix);
+            try {
+
+                long time = System.nanoTime();
+                model.writeTo(file);
+                long written = System.nanoTime();
+                ExpressionsBasedModel parsed = ExpressionsBasedModel.parse(file);
+                long read = System.nanoTime();
+
+                if (DEBUG) {
+                    BasicLogger.debug("{}: {} bytes written in {}ms and read in {}ms", suffix, file.length(), (written - time) / 1_000_000L,
+                            (read - written) / 1_000_000L);
+                }
+
+                FileFormatBinaryTest.assertSameModel(model, parsed);
+
+            } finally {
+                file.delete();
+            }
+        }
+    }
+
+    @Test
+    void testInputStreamAndFormat() {
+
+        ExpressionsBasedModel model = FileFormatBinaryTest.newModel(20, 10, 789L);
+
+        InMemoryFile file = new InMemoryFile();
+        try (DataOutputStream output = new DataOutputStream(file.newOutputStream())) {
+            model.writeTo(output);
+        } catch (IOException cause) {
+            TestUtils.fail(cause);
+        }
+
+        TestUtils.assertEquals(ExpressionsBasedModel.FileFormat.BINARY, ExpressionsBasedModel.FileFormat.from("model.ebmz"));
+        TestUtils.assertEquals(ExpressionsBasedModel.FileFormat.BINARY, ExpressionsBasedModel.FileFormat.from("MODEL.EBMB"));
+        for (String path : new String[] { "webmb", "model_ebmz" }) {
+            try {
+                ExpressionsBasedModel.FileFormat.from(path);
+                TestUtils.fail(path);
+            } catch (IllegalArgumentException expected) {
+                // Only the extensions (incl. the dot) are recognised
+            }
+        }
+
+        ExpressionsBasedModel parsed = ExpressionsBasedModel.parse(file.newInputStream(), ExpressionsBasedModel.FileFormat.BINARY);
+
+        FileFormatBinaryTest.assertSameModel(model, parsed);
+    }
+
+    @Test
+    void testNotASnapshot() {
+        byte[] ebm = "V\tX\t0\t\t1\tfalse\t\n".getBytes();
+        try {
+            ExpressionsBasedModel.parse(new ByteArrayInputStream(ebm), ExpressionsBasedModel.FileFormat.BINARY);
+            TestUtils.fail("Should have thrown!");
+        } catch (IllegalArgumentException expected) {
+            // Expected
+        }
+    }
+
+    @Test
+    void testSolvesTheSame() {
+
+        ExpressionsBasedModel model = FileFormatMPSTest.parse(FileFormatMPSTest.FIXED, ExpressionsBasedModel.FileFormat.MPS);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        model.writeTo(new DataOutputStream(bytes));
+        ExpressionsBasedModel parsed = ExpressionsBasedModel.parse(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        TestUtils.assertEquals(model.minimise().getValue(), parsed.minimise().getValue(), 1E-12);
+        TestUtils.assertEquals(model.maximise().getValue(), parsed.maximise().getValue(), 1E-12);
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.structure.Structure2D.IntRowColumn;
+import org.ojalgo.type.context.NumberContext;
+
+class FileFormatLPTest extends OptimisationTests {
+
+    /**
+     * The same model as {@link FileFormatMPSTest#FIXED}, but in CPLEX LP format.
+     */
+    static final String TESTPROB = String.join("\n", //
+            "\\ Problem name: TESTPROB", //
+            "Minimize", //
+            " COST: XONE + 2 YTWO + 3 ZTHREE", //
+            "Subject To", //
+            " LIM1: XONE + YTWO <= 4", //
+            " LIM2: XONE", //
+            "       + ZTHREE >= 1", //
+            " MYEQN: - YTWO + ZTHREE = 7", //
+            "Bounds", //
+            " XONE <= 4", //
+            " -1 <= YTWO <= 1", //
+            "End");
+
+    @Test
+    void testMappedFile() {
+
+        ExpressionsBasedModel model = FileFormatMPSTest.parse(TESTPROB, ".lp");
+
+        ModelFileTest.assertValues(model, "16", "29", NumberContext.of(7));
+    }
+
+    @Test
+    void testQuadraticAndInteger() {
+
+        String contents = String.join("\n", //
+                "Maximize", //
+                " obj: 4 x + 3y - [ 2 x ^ 2 + 2 x * y + 2 y ^ 2 ] / 2 + 10", //
+                "st", //
+                " c1: x + y <= 10", //
+                " c2: -5 <= x - y <= 5 \\ ranged", //
+                " 2 x + 0.5 y >= -1e1", //
+                "Bounds", //
+                " x free", //
+                " y >= -infinity", //
+                " z <= 3", //
+                "Generals", //
+                " z", //
+                "Binary", //
+                " b", //
+                "End");
+
+        ExpressionsBasedModel model = FileFormatMPSTest.parse(contents, ExpressionsBasedModel.FileFormat.LP);
+
+        TestUtils.assertEquals(4, model.countVariables());
+        TestUtils.assertEquals(4, model.countExpressions());
+        TestUtils.assertEquals(Optimisation.Sense.MAX, model.getOptimisationSense());
+
+        Variable x = model.getVariable(0);
+        Variable y = model.getVariable(1);
+        Variable z = model.getVariable(2);
+        Variable b = model.getVariable(3);
+        TestUtils.assertFalse(x.isLowerLimitSet());
+        TestUtils.assertFalse(y.isLowerLimitSet());
+        TestUtils.assertTrue(z.isInteger());
+        TestUtils.assertEquals(3, z.getUpperLimit().intValue());
+        TestUtils.assertTrue(b.isBinary());
+
+        Expression objective = model.getExpression("obj");
+        TestUtils.assertEquals(-1.0, objective.get(new IntRowColumn(0, 0)).doubleValue());
+        TestUtils.assertEquals(-1.0, objective.get(new IntRowColumn(0, 1)).doubleValue());
+
+        Expression ranged = model.getExpression("c2");
+        TestUtils.assertEquals(-5, ranged.getLowerLimit().intValue());
+        TestUtils.assertEquals(5, ranged.getUpperLimit().intValue());
+        TestUtils.assertEquals(-10, model.getExpression("R3").getLowerLimit().intValue());
+
+        // max 4x + 3y - x^2 - xy - y^2 + 10 has its unconstrained optimum at x = 5/3, y = 2/3
+        Optimisation.Result result = model.maximise();
+        TestUtils.assertStateNotLessThanOptimal(result);
+        TestUtils.assertEquals(5.0 / 3.0, result.doubleValue(0), 1E-6);
+        TestUtils.assertEquals(2.0 / 3.0, result.doubleValue(1), 1E-6);
+        TestUtils.assertEquals(10.0 + 13.0 / 3.0, result.getValue(), 1E-6);
+    }
+
+    @Test
+    void testSameAsMPS() {
+
+        ExpressionsBasedModel lp = FileFormatMPSTest.parse(TESTPROB, ExpressionsBasedModel.FileFormat.LP);
+        ExpressionsBasedModel mps = FileFormatMPSTest.parse(FileFormatMPSTest.FIXED, ExpressionsBasedModel.FileFormat.MPS);
+
+        TestUtils.assertEquals(mps.countVariables(), lp.countVariables());
+        TestUtils.assertEquals(mps.countExpressions(), lp.countExpressions());
+
+        Optimisation.Result lpResult = lp.minimise();
+        Optimisation.Result mpsResult = mps.minimise();
+        TestUtils.assertEquals(mpsResult.getValue(), lpResult.getValue(), 1E-9);
+        TestUtils.assertEquals(16.0, lpResult.getValue(), 1E-9);
+    }
+
+}
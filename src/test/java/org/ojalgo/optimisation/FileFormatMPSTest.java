@@ -0,0 +1,231 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.netio.BasicLogger;
+import org.ojalgo.type.context.NumberContext;
+
+class FileFormatMPSTest extends OptimisationTests {
+
+    /**
+     * The classic example, in fixed format. Min is 16 and max 29.
+     */
+    static final String FIXED = String.join("\n", //
+            "NAME          TESTPROB", //
+            "ROWS", //
+            " N  COST", //
+            " L  LIM1", //
+            " G  LIM2", //
+            " E  MYEQN", //
+            "COLUMNS", //
+            "    XONE      COST                 1   LIM1                 1", //
+            "    XONE      LIM2                 1", //
+            "    YTWO      COST                 2   LIM1                 1", //
+            "    YTWO      MYEQN               -1", //
+            "    ZTHREE    COST                 3   LIM2                 1", //
+            "    ZTHREE    MYEQN                1", //
+            "RHS", //
+            "    RHS1      LIM1                 4   LIM2                 1", //
+            "    RHS1      MYEQN                7", //
+            "BOUNDS", //
+            " UP BND1      XONE                 4", //
+            " LO BND1      YTWO                -1", //
+            " UP BND1      YTWO                 1", //
+            "ENDATA");
+
+    static ExpressionsBasedModel parse(final String contents, final ExpressionsBasedModel.FileFormat format) {
+        try (InputStream input = new ByteArrayInputStream(contents.getBytes(StandardCharsets.ISO_8859_1))) {
+            return ExpressionsBasedModel.parse(input, format);
+        } catch (IOException cause) {
+            TestUtils.fail(cause);
+            return null;
+        }
+    }
+
+    static ExpressionsBasedModel parse(final String contents, final String suffix) {
+        File file = null;
+        try {
+            file = File.createTempFile("model", suffix);
+            Files.write(file.toPath(), contents.getBytes(StandardCharsets.ISO_8859_1));
+            return ExpressionsBasedModel.parse(file);
+        } catch (IOException cause) {
+            TestUtils.fail(cause);
+            return null;
+        } finally {
+            if (file != null) {
+                file.delete();
+            }
+        }
+    }
+
+    @Test
+    void testFixedFormat() {
+
+        ExpressionsBasedModel model = FileFormatMPSTest.parse(FIXED, ExpressionsBasedModel.FileFormat.MPS);
+
+        TestUtils.assertEquals(3, model.countVariables());
+        TestUtils.assertEquals(4, model.countExpressions());
+
+        ModelFileTest.assertValues(model, "16", "29", NumberContext.of(7));
+    }
+
+    @Test
+    void testFixedFormatWithSpacesInNames() {
+
+        String spaced = FIXED.replace(" L  LIM1", " L  LIM 1").replace("LIM1    ", "LIM 1   ").replace("XONE  ", "X ONE ");
+
+        ExpressionsBasedModel model = FileFormatMPSTest.parse(spaced, ExpressionsBasedModel.FileFormat.MPS);
+
+        TestUtils.assertEquals(2, model.getExpression("LIM 1").getLinearKeySet().size());
+        TestUtils.assertEquals("X ONE", model.getVariable(0).getName());
+
+        ModelFileTest.assertValues(model, "16", "29", NumberContext.of(7));
+    }
+
+    @Test
+    void testFreeFormat() {
+
+        String free = String.join("\n", //
+                "* Free format, no set names and long names", //
+                "NAME TESTPROB", //
+                "OBJSENSE MAX", //
+                "ROWS", //
+                " N a_rather_long_objective_function_name", //
+                " L lim1", //
+                " G lim2", //
+                " E myeqn", //
+                "COLUMNS", //
+                " x_one a_rather_long_objective_function_name 1 lim1 1", //
+                " x_one lim2 1", //
+                " MARKER 'MARKER' 'INTORG'", //
+                " y_two a_rather_long_objective_function_name 2 lim1 1", //
+                " y_two myeqn -1", //
+                " MARKER 'MARKER' 'INTEND'", //
+                " z_three a_rather_long_objective_function_name 3.0e0 lim2 1", //
+                " z_three myeqn 1", //
+                "RHS", //
+                " lim1 4 lim2 1", //
+                " myeqn 7", //
+                "RANGES", //
+                " lim2 100", //
+                "BOUNDS", //
+                " UP x_one 4", //
+                " LO y_two -1", //
+                " UP y_two 1", //
+                " UP z_three Infinity", //
+                "ENDATA");
+
+        ExpressionsBasedModel model = FileFormatMPSTest.parse(free, ExpressionsBasedModel.FileFormat.MPS);
+
+        TestUtils.assertTrue(model.getVariable(1).isInteger());
+        TestUtils.assertFalse(model.getVariable(2).isInteger());
+        TestUtils.assertEquals(101, model.getExpression("lim2").getUpperLimit().intValue());
+
+        Optimisation.Result result = model.maximise();
+        TestUtils.assertStateNotLessThanOptimal(result);
+        TestUtils.assertEquals(29, result.getValue(), 1E-9);
+    }
+
+    @Test
+    void testMappedFileSameAsStream() {
+
+        ExpressionsBasedModel streamed = FileFormatMPSTest.parse(FIXED, ExpressionsBasedModel.FileFormat.MPS);
+        ExpressionsBasedModel mapped = FileFormatMPSTest.parse(FIXED, ".mps");
+
+        TestUtils.assertEquals(streamed.toString(), mapped.toString());
+    }
+
+    /**
+     * Large enough to span several of the input stream reader's buffers, and with columns that are not
+     * contiguous.
+     */
+    @Test
+    void testLargeModelAcrossBuffers() {
+
+        int nbRows = 200;
+        int nbColumns = 30_000;
+
+        StringBuilder builder = new StringBuilder();
+        builder.append("NAME LARGE\nROWS\n N COST\n");
+        for (int i = 0; i < nbRows; i++) {
+            builder.append(" L ROW").append(i).append('\n');
+        }
+        builder.append("COLUMNS\n");
+        for (int j = 0; j < nbColumns; j++) {
+            builder.append("    COLUMN").append(j).append("  COST  -1  ROW").append(j % nbRows).append("  1\n");
+        }
+        for (int j = 0; j < nbColumns; j += 2) {
+            builder.append("    COLUMN").append(j).append("  ROW").append((j + 1) % nbRows).append("  0.5\n");
+        }
+        builder.append("RHS\n");
+        for (int i = 0; i < nbRows; i++) {
+            builder.append("    RHS  ROW").append(i).append("  ").append(i + 1).append('\n');
+        }
+        builder.append("ENDATA\n");
+
+        String contents = builder.toString();
+        TestUtils.assertTrue(contents.length() > 1 << 20);
+
+        long time = System.nanoTime();
+        ExpressionsBasedModel model = FileFormatMPSTest.parse(contents, ExpressionsBasedModel.FileFormat.MPS);
+        if (DEBUG) {
+            BasicLogger.debug("Parsed {} bytes in {}ms", contents.length(), (System.nanoTime() - time) / 1_000_000L);
+        }
+
+        TestUtils.assertEquals(nbColumns, model.countVariables());
+        TestUtils.assertEquals(nbRows + 1, model.countExpressions());
+
+        Expression row = model.getExpression("ROW7");
+        TestUtils.assertEquals(7 + 1, row.getUpperLimit().intValue());
+        TestUtils.assertEquals(1.0, row.get(model.getVariable(7)).doubleValue());
+        TestUtils.assertEquals(0.5, row.get(model.getVariable(6)).doubleValue());
+        TestUtils.assertEquals(1.5 * nbColumns / nbRows, row.getLinearEntrySet().stream().mapToDouble(e -> e.getValue().doubleValue()).sum(), 1E-9);
+
+        TestUtils.assertEquals(model.toString(), FileFormatMPSTest.parse(contents, ".mps").toString());
+    }
+
+    @Test
+    void testNameTable() {
+
+        NameTable table = new NameTable();
+
+        for (int i = 0; i < 10_000; i++) {
+            TestUtils.assertEquals(i, table.intern("N" + i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            TestUtils.assertEquals(i, table.find("N" + i));
+            TestUtils.assertEquals("N" + i, table.name(i));
+        }
+        TestUtils.assertEquals(-1, table.find("N10000"));
+        TestUtils.assertEquals(10_000, table.size());
+    }
+
+}
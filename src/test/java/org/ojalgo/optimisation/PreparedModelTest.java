@@ -0,0 +1,267 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.netio.BasicLogger;
+import org.ojalgo.type.context.NumberContext;
+
+class PreparedModelTest extends OptimisationTests {
+
+    private static final NumberContext ACCURACY = NumberContext.of(7);
+
+    static void assertSameAsFresh(final ExpressionsBasedModel model, final Optimisation.Sense sense, final Optimisation.Result actual) {
+
+        ExpressionsBasedModel fresh = model.copy();
+        Optimisation.Result expected = sense == Optimisation.Sense.MAX ? fresh.maximise() : fresh.minimise();
+
+        if (DEBUG) {
+            BasicLogger.debug("Fresh: {}", expected);
+            BasicLogger.debug("Prepared: {}", actual);
+        }
+
+        TestUtils.assertEquals(expected.getState().isFeasible(), actual.getState().isFeasible());
+
+        if (expected.getState().isFeasible()) {
+            TestUtils.assertEquals(expected.getValue(), actual.getValue(), ACCURACY);
+            TestUtils.assertTrue(model.validate(actual, ACCURACY));
+        }
+    }
+
+    /**
+     * Bounded variables, and a mix of upper, lower, range and equality constraints.
+     */
+    static ExpressionsBasedModel newModel(final int nbVariables, final int nbConstraints, final long seed) {
+
+        Random random = new Random(seed);
+
+        ExpressionsBasedModel retVal = new ExpressionsBasedModel();
+
+        for (int j = 0; j < nbVariables; j++) {
+            retVal.addVariable("X" + j).lower(0).upper(10).weight(random.nextDouble() - 0.5);
+        }
+
+        for (int i = 0; i < nbConstraints; i++) {
+
+            Expression expression = retVal.addExpression("C" + i);
+            for (int k = 0; k < 8; k++) {
+                expression.set(random.nextInt(nbVariables), BigDecimal.valueOf(random.nextInt(100) + 1, 2));
+            }
+
+            switch (i % 4) {
+                case 0:
+                    expression.upper(5 + random.nextInt(15));
+                    break;
+                case 1:
+                    expression.lower(1 + random.nextInt(4));
+                    break;
+                case 2:
+                    expression.lower(1 + random.nextInt(2)).upper(8 + random.nextInt(8));
+                    break;
+                default:
+                    expression.level(2 + random.nextInt(6));
+                    break;
+            }
+        }
+
+        return retVal;
+    }
+
+    private static void doTestRandomUpdates(final Optimisation.Sense sense, final Boolean sparse) {
+
+        int nbVariables = 60;
+        int nbConstraints = 40;
+
+        ExpressionsBasedModel model = PreparedModelTest.newModel(nbVariables, nbConstraints, 123L);
+        model.options.sparse = sparse;
+
+        PreparedModel prepared = model.prepare(sense);
+
+        PreparedModelTest.assertSameAsFresh(model, sense, prepared.solve());
+
+        Random random = new Random(456L);
+
+        for (int r = 0; r < 25; r++) {
+
+            for (int k = 0; k < 3; k++) {
+                Expression expression = model.getExpression("C" + random.nextInt(nbConstraints));
+                double factor = 0.8 + 0.4 * random.nextDouble();
+                if (expression.isEqualityConstraint()) {
+                    expression.level(expression.getUpperLimit().doubleValue() * factor);
+                } else {
+                    if (expression.isLowerLimitSet()) {
+                        expression.lower(expression.getLowerLimit().doubleValue() * factor);
+                    }
+                    if (expression.isUpperLimitSet()) {
+                        expression.upper(expression.getUpperLimit().doubleValue() * factor);
+                    }
+                }
+                prepared.update(expression);
+            }
+
+            for (int k = 0; k < 3; k++) {
+                Variable variable = model.getVariable(random.nextInt(nbVariables));
+                variable.upper(3 + random.nextInt(8));
+                prepared.update(variable);
+            }
+
+            if (r % 5 == 4) {
+                Variable variable = model.getVariable(random.nextInt(nbVariables));
+                variable.weight(random.nextDouble() - 0.5);
+                prepared.updateObjective(variable);
+            }
+
+            PreparedModelTest.assertSameAsFresh(model, sense, prepared.solve());
+        }
+    }
+
+    @Test
+    public void testFixAndRelease() {
+
+        ExpressionsBasedModel model = PreparedModelTest.newModel(20, 12, 789L);
+
+        PreparedModel prepared = model.prepare(Optimisation.Sense.MIN);
+
+        PreparedModelTest.assertSameAsFresh(model, Optimisation.Sense.MIN, prepared.solve());
+
+        Variable variable = model.getVariable(3);
+
+        variable.level(2);
+        prepared.update(variable);
+        PreparedModelTest.assertSameAsFresh(model, Optimisation.Sense.MIN, prepared.solve());
+
+        // Change limits while the variable is fixed (compensated for in the RHS)
+        for (Expression expression : model.getExpressions()) {
+            if (expression.isUpperLimitSet() && !expression.isEqualityConstraint()) {
+                expression.upper(expression.getUpperLimit().add(BigDecimal.ONE));
+                prepared.update(expression);
+            }
+        }
+        PreparedModelTest.assertSameAsFresh(model, Optimisation.Sense.MIN, prepared.solve());
+
+        variable.lower(0).upper(10);
+        prepared.update(variable);
+        PreparedModelTest.assertSameAsFresh(model, Optimisation.Sense.MIN, prepared.solve());
+    }
+
+    @Test
+    public void testMaximiseDense() {
+        PreparedModelTest.doTestRandomUpdates(Optimisation.Sense.MAX, Boolean.FALSE);
+    }
+
+    @Test
+    public void testMaximiseSparse() {
+        PreparedModelTest.doTestRandomUpdates(Optimisation.Sense.MAX, Boolean.TRUE);
+    }
+
+    @Test
+    public void testMinimiseDense() {
+        PreparedModelTest.doTestRandomUpdates(Optimisation.Sense.MIN, Boolean.FALSE);
+    }
+
+    @Test
+    public void testMinimiseSparse() {
+        PreparedModelTest.doTestRandomUpdates(Optimisation.Sense.MIN, Boolean.TRUE);
+    }
+
+    /**
+     * With a quadratic objective, changing linear objective weights or constraint limits updates the convex
+     * solver in-place – it is not re-generated.
+     */
+    @Test
+    public void testQuadraticInPlace() {
+
+        for (Optimisation.Sense sense : Optimisation.Sense.values()) {
+
+            int nbVariables = 20;
+
+            ExpressionsBasedModel model = PreparedModelTest.newModel(nbVariables, 12, 321L);
+
+            Expression quadratic = model.addExpression("Q").weight(sense == Optimisation.Sense.MAX ? -1 : 1);
+            for (int j = 0; j < nbVariables; j++) {
+                quadratic.set(j, j, 1 + j % 3);
+                if (j > 0) {
+                    quadratic.set(j - 1, j, 0.25);
+                    quadratic.set(j, j - 1, 0.25);
+                }
+            }
+
+            PreparedModel prepared = model.prepare(sense);
+
+            PreparedModelTest.assertSameAsFresh(model, sense, prepared.solve());
+
+            Optimisation.Solver solver = prepared.getSolver();
+
+            Random random = new Random(654L);
+
+            for (int r = 0; r < 10; r++) {
+
+                Expression expression = model.getExpression("C" + random.nextInt(12));
+                double factor = 0.8 + 0.4 * random.nextDouble();
+                if (expression.isEqualityConstraint()) {
+                    expression.level(expression.getUpperLimit().doubleValue() * factor);
+                } else {
+                    if (expression.isLowerLimitSet()) {
+                        expression.lower(expression.getLowerLimit().doubleValue() * factor);
+                    }
+                    if (expression.isUpperLimitSet()) {
+                        expression.upper(expression.getUpperLimit().doubleValue() * factor);
+                    }
+                }
+                prepared.update(expression);
+
+                Variable variable = model.getVariable(random.nextInt(nbVariables));
+                variable.weight(random.nextDouble() - 0.5);
+                prepared.updateObjective(variable);
+
+                PreparedModelTest.assertSameAsFresh(model, sense, prepared.solve());
+
+                TestUtils.assertTrue(solver == prepared.getSolver());
+            }
+        }
+    }
+
+    /**
+     * Changing a constraint's type (here adding an upper limit to a lower-only constraint) can't be done
+     * in-place – the solver is re-generated.
+     */
+    @Test
+    public void testNewLimit() {
+
+        ExpressionsBasedModel model = PreparedModelTest.newModel(20, 12, 987L);
+
+        PreparedModel prepared = model.prepare(Optimisation.Sense.MAX);
+
+        PreparedModelTest.assertSameAsFresh(model, Optimisation.Sense.MAX, prepared.solve());
+
+        Expression expression = model.getExpression("C1");
+        expression.upper(expression.getLowerLimit().add(BigDecimal.TEN));
+        prepared.update(expression);
+
+        PreparedModelTest.assertSameAsFresh(model, Optimisation.Sense.MAX, prepared.solve());
+    }
+
+}
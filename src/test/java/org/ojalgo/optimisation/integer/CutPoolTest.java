@@ -0,0 +1,243 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation.integer;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.netio.BasicLogger;
+import org.ojalgo.optimisation.Expression;
+import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.optimisation.Optimisation;
+import org.ojalgo.optimisation.Variable;
+import org.ojalgo.optimisation.integer.IntegerStrategy.CutPoolConfiguration;
+import org.ojalgo.optimisation.integer.IntegerStrategy.CutPoolConfiguration.Separator;
+import org.ojalgo.type.Stopwatch;
+import org.ojalgo.type.context.NumberContext;
+
+/**
+ * The separated cuts must be valid (not cut off any integer feasible solution) and violated by the LP
+ * solution they were separated from. Solving with the cut pool must give the same optimal solutions as
+ * without.
+ */
+public class CutPoolTest extends OptimisationIntegerTests {
+
+    private static final NumberContext ACCURACY = NumberContext.of(8);
+
+    /**
+     * Capacitated facility location: open facilities (binary) and ship (continuous) to meet demand. The
+     * shipments have variable upper bounds on the facility variables – flow cover structure.
+     */
+    private static ExpressionsBasedModel newFacilityLocation(final int nbFacilities, final int nbCustomers, final long seed) {
+
+        Random random = new Random(seed);
+
+        ExpressionsBasedModel model = new ExpressionsBasedModel();
+
+        Variable[] open = new Variable[nbFacilities];
+        int[] capacity = new int[nbFacilities];
+        for (int i = 0; i < nbFacilities; i++) {
+            open[i] = model.newVariable("Y" + i).binary().weight(200 + random.nextInt(300));
+            capacity[i] = 20 + random.nextInt(30);
+        }
+
+        Variable[][] ship = new Variable[nbFacilities][nbCustomers];
+        for (int i = 0; i < nbFacilities; i++) {
+            for (int j = 0; j < nbCustomers; j++) {
+                ship[i][j] = model.newVariable("X" + i + "_" + j).lower(0).weight(1 + random.nextInt(20));
+            }
+        }
+
+        for (int j = 0; j < nbCustomers; j++) {
+            Expression demand = model.newExpression("D" + j).level(5 + random.nextInt(15));
+            for (int i = 0; i < nbFacilities; i++) {
+                demand.set(ship[i][j], 1);
+            }
+        }
+
+        for (int i = 0; i < nbFacilities; i++) {
+            Expression supply = model.newExpression("S" + i).upper(0);
+            for (int j = 0; j < nbCustomers; j++) {
+                supply.set(ship[i][j], 1);
+            }
+            supply.set(open[i], -capacity[i]);
+        }
+
+        return model;
+    }
+
+    /**
+     * Continuous activities, each with a fixed (setup) cost and a variable upper bound on its binary setup
+     * variable, sharing a few resources – flow cover structure.
+     */
+    private static ExpressionsBasedModel newFixedCharge(final int nbActivities, final int nbResources, final long seed) {
+
+        Random random = new Random(seed);
+
+        ExpressionsBasedModel model = new ExpressionsBasedModel();
+
+        Variable[] setup = new Variable[nbActivities];
+        Variable[] level = new Variable[nbActivities];
+        for (int j = 0; j < nbActivities; j++) {
+            setup[j] = model.newVariable("Y" + j).binary().weight(10 + random.nextInt(40));
+            level[j] = model.newVariable("X" + j).lower(0).weight(-(1 + random.nextInt(10)));
+            model.newExpression("VUB" + j).upper(0).set(level[j], 1).set(setup[j], -(5 + random.nextInt(10)));
+        }
+
+        for (int i = 0; i < nbResources; i++) {
+            Expression resource = model.newExpression("R" + i).upper(10 + random.nextInt(20));
+            for (int j = 0; j < nbActivities; j++) {
+                resource.set(level[j], 1 + random.nextInt(3));
+            }
+        }
+
+        return model;
+    }
+
+    /**
+     * Multi-dimensional knapsack, binary or general integer variables
+     */
+    private static ExpressionsBasedModel newKnapsack(final int nbVariables, final int nbConstraints, final boolean binary, final long seed) {
+
+        Random random = new Random(seed);
+
+        ExpressionsBasedModel model = new ExpressionsBasedModel();
+
+        for (int j = 0; j < nbVariables; j++) {
+            model.newVariable("X" + j).lower(0).upper(binary ? 1 : 1 + random.nextInt(4)).weight(-(10 + random.nextInt(90))).integer(true);
+        }
+
+        for (int i = 0; i < nbConstraints; i++) {
+            Expression constraint = model.newExpression("C" + i);
+            int sum = 0;
+            for (int j = 0; j < nbVariables; j++) {
+                int factor = 5 + random.nextInt(45);
+                constraint.set(j, factor);
+                sum += factor;
+            }
+            constraint.upper(sum / 3);
+        }
+
+        return model;
+    }
+
+    private static void doTestSeparation(final ExpressionsBasedModel model, final Separator... separators) {
+
+        CutPoolConfiguration configuration = new CutPoolConfiguration();
+        for (Separator separator : Separator.values()) {
+            configuration = configuration.withSeparator(separator, false);
+        }
+        for (Separator separator : separators) {
+            configuration = configuration.withSeparator(separator, true);
+        }
+
+        Optimisation.Result relaxed = model.copy(true).minimise();
+        TestUtils.assertStateNotLessThanOptimal(relaxed);
+
+        CutPool pool = new CutPool(model, "", configuration);
+        List<CutPool.Cut> cuts = pool.separate(relaxed);
+
+        TestUtils.assertFalse(cuts.isEmpty());
+        TestUtils.assertEquals(cuts.size(), pool.countActive());
+
+        for (CutPool.Cut cut : cuts) {
+
+            if (DEBUG) {
+                BasicLogger.debug(cut);
+            }
+
+            TestUtils.assertTrue(cut.efficacy(relaxed) >= configuration.efficacy);
+
+            // No integer feasible solution may violate the cut
+            ExpressionsBasedModel copy = model.copy();
+            for (Variable variable : copy.getVariables()) {
+                variable.weight(null);
+            }
+            Expression objective = copy.newExpression("CUT").weight(1);
+            for (int j = 0; j < cut.indices.length; j++) {
+                objective.set(cut.indices[j], cut.coefficients[j]);
+            }
+
+            Optimisation.Result largest = copy.maximise();
+            TestUtils.assertStateNotLessThanOptimal(largest);
+            TestUtils.assertTrue(cut.toString(), largest.getValue() <= cut.rhs + 1.0E-6);
+        }
+    }
+
+    private static void doTestSolve(final ExpressionsBasedModel model, final ExpressionsBasedModel copy) {
+
+        Stopwatch stopwatch = new Stopwatch();
+        Optimisation.Result expected = model.minimise();
+        if (DEBUG) {
+            BasicLogger.debug("Without {} in {}", expected.getValue(), stopwatch.restart());
+        }
+
+        copy.options.integer(IntegerStrategy.DEFAULT.withCutPoolConfiguration(new CutPoolConfiguration()));
+        Optimisation.Result actual = copy.minimise();
+        if (DEBUG) {
+            BasicLogger.debug("With {} in {}", actual.getValue(), stopwatch.stop());
+        }
+
+        TestUtils.assertStateNotLessThanOptimal(expected);
+        TestUtils.assertStateNotLessThanOptimal(actual);
+        TestUtils.assertTrue(copy.validate(actual));
+        TestUtils.assertEquals(expected.getValue(), actual.getValue(), ACCURACY);
+    }
+
+    @Test
+    public void testCoverSeparation() {
+        CutPoolTest.doTestSeparation(CutPoolTest.newKnapsack(12, 3, true, 1L), Separator.COVER, Separator.LIFTED_COVER);
+    }
+
+    @Test
+    public void testFacilityLocation() {
+        CutPoolTest.doTestSolve(CutPoolTest.newFacilityLocation(8, 12, 4L), CutPoolTest.newFacilityLocation(8, 12, 4L));
+    }
+
+    @Test
+    public void testFixedCharge() {
+        CutPoolTest.doTestSolve(CutPoolTest.newFixedCharge(30, 3, 7L), CutPoolTest.newFixedCharge(30, 3, 7L));
+    }
+
+    @Test
+    public void testFlowCoverSeparation() {
+        CutPoolTest.doTestSeparation(CutPoolTest.newFixedCharge(8, 2, 3L), Separator.FLOW_COVER);
+    }
+
+    @Test
+    public void testGeneralIntegerKnapsack() {
+        CutPoolTest.doTestSolve(CutPoolTest.newKnapsack(30, 4, false, 6L), CutPoolTest.newKnapsack(30, 4, false, 6L));
+    }
+
+    @Test
+    public void testKnapsack() {
+        CutPoolTest.doTestSolve(CutPoolTest.newKnapsack(40, 5, true, 5L), CutPoolTest.newKnapsack(40, 5, true, 5L));
+    }
+
+    @Test
+    public void testMIRSeparation() {
+        CutPoolTest.doTestSeparation(CutPoolTest.newKnapsack(12, 3, false, 2L), Separator.MIR);
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation.integer;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.concurrent.Parallelism;
+import org.ojalgo.netio.BasicLogger;
+import org.ojalgo.optimisation.Expression;
+import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.optimisation.Optimisation;
+import org.ojalgo.optimisation.integer.IntegerStrategy.CutPoolConfiguration;
+import org.ojalgo.optimisation.integer.IntegerStrategy.DeterministicConfiguration;
+import org.ojalgo.optimisation.integer.IntegerStrategy.ReliabilityConfiguration;
+import org.ojalgo.type.context.NumberContext;
+
+/**
+ * With the deterministic search turned on, solving the same model, with the same number of workers, must
+ * give identical results – the same solution, the same number of nodes and the same number of integer
+ * solutions found – every time. It must also give the same optimal value as the default search.
+ */
+public class DeterministicSearchTest extends OptimisationIntegerTests {
+
+    private static final NumberContext ACCURACY = NumberContext.of(8);
+    private static final int REPETITIONS = 3;
+
+    /**
+     * Multi-dimensional knapsack with binary, or general integer, variables
+     */
+    private static ExpressionsBasedModel newModel(final int nbVariables, final int nbConstraints, final long seed, final boolean binary) {
+
+        Random random = new Random(seed);
+
+        ExpressionsBasedModel model = new ExpressionsBasedModel();
+
+        for (int j = 0; j < nbVariables; j++) {
+            if (binary) {
+                model.newVariable("X" + j).binary().weight(10 + random.nextInt(90));
+            } else {
+                model.newVariable("X" + j).integer(true).lower(0).upper(1 + random.nextInt(4)).weight(10 + random.nextInt(90));
+            }
+        }
+
+        for (int i = 0; i < nbConstraints; i++) {
+            Expression constraint = model.newExpression("C" + i);
+            int sum = 0;
+            for (int j = 0; j < nbVariables; j++) {
+                int factor = 5 + random.nextInt(45);
+                constraint.set(j, factor);
+                sum += factor;
+            }
+            constraint.upper(sum / 2);
+        }
+
+        return model;
+    }
+
+    private static void doTest(final IntegerStrategy.ConfigurableStrategy strategy, final long seed) {
+        DeterministicSearchTest.doTest(strategy, seed, true);
+    }
+
+    private static void doTest(final IntegerStrategy.ConfigurableStrategy strategy, final long seed, final boolean binary) {
+
+        ExpressionsBasedModel reference = DeterministicSearchTest.newModel(40, 4, seed, binary);
+        Optimisation.Result expected = reference.maximise();
+
+        String firstSolver = null;
+        Optimisation.Result firstResult = null;
+
+        for (int r = 0; r < REPETITIONS; r++) {
+
+            ExpressionsBasedModel model = DeterministicSearchTest.newModel(40, 4, seed, binary);
+            model.options.integer(strategy);
+            // Sets the optimisation sense (IntegerSolver reads it from the model)
+            model.prepare(Optimisation.Sense.MAX, NodeSolver::new).dispose();
+
+            IntegerSolver solver = IntegerSolver.newSolver(model);
+            Optimisation.Result result = solver.solve(null);
+
+            if (DEBUG) {
+                BasicLogger.debug("{}: {}", r, solver);
+            }
+
+            TestUtils.assertStateNotLessThanOptimal(result);
+            TestUtils.assertEquals(expected.getValue(), result.getValue(), ACCURACY);
+
+            if (firstResult == null) {
+                firstSolver = solver.toString();
+                firstResult = result;
+            } else {
+                TestUtils.assertEquals(firstSolver, solver.toString());
+                TestUtils.assertEquals(Double.doubleToLongBits(firstResult.getValue()), Double.doubleToLongBits(result.getValue()));
+                for (int i = 0; i < firstResult.size(); i++) {
+                    TestUtils.assertEquals(Double.doubleToLongBits(firstResult.doubleValue(i)), Double.doubleToLongBits(result.doubleValue(i)));
+                }
+            }
+        }
+    }
+
+    private static IntegerStrategy.ConfigurableStrategy newStrategy(final DeterministicConfiguration configuration) {
+        return IntegerStrategy.DEFAULT.withParallelism(Parallelism.FOUR).withDeterministicConfiguration(configuration);
+    }
+
+    @Test
+    public void testDefault() {
+        DeterministicSearchTest.doTest(DeterministicSearchTest.newStrategy(new DeterministicConfiguration()), 1L);
+        DeterministicSearchTest.doTest(DeterministicSearchTest.newStrategy(new DeterministicConfiguration()), 2L);
+    }
+
+    /**
+     * The cut pool separators and the reliability branching probes run in parallel themselves. Both with
+     * binary and general integer variables.
+     */
+    @Test
+    public void testCutPoolAndReliability() {
+        IntegerStrategy.ConfigurableStrategy strategy = DeterministicSearchTest.newStrategy(new DeterministicConfiguration())
+                .withCutPoolConfiguration(new CutPoolConfiguration())
+                .withReliabilityConfiguration(new ReliabilityConfiguration().withParallelism(Parallelism.TWO));
+        DeterministicSearchTest.doTest(strategy, 3L, true);
+        DeterministicSearchTest.doTest(strategy, 5L, false);
+    }
+
+    /**
+     * Very small work budget – each worker evaluates only one node per round.
+     */
+    @Test
+    public void testSmallBudget() {
+        DeterministicSearchTest.doTest(DeterministicSearchTest.newStrategy(new DeterministicConfiguration().withWork(1)), 4L);
+    }
+
+    @Test
+    public void testSingleWorker() {
+        IntegerStrategy.ConfigurableStrategy strategy = IntegerStrategy.DEFAULT.withParallelism(Parallelism.ONE)
+                .withDeterministicConfiguration(new DeterministicConfiguration());
+        DeterministicSearchTest.doTest(strategy, 5L);
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation.integer;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.concurrent.Parallelism;
+import org.ojalgo.netio.BasicLogger;
+import org.ojalgo.optimisation.Expression;
+import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.optimisation.Optimisation;
+import org.ojalgo.optimisation.integer.IntegerStrategy.HeuristicsConfiguration;
+import org.ojalgo.optimisation.integer.IntegerStrategy.HeuristicsConfiguration.Heuristic;
+import org.ojalgo.type.Stopwatch;
+import org.ojalgo.type.context.NumberContext;
+
+/**
+ * Running the primal heuristics, all of them or one at the time, in parallel with the tree search must not
+ * change the optimal solution found.
+ */
+public class PrimalHeuristicsTest extends OptimisationIntegerTests {
+
+    private static final NumberContext ACCURACY = NumberContext.of(8);
+
+    /**
+     * Multi-dimensional knapsack with binary variables
+     */
+    private static ExpressionsBasedModel newModel(final int nbVariables, final int nbConstraints, final long seed) {
+
+        Random random = new Random(seed);
+
+        ExpressionsBasedModel model = new ExpressionsBasedModel();
+
+        for (int j = 0; j < nbVariables; j++) {
+            model.newVariable("X" + j).binary().weight(10 + random.nextInt(90));
+        }
+
+        for (int i = 0; i < nbConstraints; i++) {
+            Expression constraint = model.newExpression("C" + i);
+            int sum = 0;
+            for (int j = 0; j < nbVariables; j++) {
+                int factor = 5 + random.nextInt(45);
+                constraint.set(j, factor);
+                sum += factor;
+            }
+            constraint.upper(sum / 2);
+        }
+
+        return model;
+    }
+
+    private static HeuristicsConfiguration only(final Heuristic heuristic) {
+        HeuristicsConfiguration retVal = new HeuristicsConfiguration();
+        for (Heuristic other : Heuristic.values()) {
+            if (other != heuristic) {
+                retVal = retVal.withShare(other, 0.0);
+            }
+        }
+        return retVal;
+    }
+
+    private static void doTest(final int nbVariables, final int nbConstraints, final long seed, final HeuristicsConfiguration... configurations) {
+
+        ExpressionsBasedModel reference = PrimalHeuristicsTest.newModel(nbVariables, nbConstraints, seed);
+        Optimisation.Result expected = reference.maximise();
+
+        TestUtils.assertStateNotLessThanOptimal(expected);
+
+        for (HeuristicsConfiguration configuration : configurations) {
+
+            ExpressionsBasedModel model = PrimalHeuristicsTest.newModel(nbVariables, nbConstraints, seed);
+            model.options.integer(IntegerStrategy.DEFAULT.withHeuristicsConfiguration(configuration));
+
+            Stopwatch stopwatch = new Stopwatch();
+            Optimisation.Result result = model.maximise();
+
+            if (DEBUG) {
+                BasicLogger.debug("{} {} in {}", configuration.parallelism.getAsInt(), result.getValue(), stopwatch.stop());
+            }
+
+            TestUtils.assertStateNotLessThanOptimal(result);
+            TestUtils.assertTrue(model.validate(result));
+            TestUtils.assertEquals(expected.getValue(), result.getValue(), ACCURACY);
+        }
+    }
+
+    @Test
+    public void testEachHeuristic() {
+
+        Heuristic[] heuristics = Heuristic.values();
+        HeuristicsConfiguration[] configurations = new HeuristicsConfiguration[heuristics.length];
+        for (int h = 0; h < heuristics.length; h++) {
+            configurations[h] = PrimalHeuristicsTest.only(heuristics[h]);
+        }
+
+        PrimalHeuristicsTest.doTest(30, 4, 5L, configurations);
+    }
+
+    @Test
+    public void testLarger() {
+        PrimalHeuristicsTest.doTest(50, 5, 3L, new HeuristicsConfiguration(), new HeuristicsConfiguration().withParallelism(Parallelism.TWO));
+    }
+
+    @Test
+    public void testMedium() {
+        PrimalHeuristicsTest.doTest(30, 4, 2L, new HeuristicsConfiguration(), new HeuristicsConfiguration().withParallelism(Parallelism.TWO));
+    }
+
+    @Test
+    public void testSmall() {
+        PrimalHeuristicsTest.doTest(10, 3, 1L, new HeuristicsConfiguration(), new HeuristicsConfiguration().withParallelism(Parallelism.TWO));
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation.integer;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.concurrent.Parallelism;
+import org.ojalgo.netio.BasicLogger;
+import org.ojalgo.optimisation.Expression;
+import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.optimisation.Optimisation;
+import org.ojalgo.optimisation.integer.IntegerStrategy.ReliabilityConfiguration;
+import org.ojalgo.type.Stopwatch;
+import org.ojalgo.type.context.NumberContext;
+
+/**
+ * Reliability branching, with serial as well as parallel probes, must find the same optimal solutions as
+ * the default strategy.
+ */
+public class ReliabilityBranchingTest extends OptimisationIntegerTests {
+
+    private static final NumberContext ACCURACY = NumberContext.of(8);
+
+    /**
+     * Multi-dimensional knapsack with general integer variables
+     */
+    private static ExpressionsBasedModel newModel(final int nbVariables, final int nbConstraints, final long seed) {
+
+        Random random = new Random(seed);
+
+        ExpressionsBasedModel model = new ExpressionsBasedModel();
+
+        for (int j = 0; j < nbVariables; j++) {
+            model.newVariable("X" + j).lower(0).upper(1 + random.nextInt(4)).weight(10 + random.nextInt(90)).integer(true);
+        }
+
+        for (int i = 0; i < nbConstraints; i++) {
+            Expression constraint = model.newExpression("C" + i);
+            int sum = 0;
+            for (int j = 0; j < nbVariables; j++) {
+                int factor = 5 + random.nextInt(45);
+                constraint.set(j, factor);
+                sum += factor;
+            }
+            constraint.upper(sum / 2);
+        }
+
+        return model;
+    }
+
+    private static void doTest(final int nbVariables, final int nbConstraints, final long seed) {
+
+        ReliabilityConfiguration serial = new ReliabilityConfiguration().withParallelism(Parallelism.ONE);
+        ReliabilityConfiguration parallel = new ReliabilityConfiguration().withParallelism(Parallelism.TWO).withCandidates(4);
+        // Most probes abandoned, before reaching the optimum
+        ReliabilityConfiguration limited = new ReliabilityConfiguration().withParallelism(Parallelism.ONE).withIterations(1);
+
+        Optimisation.Result expected = null;
+
+        for (ReliabilityConfiguration configuration : new ReliabilityConfiguration[] { null, serial, parallel, limited }) {
+
+            ExpressionsBasedModel model = ReliabilityBranchingTest.newModel(nbVariables, nbConstraints, seed);
+            model.options.integer(IntegerStrategy.DEFAULT.withReliabilityConfiguration(configuration));
+
+            Stopwatch stopwatch = new Stopwatch();
+            Optimisation.Result result = model.maximise();
+
+            if (DEBUG) {
+                BasicLogger.debug("{} {} in {}", configuration != null ? configuration.parallelism.getAsInt() : "-", result.getValue(), stopwatch.stop());
+            }
+
+            TestUtils.assertStateNotLessThanOptimal(result);
+            TestUtils.assertTrue(model.validate(result));
+
+            if (expected == null) {
+                expected = result;
+            } else {
+                TestUtils.assertEquals(expected.getValue(), result.getValue(), ACCURACY);
+            }
+        }
+    }
+
+    @Test
+    public void testLarger() {
+        ReliabilityBranchingTest.doTest(40, 5, 3L);
+    }
+
+    @Test
+    public void testMedium() {
+        ReliabilityBranchingTest.doTest(25, 4, 2L);
+    }
+
+    @Test
+    public void testSmall() {
+        ReliabilityBranchingTest.doTest(10, 3, 1L);
+    }
+
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.random;
+
+import static org.ojalgo.function.constant.PrimitiveMath.ONE;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.random.process.BrownianBridge;
+import org.ojalgo.random.process.GeometricBrownianMotion;
+import org.ojalgo.random.process.RandomProcess;
+
+public class LowDiscrepancySequenceTest extends RandomTests {
+
+    /**
+     * Counts points per elementary interval, of size 1/firstBins x 1/secondBins, in the projection on the 2
+     * dimensions.
+     */
+    private static void assertStratified(final LowDiscrepancySequence sequence, final int count, final int first, final int firstBins, final int second,
+            final int secondBins) {
+
+        int[] counts = new int[firstBins * secondBins];
+        double[] point = new double[sequence.dimension()];
+
+        for (int i = 0; i < count; i++) {
+            sequence.next(point);
+            TestUtils.assertTrue(point[first] > 0.0 && point[first] < 1.0);
+            counts[(int) (point[first] * firstBins) * secondBins + (int) (point[second] * secondBins)]++;
+        }
+
+        int expected = count / counts.length;
+        for (int c : counts) {
+            TestUtils.assertEquals(expected, c);
+        }
+    }
+
+    /**
+     * The integrand is a product of (1 + (u - 1/2) / d), with exact integral 1.
+     */
+    private static double integrate(final LowDiscrepancySequence sequence, final int count) {
+
+        int dimension = sequence.dimension();
+        double[] point = new double[dimension];
+
+        double sum = 0.0;
+        for (int i = 0; i < count; i++) {
+            sequence.next(point);
+            double product = ONE;
+            for (int d = 0; d < dimension; d++) {
+                product *= ONE + (point[d] - 0.5) / (d + 1);
+            }
+            sum += product;
+        }
+
+        return sum / count;
+    }
+
+    @Test
+    public void testBlocks() {
+
+        SobolSequence sobol = LowDiscrepancySequence.sobol(7, 3L);
+        HaltonSequence halton = LowDiscrepancySequence.halton(7, 3L);
+
+        for (LowDiscrepancySequence sequence : new LowDiscrepancySequence[] { sobol, halton }) {
+
+            double[][] sequential = new double[1000][sequence.dimension()];
+            for (int i = 0; i < sequential.length; i++) {
+                sequence.next(sequential[i]);
+            }
+
+            double[] point = new double[sequence.dimension()];
+            for (int first = 0; first < sequential.length; first += 250) {
+                LowDiscrepancySequence block = sequence.block(first);
+                for (int i = first; i < first + 250; i++) {
+                    block.next(point);
+                    TestUtils.assertEquals(sequential[i], point);
+                }
+            }
+
+            sequence.position(537L);
+            sequence.next(point);
+            TestUtils.assertEquals(sequential[537], point);
+            sequence.skip(-300L);
+            sequence.next(point);
+            TestUtils.assertEquals(sequential[238], point);
+        }
+    }
+
+    /**
+     * The Brownian bridge is an orthogonal linear map – independent standard normal variates in give
+     * independent standard normal increments out.
+     */
+    @Test
+    public void testBrownianBridge() {
+
+        for (int n : new int[] { 1, 2, 7, 16, 25 }) {
+
+            BrownianBridge bridge = new BrownianBridge(n);
+
+            double[][] columns = new double[n][n];
+            for (int j = 0; j < n; j++) {
+                double[] unit = new double[n];
+                unit[j] = ONE;
+                bridge.transform(unit, columns[j]);
+            }
+
+            for (int i = 0; i < n; i++) {
+                for (int k = 0; k < n; k++) {
+                    double dot = 0.0;
+                    for (int j = 0; j < n; j++) {
+                        dot += columns[j][i] * columns[j][k];
+                    }
+                    TestUtils.assertEquals(i == k ? ONE : 0.0, dot, 1E-12);
+                }
+            }
+
+            // The first variate alone determines the end point
+            double endPoint = 0.0;
+            for (int i = 0; i < n; i++) {
+                endPoint += columns[0][i];
+            }
+            TestUtils.assertEquals(Math.sqrt(n), endPoint, 1E-12);
+        }
+    }
+
+    @Test
+    public void testGeometricBrownianMotion() {
+
+        GeometricBrownianMotion process = GeometricBrownianMotion.make(1.0, 1.1, 0.04, 1.0);
+
+        int steps = 16;
+        RandomProcess.SimulationResults results = process.simulate(4096, steps, 1.0 / steps, LowDiscrepancySequence.sobol(steps, 5L));
+
+        double expected = process.getDistribution(1.0).getExpected();
+        double variance = process.getDistribution(1.0).getVariance();
+        SampleSet terminal = results.getSampleSet(steps - 1);
+
+        // Plain Monte Carlo, with this many paths, would have a standard error of 0.003
+        TestUtils.assertEquals(expected, terminal.getMean(), 0.0005);
+        TestUtils.assertEquals(ONE, terminal.getVariance() / variance, 0.02);
+    }
+
+    /**
+     * Scrambled QMC, and unscrambled Sobol, should be at least an order of magnitude more accurate than MC.
+     */
+    @Test
+    public void testIntegrationError() {
+
+        int count = 1 << 14;
+        int dimension = 10;
+
+        double sobol = Math.abs(LowDiscrepancySequenceTest.integrate(LowDiscrepancySequence.sobol(dimension), count) - ONE);
+        double halton = Math.abs(LowDiscrepancySequenceTest.integrate(LowDiscrepancySequence.halton(dimension), count) - ONE);
+
+        double scrambledSobol = 0.0;
+        double scrambledHalton = 0.0;
+        double pseudo = 0.0;
+        StreamRandom random = StreamRandom.of(1L);
+        int replications = 8;
+        for (int r = 0; r < replications; r++) {
+            double error = LowDiscrepancySequenceTest.integrate(LowDiscrepancySequence.sobol(dimension, r), count) - ONE;
+            scrambledSobol += error * error / replications;
+            error = LowDiscrepancySequenceTest.integrate(LowDiscrepancySequence.halton(dimension, r), count) - ONE;
+            scrambledHalton += error * error / replications;
+            double sum = 0.0;
+            for (int i = 0; i < count; i++) {
+                double product = ONE;
+                for (int d = 0; d < dimension; d++) {
+                    product *= ONE + (random.nextDouble() - 0.5) / (d + 1);
+                }
+                sum += product;
+            }
+            error = sum / count - ONE;
+            pseudo += error * error / replications;
+        }
+
+        double reference = Math.sqrt(pseudo) / 10.0;
+
+        TestUtils.assertTrue(sobol < reference);
+        // Unscrambled Halton degrades in higher dimensions
+        TestUtils.assertTrue(halton < Math.sqrt(pseudo));
+        TestUtils.assertTrue(Math.sqrt(scrambledSobol) < reference);
+        TestUtils.assertTrue(Math.sqrt(scrambledHalton) < reference);
+    }
+
+    /**
+     * The interior coefficients of the generated primitive polynomials should match those in the Joe–Kuo
+     * table.
+     */
+    @Test
+    public void testPolynomials() {
+
+        long[] expected = { 0, 1, 1, 2, 1, 4, 2, 4, 7, 11, 13, 14, 1, 13, 16, 19, 22, 25, 1, 4 };
+        int[] degrees = { 1, 2, 3, 3, 4, 4, 5, 5, 5, 5, 5, 5, 6, 6, 6, 6, 6, 6, 7, 7 };
+
+        long[] polynomials = SobolSequence.primitivePolynomials(expected.length);
+
+        for (int i = 0; i < expected.length; i++) {
+            int degree = 63 - Long.numberOfLeadingZeros(polynomials[i]);
+            TestUtils.assertEquals(degrees[i], degree);
+            TestUtils.assertEquals(expected[i], polynomials[i] >>> 1 & (1L << degree - 1) - 1L);
+        }
+
+        // There are 36 primitive polynomials of degree 1 to 7, and then 16 of degree 8
+        long[] more = SobolSequence.primitivePolynomials(53);
+        TestUtils.assertEquals(8, 63 - Long.numberOfLeadingZeros(more[51]));
+        TestUtils.assertEquals(9, 63 - Long.numberOfLeadingZeros(more[52]));
+    }
+
+    @Test
+    public void testQuantile() {
+        TestUtils.assertEquals(0.0, LowDiscrepancySequence.quantile(0.5), 1E-15);
+        TestUtils.assertEquals(1.959963984540054, LowDiscrepancySequence.quantile(0.975), 1E-8);
+        TestUtils.assertEquals(-3.090232306167813, LowDiscrepancySequence.quantile(0.001), 1E-8);
+        TestUtils.assertEquals(4.753424308822899, LowDiscrepancySequence.quantile(ONE - 1E-6), 1E-8);
+        TestUtils.assertEquals(-8.222082216130435, LowDiscrepancySequence.quantile(1E-16), 1E-7);
+    }
+
+    @Test
+    public void testSobolPoints() {
+
+        SobolSequence sobol = LowDiscrepancySequence.sobol(3);
+        TestUtils.assertEquals(1L, sobol.getIndex());
+
+        double[][] expected = { { 0.5, 0.5, 0.5 }, { 0.75, 0.25, 0.25 }, { 0.25, 0.75, 0.75 }, { 0.375, 0.375, 0.625 }, { 0.875, 0.875, 0.125 } };
+
+        double[] point = new double[3];
+        for (double[] element : expected) {
+            sobol.next(point);
+            for (int d = 0; d < 3; d++) {
+                TestUtils.assertEquals(element[d], point[d], 1E-9);
+            }
+        }
+    }
+
+    /**
+     * The first 2^m points of a Sobol sequence, scrambled or not, are stratified. In 2 dimensions the first
+     * two dimensions form a (0,m,2)-net.
+     */
+    @Test
+    public void testStratification() {
+
+        LowDiscrepancySequenceTest.assertStratified(LowDiscrepancySequence.sobol(2, 42L), 1 << 12, 0, 64, 1, 64);
+        LowDiscrepancySequenceTest.assertStratified(LowDiscrepancySequence.sobol(40, 42L), 1 << 10, 0, 32, 1, 32);
+        // In any single dimension - 1 point per interval of length 1/1024
+        LowDiscrepancySequenceTest.assertStratified(LowDiscrepancySequence.sobol(40, 42L), 1 << 10, 37, 1024, 0, 1);
+
+        // Halton, bases 2 and 3 - the first 2^4 x 3^4 points are stratified in 2^4 x 3^4 boxes
+        LowDiscrepancySequenceTest.assertStratified(LowDiscrepancySequence.halton(2, 42L), 16 * 81, 0, 16, 1, 81);
+    }
+
+}
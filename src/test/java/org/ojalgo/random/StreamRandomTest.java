@@ -0,0 +1,131 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.random;
+
+import static org.ojalgo.function.constant.PrimitiveMath.ONE;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.matrix.store.R064Store;
+
+public class StreamRandomTest extends RandomTests {
+
+    private static void assertMoments(final RandomNumber distribution, final double[] samples, final double tolerance) {
+
+        SampleSet sampleSet = SampleSet.wrap(samples);
+
+        double scale = Math.max(1.0, Math.abs(distribution.getExpected()));
+        TestUtils.assertEquals(distribution.toString(), distribution.getExpected() / scale, sampleSet.getMean() / scale, tolerance);
+        TestUtils.assertEquals(distribution.toString(), ONE, sampleSet.getVariance() / distribution.getVariance(), tolerance);
+    }
+
+    @Test
+    public void testGammaMoments() {
+
+        for (double shape : new double[] { 0.3, 1.0, 3.7, 25.0 }) {
+
+            Gamma gamma = new Gamma(shape, 2.0);
+
+            double[] samples = new double[500_000];
+            gamma.fill(samples, 7L);
+
+            StreamRandomTest.assertMoments(gamma, samples, 0.02);
+        }
+    }
+
+    @Test
+    public void testNormalMomentsAndTails() {
+
+        Normal normal = Normal.of(1.0, 3.0);
+
+        double[] samples = new double[2_000_000];
+        normal.fill(samples, 11L);
+
+        StreamRandomTest.assertMoments(normal, samples, 0.01);
+
+        // The probability mass beyond 3 standard deviations - involves the slow paths of the ziggurat
+        double tail = 2.0 * (ONE - Normal.standard().getDistribution(3.0));
+        long count = Arrays.stream(samples).filter(x -> Math.abs(x - 1.0) > 9.0).count();
+        TestUtils.assertEquals(tail, count / (double) samples.length, 0.0002);
+    }
+
+    @Test
+    public void testReproducibleParallelFill() {
+
+        int size = 5 * RandomNumber.BLOCK_SIZE + 17;
+
+        double[] parallel1 = new double[size];
+        double[] parallel2 = new double[size];
+        Normal.standard().fill(parallel1, 123L);
+        Normal.standard().fill(parallel2, 123L);
+
+        TestUtils.assertTrue(Arrays.equals(parallel1, parallel2));
+
+        // The same as filling block by block, sequentially
+        double[] sequential = new double[size];
+        for (int b = 0; b * RandomNumber.BLOCK_SIZE < size; b++) {
+            int first = b * RandomNumber.BLOCK_SIZE;
+            Normal.standard().fill(sequential, first, Math.min(size, first + RandomNumber.BLOCK_SIZE), StreamRandom.of(123L, b));
+        }
+        TestUtils.assertTrue(Arrays.equals(parallel1, sequential));
+
+        R064Store store = R064Store.FACTORY.make(size, 1);
+        Normal.standard().fill(store, 123L);
+        TestUtils.assertTrue(Arrays.equals(parallel1, store.data));
+
+        double[] other = new double[size];
+        Normal.standard().fill(other, 124L);
+        TestUtils.assertFalse(Arrays.equals(parallel1, other));
+    }
+
+    @Test
+    public void testStreams() {
+
+        StreamRandom random = StreamRandom.of(1L, 2L);
+
+        long[] values = new long[10];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong();
+        }
+
+        StreamRandom skipping = StreamRandom.of(1L, 2L);
+        skipping.skip(5L);
+        TestUtils.assertEquals(values[5], skipping.nextLong());
+        TestUtils.assertEquals(6L, skipping.getCounter());
+
+        TestUtils.assertEquals(values[0], random.stream(2L).nextLong());
+        TestUtils.assertFalse(values[0] == random.stream(3L).nextLong());
+        TestUtils.assertFalse(values[0] == StreamRandom.of(2L, 2L).nextLong());
+
+        random.setSeed(1L);
+        TestUtils.assertEquals(values[0], random.nextLong());
+
+        Uniform uniform = new Uniform();
+        uniform.setRandom(StreamRandom.of(99L));
+        double first = uniform.doubleValue();
+        uniform.setRandom(StreamRandom.of(99L));
+        TestUtils.assertEquals(first, uniform.doubleValue());
+    }
+
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.series;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import org.ojalgo.TestUtils;
+import org.ojalgo.function.aggregator.Aggregator;
+import org.ojalgo.series.primitive.ExplicitTimeSeries;
+import org.ojalgo.series.primitive.PrimitiveSeries;
+import org.ojalgo.type.CalendarDate;
+import org.ojalgo.type.CalendarDateUnit;
+
+/**
+ * Memory mapped files can't be deleted (by {@link TempDir}) on Windows until the buffers are garbage
+ * collected.
+ */
+@DisabledOnOs(OS.WINDOWS)
+public class TimeSeriesStoreTest extends SeriesTests {
+
+    /**
+     * Midnight, 2023-11-14 UTC
+     */
+    private static final long START = 1_699_920_000_000L;
+
+    private static double value(final long row, final int column) {
+        return row * (column + 1) + 0.5;
+    }
+
+    @TempDir
+    public File tempDir;
+
+    @Test
+    public void testAppendReopenAndRead() {
+
+        File directory = new File(tempDir, "store");
+
+        int rows = 10_000;
+
+        try (TimeSeriesStore store = TimeSeriesStore.open(directory, 2, 1024)) {
+            for (long r = 0; r < rows; r++) {
+                store.append(START + r * 10L, TimeSeriesStoreTest.value(r, 0), TimeSeriesStoreTest.value(r, 1));
+            }
+            TestUtils.assertEquals(rows, store.count());
+        }
+
+        try (TimeSeriesStore store = TimeSeriesStore.open(directory, 2)) {
+
+            TestUtils.assertEquals(rows, store.count());
+
+            // Out of order
+            Assertions.assertThrows(IllegalArgumentException.class, () -> store.append(START, 1.0, 2.0));
+            // Wrong number of columns
+            Assertions.assertThrows(IllegalArgumentException.class, () -> store.append(START + rows * 10L, 1.0));
+
+            long[] timestamps = new long[rows];
+            double[] first = new double[rows];
+            double[] second = new double[rows];
+            for (int i = 0; i < rows; i++) {
+                long r = rows + i;
+                timestamps[i] = START + r * 10L;
+                first[i] = TimeSeriesStoreTest.value(r, 0);
+                second[i] = TimeSeriesStoreTest.value(r, 1);
+            }
+            store.append(timestamps, first, second);
+        }
+
+        try (TimeSeriesStore store = TimeSeriesStore.read(directory)) {
+
+            TestUtils.assertEquals(2 * rows, store.count());
+            Assertions.assertThrows(IllegalStateException.class, () -> store.append(START + 3 * rows * 10L, 1.0, 2.0));
+
+            PrimitiveSeries column = store.column(1);
+            TestUtils.assertEquals(2 * rows, column.size());
+            for (int r = 0; r < 2 * rows; r++) {
+                TestUtils.assertEquals(START + r * 10L, store.getTimestamp(r));
+                TestUtils.assertEquals(TimeSeriesStoreTest.value(r, 0), store.doubleValue(r, 0));
+                TestUtils.assertEquals(TimeSeriesStoreTest.value(r, 1), column.value(r));
+            }
+        }
+    }
+
+    /**
+     * A reader, in another thread, must never see a row that isn't completely written.
+     */
+    @Test
+    public void testConcurrentReader() throws InterruptedException {
+
+        File directory = new File(tempDir, "concurrent");
+
+        int rows = 200_000;
+
+        try (TimeSeriesStore writer = TimeSeriesStore.open(directory, 1, 4096); TimeSeriesStore reader = TimeSeriesStore.read(directory)) {
+
+            AtomicReference<String> failure = new AtomicReference<>();
+
+            Thread thread = new Thread(() -> {
+                long seen = 0L;
+                while (seen < rows && failure.get() == null) {
+                    long count = reader.count();
+                    for (long r = seen; r < count; r++) {
+                        if (reader.getTimestamp(r) != START + r || reader.doubleValue(r, 0) != TimeSeriesStoreTest.value(r, 0)) {
+                            failure.set("Row " + r);
+                        }
+                    }
+                    seen = count;
+                }
+            });
+            thread.start();
+
+            for (long r = 0; r < rows; r++) {
+                writer.append(START + r, TimeSeriesStoreTest.value(r, 0));
+            }
+
+            thread.join();
+
+            TestUtils.assertNull(failure.get());
+        }
+    }
+
+    @Test
+    public void testRangeAndResample() {
+
+        File directory = new File(tempDir, "resample");
+
+        // One row per second, for 2 days, with 2 rows for each even second
+        int seconds = 2 * 24 * 60 * 60;
+        CalendarDateSeries<Double> expected = new CalendarDateSeries<>(CalendarDateUnit.HOUR);
+
+        try (TimeSeriesStore store = TimeSeriesStore.open(directory, 1, 1 << 16)) {
+
+            for (int s = 0; s < seconds; s++) {
+                long timestamp = START + s * 1000L;
+                store.append(timestamp, s);
+                if (s % 2 == 0) {
+                    store.append(timestamp, s);
+                }
+                expected.merge(new CalendarDate(timestamp).filter(CalendarDateUnit.HOUR), s % 2 == 0 ? 2.0 * s : s, Double::sum);
+            }
+
+            // Binary search
+            TestUtils.assertEquals(0L, store.search(Long.MIN_VALUE));
+            TestUtils.assertEquals(store.count(), store.search(Long.MAX_VALUE));
+            TestUtils.assertEquals(3L, store.search(START + 2000L));
+            TestUtils.assertEquals(5L, store.search(START + 2500L));
+
+            ExplicitTimeSeries slice = store.slice(0, new CalendarDate(START + 2000L), new CalendarDate(START + 5000L));
+            TestUtils.assertEquals(5, slice.size());
+            TestUtils.assertEquals(START + 2000L, slice.first().millis);
+            TestUtils.assertEquals(START + 4000L, slice.last().millis);
+            TestUtils.assertEquals(2.0, slice.value(0));
+            TestUtils.assertEquals(4.0, slice.value(4));
+
+            CalendarDateSeries<Double> sums = store.resample(0, CalendarDateUnit.HOUR, Aggregator.SUM);
+            TestUtils.assertEquals(expected.size(), sums.size());
+            for (Map.Entry<CalendarDate, Double> entry : expected.entrySet()) {
+                TestUtils.assertEquals(entry.getValue().doubleValue(), sums.get(entry.getKey()).doubleValue());
+            }
+
+            CalendarDateSeries<Double> counts = store.resample(0, CalendarDateUnit.DAY, Aggregator.CARDINALITY);
+            double total = 0.0;
+            for (Double count : counts.values()) {
+                total += count.doubleValue();
+            }
+            // Cardinality is the number of non-zero values, and the value 0.0 is stored twice
+            TestUtils.assertEquals(store.count() - 2L, (long) total);
+
+            CalendarDateSeries<Double> maximums = store.resample(0, new CalendarDate(START), new CalendarDate(START + 3_600_000L), CalendarDateUnit.MINUTE,
+                    Aggregator.MAXIMUM);
+            TestUtils.assertEquals(60, maximums.size());
+            TestUtils.assertEquals(3599.0, maximums.lastValue().doubleValue());
+        }
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.series.primitive;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.random.SampleSet;
+import org.ojalgo.random.StreamRandom;
+
+public class RollingWindowTest extends PrimitiveSeriesTests {
+
+    private static final int[] WINDOWS = { 2, 3, 7, 64, 100 };
+
+    private static DataSeries random(final long seed, final int size, final double offset) {
+        StreamRandom random = StreamRandom.of(seed);
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = offset + random.nextGaussian();
+        }
+        return DataSeries.wrap(values);
+    }
+
+    private static SampleSet window(final PrimitiveSeries series, final int first, final int window) {
+        return SampleSet.wrap(DataSeries.wrap(Arrays.copyOfRange(series.values(), first, first + window)));
+    }
+
+    @Test
+    public void testCovariance() {
+
+        PrimitiveSeries x = RollingWindowTest.random(1L, 1000, 0.0);
+        PrimitiveSeries y = x.multiply(0.5).add(RollingWindowTest.random(2L, 1000, 3.0));
+
+        for (int window : WINDOWS) {
+
+            PrimitiveSeries covariances = x.rollingCovariance(y, window);
+            TestUtils.assertEquals(x.size() - window + 1, covariances.size());
+
+            for (int i = 0; i < covariances.size(); i++) {
+                SampleSet expected = RollingWindowTest.window(x, i, window);
+                TestUtils.assertEquals(expected.getCovariance(RollingWindowTest.window(y, i, window)), covariances.value(i), 1E-12);
+            }
+        }
+    }
+
+    @Test
+    public void testExponentialMovingAverage() {
+
+        PrimitiveSeries series = DataSeries.wrap(new double[] { 1.0, 2.0, 4.0, 0.0 });
+
+        PrimitiveSeries average = series.exponentialMovingAverage(0.5);
+
+        TestUtils.assertEquals(new double[] { 1.0, 1.5, 2.75, 1.375 }, average.values());
+        TestUtils.assertEquals(series.values(), series.exponentialMovingAverage(1.0).values());
+    }
+
+    @Test
+    public void testMeanAndVariance() {
+
+        // Large offset, relative to the variance, and long series to expose accumulated rounding errors
+        PrimitiveSeries series = RollingWindowTest.random(3L, 100_000, 1E6);
+
+        for (int window : WINDOWS) {
+
+            PrimitiveSeries means = series.rollingMean(window);
+            PrimitiveSeries variances = series.rollingVariance(window);
+            PrimitiveSeries deviations = series.rollingStandardDeviation(window);
+
+            TestUtils.assertEquals(series.size() - window + 1, means.size());
+
+            for (int i = 0; i < means.size(); i += 97) {
+                SampleSet expected = RollingWindowTest.window(series, i, window);
+                TestUtils.assertEquals(expected.getMean(), means.value(i), 1E-6);
+                TestUtils.assertEquals(expected.getVariance(), variances.value(i), 1E-4);
+                TestUtils.assertEquals(expected.getStandardDeviation(), deviations.value(i), 1E-4);
+            }
+        }
+
+        // Window size 1 - the mean is the series itself
+        TestUtils.assertEquals(series.values(), series.rollingMean(1).values());
+        // Window larger than the series - empty
+        TestUtils.assertEquals(0, series.rollingVariance(series.size() + 1).size());
+    }
+
+    @Test
+    public void testMinimumAndMaximum() {
+
+        PrimitiveSeries series = RollingWindowTest.random(4L, 2000, 0.0);
+
+        for (int window : new int[] { 1, 2, 3, 7, 64, 2000 }) {
+
+            PrimitiveSeries minimums = series.rollingMinimum(window);
+            PrimitiveSeries maximums = series.rollingMaximum(window);
+
+            for (int i = 0; i < minimums.size(); i++) {
+                SampleSet expected = RollingWindowTest.window(series, i, window);
+                TestUtils.assertEquals(expected.getMinimum(), minimums.value(i));
+                TestUtils.assertEquals(expected.getMaximum(), maximums.value(i));
+            }
+        }
+
+        // Monotone series are the worst case for the deque
+        PrimitiveSeries increasing = DataSeries.wrap(new double[] { 1, 2, 3, 4, 5, 6 });
+        TestUtils.assertEquals(new double[] { 1, 2, 3, 4 }, increasing.rollingMinimum(3).values());
+        TestUtils.assertEquals(new double[] { 3, 4, 5, 6 }, increasing.rollingMaximum(3).values());
+    }
+
+    @Test
+    public void testParallelMap() {
+
+        PrimitiveSeries[] series = new PrimitiveSeries[100];
+        for (int s = 0; s < series.length; s++) {
+            series[s] = RollingWindowTest.random(s, 5000, s);
+        }
+
+        SeriesSet set = SeriesSet.of(series);
+        SeriesSet means = set.map(s -> s.rollingMean(250));
+
+        TestUtils.assertEquals(series.length, means.size());
+        for (int s = 0; s < series.length; s++) {
+            TestUtils.assertEquals(series[s].rollingMean(250).values(), means.getSeries(s).values());
+        }
+    }
+
+}
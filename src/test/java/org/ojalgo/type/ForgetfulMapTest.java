@@ -22,12 +22,28 @@
 package org.ojalgo.type;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 import org.ojalgo.TestUtils;
 
 public class ForgetfulMapTest {
 
+    @Test
+    public void testDisposeEvicted() {
+
+        AtomicInteger disposed = new AtomicInteger();
+
+        ForgetfulMap<Integer, Integer> cache = ForgetfulMap.newBuilder().maximumSize(10).build(v -> disposed.incrementAndGet());
+
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, i);
+        }
+
+        TestUtils.assertEquals(100 - cache.size(), disposed.get());
+        TestUtils.assertEquals(disposed.get(), cache.getStatistics().getEvictionCount());
+    }
+
     @Test
     public void testExpiration() throws InterruptedException {
 
@@ -42,4 +58,100 @@ public class ForgetfulMapTest {
         TestUtils.assertNull(cache.get("key1"));
     }
 
+    @Test
+    public void testFrequentEntriesSurviveScan() {
+
+        ForgetfulMap<Integer, String> cache = ForgetfulMap.newBuilder().maximumSize(100).build();
+
+        for (int r = 0; r < 5; r++) {
+            for (int i = 0; i < 50; i++) {
+                cache.computeIfAbsent(i, String::valueOf);
+            }
+        }
+
+        // A scan of keys that are only used once, while the frequent keys are still in use
+        for (int i = 1_000; i < 11_000; i++) {
+            cache.computeIfAbsent(i, String::valueOf);
+            cache.computeIfAbsent(i % 50, String::valueOf);
+        }
+
+        TestUtils.assertTrue(cache.size() <= 100);
+
+        for (int i = 0; i < 50; i++) {
+            TestUtils.assertTrue(cache.containsKey(i));
+        }
+    }
+
+    @Test
+    public void testMaximumSize() {
+
+        ForgetfulMap<Integer, Integer> cache = ForgetfulMap.newBuilder().maximumSize(100).build();
+
+        for (int i = 0; i < 10_000; i++) {
+            cache.put(i, i);
+            TestUtils.assertTrue(cache.size() <= 100);
+        }
+
+        TestUtils.assertEquals(cache.size(), cache.estimatedWeight());
+        TestUtils.assertEquals(cache.size(), cache.queued());
+    }
+
+    /**
+     * Replaced and removed entries must be unlinked from the policy's queues, not left behind.
+     */
+    @Test
+    public void testQueuesBoundedByEntries() {
+
+        for (long maximumSize : new long[] { 100L, 1_000_000L }) {
+
+            ForgetfulMap<Integer, Integer> cache = ForgetfulMap.newBuilder().maximumSize(maximumSize).build();
+
+            for (int i = 0; i < 500_000; i++) {
+                cache.put(i % 10, i);
+            }
+            TestUtils.assertEquals(10, cache.size());
+            TestUtils.assertEquals(10, cache.queued());
+
+            for (int i = 0; i < 10; i += 2) {
+                cache.remove(i);
+            }
+            TestUtils.assertEquals(5, cache.size());
+            TestUtils.assertEquals(5, cache.queued());
+            TestUtils.assertEquals(5L, cache.estimatedWeight());
+        }
+    }
+
+    @Test
+    public void testMaximumWeight() {
+
+        ForgetfulMap<Integer, double[]> cache = ForgetfulMap.newBuilder().maximumWeight(1_000, (Integer k, double[] v) -> v.length).build();
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(i, new double[1 + i % 50]);
+            TestUtils.assertTrue(cache.estimatedWeight() <= 1_000);
+        }
+
+        long weight = cache.values().stream().mapToLong(v -> v.length).sum();
+        TestUtils.assertEquals(weight, cache.estimatedWeight());
+
+        cache.clear();
+        TestUtils.assertEquals(0L, cache.estimatedWeight());
+    }
+
+    @Test
+    public void testStatistics() {
+
+        ForgetfulMap<String, String> cache = ForgetfulMap.newBuilder().build();
+
+        cache.put("key1", "value1");
+
+        cache.get("key1");
+        cache.get("key1");
+        cache.get("key2");
+
+        TestUtils.assertEquals(2L, cache.getStatistics().getHitCount());
+        TestUtils.assertEquals(1L, cache.getStatistics().getMissCount());
+        TestUtils.assertEquals(2.0 / 3.0, cache.getStatistics().getHitRate());
+    }
+
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright 1997-2025 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.type.management;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.matrix.decomposition.LU;
+import org.ojalgo.matrix.store.R064Store;
+import org.ojalgo.optimisation.Expression;
+import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.optimisation.Optimisation;
+import org.ojalgo.optimisation.Variable;
+import org.ojalgo.random.Uniform;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class TelemetryTest {
+
+    static final class Collector implements TelemetryListener {
+
+        final AtomicInteger decompositions = new AtomicInteger();
+        final AtomicInteger incumbents = new AtomicInteger();
+        final Set<Telemetry.Node> nodes = ConcurrentHashMap.newKeySet();
+        final AtomicInteger presolves = new AtomicInteger();
+        final AtomicInteger simplex = new AtomicInteger();
+
+        @Override
+        public void onDecomposition(final String type, final int rows, final int columns, final long nanos) {
+            decompositions.incrementAndGet();
+        }
+
+        @Override
+        public void onIncumbent(final double value, final long nodes) {
+            incumbents.incrementAndGet();
+        }
+
+        @Override
+        public void onNode(final Telemetry.Node outcome, final long sequence, final int depth, final double value) {
+            nodes.add(outcome);
+        }
+
+        @Override
+        public void onPresolve(final int variables, final int fixed, final int constraints, final int redundant, final long nanos) {
+            presolves.incrementAndGet();
+        }
+
+        @Override
+        public void onSimplex(final String solver, final int rows, final int columns, final int iterations, final String state, final long nanos) {
+            simplex.incrementAndGet();
+        }
+
+    }
+
+    /**
+     * A small knapsack that needs some branching
+     */
+    static ExpressionsBasedModel makeKnapsack() {
+
+        ExpressionsBasedModel model = new ExpressionsBasedModel();
+
+        Expression capacity = model.newExpression("Capacity").upper(50);
+
+        for (int i = 0; i < 12; i++) {
+            Variable item = model.newVariable("X" + i).binary().weight(10 + (7 * i) % 13);
+            capacity.set(item, 5 + (11 * i) % 9);
+        }
+
+        return model;
+    }
+
+    @Test
+    public void testFlightRecorder() throws IOException {
+
+        Path file = Files.createTempFile("ojAlgo", ".jfr");
+
+        try (Recording recording = new Recording()) {
+
+            recording.enable("org.ojalgo.Decomposition");
+            recording.enable("org.ojalgo.Incumbent");
+            recording.enable("org.ojalgo.Node");
+            recording.enable("org.ojalgo.Simplex");
+            recording.start();
+
+            TelemetryTest.makeKnapsack().maximise();
+            LU.R064.make().decompose(R064Store.FACTORY.makeFilled(9, 9, Uniform.standard()));
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.deleteIfExists(file);
+
+        Set<String> names = ConcurrentHashMap.newKeySet();
+        for (RecordedEvent event : events) {
+            names.add(event.getEventType().getName());
+        }
+
+        TestUtils.assertTrue(names.contains("org.ojalgo.Decomposition"));
+        TestUtils.assertTrue(names.contains("org.ojalgo.Incumbent"));
+        TestUtils.assertTrue(names.contains("org.ojalgo.Node"));
+        TestUtils.assertTrue(names.contains("org.ojalgo.Simplex"));
+    }
+
+    @Test
+    public void testListener() {
+
+        Collector collector = new Collector();
+
+        Telemetry.addListener(collector);
+        try {
+
+            TestUtils.assertTrue(Telemetry.isActive());
+
+            Optimisation.Result result = TelemetryTest.makeKnapsack().maximise();
+            TestUtils.assertStateNotLessThanOptimal(result);
+
+            LU.R064.make().decompose(R064Store.FACTORY.makeFilled(9, 9, Uniform.standard()));
+
+        } finally {
+            Telemetry.removeListener(collector);
+        }
+
+        TestUtils.assertTrue(collector.decompositions.get() > 0);
+        TestUtils.assertTrue(collector.incumbents.get() > 0);
+        TestUtils.assertTrue(collector.presolves.get() > 0);
+        TestUtils.assertTrue(collector.simplex.get() > 0);
+        TestUtils.assertTrue(collector.nodes.containsAll(EnumSet.of(Telemetry.Node.PROCESSED, Telemetry.Node.INTEGER)));
+
+        int before = collector.simplex.get();
+        TelemetryTest.makeKnapsack().maximise();
+        TestUtils.assertEquals(before, collector.simplex.get());
+    }
+
+}